@@ -55,6 +55,11 @@ public enum AssetCatalogErrorCode {
             "The system is unable to retrieve linking assets.",
             Constants.UNIQUE_IDENTIFIER_FOR_THE_ASSET_IS_CORRECT),
 
+    SEARCH_INTERRUPTED(500, "OMAS-ASSET-CATALOG-500-001 ",
+            "The search for {0} was interrupted before all the requested types were searched in OMAS Server {1}",
+            "The system was unable to complete the search request.",
+            "Retry the request. If the problem persists, check the status of the server."),
+
     SERVICE_NOT_INITIALIZED(503, "OMAS-ASSET-CATALOG-503-001 ",
             "The access service has not been initialized for server {0} and can not support REST API calls",
             "The server has received a call to one of its open metadata access services but is unable to process it because the access service is not active for the requested server.",
@@ -74,4 +74,15 @@ class AssetCatalogServicesInstance extends OCFOMASServiceInstance {
         return relationshipHandler;
     }
 
+
+    /**
+     * Release the resources held by the handlers and unregister from the instance map.
+     */
+    @Override
+    public void shutdown() {
+        if (assetCatalogHandler != null) {
+            assetCatalogHandler.shutdown();
+        }
+        super.shutdown();
+    }
 }
@@ -41,9 +41,16 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.*;
@@ -69,6 +76,7 @@ public class AssetCatalogHandler {
     private List<String> supportedTypesForSearch;
 
     private List<String> supportedZones;
+    private final ExecutorService searchExecutor;
 
     /**
      * Construct the handler information needed to interact with the repository services
@@ -93,6 +101,14 @@ public class AssetCatalogHandler {
         this.commonHandler = new CommonHandler(repositoryHandler, repositoryHelper, errorHandler);
         this.supportedTypesForSearch = supportedTypesForSearch;
         this.assetConverter = new AssetConverter(repositoryHelper);
+        this.searchExecutor = createSearchExecutor(serverName);
+    }
+
+    /**
+     * Release the threads used to run the searches of the different types in parallel.
+     */
+    public void shutdown() {
+        searchExecutor.shutdownNow();
     }
 
     /**
@@ -421,32 +437,14 @@ public class AssetCatalogHandler {
         invalidParameterHandler.validateObject(searchParameters, SEARCH_PARAMETER, methodName);
         invalidParameterHandler.validatePaging(searchParameters.getFrom(), searchParameters.getPageSize(), methodName);
 
-        List<EntityDetail> result;
+        List<String> typesFilter;
         if (CollectionUtils.isNotEmpty(searchParameters.getEntityTypes())) {
-            List<String> typesFilter = commonHandler.getTypesGUID(userId, searchParameters.getEntityTypes());
-            result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, typesFilter);
+            typesFilter = commonHandler.getTypesGUID(userId, searchParameters.getEntityTypes());
         } else {
-            result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, defaultSearchTypes);
+            typesFilter = defaultSearchTypes;
         }
 
-        List<AssetElements> list = new ArrayList<>();
-
-
-        for (EntityDetail entityDetail : result) {
-            try {
-                invalidParameterHandler.validateAssetInSupportedZone(entityDetail.getGUID(),
-                        GUID_PARAMETER,
-                        commonHandler.getAssetZoneMembership(entityDetail.getClassifications()),
-                        supportedZones,
-                        ASSET_CATALOG_OMAS,
-                        methodName);
-                AssetElements assetElements = assetConverter.buildAssetElements(entityDetail);
-                list.add(assetElements);
-            } catch (org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException e) {
-                log.debug("This asset if a different zone: {}", entityDetail.getGUID());
-            }
-        }
-        return list;
+        return collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, typesFilter, methodName);
     }
 
     /**
@@ -539,24 +537,141 @@ public class AssetCatalogHandler {
         invalidParameterHandler.validateGUID(endAssetGUID, "endAssetGUID", methodName);
     }
 
-    private List<EntityDetail> collectSearchedEntitiesByType(String userId,
-                                                             String searchCriteria,
-                                                             SearchParameters searchParameters,
-                                                             List<String> types)
+    /**
+     * Search the given types and merge the results into a single page.
+     * When more than one type is requested, the first searches run in parallel. Every type is asked for the entities up
+     * to the end of the requested page, and the results are merged in the order of the types, without duplicates
+     * (a type may be a subtype of another requested type) and without the entities outside the supported zones.
+     * When the filtering leaves too few entities, the next entities of the same type are fetched before moving on to
+     * the next type, so that consecutive pages neither skip nor repeat entities.
+     * The remaining searches are cancelled as soon as the requested page is full.
+     */
+    private List<AssetElements> collectSearchedEntitiesByType(String userId,
+                                                              String searchCriteria,
+                                                              SearchParameters searchParameters,
+                                                              List<String> types,
+                                                              String methodName)
             throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException,
             org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, PropertyErrorException,
             TypeErrorException, PagingErrorException, RepositoryErrorException {
-        List<EntityDetail> result = new ArrayList<>();
 
         OMRSMetadataCollection metadataCollection = commonHandler.getOMRSMetadataCollection();
-        searchCriteria = repositoryHelper.getContainsRegex(searchCriteria);
+        String searchRegex = repositoryHelper.getContainsRegex(searchCriteria);
+
+        int from = searchParameters.getFrom() == null ? 0 : searchParameters.getFrom();
+        int pageSize = searchParameters.getPageSize() == null ? 0 : searchParameters.getPageSize();
+        int typePageSize = pageSize == 0 ? 0 : from + pageSize;
+
+        List<Future<List<EntityDetail>>> searches = new ArrayList<>();
+        if (types.size() == 1) {
+            searches.add(CompletableFuture.completedFuture(searchEntityByCriteria(userId, searchRegex, types.get(0),
+                    searchParameters, 0, typePageSize, metadataCollection)));
+        } else {
+            for (String type : types) {
+                searches.add(searchExecutor.submit(() -> searchEntityByCriteria(userId, searchRegex, type,
+                        searchParameters, 0, typePageSize, metadataCollection)));
+            }
+        }
 
-        for (String type : types) {
-            result.addAll(searchEntityByCriteria(userId, searchCriteria, type, searchParameters, metadataCollection));
+        List<AssetElements> result = new ArrayList<>();
+        Set<String> mergedGUIDs = new HashSet<>();
+        int skipped = 0;
+        try {
+            for (int i = 0; i < types.size(); i++) {
+                List<EntityDetail> entities = getSearchResult(searches.get(i), searchCriteria, methodName);
+                int typeOffset = 0;
+                while (true) {
+                    for (EntityDetail entityDetail : entities) {
+                        if (!mergedGUIDs.add(entityDetail.getGUID()) || !isInSupportedZone(entityDetail, methodName)) {
+                            continue;
+                        }
+                        if (skipped < from) {
+                            skipped++;
+                            continue;
+                        }
+                        result.add(assetConverter.buildAssetElements(entityDetail));
+                        if (result.size() == pageSize) {
+                            return result;
+                        }
+                    }
+                    if (typePageSize == 0 || entities.size() < typePageSize) {
+                        break;
+                    }
+                    typeOffset += entities.size();
+                    entities = searchEntityByCriteria(userId, searchRegex, types.get(i), searchParameters,
+                            typeOffset, typePageSize, metadataCollection);
+                }
+            }
+        } finally {
+            searches.forEach(search -> search.cancel(true));
         }
         return result;
     }
 
+    private List<EntityDetail> getSearchResult(Future<List<EntityDetail>> search, String searchCriteria, String methodName)
+            throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException,
+            org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, PropertyErrorException,
+            TypeErrorException, PagingErrorException, RepositoryErrorException {
+        try {
+            return search.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw searchInterrupted(searchCriteria, methodName);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException) {
+                throw (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException) cause;
+            } else if (cause instanceof FunctionNotSupportedException) {
+                throw (FunctionNotSupportedException) cause;
+            } else if (cause instanceof org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException) {
+                throw (org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException) cause;
+            } else if (cause instanceof PropertyErrorException) {
+                throw (PropertyErrorException) cause;
+            } else if (cause instanceof TypeErrorException) {
+                throw (TypeErrorException) cause;
+            } else if (cause instanceof PagingErrorException) {
+                throw (PagingErrorException) cause;
+            } else if (cause instanceof RepositoryErrorException) {
+                throw (RepositoryErrorException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw searchInterrupted(searchCriteria, methodName);
+        }
+    }
+
+    private RepositoryErrorException searchInterrupted(String searchCriteria, String methodName) {
+        AssetCatalogErrorCode errorCode = AssetCatalogErrorCode.SEARCH_INTERRUPTED;
+        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(searchCriteria, serverName);
+
+        return new RepositoryErrorException(errorCode.getHttpErrorCode(), this.getClass().getName(), methodName,
+                errorMessage, errorCode.getSystemAction(), errorCode.getUserAction());
+    }
+
+    private boolean isInSupportedZone(EntityDetail entityDetail, String methodName) {
+        try {
+            invalidParameterHandler.validateAssetInSupportedZone(entityDetail.getGUID(),
+                    GUID_PARAMETER,
+                    commonHandler.getAssetZoneMembership(entityDetail.getClassifications()),
+                    supportedZones,
+                    ASSET_CATALOG_OMAS,
+                    methodName);
+            return true;
+        } catch (org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException e) {
+            log.debug("This asset if a different zone: {}", entityDetail.getGUID());
+            return false;
+        }
+    }
+
+    private static ExecutorService createSearchExecutor(String serverName) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(SEARCH_THREAD_POOL_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "AssetCatalog-search-" + serverName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private void getContextForSchemaElement(String userId,
                                             EntityDetail entityDetail,
                                             AssetElement assetElement)
@@ -1366,7 +1481,10 @@ public class AssetCatalogHandler {
     private List<EntityDetail> searchEntityByCriteria(String userId,
                                                       String searchCriteria,
                                                       String entityTypeGUID,
-                                                      SearchParameters searchParameters, OMRSMetadataCollection metadataCollection)
+                                                      SearchParameters searchParameters,
+                                                      int fromEntityElement,
+                                                      int pageSize,
+                                                      OMRSMetadataCollection metadataCollection)
             throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException,
             FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException,
             PropertyErrorException, TypeErrorException, PagingErrorException, RepositoryErrorException {
@@ -1374,13 +1492,13 @@ public class AssetCatalogHandler {
         List<EntityDetail> entitiesByPropertyValue = metadataCollection.findEntitiesByPropertyValue(userId,
                 entityTypeGUID,
                 searchCriteria,
-                searchParameters.getFrom(),
+                fromEntityElement,
                 Collections.singletonList(InstanceStatus.ACTIVE),
                 searchParameters.getLimitResultsByClassification(),
                 null,
                 searchParameters.getSequencingProperty(),
                 searchParameters.getSequencingOrder() == null ? SequencingOrder.ANY : searchParameters.getSequencingOrder(),
-                searchParameters.getPageSize());
+                pageSize);
         if (CollectionUtils.isNotEmpty(entitiesByPropertyValue)) {
             return entitiesByPropertyValue;
         }
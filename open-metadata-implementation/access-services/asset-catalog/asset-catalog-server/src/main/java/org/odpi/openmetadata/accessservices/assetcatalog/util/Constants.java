@@ -4,6 +4,7 @@ package org.odpi.openmetadata.accessservices.assetcatalog.util;
 public final class Constants {
 
     public static final String ASSET_CATALOG_OMAS = "Asset Catalog OMAS";
+    public static final int SEARCH_THREAD_POOL_SIZE = 4;
     public static final String REFERENCEABLE = "Referenceable";
     public static final String ASSET_ZONE_MEMBERSHIP = "AssetZoneMembership";
     public static final String ASSET_GUID = "896d14c2-7522-4f6c-8519-757711943fe6";
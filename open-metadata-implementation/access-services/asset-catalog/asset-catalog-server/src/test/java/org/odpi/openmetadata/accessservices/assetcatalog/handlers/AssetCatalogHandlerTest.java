@@ -38,11 +38,16 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorEx
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -61,6 +66,9 @@ public class AssetCatalogHandlerTest {
     private static final String SEARCH_CRITERIA = "employee";
     private static final String FIRST_GUID = "ababa-123-acbd";
     private static final String SECOND_GUID = "ababc-2134-2341f";
+    private static final String THIRD_GUID = "ababd-3245-3452a";
+    private static final String GLOSSARY_TERM_TYPE = "GlossaryTerm";
+    private static final String GLOSSARY_TERM_TYPE_GUID = "0db3e6ec-f5ef-4d75-ae38-b7ee6fd6ec0a";
     private static final String RELATIONSHIP_TYPE_GUID = "adadad-bcba-123";
     private static final String SEARCH_PARAMETER = "searchParameter";
     private final String USER = "test-user";
@@ -598,6 +606,83 @@ public class AssetCatalogHandlerTest {
         verify(invalidParameterHandler, times(1)).validateObject(searchParams, "searchParameter", methodName);
     }
 
+    @Test
+    public void searchByType_mergesPagesAcrossTypes() throws org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException, org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException {
+        SearchParameters searchParams = mockSearchParams();
+        searchParams.setEntityTypes(Arrays.asList(ASSET_TYPE, GLOSSARY_TERM_TYPE));
+        searchParams.setFrom(1);
+        searchParams.setPageSize(2);
+        mockTypeDef(ASSET_TYPE, ASSET_TYPE_GUID);
+        mockTypeDef(GLOSSARY_TERM_TYPE, GLOSSARY_TERM_TYPE_GUID);
+        mockSearchString(SEARCH_CRITERIA);
+
+        OMRSMetadataCollection metadataCollection = mockMetadataCollection();
+        when(metadataCollection.findEntitiesByPropertyValue(USER,
+                ASSET_TYPE_GUID,
+                SEARCH_CRITERIA,
+                0,
+                Collections.singletonList(InstanceStatus.ACTIVE),
+                null,
+                null,
+                null,
+                SequencingOrder.ANY,
+                3)).thenReturn(Arrays.asList(mockEntity(FIRST_GUID, ASSET_TYPE, ASSET_TYPE_GUID),
+                mockEntity(SECOND_GUID, ASSET_TYPE, ASSET_TYPE_GUID)));
+        when(metadataCollection.findEntitiesByPropertyValue(USER,
+                GLOSSARY_TERM_TYPE_GUID,
+                SEARCH_CRITERIA,
+                0,
+                Collections.singletonList(InstanceStatus.ACTIVE),
+                null,
+                null,
+                null,
+                SequencingOrder.ANY,
+                3)).thenReturn(Arrays.asList(mockEntity(SECOND_GUID, ASSET_TYPE, ASSET_TYPE_GUID),
+                mockEntity(THIRD_GUID, GLOSSARY_TERM_TYPE, GLOSSARY_TERM_TYPE_GUID)));
+
+        List<AssetElements> assetElements = assetCatalogHandler.searchByType(USER, SEARCH_CRITERIA, searchParams);
+
+        assertEquals(2, assetElements.size());
+        assertEquals(SECOND_GUID, assetElements.get(0).getGuid());
+        assertEquals(THIRD_GUID, assetElements.get(1).getGuid());
+        assertEquals(GLOSSARY_TERM_TYPE, assetElements.get(1).getType().getName());
+    }
+
+    @Test
+    public void searchByType_pagesAcrossTypesWithFilteredEntities() throws org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException, org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException {
+        mockTypeDef(ASSET_TYPE, ASSET_TYPE_GUID);
+        mockTypeDef(GLOSSARY_TERM_TYPE, GLOSSARY_TERM_TYPE_GUID);
+        mockSearchString(SEARCH_CRITERIA);
+
+        OMRSMetadataCollection metadataCollection = mockMetadataCollection();
+        mockPagedSearch(metadataCollection, ASSET_TYPE_GUID, Arrays.asList(
+                mockEntity("asset-1", ASSET_TYPE, ASSET_TYPE_GUID),
+                mockEntity("hidden-1", ASSET_TYPE, ASSET_TYPE_GUID),
+                mockEntity("asset-2", ASSET_TYPE, ASSET_TYPE_GUID),
+                mockEntity("asset-3", ASSET_TYPE, ASSET_TYPE_GUID)));
+        mockPagedSearch(metadataCollection, GLOSSARY_TERM_TYPE_GUID, Arrays.asList(
+                mockEntity("asset-3", ASSET_TYPE, ASSET_TYPE_GUID),
+                mockEntity("term-1", GLOSSARY_TERM_TYPE, GLOSSARY_TERM_TYPE_GUID),
+                mockEntity("hidden-2", GLOSSARY_TERM_TYPE, GLOSSARY_TERM_TYPE_GUID),
+                mockEntity("term-2", GLOSSARY_TERM_TYPE, GLOSSARY_TERM_TYPE_GUID)));
+        doThrow(new org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException(AssetCatalogErrorCode.SERVICE_NOT_INITIALIZED.getHttpErrorCode(),
+                this.getClass().getName(), "", "", "", "", ""))
+                .when(invalidParameterHandler).validateAssetInSupportedZone(startsWith("hidden"), any(), any(), any(), any(), any());
+
+        List<String> pages = new ArrayList<>();
+        for (int from = 0; from < 8; from += 2) {
+            SearchParameters searchParams = mockSearchParams();
+            searchParams.setEntityTypes(Arrays.asList(ASSET_TYPE, GLOSSARY_TERM_TYPE));
+            searchParams.setFrom(from);
+            searchParams.setPageSize(2);
+
+            List<AssetElements> page = assetCatalogHandler.searchByType(USER, SEARCH_CRITERIA, searchParams);
+            page.forEach(assetElements -> pages.add(assetElements.getGuid()));
+        }
+
+        assertEquals(Arrays.asList("asset-1", "asset-2", "asset-3", "term-1", "term-2"), pages);
+    }
+
     @Test
     public void searchByType_throwsInvalidParameterException() throws org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException, org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException {
         String methodName = "searchByType";
@@ -872,6 +957,13 @@ public class AssetCatalogHandlerTest {
         return Collections.singletonList(mockRelationship());
     }
 
+    private EntityDetail mockEntity(String guid, String typeName, String typeGUID) {
+        EntityDetail entityDetail = new EntityDetail();
+        entityDetail.setGUID(guid);
+        entityDetail.setType(mockInstanceType(typeName, typeGUID));
+        return entityDetail;
+    }
+
     private List<EntityDetail> mockEntities() {
         List<EntityDetail> entityDetails = new ArrayList<>();
         EntityDetail entityDetail = new EntityDetail();
@@ -942,6 +1034,24 @@ public class AssetCatalogHandlerTest {
         when(entityTypeDef.getSuperType()).thenReturn(typeDefLink);
     }
 
+    private void mockPagedSearch(OMRSMetadataCollection metadataCollection, String typeGUID, List<EntityDetail> entities) throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException, FunctionNotSupportedException, org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException, PropertyErrorException, TypeErrorException, PagingErrorException {
+        when(metadataCollection.findEntitiesByPropertyValue(eq(USER),
+                eq(typeGUID),
+                eq(SEARCH_CRITERIA),
+                anyInt(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                anyInt())).thenAnswer(invocation -> {
+            int from = invocation.getArgument(3);
+            int pageSize = invocation.getArgument(9);
+            int to = pageSize == 0 ? entities.size() : Math.min(entities.size(), from + pageSize);
+            return from >= to ? Collections.emptyList() : new ArrayList<>(entities.subList(from, to));
+        });
+    }
+
     private void mockSearchString(String searchCriteria) {
         when(repositoryHelper.getContainsRegex(searchCriteria)).thenReturn(searchCriteria);
     }
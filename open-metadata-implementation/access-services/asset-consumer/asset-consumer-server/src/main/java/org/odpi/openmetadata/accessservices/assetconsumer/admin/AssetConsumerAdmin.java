@@ -22,6 +22,7 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
 {
     private OMRSAuditLog                   auditLog            = null;
     private AssetConsumerServicesInstance  instance            = null;
+    private AssetConsumerOMRSTopicListener omrsTopicListener   = null;
     private String                         serverName          = null;
 
     /**
@@ -79,8 +80,6 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
              */
             if (accessServiceConfig.getAccessServiceOutTopic() != null)
             {
-                AssetConsumerOMRSTopicListener omrsTopicListener;
-
                 omrsTopicListener = new AssetConsumerOMRSTopicListener(accessServiceConfig.getAccessServiceOutTopic(),
                                                                        repositoryConnector.getRepositoryHelper(),
                                                                        repositoryConnector.getRepositoryValidator(),
@@ -130,6 +129,11 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
         final String            actionDescription = "shutdown";
         AssetConsumerAuditCode  auditCode;
 
+        if (omrsTopicListener != null)
+        {
+            omrsTopicListener.disconnect();
+        }
+
         if (instance != null)
         {
             this.instance.shutdown();
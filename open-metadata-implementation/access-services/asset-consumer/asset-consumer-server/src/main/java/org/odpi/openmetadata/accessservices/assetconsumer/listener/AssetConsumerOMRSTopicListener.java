@@ -68,6 +68,16 @@ public class AssetConsumerOMRSTopicListener extends OMRSTopicListenerBase
         publisher = new AssetConsumerPublisher(assetConsumerOutTopic, auditLog);
     }
 
+
+    /**
+     * Send the events waiting for the out topic and disconnect from it.
+     */
+    public void disconnect()
+    {
+        publisher.disconnect();
+    }
+
+
     /**
      * Unpack and deliver an instance event to the InstanceEventProcessor
      *
@@ -2,12 +2,12 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.assetconsumer.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetConsumerEvent;
+import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.NewAssetEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.UpdatedAssetEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.ffdc.AssetConsumerErrorCode;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.commonservices.eventpublisher.OMASEventPublisher;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
@@ -18,13 +18,18 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 
 /**
  * AssetConsumerPublisher is the connector responsible for publishing information about
- * new and changed assets.
+ * new and changed assets.  The events are sent to the out topic by an OMASEventPublisher so that
+ * processing of the OMRS events is not held up by the topic.
  */
 public class AssetConsumerPublisher
 {
     private static final Logger log = LoggerFactory.getLogger(AssetConsumerPublisher.class);
 
-    private OpenMetadataTopicConnector  connector = null;
+    private static final String publisherName = "Asset Consumer OMAS Out Topic Publisher";
+    private static final long   closeTimeout  = 10000;
+
+    private OpenMetadataTopicConnector  connector      = null;
+    private OMASEventPublisher          eventPublisher = null;
 
 
     /**
@@ -41,6 +46,7 @@ public class AssetConsumerPublisher
         if (assetConsumerOutTopic != null)
         {
             connector = this.getTopicConnector(assetConsumerOutTopic, auditLog);
+            eventPublisher = new OMASEventPublisher(publisherName, connector, null);
         }
     }
 
@@ -54,9 +60,9 @@ public class AssetConsumerPublisher
     {
         try
         {
-            if (connector != null)
+            if (eventPublisher != null)
             {
-                connector.sendEvent(this.getJSONPayload(event));
+                eventPublisher.publishEvent(this.getAssetGUID(event), event);
             }
         }
         catch (Throwable  error)
@@ -75,9 +81,9 @@ public class AssetConsumerPublisher
     {
         try
         {
-            if (connector != null)
+            if (eventPublisher != null)
             {
-                connector.sendEvent(this.getJSONPayload(event));
+                eventPublisher.publishEvent(this.getAssetGUID(event), event);
             }
         }
         catch (Throwable  error)
@@ -132,30 +138,43 @@ public class AssetConsumerPublisher
 
 
     /**
-     * Return the event as a String where the field contents are encoded in JSON.   The event beans
-     * contain annotations that mean the whole event, down to the lowest subclass, is serialized.
+     * Return the unique identifier of the asset in the event.  Events for the same asset are
+     * sent in the order they are published.
      *
-     * @param event event to serialize
-     * @return JSON payload (as String)
+     * @param event event to send
+     * @return guid or null
+     */
+    private String getAssetGUID(AssetEvent event)
+    {
+        if (event.getAsset() != null)
+        {
+            return event.getAsset().getGUID();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Send the events that are waiting and disconnect from the out topic.
      */
-    private String getJSONPayload(AssetConsumerEvent event)
+    public void disconnect()
     {
-        ObjectMapper objectMapper = new ObjectMapper();
-        String       jsonString   = null;
+        if (eventPublisher != null)
+        {
+            eventPublisher.close(closeTimeout);
+        }
 
-        /*
-         * This class
-         */
         try
         {
-            jsonString = objectMapper.writeValueAsString(event);
+            if (connector != null)
+            {
+                connector.disconnect();
+            }
         }
         catch (Throwable  error)
         {
-            log.error("Unable to create event payload: " + error.toString());
+            log.error("Unable to disconnect from the out topic; error was " + error.toString());
         }
-
-        return jsonString;
     }
-
 }
@@ -26,6 +26,7 @@ public class AssetLineageAdmin extends AccessServiceAdmin
 
     private OMRSAuditLog auditLog;
     private AssetLineageServicesInstance instance;
+    private AssetLineageOMRSTopicListener omrsTopicListener = null;
     private String serverName;
     private String serverUserName;
 
@@ -83,8 +84,6 @@ public class AssetLineageAdmin extends AccessServiceAdmin
              * Only set up the listening and event publishing if requested in the config.
              */
             if (accessServiceConfig.getAccessServiceOutTopic() != null) {
-                AssetLineageOMRSTopicListener omrsTopicListener;
-
                 omrsTopicListener = new AssetLineageOMRSTopicListener(
                         accessServiceConfig.getAccessServiceOutTopic(),
                         repositoryConnector.getRepositoryValidator(),
@@ -131,6 +130,10 @@ public class AssetLineageAdmin extends AccessServiceAdmin
         final String actionDescription = "shutdown";
         AssetLineageAuditCode auditCode;
 
+        if (omrsTopicListener != null) {
+            omrsTopicListener.disconnect();
+        }
+
         if (instance != null) {
             this.instance.shutdown();
         }
@@ -10,10 +10,8 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
-import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,14 +93,16 @@ public class AssetContextHandler {
                                                 ENTITY_NOT_FOUND.getSystemAction(),
                                                 ENTITY_NOT_FOUND.getUserAction());
             }
-            buildAssetContext(userId, entityDetail.get());
+            ContextBudget budget = new ContextBudget(MAX_CONTEXT_DEPTH, MAX_CONTEXT_REPOSITORY_CALLS);
+            buildAssetContext(userId, entityDetail.get(), budget);
+            if (budget.isExhausted()) {
+                log.warn("The context of the entity with guid {} is incomplete after {} repository calls",
+                        guid, budget.getRepositoryCalls());
+            }
             return graph;
 
         }
-        catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException |
-                org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException|
-                org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException |
-                RepositoryErrorException e) {
+        catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException e) {
             throw new AssetLineageException(e.getReportedHTTPCode(),
                                             e.getReportingClassName(),
                                             e.getReportingActionDescription(),
@@ -120,157 +120,184 @@ public class AssetContextHandler {
     }
 
 
-    private void buildAssetContext(String userId, EntityDetail entityDetail) throws UserNotAuthorizedException,
-                                                                                    PropertyServerException,
-                                                                                    InvalidParameterException,
-                                                                                    RepositoryErrorException,
-                                                                                    org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException,
-                                                                                    org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException {
-
-
-        final String typeDefName = entityDetail.getType().getTypeDefName();
-
-        if (typeDefName.equals(RELATIONAL_TABLE) || typeDefName.equals(DATA_FILE)) {
-            addContextForSchemaAttributeType(userId,entityDetail,typeDefName);
-        }
+    /**
+     * Builds the context of the entity one level at a time. Each level retrieves the schema types of the entities
+     * in the frontier. The complex schema types lead to the assets, the others are the next level of the frontier.
+     *
+     * @param userId       String - userId of user making request.
+     * @param entityDetail the starting entity
+     * @param budget       the budget of the context
+     */
+    private void buildAssetContext(String userId, EntityDetail entityDetail, ContextBudget budget) throws UserNotAuthorizedException,
+                                                                                                          PropertyServerException,
+                                                                                                          InvalidParameterException {
+        Set<String> visited = new HashSet<>();
+        List<EntityDetail> frontier = Collections.singletonList(entityDetail);
+
+        for (int depth = 0; !frontier.isEmpty() && depth < budget.getMaxDepth() && !budget.isExhausted(); depth++) {
+            frontier.forEach(entity -> visited.add(entity.getGUID()));
+
+            List<EntityDetail> tables = frontier.stream()
+                    .filter(entity -> entity.getType().getTypeDefName().equals(RELATIONAL_TABLE) ||
+                            entity.getType().getTypeDefName().equals(DATA_FILE))
+                    .collect(Collectors.toList());
+            if (!tables.isEmpty()) {
+                addContextForSchemaAttributeType(userId, tables, budget);
+            }
 
-            List<EntityDetail> tableTypeEntities = buildGraphByRelationshipType(userId, entityDetail, ATTRIBUTE_FOR_SCHEMA, typeDefName, false);
+            Map<String, List<EntityDetail>> tableTypeEntities = buildGraphByRelationshipType(userId, frontier, ATTRIBUTE_FOR_SCHEMA, false, budget);
 
-            if(tableTypeEntities.isEmpty()){
-              tableTypeEntities = buildGraphByRelationshipType(userId, entityDetail, NESTED_SCHEMA_ATTRIBUTE, typeDefName, false);
+            List<EntityDetail> nestedEntities = frontier.stream()
+                    .filter(entity -> tableTypeEntities.containsKey(entity.getGUID()) && tableTypeEntities.get(entity.getGUID()).isEmpty())
+                    .collect(Collectors.toList());
+            if (!nestedEntities.isEmpty()) {
+                tableTypeEntities.putAll(buildGraphByRelationshipType(userId, nestedEntities, NESTED_SCHEMA_ATTRIBUTE, false, budget));
             }
-            for (EntityDetail schemaTypeEntity : tableTypeEntities) {
-                if (isComplexSchemaType(userId, schemaTypeEntity.getType().getTypeDefName())) {
-                    setAssetDetails(userId, schemaTypeEntity);
-                } else {
-                        buildAssetContext(userId, tableTypeEntities.stream().findFirst().get());
-//                    }
+
+            List<EntityDetail> complexSchemaTypes = new ArrayList<>();
+            Map<String, EntityDetail> nextFrontier = new LinkedHashMap<>();
+            for (List<EntityDetail> schemaTypeEntities : tableTypeEntities.values()) {
+                for (EntityDetail schemaTypeEntity : schemaTypeEntities) {
+                    if (isComplexSchemaType(userId, schemaTypeEntity.getType().getTypeDefName())) {
+                        complexSchemaTypes.add(schemaTypeEntity);
+                    } else {
+                        EntityDetail parent = schemaTypeEntities.get(0);
+                        if (!visited.contains(parent.getGUID())) {
+                            nextFrontier.putIfAbsent(parent.getGUID(), parent);
+                        }
+                    }
                 }
             }
-    }
-
-    private List<EntityDetail> buildGraphByRelationshipType(String userId, EntityDetail startEntity,
-                                                            String relationshipType, String typeDefName,boolean changeDirection) throws UserNotAuthorizedException,
-                                                                                                                   PropertyServerException,
-                                                                                                                   InvalidParameterException {
-        List<Relationship> relationships = commonHandler.getRelationshipsByType(userId, startEntity.getGUID(), relationshipType, typeDefName);
 
-        if(startEntity.getType().getTypeDefName().equals(FILE_FOLDER)) {
-            relationships = relationships.stream().filter(relationship ->
-                    relationship.getEntityTwoProxy().getGUID().equals(startEntity.getGUID())).collect(Collectors.toList());
+            if (!complexSchemaTypes.isEmpty()) {
+                setAssetDetails(userId, complexSchemaTypes, budget);
+            }
+            frontier = new ArrayList<>(nextFrontier.values());
         }
+    }
 
-        List<EntityDetail> entityDetails = new ArrayList<>();
-        for (Relationship relationship : relationships) {
-
-            EntityDetail endEntity = commonHandler.buildGraphEdgeByRelationship(userId, startEntity, relationship, graph,changeDirection);
-            if(endEntity == null) return Collections.emptyList();
+    private Map<String, List<EntityDetail>> buildGraphByRelationshipType(String userId, Collection<EntityDetail> frontier,
+                                                                         String relationshipType, boolean changeDirection,
+                                                                         ContextBudget budget) throws UserNotAuthorizedException,
+                                                                                                      PropertyServerException,
+                                                                                                      InvalidParameterException {
+        return commonHandler.buildGraphEdgesByRelationshipType(userId, frontier, relationshipType, graph, budget, changeDirection,
+                (startEntity, relationship) -> !startEntity.getType().getTypeDefName().equals(FILE_FOLDER) ||
+                        relationship.getEntityTwoProxy().getGUID().equals(startEntity.getGUID()));
+    }
 
-            entityDetails.add(endEntity);
+    private List<EntityDetail> getFirstEntities(Map<String, List<EntityDetail>> entities) {
+        Map<String, EntityDetail> firstEntities = new LinkedHashMap<>();
+        for (List<EntityDetail> endEntities : entities.values()) {
+            endEntities.stream().findFirst().ifPresent(entity -> firstEntities.putIfAbsent(entity.getGUID(), entity));
         }
-        return entityDetails;
+        return new ArrayList<>(firstEntities.values());
     }
 
-    private void setAssetDetails(String userId, EntityDetail startEntity) throws InvalidParameterException,
-                                                                                 PropertyServerException,
-                                                                                 UserNotAuthorizedException {
-        List<EntityDetail> assetEntity = buildGraphByRelationshipType(userId,startEntity, ASSET_SCHEMA_TYPE,startEntity.getType().getTypeDefName(),false);
-        Optional<EntityDetail> first = assetEntity.stream().findFirst();
-        if(first.isPresent()){
-            buildAsset(userId, first.get());
-
+    private List<EntityDetail> getAllEntities(Map<String, List<EntityDetail>> entities) {
+        Map<String, EntityDetail> allEntities = new LinkedHashMap<>();
+        for (List<EntityDetail> endEntities : entities.values()) {
+            endEntities.forEach(entity -> allEntities.putIfAbsent(entity.getGUID(), entity));
         }
+        return new ArrayList<>(allEntities.values());
     }
 
-    private void buildAsset(String userId, EntityDetail dataSet) throws InvalidParameterException,
-                                                                      PropertyServerException,
-                                                                      UserNotAuthorizedException {
-        final String typeDefName = dataSet.getType().getTypeDefName();
-        List<EntityDetail> entityDetails;
-        if (typeDefName.equals(DATA_FILE)) {
-            entityDetails = buildGraphByRelationshipType(userId, dataSet, NESTED_FILE,typeDefName,false);
-        } else {
-            entityDetails = buildGraphByRelationshipType(userId, dataSet, DATA_CONTENT_FOR_DATA_SET,typeDefName,false);
+    private void setAssetDetails(String userId, List<EntityDetail> schemaTypes, ContextBudget budget) throws InvalidParameterException,
+                                                                                                           PropertyServerException,
+                                                                                                           UserNotAuthorizedException {
+        List<EntityDetail> assets = getFirstEntities(buildGraphByRelationshipType(userId, schemaTypes, ASSET_SCHEMA_TYPE, false, budget));
+        if (!assets.isEmpty()) {
+            buildAsset(userId, assets, budget);
         }
+    }
+
+    private void buildAsset(String userId, List<EntityDetail> dataSets, ContextBudget budget) throws InvalidParameterException,
+                                                                                                   PropertyServerException,
+                                                                                                   UserNotAuthorizedException {
+        Map<Boolean, List<EntityDetail>> dataFiles = dataSets.stream()
+                .collect(Collectors.partitioningBy(dataSet -> dataSet.getType().getTypeDefName().equals(DATA_FILE)));
+
+        List<EntityDetail> entityDetails = new ArrayList<>();
+        entityDetails.addAll(getAllEntities(buildGraphByRelationshipType(userId, dataFiles.get(true), NESTED_FILE, false, budget)));
+        entityDetails.addAll(getAllEntities(buildGraphByRelationshipType(userId, dataFiles.get(false), DATA_CONTENT_FOR_DATA_SET, false, budget)));
 
         if (CollectionUtils.isEmpty(entityDetails)) {
             return;
         }
-        addContextForEndpoints(userId,entityDetails.toArray(new EntityDetail[0]));
+        addContextForEndpoints(userId, entityDetails, budget);
     }
 
 
-    private void addContextForEndpoints(String userId,EntityDetail... entityDetails) throws InvalidParameterException,
+    private void addContextForEndpoints(String userId, List<EntityDetail> entityDetails, ContextBudget budget) throws InvalidParameterException,
             PropertyServerException,
             UserNotAuthorizedException {
-        for(EntityDetail entityDetail: entityDetails) {
-            if (entityDetail != null) {
-                if (entityDetail.getType().getTypeDefName().equals(DATABASE)) {
-                    addContextForConnections(userId, entityDetail);
-                } else {
-                    addContextFolderHierarchy(userId, entityDetail);
-                }
-            }
+        Map<Boolean, List<EntityDetail>> databases = entityDetails.stream()
+                .collect(Collectors.partitioningBy(entityDetail -> entityDetail.getType().getTypeDefName().equals(DATABASE)));
+
+        if (!databases.get(true).isEmpty()) {
+            addContextForConnections(userId, databases.get(true), budget);
+        }
+        if (!databases.get(false).isEmpty()) {
+            addContextFolderHierarchy(userId, databases.get(false), budget);
         }
     }
 
-    private void addContextForConnections(String userId, EntityDetail entityDetail) throws UserNotAuthorizedException,
+    private void addContextForConnections(String userId, List<EntityDetail> entityDetails, ContextBudget budget) throws UserNotAuthorizedException,
             PropertyServerException,
             InvalidParameterException {
 
-        List<EntityDetail> connections = buildGraphByRelationshipType(userId, entityDetail, CONNECTION_TO_ASSET, DATABASE,false);
+        List<EntityDetail> connections = getAllEntities(buildGraphByRelationshipType(userId, entityDetails, CONNECTION_TO_ASSET, false, budget));
 
         if (!connections.isEmpty()) {
-            for (EntityDetail entity : connections) {
-                buildGraphByRelationshipType(userId, entity, CONNECTION_ENDPOINT, CONNECTION,false);
-            }
+            buildGraphByRelationshipType(userId, connections, CONNECTION_ENDPOINT, false, budget);
         }
     }
 
-    private void addContextFolderHierarchy(String userId,EntityDetail entityDetail) throws InvalidParameterException,
+    private void addContextFolderHierarchy(String userId, List<EntityDetail> entityDetails, ContextBudget budget) throws InvalidParameterException,
             PropertyServerException,
             UserNotAuthorizedException {
 
-        List<EntityDetail> connections = buildGraphByRelationshipType(userId, entityDetail,
-                CONNECTION_TO_ASSET, entityDetail.getType().getTypeDefName(),false);
+        Set<String> visited = new HashSet<>();
+        List<EntityDetail> frontier = entityDetails;
 
-        Optional<EntityDetail> connection = connections.stream().findFirst();
-        if (connection.isPresent()) {
-            buildGraphByRelationshipType(userId, entityDetail, CONNECTION_ENDPOINT, CONNECTION,false);
-        }
+        for (int depth = 0; !frontier.isEmpty() && depth < budget.getMaxDepth() && !budget.isExhausted(); depth++) {
+            frontier.forEach(entity -> visited.add(entity.getGUID()));
 
-        Optional<EntityDetail> nestedFolder =   buildGraphByRelationshipType(userId, entityDetail, FOLDER_HIERARCHY, FILE_FOLDER,false)
-                .stream()
-                .findFirst();
+            Map<String, List<EntityDetail>> connections = buildGraphByRelationshipType(userId, frontier, CONNECTION_TO_ASSET, false, budget);
 
-        if(nestedFolder.isPresent()) {
-            addContextFolderHierarchy(userId, nestedFolder.get());
+            List<EntityDetail> connected = frontier.stream()
+                    .filter(entity -> !connections.getOrDefault(entity.getGUID(), Collections.emptyList()).isEmpty())
+                    .collect(Collectors.toList());
+            if (!connected.isEmpty()) {
+                buildGraphByRelationshipType(userId, connected, CONNECTION_ENDPOINT, false, budget);
+            }
+
+            frontier = getFirstEntities(buildGraphByRelationshipType(userId, frontier, FOLDER_HIERARCHY, false, budget)).stream()
+                    .filter(folder -> !visited.contains(folder.getGUID()))
+                    .collect(Collectors.toList());
         }
     }
 
-    private void addContextForSchemaAttributeType(String userId,EntityDetail entityDetail,String typeDefName) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
-        List<EntityDetail> schemaAttributeTypes = buildGraphByRelationshipType(userId, entityDetail, SCHEMA_ATTRIBUTE_TYPE, typeDefName,true);
+    private void addContextForSchemaAttributeType(String userId, List<EntityDetail> entityDetails, ContextBudget budget) throws InvalidParameterException,
+                                                                                                                             PropertyServerException,
+                                                                                                                             UserNotAuthorizedException {
+        Map<String, List<EntityDetail>> schemaAttributeTypes = buildGraphByRelationshipType(userId, entityDetails, SCHEMA_ATTRIBUTE_TYPE, true, budget);
 
-//        for(EntityDetail schemaAttributeType: schemaAttributeTypes){
-//            buildGraphByRelationshipType(userId, schemaAttributeType, ATTRIBUTE_FOR_SCHEMA, typeDefName,true);
-//        }
-        if (schemaAttributeTypes.isEmpty()){
-            addColumns(userId,NESTED_SCHEMA_ATTRIBUTE,typeDefName,entityDetail);
+        List<EntityDetail> withoutSchemaAttributeType = entityDetails.stream()
+                .filter(entity -> schemaAttributeTypes.containsKey(entity.getGUID()) && schemaAttributeTypes.get(entity.getGUID()).isEmpty())
+                .collect(Collectors.toList());
+        if (!withoutSchemaAttributeType.isEmpty()) {
+            buildGraphByRelationshipType(userId, withoutSchemaAttributeType, NESTED_SCHEMA_ATTRIBUTE, true, budget);
         }
 
-        addColumns(userId,ATTRIBUTE_FOR_SCHEMA,typeDefName,schemaAttributeTypes.toArray(new EntityDetail[0]));
-    }
-
-    private void addColumns(String userId,String relationshipType,String typeDefName,EntityDetail... entities) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
-        for(EntityDetail entityDetail: entities){
-            buildGraphByRelationshipType(userId, entityDetail, relationshipType, typeDefName,true);
+        List<EntityDetail> schemaTypes = getAllEntities(schemaAttributeTypes);
+        if (!schemaTypes.isEmpty()) {
+            buildGraphByRelationshipType(userId, schemaTypes, ATTRIBUTE_FOR_SCHEMA, true, budget);
         }
     }
 
-    private boolean isComplexSchemaType(String userId, String typeDefName) throws RepositoryErrorException,
-                                                                                           org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException,
-                                                                                           org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException {
-        TypeDefGallery allTypes =  repositoryHandler.getMetadataCollection().getAllTypes(userId);
-        return allTypes.getTypeDefs().stream().filter(t -> t.getName().equals(typeDefName) && t.getSuperType().getName().equals(COMPLEX_SCHEMA_TYPE)).findAny().isPresent();
+    private boolean isComplexSchemaType(String userId, String typeDefName) {
+        TypeDef typeDef = repositoryHelper.getTypeDefByName(userId, typeDefName);
+        return typeDef != null && typeDef.getSuperType() != null && COMPLEX_SCHEMA_TYPE.equals(typeDef.getSuperType().getName());
     }
 }
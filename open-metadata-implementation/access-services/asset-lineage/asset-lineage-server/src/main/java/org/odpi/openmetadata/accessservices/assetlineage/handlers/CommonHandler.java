@@ -18,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.BiPredicate;
 
 
 /**
@@ -209,4 +210,125 @@ public class CommonHandler {
         return endEntity;
     }
 
+    /**
+     * Adds entities and relationships for one level of a context structure.  The relationships of the requested type
+     * are retrieved for each entity in the frontier together with the entities at the other end, in a single call
+     * to the repository for each entity.  Entities that have already been retrieved for the relationship type in this
+     * context are not retrieved again, and each relationship is only added to the graph once.  No more calls are made
+     * once the budget is exhausted, so the entities that were not expanded are missing from the result.
+     *
+     * @param userId               String - userId of user making request.
+     * @param frontier             entities at the start of the relationships
+     * @param relationshipTypeName the type of the relationships to follow, null for all types
+     * @param graph                the graph
+     * @param budget               the budget of the context
+     * @param changeDirection      true if the edges point from the entities at the other end to the frontier
+     * @param relationshipFilter   selects the relationships to follow from each start entity, null for all
+     * @return map of the guid of each expanded start entity to the entities at the other end of its relationships;
+     * the entities at the other end that could not be retrieved are left out
+     * @throws InvalidParameterException  the invalid parameter exception
+     * @throws PropertyServerException    the property server exception
+     * @throws UserNotAuthorizedException the user not authorized exception
+     */
+    protected Map<String, List<EntityDetail>> buildGraphEdgesByRelationshipType(String userId,
+                                                                                Collection<EntityDetail> frontier,
+                                                                                String relationshipTypeName,
+                                                                                AssetContext graph,
+                                                                                ContextBudget budget,
+                                                                                boolean changeDirection,
+                                                                                BiPredicate<EntityDetail, Relationship> relationshipFilter) throws InvalidParameterException,
+            PropertyServerException,
+            UserNotAuthorizedException {
+
+        final String methodName = "buildGraphEdgesByRelationshipType";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+
+        String typeGuid = null;
+        if (relationshipTypeName != null) {
+            typeGuid = getTypeName(userId, relationshipTypeName);
+        }
+
+        Converter converter = new Converter();
+        Map<String, List<EntityDetail>> results = new LinkedHashMap<>();
+
+        for (EntityDetail startEntity : frontier) {
+            String startGuid = startEntity.getGUID();
+
+            if (results.containsKey(startGuid)) continue;
+
+            InstanceGraph neighborhood;
+            if (budget.hasNeighborhood(startGuid, relationshipTypeName)) {
+                neighborhood = budget.getNeighborhood(startGuid, relationshipTypeName);
+            } else {
+                if (budget.isExhausted()) break;
+
+                budget.addRepositoryCall();
+                neighborhood = repositoryHandler.getEntityNeighborhood(userId,
+                        startGuid,
+                        startEntity.getType().getTypeDefName(),
+                        typeGuid,
+                        relationshipTypeName,
+                        methodName);
+                budget.putNeighborhood(startGuid, relationshipTypeName, neighborhood);
+            }
+
+            results.put(startGuid, getEntitiesAtTheEnd(startEntity, neighborhood, graph, budget, changeDirection, relationshipFilter, converter));
+        }
+
+        return results;
+    }
+
+    private List<EntityDetail> getEntitiesAtTheEnd(EntityDetail startEntity,
+                                                   InstanceGraph neighborhood,
+                                                   AssetContext graph,
+                                                   ContextBudget budget,
+                                                   boolean changeDirection,
+                                                   BiPredicate<EntityDetail, Relationship> relationshipFilter,
+                                                   Converter converter) {
+
+        if (neighborhood == null || neighborhood.getRelationships() == null) return Collections.emptyList();
+
+        Map<String, EntityDetail> entities = new HashMap<>();
+        if (neighborhood.getEntities() != null) {
+            neighborhood.getEntities().forEach(entity -> entities.put(entity.getGUID(), entity));
+        }
+
+        String startGuid = startEntity.getGUID();
+        List<EntityDetail> endEntities = new ArrayList<>();
+
+        for (Relationship relationship : neighborhood.getRelationships()) {
+            EntityProxy otherEnd = repositoryHandler.getOtherEnd(startGuid, relationship);
+
+            if (otherEnd == null || startGuid.equals(otherEnd.getGUID())) continue;
+            if (relationshipFilter != null && !relationshipFilter.test(startEntity, relationship)) continue;
+
+            EntityDetail endEntity = entities.get(otherEnd.getGUID());
+            if (endEntity == null) {
+                log.debug("Entity {} at the other end of relationship {} could not be retrieved", otherEnd.getGUID(), relationship.getGUID());
+                continue;
+            }
+
+            if (budget.markVisited(relationship.getGUID())) {
+                LineageEntity startVertex;
+                LineageEntity endVertex;
+                if (changeDirection) {
+                    startVertex = converter.createLineageEntity(endEntity);
+                    endVertex = converter.createLineageEntity(startEntity);
+                } else {
+                    startVertex = converter.createLineageEntity(startEntity);
+                    endVertex = converter.createLineageEntity(endEntity);
+                }
+
+                graph.addVertex(startVertex);
+                graph.addVertex(endVertex);
+                graph.addEdge(new GraphContext(relationship.getType().getTypeDefName(), relationship.getGUID(), startVertex, endVertex));
+            }
+
+            endEntities.add(endEntity);
+        }
+
+        return endEntities;
+    }
+
 }
@@ -0,0 +1,125 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.handlers;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The context budget limits the work done to build the context of a single entity.  It records the relationships
+ * that have already been added to the graph and the neighborhoods that have already been retrieved, so that each
+ * entity is only retrieved once for each relationship type, and it counts the calls to the repository so that
+ * a very large context is cut short rather than holding up the processing of the other events.
+ */
+public class ContextBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(ContextBudget.class);
+
+    private int maxDepth;
+    private int maxRepositoryCalls;
+    private int repositoryCalls = 0;
+    private Set<String> visitedRelationships = new HashSet<>();
+    private Map<String, InstanceGraph> neighborhoods = new HashMap<>();
+
+    /**
+     * Instantiates a new context budget.
+     *
+     * @param maxDepth           maximum number of levels that are followed from the starting entity
+     * @param maxRepositoryCalls maximum number of calls to the repository for the context
+     */
+    public ContextBudget(int maxDepth, int maxRepositoryCalls) {
+        this.maxDepth = maxDepth;
+        this.maxRepositoryCalls = maxRepositoryCalls;
+    }
+
+    /**
+     * Gets the maximum number of levels that are followed from the starting entity.
+     *
+     * @return the max depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Gets the number of calls made to the repository so far.
+     *
+     * @return the repository calls
+     */
+    public int getRepositoryCalls() {
+        return repositoryCalls;
+    }
+
+    /**
+     * Returns whether all of the repository calls allowed for the context have been made.
+     *
+     * @return boolean true if no more calls should be made
+     */
+    public boolean isExhausted() {
+        return repositoryCalls >= maxRepositoryCalls;
+    }
+
+    /**
+     * Records a call to the repository.
+     */
+    void addRepositoryCall() {
+        repositoryCalls++;
+
+        if (repositoryCalls == maxRepositoryCalls) {
+            log.warn("The context has reached the limit of {} repository calls and will not be expanded further", maxRepositoryCalls);
+        }
+    }
+
+    /**
+     * Records that a relationship has been added to the graph.
+     *
+     * @param relationshipGUID guid of the relationship
+     * @return boolean true if the relationship had not been added before
+     */
+    boolean markVisited(String relationshipGUID) {
+        return visitedRelationships.add(relationshipGUID);
+    }
+
+    /**
+     * Returns whether the neighborhood of an entity has already been retrieved for a relationship type.
+     *
+     * @param entityGUID           guid of the entity
+     * @param relationshipTypeName type of the relationships; null for all types
+     * @return boolean true if the neighborhood is cached
+     */
+    boolean hasNeighborhood(String entityGUID, String relationshipTypeName) {
+        return neighborhoods.containsKey(getNeighborhoodKey(entityGUID, relationshipTypeName));
+    }
+
+    /**
+     * Gets the cached neighborhood of an entity for a relationship type.
+     *
+     * @param entityGUID           guid of the entity
+     * @param relationshipTypeName type of the relationships; null for all types
+     * @return the neighborhood, null if there are no relationships
+     */
+    InstanceGraph getNeighborhood(String entityGUID, String relationshipTypeName) {
+        return neighborhoods.get(getNeighborhoodKey(entityGUID, relationshipTypeName));
+    }
+
+    /**
+     * Caches the neighborhood of an entity for a relationship type.
+     *
+     * @param entityGUID           guid of the entity
+     * @param relationshipTypeName type of the relationships; null for all types
+     * @param neighborhood         the neighborhood, null if there are no relationships
+     */
+    void putNeighborhood(String entityGUID, String relationshipTypeName, InstanceGraph neighborhood) {
+        neighborhoods.put(getNeighborhoodKey(entityGUID, relationshipTypeName), neighborhood);
+    }
+
+    private String getNeighborhoodKey(String entityGUID, String relationshipTypeName) {
+        return entityGUID + ":" + relationshipTypeName;
+    }
+}
@@ -12,7 +12,6 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -87,7 +86,7 @@ public class ProcessContextHandler {
                                                  ENTITY_NOT_FOUND.getUserAction());
             }
 
-            return checkIfAllRelationshipsExist(userId,entityDetail.get());
+            return checkIfAllRelationshipsExist(userId, entityDetail.get(), new ContextBudget(MAX_CONTEXT_DEPTH, MAX_CONTEXT_REPOSITORY_CALLS));
 
         } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException e) {
             throw new AssetLineageException(e.getReportedHTTPCode(),
@@ -99,15 +98,21 @@ public class ProcessContextHandler {
         }
     }
 
-    private Map<String,Set<GraphContext>> checkIfAllRelationshipsExist(String userId, EntityDetail entityDetail) throws InvalidParameterException,
+    private Map<String,Set<GraphContext>> checkIfAllRelationshipsExist(String userId, EntityDetail entityDetail, ContextBudget budget) throws InvalidParameterException,
                                                                                                                PropertyServerException,
                                                                                                                UserNotAuthorizedException {
 
-        boolean entitiesTillLastRelationshipExist = hasEntitiesLinkedWithProcessPort(userId, entityDetail);
+        boolean entitiesTillLastRelationshipExist = hasEntitiesLinkedWithProcessPort(userId, entityDetail, budget);
         if(entitiesTillLastRelationshipExist){
             return graph.getNeighbors();
         }
 
+        if(budget.isExhausted()){
+            log.warn("The context of the entity with guid {} is incomplete after {} repository calls",
+                    entityDetail.getGUID(), budget.getRepositoryCalls());
+            return graph.getNeighbors();
+        }
+
         log.error("Some relationships are missing for the entity with guid {}",entityDetail.getGUID());
 
         throw new AssetLineageException(RELATIONSHIP_NOT_FOUND.getHTTPErrorCode(),
@@ -118,12 +123,12 @@ public class ProcessContextHandler {
                                         RELATIONSHIP_NOT_FOUND.getUserAction());
     }
 
-    private boolean hasEntitiesLinkedWithProcessPort(String userId, EntityDetail entityDetail) throws UserNotAuthorizedException,
+    private boolean hasEntitiesLinkedWithProcessPort(String userId, EntityDetail entityDetail, ContextBudget budget) throws UserNotAuthorizedException,
                                                                                                                  PropertyServerException,
                                                                                                                  InvalidParameterException {
 
-        final String typeDefName = entityDetail.getType().getTypeDefName();
-        List<EntityDetail> entityDetails = getRelationshipsBetweenEntities(userId, entityDetail.getGUID(), PROCESS_PORT, typeDefName);
+        List<EntityDetail> entityDetails = commonHandler.buildGraphEdgesByRelationshipType(userId, Collections.singletonList(entityDetail),
+                PROCESS_PORT, graph, budget, false, null).getOrDefault(entityDetail.getGUID(), Collections.emptyList());
 
         if (entityDetails.isEmpty()){
             log.error("No relationships Process Port has been found for the entity with guid {}",entityDetail.getGUID());
@@ -136,45 +141,40 @@ public class ProcessContextHandler {
                                             RELATIONSHIP_NOT_FOUND.getUserAction());
     }
 
-       return hasRelationshipBasedOnType(entityDetails, userId);
+       return hasRelationshipBasedOnType(entityDetails, userId, budget);
 
     }
 
 
     /**
-     * Retrieves the relationships of an Entity
+     * Retrieves the relationships of one level of entities. The entities are grouped by the type of relationship
+     * that is followed from their type, so there is one call to the repository per entity for each relationship type.
+     * TabularColumns follow all of their relationships except the AttributeForSchema relationship back to the schema type.
      *
      * @param userId           String - userId of user making request.
-     * @param guid             guid of parent entity
-     * @param relationshipType type of the relationship
-     * @param typeDefName      type of the entity that has the Relationship
-     * @return List of entities that are on the other end of the relationship, empty list if none
+     * @param frontier         entities at the start of the relationships
+     * @param budget           the budget of the context
+     * @return Map of the guid of each entity to the entities that are on the other end of its relationships
      */
-    private List<EntityDetail> getRelationshipsBetweenEntities(String userId, String guid,
-                                                               String relationshipType, String typeDefName) throws UserNotAuthorizedException,
-                                                                                                                   PropertyServerException,
-                                                                                                                   InvalidParameterException {
-        List<Relationship> relationships = commonHandler.getRelationshipsByType(userId, guid, relationshipType,typeDefName);
-        EntityDetail startEntity = repositoryHandler.getEntityByGUID(userId, guid, "guid", typeDefName, "getRelationships");
-
-        if (startEntity == null) return Collections.emptyList();
-        String startEntityType = startEntity.getType().getTypeDefName();
-
-        List<EntityDetail> entityDetails = new ArrayList<>();
-        for (Relationship relationship : relationships) {
-
-            if(relationship.getType().getTypeDefName().equals(ATTRIBUTE_FOR_SCHEMA) &&
-                    startEntityType.equals(TABULAR_COLUMN)){
-                continue;
-            }
-            EntityDetail endEntity = commonHandler.buildGraphEdgeByRelationship(userId,startEntity,relationship,graph,false);
-            if(endEntity == null) return Collections.emptyList();
-
-            entityDetails.add(endEntity);
+    private Map<String, List<EntityDetail>> getRelationshipsBetweenEntities(String userId, List<EntityDetail> frontier,
+                                                                            ContextBudget budget) throws UserNotAuthorizedException,
+                                                                                                         PropertyServerException,
+                                                                                                         InvalidParameterException {
+        Map<String, List<EntityDetail>> entitiesByRelationshipType = new LinkedHashMap<>();
+        for (EntityDetail entityDetail : frontier) {
+            String relationshipType = processRelationshipsTypes.get(entityDetail.getType().getTypeDefName());
+
+            entitiesByRelationshipType.computeIfAbsent(relationshipType, type -> new ArrayList<>()).add(entityDetail);
         }
 
-        return entityDetails;
+        Map<String, List<EntityDetail>> result = new HashMap<>();
+        for (Map.Entry<String, List<EntityDetail>> entities : entitiesByRelationshipType.entrySet()) {
+            result.putAll(commonHandler.buildGraphEdgesByRelationshipType(userId, entities.getValue(), entities.getKey(), graph, budget, false,
+                    (startEntity, relationship) -> !(relationship.getType().getTypeDefName().equals(ATTRIBUTE_FOR_SCHEMA) &&
+                            startEntity.getType().getTypeDefName().equals(TABULAR_COLUMN))));
+        }
 
+        return result;
     }
 
     /**
@@ -183,18 +183,19 @@ public class ProcessContextHandler {
      * entities otherwise it should take the context down to TabularColumn entities.
      * @param entityDetails      list of entities
      * @param userId             String - userId of user making request.
+     * @param budget             the budget of the context
      * @return boolean true if relationships exist otherwise false.
      */
-    private boolean hasRelationshipBasedOnType(List<EntityDetail> entityDetails, String userId) throws InvalidParameterException,
+    private boolean hasRelationshipBasedOnType(List<EntityDetail> entityDetails, String userId, ContextBudget budget) throws InvalidParameterException,
                                                                                                                   PropertyServerException,
                                                                                                                   UserNotAuthorizedException {
         boolean relationshipsExist = false;
         if (checkIfEntityExistWithSpecificType(entityDetails,PORT_ALIAS)) {
-            relationshipsExist = hasEndRelationship(entityDetails,userId);
+            relationshipsExist = hasEndRelationship(entityDetails,userId,budget);
         }
 
         if (checkIfEntityExistWithSpecificType(entityDetails,PORT_IMPLEMENTATION)) {
-            relationshipsExist = hasTabularSchemaTypes(entityDetails,userId);
+            relationshipsExist = hasTabularSchemaTypes(entityDetails,userId,budget);
         }
 
         return relationshipsExist;
@@ -204,60 +205,49 @@ public class ProcessContextHandler {
      * Returns if the entities that are passed as an argument in the method have any relationships.
      * @param entityDetails      list of entities
      * @param userId             String - userId of user making request.
+     * @param budget             the budget of the context
      * @return boolean true if relationships exist otherwise false.
      */
-    private boolean hasEndRelationship(List<EntityDetail> entityDetails, String userId) throws InvalidParameterException,
+    private boolean hasEndRelationship(List<EntityDetail> entityDetails, String userId, ContextBudget budget) throws InvalidParameterException,
                                                                                                        PropertyServerException,
                                                                                                        UserNotAuthorizedException {
-        List<EntityDetail> result = new ArrayList<>();
-        for (EntityDetail entityDetail : entityDetails) {
-            result.addAll(getRelationshipsBetweenEntities(userId, entityDetail.getGUID(),
-                                           processRelationshipsTypes.get(entityDetail.getType().getTypeDefName()),
-                                           entityDetail.getType().getTypeDefName()));
-        }
-        return  !result.isEmpty();
+        return getRelationshipsBetweenEntities(userId, entityDetails, budget).values().stream().anyMatch(result -> !result.isEmpty());
     }
 
     /**
      * Returns if there are any TabularSchemaTypes that are related to a Port Implementation Entity.
      * @param entityDetails      list of entities
      * @param userId             String - userId of user making request.
+     * @param budget             the budget of the context
      * @return boolean true if relationships exist otherwise false.
      */
-    private boolean hasTabularSchemaTypes(List<EntityDetail> entityDetails, String userId) throws InvalidParameterException,
+    private boolean hasTabularSchemaTypes(List<EntityDetail> entityDetails, String userId, ContextBudget budget) throws InvalidParameterException,
                                                                                                              PropertyServerException,
                                                                                                              UserNotAuthorizedException {
-        List<EntityDetail>  result = new ArrayList<>();
-        for (EntityDetail entityDetail : entityDetails) {
+        Map<String, List<EntityDetail>> tabularSchemaTypes = getRelationshipsBetweenEntities(userId, entityDetails, budget);
 
-            List<EntityDetail> tabularSchemaType = getRelationshipsBetweenEntities(userId, entityDetail.getGUID(),
-                                                                                        processRelationshipsTypes.get(entityDetail.getType().getTypeDefName()),
-                                                                                        entityDetail.getType().getTypeDefName());
-            Optional<EntityDetail> first = tabularSchemaType.stream().findFirst();
-            result.add(first.orElse(null));
+        List<EntityDetail>  result = new ArrayList<>();
+        for (List<EntityDetail> tabularSchemaType : tabularSchemaTypes.values()) {
+            tabularSchemaType.stream().findFirst().ifPresent(result::add);
         }
-        return hasSchemaAttributes(result,userId);
+        return hasSchemaAttributes(result,userId,budget);
     }
 
     /**
      * Returns if the TabularColumns are part of a TabularSchemaType.
      * @param entityDetails      list of entities
      * @param userId             String - userId of user making request.
+     * @param budget             the budget of the context
      * @return boolean true if relationships exist otherwise false.
      */
-    private boolean hasSchemaAttributes(List<EntityDetail> entityDetails, String userId) throws InvalidParameterException,
+    private boolean hasSchemaAttributes(List<EntityDetail> entityDetails, String userId, ContextBudget budget) throws InvalidParameterException,
                                                                                                            PropertyServerException,
                                                                                                            UserNotAuthorizedException {
-        List<EntityDetail>  result = new ArrayList<>();
-        for (EntityDetail entityDetail : entityDetails) {
+        Map<String, List<EntityDetail>> schemaAttributes = getRelationshipsBetweenEntities(userId, entityDetails, budget);
 
-            List<EntityDetail>  newListOfEntityDetails = getRelationshipsBetweenEntities(userId,
-                                                                                         entityDetail.getGUID(),
-                                                                                         processRelationshipsTypes.get(entityDetail.getType().getTypeDefName()),
-                                                                                         entityDetail.getType().getTypeDefName());
-            result.addAll(newListOfEntityDetails);
-        }
-        return hasEndRelationship(result,userId);
+        List<EntityDetail>  result = new ArrayList<>();
+        schemaAttributes.values().forEach(result::addAll);
+        return hasEndRelationship(result,userId,budget);
     }
 
     /**
@@ -85,6 +85,13 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         validator = new Validator(repositoryHelper);
     }
 
+    /**
+     * Send the events waiting for the out topic and disconnect from it.
+     */
+    public void disconnect() {
+        publisher.disconnect();
+    }
+
     /**
      * Method to pass a Registry event received on topic.
      *
@@ -244,7 +251,7 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         event.setLineageEntity(converter.createLineageEntity(entityDetail));
         event.setAssetLineageEventType(AssetLineageEventType.DELETE_ENTITY_EVENT);
 
-        publisher.publishRelationshipEvent(event);
+        publisher.publishRelationshipEvent(entityDetail.getGUID(), event);
     }
 
     private void processClassifiedEntityEvent(EntityDetail entityDetail, String serviceOperationName) {
@@ -309,7 +316,7 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
             LineageEvent event = new LineageEvent();
             event.setAssetContext(classificationContext);
             event.setAssetLineageEventType(AssetLineageEventType.CLASSIFICATION_CONTEXT_EVENT);
-            publisher.publishRelationshipEvent(event);
+            publisher.publishRelationshipEvent(entityDetail.getGUID(), event);
         }
     }
 
@@ -326,10 +333,7 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
 
         ProcessContextHandler processContextHandler = instanceHandler.getProcessHandler(serverUserName, serverName, serviceOperationName);
         Map<String, Set<GraphContext>> processContext = processContextHandler.getProcessContext(serverUserName, entityDetail.getGUID());
-        LineageEvent event = new LineageEvent();
-        event.setAssetContext(processContext);
-        event.setAssetLineageEventType(AssetLineageEventType.PROCESS_CONTEXT_EVENT);
-        publisher.publishRelationshipEvent(event);
+        publisher.publishContextEvents(entityDetail.getGUID(), AssetLineageEventType.PROCESS_CONTEXT_EVENT, processContext);
     }
 
     private void getAssetContext(EntityDetail entityDetail, String serviceOperationName) throws InvalidParameterException,
@@ -343,15 +347,11 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         GlossaryHandler glossaryHandler = instanceHandler.getGlossaryHandler(serverUserName, serverName, serviceOperationName);
         Map<String, Set<GraphContext>> context = glossaryHandler.getGlossaryTerm(technicalGuid, serviceOperationName, entityDetail, assetContext,validator);
 
-        LineageEvent event = new LineageEvent();
-        if (context.size() != 0) {
-            event.setAssetContext(context);
-        } else {
-            event.setAssetContext(assetContext.getNeighbors());
+        if (context.size() == 0) {
+            context = assetContext.getNeighbors();
         }
 
-        event.setAssetLineageEventType(AssetLineageEventType.TECHNICAL_ELEMENT_CONTEXT_EVENT);
-        publisher.publishRelationshipEvent(event);
+        publisher.publishContextEvents(entityDetail.getGUID(), AssetLineageEventType.TECHNICAL_ELEMENT_CONTEXT_EVENT, context);
     }
 
     private void processUpdatedEntity(EntityDetail entityDetail, String serviceOperationName){
@@ -362,6 +362,6 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         event.setLineageEntity(converter.createLineageEntity(entityDetail));
         event.setAssetLineageEventType(AssetLineageEventType.UPDATE_ENTITY_EVENT);
 
-        publisher.publishRelationshipEvent(event);
+        publisher.publishRelationshipEvent(entityDetail.getGUID(), event);
     }
 }
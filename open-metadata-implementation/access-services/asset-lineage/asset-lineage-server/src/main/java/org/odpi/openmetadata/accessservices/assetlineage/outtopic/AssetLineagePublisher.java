@@ -3,10 +3,13 @@
 package org.odpi.openmetadata.accessservices.assetlineage.outtopic;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetlineage.ffdc.AssetLineageErrorCode;
 import org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventHeader;
+import org.odpi.openmetadata.accessservices.assetlineage.event.AssetLineageEventType;
+import org.odpi.openmetadata.accessservices.assetlineage.event.LineageEvent;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.commonservices.eventpublisher.OMASEventPublisher;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
@@ -15,14 +18,28 @@ import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.Ope
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.MAX_EDGES_PER_EVENT;
+
 /**
  * AssetLineagePublisher is the connector responsible for publishing lineage context information about
- * new and changed assets.
+ * new and changed assets.  The events are sent to the out topic by an OMASEventPublisher so that
+ * processing of the OMRS events is not held up by the topic.
  */
 public class AssetLineagePublisher {
 
     private static final Logger log = LoggerFactory.getLogger(AssetLineagePublisher.class);
+    private static final String publisherName = "Asset Lineage OMAS Out Topic Publisher";
+    private static final long closeTimeout = 10000;
+
     private OpenMetadataTopicConnector connector = null;
+    private OMASEventPublisher eventPublisher = null;
 
 
     /**
@@ -36,24 +53,89 @@ public class AssetLineagePublisher {
                                  OMRSAuditLog auditLog) throws OMAGConfigurationErrorException {
         if (assetLineageOutTopic != null) {
             connector = this.getTopicConnector(assetLineageOutTopic, auditLog);
+            eventPublisher = new OMASEventPublisher(publisherName, connector, null);
         }
     }
 
     /**
-     * Output a new asset event.
+     * Output a new asset event.  Events for the same entity are sent in the order they are published.
      *
+     * @param entityGUID unique identifier of the entity that caused the event
      * @param event event to send
      */
-    public void publishRelationshipEvent(AssetLineageEventHeader event) {
+    public void publishRelationshipEvent(String entityGUID, AssetLineageEventHeader event) {
         try {
-            if (connector != null) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                connector.sendEvent(objectMapper.writeValueAsString(event));
+            if (eventPublisher != null) {
+                eventPublisher.publishEvent(entityGUID, event);
             }
         } catch (Throwable error) {
             log.error("Unable to publish new asset event: " + event.toString() + "; error was " + error.toString());
         }
     }
+
+    /**
+     * Output the context of an entity.  A large context is split across several lineage events that each hold
+     * at most MAX_EDGES_PER_EVENT edges, so that no single event grows with the size of the context.
+     *
+     * @param entityGUID unique identifier of the entity that caused the events
+     * @param eventType type of the lineage events
+     * @param context edges of the context grouped by the guid of the vertex they start from
+     */
+    public void publishContextEvents(String entityGUID, AssetLineageEventType eventType, Map<String, Set<GraphContext>> context) {
+        for (Map<String, Set<GraphContext>> assetContext : splitContext(context)) {
+            LineageEvent event = new LineageEvent();
+            event.setAssetContext(assetContext);
+            event.setAssetLineageEventType(eventType);
+            publishRelationshipEvent(entityGUID, event);
+        }
+    }
+
+    /**
+     * Split the context into chunks of at most MAX_EDGES_PER_EVENT edges.  An empty context gives one empty chunk.
+     *
+     * @param context edges of the context grouped by the guid of the vertex they start from
+     * @return the chunks in the order they are published
+     */
+    static List<Map<String, Set<GraphContext>>> splitContext(Map<String, Set<GraphContext>> context) {
+        List<Map<String, Set<GraphContext>>> chunks = new ArrayList<>();
+        Map<String, Set<GraphContext>> chunk = new HashMap<>();
+        int edgeCount = 0;
+
+        for (Map.Entry<String, Set<GraphContext>> neighbors : context.entrySet()) {
+            for (GraphContext edge : neighbors.getValue()) {
+                if (edgeCount == MAX_EDGES_PER_EVENT) {
+                    chunks.add(chunk);
+                    chunk = new HashMap<>();
+                    edgeCount = 0;
+                }
+                chunk.computeIfAbsent(neighbors.getKey(), guid -> new HashSet<>()).add(edge);
+                edgeCount++;
+            }
+        }
+
+        if (edgeCount > 0 || chunks.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Send the events that are waiting and disconnect from the out topic.
+     */
+    public void disconnect() {
+        if (eventPublisher != null) {
+            eventPublisher.close(closeTimeout);
+        }
+
+        try {
+            if (connector != null) {
+                connector.disconnect();
+            }
+        } catch (Throwable error) {
+            log.error("Unable to disconnect from the out topic; error was " + error.toString());
+        }
+    }
+
     /**
      * Create the topic connector.
      *
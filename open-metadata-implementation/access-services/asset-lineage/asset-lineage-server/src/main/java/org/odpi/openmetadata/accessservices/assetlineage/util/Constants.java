@@ -16,6 +16,11 @@ public final class Constants {
     public static final String REFERENCEABLE = "Referenceable";
     public static final String GUID_PARAMETER = "guid";
 
+    //Limits on the context built and published for a single entity
+    public static final int MAX_CONTEXT_DEPTH = 25;
+    public static final int MAX_CONTEXT_REPOSITORY_CALLS = 5000;
+    public static final int MAX_EDGES_PER_EVENT = 500;
+
     public static final String DERIVED_RELATIONAL_COLUMN = "DerivedRelationalColumn";
     public static final String DERIVED_SCHEMA_ATTRIBUTE = "DerivedSchemaAttribute";
     public static final String ASSET = "Asset";
@@ -0,0 +1,71 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.handlers;
+
+import org.odpi.openmetadata.accessservices.assetlineage.model.AssetContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.odpi.openmetadata.accessservices.assetlineage.handlers.LineageRepositoryMock.USER_ID;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.ASSET_SCHEMA_TYPE;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.ATTRIBUTE_FOR_SCHEMA;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.DATA_FILE;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.FILE_FOLDER;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.FOLDER_HIERARCHY;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.MAX_CONTEXT_DEPTH;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.NESTED_FILE;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.TABULAR_COLUMN;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that the context of a column leads to its data file and up the folder hierarchy, stopping at the maximum depth.
+ */
+public class AssetContextHandlerTest {
+
+    private static final String TABULAR_SCHEMA_TYPE = "TabularSchemaType";
+
+    private LineageRepositoryMock repository;
+    private AssetContextHandler assetContextHandler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        repository = new LineageRepositoryMock();
+        repository.addComplexSchemaType(TABULAR_SCHEMA_TYPE);
+        assetContextHandler = new AssetContextHandler("test", "test", repository.getInvalidParameterHandler(),
+                repository.getRepositoryHelper(), repository.getRepositoryHandler());
+    }
+
+    @Test
+    public void testFolderHierarchyStopsAtMaximumDepth() {
+        EntityDetail column = repository.addEntity("column", TABULAR_COLUMN);
+        EntityDetail schemaType = repository.addEntity("schemaType", TABULAR_SCHEMA_TYPE);
+        EntityDetail dataFile = repository.addEntity("dataFile", DATA_FILE);
+        repository.addRelationship("column-schemaType", ATTRIBUTE_FOR_SCHEMA, schemaType, column);
+        repository.addRelationship("schemaType-dataFile", ASSET_SCHEMA_TYPE, dataFile, schemaType);
+
+        EntityDetail folder = repository.addEntity("folder-0", FILE_FOLDER);
+        repository.addRelationship("folder-dataFile", NESTED_FILE, folder, dataFile);
+        for (int i = 1; i <= MAX_CONTEXT_DEPTH + 5; i++) {
+            EntityDetail parent = repository.addEntity("folder-" + i, FILE_FOLDER);
+            repository.addRelationship("folder-" + i + "-folder-" + (i - 1), FOLDER_HIERARCHY, parent, folder);
+            folder = parent;
+        }
+
+        AssetContext context = assetContextHandler.getAssetContext("test", USER_ID, "column", TABULAR_COLUMN);
+
+        assertEquals(countEdges(context, ATTRIBUTE_FOR_SCHEMA), 1);
+        assertEquals(countEdges(context, ASSET_SCHEMA_TYPE), 1);
+        assertEquals(countEdges(context, NESTED_FILE), 1);
+        assertEquals(countEdges(context, FOLDER_HIERARCHY), MAX_CONTEXT_DEPTH);
+        assertTrue(context.getEdges().stream().anyMatch(edge -> edge.getToVertex().getGuid().equals("folder-" + MAX_CONTEXT_DEPTH)));
+        assertEquals(repository.getNeighborhoodRequests().stream()
+                .filter(request -> request.endsWith(":" + FOLDER_HIERARCHY + "-guid")).count(), MAX_CONTEXT_DEPTH);
+    }
+
+    private long countEdges(AssetContext context, String relationshipType) {
+        return context.getEdges().stream().map(GraphContext::getRelationshipType).filter(relationshipType::equals).count();
+    }
+}
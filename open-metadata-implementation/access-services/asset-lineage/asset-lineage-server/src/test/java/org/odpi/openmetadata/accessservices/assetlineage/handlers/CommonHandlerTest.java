@@ -0,0 +1,117 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.handlers;
+
+import org.odpi.openmetadata.accessservices.assetlineage.model.AssetContext;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.odpi.openmetadata.accessservices.assetlineage.handlers.LineageRepositoryMock.USER_ID;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that one level of a context is built with a single neighborhood request per entity, within the budget,
+ * and without adding a relationship twice.
+ */
+public class CommonHandlerTest {
+
+    private static final String RELATIONSHIP_TYPE = "TestRelationship";
+
+    private LineageRepositoryMock repository;
+    private CommonHandler commonHandler;
+    private AssetContext graph;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        repository = new LineageRepositoryMock();
+        commonHandler = new CommonHandler("test", "test", repository.getInvalidParameterHandler(),
+                repository.getRepositoryHelper(), repository.getRepositoryHandler());
+        graph = new AssetContext();
+    }
+
+    @Test
+    public void testMissingEntitySkipped() throws Exception {
+        assertMissingEntitySkipped();
+    }
+
+    @Test
+    public void testMissingEntitySkippedWithoutNeighborhoodQueries() throws Exception {
+        repository.setNeighborhoodSupported(false);
+
+        assertMissingEntitySkipped();
+    }
+
+    @Test
+    public void testBudgetLimitsRepositoryCalls() throws Exception {
+        List<EntityDetail> frontier = Arrays.asList(linkedEntity("a"), linkedEntity("b"), linkedEntity("c"));
+        ContextBudget budget = new ContextBudget(25, 2);
+
+        Map<String, List<EntityDetail>> results = buildLevel(frontier, budget);
+
+        assertEquals(results.keySet(), Arrays.asList("a", "b").stream().collect(Collectors.toSet()));
+        assertEquals(repository.getNeighborhoodRequests().size(), 2);
+        assertTrue(budget.isExhausted());
+
+        // the neighborhoods already retrieved are still used once the budget is exhausted
+        results = buildLevel(Collections.singletonList(frontier.get(0)), budget);
+
+        assertEquals(results.get("a").size(), 1);
+        assertEquals(repository.getNeighborhoodRequests().size(), 2);
+    }
+
+    @Test
+    public void testEntitiesAndRelationshipsNotRepeated() throws Exception {
+        EntityDetail a = repository.addEntity("a", "TestEntity");
+        EntityDetail b = repository.addEntity("b", "TestEntity");
+        repository.addRelationship("a-b", RELATIONSHIP_TYPE, a, b);
+        ContextBudget budget = new ContextBudget(25, 100);
+
+        Map<String, List<EntityDetail>> results = buildLevel(Arrays.asList(a, b, a), budget);
+
+        assertEquals(results.get("a"), Collections.singletonList(b));
+        assertEquals(results.get("b"), Collections.singletonList(a));
+        assertEquals(repository.getNeighborhoodRequests(), Arrays.asList("a:" + RELATIONSHIP_TYPE + "-guid", "b:" + RELATIONSHIP_TYPE + "-guid"));
+        assertEquals(graph.getEdges().size(), 1);
+
+        buildLevel(Collections.singletonList(b), budget);
+
+        assertEquals(repository.getNeighborhoodRequests().size(), 2);
+        assertEquals(graph.getEdges().size(), 1);
+        assertFalse(budget.isExhausted());
+    }
+
+    private void assertMissingEntitySkipped() throws Exception {
+        EntityDetail start = repository.addEntity("start", "TestEntity");
+        EntityDetail first = repository.addEntity("first", "TestEntity");
+        EntityDetail missing = repository.addEntity("missing", "TestEntity");
+        EntityDetail last = repository.addEntity("last", "TestEntity");
+        repository.addRelationship("start-first", RELATIONSHIP_TYPE, start, first);
+        repository.addRelationship("start-missing", RELATIONSHIP_TYPE, start, missing);
+        repository.addRelationship("start-last", RELATIONSHIP_TYPE, start, last);
+        repository.setMissing(missing);
+
+        Map<String, List<EntityDetail>> results = buildLevel(Collections.singletonList(start), new ContextBudget(25, 100));
+
+        assertEquals(results.get("start"), Arrays.asList(first, last));
+        assertEquals(graph.getEdges().size(), 2);
+    }
+
+    private EntityDetail linkedEntity(String guid) {
+        EntityDetail entity = repository.addEntity(guid, "TestEntity");
+        repository.addRelationship(guid + "-end", RELATIONSHIP_TYPE, entity, repository.addEntity(guid + "-end", "TestEntity"));
+        return entity;
+    }
+
+    private Map<String, List<EntityDetail>> buildLevel(List<EntityDetail> frontier, ContextBudget budget) throws Exception {
+        return commonHandler.buildGraphEdgesByRelationshipType(USER_ID, frontier, RELATIONSHIP_TYPE, graph, budget, false, null);
+    }
+}
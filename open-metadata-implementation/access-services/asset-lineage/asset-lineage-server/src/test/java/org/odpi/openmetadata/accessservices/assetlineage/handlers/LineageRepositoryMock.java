@@ -0,0 +1,175 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.handlers;
+
+import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
+import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryErrorHandler;
+import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryHandler;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.COMPLEX_SCHEMA_TYPE;
+
+/**
+ * A mocked metadata collection that answers from an in-memory graph of entities and relationships, with a real
+ * RepositoryHandler in front of it.  Entities can be marked as missing so that they are known by the relationships
+ * but can not be retrieved, and neighborhood queries can be switched off to exercise the fallback of the handler.
+ */
+class LineageRepositoryMock {
+
+    static final String USER_ID = "testUser";
+
+    private final Map<String, EntityDetail> entities = new HashMap<>();
+    private final List<Relationship> relationships = new ArrayList<>();
+    private final Set<String> missingEntities = new HashSet<>();
+    private final Set<String> complexSchemaTypes = new HashSet<>();
+    private final List<String> neighborhoodRequests = new ArrayList<>();
+    private final OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+    private final OMRSRepositoryHelper repositoryHelper = mock(OMRSRepositoryHelper.class);
+    private final RepositoryHandler repositoryHandler;
+    private boolean neighborhoodSupported = true;
+
+    LineageRepositoryMock() throws Exception {
+        repositoryHandler = new RepositoryHandler(mock(OMRSAuditLog.class), mock(RepositoryErrorHandler.class), metadataCollection, 100);
+
+        when(repositoryHelper.getTypeDefByName(anyString(), anyString())).thenAnswer(invocation -> getTypeDef(invocation.getArgument(1)));
+
+        when(metadataCollection.getEntityDetail(anyString(), anyString())).thenAnswer(invocation -> getEntity(invocation.getArgument(1)));
+
+        when(metadataCollection.getEntityNeighborhood(anyString(), anyString(), any(), any(), any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            if (!neighborhoodSupported) {
+                throw new FunctionNotSupportedException(501, "test", "test", "not supported", "none", "none");
+            }
+            List<String> relationshipTypeGUIDs = invocation.getArgument(3);
+            String relationshipTypeGUID = relationshipTypeGUIDs == null ? null : relationshipTypeGUIDs.get(0);
+            return getNeighborhood(invocation.getArgument(1), relationshipTypeGUID);
+        });
+
+        when(metadataCollection.getRelationshipsForEntity(anyString(), anyString(), any(), anyInt(), any(), any(), any(), any(), anyInt())).thenAnswer(invocation ->
+                getRelationships(invocation.getArgument(1), invocation.getArgument(2)));
+    }
+
+    RepositoryHandler getRepositoryHandler() {
+        return repositoryHandler;
+    }
+
+    OMRSRepositoryHelper getRepositoryHelper() {
+        return repositoryHelper;
+    }
+
+    InvalidParameterHandler getInvalidParameterHandler() {
+        return new InvalidParameterHandler();
+    }
+
+    /**
+     * Returns the neighborhood requests in the order they were made, as guid:relationshipTypeGUID.
+     */
+    List<String> getNeighborhoodRequests() {
+        return neighborhoodRequests;
+    }
+
+    void setNeighborhoodSupported(boolean neighborhoodSupported) {
+        this.neighborhoodSupported = neighborhoodSupported;
+    }
+
+    void addComplexSchemaType(String typeName) {
+        complexSchemaTypes.add(typeName);
+    }
+
+    EntityDetail addEntity(String guid, String typeName) {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(getInstanceType(typeName));
+        entities.put(guid, entity);
+        return entity;
+    }
+
+    void setMissing(EntityDetail entity) {
+        missingEntities.add(entity.getGUID());
+    }
+
+    Relationship addRelationship(String guid, String typeName, EntityDetail entityOne, EntityDetail entityTwo) {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setType(getInstanceType(typeName));
+        relationship.setEntityOneProxy(new EntityProxy(entityOne));
+        relationship.setEntityTwoProxy(new EntityProxy(entityTwo));
+        relationships.add(relationship);
+        return relationship;
+    }
+
+    private InstanceType getInstanceType(String typeName) {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+        type.setTypeDefGUID(typeName + "-guid");
+        return type;
+    }
+
+    private EntityDef getTypeDef(String typeName) {
+        EntityDef typeDef = new EntityDef();
+        typeDef.setName(typeName);
+        typeDef.setGUID(typeName + "-guid");
+        if (complexSchemaTypes.contains(typeName)) {
+            TypeDefLink superType = new TypeDefLink();
+            superType.setName(COMPLEX_SCHEMA_TYPE);
+            typeDef.setSuperType(superType);
+        }
+        return typeDef;
+    }
+
+    private EntityDetail getEntity(String guid) throws EntityNotKnownException {
+        if (!entities.containsKey(guid) || missingEntities.contains(guid)) {
+            throw new EntityNotKnownException(404, "test", "test", "unknown entity " + guid, "none", "none");
+        }
+        return entities.get(guid);
+    }
+
+    private List<Relationship> getRelationships(String guid, String relationshipTypeGUID) {
+        List<Relationship> result = new ArrayList<>();
+        for (Relationship relationship : relationships) {
+            boolean connected = relationship.getEntityOneProxy().getGUID().equals(guid) || relationship.getEntityTwoProxy().getGUID().equals(guid);
+            if (connected && (relationshipTypeGUID == null || relationshipTypeGUID.equals(relationship.getType().getTypeDefGUID()))) {
+                result.add(relationship);
+            }
+        }
+        return result;
+    }
+
+    private InstanceGraph getNeighborhood(String guid, String relationshipTypeGUID) {
+        neighborhoodRequests.add(guid + ":" + relationshipTypeGUID);
+
+        List<Relationship> neighborhoodRelationships = getRelationships(guid, relationshipTypeGUID);
+        Map<String, EntityDetail> neighborhoodEntities = new HashMap<>();
+        neighborhoodEntities.put(guid, entities.get(guid));
+        for (Relationship relationship : neighborhoodRelationships) {
+            for (EntityProxy end : new EntityProxy[]{relationship.getEntityOneProxy(), relationship.getEntityTwoProxy()}) {
+                if (!missingEntities.contains(end.getGUID())) {
+                    neighborhoodEntities.put(end.getGUID(), entities.get(end.getGUID()));
+                }
+            }
+        }
+        return new InstanceGraph(new ArrayList<>(neighborhoodEntities.values()), neighborhoodRelationships);
+    }
+}
@@ -0,0 +1,60 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.handlers;
+
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.odpi.openmetadata.accessservices.assetlineage.handlers.LineageRepositoryMock.USER_ID;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.PORT_ALIAS;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.PORT_DELEGATION;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.PORT_IMPLEMENTATION;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.PROCESS;
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.PROCESS_PORT;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test that the context of a process is built from the ports that can be retrieved when one of them can not.
+ */
+public class ProcessContextHandlerTest {
+
+    private LineageRepositoryMock repository;
+    private ProcessContextHandler processContextHandler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        repository = new LineageRepositoryMock();
+        processContextHandler = new ProcessContextHandler("test", "test", repository.getInvalidParameterHandler(),
+                repository.getRepositoryHelper(), repository.getRepositoryHandler());
+    }
+
+    @Test
+    public void testMissingPortDoesNotDropOtherPorts() {
+        EntityDetail process = repository.addEntity("process", PROCESS);
+        for (String port : Arrays.asList("port-1", "port-2", "port-3")) {
+            EntityDetail portAlias = repository.addEntity(port, PORT_ALIAS);
+            repository.addRelationship("process-" + port, PROCESS_PORT, process, portAlias);
+            repository.addRelationship(port + "-implementation", PORT_DELEGATION, portAlias,
+                    repository.addEntity(port + "-implementation", PORT_IMPLEMENTATION));
+        }
+        repository.setMissing(repository.addEntity("port-2", PORT_ALIAS));
+
+        Map<String, Set<GraphContext>> context = processContextHandler.getProcessContext(USER_ID, "process");
+
+        Set<String> relationships = context.values().stream()
+                .flatMap(Set::stream)
+                .map(GraphContext::getRelationshipGuid)
+                .collect(Collectors.toSet());
+        assertEquals(relationships, new HashSet<>(Arrays.asList("process-port-1", "process-port-3",
+                "port-1-implementation", "port-3-implementation")));
+        assertEquals(repository.getNeighborhoodRequests().size(), 3);
+    }
+}
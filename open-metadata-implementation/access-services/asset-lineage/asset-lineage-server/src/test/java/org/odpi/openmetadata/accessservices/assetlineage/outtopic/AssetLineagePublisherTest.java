@@ -0,0 +1,65 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetlineage.outtopic;
+
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.odpi.openmetadata.accessservices.assetlineage.util.Constants.MAX_EDGES_PER_EVENT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that a large context is split into events of at most MAX_EDGES_PER_EVENT edges without losing any edge.
+ */
+public class AssetLineagePublisherTest {
+
+    @Test
+    public void testContextSplitIntoChunks() {
+        Map<String, Set<GraphContext>> context = new HashMap<>();
+        int edgeCount = 0;
+        for (int vertex = 0; vertex < 7; vertex++) {
+            Set<GraphContext> edges = new HashSet<>();
+            for (int i = 0; i < 300; i++) {
+                edges.add(edge("vertex-" + vertex, "edge-" + edgeCount++));
+            }
+            context.put("vertex-" + vertex, edges);
+        }
+
+        List<Map<String, Set<GraphContext>>> chunks = AssetLineagePublisher.splitContext(context);
+
+        Map<String, Set<GraphContext>> published = new HashMap<>();
+        for (Map<String, Set<GraphContext>> chunk : chunks) {
+            int chunkSize = chunk.values().stream().mapToInt(Set::size).sum();
+            assertTrue(chunkSize > 0 && chunkSize <= MAX_EDGES_PER_EVENT, "chunk of " + chunkSize + " edges");
+            chunk.forEach((guid, edges) -> published.computeIfAbsent(guid, key -> new HashSet<>()).addAll(edges));
+        }
+
+        assertEquals(chunks.size(), (edgeCount + MAX_EDGES_PER_EVENT - 1) / MAX_EDGES_PER_EVENT);
+        assertEquals(published, context);
+    }
+
+    @Test
+    public void testEmptyContextPublishedOnce() {
+        List<Map<String, Set<GraphContext>>> chunks = AssetLineagePublisher.splitContext(Collections.emptyMap());
+
+        assertEquals(chunks.size(), 1);
+        assertTrue(chunks.get(0).isEmpty());
+    }
+
+    private GraphContext edge(String from, String relationshipGuid) {
+        LineageEntity fromVertex = new LineageEntity();
+        fromVertex.setGuid(from);
+        LineageEntity toVertex = new LineageEntity();
+        toVertex.setGuid(relationshipGuid + "-end");
+        return new GraphContext("TestRelationship", relationshipGuid, fromVertex, toVertex);
+    }
+}
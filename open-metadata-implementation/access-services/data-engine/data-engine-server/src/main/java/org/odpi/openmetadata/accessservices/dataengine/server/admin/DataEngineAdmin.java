@@ -4,6 +4,7 @@ package org.odpi.openmetadata.accessservices.dataengine.server.admin;
 
 import org.odpi.openmetadata.accessservices.dataengine.server.auditlog.DataEngineAuditCode;
 import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineInTopicListener;
+import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineOMRSTopicListener;
 import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
 import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceAdmin;
@@ -66,6 +67,11 @@ public class DataEngineAdmin extends AccessServiceAdmin {
                     repositoryConnector.getMaxPageSize());
             serverName = instance.getServerName();
 
+            DataEngineOMRSTopicListener omrsTopicListener = new DataEngineOMRSTopicListener(accessServiceConfig.getAccessServiceName(),
+                    auditLog, instance.getQualifiedNameCache());
+            super.registerWithEnterpriseTopic(accessServiceConfig.getAccessServiceName(), serverName, enterpriseOMRSTopicConnector,
+                    omrsTopicListener, auditLog);
+
             if (accessServiceConfig.getAccessServiceInTopic() != null) {
                 DataEngineEventProcessor dataEngineEventProcessor = new DataEngineEventProcessor(instance, auditLog);
                 DataEngineInTopicListener dataEngineInTopicListener = new DataEngineInTopicListener(auditLog, dataEngineEventProcessor);
@@ -7,6 +7,7 @@ import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngin
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.PortHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.ProcessHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.handlers.QualifiedNameCache;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.commonservices.multitenant.OCFOMASServiceInstance;
 import org.odpi.openmetadata.commonservices.multitenant.ffdc.exceptions.NewInstanceException;
@@ -26,6 +27,7 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
     private DataEngineRegistrationHandler dataEngineRegistrationHandler;
     private DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler;
     private PortHandler portHandler;
+    private final QualifiedNameCache qualifiedNameCache = new QualifiedNameCache();
 
     /**
      * Set up the local repository connector that will service the REST Calls
@@ -56,6 +58,10 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
             portHandler = new PortHandler(serviceName, serverName, invalidParameterHandler, repositoryHandler, repositoryHelper,
                     dataEngineRegistrationHandler);
 
+            processHandler.setQualifiedNameCache(qualifiedNameCache);
+            dataEngineSchemaTypeHandler.setQualifiedNameCache(qualifiedNameCache);
+            portHandler.setQualifiedNameCache(qualifiedNameCache);
+
             if (securityVerifier != null) {
                 processHandler.setSecurityVerifier(securityVerifier);
             }
@@ -106,4 +112,13 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
     PortHandler getPortHandler() {
         return portHandler;
     }
+
+    /**
+     * Return the cache of the entities found by qualified name, shared by the handlers
+     *
+     * @return cache object
+     */
+    QualifiedNameCache getQualifiedNameCache() {
+        return qualifiedNameCache;
+    }
 }
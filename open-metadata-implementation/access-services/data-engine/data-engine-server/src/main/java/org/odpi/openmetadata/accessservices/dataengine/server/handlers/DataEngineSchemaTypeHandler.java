@@ -15,6 +15,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedExcepti
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ComplexSchemaType;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.SchemaAttribute;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.SchemaType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
@@ -26,10 +27,13 @@ import org.slf4j.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,6 +44,11 @@ import java.util.stream.Collectors;
 public class DataEngineSchemaTypeHandler {
     private static final Logger log = LoggerFactory.getLogger(DataEngineSchemaTypeHandler.class);
 
+    /*
+     * Number of qualified names combined into one repository search when looking up the schema attributes
+     */
+    private static final int QUALIFIED_NAME_BATCH_SIZE = 100;
+
     private final String serviceName;
     private final RepositoryHandler repositoryHandler;
     private final OMRSRepositoryHelper repositoryHelper;
@@ -47,6 +56,8 @@ public class DataEngineSchemaTypeHandler {
     private final SchemaTypeHandler schemaTypeHandler;
     private final DataEngineRegistrationHandler dataEngineRegistrationHandler;
 
+    private QualifiedNameCache qualifiedNameCache = new QualifiedNameCache();
+
     /**
      * Construct the handler information needed to interact with the repository services
      *
@@ -67,6 +78,16 @@ public class DataEngineSchemaTypeHandler {
         this.dataEngineRegistrationHandler = dataEngineRegistrationHandler;
     }
 
+    /**
+     * Set up the cache of the schema attributes found by qualified name. It is shared with the other handlers of the
+     * server and kept up to date by the OMRS topic listener.
+     *
+     * @param qualifiedNameCache the cache for the server
+     */
+    public void setQualifiedNameCache(QualifiedNameCache qualifiedNameCache) {
+        this.qualifiedNameCache = qualifiedNameCache;
+    }
+
     /**
      * Create the schema type entity, with the corresponding schema attributes and relationships
      *
@@ -97,10 +118,21 @@ public class DataEngineSchemaTypeHandler {
 
         List<SchemaAttribute> newSchemaAttributes = createTabularColumns(schemaType.getAttributeList());
 
+        // look up the existing attributes in batches, so that SchemaTypeHandler can use their guids rather than
+        // searching for each attribute by qualified name
+        Map<String, EntityDetail> existingSchemaAttributes = findSchemaAttributeEntities(userId,
+                newSchemaAttributes.stream().map(SchemaAttribute::getQualifiedName).collect(Collectors.toList()));
+        for (SchemaAttribute schemaAttribute : newSchemaAttributes) {
+            EntityDetail existingSchemaAttribute = existingSchemaAttributes.get(schemaAttribute.getQualifiedName());
+            if (existingSchemaAttribute != null) {
+                schemaAttribute.setGUID(existingSchemaAttribute.getGUID());
+            }
+        }
+
         //TODO refactor to create the classifications through SchemaTypeHandler
         String schemaTypeGUID = schemaTypeHandler.saveExternalSchemaType(userId, newSchemaType, newSchemaAttributes, externalSourceGUID,
                 externalSourceName, methodName);
-        addTypeEmbeddedAttributeClassification(userId, schemaType.getAttributeList());
+        addTypeEmbeddedAttributeClassification(userId, schemaType.getAttributeList(), existingSchemaAttributes);
 
         return schemaTypeGUID;
     }
@@ -166,37 +198,129 @@ public class DataEngineSchemaTypeHandler {
 
         for (String oldSchemaAttributeGUID : oldSchemaAttributeGUIDs) {
             removeTabularColumn(userId, oldSchemaAttributeGUID);
+            qualifiedNameCache.invalidateGUID(oldSchemaAttributeGUID);
         }
 
         removeTabularSchemaType(userId, schemaTypeGUID);
     }
 
-    private void addTypeEmbeddedAttributeClassification(String userId, List<Attribute> newAttributes) throws UserNotAuthorizedException,
-                                                                                                             PropertyServerException {
+    /**
+     * Find the schema attributes with the qualified names and remember them in the qualified name cache.
+     * The names are looked up in batches, so this is used to resolve all of the attributes needed by a request
+     * before they are processed.
+     *
+     * @param userId         the name of the calling user
+     * @param qualifiedNames the qualified names of the schema attributes
+     *
+     * @return map from qualified name to unique identifier for the schema attributes that exist
+     *
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     */
+    public Map<String, String> findSchemaAttributes(String userId, Collection<String> qualifiedNames) throws UserNotAuthorizedException,
+                                                                                                           PropertyServerException {
+        Map<String, String> schemaAttributeGUIDs = new HashMap<>();
+        List<String> uncachedQualifiedNames = new ArrayList<>();
+
+        for (String qualifiedName : qualifiedNames) {
+            String cachedGUID = qualifiedNameCache.get(qualifiedName, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME);
+            if (cachedGUID != null) {
+                schemaAttributeGUIDs.put(qualifiedName, cachedGUID);
+            } else {
+                uncachedQualifiedNames.add(qualifiedName);
+            }
+        }
+
+        findSchemaAttributeEntities(userId, uncachedQualifiedNames).forEach((qualifiedName, entity) ->
+                schemaAttributeGUIDs.put(qualifiedName, entity.getGUID()));
+
+        return schemaAttributeGUIDs;
+    }
+
+    /**
+     * Add the TypeEmbeddedAttribute classification to the new schema attributes, and update it on the existing
+     * schema attributes where the data type has changed.
+     *
+     * @param userId                   the name of the calling user
+     * @param newAttributes            the attributes from the request
+     * @param existingSchemaAttributes the schema attributes that existed before the request, by qualified name
+     *
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     */
+    private void addTypeEmbeddedAttributeClassification(String userId, List<Attribute> newAttributes,
+                                                        Map<String, EntityDetail> existingSchemaAttributes) throws UserNotAuthorizedException,
+                                                                                                                   PropertyServerException {
         final String methodName = "addTypeEmbeddedAttributeClassifications";
+
+        List<String> createdQualifiedNames = newAttributes.stream().map(Attribute::getQualifiedName)
+                .filter(qualifiedName -> !existingSchemaAttributes.containsKey(qualifiedName)).collect(Collectors.toList());
+        Map<String, EntityDetail> createdSchemaAttributes = findSchemaAttributeEntities(userId, createdQualifiedNames);
+
+        TypeDef classificationTypeDef = repositoryHelper.getTypeDefByName(userId, SchemaTypePropertiesMapper.TYPE_EMBEDDED_ATTRIBUTE_NAME);
+
         for (Attribute newAttribute : newAttributes) {
-            String schemaAttributeGUID = findSchemaAttribute(userId, newAttribute.getQualifiedName());
+            EntityDetail schemaAttribute = existingSchemaAttributes.get(newAttribute.getQualifiedName());
+            if (schemaAttribute == null) {
+                schemaAttribute = createdSchemaAttributes.get(newAttribute.getQualifiedName());
+            }
+            String schemaAttributeGUID = schemaAttribute == null ? null : schemaAttribute.getGUID();
 
-            TypeDef classificationTypeDef = repositoryHelper.getTypeDefByName(userId, SchemaTypePropertiesMapper.TYPE_EMBEDDED_ATTRIBUTE_NAME);
             InstanceProperties properties = repositoryHelper.addStringPropertyToInstance(serviceName, null,
                     SchemaTypePropertiesMapper.DATA_TYPE, newAttribute.getDataType(), methodName);
-            repositoryHandler.classifyEntity(userId, schemaAttributeGUID, classificationTypeDef.getGUID(), classificationTypeDef.getName(),
-                    properties, methodName);
+
+            Classification existingClassification = getClassification(schemaAttribute, classificationTypeDef.getName());
+            if (existingClassification == null) {
+                repositoryHandler.classifyEntity(userId, schemaAttributeGUID, classificationTypeDef.getGUID(), classificationTypeDef.getName(),
+                        properties, methodName);
+            } else {
+                String existingDataType = repositoryHelper.getStringProperty(serviceName, SchemaTypePropertiesMapper.DATA_TYPE,
+                        existingClassification.getProperties(), methodName);
+                if (!Objects.equals(existingDataType, newAttribute.getDataType())) {
+                    repositoryHandler.reclassifyEntity(userId, schemaAttributeGUID, classificationTypeDef.getGUID(),
+                            classificationTypeDef.getName(), properties, methodName);
+                }
+            }
         }
     }
 
+    private Classification getClassification(EntityDetail entity, String classificationName) {
+        if (entity == null || CollectionUtils.isEmpty(entity.getClassifications())) {
+            return null;
+        }
+
+        return entity.getClassifications().stream().filter(classification -> classificationName.equals(classification.getName()))
+                .findFirst().orElse(null);
+    }
+
     private String findSchemaAttribute(String userId, String qualifiedName) throws UserNotAuthorizedException,
                                                                                    PropertyServerException {
+        String cachedGUID = qualifiedNameCache.get(qualifiedName, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME);
+        if (cachedGUID != null) {
+            return cachedGUID;
+        }
+
+        EntityDetail retrievedEntity = findSchemaAttributeEntity(userId, qualifiedName);
+
+        if (retrievedEntity == null) {
+            return null;
+        }
+
+        return retrievedEntity.getGUID();
+    }
+
+    private EntityDetail findSchemaAttributeEntity(String userId, String qualifiedName) throws UserNotAuthorizedException,
+                                                                                               PropertyServerException {
         final String methodName = "findSchemaAttribute";
 
-        qualifiedName = repositoryHelper.getExactMatchRegex(qualifiedName);
+        String exactMatchRegex = repositoryHelper.getExactMatchRegex(qualifiedName);
 
         InstanceProperties properties = repositoryHelper.addStringPropertyToInstance(serviceName, null,
-                SchemaTypePropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, qualifiedName, methodName);
+                SchemaTypePropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, exactMatchRegex, methodName);
 
         TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME);
 
-        EntityDetail retrievedEntity = repositoryHandler.getUniqueEntityByName(userId, qualifiedName,
+        EntityDetail retrievedEntity = repositoryHandler.getUniqueEntityByName(userId, exactMatchRegex,
                 SchemaTypePropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, properties, entityTypeDef.getGUID(), entityTypeDef.getName(), methodName);
 
         if (retrievedEntity == null) {
@@ -205,7 +329,85 @@ public class DataEngineSchemaTypeHandler {
         }
         log.debug("Searching for entity with qualifiedName: {}. Result is {}", qualifiedName, retrievedEntity.getGUID());
 
-        return retrievedEntity.getGUID();
+        qualifiedNameCache.put(qualifiedName, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, retrievedEntity.getGUID());
+
+        return retrievedEntity;
+    }
+
+    /**
+     * Find the schema attributes with the qualified names. A single name is looked up on its own. Otherwise the exact
+     * match expressions for up to QUALIFIED_NAME_BATCH_SIZE names are combined into one search. A name that matches
+     * more than one schema attribute is looked up again on its own so that the ambiguity is reported as before.
+     *
+     * @param userId         the name of the calling user
+     * @param qualifiedNames the qualified names of the schema attributes
+     *
+     * @return map from qualified name to entity for the schema attributes that exist
+     *
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     */
+    private Map<String, EntityDetail> findSchemaAttributeEntities(String userId, Collection<String> qualifiedNames) throws
+                                                                                                                    UserNotAuthorizedException,
+                                                                                                                    PropertyServerException {
+        final String methodName = "findSchemaAttributes";
+
+        Map<String, EntityDetail> entities = new HashMap<>();
+        List<String> distinctQualifiedNames = new ArrayList<>(new LinkedHashSet<>(qualifiedNames));
+
+        if (distinctQualifiedNames.isEmpty()) {
+            return entities;
+        }
+
+        if (distinctQualifiedNames.size() == 1) {
+            EntityDetail entity = findSchemaAttributeEntity(userId, distinctQualifiedNames.get(0));
+            if (entity != null) {
+                entities.put(distinctQualifiedNames.get(0), entity);
+            }
+            return entities;
+        }
+
+        TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME);
+        Set<String> ambiguousQualifiedNames = new HashSet<>();
+        int pageSize = QUALIFIED_NAME_BATCH_SIZE * 2;
+
+        for (int start = 0; start < distinctQualifiedNames.size(); start += QUALIFIED_NAME_BATCH_SIZE) {
+            List<String> batch = distinctQualifiedNames.subList(start, Math.min(start + QUALIFIED_NAME_BATCH_SIZE, distinctQualifiedNames.size()));
+            Set<String> batchQualifiedNames = new HashSet<>(batch);
+
+            String searchExpression = batch.stream().map(repositoryHelper::getExactMatchRegex).collect(Collectors.joining("|"));
+            InstanceProperties properties = repositoryHelper.addStringPropertyToInstance(serviceName, null,
+                    SchemaTypePropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, searchExpression, methodName);
+
+            int startingFrom = 0;
+            List<EntityDetail> page;
+            do {
+                page = repositoryHandler.getEntitiesByName(userId, properties, entityTypeDef.getGUID(), startingFrom, pageSize, methodName);
+                if (page != null) {
+                    for (EntityDetail entity : page) {
+                        String qualifiedName = repositoryHelper.getStringProperty(serviceName,
+                                SchemaTypePropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, entity.getProperties(), methodName);
+                        if (batchQualifiedNames.contains(qualifiedName) && entities.putIfAbsent(qualifiedName, entity) != null) {
+                            ambiguousQualifiedNames.add(qualifiedName);
+                        }
+                    }
+                }
+                startingFrom += pageSize;
+            } while (page != null && page.size() == pageSize);
+        }
+
+        for (String qualifiedName : ambiguousQualifiedNames) {
+            entities.remove(qualifiedName);
+            EntityDetail entity = findSchemaAttributeEntity(userId, qualifiedName);
+            if (entity != null) {
+                entities.put(qualifiedName, entity);
+            }
+        }
+
+        entities.forEach((qualifiedName, entity) ->
+                qualifiedNameCache.put(qualifiedName, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, entity.getGUID()));
+
+        return entities;
     }
 
     private Set<String> getSchemaAttributesForSchemaType(String userId, String schemaTypeGUID) throws UserNotAuthorizedException,
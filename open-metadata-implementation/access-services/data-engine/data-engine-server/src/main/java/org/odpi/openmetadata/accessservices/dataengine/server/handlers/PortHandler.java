@@ -35,6 +35,8 @@ public class PortHandler {
     private final InvalidParameterHandler invalidParameterHandler;
     private final DataEngineRegistrationHandler dataEngineRegistrationHandler;
 
+    private QualifiedNameCache qualifiedNameCache = new QualifiedNameCache();
+
     /**
      * Construct the handler information needed to interact with the repository services
      *
@@ -55,6 +57,16 @@ public class PortHandler {
         this.dataEngineRegistrationHandler = dataEngineRegistrationHandler;
     }
 
+    /**
+     * Set up the cache of the ports found by qualified name. It is shared with the other handlers of the server
+     * and kept up to date by the OMRS topic listener.
+     *
+     * @param qualifiedNameCache the cache for the server
+     */
+    public void setQualifiedNameCache(QualifiedNameCache qualifiedNameCache) {
+        this.qualifiedNameCache = qualifiedNameCache;
+    }
+
     /**
      * Create the port implementation
      *
@@ -310,6 +322,7 @@ public class PortHandler {
 
         TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, entityTypeName);
         repositoryHandler.removeEntity(userId, portGUID, entityTypeDef.getGUID(), entityTypeDef.getName(), null, null, methodName);
+        qualifiedNameCache.invalidateGUID(portGUID);
     }
 
     /**
@@ -373,19 +386,26 @@ public class PortHandler {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateName(qualifiedName, PortPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, methodName);
 
-        qualifiedName = repositoryHelper.getExactMatchRegex(qualifiedName);
+        String cachedGUID = qualifiedNameCache.get(qualifiedName, entityTypeName);
+        if (cachedGUID != null) {
+            return cachedGUID;
+        }
+
+        String exactMatchRegex = repositoryHelper.getExactMatchRegex(qualifiedName);
 
         InstanceProperties properties = repositoryHelper.addStringPropertyToInstance(serviceName, null,
-                PortPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, qualifiedName, methodName);
+                PortPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, exactMatchRegex, methodName);
 
         TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, entityTypeName);
-        EntityDetail retrievedEntity = repositoryHandler.getUniqueEntityByName(userId, qualifiedName,
+        EntityDetail retrievedEntity = repositoryHandler.getUniqueEntityByName(userId, exactMatchRegex,
                 PortPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, properties, entityTypeDef.getGUID(), entityTypeDef.getName(), methodName);
 
         if (retrievedEntity == null) {
             return null;
         }
 
+        qualifiedNameCache.put(qualifiedName, entityTypeName, retrievedEntity.getGUID());
+
         return retrievedEntity.getGUID();
     }
 
@@ -46,6 +46,7 @@ public class ProcessHandler {
     private final AssetHandler assetHandler;
 
     private OpenMetadataServerSecurityVerifier securityVerifier = new OpenMetadataServerSecurityVerifier();
+    private QualifiedNameCache qualifiedNameCache = new QualifiedNameCache();
 
     private List<String> supportedZones;
     private List<String> defaultZones;
@@ -93,6 +94,16 @@ public class ProcessHandler {
         this.securityVerifier = securityVerifier;
     }
 
+    /**
+     * Set up the cache of the processes found by qualified name. It is shared with the other handlers of the server
+     * and kept up to date by the OMRS topic listener.
+     *
+     * @param qualifiedNameCache the cache for the server
+     */
+    public void setQualifiedNameCache(QualifiedNameCache qualifiedNameCache) {
+        this.qualifiedNameCache = qualifiedNameCache;
+    }
+
     /**
      * Create the process
      *
@@ -191,13 +202,18 @@ public class ProcessHandler {
 
         validateProcessParameters(userId, qualifiedName, methodName);
 
-        qualifiedName = repositoryHelper.getExactMatchRegex(qualifiedName);
+        String cachedGUID = qualifiedNameCache.get(qualifiedName, ProcessPropertiesMapper.PROCESS_TYPE_NAME);
+        if (cachedGUID != null) {
+            return cachedGUID;
+        }
+
+        String exactMatchRegex = repositoryHelper.getExactMatchRegex(qualifiedName);
 
         InstanceProperties properties = repositoryHelper.addStringPropertyToInstance(serviceName, null,
-                ProcessPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, qualifiedName, methodName);
+                ProcessPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, exactMatchRegex, methodName);
 
         TypeDef entityTypeDef = repositoryHelper.getTypeDefByName(userId, ProcessPropertiesMapper.PROCESS_TYPE_NAME);
-        EntityDetail retrievedEntity = repositoryHandler.getUniqueEntityByName(userId, qualifiedName,
+        EntityDetail retrievedEntity = repositoryHandler.getUniqueEntityByName(userId, exactMatchRegex,
                 ProcessPropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, properties, entityTypeDef.getGUID(),
                 entityTypeDef.getName(), methodName);
 
@@ -205,6 +221,8 @@ public class ProcessHandler {
             return null;
         }
 
+        qualifiedNameCache.put(qualifiedName, ProcessPropertiesMapper.PROCESS_TYPE_NAME, retrievedEntity.getGUID());
+
         return retrievedEntity.getGUID();
     }
 
@@ -0,0 +1,127 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.handlers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QualifiedNameCache remembers the unique identifier of the entities that the Data Engine OMAS handlers have found
+ * by qualified name, so that a data engine that sends the same processes, ports and schemas again does not cause
+ * a repository search for every element. There is one cache for each server. Entries are keyed by qualified name
+ * and type name, and are removed when the entity is changed or removed (see DataEngineOMRSTopicListener).
+ * Names that were not found are not cached. When the cache reaches its maximum size it is cleared.
+ */
+public class QualifiedNameCache {
+    public static final int DEFAULT_MAX_ENTRIES = 100000;
+
+    private final int maxEntries;
+    private final Map<String, Map<String, String>> guidsByQualifiedName = new ConcurrentHashMap<>();
+    private final Map<String, String> qualifiedNamesByGUID = new ConcurrentHashMap<>();
+
+    /**
+     * Construct a cache with the default maximum size.
+     */
+    public QualifiedNameCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Construct a cache with the requested maximum size.
+     *
+     * @param maxEntries maximum number of entities to remember - zero or less means the default
+     */
+    public QualifiedNameCache(int maxEntries) {
+        this.maxEntries = maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+
+    /**
+     * Return the unique identifier of the entity of the requested type with the qualified name.
+     *
+     * @param qualifiedName the qualified name of the entity
+     * @param typeName      the type name used for the search
+     *
+     * @return unique identifier or null if it is not cached
+     */
+    public String get(String qualifiedName, String typeName) {
+        if (qualifiedName == null || typeName == null) {
+            return null;
+        }
+
+        Map<String, String> guidsByType = guidsByQualifiedName.get(qualifiedName);
+        if (guidsByType == null) {
+            return null;
+        }
+
+        return guidsByType.get(typeName);
+    }
+
+    /**
+     * Remember the unique identifier of an entity found by qualified name.
+     *
+     * @param qualifiedName the qualified name of the entity
+     * @param typeName      the type name used for the search
+     * @param guid          the unique identifier of the entity
+     */
+    public void put(String qualifiedName, String typeName, String guid) {
+        if (qualifiedName == null || typeName == null || guid == null) {
+            return;
+        }
+
+        if (qualifiedNamesByGUID.size() >= maxEntries) {
+            clear();
+        }
+
+        guidsByQualifiedName.computeIfAbsent(qualifiedName, key -> new ConcurrentHashMap<>()).put(typeName, guid);
+        qualifiedNamesByGUID.put(guid, qualifiedName);
+    }
+
+    /**
+     * Forget the entity with the unique identifier.
+     *
+     * @param guid the unique identifier of the entity
+     */
+    public void invalidateGUID(String guid) {
+        if (guid == null) {
+            return;
+        }
+
+        String qualifiedName = qualifiedNamesByGUID.remove(guid);
+        if (qualifiedName != null) {
+            guidsByQualifiedName.remove(qualifiedName);
+        }
+    }
+
+    /**
+     * Forget the entities with the qualified name.
+     *
+     * @param qualifiedName the qualified name of the entities
+     */
+    public void invalidateQualifiedName(String qualifiedName) {
+        if (qualifiedName == null) {
+            return;
+        }
+
+        Map<String, String> guidsByType = guidsByQualifiedName.remove(qualifiedName);
+        if (guidsByType != null) {
+            guidsByType.values().forEach(qualifiedNamesByGUID::remove);
+        }
+    }
+
+    /**
+     * Forget all of the cached entities.
+     */
+    public void clear() {
+        guidsByQualifiedName.clear();
+        qualifiedNamesByGUID.clear();
+    }
+
+    /**
+     * Return the number of cached entities.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return qualifiedNamesByGUID.size();
+    }
+}
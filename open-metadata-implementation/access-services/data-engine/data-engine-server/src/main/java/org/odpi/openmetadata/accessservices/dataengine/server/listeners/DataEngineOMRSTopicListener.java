@@ -0,0 +1,92 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.listeners;
+
+import org.odpi.openmetadata.accessservices.dataengine.server.handlers.QualifiedNameCache;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListenerBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+
+/**
+ * DataEngineOMRSTopicListener receives details of each OMRS event from the cohorts that the local server
+ * is connected to. It removes the entities that have been changed or removed from the qualified name cache
+ * used by the Data Engine OMAS handlers.
+ */
+public class DataEngineOMRSTopicListener extends OMRSTopicListenerBase {
+
+    private final QualifiedNameCache qualifiedNameCache;
+
+    /**
+     * Construct the listener
+     *
+     * @param serviceName        name of this service
+     * @param auditLog           logging destination
+     * @param qualifiedNameCache the cache to keep up to date
+     */
+    public DataEngineOMRSTopicListener(String serviceName, OMRSAuditLog auditLog, QualifiedNameCache qualifiedNameCache) {
+        super(serviceName, auditLog);
+        this.qualifiedNameCache = qualifiedNameCache;
+    }
+
+    @Override
+    public void processUpdatedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                          String originatorServerType, String originatorOrganizationName, EntityDetail oldEntity,
+                                          EntityDetail newEntity) {
+        invalidate(oldEntity);
+        invalidate(newEntity);
+    }
+
+    @Override
+    public void processUndoneEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                         String originatorServerType, String originatorOrganizationName, EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    @Override
+    public void processDeletedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                          String originatorServerType, String originatorOrganizationName, EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    @Override
+    public void processPurgedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                         String originatorServerType, String originatorOrganizationName, String typeDefGUID,
+                                         String typeDefName, String instanceGUID) {
+        qualifiedNameCache.invalidateGUID(instanceGUID);
+    }
+
+    @Override
+    public void processDeletePurgedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                               String originatorServerType, String originatorOrganizationName, EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    @Override
+    public void processReIdentifiedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                               String originatorServerType, String originatorOrganizationName, String originalEntityGUID,
+                                               EntityDetail entity) {
+        qualifiedNameCache.invalidateGUID(originalEntityGUID);
+        invalidate(entity);
+    }
+
+    @Override
+    public void processReTypedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                          String originatorServerType, String originatorOrganizationName, TypeDefSummary originalTypeDefSummary,
+                                          EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    @Override
+    public void processReHomedEntityEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName,
+                                          String originatorServerType, String originatorOrganizationName,
+                                          String originalHomeMetadataCollectionId, EntityDetail entity) {
+        invalidate(entity);
+    }
+
+    private void invalidate(EntityDetail entity) {
+        if (entity != null) {
+            qualifiedNameCache.invalidateGUID(entity.getGUID());
+        }
+    }
+}
@@ -39,11 +39,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -470,16 +471,18 @@ public class DataEngineRESTServices {
 
         DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler = instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
 
+        // resolve the schema attributes of all the mappings in batches, so that each mapping finds them in the cache
+        Set<String> schemaAttributeQualifiedNames = lineageMappings.stream()
+                .flatMap(lineageMapping -> Stream.of(lineageMapping.getSourceAttribute(), lineageMapping.getTargetAttribute()))
+                .filter(StringUtils::isNotEmpty).collect(Collectors.toSet());
+        dataEngineSchemaTypeHandler.findSchemaAttributes(userId, schemaAttributeQualifiedNames);
+
         lineageMappings.parallelStream().forEach(lineageMapping -> {
             try {
                 dataEngineSchemaTypeHandler.addLineageMappingRelationship(userId, lineageMapping.getSourceAttribute(),
                         lineageMapping.getTargetAttribute(), externalSourceName);
-            } catch (InvalidParameterException error) {
-                restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                restExceptionHandler.captureUserNotAuthorizedException(response, error);
+            } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException error) {
+                captureConcurrentException(response, error);
             }
         });
     }
@@ -498,27 +501,28 @@ public class DataEngineRESTServices {
         Map<Boolean, List<Process>> partitionedProcesses =
                 processes.parallelStream().collect(partitioningBy(hasPortImplementationsPredicate));
 
-        List<GUIDResponse> createdProcesses = new ArrayList<>();
-        List<GUIDResponse> failedProcesses = new ArrayList<>();
-        Consumer<Process> processConsumer = process ->
+        Function<Process, GUIDResponse> processFunction = process ->
         {
             GUIDResponse guidResponse = createOrUpdateProcess(userId, serverName, process, externalSourceName);
             if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
                 updateProcessStatus(userId, serverName, guidResponse, InstanceStatus.ACTIVE);
-                createdProcesses.add(guidResponse);
-            } else {
-                failedProcesses.add(guidResponse);
             }
+            return guidResponse;
         };
 
-        partitionedProcesses.get(Boolean.TRUE).parallelStream().forEach(processConsumer);
+        // the results are collected by the streams rather than added to shared lists from the parallel threads
+        List<GUIDResponse> processResponses = new ArrayList<>(partitionedProcesses.get(Boolean.TRUE).parallelStream()
+                .map(processFunction).collect(Collectors.toList()));
         // processes that have port aliases can not be processed in parallel, as multiple processes can define
         // the same port alias
-        partitionedProcesses.get(Boolean.FALSE).forEach(processConsumer);
+        partitionedProcesses.get(Boolean.FALSE).stream().map(processFunction).forEach(processResponses::add);
+
+        Map<Boolean, List<GUIDResponse>> partitionedResponses = processResponses.stream()
+                .collect(partitioningBy(guidResponse -> guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()));
 
         ProcessListResponse response = new ProcessListResponse();
-        response.setGUIDs(createdProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
-        handleFailedProcesses(response, failedProcesses);
+        response.setGUIDs(partitionedResponses.get(Boolean.TRUE).stream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
+        handleFailedProcesses(response, partitionedResponses.get(Boolean.FALSE));
 
         return response;
     }
@@ -634,8 +638,27 @@ public class DataEngineRESTServices {
     }
 
     private void handleFailedProcesses(ProcessListResponse response, List<GUIDResponse> failedProcesses) {
-        response.setFailedGUIDs((failedProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList())));
-        failedProcesses.parallelStream().forEach(guidResponse -> captureException(guidResponse, response));
+        response.setFailedGUIDs((failedProcesses.stream().map(GUIDResponse::getGUID).collect(Collectors.toList())));
+        failedProcesses.forEach(guidResponse -> captureException(guidResponse, response));
+    }
+
+    /**
+     * Capture an exception raised by one of the parallel threads working on a request. The threads share the
+     * response, so the exception details are set while holding its lock.
+     *
+     * @param response the response shared by the threads
+     * @param error    the exception to capture
+     */
+    private void captureConcurrentException(FFDCResponseBase response, Exception error) {
+        synchronized (response) {
+            if (error instanceof InvalidParameterException) {
+                restExceptionHandler.captureInvalidParameterException(response, (InvalidParameterException) error);
+            } else if (error instanceof PropertyServerException) {
+                restExceptionHandler.capturePropertyServerException(response, (PropertyServerException) error);
+            } else if (error instanceof UserNotAuthorizedException) {
+                restExceptionHandler.captureUserNotAuthorizedException(response, (UserNotAuthorizedException) error);
+            }
+        }
     }
 
     private void captureException(FFDCResponseBase guidResponse, GUIDListResponse response) {
@@ -749,12 +772,8 @@ public class DataEngineRESTServices {
         portGUIDs.parallelStream().forEach(portGUID -> {
             try {
                 processHandler.addProcessPortRelationship(userId, processGUID, portGUID, externalSourceName);
-            } catch (InvalidParameterException error) {
-                restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                restExceptionHandler.captureUserNotAuthorizedException(response, error);
+            } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException error) {
+                captureConcurrentException(response, error);
             }
         });
     }
@@ -782,12 +801,8 @@ public class DataEngineRESTServices {
         obsoletePorts.parallelStream().forEach(portGUID -> {
             try {
                 portHandler.removePort(userId, portGUID, portTypeName);
-            } catch (InvalidParameterException error) {
-                restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                restExceptionHandler.captureUserNotAuthorizedException(response, error);
+            } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException error) {
+                captureConcurrentException(response, error);
             }
         });
 
@@ -801,7 +816,7 @@ public class DataEngineRESTServices {
 
         log.debug(DEBUG_MESSAGE_METHOD, methodName);
 
-        Set<String> portImplementationGUIDs = new HashSet<>();
+        Set<String> portImplementationGUIDs = Collections.synchronizedSet(new HashSet<>());
 
         if (CollectionUtils.isNotEmpty(portImplementations)) {
             portImplementations.parallelStream().forEach(portImplementation ->
@@ -809,12 +824,8 @@ public class DataEngineRESTServices {
                 try {
                     portImplementationGUIDs.add(createOrUpdatePortImplementationWithSchemaType(userId, serverName, portImplementation,
                             externalSourceName));
-                } catch (InvalidParameterException error) {
-                    restExceptionHandler.captureInvalidParameterException(response, error);
-                } catch (PropertyServerException error) {
-                    restExceptionHandler.capturePropertyServerException(response, error);
-                } catch (UserNotAuthorizedException error) {
-                    restExceptionHandler.captureUserNotAuthorizedException(response, error);
+                } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException error) {
+                    captureConcurrentException(response, error);
                 }
             });
         }
@@ -829,7 +840,7 @@ public class DataEngineRESTServices {
 
         log.debug(DEBUG_MESSAGE_METHOD, methodName);
 
-        Set<String> portAliasGUIDs = new HashSet<>();
+        Set<String> portAliasGUIDs = Collections.synchronizedSet(new HashSet<>());
 
         if (CollectionUtils.isNotEmpty(portAliases)) {
 
@@ -837,12 +848,8 @@ public class DataEngineRESTServices {
             {
                 try {
                     portAliasGUIDs.add(createOrUpdatePortAliasWithDelegation(userId, serverName, portAlias, externalSourceName));
-                } catch (InvalidParameterException error) {
-                    restExceptionHandler.captureInvalidParameterException(response, error);
-                } catch (PropertyServerException error) {
-                    restExceptionHandler.capturePropertyServerException(response, error);
-                } catch (UserNotAuthorizedException error) {
-                    restExceptionHandler.captureUserNotAuthorizedException(response, error);
+                } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException error) {
+                    captureConcurrentException(response, error);
                 }
             });
         }
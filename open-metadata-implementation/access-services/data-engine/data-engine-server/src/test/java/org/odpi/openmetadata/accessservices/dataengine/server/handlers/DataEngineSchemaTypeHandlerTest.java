@@ -22,19 +22,29 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ComplexSchemaType;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.SchemaAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -135,6 +145,8 @@ class DataEngineSchemaTypeHandlerTest {
         when(dataEngineRegistrationHandler.getExternalDataEngineByQualifiedName(USER,
                 EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(EXTERNAL_SOURCE_DE_GUID);
 
+        mockFindSchemaAttribute(ATTRIBUTE_QUALIFIED_NAME, ATTRIBUTE_GUID);
+
         UserNotAuthorizedException mockedException = mockException(UserNotAuthorizedException.class, methodName);
         when(schemaTypeHandler.saveExternalSchemaType(USER, schemaType, Collections.singletonList(schemaAttribute), EXTERNAL_SOURCE_DE_GUID,
                 EXTERNAL_SOURCE_DE_QUALIFIED_NAME, methodName)).thenThrow(mockedException);
@@ -145,6 +157,50 @@ class DataEngineSchemaTypeHandlerTest {
         assertTrue(thrown.getMessage().contains("OMAS-DATA-ENGINE-404-001 "));
     }
 
+    @Test
+    void updateSchemaType_findsExistingAttributesInOneSearch() throws InvalidParameterException, PropertyServerException,
+                                                                     UserNotAuthorizedException {
+        final String methodName = "createOrUpdateSchemaType";
+        final String secondAttributeQualifiedName = "secondAttributeQualifiedName";
+        final String secondAttributeGUID = "secondAttributeGuid";
+
+        when(schemaTypeHandler.getEmptyComplexSchemaType(SchemaElementMapper.TABULAR_SCHEMA_TYPE_TYPE_GUID,
+                SchemaElementMapper.TABULAR_SCHEMA_TYPE_TYPE_NAME)).thenReturn(new ComplexSchemaType());
+        when(schemaTypeHandler.getEmptyTabularColumn()).thenAnswer(invocation -> new SchemaAttribute());
+        when(schemaTypeHandler.saveExternalSchemaType(eq(USER), any(), any(), eq(EXTERNAL_SOURCE_DE_GUID),
+                eq(EXTERNAL_SOURCE_DE_QUALIFIED_NAME), eq(methodName))).thenReturn(GUID);
+        when(dataEngineRegistrationHandler.getExternalDataEngineByQualifiedName(USER, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(EXTERNAL_SOURCE_DE_GUID);
+        when(repositoryHelper.getExactMatchRegex(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mockTypeDef(SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_NAME, SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_GUID);
+        mockTypeDef(SchemaTypePropertiesMapper.TYPE_EMBEDDED_ATTRIBUTE_NAME, SchemaTypePropertiesMapper.TYPE_EMBEDDED_ATTRIBUTE_NAME);
+
+        // the first attribute keeps its data type and the second attribute changes it
+        EntityDetail firstEntity = mockSchemaAttributeEntity(ATTRIBUTE_QUALIFIED_NAME, ATTRIBUTE_GUID, "string");
+        EntityDetail secondEntity = mockSchemaAttributeEntity(secondAttributeQualifiedName, secondAttributeGUID, "int");
+        when(repositoryHandler.getEntitiesByName(eq(USER), any(), eq(SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_GUID), anyInt(), anyInt(),
+                eq("findSchemaAttributes"))).thenReturn(Arrays.asList(firstEntity, secondEntity));
+
+        Attribute firstAttribute = getAttribute();
+        firstAttribute.setDataType("string");
+        Attribute secondAttribute = getAttribute();
+        secondAttribute.setQualifiedName(secondAttributeQualifiedName);
+        secondAttribute.setDataType("long");
+        SchemaType schemaType = getSchemaType();
+        schemaType.setAttributeList(Arrays.asList(firstAttribute, secondAttribute));
+
+        String result = dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, schemaType, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+
+        assertEquals(GUID, result);
+        verify(repositoryHandler, times(1)).getEntitiesByName(eq(USER), any(), eq(SchemaElementMapper.SCHEMA_ATTRIBUTE_TYPE_GUID), anyInt(),
+                anyInt(), eq("findSchemaAttributes"));
+        verify(repositoryHandler, never()).getUniqueEntityByName(any(), any(), any(), any(), any(), any(), any());
+        verify(repositoryHandler, never()).classifyEntity(any(), any(), any(), any(), any(), any());
+        verify(repositoryHandler, never()).reclassifyEntity(eq(USER), eq(ATTRIBUTE_GUID), any(), any(), any(), any());
+        verify(repositoryHandler, times(1)).reclassifyEntity(USER, secondAttributeGUID, SchemaTypePropertiesMapper.TYPE_EMBEDDED_ATTRIBUTE_NAME,
+                SchemaTypePropertiesMapper.TYPE_EMBEDDED_ATTRIBUTE_NAME, null, "addTypeEmbeddedAttributeClassifications");
+    }
+
     @Test
     void addLineageMappingRelationship() throws UserNotAuthorizedException, PropertyServerException,
                                                 InvalidParameterException {
@@ -237,6 +293,38 @@ class DataEngineSchemaTypeHandlerTest {
                 .thenReturn(mockedEntity);
     }
 
+    private EntityDetail mockSchemaAttributeEntity(String qualifiedName, String guid, String dataType) {
+        InstanceProperties entityProperties = getStringProperties(SchemaTypePropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME, qualifiedName);
+        InstanceProperties classificationProperties = getStringProperties(SchemaTypePropertiesMapper.DATA_TYPE, dataType);
+
+        Classification classification = new Classification();
+        classification.setName(SchemaTypePropertiesMapper.TYPE_EMBEDDED_ATTRIBUTE_NAME);
+        classification.setProperties(classificationProperties);
+
+        EntityDetail entityDetail = new EntityDetail();
+        entityDetail.setGUID(guid);
+        entityDetail.setProperties(entityProperties);
+        entityDetail.setClassifications(Collections.singletonList(classification));
+
+        when(repositoryHelper.getStringProperty(any(), eq(SchemaTypePropertiesMapper.QUALIFIED_NAME_PROPERTY_NAME), eq(entityProperties),
+                any())).thenReturn(qualifiedName);
+        when(repositoryHelper.getStringProperty(any(), eq(SchemaTypePropertiesMapper.DATA_TYPE), eq(classificationProperties), any()))
+                .thenReturn(dataType);
+
+        return entityDetail;
+    }
+
+    private InstanceProperties getStringProperties(String propertyName, String value) {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(value);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty(propertyName, propertyValue);
+
+        return properties;
+    }
+
     private void mockTypeDef(String typeName, String typeGUID) {
         TypeDef entityTypeDef = mock(TypeDef.class);
         when(repositoryHelper.getTypeDefByName(USER, typeName)).thenReturn(entityTypeDef);
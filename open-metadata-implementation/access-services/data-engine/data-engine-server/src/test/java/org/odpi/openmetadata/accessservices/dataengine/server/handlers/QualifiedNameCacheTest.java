@@ -0,0 +1,49 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.handlers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QualifiedNameCacheTest {
+    private static final String QUALIFIED_NAME = "qualifiedName";
+    private static final String TYPE_NAME = "PortImplementation";
+    private static final String OTHER_TYPE_NAME = "PortAlias";
+    private static final String GUID = "guid";
+
+    @Test
+    void get_returnsGUIDForSameType() {
+        QualifiedNameCache cache = new QualifiedNameCache();
+
+        cache.put(QUALIFIED_NAME, TYPE_NAME, GUID);
+
+        assertEquals(GUID, cache.get(QUALIFIED_NAME, TYPE_NAME));
+        assertNull(cache.get(QUALIFIED_NAME, OTHER_TYPE_NAME));
+    }
+
+    @Test
+    void invalidateGUID_removesEntry() {
+        QualifiedNameCache cache = new QualifiedNameCache();
+
+        cache.put(QUALIFIED_NAME, TYPE_NAME, GUID);
+        cache.invalidateGUID(GUID);
+
+        assertNull(cache.get(QUALIFIED_NAME, TYPE_NAME));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_clearsCacheWhenFull() {
+        QualifiedNameCache cache = new QualifiedNameCache(2);
+
+        cache.put("first", TYPE_NAME, "firstGuid");
+        cache.put("second", TYPE_NAME, "secondGuid");
+        cache.put("third", TYPE_NAME, "thirdGuid");
+
+        assertNull(cache.get("first", TYPE_NAME));
+        assertEquals("thirdGuid", cache.get("third", TYPE_NAME));
+        assertEquals(1, cache.size());
+    }
+}
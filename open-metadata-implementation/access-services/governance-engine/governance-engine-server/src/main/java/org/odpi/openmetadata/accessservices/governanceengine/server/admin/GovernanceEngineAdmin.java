@@ -24,6 +24,7 @@ public class GovernanceEngineAdmin extends AccessServiceAdmin
 
     private OMRSAuditLog auditLog;
     private GovernanceEngineServicesInstance instance;
+    private GovernanceEngineEventProcessor governanceEngineEventProcessor;
     private String serverName;
 
     /**
@@ -57,7 +58,7 @@ public class GovernanceEngineAdmin extends AccessServiceAdmin
             this.serverName = instance.getServerName();
 
             OpenMetadataTopicConnector governanceEngineOutputTopic = initializeGovernanceEngineTopicConnector(accessServiceConfigurationProperties.getAccessServiceOutTopic());
-            GovernanceEngineEventProcessor governanceEngineEventProcessor = new GovernanceEngineEventProcessor(enterpriseOMRSRepositoryConnector, governanceEngineOutputTopic);
+            governanceEngineEventProcessor = new GovernanceEngineEventProcessor(enterpriseOMRSRepositoryConnector, governanceEngineOutputTopic);
 
             GovernanceEnginePublisher governanceEnginePublisher = new GovernanceEnginePublisher(governanceEngineEventProcessor);
 
@@ -167,6 +168,10 @@ public class GovernanceEngineAdmin extends AccessServiceAdmin
                 auditCode.getSystemAction(),
                 auditCode.getUserAction());
 
+        if (governanceEngineEventProcessor != null) {
+            governanceEngineEventProcessor.shutdown();
+        }
+
         if (instance != null) {
             this.instance.shutdown();
         }
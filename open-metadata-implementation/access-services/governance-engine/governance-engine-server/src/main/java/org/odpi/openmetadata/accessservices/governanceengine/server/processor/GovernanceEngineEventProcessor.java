@@ -3,13 +3,12 @@
 package org.odpi.openmetadata.accessservices.governanceengine.server.processor;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.governanceengine.api.events.GovernanceEngineEvent;
 import org.odpi.openmetadata.accessservices.governanceengine.api.events.GovernanceEngineEventType;
 import org.odpi.openmetadata.accessservices.governanceengine.api.ffdc.exceptions.MetadataServerException;
 import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
 import org.odpi.openmetadata.accessservices.governanceengine.server.handlers.GovernedAssetHandler;
-import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.commonservices.eventpublisher.OMASEventPublisher;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
@@ -29,13 +28,20 @@ import org.slf4j.LoggerFactory;
 public class GovernanceEngineEventProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(GovernanceEngineEventProcessor.class);
+    private static final String publisherName = "Governance Engine OMAS Out Topic Publisher";
+    private static final long closeTimeout = 10000;
 
     private OpenMetadataTopicConnector governanceEngineOutputTopic;
+    private OMASEventPublisher eventPublisher;
     private GovernedAssetHandler governedAssetHandler;
 
     public GovernanceEngineEventProcessor(OMRSRepositoryConnector enterpriseOMRSRepositoryConnector, OpenMetadataTopicConnector governanceEngineOutputTopic) {
         this.governanceEngineOutputTopic = governanceEngineOutputTopic;
 
+        if (governanceEngineOutputTopic != null) {
+            eventPublisher = new OMASEventPublisher(publisherName, governanceEngineOutputTopic, (payload, error) -> log.error("[Governance Engine] Unable to send event {}", payload));
+        }
+
         try {
             governedAssetHandler = new GovernedAssetHandler(enterpriseOMRSRepositoryConnector);
         } catch (MetadataServerException e) {
@@ -93,14 +99,35 @@ public class GovernanceEngineEventProcessor {
     }
 
     private void sendEvent(GovernanceEngineEvent event) {
+        if (eventPublisher == null) {
+            return;
+        }
+
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            governanceEngineOutputTopic.sendEvent(mapper.writeValueAsString(event));
-            log.info("[Governance Engine]event send");
+            String assetGuid = event.getGovernedAsset() != null ? event.getGovernedAsset().getGuid() : null;
+
+            if (eventPublisher.publishEvent(assetGuid, event)) {
+                log.info("[Governance Engine]event send");
+            }
         } catch (JsonProcessingException e) {
             log.error("[Governance Engine] Unable to map the json to string");
-        } catch (ConnectorCheckedException e) {
-            log.error("[Governance Engine] Unable to send event {}", event);
+        }
+    }
+
+    /**
+     * Send the events waiting for the out topic and disconnect from it.
+     */
+    public void shutdown() {
+        if (eventPublisher != null) {
+            eventPublisher.close(closeTimeout);
+        }
+
+        try {
+            if (governanceEngineOutputTopic != null) {
+                governanceEngineOutputTopic.disconnect();
+            }
+        } catch (Exception e) {
+            log.error("[Governance Engine] Unable to disconnect from the out topic");
         }
     }
 
@@ -40,6 +40,7 @@ public class InformationViewAdmin extends AccessServiceAdmin
 
     private static final Logger log = LoggerFactory.getLogger(InformationViewAdmin.class);
     private OpenMetadataTopicConnector informationViewOutTopicConnector;
+    private EventPublisher eventPublisher;
     private OMRSAuditLog auditLog;
     private String serverName = null;
     private InformationViewServicesInstance instance = null;
@@ -81,7 +82,6 @@ public class InformationViewAdmin extends AccessServiceAdmin
         List<String> supportedZones = this.extractSupportedZones(accessServiceConfigurationProperties.getAccessServiceOptions());
         OMEntityDao omEntityDao = new OMEntityDao(enterpriseConnector, supportedZones, auditLog);
 
-        EventPublisher eventPublisher = null;
         if (enterpriseOMRSTopicConnector != null) {
             auditCode = InformationViewAuditCode.SERVICE_REGISTERED_WITH_ENTERPRISE_TOPIC;
             auditLog.logRecord(actionDescription,
@@ -299,6 +299,10 @@ public class InformationViewAdmin extends AccessServiceAdmin
      * Shutdown the access service.
      */
     public void shutdown() {
+        if (eventPublisher != null) {
+            eventPublisher.shutdown();
+        }
+
         try {
             informationViewOutTopicConnector.disconnect();
         } catch (ConnectorCheckedException e) {
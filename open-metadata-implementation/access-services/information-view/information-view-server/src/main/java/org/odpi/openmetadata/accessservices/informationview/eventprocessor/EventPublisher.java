@@ -4,7 +4,6 @@
 package org.odpi.openmetadata.accessservices.informationview.eventprocessor;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.informationview.events.InformationViewHeader;
 import org.odpi.openmetadata.accessservices.informationview.events.SemanticAssignment;
 import org.odpi.openmetadata.accessservices.informationview.events.TableColumn;
@@ -14,9 +13,9 @@ import org.odpi.openmetadata.accessservices.informationview.ffdc.InformationView
 import org.odpi.openmetadata.accessservices.informationview.ffdc.exceptions.runtime.InformationViewExceptionBase;
 import org.odpi.openmetadata.accessservices.informationview.utils.Constants;
 import org.odpi.openmetadata.accessservices.informationview.context.ColumnContextBuilder;
+import org.odpi.openmetadata.commonservices.eventpublisher.OMASEventPublisher;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
-import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopic;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
@@ -46,8 +45,9 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(EventPublisher.class);
     private static final String eventPublisherName = "Information View OMAS Event Publisher";
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    private OpenMetadataTopic informationViewOutTopicConnector;
+    private static final String outTopicPublisherName = "Information View OMAS Out Topic Publisher";
+    private static final long closeTimeout = 10000;
+    private OMASEventPublisher outTopicPublisher;
     private OMRSRepositoryConnector enterpriseConnector;
     private ColumnContextBuilder columnContextBuilder;
     private OMRSRepositoryHelper helper;
@@ -59,7 +59,9 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
         super (eventPublisherName);
 
         this.columnContextBuilder = new ColumnContextBuilder(enterpriseConnector);
-        this.informationViewOutTopicConnector = informationViewOutTopicConnector;
+        if (informationViewOutTopicConnector != null) {
+            this.outTopicPublisher = new OMASEventPublisher(outTopicPublisherName, informationViewOutTopicConnector, this::logPublishException);
+        }
         this.enterpriseConnector  = enterpriseConnector;
         this.helper = enterpriseConnector.getRepositoryHelper();
         this.zones = zones;
@@ -96,7 +98,7 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
         }
         updatedEntityEvent.setType(entity.getType());
         updatedEntityEvent.setGuid(entity.getGUID());
-        sendEvent(updatedEntityEvent);
+        sendEvent(entity.getGUID(), updatedEntityEvent);
 
 
         if( (entity.getType().getTypeDefName().equals(Constants.BUSINESS_TERM) && isRename(oldEntity, entity))){
@@ -290,7 +292,7 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
         List<TableContextEvent> events = null;
         try {
             events = columnContextBuilder.buildContexts(guid);
-            sendColumnContextEvents(events);
+            sendColumnContextEvents(guid, events);
         }
         catch(InformationViewExceptionBase e){
             log.error(e.getMessage(), e);
@@ -311,7 +313,7 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
         databaseColumn.setName(helper.getStringProperty(Constants.INFORMATION_VIEW_OMAS_NAME, Constants.NAME, columnEntity.getProperties(), "publishSemanticAssignment"));
         databaseColumn.setQualifiedName(helper.getStringProperty(Constants.INFORMATION_VIEW_OMAS_NAME, Constants.QUALIFIED_NAME, columnEntity.getProperties(), "publishSemanticAssignment"));
         semanticAssignment.setTableColumn(databaseColumn);
-        sendEvent(semanticAssignment);
+        sendEvent(columnEntity.getGUID(), semanticAssignment);
     }
 
 
@@ -464,24 +466,27 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
 
 
     /**
+     * @param columnGuid - unique identifier of the column the events are about
      * @param eventList - list of column context events
-     * @return true if all events were published, false otherwise
+     * @return true if all events were queued for publishing, false otherwise
      */
-    private boolean sendColumnContextEvents(List<TableContextEvent> eventList) {
+    private boolean sendColumnContextEvents(String columnGuid, List<TableContextEvent> eventList) {
         boolean allSuccessful = true;
         for (TableContextEvent event : eventList) {
-            if (!sendEvent(event)) allSuccessful = false;
+            if (!sendEvent(columnGuid, event)) allSuccessful = false;
         }
         return allSuccessful;
     }
 
     /**
-     * Returns true if the event was published successfully, false otherwise
+     * Queues the event for the out topic.  Events with the same guid are published in the order they are queued.
+     * Returns true if the event was queued successfully, false otherwise
      *
+     * @param guid unique identifier of the entity the event is about
      * @param event to be published
      * @return true/false based on the success of the operation
      */
-    public boolean sendEvent(InformationViewHeader event) {
+    public boolean sendEvent(String guid, InformationViewHeader event) {
         String actionDescription = "Send New Event";
         boolean successFlag = false;
 
@@ -490,29 +495,48 @@ public class EventPublisher extends OMRSInstanceEventProcessor {
             log.debug("event: ", event);
         }
 
+        if (outTopicPublisher == null) {
+            return false;
+        }
+
         try {
 
-            informationViewOutTopicConnector.sendEvent(OBJECT_MAPPER.writeValueAsString(event));
-            successFlag = true;
+            successFlag = outTopicPublisher.publishEvent(guid, event);
 
         } catch (Throwable error) {
-            log.error("Exception publishing event", error);
-            InformationViewErrorCode auditCode = InformationViewErrorCode.PUBLISH_EVENT_EXCEPTION;
-
-            auditLog.logException(actionDescription,
-                    auditCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    auditCode.getFormattedErrorMessage(event.getClass().getName(), error.getMessage()),
-                    "event {" + event.toString() + "}",
-                    auditCode.getSystemAction(),
-                    auditCode.getUserAction(),
-                    error);
-
+            logPublishException(actionDescription, event.getClass().getName(), event.toString(), error);
         }
 
         return successFlag;
     }
 
+    /**
+     * Sends the events that are waiting for the out topic and stops the publishing threads.
+     */
+    public void shutdown() {
+        if (outTopicPublisher != null) {
+            outTopicPublisher.close(closeTimeout);
+        }
+    }
+
+    private void logPublishException(String event, Throwable error) {
+        logPublishException("Send New Event", InformationViewHeader.class.getName(), event, error);
+    }
+
+    private void logPublishException(String actionDescription, String eventClassName, String event, Throwable error) {
+        log.error("Exception publishing event", error);
+        InformationViewErrorCode auditCode = InformationViewErrorCode.PUBLISH_EVENT_EXCEPTION;
+
+        auditLog.logException(actionDescription,
+                auditCode.getErrorMessageId(),
+                OMRSAuditLogRecordSeverity.EXCEPTION,
+                auditCode.getFormattedErrorMessage(eventClassName, error.getMessage()),
+                "event {" + event + "}",
+                auditCode.getSystemAction(),
+                auditCode.getUserAction(),
+                error);
+    }
+
     /**
      * An open metadata repository is passing information about a collection of entities and relationships
      * with the other repositories in the cohort.
@@ -27,6 +27,7 @@ public class SecurityOfficerAdmin extends AccessServiceAdmin
     private OMRSAuditLog auditLog;
     private String serverName;
     private SecurityOfficerServicesInstance instance;
+    private SecurityOfficerPublisher securityOfficerPublisher;
 
     /**
      * Initialize the access service.
@@ -58,7 +59,7 @@ public class SecurityOfficerAdmin extends AccessServiceAdmin
             OpenMetadataTopicConnector securityOfficerOutputTopic = initializeSecurityOfficerTopicConnector(accessServiceConfigurationProperties.getAccessServiceOutTopic());
             SecurityOfficerEventProcessor securityOfficerEventProcessor = new SecurityOfficerEventProcessor(enterpriseOMRSRepositoryConnector);
 
-            SecurityOfficerPublisher securityOfficerPublisher = new SecurityOfficerPublisher(securityOfficerEventProcessor, securityOfficerOutputTopic, auditLog);
+            securityOfficerPublisher = new SecurityOfficerPublisher(securityOfficerEventProcessor, securityOfficerOutputTopic, auditLog);
             this.instance = new SecurityOfficerServicesInstance(enterpriseOMRSRepositoryConnector, securityOfficerPublisher);
             this.serverName = instance.getServerName();
 
@@ -169,6 +170,10 @@ public class SecurityOfficerAdmin extends AccessServiceAdmin
                 auditCode.getSystemAction(),
                 auditCode.getUserAction());
 
+        if (securityOfficerPublisher != null) {
+            securityOfficerPublisher.disconnect();
+        }
+
         if (instance != null) {
             this.instance.shutdown();
         }
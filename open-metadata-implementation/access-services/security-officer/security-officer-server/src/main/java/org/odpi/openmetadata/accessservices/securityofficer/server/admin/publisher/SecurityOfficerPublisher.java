@@ -5,12 +5,12 @@
 package org.odpi.openmetadata.accessservices.securityofficer.server.admin.publisher;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.securityofficer.api.events.SecurityOfficerEvent;
 import org.odpi.openmetadata.accessservices.securityofficer.api.events.SecurityOfficerTagEvent;
+import org.odpi.openmetadata.accessservices.securityofficer.api.events.SecurityOfficerUpdateTagEvent;
 import org.odpi.openmetadata.accessservices.securityofficer.api.ffdc.errorcode.SecurityOfficerErrorCode;
 import org.odpi.openmetadata.accessservices.securityofficer.server.admin.processor.SecurityOfficerEventProcessor;
-import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.commonservices.eventpublisher.OMASEventPublisher;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
@@ -38,9 +38,11 @@ public class SecurityOfficerPublisher extends OMRSInstanceEventProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(SecurityOfficerPublisher.class);
     private static final String eventPublisherName = "Security Officer OMAS Event Publisher";
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String outTopicPublisherName = "Security Officer OMAS Out Topic Publisher";
+    private static final long closeTimeout = 10000;
     private SecurityOfficerEventProcessor securityOfficerEventProcessor;
     private OpenMetadataTopicConnector openMetadataTopicConnector;
+    private OMASEventPublisher outTopicPublisher;
     private OMRSAuditLog auditLog;
 
     public SecurityOfficerPublisher(SecurityOfficerEventProcessor securityOfficerEventProcessor, OpenMetadataTopicConnector openMetadataTopicConnector, OMRSAuditLog auditLog) {
@@ -49,6 +51,10 @@ public class SecurityOfficerPublisher extends OMRSInstanceEventProcessor {
         this.securityOfficerEventProcessor = securityOfficerEventProcessor;
         this.openMetadataTopicConnector = openMetadataTopicConnector;
         this.auditLog = auditLog;
+
+        if (openMetadataTopicConnector != null) {
+            this.outTopicPublisher = new OMASEventPublisher(outTopicPublisherName, openMetadataTopicConnector, this::logSendFailure);
+        }
     }
 
     @Override
@@ -222,24 +228,57 @@ public class SecurityOfficerPublisher extends OMRSInstanceEventProcessor {
     public void processConflictingTypeEvent(String sourceName, String originatorMetadataCollectionId, String originatorServerName, String originatorServerType, String originatorOrganizationName, String targetMetadataCollectionId, TypeDefSummary targetTypeDef, String targetInstanceGUID, TypeDefSummary otherTypeDef, String errorMessage) {
     }
 
+    /**
+     * Queue the event for the out topic.  Events about the same schema element are sent in the order they are queued.
+     *
+     * @param securityOfficerEvent event to send
+     * @throws JsonProcessingException the event can not be serialized
+     */
     public void sendEvent(SecurityOfficerEvent securityOfficerEvent) throws JsonProcessingException {
-        String event = OBJECT_MAPPER.writeValueAsString(securityOfficerEvent);
+        if (outTopicPublisher != null) {
+            outTopicPublisher.publishEvent(getSchemaElementGuid(securityOfficerEvent), securityOfficerEvent);
+        }
+    }
+
+    /**
+     * Send the events waiting for the out topic and disconnect from it.
+     */
+    public void disconnect() {
+        if (outTopicPublisher != null) {
+            outTopicPublisher.close(closeTimeout);
+        }
 
         try {
-            openMetadataTopicConnector.sendEvent(event);
-        } catch (ConnectorCheckedException e) {
-            log.error("Exception publishing event", e);
-            SecurityOfficerErrorCode auditCode = SecurityOfficerErrorCode.PUBLISH_EVENT_EXCEPTION;
-
-            auditLog.logException("send event",
-                    auditCode.getErrorMessageId(),
-                    OMRSAuditLogRecordSeverity.EXCEPTION,
-                    auditCode.getFormattedErrorMessage(securityOfficerEvent.getClass().getName(), e.getMessage()),
-                    "event {" + securityOfficerEvent + "}",
-                    auditCode.getSystemAction(),
-                    auditCode.getUserAction(),
-                    e);
+            if (openMetadataTopicConnector != null) {
+                openMetadataTopicConnector.disconnect();
+            }
+        } catch (Exception e) {
+            log.error("Unable to disconnect from the out topic", e);
+        }
+    }
+
+    private void logSendFailure(String event, Throwable error) {
+        log.error("Exception publishing event", error);
+        SecurityOfficerErrorCode auditCode = SecurityOfficerErrorCode.PUBLISH_EVENT_EXCEPTION;
+
+        auditLog.logException("send event",
+                auditCode.getErrorMessageId(),
+                OMRSAuditLogRecordSeverity.EXCEPTION,
+                auditCode.getFormattedErrorMessage(SecurityOfficerEvent.class.getName(), error.getMessage()),
+                "event {" + event + "}",
+                auditCode.getSystemAction(),
+                auditCode.getUserAction(),
+                error);
+    }
+
+    private String getSchemaElementGuid(SecurityOfficerEvent securityOfficerEvent) {
+        if (securityOfficerEvent instanceof SecurityOfficerTagEvent && ((SecurityOfficerTagEvent) securityOfficerEvent).getSchemaElementEntity() != null) {
+            return ((SecurityOfficerTagEvent) securityOfficerEvent).getSchemaElementEntity().getGuid();
+        }
+        if (securityOfficerEvent instanceof SecurityOfficerUpdateTagEvent && ((SecurityOfficerUpdateTagEvent) securityOfficerEvent).getSecuritySchemaElement() != null) {
+            return ((SecurityOfficerUpdateTagEvent) securityOfficerEvent).getSecuritySchemaElement().getGuid();
         }
+        return null;
     }
 
     private boolean isSchemaElement(InstanceType type) {
@@ -307,6 +307,18 @@ public enum SubjectAreaErrorCode {
             "Cannot create a Project without a name",
             "The system is unable to process the request.",
             "Correct the code in the caller to create a Project with a name."),
+    GLOSSARY_IMPORT_UNRESOLVED_REFERENCE(400, "OMAS-SUBJECTAREA-400-069 ",
+            "The {0} {1} referred to by {2} in the glossary import is not in the import and has no guid",
+            "The system is unable to import this content. The rest of the import carries on.",
+            "Correct the import so that the {0} is defined earlier in the import or is referred to by its guid."),
+    GLOSSARY_IMPORT_AMBIGUOUS_REFERENCE(400, "OMAS-SUBJECTAREA-400-070 ",
+            "The {0} {1} referred to by {2} in the glossary import is a name shared by more than one {0} in the import",
+            "The system is unable to import this content. The rest of the import carries on.",
+            "Correct the import so that the {0} is referred to by its qualified name or its guid."),
+    GLOSSARY_IMPORT_ORPHANED_ENTITY(400, "OMAS-SUBJECTAREA-400-071 ",
+            "The glossary import created {0} with guid {1} but could not link it into the glossary or delete it",
+            "The entity is left in the repository without its relationships. The rest of the import carries on.",
+            "Link the entity with this guid into the glossary or delete it."),
 
 
     OMRS_NOT_INITIALIZED(404, "OMAS-SUBJECTAREA-404-001 ",
@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.term.Term;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * GlossaryImport is the request body of the Subject Area OMAS bulk import. It holds the glossaries, categories
+ * and terms to create, together with the categorizations of the terms.
+ * <p>
+ * The glossary of a category or term, the parent of a category and both ends of a categorization are given as
+ * summaries. A summary with a guid refers to content that is already in the repository. A summary without a guid
+ * refers to content in the same import, by qualified name, or by name when there is no qualified name. A name
+ * can only be used when no other node of the same kind in the import has that name.
+ * A parent category must come before its children in the list of categories.
+ * <p>
+ * An import is sent in a single request. A large glossary is split across several imports, with the later imports
+ * referring to the content of the earlier ones by the guids returned in their results.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class GlossaryImport implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private List<Glossary>                      glossaries         = new ArrayList<>();
+    private List<Category>                      categories         = new ArrayList<>();
+    private List<Term>                          terms              = new ArrayList<>();
+    private List<GlossaryImportCategorization>  termCategorizations = new ArrayList<>();
+
+    /**
+     * Glossaries to create.
+     * @return glossaries
+     */
+    public List<Glossary> getGlossaries()
+    {
+        return glossaries;
+    }
+
+    public void setGlossaries(List<Glossary> glossaries)
+    {
+        this.glossaries = glossaries;
+    }
+
+    /**
+     * Categories to create, parents before children.
+     * @return categories
+     */
+    public List<Category> getCategories()
+    {
+        return categories;
+    }
+
+    public void setCategories(List<Category> categories)
+    {
+        this.categories = categories;
+    }
+
+    /**
+     * Terms to create.
+     * @return terms
+     */
+    public List<Term> getTerms()
+    {
+        return terms;
+    }
+
+    public void setTerms(List<Term> terms)
+    {
+        this.terms = terms;
+    }
+
+    /**
+     * Categorizations of terms to create.
+     * @return term categorizations
+     */
+    public List<GlossaryImportCategorization> getTermCategorizations()
+    {
+        return termCategorizations;
+    }
+
+    public void setTermCategorizations(List<GlossaryImportCategorization> termCategorizations)
+    {
+        this.termCategorizations = termCategorizations;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "GlossaryImport{" +
+                "glossaries=" + (glossaries == null ? 0 : glossaries.size()) +
+                ", categories=" + (categories == null ? 0 : categories.size()) +
+                ", terms=" + (terms == null ? 0 : terms.size()) +
+                ", termCategorizations=" + (termCategorizations == null ? 0 : termCategorizations.size()) +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.CategorySummary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.TermSummary;
+
+import java.io.Serializable;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * GlossaryImportCategorization puts a term in a category as part of a glossary import.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class GlossaryImportCategorization implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private TermSummary     term     = null;
+    private CategorySummary category = null;
+
+    /**
+     * The term that is categorized.
+     * @return term summary
+     */
+    public TermSummary getTerm()
+    {
+        return term;
+    }
+
+    public void setTerm(TermSummary term)
+    {
+        this.term = term;
+    }
+
+    /**
+     * The category the term is put in.
+     * @return category summary
+     */
+    public CategorySummary getCategory()
+    {
+        return category;
+    }
+
+    public void setCategory(CategorySummary category)
+    {
+        this.category = category;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "GlossaryImportCategorization{" +
+                "term=" + term +
+                ", category=" + category +
+                '}';
+    }
+}
@@ -0,0 +1,117 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * GlossaryImportResult reports the outcome of a glossary import. The guids of the created glossaries, categories
+ * and terms are keyed by the qualified name, or the name, used to refer to them in the import. Content that could
+ * not be created is described in the failures and the rest of the import carries on without it.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class GlossaryImportResult implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private Map<String, String> glossaryGuids     = new LinkedHashMap<>();
+    private Map<String, String> categoryGuids     = new LinkedHashMap<>();
+    private Map<String, String> termGuids         = new LinkedHashMap<>();
+    private int                 relationshipCount = 0;
+    private List<String>        failures          = new ArrayList<>();
+
+    /**
+     * Guids of the created glossaries.
+     * @return map of qualified name (or name) to guid
+     */
+    public Map<String, String> getGlossaryGuids()
+    {
+        return glossaryGuids;
+    }
+
+    public void setGlossaryGuids(Map<String, String> glossaryGuids)
+    {
+        this.glossaryGuids = glossaryGuids;
+    }
+
+    /**
+     * Guids of the created categories.
+     * @return map of qualified name (or name) to guid
+     */
+    public Map<String, String> getCategoryGuids()
+    {
+        return categoryGuids;
+    }
+
+    public void setCategoryGuids(Map<String, String> categoryGuids)
+    {
+        this.categoryGuids = categoryGuids;
+    }
+
+    /**
+     * Guids of the created terms.
+     * @return map of qualified name (or name) to guid
+     */
+    public Map<String, String> getTermGuids()
+    {
+        return termGuids;
+    }
+
+    public void setTermGuids(Map<String, String> termGuids)
+    {
+        this.termGuids = termGuids;
+    }
+
+    /**
+     * Number of relationships created.
+     * @return relationship count
+     */
+    public int getRelationshipCount()
+    {
+        return relationshipCount;
+    }
+
+    public void setRelationshipCount(int relationshipCount)
+    {
+        this.relationshipCount = relationshipCount;
+    }
+
+    /**
+     * Descriptions of the content that could not be imported.
+     * @return failures
+     */
+    public List<String> getFailures()
+    {
+        return failures;
+    }
+
+    public void setFailures(List<String> failures)
+    {
+        this.failures = failures;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "GlossaryImportResult{" +
+                "glossaryGuids=" + glossaryGuids +
+                ", categoryGuids=" + categoryGuids +
+                ", termGuids=" + termGuids +
+                ", relationshipCount=" + relationshipCount +
+                ", failures=" + failures +
+                '}';
+    }
+}
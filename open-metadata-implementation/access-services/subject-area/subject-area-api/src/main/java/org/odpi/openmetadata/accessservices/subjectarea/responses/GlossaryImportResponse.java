@@ -0,0 +1,67 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.responses;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportResult;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * GlossaryImportResponse is the response structure used on the Subject Area OMAS REST API call that imports
+ * glossary content. It returns a GlossaryImportResult.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class GlossaryImportResponse extends SubjectAreaOMASAPIResponse
+{
+    private GlossaryImportResult glossaryImportResult = null;
+
+    /**
+     * Default constructor
+     */
+    public GlossaryImportResponse() {
+        this.setResponseCategory(ResponseCategory.GlossaryImport);
+    }
+    public GlossaryImportResponse(GlossaryImportResult glossaryImportResult)
+    {
+        this();
+        this.glossaryImportResult=glossaryImportResult;
+    }
+
+
+    /**
+     * Return the result of the import.
+     *
+     * @return glossary import result
+     */
+    public GlossaryImportResult getGlossaryImportResult()
+    {
+        return glossaryImportResult;
+    }
+
+    /**
+     * Set up the result of the import.
+     *
+     * @param glossaryImportResult - result of the import
+     */
+    public void setGlossaryImportResult(GlossaryImportResult glossaryImportResult)
+    {
+        this.glossaryImportResult = glossaryImportResult;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "GlossaryImportResponse{" +
+                "glossaryImportResult=" + glossaryImportResult +
+                ", relatedHTTPCode=" + relatedHTTPCode +
+                '}';
+    }
+}
@@ -17,6 +17,7 @@ public enum ResponseCategory {
     SubjectAreaDefinitions,
     Glossary,
     Glossaries,
+    GlossaryImport,
     Project,
     Projects,
     Comment,
@@ -25,6 +25,7 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
                 @JsonSubTypes.Type(value = CategoriesResponse.class, name = "CategoriesResponse"),
                 @JsonSubTypes.Type(value = GlossaryResponse.class, name = "GlossaryResponse"),
                 @JsonSubTypes.Type(value = GlossariesResponse.class, name = "GlossariesResponse"),
+                @JsonSubTypes.Type(value = GlossaryImportResponse.class, name = "GlossaryImportResponse"),
                 @JsonSubTypes.Type(value = SubjectAreaDefinitionResponse.class, name = "SubjectAreaDefinitionResponse"),
                 @JsonSubTypes.Type(value = SubjectAreaDefinitionsResponse.class, name = "SubjectAreaDefinitionsResponse"),
                 @JsonSubTypes.Type(value = TermResponse.class, name = "TermResponse"),
@@ -4,6 +4,8 @@ package org.odpi.openmetadata.accessservices.subjectarea;
 
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.*;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImport;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportResult;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.Line;
 
 import java.util.Date;
@@ -38,6 +40,30 @@ public interface SubjectAreaGlossary
      */
 
      Glossary createGlossary(String serverName, String userId, Glossary suppliedGlossary) throws MetadataServerUncontactableException, InvalidParameterException, UserNotAuthorizedException, UnrecognizedGUIDException, ClassificationException, FunctionNotSupportedException, UnexpectedResponseException ;
+    /**
+     * Import glossaries, categories and terms, together with their anchors, the category hierarchy and the categorization of the terms.
+     * This takes far fewer calls to the repository than creating the same content one node at a time.
+     * <p>
+     * Content in the import refers to other content in the same import by qualified name (or by name when that name is
+     * unique in the import), and to content that is already in the repository by guid. Content that cannot be imported
+     * is reported in the failures of the result and the rest of the import carries on.
+     * A large glossary is imported with several calls; later calls refer to the content of earlier ones by the returned guids.
+     * @param serverName         serverName under which this request is performed, this is used in multi tenanting to identify the tenant
+     * @param userId unique identifier for requesting user, under which the request is performed
+     * @param glossaryImport glossary content to import
+     * @return the guids of the imported content, keyed by qualified name (or name), and the failures.
+     *
+     * Exceptions returned by the server
+     * @throws UserNotAuthorizedException  the requesting user is not authorized to issue this request.
+     * @throws InvalidParameterException  one of the parameters is null or invalid.
+     * @throws FunctionNotSupportedException   Function not supported
+     *
+     * Client library Exceptions
+     * @throws MetadataServerUncontactableException Unable to contact the server
+     * @throws UnexpectedResponseException an unexpected response was returned from the server
+     */
+     GlossaryImportResult importGlossaryContent(String serverName, String userId, GlossaryImport glossaryImport) throws MetadataServerUncontactableException, InvalidParameterException, UserNotAuthorizedException, FunctionNotSupportedException, UnexpectedResponseException;
+
     /**
      * Get a glossary by guid.
      * @param serverName         serverName under which this request is performed, this is used in multi tenanting to identify the tenant
@@ -11,6 +11,8 @@ import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph
 import org.odpi.openmetadata.accessservices.subjectarea.utils.DetectUtils;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.*;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImport;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportResult;
 import org.odpi.openmetadata.accessservices.subjectarea.responses.*;
 import org.odpi.openmetadata.accessservices.subjectarea.utils.QueryUtils;
 import org.odpi.openmetadata.accessservices.subjectarea.utils.RestCaller;
@@ -115,6 +117,55 @@ public class SubjectAreaGlossaryImpl extends SubjectAreaBaseImpl implements org.
         return glossary;
     }
 
+    /**
+     * Import glossaries, categories and terms, together with their anchors, the category hierarchy and the categorization of the terms.
+     * This takes far fewer calls to the repository than creating the same content one node at a time.
+     * <p>
+     * Content in the import refers to other content in the same import by qualified name (or name), and to content
+     * that is already in the repository by guid. Content that cannot be imported is reported in the failures of the result
+     * and the rest of the import carries on.
+     * @param serverName         serverName under which this request is performed, this is used in multi tenanting to identify the tenant
+     * @param userId unique identifier for requesting user, under which the request is performed
+     * @param glossaryImport glossary content to import
+     * @return the guids of the imported content, keyed by qualified name (or name), and the failures.
+     *
+     * Exceptions returned by the server
+     * @throws UserNotAuthorizedException  the requesting user is not authorized to issue this request.
+     * @throws InvalidParameterException  one of the parameters is null or invalid.
+     * @throws FunctionNotSupportedException   Function not supported
+     *
+     * Client library Exceptions
+     * @throws MetadataServerUncontactableException Unable to contact the server
+     * @throws UnexpectedResponseException an unexpected response was returned from the server
+     */
+    public GlossaryImportResult importGlossaryContent(String serverName, String userId, GlossaryImport glossaryImport) throws MetadataServerUncontactableException, InvalidParameterException, UserNotAuthorizedException, FunctionNotSupportedException, UnexpectedResponseException {
+        final String methodName ="importGlossaryContent";
+        if (log.isDebugEnabled()) {
+            log.debug("==> Method: " + methodName + ",userId=" + userId);
+        }
+        InputValidator.validateUserIdNotNull(className,methodName,userId);
+        final String url = this.omasServerURL + String.format(BASE_URL + "/import",serverName,userId);
+        ObjectMapper mapper = new ObjectMapper();
+        String requestBody = null;
+        try {
+            requestBody = mapper.writeValueAsString(glossaryImport);
+        } catch (JsonProcessingException error) {
+            RestCaller.throwJsonParseError(className,methodName,error);
+        }
+
+        SubjectAreaOMASAPIResponse restResponse = RestCaller.issuePost(className,methodName,requestBody, url);
+
+        DetectUtils.detectAndThrowUserNotAuthorizedException(methodName,restResponse);
+        DetectUtils.detectAndThrowInvalidParameterException(methodName,restResponse);
+        DetectUtils.detectAndThrowFunctionNotSupportedException(methodName,restResponse);
+        GlossaryImportResult glossaryImportResult = DetectUtils.detectAndReturnGlossaryImportResult(methodName,restResponse);
+
+        if (log.isDebugEnabled()) {
+            log.debug("<== successful method : " + methodName + ",userId="+userId );
+        }
+        return glossaryImportResult;
+    }
+
     /**
      * Get a glossary by guid.
      * @param serverName         serverName under which this request is performed, this is used in multi tenanting to identify the tenant
@@ -7,6 +7,7 @@ import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.*;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.SubjectAreaDefinition;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportResult;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.Graph;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.Line;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.project.Project;
@@ -252,6 +253,24 @@ public class DetectUtils {
         }
         return glossary;
     }
+    /**
+     * Detect and return a GlossaryImportResult object from the supplied response. If we do not find one then throw an Exception
+     * @param methodName - name of the method called
+     * @param restResponse - response from the rest call.  This generated in the remote handlers.
+     * @return GlossaryImportResult if the supplied response is a glossary import response
+     * @throws UnexpectedResponseException - if the response is not a glossary import response then throw this exception
+     */
+    public static GlossaryImportResult detectAndReturnGlossaryImportResult(String methodName,
+                                                                           SubjectAreaOMASAPIResponse restResponse) throws UnexpectedResponseException {
+        GlossaryImportResult glossaryImportResult = null;
+        if ((restResponse != null) && (restResponse.getResponseCategory() == ResponseCategory.GlossaryImport)) {
+            GlossaryImportResponse glossaryImportResponse = (GlossaryImportResponse)restResponse;
+            glossaryImportResult = glossaryImportResponse.getGlossaryImportResult();
+        } else {
+            CategoryErrorResponse(methodName, restResponse);
+        }
+        return glossaryImportResult;
+    }
     public static List<Glossary> detectAndReturnGlossaries(String methodName, SubjectAreaOMASAPIResponse restResponse) throws UnexpectedResponseException {
         List<Glossary> glossaries = null;
         if ((restResponse != null) && (restResponse.getResponseCategory() == ResponseCategory.Glossaries)) {
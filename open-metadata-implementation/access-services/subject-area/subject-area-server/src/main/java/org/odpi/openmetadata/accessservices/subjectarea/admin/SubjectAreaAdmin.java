@@ -101,7 +101,8 @@ public class SubjectAreaAdmin extends AccessServiceAdmin
                 this.omrsTopicListener = new SubjectAreaOMRSTopicListener(this.accessServiceConfig.getAccessServiceOutTopic(),
                         this.repositoryConnector.getRepositoryHelper(),
                         this.repositoryConnector.getRepositoryValidator(),
-                        this.accessServiceConfig.getAccessServiceName());
+                        this.accessServiceConfig.getAccessServiceName(),
+                        instance.getGlossaryEntityCache());
                 this.omrsTopicConnector.registerListener(this.omrsTopicListener, accessServiceConfig.getAccessServiceName());
             }
 
@@ -4,6 +4,7 @@ package org.odpi.openmetadata.accessservices.subjectarea.initialization;
 
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.SubjectAreaErrorCode;
 import org.odpi.openmetadata.accessservices.subjectarea.server.services.SubjectAreaServicesInstance;
+import org.odpi.openmetadata.accessservices.subjectarea.utilities.GlossaryEntityCache;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
@@ -111,4 +112,33 @@ public class SubjectAreaInstanceHandler
                                               errorCode.getUserAction());
         }
     }
+
+
+    /**
+     * Return the cache of glossary and category entities for this server.
+     *
+     * @param serverName         serverName under which this request is performed, this is used in multi tenanting to identify the tenant
+     * @return GlossaryEntityCache object
+     * @throws MetadataServerUncontactableException the instance has not been initialized successfully
+     */
+    public GlossaryEntityCache getGlossaryEntityCache(String  serverName) throws MetadataServerUncontactableException
+    {
+        SubjectAreaServicesInstance instance = instanceMap.getInstance(serverName);
+
+        if (instance != null) {
+            return instance.getGlossaryEntityCache();
+        } else {
+            final String methodName = "getGlossaryEntityCache";
+
+            SubjectAreaErrorCode errorCode    = SubjectAreaErrorCode.SERVICE_NOT_INITIALIZED;
+            String                    errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(serverName, methodName);
+
+            throw new MetadataServerUncontactableException(errorCode.getHTTPErrorCode(),
+                                              this.getClass().getName(),
+                                              methodName,
+                                              errorMessage,
+                                              errorCode.getSystemAction(),
+                                              errorCode.getUserAction());
+        }
+    }
 }
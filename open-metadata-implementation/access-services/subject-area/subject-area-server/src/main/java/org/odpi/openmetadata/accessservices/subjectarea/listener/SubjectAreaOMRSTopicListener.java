@@ -5,6 +5,7 @@ package org.odpi.openmetadata.accessservices.subjectarea.listener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.accessservices.subjectarea.outtopic.SubjectAreaPublisher;
+import org.odpi.openmetadata.accessservices.subjectarea.utilities.GlossaryEntityCache;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
@@ -18,6 +19,7 @@ public class SubjectAreaOMRSTopicListener implements OMRSTopicListener
     private static final Logger log = LoggerFactory.getLogger(SubjectAreaOMRSTopicListener.class);
 
     private SubjectAreaPublisher publisher;
+    private GlossaryEntityCache  glossaryEntityCache;
 
 
     /**
@@ -28,12 +30,15 @@ public class SubjectAreaOMRSTopicListener implements OMRSTopicListener
      * @param repositoryHelper - provides methods for working with metadata instances
      * @param repositoryValidator - provides validation of metadata instance
      * @param componentName - name of component
+     * @param glossaryEntityCache - cache of glossaries and categories that is invalidated by entity events
      */
     public SubjectAreaOMRSTopicListener(Connection              assetConsumerOutTopic,
                                           OMRSRepositoryHelper    repositoryHelper,
                                           OMRSRepositoryValidator repositoryValidator,
-                                          String                  componentName)
+                                          String                  componentName,
+                                          GlossaryEntityCache     glossaryEntityCache)
     {
+        this.glossaryEntityCache = glossaryEntityCache;
         publisher = new SubjectAreaPublisher(assetConsumerOutTopic,
                 repositoryHelper,
                 repositoryValidator,
@@ -83,6 +88,8 @@ public class SubjectAreaOMRSTopicListener implements OMRSTopicListener
 
             if ((instanceEventType != null) && (instanceEventOriginator != null))
             {
+                invalidateCachedEntities(instanceEvent);
+
                 switch (instanceEventType)
                 {
                     case NEW_ENTITY_EVENT:
@@ -193,5 +200,30 @@ public class SubjectAreaOMRSTopicListener implements OMRSTopicListener
             }
         }
     }
+
+
+    /**
+     * Any change to an entity, whether made through this server or elsewhere in the cohort,
+     * means the cached copy is out of date.  Purge and re-identify events may only carry the instance guids.
+     * Relationship guids never match a cached entity or an entity being read so relationship events have no effect.
+     *
+     * @param instanceEvent event received
+     */
+    private void invalidateCachedEntities(OMRSInstanceEvent  instanceEvent)
+    {
+        if (glossaryEntityCache != null)
+        {
+            if (instanceEvent.getEntity() != null)
+            {
+                glossaryEntityCache.invalidate(instanceEvent.getEntity().getGUID());
+            }
+            if (instanceEvent.getOriginalEntity() != null)
+            {
+                glossaryEntityCache.invalidate(instanceEvent.getOriginalEntity().getGUID());
+            }
+            glossaryEntityCache.invalidate(instanceEvent.getInstanceGUID());
+            glossaryEntityCache.invalidate(instanceEvent.getOriginalInstanceGUID());
+        }
+    }
 }
 
@@ -0,0 +1,509 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.server.services;
+
+import org.odpi.openmetadata.accessservices.subjectarea.ffdc.SubjectAreaErrorCode;
+import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.InvalidParameterException;
+import org.odpi.openmetadata.accessservices.subjectarea.internalresponse.EntityDetailResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImport;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportCategorization;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportResult;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.Line;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.Node;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.NodeType;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.NodeSummary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.term.Term;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.relationships.CategoryAnchorRelationship;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.relationships.CategoryHierarchyLink;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.relationships.TermAnchorRelationship;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.relationships.TermCategorizationRelationship;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.GlossaryImportResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.OMASExceptionToResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.ResponseCategory;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.SubjectAreaOMASAPIResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.ILineMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.INodeMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.entities.CategoryMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.entities.GlossaryMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.entities.TermMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.relationships.CategoryAnchorMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.relationships.CategoryHierarchyLinkMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.relationships.TermAnchorMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.relationships.TermCategorizationMapper;
+import org.odpi.openmetadata.accessservices.subjectarea.utilities.OMRSAPIHelper;
+import org.odpi.openmetadata.accessservices.subjectarea.validators.InputValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * The SubjectAreaImportRESTServices provides the server-side implementation of the bulk import of glossary content
+ * into the SubjectArea Open Metadata Access Service (OMAS).
+ * <p>
+ * Creating glossary content one node at a time costs several repository calls for each node: the glossary is read
+ * and validated, the node and its relationships are created, and the node is then read back with its relationships
+ * to build the response. The import creates each node with one call and each relationship with one call. References
+ * between the nodes of the import are resolved with maps from qualified name (or name) to guid that only live for the
+ * request, and each existing glossary or category the import refers to is only read once.
+ * <p>
+ * The content of an import is sent as one request body rather than as a stream, so a large glossary is imported as
+ * a series of requests. Content in a later request refers to the content created by an earlier one by the guids
+ * returned in its result.
+ */
+public class SubjectAreaImportRESTServices extends SubjectAreaRESTServicesInstance
+{
+    private static final Logger log = LoggerFactory.getLogger(SubjectAreaImportRESTServices.class);
+    private static final String className = SubjectAreaImportRESTServices.class.getName();
+
+    /**
+     * Default constructor
+     */
+    public SubjectAreaImportRESTServices() {
+        super();
+    }
+    public SubjectAreaImportRESTServices(OMRSAPIHelper oMRSAPIHelper)
+    {
+        this.oMRSAPIHelper =oMRSAPIHelper;
+    }
+
+    /**
+     * Import glossaries, categories and terms, together with their anchors, the category hierarchy and the
+     * categorization of the terms.
+     * <p>
+     * The glossaries are created first, then the categories in the order they are supplied, then the terms and finally
+     * the term categorizations. Content that cannot be created (for example because it has no name or refers to a
+     * glossary that does not exist) is reported in the failures of the result and the import carries on.
+     * Content that depends on failed content, such as the terms of a glossary that could not be created, also fails.
+     * A reference by name fails if more than one node of the import has that name.
+     *
+     * @param serverName     serverName under which this request is performed, this is used in multi tenanting to identify the tenant
+     * @param userId         userid under which the request is performed
+     * @param glossaryImport the glossary content to import
+     * @return response which when successful contains a GlossaryImportResult with the guids of the created content and the failures
+     * when not successful the following Exception responses can occur
+     * <ul>
+     * <li> UserNotAuthorizedException           the requesting user is not authorized to issue this request.</li>
+     * <li> MetadataServerUncontactableException not able to communicate with a Metadata respository service.</li>
+     * <li> InvalidParameterException            one of the parameters is null or invalid.</li>
+     * </ul>
+     */
+    public SubjectAreaOMASAPIResponse importGlossaryContent(String serverName, String userId, GlossaryImport glossaryImport)
+    {
+        final String methodName = "importGlossaryContent";
+        if (log.isDebugEnabled())
+        {
+            log.debug("==> Method: " + methodName + ",userId=" + userId + ",import=" + glossaryImport);
+        }
+
+        // initialise omrs API helper with the right instance based on the server name
+        SubjectAreaOMASAPIResponse response = initializeAPI(serverName, userId, methodName);
+        if (response == null) {
+            if (glossaryImport == null) {
+                SubjectAreaErrorCode errorCode = SubjectAreaErrorCode.INVALID_PARAMETER;
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName);
+                log.error(errorMessage);
+                InvalidParameterException e = new InvalidParameterException(errorCode.getHTTPErrorCode(), className, methodName, errorMessage, errorCode.getSystemAction(), errorCode.getUserAction());
+                response = OMASExceptionToResponse.convertInvalidParameterException(e);
+            } else {
+                ImportContext context = new ImportContext(userId, glossaryImport);
+                importGlossaries(context, glossaryImport.getGlossaries());
+                importCategories(context, glossaryImport.getCategories());
+                importTerms(context, glossaryImport.getTerms());
+                importTermCategorizations(context, glossaryImport.getTermCategorizations());
+                response = new GlossaryImportResponse(context.result);
+            }
+        }
+        if (log.isDebugEnabled())
+        {
+            log.debug("<== successful method : " + methodName + ",userId=" + userId + ", response=" + response);
+        }
+        return response;
+    }
+
+    private void importGlossaries(ImportContext context, List<Glossary> glossaries)
+    {
+        final String methodName = "importGlossaries";
+        if (glossaries == null) {
+            return;
+        }
+        GlossaryMapper glossaryMapper = new GlossaryMapper(oMRSAPIHelper);
+        for (Glossary glossary : glossaries) {
+            String key = getReferenceKey(glossary.getQualifiedName(), glossary.getName());
+            try {
+                InputValidator.validateNodeType(className, methodName, glossary.getNodeType(), NodeType.Glossary, NodeType.Taxonomy, NodeType.TaxonomyAndCanonicalGlossary, NodeType.CanonicalGlossary);
+                validateName(methodName, glossary, SubjectAreaErrorCode.GLOSSARY_CREATE_WITHOUT_NAME);
+                EntityDetail glossaryEntity = addEntity(context, methodName, key, glossaryMapper.mapNodeToEntityDetail(glossary));
+                if (glossaryEntity != null) {
+                    context.addGlossary(glossary, key, glossaryEntity.getGUID());
+                }
+            } catch (InvalidParameterException e) {
+                context.addFailure(key, e.getErrorMessage());
+            }
+        }
+    }
+
+    private void importCategories(ImportContext context, List<Category> categories)
+    {
+        final String methodName = "importCategories";
+        if (categories == null) {
+            return;
+        }
+        CategoryMapper categoryMapper = new CategoryMapper(oMRSAPIHelper);
+        CategoryAnchorMapper categoryAnchorMapper = new CategoryAnchorMapper(oMRSAPIHelper);
+        CategoryHierarchyLinkMapper categoryHierarchyLinkMapper = new CategoryHierarchyLinkMapper(oMRSAPIHelper);
+        for (Category category : categories) {
+            String key = getReferenceKey(category.getQualifiedName(), category.getName());
+            try {
+                InputValidator.validateNodeType(className, methodName, category.getNodeType(), NodeType.Category, NodeType.SubjectAreaDefinition);
+                validateName(methodName, category, SubjectAreaErrorCode.GLOSSARY_CATEGORY_CREATE_WITHOUT_NAME);
+                String glossaryGuid = resolveGlossary(context, methodName, key, category.getGlossary());
+                String parentGuid = null;
+                if (category.getParentCategory() != null) {
+                    parentGuid = resolveReference(context, methodName, key, "category", category.getParentCategory(), context.categories, context.checkedCategories, categoryMapper);
+                }
+                if (glossaryGuid != null && (category.getParentCategory() == null || parentGuid != null)) {
+                    EntityDetail categoryEntity = addEntity(context, methodName, key, categoryMapper.mapNodeToEntityDetail(category));
+                    if (categoryEntity != null) {
+                        String categoryGuid = categoryEntity.getGUID();
+                        boolean knitted = false;
+                        try {
+                            CategoryAnchorRelationship categoryAnchor = new CategoryAnchorRelationship();
+                            categoryAnchor.setGlossaryGuid(glossaryGuid);
+                            categoryAnchor.setCategoryGuid(categoryGuid);
+                            knitted = addRelationship(context, methodName, key, categoryAnchor, categoryAnchorMapper);
+                            if (knitted && parentGuid != null) {
+                                CategoryHierarchyLink categoryHierarchyLink = new CategoryHierarchyLink();
+                                categoryHierarchyLink.setSuperCategoryGuid(parentGuid);
+                                categoryHierarchyLink.setSubCategoryGuid(categoryGuid);
+                                knitted = addRelationship(context, methodName, key, categoryHierarchyLink, categoryHierarchyLinkMapper);
+                            }
+                        } finally {
+                            if (knitted) {
+                                context.addCategory(category, key, categoryGuid);
+                            } else {
+                                deleteEntity(context, methodName, key, categoryEntity);
+                            }
+                        }
+                    }
+                }
+            } catch (InvalidParameterException e) {
+                context.addFailure(key, e.getErrorMessage());
+            }
+        }
+    }
+
+    private void importTerms(ImportContext context, List<Term> terms)
+    {
+        final String methodName = "importTerms";
+        if (terms == null) {
+            return;
+        }
+        TermMapper termMapper = new TermMapper(oMRSAPIHelper);
+        TermAnchorMapper termAnchorMapper = new TermAnchorMapper(oMRSAPIHelper);
+        for (Term term : terms) {
+            String key = getReferenceKey(term.getQualifiedName(), term.getName());
+            try {
+                InputValidator.validateNodeType(className, methodName, term.getNodeType(), NodeType.Term);
+                validateName(methodName, term, SubjectAreaErrorCode.GLOSSARY_TERM_CREATE_WITHOUT_NAME);
+                String glossaryGuid = resolveGlossary(context, methodName, key, term.getGlossary());
+                if (glossaryGuid != null) {
+                    EntityDetail termEntity = addEntity(context, methodName, key, termMapper.mapNodeToEntityDetail(term));
+                    if (termEntity != null) {
+                        String termGuid = termEntity.getGUID();
+                        boolean knitted = false;
+                        try {
+                            TermAnchorRelationship termAnchor = new TermAnchorRelationship();
+                            termAnchor.setGlossaryGuid(glossaryGuid);
+                            termAnchor.setTermGuid(termGuid);
+                            knitted = addRelationship(context, methodName, key, termAnchor, termAnchorMapper);
+                        } finally {
+                            if (knitted) {
+                                context.addTerm(term, key, termGuid);
+                            } else {
+                                deleteEntity(context, methodName, key, termEntity);
+                            }
+                        }
+                    }
+                }
+            } catch (InvalidParameterException e) {
+                context.addFailure(key, e.getErrorMessage());
+            }
+        }
+    }
+
+    private void importTermCategorizations(ImportContext context, List<GlossaryImportCategorization> termCategorizations)
+    {
+        final String methodName = "importTermCategorizations";
+        if (termCategorizations == null) {
+            return;
+        }
+        TermCategorizationMapper termCategorizationMapper = new TermCategorizationMapper(oMRSAPIHelper);
+        for (GlossaryImportCategorization termCategorization : termCategorizations) {
+            String termKey = termCategorization.getTerm() == null ? null : getReferenceKey(termCategorization.getTerm().getQualifiedName(), termCategorization.getTerm().getName());
+            String categoryKey = termCategorization.getCategory() == null ? null : getReferenceKey(termCategorization.getCategory().getQualifiedName(), termCategorization.getCategory().getName());
+            String key = termKey + " -> " + categoryKey;
+            try {
+                // the repository checks the types of the ends when the relationship is created, so existing terms and categories are not read first
+                String termGuid = resolveReference(context, methodName, key, "term", termCategorization.getTerm(), context.terms, null, null);
+                String categoryGuid = resolveReference(context, methodName, key, "category", termCategorization.getCategory(), context.categories, null, null);
+                if (termGuid != null && categoryGuid != null) {
+                    TermCategorizationRelationship termCategorizationRelationship = new TermCategorizationRelationship();
+                    termCategorizationRelationship.setTermGuid(termGuid);
+                    termCategorizationRelationship.setCategoryGuid(categoryGuid);
+                    addRelationship(context, methodName, key, termCategorizationRelationship, termCategorizationMapper);
+                }
+            } catch (InvalidParameterException e) {
+                context.addFailure(key, e.getErrorMessage());
+            }
+        }
+    }
+
+    /**
+     * Resolve the glossary of a category or term. A glossary is mandatory.
+     */
+    private String resolveGlossary(ImportContext context, String methodName, String key, NodeSummary glossary) throws InvalidParameterException
+    {
+        if (glossary == null) {
+            SubjectAreaErrorCode errorCode = SubjectAreaErrorCode.CREATE_WITHOUT_GLOSSARY;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName);
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(), className, methodName, errorMessage, errorCode.getSystemAction(), errorCode.getUserAction());
+        }
+        return resolveReference(context, methodName, key, "glossary", glossary, context.glossaries, context.checkedGlossaries, new GlossaryMapper(oMRSAPIHelper));
+    }
+
+    /**
+     * Resolve a reference to the guid of a node. A reference with a guid is to a node that is already in the repository;
+     * when a mapper is supplied, that node is read (through the glossary cache) and checked once per request.
+     * A reference without a guid is looked up in the nodes created by this request, by its qualified name if it has one
+     * and otherwise by its name.
+     *
+     * @return the guid or null if the reference is to an existing node that is not valid, which is recorded as a failure
+     * @throws InvalidParameterException the reference could not be resolved
+     */
+    private String resolveReference(ImportContext context,
+                                    String methodName,
+                                    String key,
+                                    String referenceType,
+                                    NodeSummary reference,
+                                    ImportedNodes importedNodes,
+                                    Map<String, SubjectAreaOMASAPIResponse> checkedGuids,
+                                    INodeMapper mapper) throws InvalidParameterException
+    {
+        String guid = reference == null ? null : reference.getGuid();
+        if (guid != null) {
+            if (checkedGuids != null) {
+                SubjectAreaOMASAPIResponse checkResponse = checkedGuids.get(guid);
+                if (!checkedGuids.containsKey(guid)) {
+                    checkResponse = oMRSAPIHelper.callOMRSGetEntityByGuid(methodName, context.userId, guid);
+                    if (checkResponse.getResponseCategory() == ResponseCategory.OmrsEntityDetail) {
+                        // the mapper throws an InvalidParameterException if the entity is not of the expected type
+                        mapper.mapEntityDetailToNode(((EntityDetailResponse) checkResponse).getEntityDetail());
+                        checkResponse = null;
+                    }
+                    checkedGuids.put(guid, checkResponse);
+                }
+                if (checkResponse != null) {
+                    context.addFailure(key, checkResponse.toString());
+                    return null;
+                }
+            }
+            return guid;
+        }
+        String referenceKey = reference == null ? null : getReferenceKey(reference.getQualifiedName(), reference.getName());
+        if (reference != null && !hasQualifiedName(reference.getQualifiedName()) && importedNodes.isAmbiguousName(reference.getName())) {
+            SubjectAreaErrorCode errorCode = SubjectAreaErrorCode.GLOSSARY_IMPORT_AMBIGUOUS_REFERENCE;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(referenceType, referenceKey, key);
+            log.error(errorMessage);
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(), className, methodName, errorMessage, errorCode.getSystemAction(), errorCode.getUserAction());
+        }
+        if (reference != null) {
+            guid = importedNodes.getGuid(reference.getQualifiedName(), reference.getName());
+        }
+        if (guid == null) {
+            SubjectAreaErrorCode errorCode = SubjectAreaErrorCode.GLOSSARY_IMPORT_UNRESOLVED_REFERENCE;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(referenceType, referenceKey, key);
+            log.error(errorMessage);
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(), className, methodName, errorMessage, errorCode.getSystemAction(), errorCode.getUserAction());
+        }
+        return guid;
+    }
+
+    private void validateName(String methodName, Node node, SubjectAreaErrorCode errorCode) throws InvalidParameterException
+    {
+        if (node.getName() == null || node.getName().equals("")) {
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(className, methodName);
+            log.error(errorMessage);
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(), className, methodName, errorMessage, errorCode.getSystemAction(), errorCode.getUserAction());
+        }
+    }
+
+    /**
+     * Create an entity. The created entity is not read back.
+     *
+     * @return the created entity or null if it could not be created, which is recorded as a failure
+     */
+    private EntityDetail addEntity(ImportContext context, String methodName, String key, EntityDetail entityDetail)
+    {
+        SubjectAreaOMASAPIResponse response = oMRSAPIHelper.callOMRSAddEntity(methodName, context.userId, entityDetail);
+        if (response.getResponseCategory() == ResponseCategory.OmrsEntityDetail) {
+            return ((EntityDetailResponse) response).getEntityDetail();
+        }
+        context.addFailure(key, response.toString());
+        return null;
+    }
+
+    /**
+     * Delete an entity whose relationships could not be created, so that the import does not leave it outside
+     * of its glossary. If it cannot be deleted its guid is recorded as a failure.
+     */
+    private void deleteEntity(ImportContext context, String methodName, String key, EntityDetail entityDetail)
+    {
+        InstanceType type = entityDetail.getType();
+        SubjectAreaOMASAPIResponse response = oMRSAPIHelper.callOMRSDeleteEntity(methodName,
+                                                                                 context.userId,
+                                                                                 type == null ? null : type.getTypeDefName(),
+                                                                                 type == null ? null : type.getTypeDefGUID(),
+                                                                                 entityDetail.getGUID());
+        if (response.getResponseCategory() != ResponseCategory.OmrsEntityDetail) {
+            SubjectAreaErrorCode errorCode = SubjectAreaErrorCode.GLOSSARY_IMPORT_ORPHANED_ENTITY;
+            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(key, entityDetail.getGUID());
+            log.error(errorMessage);
+            context.addFailure(key, errorMessage + " " + response.toString());
+        }
+    }
+
+    /**
+     * Create a relationship.
+     *
+     * @return true if it was created; otherwise the failure is recorded
+     */
+    private boolean addRelationship(ImportContext context, String methodName, String key, Line line, ILineMapper mapper) throws InvalidParameterException
+    {
+        Relationship relationship = mapper.mapLineToRelationship(line);
+        SubjectAreaOMASAPIResponse response = oMRSAPIHelper.callOMRSAddRelationship(methodName, context.userId, relationship);
+        if (response.getResponseCategory() == ResponseCategory.OmrsRelationship) {
+            context.result.setRelationshipCount(context.result.getRelationshipCount() + 1);
+            return true;
+        }
+        context.addFailure(key, response.toString());
+        return false;
+    }
+
+    private static String getReferenceKey(String qualifiedName, String name)
+    {
+        if (hasQualifiedName(qualifiedName)) {
+            return qualifiedName;
+        }
+        return name;
+    }
+
+    private static boolean hasQualifiedName(String qualifiedName)
+    {
+        return qualifiedName != null && !qualifiedName.equals("");
+    }
+
+    /**
+     * The guids of the nodes of one type created by an import request. A node is found by its qualified name or, when
+     * the reference has no qualified name, by its name. A name shared by more than one node of the import cannot be
+     * used as a reference, even if only one of those nodes has been created.
+     */
+    private static class ImportedNodes
+    {
+        private final Map<String, String> guidsByQualifiedName = new HashMap<>();
+        private final Map<String, String> guidsByName = new HashMap<>();
+        private final Set<String> ambiguousNames = new HashSet<>();
+
+        private ImportedNodes(List<? extends Node> nodes)
+        {
+            if (nodes != null) {
+                Set<String> names = new HashSet<>();
+                for (Node node : nodes) {
+                    if (node != null && node.getName() != null && !names.add(node.getName())) {
+                        ambiguousNames.add(node.getName());
+                    }
+                }
+            }
+        }
+
+        private void add(Node node, String guid)
+        {
+            if (hasQualifiedName(node.getQualifiedName())) {
+                guidsByQualifiedName.put(node.getQualifiedName(), guid);
+            }
+            if (node.getName() != null && !ambiguousNames.contains(node.getName())) {
+                guidsByName.put(node.getName(), guid);
+            }
+        }
+
+        private boolean isAmbiguousName(String name)
+        {
+            return ambiguousNames.contains(name);
+        }
+
+        private String getGuid(String qualifiedName, String name)
+        {
+            if (hasQualifiedName(qualifiedName)) {
+                return guidsByQualifiedName.get(qualifiedName);
+            }
+            return name == null ? null : guidsByName.get(name);
+        }
+    }
+
+    /**
+     * The state of one import request.
+     */
+    private static class ImportContext
+    {
+        private final String userId;
+        private final GlossaryImportResult result = new GlossaryImportResult();
+        // the nodes created by the request
+        private final ImportedNodes glossaries;
+        private final ImportedNodes categories;
+        private final ImportedNodes terms;
+        // existing nodes that have been checked, with the error response if they are not valid
+        private final Map<String, SubjectAreaOMASAPIResponse> checkedGlossaries = new HashMap<>();
+        private final Map<String, SubjectAreaOMASAPIResponse> checkedCategories = new HashMap<>();
+
+        private ImportContext(String userId, GlossaryImport glossaryImport)
+        {
+            this.userId = userId;
+            this.glossaries = new ImportedNodes(glossaryImport.getGlossaries());
+            this.categories = new ImportedNodes(glossaryImport.getCategories());
+            this.terms = new ImportedNodes(glossaryImport.getTerms());
+        }
+
+        private void addGlossary(Node glossary, String key, String guid)
+        {
+            result.getGlossaryGuids().put(key, guid);
+            glossaries.add(glossary, guid);
+        }
+
+        private void addCategory(Node category, String key, String guid)
+        {
+            result.getCategoryGuids().put(key, guid);
+            categories.add(category, guid);
+        }
+
+        private void addTerm(Node term, String key, String guid)
+        {
+            result.getTermGuids().put(key, guid);
+            terms.add(term, guid);
+        }
+
+        private void addFailure(String key, String failure)
+        {
+            result.getFailures().add(key + ": " + failure);
+        }
+    }
+}
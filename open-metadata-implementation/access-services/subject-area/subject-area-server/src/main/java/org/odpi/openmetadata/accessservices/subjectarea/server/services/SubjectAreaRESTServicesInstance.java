@@ -91,6 +91,7 @@ public class SubjectAreaRESTServicesInstance
             }
             omrsConnector = instanceHandler.getRepositoryConnector(serverName);
             oMRSAPIHelper.setOMRSRepositoryConnector(omrsConnector, restAPIName);
+            oMRSAPIHelper.setGlossaryEntityCache(instanceHandler.getGlossaryEntityCache(serverName));
             InputValidator.validateUserIdNotNull(className,  restAPIName, userId);
             InputValidator.validateEffectiveDate(className, restAPIName,to,from);
         } catch (MetadataServerUncontactableException e)
@@ -6,6 +6,7 @@ package org.odpi.openmetadata.accessservices.subjectarea.server.services;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.SubjectAreaErrorCode;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.NewInstanceException;
 import org.odpi.openmetadata.accessservices.subjectarea.initialization.SubjectAreaServicesInstanceMap;
+import org.odpi.openmetadata.accessservices.subjectarea.utilities.GlossaryEntityCache;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.slf4j.Logger;
@@ -26,6 +27,7 @@ public class SubjectAreaServicesInstance
     private OMRSRepositoryConnector  repositoryConnector = null;
     private OMRSMetadataCollection   metadataCollection  = null;
     private String                   serverName          = null;
+    private GlossaryEntityCache      glossaryEntityCache = null;
 
     // The OMRSAPIHelper allows the junits to mock out the omrs layer.
     //protected OMRSAPIHelper oMRSAPIHelper =null;
@@ -48,6 +50,9 @@ public class SubjectAreaServicesInstance
                 this.repositoryConnector = repositoryConnector;
                 this.serverName = repositoryConnector.getServerName();
                 this.metadataCollection = repositoryConnector.getMetadataCollection();
+                this.glossaryEntityCache = new GlossaryEntityCache(repositoryConnector.getRepositoryHelper(),
+                                                                   getAccessServiceName(),
+                                                                   GlossaryEntityCache.DEFAULT_MAX_ENTRIES);
 
                 SubjectAreaServicesInstanceMap.setNewInstanceForJVM(serverName, this);
             } catch (Throwable error) {
@@ -126,6 +131,7 @@ public class SubjectAreaServicesInstance
      */
     public void shutdown() {
         SubjectAreaServicesInstanceMap.removeInstanceForJVM(serverName);
+        glossaryEntityCache.clear();
     }
 
     public String getAccessServiceName()
@@ -141,4 +147,14 @@ public class SubjectAreaServicesInstance
     {
         return metadataCollection;
     }
+
+    /**
+     * Return the cache of the glossaries and categories read by this server.
+     *
+     * @return glossary entity cache
+     */
+    public GlossaryEntityCache getGlossaryEntityCache()
+    {
+        return glossaryEntityCache;
+    }
 }
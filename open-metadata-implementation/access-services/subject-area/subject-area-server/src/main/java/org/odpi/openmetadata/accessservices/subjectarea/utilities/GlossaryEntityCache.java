@@ -0,0 +1,170 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.utilities;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GlossaryEntityCache is a read-through cache of the glossary and category entities of one server. Glossaries and
+ * categories are read on almost every Subject Area call (for example to check the glossary of each new term) but
+ * change rarely.  Entries are removed when the Subject Area OMAS changes the entity and when an OMRS event reports
+ * a change made elsewhere in the cohort.  The least recently used entities are dropped once the cache is full.
+ * The cache is shared by the REST calls so it is thread-safe.
+ * <p>
+ * The repository checks that the user may read each entity, so an entity is cached for the user that read it and
+ * is only returned to that user.  A read from the repository is bracketed by startRead and endRead; the entity is
+ * only cached if it was not invalidated while it was being read, so a read that overlaps a change cannot cache the
+ * old entity.  Invalidating one entity does not affect the reads of other entities.
+ */
+public class GlossaryEntityCache {
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static final String GLOSSARY_TYPE_NAME = "Glossary";
+    private static final String CATEGORY_TYPE_NAME = "GlossaryCategory";
+
+    private final OMRSRepositoryHelper repositoryHelper;
+    private final String serviceName;
+    private final Map<String, Map<String, EntityDetail>> entities;
+    private final Map<String, PendingRead> pendingReads = new HashMap<>();
+
+    /**
+     * The reads in progress of one entity and the count of times it has been invalidated during them.
+     */
+    private static class PendingRead {
+        private long version = 0;
+        private int readers = 0;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param repositoryHelper helper used to check the type of the entities
+     * @param serviceName      name of the service, used for logging by the helper
+     * @param maxEntries       maximum number of entities held
+     */
+    public GlossaryEntityCache(OMRSRepositoryHelper repositoryHelper, String serviceName, int maxEntries) {
+        this.repositoryHelper = repositoryHelper;
+        this.serviceName = serviceName;
+        this.entities = new LinkedHashMap<String, Map<String, EntityDetail>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, EntityDetail>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return a copy of the entity cached for the user.
+     *
+     * @param userId user making the request
+     * @param guid   guid of the entity
+     * @return the entity or null if it is not cached for this user
+     */
+    public EntityDetail get(String userId, String guid) {
+        if (userId == null || guid == null) {
+            return null;
+        }
+        EntityDetail entity = null;
+        synchronized (entities) {
+            Map<String, EntityDetail> entitiesByUser = entities.get(guid);
+            if (entitiesByUser != null) {
+                entity = entitiesByUser.get(userId);
+            }
+        }
+        return entity == null ? null : new EntityDetail(entity);
+    }
+
+    /**
+     * Record that the entity is about to be read from the repository.  Every call must be followed by a call
+     * to endRead, whether or not the read succeeds.
+     *
+     * @param guid guid of the entity
+     * @return version of the entity, to be passed to endRead
+     */
+    public long startRead(String guid) {
+        if (guid == null) {
+            return 0;
+        }
+        synchronized (entities) {
+            PendingRead pendingRead = pendingReads.computeIfAbsent(guid, key -> new PendingRead());
+            pendingRead.readers++;
+            return pendingRead.version;
+        }
+    }
+
+    /**
+     * Record that the read of the entity has finished and cache a copy of the entity for the user if it is a
+     * glossary or a category.  The entity is not cached if it has been invalidated since startRead was called.
+     *
+     * @param userId  user that read the entity
+     * @param guid    guid passed to startRead
+     * @param version version returned by startRead
+     * @param entity  entity read from the repository or null if the read failed
+     */
+    public void endRead(String userId, String guid, long version, EntityDetail entity) {
+        if (guid == null) {
+            return;
+        }
+        EntityDetail copy = null;
+        if (userId != null && entity != null && guid.equals(entity.getGUID()) && isCachedType(entity.getType())) {
+            copy = new EntityDetail(entity);
+        }
+        synchronized (entities) {
+            PendingRead pendingRead = pendingReads.get(guid);
+            if (pendingRead == null) {
+                return;
+            }
+            if (copy != null && pendingRead.version == version) {
+                entities.computeIfAbsent(guid, key -> new HashMap<>()).put(userId, copy);
+            }
+            if (--pendingRead.readers == 0) {
+                pendingReads.remove(guid);
+            }
+        }
+    }
+
+    /**
+     * Remove an entity from the cache because it has changed.
+     *
+     * @param guid guid of the entity
+     */
+    public void invalidate(String guid) {
+        if (guid != null) {
+            synchronized (entities) {
+                entities.remove(guid);
+                PendingRead pendingRead = pendingReads.get(guid);
+                if (pendingRead != null) {
+                    pendingRead.version++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all of the entities from the cache.
+     */
+    public void clear() {
+        synchronized (entities) {
+            entities.clear();
+            pendingReads.values().forEach(pendingRead -> pendingRead.version++);
+        }
+    }
+
+    private boolean isCachedType(InstanceType type) {
+        if (type == null || type.getTypeDefName() == null) {
+            return false;
+        }
+        String typeName = type.getTypeDefName();
+        if (repositoryHelper == null) {
+            return GLOSSARY_TYPE_NAME.equals(typeName) || CATEGORY_TYPE_NAME.equals(typeName);
+        }
+        return repositoryHelper.isTypeOf(serviceName, typeName, GLOSSARY_TYPE_NAME)
+                || repositoryHelper.isTypeOf(serviceName, typeName, CATEGORY_TYPE_NAME);
+    }
+}
@@ -44,6 +44,7 @@ public class OMRSAPIHelper {
     final private String serviceName;
     private String serverName = null;
     private OMRSRepositoryHelper omrsRepositoryHelper  = null;
+    private GlossaryEntityCache glossaryEntityCache = null;
 
     public OMRSMetadataCollection getOMRSMetadataCollection(String restAPIName) throws MetadataServerUncontactableException {
         validateInitialization(restAPIName);
@@ -117,6 +118,25 @@ public class OMRSAPIHelper {
         this.serviceName = serviceName;
     }
 
+    /**
+     * Set the cache used to read glossaries and categories. The cache is optional; without it every read goes to the repository.
+     * @param glossaryEntityCache cache of the server's glossary and category entities
+     */
+    public void setGlossaryEntityCache(GlossaryEntityCache glossaryEntityCache) {
+        this.glossaryEntityCache = glossaryEntityCache;
+    }
+
+    /**
+     * Remove an entity that has been changed from the glossary entity cache. This is called once the repository
+     * call has returned (or failed) so that the old entity is not read back into the cache before the change is made.
+     * @param guid guid of the entity
+     */
+    private void invalidateCachedEntity(String guid) {
+        if (glossaryEntityCache != null) {
+            glossaryEntityCache.invalidate(guid);
+        }
+    }
+
     /**
      * Get the service name - ths is used for logging
      * @return service name
@@ -200,7 +220,24 @@ public class OMRSAPIHelper {
        
 
         try {
-            EntityDetail gotEntityDetail=  getOMRSMetadataCollection(restAPIName).getEntityDetail(userId, entityGUID);
+            EntityDetail gotEntityDetail = null;
+            if (glossaryEntityCache != null) {
+                gotEntityDetail = glossaryEntityCache.get(userId, entityGUID);
+            }
+            if (gotEntityDetail == null) {
+                if (glossaryEntityCache == null) {
+                    gotEntityDetail = getOMRSMetadataCollection(restAPIName).getEntityDetail(userId, entityGUID);
+                } else {
+                    long cacheVersion = glossaryEntityCache.startRead(entityGUID);
+                    EntityDetail readEntityDetail = null;
+                    try {
+                        readEntityDetail = getOMRSMetadataCollection(restAPIName).getEntityDetail(userId, entityGUID);
+                    } finally {
+                        glossaryEntityCache.endRead(userId, entityGUID, cacheVersion, readEntityDetail);
+                    }
+                    gotEntityDetail = readEntityDetail;
+                }
+            }
             response = new EntityDetailResponse(gotEntityDetail);
         } catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException e) {
            response =  this.errorHandler.handleInvalidParameterException(e,
@@ -451,6 +488,8 @@ public class OMRSAPIHelper {
                     restAPIName,
                     serverName,
                     serviceName);
+        } finally {
+            invalidateCachedEntity(entityDetail.getGUID());
         }
         if (log.isDebugEnabled()) {
             log.debug("<== Method: " + methodName );
@@ -500,6 +539,8 @@ public class OMRSAPIHelper {
                     restAPIName,
                     serverName,
                     serviceName);
+        } finally {
+            invalidateCachedEntity(obsoleteGuid);
         }
 
         if (log.isDebugEnabled()) {
@@ -555,6 +596,8 @@ public class OMRSAPIHelper {
                     restAPIName,
                     serverName,
                     serviceName);
+        } finally {
+            invalidateCachedEntity(obsoleteGuid);
         }
         if (log.isDebugEnabled()) {
             log.debug("<== Method: " + methodName );
@@ -612,6 +655,8 @@ public class OMRSAPIHelper {
                     restAPIName,
                     serverName,
                     serviceName);
+        } finally {
+            invalidateCachedEntity(guid);
         }
         if (log.isDebugEnabled()) {
             log.debug("<== Method: " + methodName );
@@ -679,6 +724,8 @@ public class OMRSAPIHelper {
                     restAPIName,
                     serverName,
                     serviceName);
+        } finally {
+            invalidateCachedEntity(entityGUID);
         }
         if (log.isDebugEnabled()) {
             log.debug("<== Method: " + methodName );
@@ -741,6 +788,8 @@ public class OMRSAPIHelper {
                     restAPIName,
                     serverName,
                     serviceName);
+        } finally {
+            invalidateCachedEntity(entityGUID);
         }
         if (log.isDebugEnabled()) {
             log.debug("<== Method: " + methodName );
@@ -0,0 +1,266 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.server.services;
+
+import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.InvalidParameterException;
+import org.odpi.openmetadata.accessservices.subjectarea.internalresponse.EntityDetailResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.internalresponse.RelationshipResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImport;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportCategorization;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImportResult;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.CategorySummary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.GlossarySummary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.TermSummary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.term.Term;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.GlossaryImportResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.InvalidParameterExceptionResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.SubjectAreaOMASAPIResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.utilities.OMRSAPIHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.RelationshipDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that the glossary import resolves references by qualified name, or by name only when the name is unique,
+ * and that it does not leave entities outside of their glossary.
+ */
+public class SubjectAreaImportRESTServicesTest
+{
+    private static final String SERVER_NAME = "ImportTestServer";
+    private static final String USER_ID     = "testUser";
+
+    private OMRSAPIHelper      oMRSAPIHelper;
+    private List<String>       createdNames;
+    private List<Relationship> createdRelationships;
+    private List<String>       deletedGuids;
+
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        OMRSRepositoryConnector repositoryConnector = mock(OMRSRepositoryConnector.class);
+        OMRSRepositoryHelper    repositoryHelper    = mock(OMRSRepositoryHelper.class);
+
+        when(repositoryConnector.getServerName()).thenReturn(SERVER_NAME);
+        when(repositoryConnector.getMetadataCollection()).thenReturn(mock(OMRSMetadataCollection.class));
+        when(repositoryConnector.getRepositoryHelper()).thenReturn(repositoryHelper);
+        new SubjectAreaServicesInstance(repositoryConnector);
+
+        when(repositoryHelper.getTypeDefByName(anyString(), anyString())).thenAnswer(invocation ->
+        {
+            RelationshipDef typeDef = new RelationshipDef();
+            typeDef.setName(invocation.getArgument(1));
+            return typeDef;
+        });
+
+        createdNames = new ArrayList<>();
+        createdRelationships = new ArrayList<>();
+        deletedGuids = new ArrayList<>();
+
+        oMRSAPIHelper = mock(OMRSAPIHelper.class);
+        when(oMRSAPIHelper.getOMRSRepositoryHelper()).thenReturn(repositoryHelper);
+        when(oMRSAPIHelper.getServiceName()).thenReturn("test");
+        when(oMRSAPIHelper.callOMRSAddEntity(anyString(), anyString(), any())).thenAnswer(invocation ->
+        {
+            EntityDetail entityDetail = invocation.getArgument(2);
+            entityDetail.setGUID("guid-" + createdNames.size());
+            createdNames.add(entityDetail.getProperties().getPropertyValue("displayName").valueAsString());
+            return new EntityDetailResponse(entityDetail);
+        });
+        when(oMRSAPIHelper.callOMRSAddRelationship(anyString(), anyString(), any())).thenAnswer(invocation ->
+        {
+            Relationship relationship = invocation.getArgument(2);
+            createdRelationships.add(relationship);
+            return new RelationshipResponse(relationship);
+        });
+        when(oMRSAPIHelper.callOMRSDeleteEntity(anyString(), anyString(), any(), any(), anyString())).thenAnswer(invocation ->
+        {
+            EntityDetail entityDetail = new EntityDetail();
+            entityDetail.setGUID(invocation.getArgument(4));
+            deletedGuids.add(entityDetail.getGUID());
+            return new EntityDetailResponse(entityDetail);
+        });
+    }
+
+    private void failRelationships(String typeDefName)
+    {
+        when(oMRSAPIHelper.callOMRSAddRelationship(anyString(), anyString(), any())).thenAnswer(invocation ->
+        {
+            Relationship relationship = invocation.getArgument(2);
+            if (relationship.getType().getTypeDefName().equals(typeDefName))
+            {
+                return new InvalidParameterExceptionResponse(new InvalidParameterException(400, "test", "test", "rejected", "none", "none"));
+            }
+            createdRelationships.add(relationship);
+            return new RelationshipResponse(relationship);
+        });
+    }
+
+    private GlossarySummary glossaryReference(String name)
+    {
+        GlossarySummary glossarySummary = new GlossarySummary();
+        glossarySummary.setName(name);
+        return glossarySummary;
+    }
+
+    private Term term(String name, String qualifiedName)
+    {
+        Term term = new Term();
+        term.setName(name);
+        term.setQualifiedName(qualifiedName);
+        term.setGlossary(glossaryReference("Glossary"));
+        return term;
+    }
+
+    private GlossaryImportCategorization categorization(String termName, String termQualifiedName, String categoryName)
+    {
+        TermSummary termSummary = new TermSummary();
+        termSummary.setName(termName);
+        termSummary.setQualifiedName(termQualifiedName);
+        CategorySummary categorySummary = new CategorySummary();
+        categorySummary.setName(categoryName);
+
+        GlossaryImportCategorization termCategorization = new GlossaryImportCategorization();
+        termCategorization.setTerm(termSummary);
+        termCategorization.setCategory(categorySummary);
+        return termCategorization;
+    }
+
+    private List<String> getCategorizedGuids()
+    {
+        List<String> guids = new ArrayList<>();
+        for (Relationship relationship : createdRelationships)
+        {
+            if (relationship.getType().getTypeDefName().equals("TermCategorization"))
+            {
+                guids.add(relationship.getEntityOneProxy().getGUID() + "->" + relationship.getEntityTwoProxy().getGUID());
+            }
+        }
+        return guids;
+    }
+
+    @Test
+    public void testReferencesResolvedByQualifiedNameOrUniqueName()
+    {
+        Glossary glossary = new Glossary();
+        glossary.setName("Glossary");
+        glossary.setQualifiedName("glossary.q");
+        Category category = new Category();
+        category.setName("Sales");
+        category.setGlossary(glossaryReference("Glossary"));
+
+        GlossaryImport glossaryImport = new GlossaryImport();
+        glossaryImport.setGlossaries(Collections.singletonList(glossary));
+        glossaryImport.setCategories(Collections.singletonList(category));
+        // the third term has a name that is the qualified name of the first
+        glossaryImport.setTerms(Arrays.asList(term("Customer", "a.Customer"),
+                                              term("Customer", "b.Customer"),
+                                              term("a.Customer", null)));
+        glossaryImport.setTermCategorizations(Arrays.asList(categorization(null, "a.Customer", "Sales"),
+                                                            categorization("Customer", null, "Sales"),
+                                                            categorization("a.Customer", null, "Sales"),
+                                                            categorization(null, "b.Customer", "Sales")));
+
+        SubjectAreaImportRESTServices importRESTServices = new SubjectAreaImportRESTServices(oMRSAPIHelper);
+        SubjectAreaOMASAPIResponse    response           = importRESTServices.importGlossaryContent(SERVER_NAME, USER_ID, glossaryImport);
+
+        assertTrue(response instanceof GlossaryImportResponse, response.toString());
+        GlossaryImportResult result = ((GlossaryImportResponse) response).getGlossaryImportResult();
+
+        assertEquals(createdNames, Arrays.asList("Glossary", "Sales", "Customer", "Customer", "a.Customer"));
+        assertEquals(result.getFailures().size(), 1, result.getFailures().toString());
+        assertTrue(result.getFailures().get(0).contains("OMAS-SUBJECTAREA-400-070"), result.getFailures().get(0));
+
+        // guid-1 is the category, guid-2 to guid-4 are the terms in the order they were supplied
+        assertEquals(getCategorizedGuids(), Arrays.asList("guid-1->guid-2", "guid-1->guid-4", "guid-1->guid-3"));
+        assertEquals(result.getRelationshipCount(), 7);
+    }
+
+    @Test
+    public void testAmbiguousGlossaryNameFails()
+    {
+        Glossary first = new Glossary();
+        first.setName("Glossary");
+        first.setQualifiedName("first");
+        Glossary second = new Glossary();
+        second.setName("Glossary");
+        second.setQualifiedName("second");
+
+        GlossaryImport glossaryImport = new GlossaryImport();
+        glossaryImport.setGlossaries(Arrays.asList(first, second));
+        glossaryImport.setTerms(Collections.singletonList(term("Customer", "a.Customer")));
+
+        SubjectAreaImportRESTServices importRESTServices = new SubjectAreaImportRESTServices(oMRSAPIHelper);
+        GlossaryImportResult          result             = ((GlossaryImportResponse) importRESTServices.importGlossaryContent(SERVER_NAME, USER_ID, glossaryImport)).getGlossaryImportResult();
+
+        assertEquals(result.getGlossaryGuids().size(), 2);
+        assertEquals(result.getTermGuids().size(), 0);
+        assertEquals(result.getFailures().size(), 1);
+        assertTrue(result.getFailures().get(0).startsWith("a.Customer: OMAS-SUBJECTAREA-400-070"), result.getFailures().get(0));
+    }
+
+    @Test
+    public void testUnanchoredEntitiesDeleted()
+    {
+        failRelationships("TermAnchor");
+
+        Glossary glossary = new Glossary();
+        glossary.setName("Glossary");
+
+        GlossaryImport glossaryImport = new GlossaryImport();
+        glossaryImport.setGlossaries(Collections.singletonList(glossary));
+        glossaryImport.setTerms(Collections.singletonList(term("Customer", "a.Customer")));
+        glossaryImport.setTermCategorizations(Collections.singletonList(categorization(null, "a.Customer", "Sales")));
+
+        SubjectAreaImportRESTServices importRESTServices = new SubjectAreaImportRESTServices(oMRSAPIHelper);
+        GlossaryImportResult          result             = ((GlossaryImportResponse) importRESTServices.importGlossaryContent(SERVER_NAME, USER_ID, glossaryImport)).getGlossaryImportResult();
+
+        assertEquals(deletedGuids, Collections.singletonList("guid-1"));
+        assertEquals(result.getTermGuids().size(), 0);
+        assertTrue(result.getFailures().get(0).startsWith("a.Customer: "), result.getFailures().get(0));
+    }
+
+    @Test
+    public void testUndeletableEntityReported()
+    {
+        failRelationships("CategoryAnchor");
+        when(oMRSAPIHelper.callOMRSDeleteEntity(anyString(), anyString(), any(), any(), anyString())).thenReturn(
+                new InvalidParameterExceptionResponse(new InvalidParameterException(400, "test", "test", "rejected", "none", "none")));
+
+        Glossary glossary = new Glossary();
+        glossary.setName("Glossary");
+        Category category = new Category();
+        category.setName("Sales");
+        category.setGlossary(glossaryReference("Glossary"));
+
+        GlossaryImport glossaryImport = new GlossaryImport();
+        glossaryImport.setGlossaries(Collections.singletonList(glossary));
+        glossaryImport.setCategories(Collections.singletonList(category));
+
+        SubjectAreaImportRESTServices importRESTServices = new SubjectAreaImportRESTServices(oMRSAPIHelper);
+        GlossaryImportResult          result             = ((GlossaryImportResponse) importRESTServices.importGlossaryContent(SERVER_NAME, USER_ID, glossaryImport)).getGlossaryImportResult();
+
+        assertEquals(result.getCategoryGuids().size(), 0);
+        assertEquals(result.getFailures().size(), 2, result.getFailures().toString());
+        assertTrue(result.getFailures().get(1).startsWith("Sales: OMAS-SUBJECTAREA-400-071"), result.getFailures().get(1));
+        assertTrue(result.getFailures().get(1).contains("guid-1"), result.getFailures().get(1));
+    }
+}
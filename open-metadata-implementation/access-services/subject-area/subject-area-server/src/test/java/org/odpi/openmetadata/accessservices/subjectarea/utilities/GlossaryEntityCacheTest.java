@@ -0,0 +1,241 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.utilities;
+
+import org.odpi.openmetadata.accessservices.subjectarea.internalresponse.EntityDetailResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.listener.SubjectAreaOMRSTopicListener;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.SubjectAreaOMASAPIResponse;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test the glossary entity cache and its invalidation by the OMRSAPIHelper and the OMRS topic listener.
+ */
+public class GlossaryEntityCacheTest
+{
+    private static final String USER_ID       = "testUser";
+    private static final String OTHER_USER_ID = "otherUser";
+
+    private EntityDetail getEntity(String guid, String typeName, int version)
+    {
+        EntityDetail entity = new EntityDetail();
+        InstanceType type   = new InstanceType();
+
+        type.setTypeDefName(typeName);
+        entity.setGUID(guid);
+        entity.setType(type);
+        entity.setVersion(version);
+        return entity;
+    }
+
+    private void read(GlossaryEntityCache cache, String userId, EntityDetail entity)
+    {
+        cache.endRead(userId, entity.getGUID(), cache.startRead(entity.getGUID()), entity);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryDropped()
+    {
+        GlossaryEntityCache cache = new GlossaryEntityCache(null, "test", 2);
+
+        read(cache, USER_ID, getEntity("glossary-1", "Glossary", 1));
+        read(cache, USER_ID, getEntity("glossary-2", "Glossary", 1));
+        assertNotNull(cache.get(USER_ID, "glossary-1"));
+
+        read(cache, USER_ID, getEntity("category-1", "GlossaryCategory", 1));
+
+        assertNotNull(cache.get(USER_ID, "glossary-1"));
+        assertNull(cache.get(USER_ID, "glossary-2"));
+        assertNotNull(cache.get(USER_ID, "category-1"));
+    }
+
+    @Test
+    public void testCopiesReturned()
+    {
+        GlossaryEntityCache cache  = new GlossaryEntityCache(null, "test", 10);
+        EntityDetail        entity = getEntity("glossary-1", "Glossary", 1);
+
+        read(cache, USER_ID, entity);
+        entity.setVersion(2);
+
+        EntityDetail cached = cache.get(USER_ID, "glossary-1");
+
+        assertEquals(cached.getVersion(), 1);
+        cached.setVersion(3);
+        assertNotSame(cache.get(USER_ID, "glossary-1"), cached);
+        assertEquals(cache.get(USER_ID, "glossary-1").getVersion(), 1);
+    }
+
+    @Test
+    public void testOnlyGlossariesAndCategoriesCached()
+    {
+        GlossaryEntityCache cache = new GlossaryEntityCache(null, "test", 10);
+
+        read(cache, USER_ID, getEntity("term-1", "GlossaryTerm", 1));
+        read(cache, USER_ID, getEntity("no-type", null, 1));
+        read(cache, USER_ID, getEntity("category-1", "GlossaryCategory", 1));
+
+        assertNull(cache.get(USER_ID, "term-1"));
+        assertNull(cache.get(USER_ID, "no-type"));
+        assertNotNull(cache.get(USER_ID, "category-1"));
+    }
+
+    @Test
+    public void testReadOverlappingInvalidationNotCached()
+    {
+        GlossaryEntityCache cache   = new GlossaryEntityCache(null, "test", 10);
+        long                version = cache.startRead("glossary-1");
+
+        cache.invalidate("glossary-1");
+        cache.endRead(USER_ID, "glossary-1", version, getEntity("glossary-1", "Glossary", 1));
+
+        assertNull(cache.get(USER_ID, "glossary-1"));
+
+        read(cache, USER_ID, getEntity("glossary-1", "Glossary", 2));
+        assertEquals(cache.get(USER_ID, "glossary-1").getVersion(), 2);
+    }
+
+    @Test
+    public void testInvalidationOfOtherEntitiesIgnored()
+    {
+        GlossaryEntityCache cache   = new GlossaryEntityCache(null, "test", 10);
+        long                version = cache.startRead("glossary-1");
+
+        cache.invalidate("glossary-2");
+        cache.invalidate("relationship-1");
+        cache.endRead(USER_ID, "glossary-1", version, getEntity("glossary-1", "Glossary", 1));
+
+        assertNotNull(cache.get(USER_ID, "glossary-1"));
+    }
+
+    @Test
+    public void testEntityOnlyReturnedToUserThatReadIt()
+    {
+        GlossaryEntityCache cache = new GlossaryEntityCache(null, "test", 10);
+
+        read(cache, USER_ID, getEntity("glossary-1", "Glossary", 1));
+
+        assertNotNull(cache.get(USER_ID, "glossary-1"));
+        assertNull(cache.get(OTHER_USER_ID, "glossary-1"));
+
+        read(cache, OTHER_USER_ID, getEntity("glossary-1", "Glossary", 1));
+        cache.invalidate("glossary-1");
+
+        assertNull(cache.get(USER_ID, "glossary-1"));
+        assertNull(cache.get(OTHER_USER_ID, "glossary-1"));
+    }
+
+    @Test
+    public void testHelperChecksEachUser() throws Exception
+    {
+        GlossaryEntityCache     cache              = new GlossaryEntityCache(null, "test", 10);
+        OMRSRepositoryConnector connector          = mock(OMRSRepositoryConnector.class);
+        OMRSMetadataCollection  metadataCollection = mock(OMRSMetadataCollection.class);
+        OMRSAPIHelper           helper             = new OMRSAPIHelper("test");
+
+        when(connector.getMetadataCollection()).thenReturn(metadataCollection);
+        helper.setOMRSRepositoryConnector(connector, "test");
+        helper.setGlossaryEntityCache(cache);
+
+        when(metadataCollection.getEntityDetail(USER_ID, "glossary-1")).thenReturn(getEntity("glossary-1", "Glossary", 1));
+        when(metadataCollection.getEntityDetail(OTHER_USER_ID, "glossary-1")).thenThrow(new UserNotAuthorizedException(403,
+                                                                                                                     "test",
+                                                                                                                     "test",
+                                                                                                                     "not authorized",
+                                                                                                                     "none",
+                                                                                                                     "none"));
+
+        helper.callOMRSGetEntityByGuid("test", USER_ID, "glossary-1");
+        SubjectAreaOMASAPIResponse response = helper.callOMRSGetEntityByGuid("test", OTHER_USER_ID, "glossary-1");
+
+        assertFalse(response instanceof EntityDetailResponse, response.toString());
+        assertNull(cache.get(OTHER_USER_ID, "glossary-1"));
+        verify(metadataCollection, times(1)).getEntityDetail(OTHER_USER_ID, "glossary-1");
+
+        /*
+         * The failed read must not stop the entity from being cached later.
+         */
+        cache.invalidate("glossary-1");
+        helper.callOMRSGetEntityByGuid("test", USER_ID, "glossary-1");
+        assertNotNull(cache.get(USER_ID, "glossary-1"));
+    }
+
+    @Test
+    public void testEntityEventInvalidates()
+    {
+        GlossaryEntityCache          cache    = new GlossaryEntityCache(null, "test", 10);
+        SubjectAreaOMRSTopicListener listener = new SubjectAreaOMRSTopicListener(null, null, null, "test", cache);
+
+        read(cache, USER_ID, getEntity("glossary-1", "Glossary", 1));
+        read(cache, USER_ID, getEntity("glossary-2", "Glossary", 1));
+
+        OMRSInstanceEvent event = new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                                                        getEntity("glossary-1", "Glossary", 1),
+                                                        getEntity("glossary-1", "Glossary", 2));
+        event.setEventOriginator(new OMRSEventOriginator());
+        listener.processInstanceEvent(event);
+
+        assertNull(cache.get(USER_ID, "glossary-1"));
+        assertNotNull(cache.get(USER_ID, "glossary-2"));
+    }
+
+    @Test
+    public void testHelperInvalidatesAfterUpdate() throws Exception
+    {
+        GlossaryEntityCache     cache              = new GlossaryEntityCache(null, "test", 10);
+        OMRSRepositoryConnector connector          = mock(OMRSRepositoryConnector.class);
+        OMRSMetadataCollection  metadataCollection = mock(OMRSMetadataCollection.class);
+        OMRSAPIHelper           helper             = new OMRSAPIHelper("test");
+
+        when(connector.getMetadataCollection()).thenReturn(metadataCollection);
+        helper.setOMRSRepositoryConnector(connector, "test");
+        helper.setGlossaryEntityCache(cache);
+
+        when(metadataCollection.getEntityDetail(USER_ID, "glossary-1")).thenReturn(getEntity("glossary-1", "Glossary", 1));
+
+        /*
+         * Another call reads the glossary while the update is being made; the old version must not stay cached.
+         */
+        when(metadataCollection.updateEntityProperties(eq(USER_ID), eq("glossary-1"), any())).thenAnswer(invocation ->
+        {
+            helper.callOMRSGetEntityByGuid("test", USER_ID, "glossary-1");
+            return getEntity("glossary-1", "Glossary", 2);
+        });
+
+        helper.callOMRSGetEntityByGuid("test", USER_ID, "glossary-1");
+        assertNotNull(cache.get(USER_ID, "glossary-1"));
+
+        EntityDetail update = getEntity("glossary-1", "Glossary", 1);
+        update.setProperties(new InstanceProperties());
+        helper.callOMRSUpdateEntityProperties("test", USER_ID, update);
+
+        assertNull(cache.get(USER_ID, "glossary-1"));
+
+        when(metadataCollection.getEntityDetail(USER_ID, "glossary-1")).thenReturn(getEntity("glossary-1", "Glossary", 2));
+        helper.callOMRSGetEntityByGuid("test", USER_ID, "glossary-1");
+        helper.callOMRSGetEntityByGuid("test", USER_ID, "glossary-1");
+
+        assertEquals(cache.get(USER_ID, "glossary-1").getVersion(), 2);
+        verify(metadataCollection, times(2)).getEntityDetail(USER_ID, "glossary-1");
+    }
+}
@@ -5,8 +5,10 @@ package org.odpi.openmetadata.accessservices.subjectarea.server.spring;
 
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.common.SequencingOrder;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.GlossaryImport;
 import org.odpi.openmetadata.accessservices.subjectarea.responses.SubjectAreaOMASAPIResponse;
 import org.odpi.openmetadata.accessservices.subjectarea.server.services.SubjectAreaGlossaryRESTServices;
+import org.odpi.openmetadata.accessservices.subjectarea.server.services.SubjectAreaImportRESTServices;
 import org.odpi.openmetadata.accessservices.subjectarea.server.services.SubjectAreaRESTServicesInstance;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +24,7 @@ import java.util.Date;
 public class SubjectAreaGlossaryRESTResource extends SubjectAreaRESTServicesInstance
 {
     private SubjectAreaGlossaryRESTServices restAPI = new SubjectAreaGlossaryRESTServices();
+    private SubjectAreaImportRESTServices importRestAPI = new SubjectAreaImportRESTServices();
 
     /**
      * Default constructor
@@ -58,6 +61,28 @@ public class SubjectAreaGlossaryRESTResource extends SubjectAreaRESTServicesInst
         return restAPI.createGlossary(serverName, userId,suppliedGlossary);
     }
 
+    /**
+     * Import glossaries, categories and terms, together with their anchors, the category hierarchy and the categorization of the terms.
+     * <p>
+     * Content in the import refers to other content in the same import by qualified name (or by name when that name is
+     * unique in the import), and to content that is already in the repository by guid. Content that cannot be imported
+     * is reported in the response and the rest of the import carries on.
+     * A large glossary is imported with several requests; later requests refer to the content of earlier ones by the returned guids.
+     *
+     * @param serverName         serverName under which this request is performed, this is used in multi tenanting to identify the tenant
+     * @param userId unique identifier for requesting user, under which the request is performed
+     * @param glossaryImport glossary content to import
+     * @return response, when successful contains the guids of the imported content and the failures.
+     * when not successful the following Exception responses can occur
+     *  UserNotAuthorizedException           the requesting user is not authorized to issue this request.
+     *  MetadataServerUncontactableException not able to communicate with a Metadata respository service.
+     *  InvalidParameterException            one of the parameters is null or invalid.
+     */
+    @PostMapping( path = "/users/{userId}/glossaries/import")
+    public SubjectAreaOMASAPIResponse importGlossaryContent(@PathVariable String serverName,@PathVariable String userId, @RequestBody GlossaryImport glossaryImport) {
+        return importRestAPI.importGlossaryContent(serverName, userId,glossaryImport);
+    }
+
     /**
      * Get a glossary.
      * @param serverName         serverName under which this request is performed, this is used in multi tenanting to identify the tenant
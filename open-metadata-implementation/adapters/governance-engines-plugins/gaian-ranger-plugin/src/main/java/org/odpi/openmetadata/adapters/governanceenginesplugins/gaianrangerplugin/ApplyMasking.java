@@ -22,6 +22,52 @@ public class ApplyMasking {
     private static final String INT_MASKING_PROPERTY = "ranger.plugin.gaian.int.masking";
     private static final String DATE_MASKING_PROPERTY = "ranger.plugin.gaian.date.masking";
 
+    /**
+     * Redactor masks the value of one cell.  A redactor is built once for each masked column of a query
+     * so the type of the column and the masking value are not looked up again for every cell.
+     */
+    public interface Redactor {
+        void redact(DataValueDescriptor dataValueDescriptor) throws StandardException;
+    }
+
+    /**
+     * Build the redactor for a column.
+     *
+     * @param sample        a cell of the column, used to find the type of the column
+     * @param isNullMasking true if the values are masked to null
+     * @param properties    plugin properties with the masking values
+     * @return redactor for the cells of the column
+     * @throws ParseException the date masking value is not valid
+     */
+    public static Redactor getRedactor(DataValueDescriptor sample, Boolean isNullMasking, Properties properties) throws ParseException {
+        if (isNullMasking) {
+            return ApplyMasking::maskedToNull;
+        }
+
+        int jdbcType = TypeId.getBuiltInTypeId(sample.getTypeName()).getJDBCTypeId();
+        switch (jdbcType) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.CLOB:
+                String charMaskingValue = getCharMaskingValue(properties);
+                return dataValueDescriptor -> dataValueDescriptor.setValue(charMaskingValue);
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                Date dateMaskingValue = getDateMaskingValue(properties);
+                return dataValueDescriptor -> dataValueDescriptor.setValue(dateMaskingValue);
+            case Types.INTEGER:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.FLOAT:
+                int intMaskingValue = getIntMaskingValue(properties);
+                return dataValueDescriptor -> dataValueDescriptor.setValue(intMaskingValue);
+            default:
+                return dataValueDescriptor -> dataValueDescriptor.setValue("Masked");
+        }
+    }
+
     public static void redact(DataValueDescriptor dataValueDescriptor, Boolean isNullMasking, Properties properties) throws StandardException, ParseException {
         if (dataValueDescriptor == null) {
             return;
@@ -28,10 +28,22 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
 
     private static final Logger logger = new Logger("RangerPolicyResultFilter", 25);
 
+    /**
+     * The plugin properties are cached once the Ranger plugin has been initialized and has loaded its configuration.
+     */
+    private static volatile Properties pluginProperties;
+
     private QueryContext queryContext = new QueryContext();
     private RangerGaianAuthorizer rangerGaianAuthorizer = new RangerGaianAuthorizer();
     private boolean authorizeResult = true;
 
+    /**
+     * The masking plan of the query: the indexes of the queried columns that are masked and their redactors.
+     * A redactor is built from the type of the column the first time a batch contains the column.
+     */
+    private int[] maskedColumns;
+    private ApplyMasking.Redactor[] redactors;
+
     /**
      * Policy instantiation constructor - invoked for every new query.
      * This instance will be re-used if the calling GaianTable results from a PreparedStatement
@@ -158,17 +170,11 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
             return new DataValueDescriptor[0][0];
         }
 
-        // When called using a select from a view, or a VTI, the rows array will only contain the columns we expect
-        // for example a select firstname,lastname from vemployee would only give us 2 columns in the rows array
-        // However when using table function we get ALL columns - and they are stripped upstream.
-        // ie NULL_MASK_TYPE,NULL_MASK_TYPE,Georgi,Facello,NULL_MASK_TYPE,NULL_MASK_TYPE ....
-        // Thus our index for overwriting a column value with it's transformation is wrong, leading to wrong
-        // results or exceptions.
-        // **HACK** for now, skip over columns with NULL_MASK_TYPE data. PURELY for demo support pending a proper
-        // fix
-        rangerGaianAuthorizer.applyRowFilterAndColumnMasking(queryContext);
+        if (maskedColumns == null) {
+            compileMaskingPlan();
+        }
 
-        if (rows.length == 0) {
+        if (rows.length == 0 || maskedColumns.length == 0) {
             return rows;
         }
 
@@ -177,50 +183,104 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
             return rows;
         }
 
-        Boolean isNullMasking = queryContext.getNullMasking();
-        Properties properties = null;
-        if (!isNullMasking) {
-            properties = loadProperties();
+        int[] resultSetColumnIndexes = getResultSetColumnIndexes(rows[firstValidRow]);
+
+        for (int maskedColumn = 0; maskedColumn < maskedColumns.length; maskedColumn++) {
+            int resultSetColumnIndex = resultSetColumnIndexes[maskedColumns[maskedColumn]];
+            if (resultSetColumnIndex == -1) {
+                continue;
+            }
+
+            ApplyMasking.Redactor redactor = getRedactor(maskedColumn, rows[firstValidRow][resultSetColumnIndex]);
+            if (redactor == null) {
+                continue;
+            }
+
+            for (DataValueDescriptor[] row : rows) {
+                if (row == null || row[resultSetColumnIndex] == null) {
+                    continue;
+                }
+                try {
+                    redactor.redact(row[resultSetColumnIndex]);
+                } catch (StandardException e) {
+                    logger.logException("GAIAN_RANGER-Exeption-1", e.getMessage(), e);
+                }
+            }
+        }
+
+        return rows; // allow query to continue (i.e. accept this logical table)
+    }
+
+    /**
+     * Work out which of the queried columns are masked for this query.  The Ranger data mask policies are
+     * evaluated once for the query rather than for every batch of rows.
+     */
+    private void compileMaskingPlan() {
+        rangerGaianAuthorizer.init();
+        if (pluginProperties == null && RangerConfiguration.getInstance() != null) {
+            pluginProperties = RangerConfiguration.getInstance().getProperties();
         }
 
+        queryContext.setColumnTransformers(new ArrayList<>());
+        rangerGaianAuthorizer.applyRowFilterAndColumnMasking(queryContext);
+
+        List<String> columns = queryContext.getColumns() == null ? Collections.emptyList() : queryContext.getColumns();
+        List<String> columnTransformers = queryContext.getColumnTransformers();
+        int[] columnIndexes = new int[columns.size()];
+        int maskedColumnCount = 0;
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (!columnTransformers.get(i).equals(columns.get(i))) {
+                columnIndexes[maskedColumnCount++] = i;
+            }
+        }
+
+        maskedColumns = Arrays.copyOf(columnIndexes, maskedColumnCount);
+        redactors = new ApplyMasking.Redactor[maskedColumnCount];
+        logger.logDetail("Masking plan for " + queryContext.getTableName() + ": " + Util.intArrayAsString(maskedColumns));
+    }
+
+    private ApplyMasking.Redactor getRedactor(int maskedColumn, DataValueDescriptor sample) {
+        if (redactors[maskedColumn] == null) {
+            try {
+                redactors[maskedColumn] = ApplyMasking.getRedactor(sample, queryContext.getNullMasking(), loadProperties());
+            } catch (ParseException e) {
+                logger.logException("GAIAN_RANGER-Exeption-1", e.getMessage(), e);
+            }
+        }
+        return redactors[maskedColumn];
+    }
+
+    /**
+     * When called using a select from a view, or a VTI, the rows array will only contain the columns we expect
+     * for example a select firstname,lastname from vemployee would only give us 2 columns in the rows array
+     * However when using table function we get ALL columns - and they are stripped upstream.
+     * ie NULL_MASK_TYPE,NULL_MASK_TYPE,Georgi,Facello,NULL_MASK_TYPE,NULL_MASK_TYPE ....
+     * **HACK** for now, skip over columns with NULL_MASK_TYPE data. PURELY for demo support pending a proper
+     * fix.  We ONLY look at the first row - this will fail if the data is null
+     * instead should be consulting metadata (work needed to resolve)
+     *
+     * @param firstValidRow first row of the batch
+     * @return index in the result set row of each queried column, or -1 if it is not in the row
+     */
+    private int[] getResultSetColumnIndexes(DataValueDescriptor[] firstValidRow) {
+        int[] resultSetColumnIndexes = new int[queryContext.getColumns().size()];
+        Arrays.fill(resultSetColumnIndexes, -1);
+
         int resultSetColumnIndexOffset = 0;
         int querySetColumnIndex = 0;
-        while (querySetColumnIndex < queryContext.getColumns().size()
-                && querySetColumnIndex + resultSetColumnIndexOffset < rows[firstValidRow].length) {
-            // We ONLY look at the first row - this will fail if the data is null
-            // instead should be consulting metadata (work needed to resolve)
-            // BIG HACK warning....
-            if (rows[firstValidRow][querySetColumnIndex + resultSetColumnIndexOffset].isNull()) {
+        while (querySetColumnIndex < resultSetColumnIndexes.length
+                && querySetColumnIndex + resultSetColumnIndexOffset < firstValidRow.length) {
+            if (firstValidRow[querySetColumnIndex + resultSetColumnIndexOffset].isNull()) {
                 resultSetColumnIndexOffset++; // increment the fudge factor
                 continue; // resume with the next expected column
             }
 
-            if (!queryContext.getColumnTransformers().get(querySetColumnIndex).equals(queryContext.getColumns().get(querySetColumnIndex))) {
-                // Now do the transformation for each row
-                for (DataValueDescriptor[] row : rows) {
-                    if (row == null) {
-                        continue;
-                    }
-                    try {
-                        ApplyMasking.redact(row[querySetColumnIndex + resultSetColumnIndexOffset], isNullMasking, properties);
-                    } catch (StandardException | ParseException e) {
-                        logger.logException("GAIAN_RANGER-Exeption-1", e.getMessage(), e);
-                    }
-                }
-
-            }
+            resultSetColumnIndexes[querySetColumnIndex] = querySetColumnIndex + resultSetColumnIndexOffset;
             querySetColumnIndex++;
         }
 
-        // END of hack. Original code follows:
-        //for (int i = 0; i < queryContext.getColumns().size(); i++) {
-        //	if (queryContext.getColumnTransformers().get(i) != queryContext.getColumns().get(i)) {
-        //		for (int j = 0; j < rows.length; j++) {
-        //			rows[j][i].setValue(queryContext.getColumnTransformers().get(i));
-        //		}
-        //	}
-
-        return rows; // allow query to continue (i.e. accept this logical table)
+        return resultSetColumnIndexes;
     }
 
     // allow query to continue (i.e. accept this logical table)
@@ -240,6 +300,7 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
             Set<String> users = getDefaultUserGroups();
             queryContext.setNullMasking(isNullMasking());
             queryContext.setUserGroups(users);
+            maskedColumns = null;
         } catch (SQLException e) {
             logger.logException(String.valueOf(e.getErrorCode()), e.getMessage(), e);
         }
@@ -264,6 +325,9 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
 
             rangerGaianAuthorizer.init();
             authorizeResult = rangerGaianAuthorizer.isAuthorized(queryContext);
+            if (authorizeResult) {
+                compileMaskingPlan();
+            }
         } catch (GaianAuthorizationException e) {
             logger.logException("1", e.getMessage(), e);
         }
@@ -303,19 +367,19 @@ public class RangerPolicyResultFilter extends SQLResultFilterX {
     }
 
     private Boolean isNullMasking() {
-        if (RangerConfiguration.getInstance() != null
-                && RangerConfiguration.getInstance().getProperties() != null
-                && RangerConfiguration.getInstance().getProperties().getProperty("ranger.plugin.gaian.masking.pattern") != null) {
-            String maskingPattern = RangerConfiguration.getInstance().getProperties().getProperty("ranger.plugin.gaian.masking.pattern");
-            if (maskingPattern != null) {
-                return maskingPattern.equalsIgnoreCase("NULL");
-            }
+        Properties properties = loadProperties();
+        if (properties != null && properties.getProperty("ranger.plugin.gaian.masking.pattern") != null) {
+            return properties.getProperty("ranger.plugin.gaian.masking.pattern").equalsIgnoreCase("NULL");
         }
         return Boolean.FALSE;
     }
 
     private Properties loadProperties() {
-        return RangerConfiguration.getInstance().getProperties();
+        Properties properties = pluginProperties;
+        if (properties == null && RangerConfiguration.getInstance() != null) {
+            return RangerConfiguration.getInstance().getProperties();
+        }
+        return properties;
     }
 
     private void setUserDetailsForQueryContext(Object arg) {
@@ -12,7 +12,11 @@ import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerCo
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public class FileBasedServerConfigStoreConnector extends OMAGServerConfigStoreConnectorBase
 {
@@ -21,6 +25,11 @@ public class FileBasedServerConfigStoreConnector extends OMAGServerConfigStoreCo
      */
     private static final String defaultFilename = "omag.server.config";
 
+    /*
+     * The object mapper is thread-safe once configured so it is shared by all of the connector instances.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     /*
      * Variables used in writing to the file.
      */
@@ -60,7 +69,9 @@ public class FileBasedServerConfigStoreConnector extends OMAGServerConfigStoreCo
 
 
     /**
-     * Save the server configuration.
+     * Save the server configuration.  The configuration is written to a temporary file in the same directory
+     * which is then renamed over the configuration file, so the file always holds a complete configuration
+     * document even if the server stops part way through the save.
      *
      * @param omagServerConfig - configuration properties to save
      */
@@ -78,11 +89,7 @@ public class FileBasedServerConfigStoreConnector extends OMAGServerConfigStoreCo
             }
             else
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                String configStoreFileContents = objectMapper.writeValueAsString(omagServerConfig);
-
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null,false);
+                writeConfigStoreFile(configStoreFile, objectMapper.writeValueAsBytes(omagServerConfig));
             }
         }
         catch (IOException   ioException)
@@ -92,6 +99,52 @@ public class FileBasedServerConfigStoreConnector extends OMAGServerConfigStoreCo
     }
 
 
+    /**
+     * Write the new contents of the configuration file and replace the old file in one step.
+     *
+     * @param configStoreFile configuration file
+     * @param contents configuration document
+     * @throws IOException unable to write the file
+     */
+    private void writeConfigStoreFile(File    configStoreFile,
+                                      byte[]  contents) throws IOException
+    {
+        File directory = configStoreFile.getAbsoluteFile().getParentFile();
+
+        if (! directory.exists())
+        {
+            directory.mkdirs();
+        }
+
+        File tempFile = File.createTempFile(configStoreFile.getName(), ".tmp", directory);
+
+        try
+        {
+            try (FileOutputStream outputStream = new FileOutputStream(tempFile))
+            {
+                outputStream.write(contents);
+                outputStream.getFD().sync();
+            }
+
+            try
+            {
+                Files.move(tempFile.toPath(),
+                           configStoreFile.toPath(),
+                           StandardCopyOption.ATOMIC_MOVE,
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException notSupported)
+            {
+                Files.move(tempFile.toPath(), configStoreFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+
     /**
      * Retrieve the configuration saved from a previous run of the server.
      *
@@ -106,9 +159,7 @@ public class FileBasedServerConfigStoreConnector extends OMAGServerConfigStoreCo
         {
             log.debug("Retrieving server configuration properties");
 
-            String configStoreFileContents = FileUtils.readFileToString(configStoreFile, "UTF-8");
-
-            ObjectMapper objectMapper = new ObjectMapper();
+            byte[] configStoreFileContents = FileUtils.readFileToByteArray(configStoreFile);
 
             newConfigProperties = objectMapper.readValue(configStoreFileContents, OMAGServerConfig.class);
         }
@@ -126,6 +177,26 @@ public class FileBasedServerConfigStoreConnector extends OMAGServerConfigStoreCo
     }
 
 
+    /**
+     * Return the modification time and size of the configuration file, so that changes made by
+     * other processes or by hand are noticed.
+     *
+     * @return version of the configuration file
+     */
+    @Override
+    public String getServerConfigVersion()
+    {
+        File configStoreFile = new File(configStoreName);
+
+        if (configStoreFile.exists())
+        {
+            return configStoreFile.lastModified() + ":" + configStoreFile.length();
+        }
+
+        return null;
+    }
+
+
     /**
      * Remove the server configuration.
      */
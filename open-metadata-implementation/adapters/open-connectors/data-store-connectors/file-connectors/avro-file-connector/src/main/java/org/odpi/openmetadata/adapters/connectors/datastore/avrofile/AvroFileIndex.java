@@ -0,0 +1,366 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.avrofile;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AvroFileIndex holds the schema and codec from the header of an Avro data file along with the offset and
+ * record count of every block.  It is built by reading the count and length at the start of each block and
+ * skipping over the (possibly compressed) records to the sync marker that follows, so no records are
+ * decoded.  The index is only held in memory because it is cheap to rebuild.
+ */
+class AvroFileIndex
+{
+    private static final byte[] MAGIC = DataFileConstants.MAGIC;
+
+    private long   fileLength;
+    private long   lastModified;
+    private Schema schema;
+    private String codecName;
+    private long   recordCount  = 0;
+    private int    blockCount   = 0;
+    private long[] blockSyncs   = new long[64];
+    private long[] blockRecords = new long[64];
+
+
+    /**
+     * Constructor
+     *
+     * @param fileLength length of the file when it was scanned
+     * @param lastModified last modified time of the file when it was scanned
+     */
+    private AvroFileIndex(long fileLength,
+                          long lastModified)
+    {
+        this.fileLength = fileLength;
+        this.lastModified = lastModified;
+    }
+
+
+    /**
+     * Scan the header and block headers of the file.
+     *
+     * @param file Avro data file
+     * @return index
+     * @throws IOException unable to read the file
+     * @throws AvroRuntimeException the file is not a valid Avro data file
+     */
+    static AvroFileIndex build(File file) throws IOException
+    {
+        AvroFileIndex index = new AvroFileIndex(file.length(), file.lastModified());
+
+        try (PositionInputStream input = new PositionInputStream(new BufferedInputStream(new FileInputStream(file), 65536)))
+        {
+            BinaryDecoder decoder = DecoderFactory.get().directBinaryDecoder(input, null);
+            byte[]        sync    = new byte[DataFileConstants.SYNC_SIZE];
+            byte[]        marker  = new byte[DataFileConstants.SYNC_SIZE];
+
+            index.readHeader(decoder, sync);
+
+            long blockSync = input.position - sync.length;
+
+            while (input.position < index.fileLength)
+            {
+                long records = decoder.readLong();
+                long length  = decoder.readLong();
+
+                if ((records < 0) || (length < 0))
+                {
+                    throw new AvroRuntimeException("Invalid block header at offset " + (blockSync + sync.length));
+                }
+
+                skipFully(input, length);
+                decoder.readFixed(marker);
+
+                if (! Arrays.equals(sync, marker))
+                {
+                    throw new AvroRuntimeException("Invalid sync marker at offset " + (input.position - marker.length));
+                }
+
+                index.addBlock(blockSync, records);
+                blockSync = input.position - marker.length;
+            }
+        }
+        catch (EOFException error)
+        {
+            throw new AvroRuntimeException("File ends part way through a block", error);
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Read the magic bytes, the metadata map and the sync marker from the start of the file.
+     *
+     * @param decoder decoder reading from the file contents without buffering
+     * @param sync buffer to receive the sync marker
+     * @throws IOException unable to read the file
+     */
+    private void readHeader(BinaryDecoder decoder,
+                            byte[]        sync) throws IOException
+    {
+        byte[] magic = new byte[MAGIC.length];
+
+        decoder.readFixed(magic);
+
+        if (! Arrays.equals(MAGIC, magic))
+        {
+            throw new AvroRuntimeException("Missing Avro data file magic bytes");
+        }
+
+        for (long entries = decoder.readMapStart(); entries != 0; entries = decoder.mapNext())
+        {
+            for (long i = 0; i < entries; i++)
+            {
+                String key   = decoder.readString();
+                byte[] value = decoder.readBytes(null).array();
+
+                if (DataFileConstants.SCHEMA.equals(key))
+                {
+                    schema = new Schema.Parser().parse(new String(value, StandardCharsets.UTF_8));
+                }
+                else if (DataFileConstants.CODEC.equals(key))
+                {
+                    codecName = new String(value, StandardCharsets.UTF_8);
+                }
+            }
+        }
+
+        decoder.readFixed(sync);
+
+        if (schema == null)
+        {
+            throw new AvroRuntimeException("No schema in the Avro data file header");
+        }
+
+        if (codecName == null)
+        {
+            codecName = DataFileConstants.NULL_CODEC;
+        }
+    }
+
+
+    /**
+     * Skip over the contents of a block.
+     *
+     * @param input file contents
+     * @param length number of bytes to skip
+     * @throws IOException unable to read the file or it is too short
+     */
+    private static void skipFully(InputStream input,
+                                  long        length) throws IOException
+    {
+        long remaining = length;
+
+        while (remaining > 0)
+        {
+            long skipped = input.skip(remaining);
+
+            if (skipped <= 0)
+            {
+                if (input.read() < 0)
+                {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            remaining = remaining - skipped;
+        }
+    }
+
+
+    /**
+     * Record the next block.
+     *
+     * @param blockSync offset of the sync marker before the block
+     * @param records number of records in the block
+     */
+    private void addBlock(long blockSync,
+                          long records)
+    {
+        if (blockCount == blockSyncs.length)
+        {
+            blockSyncs = Arrays.copyOf(blockSyncs, blockCount * 2);
+            blockRecords = Arrays.copyOf(blockRecords, blockCount * 2);
+        }
+
+        blockSyncs[blockCount] = blockSync;
+        blockRecords[blockCount] = records;
+        blockCount++;
+        recordCount = recordCount + records;
+    }
+
+
+    /**
+     * Return whether the file has changed since it was scanned.
+     *
+     * @param file Avro data file
+     * @return boolean
+     */
+    boolean isStale(File file)
+    {
+        return (file.lastModified() != lastModified) || (file.length() != fileLength);
+    }
+
+
+    /**
+     * Return the schema from the file header.
+     *
+     * @return Avro schema
+     */
+    Schema getSchema()
+    {
+        return schema;
+    }
+
+
+    /**
+     * Return the codec named in the file header.
+     *
+     * @return codec name
+     */
+    String getCodecName()
+    {
+        return codecName;
+    }
+
+
+    /**
+     * Return the total number of records in the blocks.
+     *
+     * @return count
+     */
+    long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Return the length of the file when it was scanned.
+     *
+     * @return length in bytes
+     */
+    long getFileLength()
+    {
+        return fileLength;
+    }
+
+
+    /**
+     * Group the blocks into splits of roughly the requested size.  A split is closed once it holds at least
+     * the requested number of bytes, so each split has at least one block.
+     *
+     * @param splitSize target number of bytes in each split; zero or less means one split
+     * @return list of splits
+     */
+    List<AvroFileSplit> getSplits(long splitSize)
+    {
+        List<AvroFileSplit> splits = new ArrayList<>();
+
+        if (blockCount == 0)
+        {
+            return splits;
+        }
+
+        long targetSize   = (splitSize > 0) ? splitSize : Long.MAX_VALUE;
+        long splitStart   = blockSyncs[0];
+        long firstRecord  = 0;
+        long splitRecords = 0;
+
+        for (int block = 0; block < blockCount; block++)
+        {
+            if ((block > 0) && (blockSyncs[block] - splitStart >= targetSize))
+            {
+                splits.add(new AvroFileSplit(splitStart, blockSyncs[block], firstRecord, splitRecords));
+
+                splitStart = blockSyncs[block];
+                firstRecord = firstRecord + splitRecords;
+                splitRecords = 0;
+            }
+
+            splitRecords = splitRecords + blockRecords[block];
+        }
+
+        splits.add(new AvroFileSplit(splitStart, fileLength, firstRecord, splitRecords));
+
+        return splits;
+    }
+
+
+    /**
+     * Input stream that tracks the offset of the next byte to be read.
+     */
+    private static class PositionInputStream extends FilterInputStream
+    {
+        private long position = 0;
+
+
+        PositionInputStream(InputStream input)
+        {
+            super(input);
+        }
+
+
+        @Override
+        public int read() throws IOException
+        {
+            int result = super.read();
+
+            if (result >= 0)
+            {
+                position++;
+            }
+            return result;
+        }
+
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException
+        {
+            int result = super.read(buffer, offset, length);
+
+            if (result > 0)
+            {
+                position = position + result;
+            }
+            return result;
+        }
+
+
+        @Override
+        public long skip(long length) throws IOException
+        {
+            long result = super.skip(length);
+
+            position = position + result;
+            return result;
+        }
+
+
+        @Override
+        public boolean markSupported()
+        {
+            return false;
+        }
+    }
+}
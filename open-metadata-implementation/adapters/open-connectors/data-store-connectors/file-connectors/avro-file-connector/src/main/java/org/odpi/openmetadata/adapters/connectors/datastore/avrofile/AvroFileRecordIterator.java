@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.avrofile;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericRecord;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * AvroFileRecordIterator streams the records from an Avro data file, or from one split of the file.
+ * Each call to next() decodes the following record into the record returned by the previous call, so
+ * only one record is allocated however many are read.  Read errors are reported as AvroRuntimeException,
+ * in the same way as the Avro readers.  The iterator must be closed to release the file.
+ */
+public class AvroFileRecordIterator implements Iterator<GenericRecord>, AutoCloseable
+{
+    private DataFileReader<GenericRecord> reader;
+    private long                          end;
+    private GenericRecord                 record = null;
+
+
+    /**
+     * Constructor
+     *
+     * @param reader reader positioned at the first block to return
+     * @param end offset in the file where the iterator stops; blocks starting after the sync marker at
+     *            or beyond this offset are not returned; Long.MAX_VALUE reads to the end of the file
+     */
+    AvroFileRecordIterator(DataFileReader<GenericRecord> reader,
+                           long                          end)
+    {
+        this.reader = reader;
+        this.end = end;
+    }
+
+
+    /**
+     * Return the schema used to decode the records.
+     *
+     * @return Avro schema
+     */
+    public Schema getSchema()
+    {
+        return reader.getSchema();
+    }
+
+
+    /**
+     * Return whether there is another record.
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean hasNext()
+    {
+        try
+        {
+            return reader.hasNext() && ((end == Long.MAX_VALUE) || (! reader.pastSync(end)));
+        }
+        catch (IOException error)
+        {
+            throw new AvroRuntimeException(error);
+        }
+    }
+
+
+    /**
+     * Return the next record.  The returned object is reused by the following call.
+     *
+     * @return record
+     */
+    @Override
+    public GenericRecord next()
+    {
+        if (! hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        try
+        {
+            record = reader.next(record);
+        }
+        catch (IOException error)
+        {
+            throw new AvroRuntimeException(error);
+        }
+
+        return record;
+    }
+
+
+    /**
+     * Release the file.
+     *
+     * @throws IOException unable to close the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        reader.close();
+    }
+}
@@ -0,0 +1,139 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.avrofile;
+
+import java.util.Objects;
+
+/**
+ * AvroFileSplit describes a byte range of an Avro data file.  The start is the offset of the sync marker
+ * that precedes the first block in the split and the end is the offset of the sync marker that precedes
+ * the first block of the next split (or the length of the file for the last split).  A reader positioned
+ * with these offsets returns the records of every block that starts within the range, so the splits of
+ * a file cover each record exactly once.
+ */
+public class AvroFileSplit
+{
+    private long start;
+    private long end;
+    private long firstRecordNumber;
+    private long recordCount;
+
+
+    /**
+     * Constructor
+     *
+     * @param start offset of the sync marker before the first block
+     * @param end offset of the sync marker before the first block of the next split
+     * @param firstRecordNumber number of the first record in the split; the first record in the file is 0
+     * @param recordCount number of records in the split
+     */
+    public AvroFileSplit(long start,
+                         long end,
+                         long firstRecordNumber,
+                         long recordCount)
+    {
+        this.start = start;
+        this.end = end;
+        this.firstRecordNumber = firstRecordNumber;
+        this.recordCount = recordCount;
+    }
+
+
+    /**
+     * Return the offset in the file where the split starts.
+     *
+     * @return byte offset
+     */
+    public long getStart()
+    {
+        return start;
+    }
+
+
+    /**
+     * Return the offset in the file where the split ends.
+     *
+     * @return byte offset
+     */
+    public long getEnd()
+    {
+        return end;
+    }
+
+
+    /**
+     * Return the number of the first record in the split.
+     *
+     * @return record number
+     */
+    public long getFirstRecordNumber()
+    {
+        return firstRecordNumber;
+    }
+
+
+    /**
+     * Return the number of records in the split.
+     *
+     * @return count
+     */
+    public long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "AvroFileSplit{" +
+                "start=" + start +
+                ", end=" + end +
+                ", firstRecordNumber=" + firstRecordNumber +
+                ", recordCount=" + recordCount +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        AvroFileSplit that = (AvroFileSplit) objectToCompare;
+        return start == that.start &&
+                end == that.end &&
+                firstRecordNumber == that.firstRecordNumber &&
+                recordCount == that.recordCount;
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(start, end, firstRecordNumber, recordCount);
+    }
+}
@@ -0,0 +1,108 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.avrofile;
+
+import org.apache.avro.Schema;
+import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.BasicFileStore;
+import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.ffdc.exception.FileException;
+import org.odpi.openmetadata.adapters.connectors.datastore.avrofile.ffdc.exception.FileReadException;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * AvroFileStore defines the specific connector api for working with Avro data files.  An Avro data file
+ * holds its schema in a header, followed by a sequence of blocks of records.  Each block is preceded by
+ * its record count and length and followed by a sync marker that is unique to the file.  This means the
+ * records can be counted, and the file divided into independently readable splits, without decoding
+ * any records.
+ */
+public interface AvroFileStore extends BasicFileStore
+{
+    /**
+     * Return the name of the file to read.
+     *
+     * @return file name
+     * @throws FileException there is a problem accessing the file
+     */
+    String   getFileName() throws FileException;
+
+
+    /**
+     * Return the last update data for the file.
+     *
+     * @return Date object
+     * @throws FileException there is a problem accessing the file
+     */
+    Date     getLastUpdateDate() throws FileException;
+
+
+    /**
+     * Return the schema stored in the header of the file.
+     *
+     * @return Avro schema
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    Schema   getSchema() throws FileException, FileReadException;
+
+
+    /**
+     * Return the name of the codec used to compress the blocks in the file.
+     *
+     * @return codec name such as null, deflate, snappy or bzip2
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    String   getCodecName() throws FileException, FileReadException;
+
+
+    /**
+     * Return the number of records in the file.  The count is the sum of the record counts in the block
+     * headers, so the records are neither decompressed nor decoded.  The block headers are scanned the first
+     * time this (or any method that needs them) is called and the scan is repeated if the file changes.
+     *
+     * @return count
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    long     getRecordCount() throws FileException, FileReadException;
+
+
+    /**
+     * Divide the file into byte ranges that start and end on sync markers.  Each split can be read with
+     * its own iterator, so the records can be processed in parallel.  Splits hold whole blocks, so a split
+     * may be larger than the requested size if the file has large blocks.
+     *
+     * @param splitSize target number of bytes in each split; zero or less returns a single split
+     * @return list of splits in file order; empty if the file has no records
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    List<AvroFileSplit> getSplits(long  splitSize) throws FileException, FileReadException;
+
+
+    /**
+     * Return an iterator over all of the records in the file.  The same record object is reused for each
+     * call to next(), so a record must be copied if it is needed after the following call.  The iterator
+     * holds the file open until it is closed.
+     *
+     * @return record iterator
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    AvroFileRecordIterator readRecords() throws FileException, FileReadException;
+
+
+    /**
+     * Return an iterator over the records in the blocks that start within the split.  The same record
+     * object is reused for each call to next().  Iterators for different splits may be used concurrently.
+     *
+     * @param split byte range of the file, typically returned by getSplits
+     * @return record iterator
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    AvroFileRecordIterator readRecords(AvroFileSplit  split) throws FileException, FileReadException;
+}
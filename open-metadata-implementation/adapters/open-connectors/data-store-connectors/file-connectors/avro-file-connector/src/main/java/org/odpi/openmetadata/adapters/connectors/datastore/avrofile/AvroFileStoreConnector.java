@@ -3,16 +3,303 @@
 
 package org.odpi.openmetadata.adapters.connectors.datastore.avrofile;
 
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.InvalidAvroMagicException;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.odpi.openmetadata.adapters.connectors.datastore.avrofile.ffdc.AvroFileConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.datastore.avrofile.ffdc.exception.FileReadException;
 import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.BasicFileStoreConnector;
+import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.ffdc.exception.FileException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
 
 /**
- * AvroFileStoreConnector works with avro files to retrieve simple objects.
+ * AvroFileStoreConnector works with Avro data files to retrieve their schema and records.
+ * The first time the file is needed, the connector scans the block headers to find the offset and record
+ * count of each block.  This gives the record count without decoding any records and allows the file to be
+ * divided into splits on sync marker boundaries that can be read in parallel.  The scan is repeated
+ * whenever the file changes.
  */
-public class AvroFileStoreConnector extends BasicFileStoreConnector
+public class AvroFileStoreConnector extends BasicFileStoreConnector implements AvroFileStore
 {
+    private AvroFileIndex fileIndex = null;
+
     private static final Logger log = LoggerFactory.getLogger(AvroFileStoreConnector.class);
 
+
+    /**
+     * Return the name of the file to read.
+     *
+     * @return file name
+     * @throws FileException problem accessing the file
+     */
+    public String   getFileName() throws FileException
+    {
+        final String  methodName = "getFileName";
+
+        getFile(methodName);
+
+        return fileStoreName;
+    }
+
+
+    /**
+     * Return the last update data for the file.
+     *
+     * @return Date object
+     * @throws FileException problem accessing the file
+     */
+    public Date getLastUpdateDate() throws FileException
+    {
+        final String  methodName = "getLastUpdateDate";
+
+        File fileStore = getFile(methodName);
+
+        return new Date(fileStore.lastModified());
+    }
+
+
+    /**
+     * Return the schema stored in the header of the file.
+     *
+     * @return Avro schema
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    public synchronized Schema getSchema() throws FileException, FileReadException
+    {
+        final String  methodName = "getSchema";
+
+        return getFileIndex(methodName).getSchema();
+    }
+
+
+    /**
+     * Return the name of the codec used to compress the blocks in the file.
+     *
+     * @return codec name such as null, deflate, snappy or bzip2
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    public synchronized String getCodecName() throws FileException, FileReadException
+    {
+        final String  methodName = "getCodecName";
+
+        return getFileIndex(methodName).getCodecName();
+    }
+
+
+    /**
+     * Return the number of records in the file.  The count is the sum of the record counts in the block headers.
+     *
+     * @return count
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    public synchronized long getRecordCount() throws FileException, FileReadException
+    {
+        final String  methodName = "getRecordCount";
+
+        return getFileIndex(methodName).getRecordCount();
+    }
+
+
+    /**
+     * Divide the file into byte ranges that start and end on sync markers.
+     *
+     * @param splitSize target number of bytes in each split; zero or less returns a single split
+     * @return list of splits in file order; empty if the file has no records
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or scan the file.
+     */
+    public synchronized List<AvroFileSplit> getSplits(long  splitSize) throws FileException, FileReadException
+    {
+        final String  methodName = "getSplits";
+
+        return getFileIndex(methodName).getSplits(splitSize);
+    }
+
+
+    /**
+     * Return an iterator over all of the records in the file.  The same record object is reused for each
+     * call to next().
+     *
+     * @return record iterator
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    public AvroFileRecordIterator readRecords() throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        File fileStore = getFile(methodName);
+
+        return new AvroFileRecordIterator(openReader(fileStore, methodName), Long.MAX_VALUE);
+    }
+
+
+    /**
+     * Return an iterator over the records in the blocks that start within the split.  The same record
+     * object is reused for each call to next().
+     *
+     * @param split byte range of the file, typically returned by getSplits
+     * @return record iterator
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    public AvroFileRecordIterator readRecords(AvroFileSplit  split) throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        File                          fileStore = getFile(methodName);
+        DataFileReader<GenericRecord> reader    = openReader(fileStore, methodName);
+
+        try
+        {
+            reader.sync(split.getStart());
+        }
+        catch (IOException error)
+        {
+            closeReader(reader);
+            throw getFileReadException(AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION, error, methodName);
+        }
+
+        return new AvroFileRecordIterator(reader, split.getEnd());
+    }
+
+
+    /**
+     * Open a reader for the file.  Each iterator has its own reader so that splits can be read concurrently.
+     *
+     * @param fileStore file to read
+     * @param methodName name of calling method
+     * @return reader positioned at the first block
+     * @throws FileReadException unable to open the file
+     */
+    private DataFileReader<GenericRecord> openReader(File    fileStore,
+                                                     String  methodName) throws FileReadException
+    {
+        try
+        {
+            return new DataFileReader<>(fileStore, new GenericDatumReader<>());
+        }
+        catch (AvroRuntimeException | InvalidAvroMagicException error)
+        {
+            throw getFileReadException(AvroFileConnectorErrorCode.FILE_NOT_AVRO, error, methodName);
+        }
+        catch (IOException error)
+        {
+            throw getFileReadException(AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION, error, methodName);
+        }
+    }
+
+
+    /**
+     * Close a reader after a failure.
+     *
+     * @param reader reader to close
+     */
+    private void closeReader(DataFileReader<GenericRecord> reader)
+    {
+        try
+        {
+            reader.close();
+        }
+        catch (IOException error)
+        {
+            log.debug("Ignoring unexpected exception closing " + fileStoreName + ": " + error.getMessage());
+        }
+    }
+
+
+    /**
+     * Return the index of the blocks in the file, building it if this is the first request or the file has
+     * changed since the index was built.
+     *
+     * @param methodName name of calling method
+     * @return block index
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to scan the file
+     */
+    private AvroFileIndex getFileIndex(String  methodName) throws FileException, FileReadException
+    {
+        File fileStore = super.getFile(methodName);
+
+        if ((fileIndex != null) && (! fileIndex.isStale(fileStore)))
+        {
+            return fileIndex;
+        }
+
+        fileIndex = null;
+
+        try
+        {
+            fileIndex = AvroFileIndex.build(fileStore);
+        }
+        catch (AvroRuntimeException error)
+        {
+            throw getFileReadException(AvroFileConnectorErrorCode.FILE_NOT_AVRO, error, methodName);
+        }
+        catch (IOException error)
+        {
+            throw getFileReadException(AvroFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION, error, methodName);
+        }
+
+        return fileIndex;
+    }
+
+
+    /**
+     * Create the exception for a file that can not be read.
+     *
+     * @param errorCode error code describing the problem
+     * @param error caught exception
+     * @param methodName name of calling method
+     * @return exception
+     */
+    private FileReadException getFileReadException(AvroFileConnectorErrorCode errorCode,
+                                                   Exception                  error,
+                                                   String                     methodName)
+    {
+        String errorMessage = errorCode.getErrorMessageId()
+                            + errorCode.getFormattedErrorMessage(fileStoreName, error.getMessage());
+
+        return new FileReadException(errorCode.getHTTPErrorCode(),
+                                     this.getClass().getName(),
+                                     methodName,
+                                     errorMessage,
+                                     errorCode.getSystemAction(),
+                                     errorCode.getUserAction(),
+                                     error,
+                                     fileStoreName);
+    }
+
+
+    /**
+     * Release the block index.  Record iterators hold their own file handles and must be closed by the caller.
+     */
+    public synchronized void disconnect()
+    {
+        fileIndex = null;
+
+        try
+        {
+            super.disconnect();
+        }
+        catch (Throwable  exec)
+        {
+            log.debug("Ignoring unexpected exception " + exec.getClass().getSimpleName() + " with message " + exec.getMessage());
+        }
+
+        log.debug("Closing Avro File Store");
+    }
 }
@@ -0,0 +1,161 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.datastore.avrofile.ffdc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+/**
+ * The AvroFileConnectorErrorCode is used to define first failure data capture (FFDC) for errors that occur when working with
+ * the Avro File Connector.  It is used in conjunction with both Checked and Runtime (unchecked) exceptions.
+ *
+ * The 5 fields in the enum are:
+ * <ul>
+ *     <li>HTTP Error Code - for translating between REST and JAVA - Typically the numbers used are:</li>
+ *     <li><ul>
+ *         <li>500 - internal error</li>
+ *         <li>400 - invalid parameters</li>
+ *         <li>404 - not found</li>
+ *         <li>409 - data conflict errors - eg item already defined</li>
+ *     </ul></li>
+ *     <li>Error Message Id - to uniquely identify the message</li>
+ *     <li>Error Message Text - includes placeholder to allow additional values to be captured</li>
+ *     <li>SystemAction - describes the result of the error</li>
+ *     <li>UserAction - describes how a consumer should correct the error</li>
+ * </ul>
+ */
+public enum AvroFileConnectorErrorCode
+{
+    FILE_NOT_AVRO(400, "AVRO-FILE-CONNECTOR-400-001 ",
+            "The file {0} is not a valid Avro data file; the error message was: {1}",
+            "The connector is unable to read the file because its header or block structure does not follow the Avro object container file format.",
+            "Ensure the address property in the Endpoint object of the Connection object names an Avro data file that has been completely written."),
+    UNEXPECTED_IO_EXCEPTION(500, "AVRO-FILE-CONNECTOR-500-001 ",
+             "The connector received an unexpected IO exception when reading the file named {0}; the error message was: {1}",
+             "The connector is unable to process the Avro file.",
+             "Use details from the error message to determine the cause of the error and retry the request once it is resolved.");
+
+
+    private int    httpErrorCode;
+    private String errorMessageId;
+    private String errorMessage;
+    private String systemAction;
+    private String userAction;
+
+    private static final Logger log = LoggerFactory.getLogger(AvroFileConnectorErrorCode.class);
+
+
+    /**
+     * The constructor for AvroFileConnectorErrorCode expects to be passed one of the enumeration rows defined in
+     * AssetConsumerErrorCode above.   For example:
+     *
+     *     AvroFileConnectorErrorCode   errorCode = AvroFileConnectorErrorCode.FILE_NOT_AVRO;
+     *
+     * This will expand out to the 5 parameters shown below.
+     *
+     * @param newHTTPErrorCode  error code to use over REST calls
+     * @param newErrorMessageId  unique Id for the message
+     * @param newErrorMessage text for the message
+     * @param newSystemAction  description of the action taken by the system when the error condition happened
+     * @param newUserAction  instructions for resolving the error
+     */
+    AvroFileConnectorErrorCode(int  newHTTPErrorCode, String newErrorMessageId, String newErrorMessage, String newSystemAction, String newUserAction)
+    {
+        this.httpErrorCode = newHTTPErrorCode;
+        this.errorMessageId = newErrorMessageId;
+        this.errorMessage = newErrorMessage;
+        this.systemAction = newSystemAction;
+        this.userAction = newUserAction;
+    }
+
+
+    public int getHTTPErrorCode()
+    {
+        return httpErrorCode;
+    }
+
+
+    /**
+     * Returns the unique identifier for the error message.
+     *
+     * @return errorMessageId
+     */
+    public String getErrorMessageId()
+    {
+        return errorMessageId;
+    }
+
+
+    /**
+     * Returns the error message with placeholders for specific details.
+     *
+     * @return errorMessage (unformatted)
+     */
+    public String getUnformattedErrorMessage()
+    {
+        return errorMessage;
+    }
+
+
+    /**
+     * Returns the error message with the placeholders filled out with the supplied parameters.
+     *
+     * @param params  strings that plug into the placeholders in the errorMessage
+     * @return errorMessage (formatted with supplied parameters)
+     */
+    public String getFormattedErrorMessage(String... params)
+    {
+        log.debug(String.format("<== AvroFileConnectorErrorCode.getMessage(%s)", Arrays.toString(params)));
+
+        MessageFormat mf = new MessageFormat(errorMessage);
+        String result = mf.format(params);
+
+        log.debug(String.format("==> AvroFileConnectorErrorCode.getMessage(%s): %s", Arrays.toString(params), result));
+
+        return result;
+    }
+
+
+    /**
+     * Returns a description of the action taken by the system when the condition that caused this exception was
+     * detected.
+     *
+     * @return systemAction
+     */
+    public String getSystemAction()
+    {
+        return systemAction;
+    }
+
+
+    /**
+     * Returns instructions of how to resolve the issue reported in this exception.
+     *
+     * @return userAction
+     */
+    public String getUserAction()
+    {
+        return userAction;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return string of property names and values for this enum
+     */
+    @Override
+    public String toString()
+    {
+        return "AvroFileConnectorErrorCode{" +
+                "httpErrorCode=" + httpErrorCode +
+                ", errorMessageId='" + errorMessageId + '\'' +
+                ", errorMessage='" + errorMessage + '\'' +
+                ", systemAction='" + systemAction + '\'' +
+                ", userAction='" + userAction + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,310 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.datastore.avrofile;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.odpi.openmetadata.adapters.connectors.datastore.avrofile.ffdc.exception.FileReadException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that the AvroFileStoreConnector counts, streams and splits generated Avro files written with different codecs.
+ */
+public class AvroFileStoreConnectorTest
+{
+    private static final Schema schema = SchemaBuilder.record("Reading").namespace("org.odpi.test")
+                                                      .fields()
+                                                      .requiredLong("id")
+                                                      .requiredString("sensor")
+                                                      .requiredDouble("value")
+                                                      .endRecord();
+
+    private File avroFile;
+
+
+    @BeforeMethod
+    public void createFile() throws IOException
+    {
+        avroFile = File.createTempFile("readings", ".avro");
+    }
+
+
+    @AfterMethod
+    public void deleteFile() throws IOException
+    {
+        Files.deleteIfExists(avroFile.toPath());
+    }
+
+
+    @DataProvider(name = "codecs")
+    public Object[][] codecs()
+    {
+        return new Object[][] {
+                { CodecFactory.nullCodec(), "null" },
+                { CodecFactory.deflateCodec(6), "deflate" },
+                { CodecFactory.bzip2Codec(), "bzip2" }
+        };
+    }
+
+
+    private void writeFile(CodecFactory codec, int recordCount) throws IOException
+    {
+        try (DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<>(schema)))
+        {
+            writer.setCodec(codec);
+            writer.setSyncInterval(4096);
+            writer.create(schema, avroFile);
+
+            GenericRecord record = new GenericData.Record(schema);
+
+            for (int i = 0; i < recordCount; i++)
+            {
+                record.put("id", (long) i);
+                record.put("sensor", "sensor-" + (i % 17));
+                record.put("value", i * 0.5);
+                writer.append(record);
+            }
+        }
+    }
+
+
+    private AvroFileStoreConnector getConnector() throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+
+        endpoint.setAddress(avroFile.getPath());
+
+        Connection connection = new Connection();
+
+        connection.setQualifiedName("AvroFileStore.Connection.Test");
+        connection.setEndpoint(endpoint);
+
+        AvroFileStoreConnector connector = new AvroFileStoreConnector();
+
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    @Test(dataProvider = "codecs")
+    public void testStreamRecords(CodecFactory codec, String codecName) throws Exception
+    {
+        final int recordCount = 20000;
+
+        writeFile(codec, recordCount);
+
+        AvroFileStoreConnector connector = getConnector();
+
+        assertEquals(connector.getSchema(), schema);
+        assertEquals(connector.getCodecName(), codecName);
+        assertEquals(connector.getRecordCount(), recordCount);
+
+        try (AvroFileRecordIterator records = connector.readRecords())
+        {
+            GenericRecord previous = null;
+            long          expected = 0;
+
+            while (records.hasNext())
+            {
+                GenericRecord record = records.next();
+
+                assertEquals(record.get("id"), expected);
+                if (previous != null)
+                {
+                    assertSame(record, previous);
+                }
+                previous = record;
+                expected++;
+            }
+
+            assertEquals(expected, recordCount);
+        }
+
+        connector.disconnect();
+        assertFalse(connector.isActive());
+    }
+
+
+    @Test(dataProvider = "codecs")
+    public void testParallelSplits(CodecFactory codec, String codecName) throws Exception
+    {
+        final int recordCount = 50000;
+
+        writeFile(codec, recordCount);
+
+        AvroFileStoreConnector connector = getConnector();
+        List<AvroFileSplit>    splits    = connector.getSplits(32768);
+
+        assertTrue(splits.size() > 1);
+        assertEquals(splits.get(0).getFirstRecordNumber(), 0);
+        assertEquals(splits.get(splits.size() - 1).getEnd(), avroFile.length());
+
+        long splitRecords = 0;
+
+        for (int i = 0; i < splits.size(); i++)
+        {
+            if (i > 0)
+            {
+                assertEquals(splits.get(i).getStart(), splits.get(i - 1).getEnd());
+            }
+            assertEquals(splits.get(i).getFirstRecordNumber(), splitRecords);
+            splitRecords = splitRecords + splits.get(i).getRecordCount();
+        }
+        assertEquals(splitRecords, recordCount);
+
+        ExecutorService            executor = Executors.newFixedThreadPool(4);
+        List<Future<List<Long>>>   results  = new ArrayList<>();
+
+        try
+        {
+            for (AvroFileSplit split : splits)
+            {
+                results.add(executor.submit(() -> readIds(connector, split)));
+            }
+
+            BitSet seen = new BitSet(recordCount);
+
+            for (int i = 0; i < splits.size(); i++)
+            {
+                List<Long> ids = results.get(i).get();
+
+                assertEquals(ids.size(), splits.get(i).getRecordCount());
+                assertEquals((long) ids.get(0), splits.get(i).getFirstRecordNumber());
+
+                for (long id : ids)
+                {
+                    assertFalse(seen.get((int) id));
+                    seen.set((int) id);
+                }
+            }
+
+            assertEquals(seen.cardinality(), recordCount);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals(connector.getSplits(0).size(), 1);
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testUnalignedSplits() throws Exception
+    {
+        final int recordCount = 10000;
+
+        writeFile(CodecFactory.deflateCodec(1), recordCount);
+
+        AvroFileStoreConnector connector = getConnector();
+        long                   length    = avroFile.length();
+        long                   total     = 0;
+
+        for (long start = 0; start < length; start = start + 1000)
+        {
+            total = total + readIds(connector, new AvroFileSplit(start, Math.min(start + 1000, length), 0, 0)).size();
+        }
+
+        assertEquals(total, recordCount);
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testFileChanges() throws Exception
+    {
+        writeFile(CodecFactory.nullCodec(), 1000);
+
+        AvroFileStoreConnector connector = getConnector();
+
+        assertEquals(connector.getRecordCount(), 1000);
+
+        writeFile(CodecFactory.nullCodec(), 250);
+
+        assertEquals(connector.getRecordCount(), 250);
+
+        writeFile(CodecFactory.nullCodec(), 0);
+
+        assertEquals(connector.getRecordCount(), 0);
+        assertTrue(connector.getSplits(4096).isEmpty());
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testNotAvroFile() throws Exception
+    {
+        Files.write(avroFile.toPath(), "id,sensor,value\n1,a,0.5\n".getBytes(StandardCharsets.UTF_8));
+
+        AvroFileStoreConnector connector = getConnector();
+
+        try
+        {
+            connector.getRecordCount();
+            assertTrue(false);
+        }
+        catch (FileReadException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("AVRO-FILE-CONNECTOR-400-001"));
+        }
+
+        try
+        {
+            connector.readRecords();
+            assertTrue(false);
+        }
+        catch (FileReadException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("AVRO-FILE-CONNECTOR-400-001"));
+        }
+
+        connector.disconnect();
+    }
+
+
+    private List<Long> readIds(AvroFileStoreConnector connector, AvroFileSplit split) throws Exception
+    {
+        List<Long> ids = new ArrayList<>();
+
+        try (AvroFileRecordIterator records = connector.readRecords(split))
+        {
+            while (records.hasNext())
+            {
+                ids.add((Long) records.next().get("id"));
+            }
+        }
+
+        return ids;
+    }
+}
@@ -0,0 +1,289 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * CSVFileIndex records the byte offset of the start of each line in a CSV file so that any line can be read
+ * without scanning the lines before it.  The index is built with a single pass over the file.  It can be saved
+ * in a file alongside the CSV file and reloaded as long as the CSV file has not changed since (checked using the
+ * last modified time and length of the file).
+ */
+class CSVFileIndex
+{
+    private static final int  indexFileMagic   = 0x43535649;   // "CSVI"
+    private static final int  indexFileVersion = 1;
+    private static final int  scanBufferSize   = 64 * 1024;
+
+    private final long   lastModified;
+    private final long   fileLength;
+    private final int    lineCount;
+
+    /*
+     * lineOffsets[i] is the offset of the start of line i; lineOffsets[lineCount] is the end of the last line.
+     */
+    private final long[] lineOffsets;
+
+
+    /**
+     * Constructor used once the offsets are known.
+     *
+     * @param lastModified last modified time of the file when the index was built
+     * @param fileLength length of the file when the index was built
+     * @param lineCount number of lines in the file
+     * @param lineOffsets start offset of each line followed by the end of the last line
+     */
+    private CSVFileIndex(long   lastModified,
+                         long   fileLength,
+                         int    lineCount,
+                         long[] lineOffsets)
+    {
+        this.lastModified = lastModified;
+        this.fileLength = fileLength;
+        this.lineCount = lineCount;
+        this.lineOffsets = lineOffsets;
+    }
+
+
+    /**
+     * Build the index by scanning the file.  Trailing lines that only contain white space are not counted as lines.
+     *
+     * @param file CSV file
+     * @return new index
+     * @throws IOException problem reading the file
+     */
+    static CSVFileIndex build(File file) throws IOException
+    {
+        long   lastModified = file.lastModified();
+        long[] offsets      = new long[1024];
+        int    lineCount    = 0;
+        long   position     = 0;
+        int    contentLines = 0;     // number of lines up to the last line that contains more than white space
+
+        boolean lineHasContent = false;
+
+        try (InputStream inputStream = new FileInputStream(file))
+        {
+            byte[] buffer = new byte[scanBufferSize];
+            int    length = inputStream.read(buffer);
+
+            offsets[0] = 0;
+
+            while (length != -1)
+            {
+                for (int i = 0; i < length; i++)
+                {
+                    byte character = buffer[i];
+
+                    position++;
+
+                    if (character == '\n')
+                    {
+                        lineCount++;
+                        if (lineCount + 1 > offsets.length)
+                        {
+                            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                        }
+                        offsets[lineCount] = position;
+
+                        if (lineHasContent)
+                        {
+                            contentLines = lineCount;
+                            lineHasContent = false;
+                        }
+                    }
+                    else if (! isWhiteSpace(character))
+                    {
+                        lineHasContent = true;
+                    }
+                }
+
+                length = inputStream.read(buffer);
+            }
+        }
+
+        /*
+         * The last line may not end with a new line.
+         */
+        if (lineHasContent)
+        {
+            lineCount++;
+            if (lineCount + 1 > offsets.length)
+            {
+                offsets = Arrays.copyOf(offsets, offsets.length + 1);
+            }
+            offsets[lineCount] = position;
+
+            contentLines = lineCount;
+        }
+
+        /*
+         * Lines after the last line with content are ignored, so offsets[contentLines] is the end of that line.
+         */
+        return new CSVFileIndex(lastModified, position, contentLines, Arrays.copyOf(offsets, contentLines + 1));
+    }
+
+
+    /**
+     * Load an index that was saved with the save() method.  Null is returned if there is no saved index or it
+     * does not match the current state of the CSV file.
+     *
+     * @param file CSV file
+     * @param indexFile file containing the saved index
+     * @return index or null
+     */
+    static CSVFileIndex load(File file,
+                             File indexFile)
+    {
+        if (! indexFile.isFile())
+        {
+            return null;
+        }
+
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile))))
+        {
+            if ((inputStream.readInt() != indexFileMagic) || (inputStream.readInt() != indexFileVersion))
+            {
+                return null;
+            }
+
+            long lastModified = inputStream.readLong();
+            long fileLength   = inputStream.readLong();
+            int  lineCount    = inputStream.readInt();
+
+            if ((lastModified != file.lastModified()) || (fileLength != file.length()) || (lineCount < 0))
+            {
+                return null;
+            }
+
+            long[] lineOffsets = new long[lineCount + 1];
+
+            for (int i = 0; i <= lineCount; i++)
+            {
+                lineOffsets[i] = inputStream.readLong();
+            }
+
+            return new CSVFileIndex(lastModified, fileLength, lineCount, lineOffsets);
+        }
+        catch (IOException error)
+        {
+            /*
+             * A damaged index is simply rebuilt.
+             */
+            return null;
+        }
+    }
+
+
+    /**
+     * Save the index so it can be reloaded by a later connector instance.
+     *
+     * @param indexFile file to write the index to
+     * @throws IOException unable to write the index
+     */
+    void save(File indexFile) throws IOException
+    {
+        File temporaryFile = new File(indexFile.getPath() + ".tmp");
+
+        try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))
+        {
+            outputStream.writeInt(indexFileMagic);
+            outputStream.writeInt(indexFileVersion);
+            outputStream.writeLong(lastModified);
+            outputStream.writeLong(fileLength);
+            outputStream.writeInt(lineCount);
+
+            for (int i = 0; i <= lineCount; i++)
+            {
+                outputStream.writeLong(lineOffsets[i]);
+            }
+        }
+
+        if ((! temporaryFile.renameTo(indexFile)) && ((! indexFile.delete()) || (! temporaryFile.renameTo(indexFile))))
+        {
+            temporaryFile.delete();
+            throw new IOException("Unable to rename " + temporaryFile.getPath() + " to " + indexFile.getPath());
+        }
+    }
+
+
+    /**
+     * Return whether the file has changed since the index was built.
+     *
+     * @param file CSV file
+     * @return boolean
+     */
+    boolean isStale(File file)
+    {
+        return (file.lastModified() != lastModified) || (file.length() != fileLength);
+    }
+
+
+    /**
+     * Return the length of the file when the index was built.
+     *
+     * @return length in bytes
+     */
+    long getFileLength()
+    {
+        return fileLength;
+    }
+
+
+    /**
+     * Return the number of lines in the file.
+     *
+     * @return line count
+     */
+    int getLineCount()
+    {
+        return lineCount;
+    }
+
+
+    /**
+     * Return the offset of the start of the line.
+     *
+     * @param lineNumber line number (starting at 0)
+     * @return byte offset
+     */
+    long getLineStart(int lineNumber)
+    {
+        return lineOffsets[lineNumber];
+    }
+
+
+    /**
+     * Return the offset of the end of the line (after its line terminator, if any).
+     *
+     * @param lineNumber line number (starting at 0)
+     * @return byte offset
+     */
+    long getLineEnd(int lineNumber)
+    {
+        return lineOffsets[lineNumber + 1];
+    }
+
+
+    /**
+     * Is the character white space that Scanner would skip when looking for the next token?
+     *
+     * @param character byte from the file
+     * @return boolean
+     */
+    private static boolean isWhiteSpace(byte character)
+    {
+        return (character == ' ') || (character == '\t') || (character == '\r') || (character == '\f') || (character == 0x0B);
+    }
+}
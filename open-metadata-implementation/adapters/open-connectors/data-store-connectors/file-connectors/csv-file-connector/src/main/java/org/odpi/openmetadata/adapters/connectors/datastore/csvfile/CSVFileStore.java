@@ -42,8 +42,8 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The file is scanned the first time this (or any read method)
+     * is called and the offsets of the records are kept in an index.  The file is rescanned if it changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +74,18 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return a batch of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.  Fewer records are returned if the end of the
+     * file is reached.
+     *
+     * @param firstRecordNumber number of the first record to return
+     * @param recordCount maximum number of records to return
+     * @return list of records, each a list of strings containing the values from the columns.
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the file does not include the first record.
+     */
+    List<List<String>> readRecords(int  firstRecordNumber, int  recordCount) throws FileException, FileReadException;
 }
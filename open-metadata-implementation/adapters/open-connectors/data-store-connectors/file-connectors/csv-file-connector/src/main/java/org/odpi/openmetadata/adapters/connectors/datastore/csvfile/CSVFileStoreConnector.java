@@ -14,11 +14,21 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 
 /**
  * CSVFileStoreConnector works with structured files to retrieve simple tables of data.
+ * The first time the file is read, the connector builds an index of the offset of each line so that records
+ * can be read directly from a memory-mapped view of the file.  The index is saved alongside the file
+ * (with an extra ".index" suffix) unless the persistIndex configuration property is false, and it is rebuilt
+ * whenever the file changes.
  */
 public class CSVFileStoreConnector extends BasicFileStoreConnector implements CSVFileStore
 {
@@ -28,6 +38,16 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>   columnNames       = null;
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
+    private boolean        persistIndex      = true;
+
+    /*
+     * Variables used for random access to the lines in the file.
+     */
+    private CSVFileIndex     fileIndex   = null;
+    private RandomAccessFile openFile    = null;
+    private FileChannel      fileChannel = null;
+    private MappedByteBuffer mappedFile  = null;
+    private byte[]           lineBuffer  = new byte[1024];
 
     /*
      * Variables used for logging and debug.
@@ -54,6 +74,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
             Object  columnNamesProperty   = configurationProperties.get(CSVFileStoreProvider.columnNamesProperty);
             Object  delimiterCharProperty = configurationProperties.get(CSVFileStoreProvider.delimiterCharacterProperty);
             Object  quoteCharProperty     = configurationProperties.get(CSVFileStoreProvider.quoteCharacterProperty);
+            Object  persistIndexProperty  = configurationProperties.get(CSVFileStoreProvider.persistIndexProperty);
 
             if (columnNamesProperty != null)
             {
@@ -79,6 +100,11 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
             {
                 quoteChar = (char)quoteCharProperty;
             }
+
+            if (persistIndexProperty != null)
+            {
+                persistIndex = Boolean.parseBoolean(persistIndexProperty.toString());
+            }
         }
 
         if (endpoint != null)
@@ -127,51 +153,22 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The count comes from the line index, which is built by scanning
+     * the file the first time it is needed.
      *
      * @return count
      * @throws FileException problem accessing the file
      * @throws FileReadException unable to find, open or scan the file.
      */
-    public long     getRecordCount() throws FileException, FileReadException
+    public synchronized long     getRecordCount() throws FileException, FileReadException
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
-
-        File fileStore = getFile(methodName);
+        long    rowCount = getFileIndex(methodName).getLineCount();
 
-        try
+        if ((rowCount > 0) && (columnNames == null))
         {
-            Scanner scanner  = new Scanner(fileStore);
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-            scanner.close();
-
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
-        {
-            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
-            String                    errorMessage = errorCode.getErrorMessageId()
-                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
-                                                                                        error.getMessage());
-
-            throw new FileReadException(errorCode.getHTTPErrorCode(),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        errorMessage,
-                                        errorCode.getSystemAction(),
-                                        errorCode.getUserAction(),
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -187,7 +184,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      * @throws FileException problem accessing the file
      * @throws FileReadException unable to retrieve the column names
      */
-    public List<String>      getColumnNames() throws FileException,
+    public synchronized List<String>      getColumnNames() throws FileException,
                                                      FileReadException
     {
         final String  methodName = "getColumnNames";
@@ -214,7 +211,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      * @throws FileException problem accessing the file
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
-    public List<String>      readRecord(int  dataRecordNumber) throws FileException, FileReadException
+    public synchronized List<String>      readRecord(int  dataRecordNumber) throws FileException, FileReadException
     {
         final String  methodName = "readRecord";
 
@@ -229,6 +226,49 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return a batch of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.  Fewer records are returned if the end of the
+     * file is reached.
+     *
+     * @param firstRecordNumber number of the first record to return
+     * @param recordCount maximum number of records to return
+     * @return list of records, each a list of strings containing the values from the columns.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the file does not include the first record.
+     */
+    public synchronized List<List<String>> readRecords(int  firstRecordNumber,
+                                                       int  recordCount) throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        int firstRow = firstRecordNumber;
+
+        if (columnNames == null)
+        {
+            firstRow = firstRow + 1;
+        }
+
+        CSVFileIndex index = getFileIndex(methodName);
+
+        if ((firstRecordNumber < 0) || (firstRow >= index.getLineCount()))
+        {
+            throw getFileTooShortException(firstRow, methodName);
+        }
+
+        int                lastRow      = (int)Math.min((long)firstRow + Math.max(recordCount, 0), index.getLineCount());
+        List<List<String>> records      = new ArrayList<>(lastRow - firstRow);
+        StringBuilder      currentValue = new StringBuilder();
+
+        for (int row = firstRow; row < lastRow; row++)
+        {
+            records.add(parseRecord(readLine(index, row, methodName), currentValue));
+        }
+
+        return records;
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -241,69 +281,232 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileException, FileReadException
     {
+        CSVFileIndex index = getFileIndex(methodName);
 
+        if ((recordLocation < 0) || (recordLocation >= index.getLineCount()))
+        {
+            throw getFileTooShortException(recordLocation, methodName);
+        }
+
+        return parseRecord(readLine(index, recordLocation, methodName), new StringBuilder());
+    }
+
+
+    /**
+     * Return the index of the lines in the file, building it if this is the first request or the file has
+     * changed since the index was built.  The file is (re)mapped into memory at the same time.
+     *
+     * @param methodName name of calling method
+     * @return line index
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to scan the file
+     */
+    private CSVFileIndex getFileIndex(String  methodName) throws FileException, FileReadException
+    {
         File fileStore = super.getFile(methodName);
 
+        if ((fileIndex != null) && (! fileIndex.isStale(fileStore)))
+        {
+            return fileIndex;
+        }
+
+        closeFile();
+
         try
         {
-            Scanner scanner        = new Scanner(fileStore);
+            File         indexFile = new File(fileStore.getPath() + ".index");
+            CSVFileIndex index     = null;
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
+            if (persistIndex)
             {
-                if (rowCounter == recordLocation)
+                index = CSVFileIndex.load(fileStore, indexFile);
+            }
+
+            if (index == null)
+            {
+                index = CSVFileIndex.build(fileStore);
+
+                if (persistIndex)
                 {
-                    return parseRecord(scanner.nextLine());
+                    try
+                    {
+                        index.save(indexFile);
+                    }
+                    catch (IOException error)
+                    {
+                        log.debug("Unable to save index for " + fileStoreName + ": " + error.getMessage());
+                    }
                 }
-                else
+            }
+
+            openFile = new RandomAccessFile(fileStore, "r");
+            fileChannel = openFile.getChannel();
+
+            long mappedLength = Math.min(index.getFileLength(), fileChannel.size());
+
+            if (mappedLength <= Integer.MAX_VALUE)
+            {
+                mappedFile = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, mappedLength);
+            }
+
+            fileIndex = index;
+        }
+        catch (IOException error)
+        {
+            closeFile();
+            throw getFileReadException(error, methodName);
+        }
+
+        return fileIndex;
+    }
+
+
+    /**
+     * Return the contents of a line without its line terminator.  Files that are too large to map in one
+     * piece are read through the file channel.
+     *
+     * @param index line index
+     * @param lineNumber line to read
+     * @param methodName name of calling method
+     * @return line contents
+     * @throws FileReadException unable to read the file
+     */
+    private String readLine(CSVFileIndex index,
+                            int          lineNumber,
+                            String       methodName) throws FileReadException
+    {
+        long start  = index.getLineStart(lineNumber);
+        int  length = (int)(index.getLineEnd(lineNumber) - start);
+
+        if (length > lineBuffer.length)
+        {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+
+        if (mappedFile != null)
+        {
+            ((Buffer)mappedFile).position((int)start);
+            mappedFile.get(lineBuffer, 0, length);
+        }
+        else
+        {
+            try
+            {
+                ByteBuffer buffer = ByteBuffer.wrap(lineBuffer, 0, length);
+                long       position = start;
+
+                while (buffer.hasRemaining())
                 {
-                    scanner.nextLine();
+                    int bytesRead = fileChannel.read(buffer, position);
+
+                    if (bytesRead < 0)
+                    {
+                        break;
+                    }
+                    position = position + bytesRead;
                 }
-                rowCounter ++;
             }
-            scanner.close();
+            catch (IOException error)
+            {
+                throw getFileReadException(error, methodName);
+            }
+        }
+
+        while ((length > 0) && ((lineBuffer[length - 1] == '\n') || (lineBuffer[length - 1] == '\r')))
+        {
+            length--;
+        }
 
-            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.FILE_TOO_SHORT;
-            String                    errorMessage = errorCode.getErrorMessageId()
-                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
-                                                                                        Integer.toString(recordLocation));
+        return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+    }
 
-            throw new FileReadException(errorCode.getHTTPErrorCode(),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        errorMessage,
-                                        errorCode.getSystemAction(),
-                                        errorCode.getUserAction(),
-                                        fileStoreName);
 
-        }
-        catch (IOException  error)
+    /**
+     * Release the file handle and memory map used to read the file.
+     */
+    private void closeFile()
+    {
+        mappedFile = null;
+        fileChannel = null;
+        fileIndex = null;
+
+        if (openFile != null)
         {
-            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
-            String                    errorMessage = errorCode.getErrorMessageId()
-                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
-                                                                                        error.getMessage());
-
-            throw new FileReadException(errorCode.getHTTPErrorCode(),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        errorMessage,
-                                        errorCode.getSystemAction(),
-                                        errorCode.getUserAction(),
-                                        error,
-                                        fileStoreName);
+            try
+            {
+                openFile.close();
+            }
+            catch (IOException error)
+            {
+                log.debug("Ignoring unexpected exception closing " + fileStoreName + ": " + error.getMessage());
+            }
+
+            openFile = null;
         }
     }
 
 
+    /**
+     * Create the exception for a request for a row beyond the end of the file.
+     *
+     * @param recordLocation requested row
+     * @param methodName name of calling method
+     * @return exception
+     */
+    private FileReadException getFileTooShortException(int     recordLocation,
+                                                       String  methodName)
+    {
+        CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.FILE_TOO_SHORT;
+        String                    errorMessage = errorCode.getErrorMessageId()
+                                               + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                    Integer.toString(recordLocation));
+
+        return new FileReadException(errorCode.getHTTPErrorCode(),
+                                     this.getClass().getName(),
+                                     methodName,
+                                     errorMessage,
+                                     errorCode.getSystemAction(),
+                                     errorCode.getUserAction(),
+                                     fileStoreName);
+    }
+
+
+    /**
+     * Create the exception for an unexpected IO error.
+     *
+     * @param error caught exception
+     * @param methodName name of calling method
+     * @return exception
+     */
+    private FileReadException getFileReadException(IOException error,
+                                                   String      methodName)
+    {
+        CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
+        String                    errorMessage = errorCode.getErrorMessageId()
+                                               + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                    error.getMessage());
+
+        return new FileReadException(errorCode.getHTTPErrorCode(),
+                                     this.getClass().getName(),
+                                     methodName,
+                                     errorMessage,
+                                     errorCode.getSystemAction(),
+                                     errorCode.getUserAction(),
+                                     error,
+                                     fileStoreName);
+    }
+
+
     /**
      * Step through the record, character by character, extracting each column and enduring that escaped double quotes
      * and other tricks found in CSV files are handled.
      *
      * @param fileRecord a single record from the CSV file store
+     * @param currentValue working buffer for building column values - it is reused across records
      * @return an array of column values extracted from the record
      */
-    private  List<String> parseRecord(String fileRecord)
+    private  List<String> parseRecord(String        fileRecord,
+                                      StringBuilder currentValue)
     {
         if ((fileRecord == null) || (fileRecord.isEmpty()))
         {
@@ -311,16 +514,17 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
         }
 
         List<String> result = new ArrayList<>();
-        StringBuffer currentValue = new StringBuffer();
+
+        currentValue.setLength(0);
 
         boolean inQuotes = false;
         boolean startCollectingCharacters = false;
         boolean doubleQuotesInColumn = false;
 
-        char[] characters = fileRecord.toCharArray();
-
-        for (char character : characters)
+        for (int i = 0; i < fileRecord.length(); i++)
         {
+            char character = fileRecord.charAt(i);
+
             if (inQuotes)
             {
                 startCollectingCharacters = true;
@@ -353,7 +557,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
                     inQuotes = true;
 
-                    if (characters[0] != '"' && quoteChar == '\"')
+                    if (fileRecord.charAt(0) != '"' && quoteChar == '\"')
                     {
                         currentValue.append('"');
                     }
@@ -367,7 +571,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                 {
                     result.add(currentValue.toString());
 
-                    currentValue = new StringBuffer();
+                    currentValue.setLength(0);
                     startCollectingCharacters = false;
 
                 }
@@ -392,8 +596,10 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     /**
      * Close the file
      */
-    public void disconnect()
+    public synchronized void disconnect()
     {
+        closeFile();
+
         try
         {
             super.disconnect();
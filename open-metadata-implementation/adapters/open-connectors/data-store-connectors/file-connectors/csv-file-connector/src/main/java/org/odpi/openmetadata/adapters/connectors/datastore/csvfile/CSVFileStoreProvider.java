@@ -22,6 +22,7 @@ public class CSVFileStoreProvider extends ConnectorProviderBase
     public static final String  columnNamesProperty = "columnNames";
     public static final String  delimiterCharacterProperty = "delimiterCharacter";
     public static final String  quoteCharacterProperty = "quoteCharacter";
+    public static final String  persistIndexProperty = "persistIndex";
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -46,6 +47,7 @@ public class CSVFileStoreProvider extends ConnectorProviderBase
         recognizedConfigurationProperties.add(columnNamesProperty);
         recognizedConfigurationProperties.add(delimiterCharacterProperty);
         recognizedConfigurationProperties.add(quoteCharacterProperty);
+        recognizedConfigurationProperties.add(persistIndexProperty);
 
         connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
 
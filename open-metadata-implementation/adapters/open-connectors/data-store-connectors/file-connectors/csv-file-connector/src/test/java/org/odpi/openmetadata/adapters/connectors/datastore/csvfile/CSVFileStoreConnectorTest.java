@@ -10,6 +10,10 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 
 import static org.testng.Assert.assertFalse;
@@ -338,6 +342,77 @@ public class CSVFileStoreConnectorTest
         }
     }
 
+    private void writeFile(File file, int rowCount) throws IOException
+    {
+        try (Writer writer = new FileWriter(file))
+        {
+            writer.write("Id,Name,Description\n");
+            for (int i = 0; i < rowCount; i++)
+            {
+                writer.write(i + ",Name" + i + ",Description number " + i + "\r\n");
+            }
+        }
+    }
+
+
+    @Test public void testReadRecordsAndFileChange() throws Exception
+    {
+        File file      = File.createTempFile("CSVFileStoreConnectorTest", ".csv");
+        File indexFile = new File(file.getPath() + ".index");
+
+        try
+        {
+            writeFile(file, 1000);
+
+            CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(file.getPath()));
+            connector.start();
+
+            assertTrue(connector.getRecordCount() == 1000);
+            assertTrue(indexFile.exists());
+            assertTrue(connector.readRecord(999).equals(Arrays.asList("999", "Name999", "Description number 999")));
+
+            List<List<String>> records = connector.readRecords(995, 10);
+            assertTrue(records.size() == 5);
+            assertTrue(records.get(0).equals(Arrays.asList("995", "Name995", "Description number 995")));
+
+            connector.disconnect();
+
+            /*
+             * A new connector picks up the saved index; a change to the file means it is rebuilt.
+             */
+            connector = new CSVFileStoreConnector();
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(file.getPath()));
+            connector.start();
+
+            assertTrue(connector.readRecords(0, 2).get(1).equals(Arrays.asList("1", "Name1", "Description number 1")));
+
+            writeFile(file, 1500);
+
+            assertTrue(connector.getRecordCount() == 1500);
+            assertTrue(connector.readRecord(1499).get(0).equals("1499"));
+
+            try
+            {
+                connector.readRecords(1500, 1);
+                assertTrue(false);
+            }
+            catch (FileReadException error)
+            {
+                assertTrue("The connector is unable to retrieve the requested record because the file is too short.".equals(error.getReportedSystemAction()));
+            }
+
+            connector.disconnect();
+        }
+        finally
+        {
+            assertTrue(file.delete());
+            indexFile.delete();
+        }
+    }
+
+
     @Test public void testLifecycle()
     {
         CSVFileStoreConnector connector = new CSVFileStoreConnector();
@@ -0,0 +1,26 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.datafolder;
+
+/**
+ * DataFolderChangeType describes how a file returned by a scan of the data folder differs from the
+ * previous scan recorded in the scan manifest.  When there is no manifest, every file is NEW.
+ */
+public enum DataFolderChangeType
+{
+    /**
+     * The file was not in the data folder at the time of the previous scan.
+     */
+    NEW,
+
+    /**
+     * The size or last modified time of the file has changed since the previous scan.
+     */
+    CHANGED,
+
+    /**
+     * The file has been removed from the data folder since the previous scan.
+     */
+    DELETED
+}
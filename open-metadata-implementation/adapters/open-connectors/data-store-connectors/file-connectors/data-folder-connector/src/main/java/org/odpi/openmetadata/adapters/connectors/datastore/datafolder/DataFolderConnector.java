@@ -13,6 +13,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Map;
 
 
 /**
@@ -20,6 +22,16 @@ import java.io.File;
  */
 public class DataFolderConnector extends ConnectorBase implements BasicFileStore
 {
+    /**
+     * Configuration property naming the file that records the previous scan of the folder.
+     */
+    public static final String SCAN_MANIFEST_FILE = "scanManifestFile";
+
+    /**
+     * Configuration property setting the maximum number of directories listed at the same time by a scan.
+     */
+    public static final String SCAN_PARALLELISM = "scanParallelism";
+
     protected String dataFolderName = null;
 
     /*
@@ -169,6 +181,86 @@ public class DataFolderConnector extends ConnectorBase implements BasicFileStore
     }
 
 
+    /**
+     * Scan the tree of files under the folder.  If the connection's configuration properties name a scan
+     * manifest, only the files that are new, changed or deleted since the previous scan are returned.
+     *
+     * @return iterator returning the files as they are found; it should be closed by the caller
+     * @throws FileException problem accessing the folder or the scan manifest
+     */
+    public DataFolderScan scanFolder() throws FileException
+    {
+        final String  methodName = "scanFolder";
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        File                manifestFile = null;
+        int                 parallelism = Runtime.getRuntime().availableProcessors();
+
+        if (configurationProperties != null)
+        {
+            if (configurationProperties.get(SCAN_MANIFEST_FILE) != null)
+            {
+                manifestFile = new File(configurationProperties.get(SCAN_MANIFEST_FILE).toString());
+            }
+
+            if (configurationProperties.get(SCAN_PARALLELISM) != null)
+            {
+                parallelism = Integer.parseInt(configurationProperties.get(SCAN_PARALLELISM).toString());
+            }
+        }
+
+        return this.scanFolder(manifestFile, parallelism, methodName);
+    }
+
+
+    /**
+     * Scan the tree of files under the folder.  If a manifest is supplied, only the files that are new,
+     * changed or deleted since the scan that last completed with the same manifest are returned.
+     *
+     * @param manifestFile file recording the previous scan; null to return every file as new
+     * @param parallelism maximum number of directories listed at the same time
+     * @return iterator returning the files as they are found; it should be closed by the caller
+     * @throws FileException problem accessing the folder or the scan manifest
+     */
+    public DataFolderScan scanFolder(File manifestFile, int parallelism) throws FileException
+    {
+        final String  methodName = "scanFolder";
+
+        return this.scanFolder(manifestFile, parallelism, methodName);
+    }
+
+
+    /**
+     * Start a scan of the folder.
+     *
+     * @param manifestFile file recording the previous scan; null to return every file as new
+     * @param parallelism maximum number of directories listed at the same time
+     * @param methodName calling method
+     * @return iterator returning the files as they are found
+     * @throws FileException problem accessing the folder or the scan manifest
+     */
+    private DataFolderScan scanFolder(File manifestFile, int parallelism, String methodName) throws FileException
+    {
+        File  dataFolder = this.getFile(methodName);
+
+        try
+        {
+            DataFolderScan scan = new DataFolderScan(dataFolder.toPath(),
+                                                     manifestFile == null ? null : manifestFile.toPath(),
+                                                     parallelism);
+
+            scan.start();
+            return scan;
+        }
+        catch (IOException  error)
+        {
+            this.throwException(DataFolderConnectorErrorCode.UNEXPECTED_MANIFEST_EXCEPTION, methodName, manifestFile.getPath(), error);
+        }
+
+        return null;
+    }
+
+
     /**
      * Close the file
      */
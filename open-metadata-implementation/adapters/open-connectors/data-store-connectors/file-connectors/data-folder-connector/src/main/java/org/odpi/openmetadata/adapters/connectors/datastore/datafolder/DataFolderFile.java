@@ -0,0 +1,153 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.datafolder;
+
+import java.util.Objects;
+
+/**
+ * DataFolderFile describes one file returned by a scan of the data folder.  The path is relative to the
+ * data folder.  The size, last modified time and format are not set for a file that has been deleted.
+ */
+public class DataFolderFile
+{
+    private String               path;
+    private long                 size;
+    private long                 lastModified;
+    private String               format;
+    private DataFolderChangeType changeType;
+
+
+    /**
+     * Constructor
+     *
+     * @param path path of the file relative to the data folder
+     * @param size size of the file in bytes
+     * @param lastModified last modified time of the file in milliseconds since the epoch
+     * @param format detected format of the file, or null if it is not recognized
+     * @param changeType how the file has changed since the previous scan
+     */
+    public DataFolderFile(String               path,
+                          long                 size,
+                          long                 lastModified,
+                          String               format,
+                          DataFolderChangeType changeType)
+    {
+        this.path = path;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.format = format;
+        this.changeType = changeType;
+    }
+
+
+    /**
+     * Return the path of the file relative to the data folder.
+     *
+     * @return path name
+     */
+    public String getPath()
+    {
+        return path;
+    }
+
+
+    /**
+     * Return the size of the file in bytes.
+     *
+     * @return number of bytes
+     */
+    public long getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Return the last modified time of the file.
+     *
+     * @return milliseconds since the epoch
+     */
+    public long getLastModified()
+    {
+        return lastModified;
+    }
+
+
+    /**
+     * Return the format of the file detected from its extension or, failing that, its first bytes.
+     *
+     * @return format name such as CSV, Avro or Parquet; null if the format is not recognized
+     */
+    public String getFormat()
+    {
+        return format;
+    }
+
+
+    /**
+     * Return how the file has changed since the previous scan.
+     *
+     * @return change type
+     */
+    public DataFolderChangeType getChangeType()
+    {
+        return changeType;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "DataFolderFile{" +
+                "path='" + path + '\'' +
+                ", size=" + size +
+                ", lastModified=" + lastModified +
+                ", format='" + format + '\'' +
+                ", changeType=" + changeType +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        DataFolderFile that = (DataFolderFile) objectToCompare;
+        return size == that.size &&
+                lastModified == that.lastModified &&
+                Objects.equals(path, that.path) &&
+                Objects.equals(format, that.format) &&
+                changeType == that.changeType;
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(path, size, lastModified, format, changeType);
+    }
+}
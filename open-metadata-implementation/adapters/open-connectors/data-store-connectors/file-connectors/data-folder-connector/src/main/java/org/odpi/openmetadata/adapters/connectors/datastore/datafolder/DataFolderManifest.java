@@ -0,0 +1,180 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.datafolder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataFolderManifest reads and writes the size and last modified time of each file found by a scan of
+ * the data folder.  The manifest is a text file with one line per file: the size, the last modified time
+ * and the path relative to the data folder, separated by tabs.  Backslashes and line breaks in the path
+ * are escaped.  A new manifest is written to a temporary file and moved over the old one so a failed write
+ * leaves the previous manifest in place.
+ */
+class DataFolderManifest
+{
+    private static final String HEADER    = "# data-folder-manifest 1";
+    private static final char   SEPARATOR = '\t';
+
+
+    /**
+     * Size and last modified time recorded for one file.
+     */
+    static class Entry
+    {
+        final long size;
+        final long lastModified;
+
+        Entry(long size, long lastModified)
+        {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+
+        boolean isSameAs(Entry entry)
+        {
+            return entry != null && size == entry.size && lastModified == entry.lastModified;
+        }
+    }
+
+
+    /**
+     * Read the manifest.
+     *
+     * @param manifestFile location of the manifest
+     * @return map of relative file path to entry; empty if the manifest does not exist
+     * @throws IOException the manifest cannot be read or is not a manifest
+     */
+    static Map<String, Entry> load(Path manifestFile) throws IOException
+    {
+        Map<String, Entry> entries = new HashMap<>();
+
+        if (manifestFile == null || ! Files.exists(manifestFile))
+        {
+            return entries;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8))
+        {
+            String line = reader.readLine();
+
+            if (! HEADER.equals(line))
+            {
+                throw new IOException("File " + manifestFile + " is not a data folder manifest");
+            }
+
+            while ((line = reader.readLine()) != null)
+            {
+                int sizeEnd = line.indexOf(SEPARATOR);
+                int lastModifiedEnd = line.indexOf(SEPARATOR, sizeEnd + 1);
+
+                if (sizeEnd < 0 || lastModifiedEnd < 0)
+                {
+                    throw new IOException("Data folder manifest " + manifestFile + " has an invalid line: " + line);
+                }
+
+                try
+                {
+                    entries.put(unescape(line.substring(lastModifiedEnd + 1)),
+                                new Entry(Long.parseLong(line.substring(0, sizeEnd)),
+                                          Long.parseLong(line.substring(sizeEnd + 1, lastModifiedEnd))));
+                }
+                catch (NumberFormatException error)
+                {
+                    throw new IOException("Data folder manifest " + manifestFile + " has an invalid line: " + line, error);
+                }
+            }
+        }
+
+        return entries;
+    }
+
+
+    /**
+     * Replace the manifest with the supplied entries.
+     *
+     * @param manifestFile location of the manifest
+     * @param entries map of relative file path to entry
+     * @throws IOException the manifest cannot be written
+     */
+    static void save(Path manifestFile, Map<String, Entry> entries) throws IOException
+    {
+        Path directory = manifestFile.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(directory, manifestFile.getFileName().toString(), ".tmp");
+
+        try
+        {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8))
+            {
+                writer.write(HEADER);
+                writer.newLine();
+
+                for (Map.Entry<String, Entry> entry : entries.entrySet())
+                {
+                    writer.write(Long.toString(entry.getValue().size));
+                    writer.write(SEPARATOR);
+                    writer.write(Long.toString(entry.getValue().lastModified));
+                    writer.write(SEPARATOR);
+                    writer.write(escape(entry.getKey()));
+                    writer.newLine();
+                }
+            }
+
+            Files.move(temporaryFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+
+    private static String escape(String path)
+    {
+        if (path.indexOf('\\') < 0 && path.indexOf('\n') < 0 && path.indexOf('\r') < 0)
+        {
+            return path;
+        }
+
+        return path.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+
+    private static String unescape(String path)
+    {
+        if (path.indexOf('\\') < 0)
+        {
+            return path;
+        }
+
+        StringBuilder unescaped = new StringBuilder(path.length());
+
+        for (int i = 0; i < path.length(); i++)
+        {
+            char character = path.charAt(i);
+
+            if (character == '\\' && i + 1 < path.length())
+            {
+                char escaped = path.charAt(++i);
+
+                unescaped.append(escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            }
+            else
+            {
+                unescaped.append(character);
+            }
+        }
+
+        return unescaped.toString();
+    }
+}
@@ -0,0 +1,520 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.datafolder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * DataFolderScan walks the tree of files under a data folder and returns the files it finds as they are
+ * found.  The directories are listed in parallel by a fork/join pool of a fixed size.  The files are passed
+ * to the caller through a bounded queue so a caller that consumes the files slowly holds back the walk
+ * rather than building up the whole tree in memory.
+ *
+ * When the scan has a manifest, only the files that are new, changed or deleted since the previous scan
+ * are returned, and the manifest is updated once the caller has retrieved every file.  A scan that is
+ * closed or cancelled before then leaves the manifest unchanged so the next scan returns the same changes.
+ * Files and directories that cannot be read keep their entries from the previous manifest rather than being
+ * reported as deleted.  Symbolic links are not followed.
+ */
+public class DataFolderScan implements Iterator<DataFolderFile>, AutoCloseable
+{
+    private static final Logger log = LoggerFactory.getLogger(DataFolderScan.class);
+
+    private static final int  QUEUE_CAPACITY  = 10000;
+    private static final long POLL_INTERVAL   = 100;
+    private static final int  SNIFF_LENGTH    = 4;
+
+    private static final DataFolderFile END_OF_SCAN = new DataFolderFile(null, 0, 0, null, null);
+
+    private static final Map<String, String> formatsByExtension = new HashMap<>();
+
+    static
+    {
+        formatsByExtension.put("csv", "CSV");
+        formatsByExtension.put("tsv", "TSV");
+        formatsByExtension.put("txt", "Text");
+        formatsByExtension.put("json", "JSON");
+        formatsByExtension.put("jsonl", "JSON Lines");
+        formatsByExtension.put("xml", "XML");
+        formatsByExtension.put("avro", "Avro");
+        formatsByExtension.put("parquet", "Parquet");
+        formatsByExtension.put("orc", "ORC");
+        formatsByExtension.put("gz", "GZIP");
+        formatsByExtension.put("zip", "ZIP");
+    }
+
+    private final Path                                  folder;
+    private final Path                                  manifestFile;
+    private final Map<String, DataFolderManifest.Entry> previousEntries;
+    private final Map<String, DataFolderManifest.Entry> currentEntries = new ConcurrentHashMap<>();
+    private final List<String>                          unreadablePaths = Collections.synchronizedList(new ArrayList<>());
+    private final BlockingQueue<DataFolderFile>         queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ForkJoinPool                          pool;
+    private final AtomicLong                            filesScanned = new AtomicLong();
+
+    private volatile boolean cancelled = false;
+    private volatile boolean walkFailed = false;
+    private DataFolderFile   nextFile = null;
+    private boolean          finished = false;
+    private boolean          complete = false;
+
+
+    /**
+     * Constructor loads the manifest of the previous scan.  The walk begins when start is called.
+     *
+     * @param folder data folder to scan
+     * @param manifestFile manifest recording the previous scan, or null to return every file as new
+     * @param parallelism maximum number of directories listed at the same time
+     * @throws IOException the manifest cannot be read
+     */
+    DataFolderScan(Path folder, Path manifestFile, int parallelism) throws IOException
+    {
+        this.folder = folder;
+        this.manifestFile = manifestFile;
+        this.previousEntries = DataFolderManifest.load(manifestFile);
+        this.pool = new ForkJoinPool(Math.max(parallelism, 1));
+    }
+
+
+    /**
+     * Begin the walk of the data folder.
+     */
+    void start()
+    {
+        pool.execute(new RecursiveAction()
+        {
+            @Override
+            protected void compute()
+            {
+                try
+                {
+                    new DirectoryScan(folder).invoke();
+
+                    if (! cancelled)
+                    {
+                        addDeletedFiles();
+                    }
+                }
+                catch (Throwable error)
+                {
+                    if (! cancelled)
+                    {
+                        log.error("The scan of data folder " + folder + " failed", error);
+                    }
+                    walkFailed = true;
+                }
+                finally
+                {
+                    publish(END_OF_SCAN);
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Wait for the next file from the walk.
+     *
+     * @return true if there is another file
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (nextFile == null && ! finished)
+        {
+            try
+            {
+                while (! cancelled && nextFile == null)
+                {
+                    nextFile = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                }
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+                this.cancel();
+            }
+
+            if (cancelled)
+            {
+                nextFile = null;
+                finished = true;
+            }
+            else if (nextFile == END_OF_SCAN)
+            {
+                nextFile = null;
+                finished = true;
+                this.completeScan();
+            }
+        }
+
+        return nextFile != null;
+    }
+
+
+    /**
+     * Return the next file from the walk.
+     *
+     * @return file description
+     */
+    @Override
+    public DataFolderFile next()
+    {
+        if (! this.hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        DataFolderFile file = nextFile;
+
+        nextFile = null;
+        return file;
+    }
+
+
+    /**
+     * Stop the walk.  The files already found may still be returned by next until the caller checks
+     * hasNext, which then returns false.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+        pool.shutdownNow();
+    }
+
+
+    /**
+     * Return whether the scan was cancelled.
+     *
+     * @return boolean
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+
+    /**
+     * Return whether every file has been returned and the manifest, if any, has been updated.
+     *
+     * @return boolean
+     */
+    public boolean isComplete()
+    {
+        return complete;
+    }
+
+
+    /**
+     * Return the number of files examined by the walk so far, including the unchanged files that are not returned.
+     *
+     * @return count of files
+     */
+    public long getFilesScanned()
+    {
+        return filesScanned.get();
+    }
+
+
+    /**
+     * Cancel the walk if it is still running.
+     */
+    @Override
+    public void close()
+    {
+        if (! finished)
+        {
+            this.cancel();
+        }
+        pool.shutdown();
+    }
+
+
+    /**
+     * Called once the caller has retrieved every file.  The manifest is only updated when the whole tree was walked.
+     */
+    private void completeScan()
+    {
+        pool.shutdown();
+
+        if (walkFailed)
+        {
+            return;
+        }
+
+        if (manifestFile != null)
+        {
+            try
+            {
+                DataFolderManifest.save(manifestFile, currentEntries);
+            }
+            catch (IOException error)
+            {
+                log.error("Unable to save the manifest " + manifestFile + " of data folder " + folder, error);
+                return;
+            }
+        }
+
+        complete = true;
+    }
+
+
+    /**
+     * Return the files recorded by the previous scan that the walk did not find.  The files whose attributes
+     * could not be read, and the files under directories that could not be listed, are assumed to be unchanged.
+     */
+    private void addDeletedFiles()
+    {
+        Set<String>  unreadableFiles    = new HashSet<>();
+        List<String> unreadablePrefixes = new ArrayList<>();
+
+        for (String path : unreadablePaths)
+        {
+            unreadableFiles.add(path);
+            unreadablePrefixes.add(path.isEmpty() ? "" : path + folder.getFileSystem().getSeparator());
+        }
+
+        for (Map.Entry<String, DataFolderManifest.Entry> previousEntry : previousEntries.entrySet())
+        {
+            String path = previousEntry.getKey();
+
+            if (cancelled)
+            {
+                return;
+            }
+
+            if (! currentEntries.containsKey(path))
+            {
+                if (unreadableFiles.contains(path) || unreadablePrefixes.stream().anyMatch(path::startsWith))
+                {
+                    currentEntries.put(path, previousEntry.getValue());
+                }
+                else
+                {
+                    publish(new DataFolderFile(path, 0, 0, null, DataFolderChangeType.DELETED));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Record a file found by the walk and pass it to the caller if it has changed.
+     *
+     * @param file location of the file
+     * @param attributes attributes of the file
+     */
+    private void addFile(Path file, BasicFileAttributes attributes)
+    {
+        String                   path = folder.relativize(file).toString();
+        DataFolderManifest.Entry entry = new DataFolderManifest.Entry(attributes.size(), attributes.lastModifiedTime().toMillis());
+
+        filesScanned.incrementAndGet();
+        currentEntries.put(path, entry);
+
+        DataFolderManifest.Entry previousEntry = previousEntries.get(path);
+
+        if (previousEntry == null)
+        {
+            publish(new DataFolderFile(path, entry.size, entry.lastModified, detectFormat(file), DataFolderChangeType.NEW));
+        }
+        else if (! previousEntry.isSameAs(entry))
+        {
+            publish(new DataFolderFile(path, entry.size, entry.lastModified, detectFormat(file), DataFolderChangeType.CHANGED));
+        }
+    }
+
+
+    /**
+     * Read the attributes of an entry of a directory without following symbolic links.
+     *
+     * @param entry location of the file or directory
+     * @return attributes
+     * @throws IOException the attributes cannot be read
+     */
+    BasicFileAttributes readAttributes(Path entry) throws IOException
+    {
+        return Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    }
+
+
+    /**
+     * Wait for space in the queue unless the scan is cancelled.
+     *
+     * @param file file to pass to the caller
+     */
+    private void publish(DataFolderFile file)
+    {
+        try
+        {
+            while (! cancelled)
+            {
+                if (queue.offer(file, POLL_INTERVAL, TimeUnit.MILLISECONDS))
+                {
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            cancelled = true;
+        }
+    }
+
+
+    /**
+     * Detect the format of a file from its extension or, if the extension is not recognized, its first bytes.
+     *
+     * @param file location of the file
+     * @return format name or null
+     */
+    static String detectFormat(Path file)
+    {
+        String fileName = file.getFileName().toString();
+        int    extensionStart = fileName.lastIndexOf('.');
+
+        if (extensionStart > 0)
+        {
+            String format = formatsByExtension.get(fileName.substring(extensionStart + 1).toLowerCase(Locale.ROOT));
+
+            if (format != null)
+            {
+                return format;
+            }
+        }
+
+        byte[] header = new byte[SNIFF_LENGTH];
+        int    length = 0;
+
+        try (InputStream inputStream = Files.newInputStream(file))
+        {
+            int count;
+
+            while (length < SNIFF_LENGTH && (count = inputStream.read(header, length, SNIFF_LENGTH - length)) > 0)
+            {
+                length = length + count;
+            }
+        }
+        catch (IOException | SecurityException error)
+        {
+            log.debug("Unable to read the first bytes of " + file, error);
+            return null;
+        }
+
+        String magic = new String(header, 0, length, StandardCharsets.ISO_8859_1);
+
+        if (magic.equals("Obj\u0001"))
+        {
+            return "Avro";
+        }
+        if (magic.equals("PAR1"))
+        {
+            return "Parquet";
+        }
+        if (magic.startsWith("ORC"))
+        {
+            return "ORC";
+        }
+        if (magic.startsWith("\u001f\u008b"))
+        {
+            return "GZIP";
+        }
+        if (magic.equals("PK\u0003\u0004"))
+        {
+            return "ZIP";
+        }
+
+        return null;
+    }
+
+
+    /**
+     * DirectoryScan lists one directory, records its files and forks a task for each subdirectory.
+     */
+    private class DirectoryScan extends RecursiveAction
+    {
+        private final Path directory;
+
+        DirectoryScan(Path directory)
+        {
+            this.directory = directory;
+        }
+
+
+        @Override
+        protected void compute()
+        {
+            List<DirectoryScan> subdirectoryScans = new ArrayList<>();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory))
+            {
+                for (Path entry : entries)
+                {
+                    if (cancelled)
+                    {
+                        break;
+                    }
+
+                    BasicFileAttributes attributes;
+
+                    try
+                    {
+                        attributes = readAttributes(entry);
+                    }
+                    catch (IOException | SecurityException error)
+                    {
+                        /*
+                         * The entry may be a file or a directory so everything recorded under its path is kept.
+                         */
+                        log.warn("Unable to read the attributes of " + entry + " in data folder " + folder, error);
+                        unreadablePaths.add(folder.relativize(entry).toString());
+                        continue;
+                    }
+
+                    if (attributes.isDirectory())
+                    {
+                        DirectoryScan subdirectoryScan = new DirectoryScan(entry);
+
+                        subdirectoryScan.fork();
+                        subdirectoryScans.add(subdirectoryScan);
+                    }
+                    else if (attributes.isRegularFile())
+                    {
+                        addFile(entry, attributes);
+                    }
+                }
+            }
+            catch (IOException | DirectoryIteratorException | SecurityException error)
+            {
+                log.warn("Unable to list directory " + directory + " of data folder " + folder, error);
+                unreadablePaths.add(folder.relativize(directory).toString());
+            }
+
+            for (DirectoryScan subdirectoryScan : subdirectoryScans)
+            {
+                subdirectoryScan.join();
+            }
+        }
+    }
+}
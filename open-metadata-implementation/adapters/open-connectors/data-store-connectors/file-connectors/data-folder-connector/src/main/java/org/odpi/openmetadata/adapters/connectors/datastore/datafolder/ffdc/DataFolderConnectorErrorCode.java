@@ -52,7 +52,11 @@ public enum DataFolderConnectorErrorCode
     UNEXPECTED_IO_EXCEPTION(500, "DATA-FOLDER-CONNECTOR-500-002 ",
              "The connector received an unexpected IO exception when reading the folder named {0}; the error message was: {1}",
              "The connector is unable to process the data in the folder.",
-             "Use details from the error message to determine the cause of the error and retry the request once it is resolved.");
+             "Use details from the error message to determine the cause of the error and retry the request once it is resolved."),
+    UNEXPECTED_MANIFEST_EXCEPTION(500, "DATA-FOLDER-CONNECTOR-500-003 ",
+             "The connector is unable to read the scan manifest {0} for the folder in Connection object {1}",
+             "The connector is unable to scan the folder for changes.",
+             "Check that the scan manifest was written by this connector and is readable, or remove it to scan the whole folder again.");
 
 
     private int    httpErrorCode;
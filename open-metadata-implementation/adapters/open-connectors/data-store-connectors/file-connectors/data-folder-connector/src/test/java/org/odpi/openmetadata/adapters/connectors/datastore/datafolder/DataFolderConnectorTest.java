@@ -0,0 +1,306 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.datastore.datafolder;
+
+import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.ffdc.exception.FileException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that the DataFolderConnector scans generated trees of files and reports the changes between scans.
+ */
+public class DataFolderConnectorTest
+{
+    private static final Logger log = LoggerFactory.getLogger(DataFolderConnectorTest.class);
+
+    private Path dataFolder;
+    private File manifestFile;
+
+
+    @BeforeMethod
+    public void createFolder() throws IOException
+    {
+        dataFolder = Files.createTempDirectory("data-folder");
+        manifestFile = new File(dataFolder.toFile().getParentFile(), dataFolder.getFileName() + ".manifest");
+    }
+
+
+    @AfterMethod
+    public void deleteFolder() throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(dataFolder))
+        {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        Files.deleteIfExists(manifestFile.toPath());
+    }
+
+
+    private DataFolderConnector getConnector(boolean withManifest)
+    {
+        Endpoint endpoint = new Endpoint();
+
+        endpoint.setAddress(dataFolder.toString());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(DataFolderConnector.SCAN_PARALLELISM, 4);
+        if (withManifest)
+        {
+            configurationProperties.put(DataFolderConnector.SCAN_MANIFEST_FILE, manifestFile.getPath());
+        }
+
+        Connection connection = new Connection();
+
+        connection.setQualifiedName("DataFolder.Connection.Test");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        DataFolderConnector connector = new DataFolderConnector();
+
+        connector.initialize("test", new ConnectionProperties(connection));
+        return connector;
+    }
+
+
+    /**
+     * Create a tree of directories each holding the same number of files.
+     *
+     * @param directories number of directories at each of the two levels below the folder
+     * @param filesPerDirectory number of files in each directory
+     * @return number of files created
+     * @throws IOException unable to create the files
+     */
+    private int generateTree(int directories, int filesPerDirectory) throws IOException
+    {
+        int count = 0;
+
+        for (int i = 0; i < directories; i++)
+        {
+            for (int j = 0; j < directories; j++)
+            {
+                Path directory = Files.createDirectories(dataFolder.resolve("zone" + i).resolve("batch" + j));
+
+                for (int k = 0; k < filesPerDirectory; k++)
+                {
+                    Files.write(directory.resolve("part" + k + ".csv"), ("id,value\n" + k + ",x\n").getBytes(StandardCharsets.UTF_8));
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+
+    private Map<String, DataFolderFile> scan(DataFolderConnector connector) throws FileException
+    {
+        Map<String, DataFolderFile> files = new HashMap<>();
+
+        try (DataFolderScan scan = connector.scanFolder())
+        {
+            while (scan.hasNext())
+            {
+                DataFolderFile file = scan.next();
+
+                files.put(file.getPath().replace(File.separatorChar, '/'), file);
+            }
+
+            assertTrue(scan.isComplete());
+        }
+
+        return files;
+    }
+
+
+    @Test
+    public void testFullScan() throws IOException, FileException
+    {
+        int fileCount = generateTree(5, 20);
+
+        Files.write(dataFolder.resolve("events"), new byte[] {'O', 'b', 'j', 1, 0, 0});
+        Files.write(dataFolder.resolve("empty"), new byte[0]);
+
+        Map<String, DataFolderFile> files = scan(getConnector(false));
+
+        assertEquals(files.size(), fileCount + 2);
+        assertTrue(files.values().stream().allMatch(file -> file.getChangeType() == DataFolderChangeType.NEW));
+
+        DataFolderFile file = files.get("zone1/batch2/part3.csv");
+
+        assertEquals(file.getFormat(), "CSV");
+        assertEquals(file.getSize(), 13);
+        assertTrue(file.getLastModified() > 0);
+        assertEquals(files.get("events").getFormat(), "Avro");
+        assertEquals(files.get("empty").getFormat(), null);
+        assertFalse(manifestFile.exists());
+    }
+
+
+    @Test
+    public void testIncrementalScan() throws IOException, FileException
+    {
+        int fileCount = generateTree(4, 10);
+
+        DataFolderConnector connector = getConnector(true);
+
+        assertEquals(scan(connector).size(), fileCount);
+        assertTrue(manifestFile.exists());
+        assertEquals(scan(connector).size(), 0);
+
+        Files.write(dataFolder.resolve("zone0/batch0/part0.csv"), "id,value\n0,changed\n".getBytes(StandardCharsets.UTF_8));
+        Files.delete(dataFolder.resolve("zone1/batch1/part1.csv"));
+        Files.write(dataFolder.resolve("zone2/batch2/new.json"), "{}".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, DataFolderFile> changes = scan(getConnector(true));
+
+        assertEquals(changes.size(), 3);
+        assertEquals(changes.get("zone0/batch0/part0.csv").getChangeType(), DataFolderChangeType.CHANGED);
+        assertEquals(changes.get("zone1/batch1/part1.csv").getChangeType(), DataFolderChangeType.DELETED);
+        assertEquals(changes.get("zone2/batch2/new.json").getChangeType(), DataFolderChangeType.NEW);
+        assertEquals(changes.get("zone2/batch2/new.json").getFormat(), "JSON");
+
+        assertEquals(scan(connector).size(), 0);
+    }
+
+
+    @Test
+    public void testCancelledScanKeepsManifest() throws IOException, FileException
+    {
+        int fileCount = generateTree(4, 50);
+
+        DataFolderConnector connector = getConnector(true);
+
+        try (DataFolderScan scan = connector.scanFolder())
+        {
+            for (int i = 0; i < 10 && scan.hasNext(); i++)
+            {
+                scan.next();
+            }
+            scan.cancel();
+
+            assertFalse(scan.hasNext());
+            assertTrue(scan.isCancelled());
+            assertFalse(scan.isComplete());
+        }
+
+        assertFalse(manifestFile.exists());
+        assertEquals(scan(connector).size(), fileCount);
+    }
+
+
+    @Test
+    public void testUnreadableEntriesKeepManifest() throws IOException, FileException
+    {
+        int fileCount = generateTree(2, 5);
+
+        DataFolderConnector connector = getConnector(true);
+
+        assertEquals(scan(connector).size(), fileCount);
+
+        Files.delete(dataFolder.resolve("zone0/batch0/part0.csv"));
+
+        Path unreadableFile      = dataFolder.resolve("zone0/batch1/part1.csv");
+        Path unreadableDirectory = dataFolder.resolve("zone1/batch0");
+
+        Map<String, DataFolderFile> changes = new HashMap<>();
+
+        try (DataFolderScan scan = new DataFolderScan(dataFolder, manifestFile.toPath(), 4)
+        {
+            @Override
+            BasicFileAttributes readAttributes(Path entry) throws IOException
+            {
+                if (entry.equals(unreadableFile) || entry.equals(unreadableDirectory))
+                {
+                    throw new AccessDeniedException(entry.toString());
+                }
+                return super.readAttributes(entry);
+            }
+        })
+        {
+            scan.start();
+            while (scan.hasNext())
+            {
+                DataFolderFile file = scan.next();
+
+                changes.put(file.getPath().replace(File.separatorChar, '/'), file);
+            }
+
+            assertTrue(scan.isComplete());
+        }
+
+        assertEquals(changes.size(), 1);
+        assertEquals(changes.get("zone0/batch0/part0.csv").getChangeType(), DataFolderChangeType.DELETED);
+
+        /*
+         * The unreadable entries are still in the manifest so they are not reported as new once they can be read.
+         */
+        assertEquals(scan(connector).size(), 0);
+    }
+
+
+    @Test
+    public void testUnreadableManifest() throws IOException
+    {
+        Files.write(manifestFile.toPath(), "not a manifest".getBytes(StandardCharsets.UTF_8));
+
+        try
+        {
+            getConnector(true).scanFolder();
+            assertTrue(false);
+        }
+        catch (FileException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("DATA-FOLDER-CONNECTOR-500-003"));
+        }
+    }
+
+
+    @Test(timeOut = 120000)
+    public void testScanThroughput() throws IOException, FileException
+    {
+        int fileCount = generateTree(20, 50);
+
+        DataFolderConnector connector = getConnector(true);
+
+        long start = System.nanoTime();
+        int  reported = scan(connector).size();
+        long fullScanTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int  changed = scan(connector).size();
+        long incrementalScanTime = System.nanoTime() - start;
+
+        assertEquals(reported, fileCount);
+        assertEquals(changed, 0);
+
+        log.info("Full scan of " + fileCount + " files: " + rate(fileCount, fullScanTime) + " files/s; incremental scan: "
+                         + rate(fileCount, incrementalScanTime) + " files/s");
+    }
+
+
+    private long rate(int fileCount, long nanoseconds)
+    {
+        return fileCount * 1000000000L / Math.max(nanoseconds, 1);
+    }
+}
@@ -13,16 +13,21 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+
 
 /**
  * The Cassandra Metadata Extractor Connector is the connector for synchronizing data assets from Apache Cassandra Database.
  */
 public abstract class CassandraMetadataExtractorConnector extends DataPlatformMetadataExtractorBase {
 
+    public static final String SCHEMA_CHANGE_WINDOW = "schemaChangeWindow";
+
     private static final Logger log = LoggerFactory.getLogger(CassandraMetadataExtractorConnector.class);
     private OMRSAuditLog omrsAuditLog;
     private CassandraMetadataExtractorAuditCode auditLog;
     private CqlSession cqlSession;
+    private CassandraMetadataListener cassandraMetadataListener;
     private CassandraDataStoreConnector cassandraDataStoreConnector = new CassandraDataStoreConnector();
 
     /**
@@ -70,12 +75,15 @@ public abstract class CassandraMetadataExtractorConnector extends DataPlatformMe
             }
         }
 
-        CassandraMetadataListener cassandraMetadataListener = new CassandraMetadataListener(
-                this.getDataPlatformClient(), connectionProperties.getUserId());
+        cassandraMetadataListener = new CassandraMetadataListener(this.getDataPlatformClient(),
+                connectionProperties.getUserId(), omrsAuditLog, getSchemaChangeWindow(connectionProperties));
 
         cassandraDataStoreConnector.startCassandraConnection(cassandraMetadataListener);
 
         this.cqlSession = cassandraDataStoreConnector.getSession();
+        if (cqlSession != null) {
+            cassandraMetadataListener.loadKeyspaces(cqlSession.getMetadata().getKeyspaces().values());
+        }
 
         if (omrsAuditLog != null) {
             auditLog = CassandraMetadataExtractorAuditCode.CONNECTOR_INITIALIZED;
@@ -99,6 +107,21 @@ public abstract class CassandraMetadataExtractorConnector extends DataPlatformMe
         return this.cqlSession;
     }
 
+    /**
+     * Return the number of milliseconds to wait for further schema changes before a changed keyspace is published.
+     *
+     * @param connectionProperties properties of the connection
+     * @return change window in milliseconds
+     */
+    private long getSchemaChangeWindow(ConnectionProperties connectionProperties) {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties == null || configurationProperties.get(SCHEMA_CHANGE_WINDOW) == null) {
+            return CassandraMetadataListener.DEFAULT_CHANGE_WINDOW;
+        }
+        return Long.parseLong(configurationProperties.get(SCHEMA_CHANGE_WINDOW).toString());
+    }
+
     /**
      * Free up any resources held since the connector is no longer needed.
      *
@@ -109,6 +132,9 @@ public abstract class CassandraMetadataExtractorConnector extends DataPlatformMe
         super.disconnect();
 
         String actionDescription = "Shut down the Cassandra connection.";
+        if (cassandraMetadataListener != null) {
+            cassandraMetadataListener.close();
+        }
         this.cqlSession.close();
 
         auditLog = CassandraMetadataExtractorAuditCode.CONNECTOR_SHUTDOWN;
@@ -2,11 +2,14 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.metadataextractor.cassandra;
 
+import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.metadata.schema.*;
 import com.datastax.oss.driver.api.core.type.UserDefinedType;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import org.odpi.openmetadata.accessservices.dataplatform.client.DataPlatformClient;
 import org.odpi.openmetadata.accessservices.dataplatform.properties.DeployedDatabaseSchema;
+import org.odpi.openmetadata.accessservices.dataplatform.properties.TabularColumn;
+import org.odpi.openmetadata.accessservices.dataplatform.properties.TabularSchema;
 import org.odpi.openmetadata.adapters.connectors.metadataextractor.cassandra.auditlog.CassandraMetadataExtractorAuditCode;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
@@ -15,76 +18,143 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.Closeable;
-import java.util.UUID;
-
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CassandraMetadataListener collects the schema changes reported by the Cassandra driver and sends them to
+ * Data Platform OMAS.  The changes are collected per keyspace and published once no further change has been
+ * received for the length of the change window, so a burst of changes such as a migration that creates
+ * hundreds of tables results in one bulk update for each keyspace.  A keyspace is published with all of its
+ * tables and columns, and only when it differs from the version that was last published.
+ *
+ * User defined types, functions, aggregates and materialized views are not mapped to Data Platform OMAS.
+ */
 public class CassandraMetadataListener implements SchemaChangeListener {
 
+    public static final long DEFAULT_CHANGE_WINDOW = 1000;
+
     private static final Logger log = LoggerFactory.getLogger(CassandraMetadataListener.class);
+    private static final Set<String> SYSTEM_KEYSPACES = new HashSet<>(Arrays.asList("system",
+                                                                                   "system_schema",
+                                                                                   "system_auth",
+                                                                                   "system_distributed",
+                                                                                   "system_traces",
+                                                                                   "system_views",
+                                                                                   "system_virtual_schema"));
+    private static final int MAX_DELAY_WINDOWS = 10;
 
     private String userId;
     private OMRSAuditLog omrsAuditLog;
     private CassandraMetadataExtractorAuditCode auditLog;
     private DataPlatformClient dataPlatformClient;
 
+    private final long changeWindow;
+    private final long maxDelay;
+    private final ScheduledThreadPoolExecutor publisher;
+
+    /* Latest known state of each keyspace, and the keyspaces changed since the last publish */
+    private final Object changeLock = new Object();
+    private final Map<String, KeyspaceState> currentKeyspaces = new HashMap<>();
+    private final Set<String> changedKeyspaces = new LinkedHashSet<>();
+    private ScheduledFuture<?> scheduledPublish = null;
+    private long firstPendingChange = 0;
+    private boolean isClosed = false;
+
+    /* State of each keyspace as last sent to Data Platform OMAS, only used by the publisher */
+    private final Map<String, KeyspaceState> publishedKeyspaces = new HashMap<>();
+
     public CassandraMetadataListener(DataPlatformClient dataPlatformClient, String userId) {
+        this(dataPlatformClient, userId, null, DEFAULT_CHANGE_WINDOW);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param dataPlatformClient client for Data Platform OMAS
+     * @param userId             user id for the calls to Data Platform OMAS
+     * @param omrsAuditLog       audit log of the connector (may be null)
+     * @param changeWindow       number of milliseconds without changes to a keyspace before it is published
+     */
+    public CassandraMetadataListener(DataPlatformClient dataPlatformClient, String userId, OMRSAuditLog omrsAuditLog,
+                                     long changeWindow) {
         this.dataPlatformClient = dataPlatformClient;
         this.userId = userId;
+        this.omrsAuditLog = omrsAuditLog;
+        this.changeWindow = changeWindow;
+        this.maxDelay = changeWindow * MAX_DELAY_WINDOWS;
+        this.publisher = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "CassandraSchemaChangePublisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisher.setRemoveOnCancelPolicy(true);
+        this.publisher.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
-    @Override
-    public void onKeyspaceCreated(@NonNull KeyspaceMetadata keyspaceMetadata) {
-
-        String actionDescription = "creating Deployed Database Schema asset from Cassandra Keyspace";
-
-        try {
-            DeployedDatabaseSchema deployedDatabaseSchema = null;
-            deployedDatabaseSchema.setName(keyspaceMetadata.getName().toString());
-            deployedDatabaseSchema.setQualifiedName(keyspaceMetadata.getName().asCql(true));
-            deployedDatabaseSchema.setGuid(UUID.randomUUID().toString());
-            deployedDatabaseSchema.setDisplayName(keyspaceMetadata.getName().toString());
-            deployedDatabaseSchema.setAdditionalProperties(keyspaceMetadata.getReplication());
-            log.info("New Cassandra keyspace has been created as: " + deployedDatabaseSchema.toString());
-            //TODO: map tabularSchemaType and tabularColumn from keyspace metadata
-
-            dataPlatformClient.createDeployedDatabaseSchema(userId, deployedDatabaseSchema);
-        } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException | NullPointerException e){
-            auditLog = CassandraMetadataExtractorAuditCode.CONNECTOR_CREATING_KEYSPACE;
-            omrsAuditLog.logRecord(
-                    actionDescription,
-                    auditLog.getLogMessageId(),
-                    auditLog.getSeverity(),
-                    auditLog.getFormattedLogMessage(),
-                    null,
-                    auditLog.getSystemAction(),
-                    auditLog.getUserAction());
+    /**
+     * Load the keyspaces that exist when the session is opened.  The driver only reports the changes made after
+     * that point so this is needed for the table changes to be published with the rest of their keyspace.
+     * The keyspaces are published unless the same state has already been published.
+     *
+     * @param keyspaces metadata of the keyspaces of the session
+     */
+    public void loadKeyspaces(Collection<KeyspaceMetadata> keyspaces) {
+        synchronized (changeLock) {
+            for (KeyspaceMetadata keyspaceMetadata : keyspaces) {
+                KeyspaceState keyspaceState = new KeyspaceState(keyspaceMetadata);
+                if (!isSystemKeyspace(keyspaceState.name)) {
+                    currentKeyspaces.put(keyspaceState.name, keyspaceState);
+                    recordChange(keyspaceState.name);
+                }
+            }
         }
+    }
 
+    @Override
+    public void onKeyspaceCreated(@NonNull KeyspaceMetadata keyspaceMetadata) {
+        updateKeyspace(keyspaceMetadata);
     }
 
     @Override
     public void onKeyspaceDropped(@NonNull KeyspaceMetadata keyspaceMetadata) {
+        String keyspaceName = keyspaceMetadata.getName().asInternal();
 
+        synchronized (changeLock) {
+            if (currentKeyspaces.remove(keyspaceName) != null) {
+                recordChange(keyspaceName);
+            }
+        }
     }
 
     @Override
     public void onKeyspaceUpdated(@NonNull KeyspaceMetadata keyspaceMetadata, @NonNull KeyspaceMetadata keyspaceMetadata1) {
-
+        updateKeyspace(keyspaceMetadata);
     }
 
     @Override
     public void onTableCreated(@NonNull TableMetadata tableMetadata) {
-
+        updateTable(tableMetadata);
     }
 
     @Override
     public void onTableDropped(@NonNull TableMetadata tableMetadata) {
+        String keyspaceName = tableMetadata.getKeyspace().asInternal();
 
+        synchronized (changeLock) {
+            KeyspaceState keyspaceState = currentKeyspaces.get(keyspaceName);
+            if (keyspaceState != null && keyspaceState.tables.remove(tableMetadata.getName().asInternal()) != null) {
+                recordChange(keyspaceName);
+            }
+        }
     }
 
     @Override
     public void onTableUpdated(@NonNull TableMetadata tableMetadata, @NonNull TableMetadata tableMetadata1) {
-
+        updateTable(tableMetadata);
     }
 
     @Override
@@ -148,53 +218,260 @@ public class CassandraMetadataListener implements SchemaChangeListener {
     }
 
     /**
-     * Closes this resource, relinquishing any underlying resources.
-     * This method is invoked automatically on objects managed by the
-     * {@code try}-with-resources statement.
-     *
-     * <p>While this interface method is declared to throw {@code
-     * Exception}, implementers are <em>strongly</em> encouraged to
-     * declare concrete implementations of the {@code close} method to
-     * throw more specific exceptions, or to throw no exception at all
-     * if the close operation cannot fail.
-     *
-     * <p> Cases where the close operation may fail require careful
-     * attention by implementers. It is strongly advised to relinquish
-     * the underlying resources and to internally <em>mark</em> the
-     * resource as closed, prior to throwing the exception. The {@code
-     * close} method is unlikely to be invoked more than once and so
-     * this ensures that the resources are released in a timely manner.
-     * Furthermore it reduces problems that could arise when the resource
-     * wraps, or is wrapped, by another resource.
-     *
-     * <p><em>Implementers of this interface are also strongly advised
-     * to not have the {@code close} method throw {@link
-     * InterruptedException}.</em>
-     * <p>
-     * This exception interacts with a thread's interrupted status,
-     * and runtime misbehavior is likely to occur if an {@code
-     * InterruptedException} is {@linkplain Throwable#addSuppressed
-     * suppressed}.
-     * <p>
-     * More generally, if it would cause problems for an
-     * exception to be suppressed, the {@code AutoCloseable.close}
-     * method should not throw it.
-     *
-     * <p>Note that unlike the {@link Closeable#close close}
-     * method of {@link Closeable}, this {@code close} method
-     * is <em>not</em> required to be idempotent.  In other words,
-     * calling this {@code close} method more than once may have some
-     * visible side effect, unlike {@code Closeable.close} which is
-     * required to have no effect if called more than once.
-     * <p>
-     * However, implementers of this interface are strongly encouraged
-     * to make their {@code close} methods idempotent.
-     *
-     * @throws Exception if this resource cannot be closed
+     * Publish the changes that are still waiting for their change window to end and stop listening for changes.
      */
     @Override
-    public void close() throws Exception {
+    public void close() {
+        synchronized (changeLock) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            if (scheduledPublish != null) {
+                scheduledPublish.cancel(false);
+                scheduledPublish = null;
+            }
+        }
+
+        publisher.execute(this::publishChanges);
+        publisher.shutdown();
+        try {
+            if (!publisher.awaitTermination(maxDelay, TimeUnit.MILLISECONDS)) {
+                log.warn("The Cassandra schema changes were not all published before the listener closed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Send the keyspaces that changed since the last publish to Data Platform OMAS.  A keyspace that failed to
+     * publish is sent again by the next publish, which happens after the maximum delay if no other change arrives.
+     */
+    void publishChanges() {
+        Map<String, KeyspaceState> changes = new LinkedHashMap<>();
+
+        synchronized (changeLock) {
+            if (scheduledPublish != null) {
+                scheduledPublish.cancel(false);
+                scheduledPublish = null;
+            }
+            firstPendingChange = 0;
+            for (String keyspaceName : changedKeyspaces) {
+                KeyspaceState keyspaceState = currentKeyspaces.get(keyspaceName);
+                changes.put(keyspaceName, keyspaceState == null ? null : keyspaceState.copy());
+            }
+            changedKeyspaces.clear();
+        }
+
+        List<String> failedKeyspaces = new ArrayList<>();
+        for (Map.Entry<String, KeyspaceState> change : changes.entrySet()) {
+            if (!publishKeyspace(change.getKey(), change.getValue())) {
+                failedKeyspaces.add(change.getKey());
+            }
+        }
 
+        if (!failedKeyspaces.isEmpty()) {
+            synchronized (changeLock) {
+                changedKeyspaces.addAll(failedKeyspaces);
+                if (!isClosed && scheduledPublish == null) {
+                    firstPendingChange = System.currentTimeMillis();
+                    scheduledPublish = publisher.schedule(this::publishChanges, maxDelay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
     }
 
-}
\ No newline at end of file
+    private boolean publishKeyspace(String keyspaceName, KeyspaceState keyspaceState) {
+        String actionDescription = "synchronizing Deployed Database Schema asset from Cassandra Keyspace";
+
+        if (Objects.equals(publishedKeyspaces.get(keyspaceName), keyspaceState)) {
+            return true;
+        }
+
+        if (keyspaceState == null) {
+            /* Data Platform OMAS has no operation to remove a deployed database schema */
+            log.info("Cassandra keyspace {} has been dropped", keyspaceName);
+            publishedKeyspaces.remove(keyspaceName);
+            return true;
+        }
+
+        try {
+            dataPlatformClient.createDeployedDatabaseSchema(userId, getDeployedDatabaseSchema(keyspaceState));
+            publishedKeyspaces.put(keyspaceName, keyspaceState);
+            log.info("Cassandra keyspace {} has been synchronized with {} tables", keyspaceName, keyspaceState.tables.size());
+            return true;
+        } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException e) {
+            log.error("Cassandra keyspace {} could not be synchronized", keyspaceName, e);
+            if (omrsAuditLog != null) {
+                auditLog = CassandraMetadataExtractorAuditCode.CONNECTOR_SYNCHRONIZING_KEYSPACE_ERROR;
+                omrsAuditLog.logRecord(
+                        actionDescription,
+                        auditLog.getLogMessageId(),
+                        auditLog.getSeverity(),
+                        auditLog.getFormattedLogMessage(keyspaceName, e.getMessage()),
+                        null,
+                        auditLog.getSystemAction(),
+                        auditLog.getUserAction());
+            }
+            return false;
+        }
+    }
+
+    private void updateKeyspace(KeyspaceMetadata keyspaceMetadata) {
+        KeyspaceState keyspaceState = new KeyspaceState(keyspaceMetadata);
+
+        if (isSystemKeyspace(keyspaceState.name)) {
+            return;
+        }
+
+        synchronized (changeLock) {
+            currentKeyspaces.put(keyspaceState.name, keyspaceState);
+            recordChange(keyspaceState.name);
+        }
+    }
+
+    private void updateTable(TableMetadata tableMetadata) {
+        String keyspaceName = tableMetadata.getKeyspace().asInternal();
+
+        if (isSystemKeyspace(keyspaceName)) {
+            return;
+        }
+
+        synchronized (changeLock) {
+            currentKeyspaces.computeIfAbsent(keyspaceName, KeyspaceState::new)
+                    .tables.put(tableMetadata.getName().asInternal(), getColumns(tableMetadata));
+            recordChange(keyspaceName);
+        }
+    }
+
+    /**
+     * Mark a keyspace as changed and move the publish to the end of the change window, unless the changes have
+     * already waited for the maximum delay.  Must be called holding the change lock.
+     *
+     * @param keyspaceName name of the keyspace
+     */
+    private void recordChange(String keyspaceName) {
+        if (isClosed) {
+            return;
+        }
+
+        changedKeyspaces.add(keyspaceName);
+
+        long now = System.currentTimeMillis();
+        if (firstPendingChange == 0) {
+            firstPendingChange = now;
+        }
+
+        long delay = Math.min(changeWindow, firstPendingChange + maxDelay - now);
+        if (scheduledPublish != null) {
+            if (delay <= 0) {
+                return;
+            }
+            scheduledPublish.cancel(false);
+        }
+        scheduledPublish = publisher.schedule(this::publishChanges, Math.max(delay, 0), TimeUnit.MILLISECONDS);
+    }
+
+    private DeployedDatabaseSchema getDeployedDatabaseSchema(KeyspaceState keyspaceState) {
+        String keyspaceQualifiedName = CqlIdentifier.fromInternal(keyspaceState.name).asCql(true);
+
+        List<TabularSchema> tabularSchemas = new ArrayList<>();
+        for (Map.Entry<String, Map<String, String>> table : keyspaceState.tables.entrySet()) {
+            String tableQualifiedName = keyspaceQualifiedName + "." + CqlIdentifier.fromInternal(table.getKey()).asCql(true);
+
+            List<TabularColumn> tabularColumns = new ArrayList<>();
+            for (Map.Entry<String, String> column : table.getValue().entrySet()) {
+                TabularColumn tabularColumn = new TabularColumn();
+                tabularColumn.setName(column.getKey());
+                tabularColumn.setType(column.getValue());
+                tabularColumn.setQualifiedName(tableQualifiedName + "." + CqlIdentifier.fromInternal(column.getKey()).asCql(true));
+                tabularColumn.setGuid(getGuid(tabularColumn.getQualifiedName()));
+                tabularColumns.add(tabularColumn);
+            }
+
+            TabularSchema tabularSchema = new TabularSchema();
+            tabularSchema.setName(table.getKey());
+            tabularSchema.setDisplayName(table.getKey());
+            tabularSchema.setQualifiedName(tableQualifiedName);
+            tabularSchema.setGuid(getGuid(tableQualifiedName));
+            tabularSchema.setTabularColumns(tabularColumns);
+            tabularSchemas.add(tabularSchema);
+        }
+
+        DeployedDatabaseSchema deployedDatabaseSchema = new DeployedDatabaseSchema();
+        deployedDatabaseSchema.setName(keyspaceState.name);
+        deployedDatabaseSchema.setQualifiedName(keyspaceQualifiedName);
+        deployedDatabaseSchema.setGuid(getGuid(keyspaceQualifiedName));
+        deployedDatabaseSchema.setDisplayName(keyspaceState.name);
+        deployedDatabaseSchema.setAdditionalProperties(keyspaceState.replication);
+        deployedDatabaseSchema.setTabularSchemaList(tabularSchemas);
+        return deployedDatabaseSchema;
+    }
+
+    private static Map<String, String> getColumns(TableMetadata tableMetadata) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (ColumnMetadata columnMetadata : tableMetadata.getColumns().values()) {
+            columns.put(columnMetadata.getName().asInternal(), columnMetadata.getType().asCql(true, true));
+        }
+        return columns;
+    }
+
+    private static String getGuid(String qualifiedName) {
+        return UUID.nameUUIDFromBytes(qualifiedName.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static boolean isSystemKeyspace(String keyspaceName) {
+        return SYSTEM_KEYSPACES.contains(keyspaceName);
+    }
+
+    /**
+     * Tables and column types of a keyspace, keyed by their internal names.
+     */
+    private static class KeyspaceState {
+
+        private final String name;
+        private final Map<String, String> replication;
+        private final Map<String, Map<String, String>> tables;
+
+        KeyspaceState(String name) {
+            this(name, null, new TreeMap<>());
+        }
+
+        KeyspaceState(KeyspaceMetadata keyspaceMetadata) {
+            this(keyspaceMetadata.getName().asInternal(), new TreeMap<>(keyspaceMetadata.getReplication()), new TreeMap<>());
+            for (TableMetadata tableMetadata : keyspaceMetadata.getTables().values()) {
+                tables.put(tableMetadata.getName().asInternal(), getColumns(tableMetadata));
+            }
+        }
+
+        private KeyspaceState(String name, Map<String, String> replication, Map<String, Map<String, String>> tables) {
+            this.name = name;
+            this.replication = replication;
+            this.tables = tables;
+        }
+
+        KeyspaceState copy() {
+            return new KeyspaceState(name, replication, new TreeMap<>(tables));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            KeyspaceState that = (KeyspaceState) o;
+            return Objects.equals(name, that.name) &&
+                    Objects.equals(replication, that.replication) &&
+                    Objects.equals(tables, that.tables);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, replication, tables);
+        }
+    }
+}
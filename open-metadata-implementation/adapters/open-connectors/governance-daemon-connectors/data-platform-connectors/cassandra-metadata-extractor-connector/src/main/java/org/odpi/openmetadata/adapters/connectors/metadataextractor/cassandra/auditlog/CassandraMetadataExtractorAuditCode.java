@@ -69,6 +69,11 @@ public enum CassandraMetadataExtractorAuditCode {
             "The Cassandra metadata change listener has been registered",
             "The metadata change from Cassandra data store will be listened.",
             "No action is required.  This is part of the normal operation of the service."),
+    CONNECTOR_SYNCHRONIZING_KEYSPACE_ERROR("CASSANDRA-METADATA-EXTRACTOR-CONNECTOR-0011",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "The Cassandra keyspace {0} could not be synchronized to Data Platform OMAS: {1}",
+            "The keyspace will be sent again with the next publish of schema changes.",
+            "Check that Data Platform OMAS is available and that the user of the connector is authorized to use it."),
     ;
     
     
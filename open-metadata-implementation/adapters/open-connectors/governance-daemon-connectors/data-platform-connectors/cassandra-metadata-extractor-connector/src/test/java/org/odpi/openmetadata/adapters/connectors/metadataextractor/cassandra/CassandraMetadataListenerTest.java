@@ -0,0 +1,185 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.metadataextractor.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultColumnMetadata;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultKeyspaceMetadata;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultTableMetadata;
+import org.odpi.openmetadata.accessservices.dataplatform.client.DataPlatformClient;
+import org.odpi.openmetadata.accessservices.dataplatform.properties.DeployedDatabaseSchema;
+import org.odpi.openmetadata.accessservices.dataplatform.properties.TabularSchema;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * CassandraMetadataListenerTest validates the schema updates sent to Data Platform OMAS for the schema changes
+ * reported by the Cassandra driver, using metadata objects built by the test.
+ */
+public class CassandraMetadataListenerTest {
+
+    private static final long LONG_WINDOW = TimeUnit.MINUTES.toMillis(10);
+
+    private RecordingDataPlatformClient dataPlatformClient;
+
+    @BeforeMethod
+    public void setUp() throws InvalidParameterException {
+        dataPlatformClient = new RecordingDataPlatformClient();
+    }
+
+    /**
+     * Validate that a burst of table changes is sent as one update of the keyspace.
+     */
+    @Test
+    public void testBurstOfChangesPublishedOnce() {
+        CassandraMetadataListener listener = new CassandraMetadataListener(dataPlatformClient, "user", null, LONG_WINDOW);
+
+        listener.onKeyspaceCreated(getKeyspace("sales"));
+        for (int i = 0; i < 500; i++) {
+            listener.onTableCreated(getTable("sales", "table" + i, "id", "name"));
+        }
+        listener.close();
+
+        assertEquals(dataPlatformClient.schemas.size(), 1);
+
+        DeployedDatabaseSchema schema = dataPlatformClient.schemas.get(0);
+        assertEquals(schema.getName(), "sales");
+        assertEquals(schema.getTabularSchemaList().size(), 500);
+
+        TabularSchema tabularSchema = schema.getTabularSchemaList().get(0);
+        assertEquals(tabularSchema.getQualifiedName(), "sales.table0");
+        assertEquals(tabularSchema.getTabularColumns().size(), 2);
+        assertEquals(tabularSchema.getTabularColumns().get(0).getQualifiedName(), "sales.table0.id");
+        assertEquals(tabularSchema.getTabularColumns().get(0).getType(), "text");
+    }
+
+    /**
+     * Validate that only the keyspaces that differ from the last published state are sent.
+     */
+    @Test
+    public void testOnlyChangedKeyspacesPublished() {
+        CassandraMetadataListener listener = new CassandraMetadataListener(dataPlatformClient, "user", null, LONG_WINDOW);
+
+        listener.loadKeyspaces(Arrays.asList(getKeyspace("sales", getTable("sales", "orders", "id")),
+                                             getKeyspace("hr", getTable("hr", "people", "id")),
+                                             getKeyspace("system_schema", getTable("system_schema", "tables", "id")),
+                                             getKeyspace("systems_x", getTable("systems_x", "hosts", "id"))));
+        listener.publishChanges();
+
+        assertEquals(dataPlatformClient.schemas.size(), 3);
+        assertTrue(dataPlatformClient.schemas.stream().anyMatch(schema -> schema.getName().equals("systems_x")));
+        assertTrue(dataPlatformClient.schemas.stream().noneMatch(schema -> schema.getName().equals("system_schema")));
+
+        dataPlatformClient.schemas.clear();
+        listener.onTableUpdated(getTable("sales", "orders", "id"), getTable("sales", "orders", "id"));
+        listener.onTableUpdated(getTable("hr", "people", "id", "email"), getTable("hr", "people", "id"));
+        listener.close();
+
+        assertEquals(dataPlatformClient.schemas.size(), 1);
+
+        DeployedDatabaseSchema schema = dataPlatformClient.schemas.get(0);
+        assertEquals(schema.getName(), "hr");
+        assertEquals(schema.getTabularSchemaList().get(0).getTabularColumns().size(), 2);
+    }
+
+    /**
+     * Validate that a dropped table is removed from the next update of its keyspace.
+     */
+    @Test
+    public void testDroppedTableRemoved() {
+        CassandraMetadataListener listener = new CassandraMetadataListener(dataPlatformClient, "user", null, LONG_WINDOW);
+
+        TableMetadata orders = getTable("sales", "orders", "id");
+        listener.onKeyspaceCreated(getKeyspace("sales", orders, getTable("sales", "customers", "id")));
+        listener.publishChanges();
+
+        listener.onTableDropped(orders);
+        listener.close();
+
+        assertEquals(dataPlatformClient.schemas.size(), 2);
+        assertEquals(dataPlatformClient.schemas.get(1).getTabularSchemaList().size(), 1);
+        assertEquals(dataPlatformClient.schemas.get(1).getTabularSchemaList().get(0).getName(), "customers");
+    }
+
+    /**
+     * Validate that the changes are published once the change window has passed without further changes.
+     *
+     * @throws InterruptedException interrupted while waiting
+     */
+    @Test
+    public void testChangesPublishedAfterWindow() throws InterruptedException {
+        CassandraMetadataListener listener = new CassandraMetadataListener(dataPlatformClient, "user", null, 100);
+
+        listener.onKeyspaceCreated(getKeyspace("sales"));
+        listener.onTableCreated(getTable("sales", "orders", "id"));
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (dataPlatformClient.schemas.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(dataPlatformClient.schemas.size(), 1);
+        assertTrue(dataPlatformClient.schemas.get(0).getTabularSchemaList().size() == 1);
+        listener.close();
+        assertEquals(dataPlatformClient.schemas.size(), 1);
+    }
+
+    private KeyspaceMetadata getKeyspace(String keyspaceName, TableMetadata... tables) {
+        Map<CqlIdentifier, TableMetadata> tableMap = new LinkedHashMap<>();
+        for (TableMetadata table : tables) {
+            tableMap.put(table.getName(), table);
+        }
+
+        return new DefaultKeyspaceMetadata(CqlIdentifier.fromInternal(keyspaceName), true, false,
+                Collections.singletonMap("class", "SimpleStrategy"), Collections.emptyMap(), tableMap,
+                Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    private TableMetadata getTable(String keyspaceName, String tableName, String... columnNames) {
+        CqlIdentifier keyspace = CqlIdentifier.fromInternal(keyspaceName);
+        CqlIdentifier table = CqlIdentifier.fromInternal(tableName);
+
+        Map<CqlIdentifier, ColumnMetadata> columns = new LinkedHashMap<>();
+        for (String columnName : columnNames) {
+            DataType type = DataTypes.TEXT;
+            columns.put(CqlIdentifier.fromInternal(columnName),
+                    new DefaultColumnMetadata(keyspace, table, CqlIdentifier.fromInternal(columnName), type, false));
+        }
+        List<ColumnMetadata> partitionKey = Collections.singletonList(columns.values().iterator().next());
+
+        return new DefaultTableMetadata(keyspace, table, UUID.randomUUID(), false, false, partitionKey,
+                Collections.emptyMap(), columns, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * RecordingDataPlatformClient keeps the deployed database schemas it is sent instead of calling the server.
+     */
+    private static class RecordingDataPlatformClient extends DataPlatformClient {
+
+        private final List<DeployedDatabaseSchema> schemas = new CopyOnWriteArrayList<>();
+
+        RecordingDataPlatformClient() throws InvalidParameterException {
+            super("test", "https://localhost:9443");
+        }
+
+        @Override
+        public org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse createDeployedDatabaseSchema(
+                String userId, DeployedDatabaseSchema deployedDatabaseSchema) {
+            schemas.add(deployedDatabaseSchema);
+            return null;
+        }
+    }
+}
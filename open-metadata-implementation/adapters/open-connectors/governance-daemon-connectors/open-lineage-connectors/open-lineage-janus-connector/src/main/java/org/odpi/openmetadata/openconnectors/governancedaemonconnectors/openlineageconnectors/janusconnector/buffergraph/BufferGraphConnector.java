@@ -15,29 +15,95 @@ import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperti
 import org.odpi.openmetadata.governanceservers.openlineage.buffergraph.BufferGraphConnectorBase;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.factory.GraphFactory;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph.MainGraphVersion;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.JanusConnectorErrorCode;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.model.ffdc.JanusConnectorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.*;
 
+/**
+ * The buffer graph keeps the lineage entities as they arrive from Asset Lineage OMAS. The processes that are
+ * affected by each event are remembered, and the scheduler task moves only those processes to the main graph,
+ * in transactions of processingBatchSize processes. The move starts when a full batch is waiting or when the
+ * oldest change has waited processingMaxDelaySeconds, both of which can be set in the configuration properties
+ * of the connection. A process that can not be moved is retried after a delay that doubles with each attempt, and
+ * is given up after processingMaxAttempts attempts until it changes again.
+ */
 public class BufferGraphConnector extends BufferGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(BufferGraphConnector.class);
+
+    private static final String PROCESSING_BATCH_SIZE = "processingBatchSize";
+    private static final String PROCESSING_MAX_DELAY_SECONDS = "processingMaxDelaySeconds";
+    private static final int DEFAULT_PROCESSING_BATCH_SIZE = 50;
+    private static final int DEFAULT_PROCESSING_MAX_DELAY_SECONDS = 5;
+    private static final String PROCESSING_MAX_ATTEMPTS = "processingMaxAttempts";
+    private static final int DEFAULT_PROCESSING_MAX_ATTEMPTS = 5;
+
+    private static final String PROCESS = "Process";
+
+    //longest path from a changed vertex to a process: DataFile, schema type, column, lineage mapped column,
+    //schema type, port implementation, port and process
+    private static final int PROCESS_SEARCH_DEPTH = 8;
+    private static final String[] PROCESS_SEARCH_EDGES = {"ProcessPort", "PortDelegation", "PortSchema",
+            "AttributeForSchema", "LineageMapping", "NestedSchemaAttribute", "AssetSchemaType"};
+
     private JanusGraph bufferGraph;
     private GraphVertexMapper graphVertexMapper = new GraphVertexMapper();
     private JanusGraph mainGraph;
+    private MainGraphMapper mainGraphMapper;
+    private MainGraphVersion mainGraphVersion;
+
+    private final Set<String> changedProcesses = ConcurrentHashMap.newKeySet();
+    private final AtomicLong firstChangeTime = new AtomicLong(0);
+    private volatile boolean rebuildRequested = false;
+    private int processingBatchSize = DEFAULT_PROCESSING_BATCH_SIZE;
+    private long processingMaxDelay = TimeUnit.SECONDS.toMillis(DEFAULT_PROCESSING_MAX_DELAY_SECONDS);
+    private int processingMaxAttempts = DEFAULT_PROCESSING_MAX_ATTEMPTS;
+
+    //failed attempts of the processes that could not be moved, and the time of the next attempt of those waiting for it
+    private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final Map<String, Long> retryTimes = new ConcurrentHashMap<>();
+
 
+    public BufferGraphConnector() {
+    }
+
+    /**
+     * Creates the connector with graphs that are already open, used by the tests.
+     *
+     */
+    BufferGraphConnector(JanusGraph bufferGraph, JanusGraph mainGraph, int processingBatchSize, long processingMaxDelay,
+                         int processingMaxAttempts) {
+        this.bufferGraph = bufferGraph;
+        this.processingBatchSize = processingBatchSize;
+        this.processingMaxDelay = processingMaxDelay;
+        this.processingMaxAttempts = processingMaxAttempts;
+        setMainGraph(mainGraph);
+    }
 
     public void initializeGraphDB() throws OpenLineageException {
-        String graphDB = connectionProperties.getConfigurationProperties().get("graphDB").toString();
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        String graphDB = configurationProperties.get("graphDB").toString();
+
+        processingBatchSize = getPositiveInteger(configurationProperties, PROCESSING_BATCH_SIZE, DEFAULT_PROCESSING_BATCH_SIZE);
+        processingMaxDelay = TimeUnit.SECONDS.toMillis(
+                getPositiveInteger(configurationProperties, PROCESSING_MAX_DELAY_SECONDS, DEFAULT_PROCESSING_MAX_DELAY_SECONDS));
+        processingMaxAttempts = getPositiveInteger(configurationProperties, PROCESSING_MAX_ATTEMPTS, DEFAULT_PROCESSING_MAX_ATTEMPTS);
+
         GraphFactory graphFactory = new GraphFactory();
         try {
             this.bufferGraph = graphFactory.openGraph(graphDB, connectionProperties);
@@ -59,24 +125,196 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
     @Override
     public void setMainGraph(Object mainGraph) {
         this.mainGraph = (JanusGraph) mainGraph;
+        this.mainGraphVersion = MainGraphVersion.getInstance(this.mainGraph);
     }
 
 
+    /**
+     * Returns a positive integer from the configuration properties, or the default value if it is not set.
+     *
+     */
+    private int getPositiveInteger(Map<String, Object> configurationProperties, String propertyName, int defaultValue) {
+        Object value = configurationProperties.get(propertyName);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            int intValue = Integer.parseInt(value.toString());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Invalid value {} for {}", value, propertyName);
+        }
+        log.error("Configuration property {} must be a positive integer, using {}", propertyName, defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Moves the changed processes to the main graph when a full batch is waiting or the oldest change has
+     * waited long enough. Each batch is committed in one transaction. If a batch fails, its processes are
+     * retried one by one so that a single bad process does not hold back the rest. The processes that still
+     * fail are marked as changed again once their retry delay has passed.
+     *
+     */
     @Override
     public void schedulerTask(){
+        markRetriesDue();
+        if (!isProcessingDue()) {
+            return;
+        }
+
+        rebuildRequested = false;
+        firstChangeTime.set(0);
+        long versionBefore = mainGraphVersion.get();
+
+        List<String> batch = new ArrayList<>(processingBatchSize);
+        Iterator<String> iterator = changedProcesses.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+
+            if (batch.size() == processingBatchSize) {
+                processBatch(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            processBatch(batch);
+        }
+
+        //lets the main graph connector refresh its lineage cache, on this thread and after all the commits
+        if (mainGraphVersion.get() != versionBefore) {
+            mainGraphVersion.mappingRunCompleted();
+        }
+    }
+
+    /**
+     * Marks every process in the buffer graph as changed so that the next run of the scheduler task
+     * moves all of them to the main graph.
+     *
+     */
+    @Override
+    public void rebuildMainGraph(){
         GraphTraversalSource g = bufferGraph.traversal();
         try {
-            List<Vertex> vertices = g.V().has(PROPERTY_KEY_LABEL, "Process").toList();
+            List<Object> processGuids = g.V().has(PROPERTY_KEY_LABEL, PROCESS).values(PROPERTY_KEY_ENTITY_GUID).toList();
+            g.tx().rollback();
 
-            List<String> guidList = vertices.stream().map(v -> (String) v.property(PROPERTY_KEY_ENTITY_GUID).value()).collect(Collectors.toList());
+            processGuids.forEach(guid -> markProcessChanged(guid.toString()));
+            rebuildRequested = true;
+            log.info("Rebuild of the main graph requested for {} processes", processGuids.size());
+        }catch (Exception e){
+            log.error("Could not find the processes to rebuild the main graph", e);
+            g.tx().rollback();
+        }
+    }
+
+    private boolean isProcessingDue(){
+        if (changedProcesses.isEmpty()) {
+            return false;
+        }
 
-            guidList.stream().forEach(process -> findInputColumns(g,process));
+        long firstChange = firstChangeTime.get();
+        return rebuildRequested
+                || changedProcesses.size() >= processingBatchSize
+                || (firstChange != 0 && System.currentTimeMillis() - firstChange >= processingMaxDelay);
+    }
+
+    /**
+     * Marks a process as changed. A change may fix a process that could not be moved, so its failed attempts
+     * are forgotten and it is moved with the next batch instead of waiting for its retry.
+     *
+     */
+    private void markProcessChanged(String processGuid){
+        failedAttempts.remove(processGuid);
+        retryTimes.remove(processGuid);
+        addChangedProcess(processGuid);
+    }
+
+    private void addChangedProcess(String processGuid){
+        changedProcesses.add(processGuid);
+        firstChangeTime.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    private void markRetriesDue(){
+        long now = System.currentTimeMillis();
+        retryTimes.forEach((processGuid, retryTime) -> {
+            if (retryTime <= now && retryTimes.remove(processGuid, retryTime)) {
+                addChangedProcess(processGuid);
+            }
+        });
+    }
+
+    /**
+     * Waits twice as long before each new attempt. After processingMaxAttempts attempts the process is given up
+     * and reported once, it is moved again only when it changes or the main graph is rebuilt.
+     *
+     */
+    private void processFailed(String processGuid, Exception error){
+        int attempts = failedAttempts.merge(processGuid, 1, Integer::sum);
+        if (attempts >= processingMaxAttempts) {
+            failedAttempts.remove(processGuid);
+            log.error("Process {} could not be moved to the main graph after {} attempts, it will not be retried until it changes",
+                    processGuid, attempts, error);
+            return;
+        }
+
+        long retryDelay = processingMaxDelay << Math.min(attempts - 1, 20);
+        retryTimes.put(processGuid, System.currentTimeMillis() + retryDelay);
+        log.debug("Process {} could not be moved to the main graph, attempt {} of {}, it will be retried in {} ms",
+                processGuid, attempts, processingMaxAttempts, retryDelay, error);
+    }
+
+    /**
+     * Returns the processes waiting to be moved to the main graph.
+     *
+     */
+    Set<String> getChangedProcesses(){
+        return Collections.unmodifiableSet(changedProcesses);
+    }
+
+    /**
+     * Returns the processes waiting for their retry delay to pass.
+     *
+     */
+    Set<String> getRetryProcesses(){
+        return Collections.unmodifiableSet(retryTimes.keySet());
+    }
+
+    private void processBatch(List<String> processGuids){
+        GraphTraversalSource g = bufferGraph.traversal();
+        MainGraphMapper mapper = getMainGraphMapper();
+        mapper.resetMainGraphChanged();
+        try {
+            processGuids.forEach(process -> findInputColumns(g, process));
+            mainGraph.tx().commit();
             g.tx().commit();
+
+            if (mapper.isMainGraphChanged()) {
+                mainGraphVersion.increment();
+            }
+            processGuids.forEach(failedAttempts::remove);
         }catch (Exception e){
-            log.debug(e.getMessage());
+            mainGraph.tx().rollback();
             g.tx().rollback();
+
+            if (processGuids.size() > 1) {
+                log.debug("Batch of {} processes failed, retrying them one by one", processGuids.size(), e);
+                processGuids.forEach(process -> processBatch(Collections.singletonList(process)));
+            } else {
+                processFailed(processGuids.get(0), e);
+            }
         }
+    }
 
+    private MainGraphMapper getMainGraphMapper(){
+        if (mainGraphMapper == null) {
+            mainGraphMapper = new MainGraphMapper(bufferGraph, mainGraph);
+        }
+        return mainGraphMapper;
     }
 
     private void findInputColumns(GraphTraversalSource g,String guid){
@@ -86,7 +324,12 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
                 .has("PortImplementation", PROPERTY_KEY_PREFIX_INSTANCE_PROPERTY, "INPUT_PORT")
                 .out("PortSchema").in("AttributeForSchema").out("LineageMapping").toList();
 
-        Vertex process = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+        Iterator<Vertex> processIt = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid);
+        if (!processIt.hasNext()) {
+            log.debug("Process {} is no longer in the buffer graph", guid);
+            return;
+        }
+        Vertex process = processIt.next();
         inputPath.stream().forEach(columnIn ->
                     findOutputColumn(g, columnIn, process));
 //        inputPath.parallelStream().forEach(columnIn -> findOutputColumn(g,columnIn,process));
@@ -136,8 +379,7 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
             String columnOutGuid = columnOut.next().values(PROPERTY_KEY_ENTITY_GUID).next().toString();
             String columnInGuid = columnIn.values(PROPERTY_KEY_ENTITY_GUID).next().toString();
             if (!columnOutGuid.isEmpty() && !columnInGuid.isEmpty()) {
-                MainGraphMapper mainGraphMapper = new MainGraphMapper(bufferGraph,mainGraph);
-                mainGraphMapper.checkBufferGraph(columnInGuid,columnOutGuid,process);
+                getMainGraphMapper().checkBufferGraph(columnInGuid,columnOutGuid,process);
             }
         }
     }
@@ -163,21 +405,54 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
                 }
         );
 
+        Set<Object> changedVertexIds = new HashSet<>();
         verticesToBeAdded.stream().forEach(entry -> {
             try {
-                addVerticesAndRelationship(g, entry);
+                addVerticesAndRelationship(g, entry, changedVertexIds);
             } catch (JanusConnectorException e) {
                 log.error("An exception occured", e);
             }
         });
+
+        markAffectedProcesses(g, changedVertexIds);
+    }
+
+    /**
+     * Remembers the processes whose lineage may have changed because of the new vertices and edges, by following
+     * the edges that the scheduler task uses to go from a process to its columns and tables.
+     *
+     */
+    private void markAffectedProcesses(GraphTraversalSource g, Set<Object> changedVertexIds){
+        if (changedVertexIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<Object> processGuids = g.V(changedVertexIds.toArray())
+                    .emit()
+                    .repeat(__.both(PROCESS_SEARCH_EDGES).dedup())
+                    .times(PROCESS_SEARCH_DEPTH)
+                    .has(PROPERTY_KEY_LABEL, PROCESS)
+                    .dedup()
+                    .values(PROPERTY_KEY_ENTITY_GUID)
+                    .toList();
+            g.tx().rollback();
+
+            processGuids.forEach(guid -> markProcessChanged(guid.toString()));
+        }catch (Exception e){
+            log.error("Could not find the processes affected by the lineage event", e);
+            g.tx().rollback();
+        }
     }
 
-    private void addVerticesAndRelationship(GraphTraversalSource g, GraphContext nodeToNode)  throws JanusConnectorException{
+    private void addVerticesAndRelationship(GraphTraversalSource g, GraphContext nodeToNode, Set<Object> changedVertexIds)  throws JanusConnectorException{
         LineageEntity fromEntity = nodeToNode.getFromVertex();
         LineageEntity toEntity = nodeToNode.getToVertex();
 
         Vertex vertexFrom = addVertex(g,fromEntity);
         Vertex vertexTo = addVertex(g,toEntity);
+        changedVertexIds.add(vertexFrom.id());
+        changedVertexIds.add(vertexTo.id());
 
         //add check gia null vertex
         addRelationship(nodeToNode.getRelationshipGuid(),nodeToNode.getRelationshipType(),vertexFrom,vertexTo);
@@ -24,6 +24,7 @@ public class MainGraphMapper {
 
     private JanusGraph bufferGraph;
     private JanusGraph mainGraph;
+    private boolean mainGraphChanged = false;
 
     public MainGraphMapper(){}
 
@@ -33,29 +34,32 @@ public class MainGraphMapper {
     }
 
     /**
-     * Check bufferGraph if columns related to the process exist
+     * Returns whether lineage has been added to the main graph since the last call to resetMainGraphChanged.
+     *
+     * @return true if the main graph has uncommitted or newly committed changes
+     */
+    public boolean isMainGraphChanged() {
+        return mainGraphChanged;
+    }
+
+    public void resetMainGraphChanged() {
+        mainGraphChanged = false;
+    }
+
+    /**
+     * Check bufferGraph if columns related to the process exist. The changes are not committed here,
+     * the caller commits or rolls back the transactions of both graphs for a whole batch of processes.
      *
      * @param columnInGuid  - unique id for starting column
      * @param columnOutGuid - unique id for end column
      */
     public void checkBufferGraph(String columnInGuid,String columnOutGuid,Vertex process){
+        GraphTraversalSource bufferG = bufferGraph.traversal();
 
-        try {
-            GraphTraversalSource bufferG = bufferGraph.traversal();
-
-            Vertex columnInVertex = bufferG.V().has(PROPERTY_KEY_ENTITY_GUID, columnInGuid).next();
-            Vertex columnOutVertex = bufferG.V().has(PROPERTY_KEY_ENTITY_GUID, columnOutGuid).next();
-            bufferGraph.tx().commit();
-
-            checkMainGraph(columnInVertex,columnOutVertex,process);
-
-        }catch (Exception e){
-
-            log.error("Something went wrong during the Janus transaction",e.getMessage());
-            //TODO throw  exception
-            bufferGraph.tx().rollback();
+        Vertex columnInVertex = bufferG.V().has(PROPERTY_KEY_ENTITY_GUID, columnInGuid).next();
+        Vertex columnOutVertex = bufferG.V().has(PROPERTY_KEY_ENTITY_GUID, columnOutGuid).next();
 
-        }
+        checkMainGraph(columnInVertex,columnOutVertex,process);
     }
 
     /**
@@ -82,8 +86,6 @@ public class MainGraphMapper {
             if (!columnOut.hasNext()) {
                 newColumnOut = checkAssetVertex(mainG, bufferG, columnOutVertex);
             }
-            mainG.tx().commit();
-            bufferG.tx().commit();
 
             if (newColumnIn == null) {
                 newColumnIn = columnIn.next();
@@ -96,6 +98,7 @@ public class MainGraphMapper {
         }
 
     private Vertex checkAssetVertex(GraphTraversalSource mainG,GraphTraversalSource bufferG,Vertex originalVertex){
+        mainGraphChanged = true;
         Vertex newColumn = mainG.addV(NODE_LABEL_COLUMN)
                 .property(PROPERTY_KEY_ENTITY_NODE_ID,
                         originalVertex.property(PROPERTY_KEY_ENTITY_GUID).value())
@@ -203,6 +206,7 @@ public class MainGraphMapper {
         }
 
         if(columnInVertex != null && columnOutVertex != null) {
+            mainGraphChanged = true;
             Vertex subProcess = mainG.addV(NODE_LABEL_SUB_PROCESS)
                     .property(PROPERTY_KEY_ENTITY_NODE_ID, UUID.randomUUID().toString())
                     .property(PROPERTY_KEY_ENTITY_GUID, processGuid)
@@ -216,7 +220,6 @@ public class MainGraphMapper {
             if(processTopLevel.hasNext()){
                 Vertex mainProcess  = processTopLevel.next();
                 subProcess.addEdge(EDGE_LABEL_SUBPROCESS_TO_PROCESS,mainProcess);
-                mainG.tx().commit();
 
                 addTableNode(columnInVertex,columnOutVertex,mainProcess);
 
@@ -228,13 +231,10 @@ public class MainGraphMapper {
                 mainProcess.property(PROPERTY_KEY_DISPLAY_NAME, processName);
                 subProcess.addEdge(EDGE_LABEL_SUBPROCESS_TO_PROCESS,mainProcess);
 
-                mainG.tx().commit();
-
                 addTableNode(columnInVertex,columnOutVertex,mainProcess);
             }
         }else{
             log.debug("Process failed");
-            mainG.tx().rollback();
         }
     }
 
@@ -243,32 +243,31 @@ public class MainGraphMapper {
         GraphTraversalSource mainG = mainGraph.traversal();
 
 
-        Vertex tableIn = getTable(bufferG,mainG,columnInVertex);
-        Vertex tableOut = getTable(bufferG,mainG,columnOutVertex);
+        Vertex tableInBuffer = findBufferTable(bufferG,columnInVertex);
+        Vertex tableOutBuffer = findBufferTable(bufferG,columnOutVertex);
 
-        if (tableIn == null || tableOut == null){
-            bufferG.tx().rollback();
-            mainG.tx().rollback();
+        if (tableInBuffer == null || tableOutBuffer == null){
             return;
         }
 
+        Vertex tableIn = getTable(mainG,tableInBuffer);
+        Vertex tableOut = getTable(mainG,tableOutBuffer);
+
         addTableRelationships(bufferG,mainG,tableIn,process,columnInVertex);
         addTableRelationships(bufferG,mainG,tableOut,process,columnOutVertex);
-
-        bufferG.tx().commit();
-        mainG.tx().commit();
     }
 
-    private Vertex getTable(GraphTraversalSource bufferG,GraphTraversalSource mainG,Vertex asset){
+    private Vertex findBufferTable(GraphTraversalSource bufferG,Vertex asset){
         Iterator<Vertex> table = bufferG.V().has(PROPERTY_KEY_ENTITY_GUID,asset.property(PROPERTY_KEY_ENTITY_GUID).value())
                 .emit().repeat(bothE().otherV().simplePath()).times(2).or(hasLabel(RELATIONAL_TABLE),hasLabel(DATA_FILE));
 
-
         if (!table.hasNext()){
             return null;
         }
+        return table.next();
+    }
 
-        Vertex tableBuffer = table.next();
+    private Vertex getTable(GraphTraversalSource mainG,Vertex tableBuffer){
         Iterator<Vertex> tableVertex = mainG.V().has(PROPERTY_KEY_ENTITY_NODE_ID,tableBuffer.property(PROPERTY_KEY_ENTITY_GUID).value());
         if (!tableVertex.hasNext()) {
             Vertex newTable = mainG.addV(NODE_LABEL_TABLE)
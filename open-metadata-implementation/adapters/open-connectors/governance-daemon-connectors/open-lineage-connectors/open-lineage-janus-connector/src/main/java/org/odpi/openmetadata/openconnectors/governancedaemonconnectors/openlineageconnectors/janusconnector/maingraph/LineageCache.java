@@ -0,0 +1,274 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
+
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+import org.odpi.openmetadata.governanceservers.openlineage.model.View;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of lineage responses, keyed by scope, view, queried node and whether processes are included.
+ * The size of the cache is the total number of vertices and edges of the cached responses, and the least recently
+ * used responses are removed when it is full. Each response remembers the main graph version it was built from and
+ * is not returned once the main graph has changed. The cache also counts how often each lineage is requested so
+ * that the most popular ones can be built again after the main graph changes.
+ */
+public class LineageCache {
+
+    private static final int MAX_TRACKED_REQUESTS = 10000;
+
+    private final long maxWeight;
+    private final LinkedHashMap<Key, CachedLineage> cachedLineage = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0;
+
+    private final Map<Key, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    /**
+     * @param maxWeight maximum total number of vertices and edges in the cached responses
+     */
+    public LineageCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns a copy of the cached lineage if it was built from the current version of the main graph (or a later
+     * one, when the version changed during the request).
+     *
+     * @param key          the lineage request
+     * @param graphVersion the current main graph version
+     * @return the lineage or null if it is not cached
+     */
+    public LineageVerticesAndEdges get(Key key, long graphVersion) {
+        recordRequest(key);
+
+        synchronized (cachedLineage) {
+            CachedLineage cached = cachedLineage.get(key);
+            if (cached != null && cached.graphVersion >= graphVersion) {
+                hits.incrementAndGet();
+                return copy(cached.lineageVerticesAndEdges);
+            }
+            if (cached != null) {
+                remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches a copy of the lineage, removing the least recently used responses if the cache is full.
+     * Responses larger than the cache are not cached.
+     *
+     * @param key                     the lineage request
+     * @param lineageVerticesAndEdges the lineage
+     * @param graphVersion            the main graph version read before the lineage was built
+     */
+    public void put(Key key, LineageVerticesAndEdges lineageVerticesAndEdges, long graphVersion) {
+        if (lineageVerticesAndEdges == null) {
+            return;
+        }
+
+        CachedLineage cached = new CachedLineage(copy(lineageVerticesAndEdges), graphVersion);
+        if (cached.weight > maxWeight) {
+            return;
+        }
+
+        synchronized (cachedLineage) {
+            CachedLineage existing = cachedLineage.get(key);
+            if (existing != null && existing.graphVersion > graphVersion) {
+                return;
+            }
+
+            remove(key);
+            cachedLineage.put(key, cached);
+            weight += cached.weight;
+
+            Iterator<Map.Entry<Key, CachedLineage>> leastRecentlyUsed = cachedLineage.entrySet().iterator();
+            while (weight > maxWeight && leastRecentlyUsed.hasNext()) {
+                Map.Entry<Key, CachedLineage> entry = leastRecentlyUsed.next();
+                weight -= entry.getValue().weight;
+                leastRecentlyUsed.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes the responses built from an older version of the main graph.
+     *
+     * @param graphVersion the current main graph version
+     */
+    public void removeOlderThan(long graphVersion) {
+        synchronized (cachedLineage) {
+            Iterator<CachedLineage> iterator = cachedLineage.values().iterator();
+            while (iterator.hasNext()) {
+                CachedLineage cached = iterator.next();
+                if (cached.graphVersion < graphVersion) {
+                    weight -= cached.weight;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the lineage requests that have been made most often.
+     *
+     * @param count maximum number of requests to return
+     * @return requests, most popular first
+     */
+    public List<Key> getMostRequested(int count) {
+        return new ArrayList<>(requestCounts.entrySet()).stream()
+                .sorted((first, second) -> Long.compare(second.getValue().get(), first.getValue().get()))
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the fraction of the requests that were answered from the cache.
+     *
+     * @return hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long requests = hitCount + misses.get();
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    public int size() {
+        synchronized (cachedLineage) {
+            return cachedLineage.size();
+        }
+    }
+
+    public long getWeight() {
+        synchronized (cachedLineage) {
+            return weight;
+        }
+    }
+
+    /**
+     * Counts the request. When too many different requests are tracked, all counts are halved and the requests
+     * that are no longer counted are forgotten, so that recent popularity counts more than old popularity.
+     */
+    private void recordRequest(Key key) {
+        requestCounts.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+
+        if (requestCounts.size() > MAX_TRACKED_REQUESTS) {
+            synchronized (requestCounts) {
+                if (requestCounts.size() > MAX_TRACKED_REQUESTS) {
+                    requestCounts.values().forEach(count -> count.set(count.get() / 2));
+                    requestCounts.values().removeIf(count -> count.get() == 0);
+                }
+            }
+        }
+    }
+
+    private void remove(Key key) {
+        CachedLineage removed = cachedLineage.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    /**
+     * The filters of the main graph connector change the sets of vertices and edges, so callers always get their
+     * own sets.
+     */
+    private LineageVerticesAndEdges copy(LineageVerticesAndEdges lineageVerticesAndEdges) {
+        return new LineageVerticesAndEdges(
+                lineageVerticesAndEdges.getLineageVertices() == null ? null : new HashSet<>(lineageVerticesAndEdges.getLineageVertices()),
+                lineageVerticesAndEdges.getLineageEdges() == null ? null : new HashSet<>(lineageVerticesAndEdges.getLineageEdges()));
+    }
+
+    private static class CachedLineage {
+        private final LineageVerticesAndEdges lineageVerticesAndEdges;
+        private final long graphVersion;
+        private final long weight;
+
+        private CachedLineage(LineageVerticesAndEdges lineageVerticesAndEdges, long graphVersion) {
+            this.lineageVerticesAndEdges = lineageVerticesAndEdges;
+            this.graphVersion = graphVersion;
+
+            long vertices = lineageVerticesAndEdges.getLineageVertices() == null ? 0 : lineageVerticesAndEdges.getLineageVertices().size();
+            long edges = lineageVerticesAndEdges.getLineageEdges() == null ? 0 : lineageVerticesAndEdges.getLineageEdges().size();
+            this.weight = Math.max(1, vertices + edges);
+        }
+    }
+
+    /**
+     * A lineage request that can be answered from the cache.
+     */
+    public static class Key {
+        private final Scope scope;
+        private final View view;
+        private final String guid;
+        private final boolean includeProcesses;
+
+        public Key(Scope scope, View view, String guid, boolean includeProcesses) {
+            this.scope = scope;
+            this.view = view;
+            this.guid = guid;
+            this.includeProcesses = includeProcesses;
+        }
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        public View getView() {
+            return view;
+        }
+
+        public String getGuid() {
+            return guid;
+        }
+
+        public boolean isIncludeProcesses() {
+            return includeProcesses;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return includeProcesses == key.includeProcesses &&
+                    scope == key.scope &&
+                    view == key.view &&
+                    Objects.equals(guid, key.guid);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, view, guid, includeProcesses);
+        }
+    }
+}
@@ -26,18 +26,33 @@ import java.util.*;
 
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.*;
 
+/**
+ * The main graph answers the lineage requests. Responses are cached until the buffer graph connector commits
+ * changes to the main graph. The size of the cache (in vertices and edges) is set with the lineageCacheMaxWeight
+ * configuration property of the connection, where 0 turns the cache off. When lineageCachePrewarmCount is set,
+ * that many of the most requested lineage responses are built again after each change to the main graph.
+ */
 public class MainGraphConnector extends MainGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(MainGraphConnector.class);
 
+    private static final String LINEAGE_CACHE_MAX_WEIGHT = "lineageCacheMaxWeight";
+    private static final String LINEAGE_CACHE_PREWARM_COUNT = "lineageCachePrewarmCount";
+    private static final int DEFAULT_LINEAGE_CACHE_MAX_WEIGHT = 100000;
+    private static final int DEFAULT_LINEAGE_CACHE_PREWARM_COUNT = 0;
+
     private JanusGraph mainGraph;
     private MainGraphConnectorHelper helper;
+    private MainGraphVersion mainGraphVersion;
+    private LineageCache lineageCache;
+    private int prewarmCount;
 
     /**
      * {@inheritDoc}
      */
     public void initializeGraphDB() throws OpenLineageException {
-        String graphDB = connectionProperties.getConfigurationProperties().get("graphDB").toString();
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        String graphDB = configurationProperties.get("graphDB").toString();
         GraphFactory graphFactory = new GraphFactory();
         try {
             this.mainGraph = graphFactory.openGraph(graphDB, connectionProperties);
@@ -51,6 +66,36 @@ public class MainGraphConnector extends MainGraphConnectorBase {
             );
         }
         this.helper = new MainGraphConnectorHelper(mainGraph);
+
+        int maxWeight = getNonNegativeInteger(configurationProperties, LINEAGE_CACHE_MAX_WEIGHT, DEFAULT_LINEAGE_CACHE_MAX_WEIGHT);
+        if (maxWeight > 0) {
+            this.lineageCache = new LineageCache(maxWeight);
+            this.prewarmCount = getNonNegativeInteger(configurationProperties, LINEAGE_CACHE_PREWARM_COUNT, DEFAULT_LINEAGE_CACHE_PREWARM_COUNT);
+            this.mainGraphVersion = MainGraphVersion.getInstance(mainGraph);
+            this.mainGraphVersion.addMappingRunListener(this::refreshLineageCache);
+        }
+    }
+
+    /**
+     * Returns a non negative integer from the configuration properties, or the default value if it is not set.
+     *
+     */
+    private int getNonNegativeInteger(Map<String, Object> configurationProperties, String propertyName, int defaultValue) {
+        Object value = configurationProperties.get(propertyName);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            int intValue = Integer.parseInt(value.toString());
+            if (intValue >= 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Invalid value {} for {}", value, propertyName);
+        }
+        log.error("Configuration property {} must be a non negative integer, using {}", propertyName, defaultValue);
+        return defaultValue;
     }
 
     /**
@@ -59,6 +104,39 @@ public class MainGraphConnector extends MainGraphConnectorBase {
     public LineageResponse lineage(Scope scope, View view, String guid, String displayNameMustContain, boolean includeProcesses) throws OpenLineageException {
         String methodName = "MainGraphConnector.lineage";
 
+        LineageCache.Key key = new LineageCache.Key(scope, view, guid, includeProcesses);
+        LineageVerticesAndEdges lineageVerticesAndEdges = null;
+        long graphVersion = 0;
+        if (lineageCache != null) {
+            graphVersion = mainGraphVersion.get();
+            lineageVerticesAndEdges = lineageCache.get(key, graphVersion);
+        }
+
+        if (lineageVerticesAndEdges == null) {
+            lineageVerticesAndEdges = queryLineage(key, methodName);
+            if (lineageCache != null) {
+                lineageCache.put(key, lineageVerticesAndEdges, graphVersion);
+            }
+        }
+
+        if (!displayNameMustContain.isEmpty())
+            helper.filterDisplayName(lineageVerticesAndEdges, displayNameMustContain);
+        LineageResponse lineageResponse = new LineageResponse(lineageVerticesAndEdges);
+        return lineageResponse;
+    }
+
+    /**
+     * Runs the graph queries for a lineage request.
+     *
+     * @param key        the lineage request
+     * @param methodName calling method
+     * @return the lineage, with the processes removed if they are not included
+     * @throws OpenLineageException the queried node does not exist or its lineage has a problematic cycle
+     */
+    private LineageVerticesAndEdges queryLineage(LineageCache.Key key, String methodName) throws OpenLineageException {
+        Scope scope = key.getScope();
+        String guid = key.getGuid();
+
         GraphTraversalSource g = mainGraph.traversal();
         try {
             g.V().has(PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
@@ -71,7 +149,7 @@ public class MainGraphConnector extends MainGraphConnectorBase {
                     errorCode.getSystemAction(),
                     errorCode.getUserAction());
         }
-        String edgeLabel = helper.getEdgeLabel(view);
+        String edgeLabel = helper.getEdgeLabel(key.getView());
         LineageVerticesAndEdges lineageVerticesAndEdges = null;
 
         switch (scope) {
@@ -91,12 +169,34 @@ public class MainGraphConnector extends MainGraphConnectorBase {
                 lineageVerticesAndEdges = helper.glossary(guid);
                 break;
         }
-        if (!includeProcesses)
+        if (!key.isIncludeProcesses())
             helper.filterOutProcesses(lineageVerticesAndEdges);
-        if (!displayNameMustContain.isEmpty())
-            helper.filterDisplayName(lineageVerticesAndEdges, displayNameMustContain);
-        LineageResponse lineageResponse = new LineageResponse(lineageVerticesAndEdges);
-        return lineageResponse;
+        return lineageVerticesAndEdges;
+    }
+
+    /**
+     * Called after the buffer graph connector changed the main graph. Drops the outdated responses and builds the
+     * most requested ones again, so that popular lineage is quick to return even straight after a change.
+     */
+    private void refreshLineageCache() {
+        final String methodName = "MainGraphConnector.refreshLineageCache";
+
+        long graphVersion = mainGraphVersion.get();
+        lineageCache.removeOlderThan(graphVersion);
+
+        for (LineageCache.Key key : lineageCache.getMostRequested(prewarmCount)) {
+            try {
+                lineageCache.put(key, queryLineage(key, methodName), graphVersion);
+            } catch (OpenLineageException e) {
+                log.debug("Could not prewarm lineage of {}: {}", key.getGuid(), e.getErrorMessage());
+            } finally {
+                mainGraph.tx().rollback();
+            }
+        }
+
+        log.info("Lineage cache: {} responses, hit ratio {}, {} hits, {} misses, {} evictions",
+                lineageCache.size(), String.format("%.2f", lineageCache.getHitRatio()), lineageCache.getHits(),
+                lineageCache.getMisses(), lineageCache.getEvictions());
     }
 
     /**
@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
+
+import org.janusgraph.core.JanusGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The version of a main graph. The buffer graph connector increments the version each time it commits changes to
+ * the main graph, and tells the listeners when it has finished moving the changed processes. The main graph
+ * connector uses the version to find out whether a cached lineage response is still valid.
+ * The buffer graph and main graph connectors only share the JanusGraph instance, so there is one version per instance.
+ */
+public class MainGraphVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(MainGraphVersion.class);
+    private static final Map<JanusGraph, MainGraphVersion> versions = new WeakHashMap<>();
+
+    private final AtomicLong version = new AtomicLong(0);
+    private final List<Runnable> mappingRunListeners = new CopyOnWriteArrayList<>();
+
+    private MainGraphVersion() {
+    }
+
+    /**
+     * Returns the version of the main graph.
+     *
+     * @param mainGraph the main graph
+     * @return the version shared by all the users of the main graph
+     */
+    public static MainGraphVersion getInstance(JanusGraph mainGraph) {
+        synchronized (versions) {
+            return versions.computeIfAbsent(mainGraph, graph -> new MainGraphVersion());
+        }
+    }
+
+    /**
+     * Returns the current version.
+     *
+     * @return version number
+     */
+    public long get() {
+        return version.get();
+    }
+
+    /**
+     * Records that changes were committed to the main graph.
+     *
+     * @return the new version number
+     */
+    public long increment() {
+        return version.incrementAndGet();
+    }
+
+    /**
+     * Registers a task to run after each run of the buffer graph scheduler that changed the main graph.
+     *
+     * @param listener task to run
+     */
+    public void addMappingRunListener(Runnable listener) {
+        mappingRunListeners.add(listener);
+    }
+
+    /**
+     * Runs the registered tasks. Called by the buffer graph connector on its scheduler thread.
+     */
+    public void mappingRunCompleted() {
+        for (Runnable listener : mappingRunListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.error("Main graph mapping run listener failed", e);
+            }
+        }
+    }
+}
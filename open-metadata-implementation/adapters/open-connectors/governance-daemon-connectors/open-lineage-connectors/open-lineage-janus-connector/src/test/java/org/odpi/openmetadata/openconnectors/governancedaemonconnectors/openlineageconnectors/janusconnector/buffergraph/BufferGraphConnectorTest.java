@@ -0,0 +1,167 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.odpi.openmetadata.accessservices.assetlineage.event.LineageEvent;
+import org.odpi.openmetadata.accessservices.assetlineage.model.GraphContext;
+import org.odpi.openmetadata.accessservices.assetlineage.model.LineageEntity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.*;
+
+public class BufferGraphConnectorTest {
+
+    private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private JanusGraph bufferGraph;
+    private JanusGraph mainGraph;
+
+    @Before
+    public void openGraphs() {
+        bufferGraph = openInMemoryGraph();
+        mainGraph = openInMemoryGraph();
+    }
+
+    @After
+    public void closeGraphs() {
+        bufferGraph.close();
+        mainGraph.close();
+    }
+
+    @Test
+    public void addEntityMarksAffectedProcess() {
+        BufferGraphConnector connector = new BufferGraphConnector(bufferGraph, mainGraph, 10, ONE_HOUR, 3);
+
+        connector.addEntity(processPortEvent("p1", "port1"));
+
+        assertEquals(Collections.singleton("p1"), connector.getChangedProcesses());
+    }
+
+    @Test
+    public void processesMovedWhenBatchIsFull() {
+        BufferGraphConnector connector = new BufferGraphConnector(bufferGraph, mainGraph, 2, ONE_HOUR, 3);
+
+        connector.addEntity(processPortEvent("p1", "port1"));
+        connector.schedulerTask();
+        assertEquals(Collections.singleton("p1"), connector.getChangedProcesses());
+
+        connector.addEntity(processPortEvent("p2", "port2"));
+        connector.schedulerTask();
+        assertTrue(connector.getChangedProcesses().isEmpty());
+    }
+
+    @Test
+    public void rebuildMarksEveryProcess() {
+        BufferGraphConnector connector = new BufferGraphConnector(bufferGraph, mainGraph, 10, ONE_HOUR, 3);
+        GraphTraversalSource g = bufferGraph.traversal();
+        addProcess(g, "p1");
+        addProcess(g, "p2");
+        addProcess(g, "p3");
+        g.tx().commit();
+
+        connector.rebuildMainGraph();
+        assertEquals(new HashSet<>(Arrays.asList("p1", "p2", "p3")), connector.getChangedProcesses());
+
+        //the rebuild does not wait for a full batch or the delay
+        connector.schedulerTask();
+        assertTrue(connector.getChangedProcesses().isEmpty());
+    }
+
+    @Test
+    public void failedProcessIsKeptForRetry() {
+        BufferGraphConnector connector = new BufferGraphConnector(bufferGraph, mainGraph, 10, ONE_HOUR, 3);
+        GraphTraversalSource g = bufferGraph.traversal();
+        addProcess(g, "good1");
+        addBrokenProcess(g, "bad");
+        addProcess(g, "good2");
+        g.tx().commit();
+
+        connector.rebuildMainGraph();
+        connector.schedulerTask();
+        assertTrue(connector.getChangedProcesses().isEmpty());
+        assertEquals(Collections.singleton("bad"), connector.getRetryProcesses());
+
+        //the retry waits for its delay
+        connector.schedulerTask();
+        assertTrue(connector.getChangedProcesses().isEmpty());
+        assertEquals(Collections.singleton("bad"), connector.getRetryProcesses());
+    }
+
+    @Test
+    public void failedProcessIsGivenUpAfterMaxAttempts() {
+        BufferGraphConnector connector = new BufferGraphConnector(bufferGraph, mainGraph, 10, 0, 3);
+        GraphTraversalSource g = bufferGraph.traversal();
+        addBrokenProcess(g, "bad");
+        g.tx().commit();
+
+        connector.rebuildMainGraph();
+        connector.schedulerTask();
+        connector.schedulerTask();
+        assertEquals(Collections.singleton("bad"), connector.getRetryProcesses());
+
+        connector.schedulerTask();
+        assertTrue(connector.getChangedProcesses().isEmpty());
+        assertTrue(connector.getRetryProcesses().isEmpty());
+
+        //a new change to the process moves it again
+        connector.addEntity(processPortEvent("bad", "port2"));
+        assertEquals(Collections.singleton("bad"), connector.getChangedProcesses());
+    }
+
+    /**
+     * The default microsecond timestamps break the locking of the in-memory backend on newer JVMs.
+     */
+    private JanusGraph openInMemoryGraph() {
+        return JanusGraphFactory.build().set("storage.backend", "inmemory").set("graph.timestamps", "NANO").open();
+    }
+
+    private LineageEvent processPortEvent(String processGuid, String portGuid) {
+        LineageEvent lineageEvent = new LineageEvent();
+        GraphContext context = new GraphContext("ProcessPort", processGuid + "-" + portGuid,
+                lineageEntity(processGuid, "Process"), lineageEntity(portGuid, "PortAlias"));
+        lineageEvent.setAssetContext(Collections.singletonMap(processGuid, Collections.singleton(context)));
+        return lineageEvent;
+    }
+
+    private LineageEntity lineageEntity(String guid, String typeDefName) {
+        LineageEntity lineageEntity = new LineageEntity();
+        lineageEntity.setGuid(guid);
+        lineageEntity.setTypeDefName(typeDefName);
+        return lineageEntity;
+    }
+
+    private Vertex addProcess(GraphTraversalSource g, String guid) {
+        return g.addV("Process").property(PROPERTY_KEY_ENTITY_GUID, guid).property(PROPERTY_KEY_LABEL, "Process").next();
+    }
+
+    /**
+     * Adds a process whose input column has no guid, so moving it to the main graph fails.
+     */
+    private void addBrokenProcess(GraphTraversalSource g, String guid) {
+        Vertex process = addProcess(g, guid);
+        Vertex port = g.addV("PortAlias").next();
+        Vertex portImplementation = g.addV("PortImplementation").property(PROPERTY_KEY_PREFIX_INSTANCE_PROPERTY, "INPUT_PORT").next();
+        Vertex schemaType = g.addV("TabularSchemaType").next();
+        Vertex column = g.addV("TabularColumn").next();
+        Vertex columnIn = g.addV("TabularColumn").next();
+
+        process.addEdge("ProcessPort", port);
+        port.addEdge("PortDelegation", portImplementation);
+        portImplementation.addEdge("PortSchema", schemaType);
+        column.addEdge("AttributeForSchema", schemaType);
+        column.addEdge("LineageMapping", columnIn);
+    }
+}
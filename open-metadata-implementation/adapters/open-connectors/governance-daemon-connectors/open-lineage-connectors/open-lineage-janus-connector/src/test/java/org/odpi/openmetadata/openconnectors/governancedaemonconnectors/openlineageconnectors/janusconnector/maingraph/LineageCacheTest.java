@@ -0,0 +1,85 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
+
+import org.junit.Test;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageEdge;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVertex;
+import org.odpi.openmetadata.governanceservers.openlineage.model.LineageVerticesAndEdges;
+import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
+import org.odpi.openmetadata.governanceservers.openlineage.model.View;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.*;
+
+public class LineageCacheTest {
+
+    private static final LineageCache.Key C1 = new LineageCache.Key(Scope.ULTIMATE_SOURCE, View.COLUMN_VIEW, "c1", true);
+    private static final LineageCache.Key C2 = new LineageCache.Key(Scope.ULTIMATE_SOURCE, View.COLUMN_VIEW, "c2", true);
+
+    @Test
+    public void responseIsNotReturnedAfterGraphChanged() {
+        LineageCache cache = new LineageCache(100);
+
+        cache.put(C1, lineage("c1", "c0"), 1);
+
+        assertNotNull(cache.get(C1, 1));
+        assertNull(cache.get(C1, 2));
+        assertEquals(0.5, cache.getHitRatio(), 0.001);
+    }
+
+    @Test
+    public void callersGetTheirOwnCopy() {
+        LineageCache cache = new LineageCache(100);
+        cache.put(C1, lineage("c1", "c0"), 1);
+
+        cache.get(C1, 1).getLineageVertices().clear();
+
+        assertEquals(2, cache.get(C1, 1).getLineageVertices().size());
+    }
+
+    @Test
+    public void leastRecentlyUsedResponseIsEvictedWhenFull() {
+        //each response weighs 3: two vertices and one edge
+        LineageCache cache = new LineageCache(6);
+        LineageCache.Key c3 = new LineageCache.Key(Scope.ULTIMATE_SOURCE, View.COLUMN_VIEW, "c3", true);
+
+        cache.put(C1, lineage("c1", "c0"), 1);
+        cache.put(C2, lineage("c2", "c0"), 1);
+        cache.get(C1, 1);
+        cache.put(c3, lineage("c3", "c0"), 1);
+
+        assertNotNull(cache.get(C1, 1));
+        assertNull(cache.get(C2, 1));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(6, cache.getWeight());
+    }
+
+    @Test
+    public void mostRequestedLineageComesFirst() {
+        LineageCache cache = new LineageCache(100);
+
+        cache.get(C1, 1);
+        cache.get(C2, 1);
+        cache.get(C2, 1);
+
+        assertEquals(Collections.singletonList(C2), cache.getMostRequested(1));
+    }
+
+    private LineageVerticesAndEdges lineage(String queriedNodeID, String sourceNodeID) {
+        Set<LineageVertex> vertices = new HashSet<>();
+        vertices.add(new LineageVertex(queriedNodeID, NODE_LABEL_COLUMN));
+        vertices.add(new LineageVertex(sourceNodeID, NODE_LABEL_COLUMN));
+
+        Set<LineageEdge> edges = new HashSet<>();
+        edges.add(new LineageEdge(EDGE_LABEL_COLUMN_AND_PROCESS, sourceNodeID, queriedNodeID));
+
+        return new LineageVerticesAndEdges(vertices, edges);
+    }
+}
@@ -3,8 +3,8 @@
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.collections4.CollectionUtils;
 import org.odpi.openmetadata.accessservices.governanceengine.api.objects.Context;
 import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernanceClassification;
 import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
@@ -13,6 +13,7 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerPolicyResource;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerSecurityServicePolicies;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerServiceResource;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerServiceTags;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerTag;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.RangerTagDef;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.ResourceTagMapper;
@@ -26,31 +27,48 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.COLUMN;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.DEFAULT_SCHEMA_NAME;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.DEFAULT_SYNC_BATCH_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.DEFAULT_SYNC_THREADS;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.NAME;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.OPEN_METADATA_OWNER;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.RANGER_CONNECTOR;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SCHEMA;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SERVER_AUTHORIZATION;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_BATCH_SIZE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_STATE_FILE;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_THREADS;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_TAGS;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SERVICE_POLICIES;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SERVICE_TAGS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SERVICE_TAGS_IMPORT;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SERVICE_TAGS_MAP_TAG_GUID_RESOURCE_GUI;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SERVICE_TAGS_RESOURCES;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SERVICE_TAGS_RESOURCE_BY_GUID;
@@ -59,10 +77,27 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.se
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.TABLE;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.TAG_RESOURCE_ASSOCIATION;
 
+/**
+ * RangerSecurityServiceConnector keeps the security tags of the governed assets in Apache Ranger.
+ * <p>
+ * All the calls to Ranger go through one RestTemplate so the HTTP connections to Ranger are kept alive and reused.
+ * The connector remembers the tags it has associated with each resource.  An import of the tagged resources
+ * only sends the resources whose tags have changed since the last import, using Ranger's import service tags
+ * endpoint to send them in batches, and removes the associations of the resources that are no longer tagged.
+ * When the connection has the securitySyncStateFile configuration property, the associations are also kept in that
+ * file so the next start of the server does not need to read them back from Ranger.
+ * </p>
+ */
 public class RangerSecurityServiceConnector extends ConnectorBase implements SecurityServiceConnector {
 
     private static final Logger log = LoggerFactory.getLogger(RangerSecurityServiceConnector.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final Object syncStateLock = new Object();
     private Connection connection;
+    private Map<String, Set<String>> syncedAssociations;
+    private volatile boolean isTagDefCreated = false;
 
     public RangerSecurityServiceConnector(Connection securityServerConnection) {
         this.connection = securityServerConnection;
@@ -74,30 +109,100 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         List<RangerServiceResource> resources = new ArrayList<>();
         Map<String, Set<String>> tagToResource = buildResourceToTagsAssociationMap(governedAssets, tags, resources);
 
-        createRangerTagDef();
-        List<ResourceTagMapper> exitingAssociationResourceTags = getExistingAssociationResourceTags();
-        if (exitingAssociationResourceTags.isEmpty()) {
-            resources.forEach(this::createRangerServiceResource);
-            tags.forEach(this::createRangerTag);
-            tagToResource.forEach((key, value) -> value.forEach(x -> createAssociationResourceToSecurityTag(key, x)));
-            return;
+        if (!isTagDefCreated) {
+            createRangerTagDef();
+            isTagDefCreated = true;
         }
 
-        List<RangerServiceResource> existingResources = getExistingResources();
-        Map<Long, RangerServiceResource> existingResourcesMap = mapResourceIds(existingResources);
-        Set<RangerTag> rangerExistingTags = getExistingTags();
-        Map<Long, RangerTag> existingTagsMap = mapTagIds(rangerExistingTags);
+        synchronized (syncStateLock) {
+            Map<String, Set<String>> existingAssoc = getSyncedAssociations();
 
-        Map<String, Set<String>> existingAssoc = mapResourceTagsById(exitingAssociationResourceTags, existingResourcesMap, existingTagsMap);
+            Map<String, RangerServiceResource> changedResources = new LinkedHashMap<>();
+            for (RangerServiceResource resource : resources) {
+                if (!tagToResource.get(resource.getGuid()).equals(existingAssoc.get(resource.getGuid()))) {
+                    changedResources.put(resource.getGuid(), resource);
+                }
+            }
 
-        if (tagToResource.isEmpty()) {
-            existingAssoc.forEach((key, value) -> value.forEach(x -> deleteAssociationResourceToSecurityTagBasedOnIds(key, x)));
-            return;
+            Map<String, Set<String>> outdatedMapping = new HashMap<>();
+            existingAssoc.forEach((resourceGuid, existingTags) -> {
+                if (!tagToResource.containsKey(resourceGuid) && !existingTags.isEmpty()) {
+                    outdatedMapping.put(resourceGuid, new HashSet<>(existingTags));
+                }
+            });
+
+            log.debug("Importing {} changed resources and removing the tags of {} resources", changedResources.size(), outdatedMapping.size());
+
+            importResources(new ArrayList<>(changedResources.values()), tags, tagToResource, existingAssoc);
+            deleteOutdatedAssociations(outdatedMapping, existingAssoc);
+            saveSyncState();
+        }
+    }
+
+    /**
+     * Apply the changes to a set of assets without reading or diffing the rest of the Ranger state.  Classified
+     * assets are imported in batches, declassified assets lose their tag associations and deleted assets have
+     * their resources removed.  The GUIDs of the assets whose changes could not be applied are returned so
+     * they can be sent again.
+     */
+    @Override
+    public Set<String> syncChangedResources(List<GovernedAsset> classifiedAssets, Set<String> declassifiedAssetGuids, Set<String> deletedAssetGuids) {
+        Set<RangerTag> tags = new HashSet<>();
+        List<RangerServiceResource> resources = new ArrayList<>();
+        Map<String, Set<String>> tagToResource = buildResourceToTagsAssociationMap(classifiedAssets, tags, resources);
+
+        Set<String> untaggedAssetGuids = new HashSet<>(declassifiedAssetGuids);
+        untaggedAssetGuids.addAll(deletedAssetGuids);
+        classifiedAssets.stream()
+                .map(GovernedAsset::getGuid)
+                .filter(guid -> !tagToResource.containsKey(guid))
+                .forEach(untaggedAssetGuids::add);
+
+        if (!isTagDefCreated) {
+            createRangerTagDef();
+            isTagDefCreated = true;
         }
 
-        syncTags(tags, rangerExistingTags);
-        syncResources(resources, existingResources);
-        syncAssociations(tagToResource, existingAssoc);
+        Set<String> failedAssetGuids = new HashSet<>();
+        synchronized (syncStateLock) {
+            Map<String, Set<String>> existingAssoc = getSyncedAssociations();
+
+            List<RangerServiceResource> changedResources = resources.stream()
+                    .filter(resource -> !tagToResource.get(resource.getGuid()).equals(existingAssoc.get(resource.getGuid())))
+                    .collect(Collectors.toList());
+
+            Map<String, Set<String>> outdatedMapping = new HashMap<>();
+            for (String assetGuid : untaggedAssetGuids) {
+                Set<String> existingTags = existingAssoc.get(assetGuid);
+                if (existingTags != null && !existingTags.isEmpty()) {
+                    outdatedMapping.put(assetGuid, new HashSet<>(existingTags));
+                }
+            }
+
+            log.debug("Importing {} changed resources, removing the tags of {} resources and deleting {} resources",
+                    changedResources.size(), outdatedMapping.size(), deletedAssetGuids.size());
+
+            importResources(changedResources, tags, tagToResource, existingAssoc);
+            deleteOutdatedAssociations(outdatedMapping, existingAssoc);
+
+            changedResources.stream()
+                    .map(RangerServiceResource::getGuid)
+                    .filter(guid -> !tagToResource.get(guid).equals(existingAssoc.get(guid)))
+                    .forEach(failedAssetGuids::add);
+            outdatedMapping.keySet().stream()
+                    .filter(existingAssoc::containsKey)
+                    .forEach(failedAssetGuids::add);
+
+            for (String assetGuid : deletedAssetGuids) {
+                if (deleteRangerResource(assetGuid)) {
+                    existingAssoc.remove(assetGuid);
+                } else {
+                    failedAssetGuids.add(assetGuid);
+                }
+            }
+            saveSyncState();
+        }
+        return failedAssetGuids;
     }
 
     @Override
@@ -107,7 +212,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         }
         String servicePoliciesURL = MessageFormat.format(SERVICE_POLICIES, connection.getEndpoint().getAddress(), serviceName, lastKnownVersion);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
@@ -135,7 +239,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         String createAssociation = getRangerURL(SERVICE_TAGS_RESOURCES);
 
         String body = getBody(resource);
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(body, getHttpHeaders());
 
         try {
@@ -151,7 +254,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
     public RangerServiceResource getResourceByGUID(String resourceGuid) {
         String resourceURL = getRangerURL(SERVICE_TAGS_RESOURCE_BY_GUID, resourceGuid);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
@@ -167,15 +269,37 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
     @Override
     public void deleteResource(String resourceGuid) {
         String resourceURL = getRangerURL(SERVICE_TAGS_RESOURCE_BY_GUID, resourceGuid);
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
             restTemplate.delete(resourceURL, HttpMethod.DELETE, entity);
             log.info("The resource with guid = {} has been deleted", resourceGuid);
+            updateSyncState(resourceGuid, null, false);
+        } catch (HttpStatusCodeException exception) {
+            log.debug("Unable to delete the resource with guid = {}", resourceGuid);
+        }
+    }
+
+    /**
+     * A resource that Ranger does not know is treated as deleted.
+     */
+    private boolean deleteRangerResource(String resourceGuid) {
+        String resourceURL = getRangerURL(SERVICE_TAGS_RESOURCE_BY_GUID, resourceGuid);
+        HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
+
+        try {
+            restTemplate.exchange(resourceURL, HttpMethod.DELETE, entity, Void.class);
+            log.debug("The resource with guid = {} has been deleted", resourceGuid);
+            return true;
         } catch (HttpStatusCodeException exception) {
+            if (exception.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return true;
+            }
+            log.debug("Unable to delete the resource with guid = {}", resourceGuid);
+        } catch (RestClientException exception) {
             log.debug("Unable to delete the resource with guid = {}", resourceGuid);
         }
+        return false;
     }
 
     @Override
@@ -210,10 +334,10 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         String rangerBaseURL = connection.getEndpoint().getAddress();
         String createAssociation = MessageFormat.format(SERVICE_TAGS_MAP_TAG_GUID_RESOURCE_GUI, rangerBaseURL, tagGUID, resourceGUID);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
         try {
             ResponseEntity<ResourceTagMapper> result = restTemplate.exchange(createAssociation, HttpMethod.POST, entity, ResourceTagMapper.class);
+            updateSyncState(resourceGUID, tagGUID, true);
             return result.getBody();
         } catch (HttpStatusCodeException exception) {
             log.debug("Unable to create the association between tag {} and resource {}", tagGUID, resourceGUID);
@@ -229,12 +353,13 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         Boolean isDeleted = doDelete(deleteAssociationURL);
         if (isDeleted) {
             log.info("The association with id {} between tag {} and resource {} has been removed", resourceTagMapper.getId(), resourceTagMapper.getTagId(), resourceTagMapper.getResourceId());
+            discardSyncState();
         } else {
             log.info("Unable to delete the association with id = {} between tag {} and resource {}", resourceTagMapper.getId(), resourceTagMapper.getTagId(), resourceTagMapper.getResourceId());
         }
     }
 
-    private void deleteAssociationResourceToSecurityTagBasedOnIds(String resourceGUID, String tagGUID) {
+    private boolean deleteAssociationResourceToSecurityTagBasedOnIds(String resourceGUID, String tagGUID) {
         String rangerBaseURL = connection.getEndpoint().getAddress();
         String deleteURLByGUIDs = MessageFormat.format(SERVICE_TAGS_MAP_TAG_GUID_RESOURCE_GUI, rangerBaseURL, tagGUID, resourceGUID);
 
@@ -244,6 +369,7 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         } else {
             log.debug("Unable to delete the association between tag {} and resource {}", tagGUID, resourceGUID);
         }
+        return isDeleted;
     }
 
     private RangerTagDef createRangerTagDef() {
@@ -252,7 +378,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
 
         String createRangerTagDefURL = getRangerURL(SERVICE_TAGS_TAGDEF);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(body, getHttpHeaders());
 
         try {
@@ -268,7 +393,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         String createTagURL = getRangerURL(SERVICE_TAGS);
         String body = getBody(rangerTag);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(body, getHttpHeaders());
 
         try {
@@ -323,7 +447,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
     private List<ResourceTagMapper> getExistingAssociationResourceTags() {
         String allMappedResources = getRangerURL(SERVICE_TAGS_TAG_RESOURCE_MAPS);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
@@ -366,7 +489,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
     public List<RangerServiceResource> getExistingResources() {
         String createAssociation = getRangerURL(SERVICE_TAGS_RESOURCES);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
         try {
             ResponseEntity<List<RangerServiceResource>> response =
@@ -386,7 +508,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
     private Set<RangerTag> getExistingTags() {
         String createTagURL = getRangerURL(SERVICE_TAGS);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<String> entity = new HttpEntity<>(getHttpHeaders());
 
         try {
@@ -438,40 +559,249 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         }
     }
 
-    private void syncResources(List<RangerServiceResource> resources, List<RangerServiceResource> existingResources) {
-        Collection<RangerServiceResource> newResources = CollectionUtils.subtract(resources, existingResources);
-        newResources.forEach(this::createRangerServiceResource);
+    private void importResources(List<RangerServiceResource> resources, Set<RangerTag> tags,
+                                 Map<String, Set<String>> tagToResource, Map<String, Set<String>> syncedAssoc) {
+        if (resources.isEmpty()) {
+            return;
+        }
+
+        Map<String, RangerTag> tagsByGuid = new HashMap<>();
+        long nextId = 1;
+        for (RangerTag tag : tags) {
+            tag.setId(nextId++);
+            tagsByGuid.put(tag.getGuid(), tag);
+        }
+        for (RangerServiceResource resource : resources) {
+            resource.setId(nextId++);
+        }
+
+        int batchSize = getIntegerProperty(SECURITY_SYNC_BATCH_SIZE, DEFAULT_SYNC_BATCH_SIZE);
+        List<List<RangerServiceResource>> batches = new ArrayList<>();
+        for (int i = 0; i < resources.size(); i += batchSize) {
+            batches.add(resources.subList(i, Math.min(i + batchSize, resources.size())));
+        }
+
+        List<Callable<Boolean>> tasks = batches.stream()
+                .map(batch -> (Callable<Boolean>) () -> importResourceBatch(batch, tagsByGuid, tagToResource))
+                .collect(Collectors.toList());
+        List<Boolean> results = runConcurrently(tasks);
+
+        for (int i = 0; i < batches.size(); i++) {
+            if (results.get(i)) {
+                batches.get(i).forEach(resource -> syncedAssoc.put(resource.getGuid(), new HashSet<>(tagToResource.get(resource.getGuid()))));
+            }
+        }
     }
 
-    private void syncTags(Set<RangerTag> tags, Set<RangerTag> rangerExistingTags) {
-        Collection<RangerTag> newTags = CollectionUtils.subtract(tags, rangerExistingTags);
-        newTags.forEach(this::createRangerTag);
+    /**
+     * Ranger replaces the tags of each resource in the batch with the tags sent, so the associations
+     * that are no longer needed for these resources are removed by the import.
+     */
+    private boolean importResourceBatch(List<RangerServiceResource> batch, Map<String, RangerTag> tagsByGuid,
+                                        Map<String, Set<String>> tagToResource) {
+        Map<Long, RangerTag> batchTags = new HashMap<>();
+        Map<Long, List<Long>> resourceToTagIds = new HashMap<>();
+
+        for (RangerServiceResource resource : batch) {
+            List<Long> tagIds = new ArrayList<>();
+            for (String tagGuid : tagToResource.get(resource.getGuid())) {
+                RangerTag tag = tagsByGuid.get(tagGuid);
+                batchTags.put(tag.getId(), tag);
+                tagIds.add(tag.getId());
+            }
+            resourceToTagIds.put(resource.getId(), tagIds);
+        }
+
+        RangerServiceTags serviceTags = new RangerServiceTags();
+        serviceTags.setServiceName(DEFAULT_SCHEMA_NAME);
+        serviceTags.setTags(batchTags);
+        serviceTags.setServiceResources(batch);
+        serviceTags.setResourceToTagIds(resourceToTagIds);
+
+        HttpEntity<String> entity = new HttpEntity<>(getBody(serviceTags), getHttpHeaders());
+
+        try {
+            restTemplate.exchange(getRangerURL(SERVICE_TAGS_IMPORT), HttpMethod.PUT, entity, Void.class);
+            return true;
+        } catch (RestClientException exception) {
+            log.debug("Unable to import a batch of {} resources", batch.size());
+        }
+        return false;
     }
 
-    private void syncAssociations(Map<String, Set<String>> tagToResource, Map<String, Set<String>> existingMapping) {
-        Map<String, List<String>> newMappings = new HashMap<>();
-        Map<String, List<String>> outdatedMapping = new HashMap<>();
+    private void deleteOutdatedAssociations(Map<String, Set<String>> outdatedMapping, Map<String, Set<String>> syncedAssoc) {
+        List<String[]> associations = new ArrayList<>();
+        outdatedMapping.forEach((resourceGuid, tagGuids) -> tagGuids.forEach(tagGuid -> associations.add(new String[]{resourceGuid, tagGuid})));
 
-        for (Map.Entry<String, Set<String>> tags : tagToResource.entrySet()) {
-            Set<String> existingTags = existingMapping.get(tags.getKey());
-            if (existingTags == null) {
-                newMappings.put(tags.getKey(), new ArrayList<>(tags.getValue()));
-                continue;
+        List<Callable<Boolean>> tasks = associations.stream()
+                .map(association -> (Callable<Boolean>) () -> deleteAssociationResourceToSecurityTagBasedOnIds(association[0], association[1]))
+                .collect(Collectors.toList());
+        List<Boolean> results = runConcurrently(tasks);
+
+        for (int i = 0; i < associations.size(); i++) {
+            if (results.get(i)) {
+                removeAssociation(syncedAssoc, associations.get(i)[0], associations.get(i)[1]);
+            }
+        }
+    }
+
+    /**
+     * Run the calls to Ranger with at most securitySyncThreads calls in flight.
+     * A call that fails with an exception is reported as unsuccessful.
+     */
+    private List<Boolean> runConcurrently(List<Callable<Boolean>> tasks) {
+        List<Boolean> results = new ArrayList<>(Collections.nCopies(tasks.size(), false));
+        if (tasks.isEmpty()) {
+            return results;
+        }
+
+        int threads = Math.min(getIntegerProperty(SECURITY_SYNC_THREADS, DEFAULT_SYNC_THREADS), tasks.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.set(i, futures.get(i).get());
+                } catch (ExecutionException exception) {
+                    log.debug("Call to the security server failed", exception.getCause());
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Return the associations between resources and tags that were last synced with Ranger.  They come from
+     * memory, then from the sync state file, and finally from Ranger itself.
+     */
+    private Map<String, Set<String>> getSyncedAssociations() {
+        if (syncedAssociations == null) {
+            syncedAssociations = loadSyncState();
+        }
+
+        if (syncedAssociations == null) {
+            syncedAssociations = new HashMap<>();
+
+            List<ResourceTagMapper> exitingAssociationResourceTags = getExistingAssociationResourceTags();
+            if (exitingAssociationResourceTags != null && !exitingAssociationResourceTags.isEmpty()) {
+                Map<Long, RangerServiceResource> existingResourcesMap = mapResourceIds(getExistingResources());
+                Map<Long, RangerTag> existingTagsMap = mapTagIds(getExistingTags());
+
+                syncedAssociations = mapResourceTagsById(exitingAssociationResourceTags, existingResourcesMap, existingTagsMap);
             }
+        }
+
+        return syncedAssociations;
+    }
 
-            Collection<String> newlyAdded = CollectionUtils.subtract(tags.getValue(), existingTags);
-            if (!newlyAdded.isEmpty()) {
-                newMappings.put(tags.getKey(), (List<String>) newlyAdded);
+    private void updateSyncState(String resourceGuid, String tagGuid, boolean isAdded) {
+        synchronized (syncStateLock) {
+            if (syncedAssociations == null) {
+                return;
             }
 
-            Collection<String> outdatedTags = CollectionUtils.subtract(existingTags, tags.getValue());
-            if (!outdatedTags.isEmpty()) {
-                outdatedMapping.put(tags.getKey(), (List<String>) outdatedTags);
+            if (isAdded) {
+                syncedAssociations.computeIfAbsent(resourceGuid, key -> new HashSet<>()).add(tagGuid);
+            } else {
+                syncedAssociations.remove(resourceGuid);
+            }
+            saveSyncState();
+        }
+    }
+
+    /**
+     * Forget the synced associations so the next import reads them back from Ranger.
+     */
+    private void discardSyncState() {
+        synchronized (syncStateLock) {
+            syncedAssociations = null;
+
+            File stateFile = getSyncStateFile();
+            if (stateFile != null) {
+                try {
+                    Files.deleteIfExists(stateFile.toPath());
+                } catch (IOException exception) {
+                    log.error("Unable to delete the security sync state file {}", stateFile);
+                }
+            }
+        }
+    }
+
+    private Map<String, Set<String>> loadSyncState() {
+        File stateFile = getSyncStateFile();
+        if (stateFile == null || !stateFile.exists()) {
+            return null;
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(stateFile, new TypeReference<HashMap<String, Set<String>>>() {
+            });
+        } catch (IOException exception) {
+            log.error("Unable to read the security sync state file {}", stateFile);
+        }
+        return null;
+    }
+
+    /**
+     * The state is written to a temporary file that then replaces the state file so a failure part way
+     * through leaves the previous state in place.
+     */
+    private void saveSyncState() {
+        File stateFile = getSyncStateFile();
+        if (stateFile == null || syncedAssociations == null) {
+            return;
+        }
+
+        Path statePath = stateFile.toPath();
+        Path tempPath = statePath.resolveSibling(stateFile.getName() + ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(tempPath.toFile(), syncedAssociations);
+            Files.move(tempPath, statePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            log.error("Unable to save the security sync state file {}", stateFile);
+            try {
+                Files.deleteIfExists(statePath);
+            } catch (IOException deleteException) {
+                log.error("Unable to delete the security sync state file {}", stateFile);
             }
         }
+    }
+
+    private File getSyncStateFile() {
+        if (connection == null || connection.getConfigurationProperties() == null
+                || connection.getConfigurationProperties().get(SECURITY_SYNC_STATE_FILE) == null) {
+            return null;
+        }
+        return new File(connection.getConfigurationProperties().get(SECURITY_SYNC_STATE_FILE).toString());
+    }
 
-        newMappings.forEach((resourceId, tags) -> tags.forEach(tagId -> createAssociationResourceToSecurityTag(resourceId, tagId)));
-        outdatedMapping.forEach((resourceId, tags) -> tags.forEach(tag -> deleteAssociationResourceToSecurityTagBasedOnIds(resourceId, tag)));
+    private int getIntegerProperty(String propertyName, int defaultValue) {
+        if (connection == null || connection.getConfigurationProperties() == null
+                || connection.getConfigurationProperties().get(propertyName) == null) {
+            return defaultValue;
+        }
+
+        try {
+            int value = Integer.parseInt(connection.getConfigurationProperties().get(propertyName).toString());
+            return value > 0 ? value : defaultValue;
+        } catch (NumberFormatException exception) {
+            log.error("Invalid value for the configuration property {}", propertyName);
+        }
+        return defaultValue;
+    }
+
+    private void removeAssociation(Map<String, Set<String>> associations, String resourceGuid, String tagGuid) {
+        Set<String> tagGuids = associations.get(resourceGuid);
+        if (tagGuids != null) {
+            tagGuids.remove(tagGuid);
+            if (tagGuids.isEmpty()) {
+                associations.remove(resourceGuid);
+            }
+        }
     }
 
     private Map<Long, RangerTag> mapTagIds(Set<RangerTag> tags) {
@@ -490,21 +820,24 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
         for (ResourceTagMapper mapper : exitingAssociationResourceTags) {
             RangerServiceResource resource = existingResourcesMap.get(mapper.getResourceId());
             RangerTag rangerTag = existingTagsMap.get(mapper.getTagId());
-            addTag(existingAssoc, resource, rangerTag);
+            if (resource != null && rangerTag != null) {
+                addTag(existingAssoc, resource, rangerTag);
+            }
         }
 
         return existingAssoc;
     }
 
     private String getRangerURL(String s, Object... params) {
-        String rangerBaseURL = connection.getEndpoint().getAddress();
-        return MessageFormat.format(s, rangerBaseURL, params);
+        Object[] arguments = new Object[params.length + 1];
+        arguments[0] = connection.getEndpoint().getAddress();
+        System.arraycopy(params, 0, arguments, 1, params.length);
+        return MessageFormat.format(s, arguments);
     }
 
     private String getBody(Object resource) {
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            return objectMapper.writeValueAsString(resource);
+            return OBJECT_MAPPER.writeValueAsString(resource);
         } catch (JsonProcessingException e) {
             log.error("error write json ");
         }
@@ -530,7 +863,6 @@ public class RangerSecurityServiceConnector extends ConnectorBase implements Sec
     }
 
     private Boolean doDelete(String deleteAssociationURL) {
-        RestTemplate restTemplate = new RestTemplate();
         HttpHeaders headers = getHttpHeaders();
         headers.add("X-HTTP-Method-Override", "DELETE");
         HttpEntity<String> entity = new HttpEntity<>(headers);
@@ -10,11 +10,14 @@ import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitys
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model.ResourceTagMapper;
 
 import java.util.List;
+import java.util.Set;
 
 public interface SecurityServiceConnector {
 
     void importTaggedResources(List<GovernedAsset> governedAssets);
 
+    Set<String> syncChangedResources(List<GovernedAsset> classifiedAssets, Set<String> declassifiedAssetGuids, Set<String> deletedAssetGuids);
+
     RangerSecurityServicePolicies getSecurityServicePolicies(String serviceName, Long lastKnownVersion);
 
     RangerServiceResource createResource(GovernedAsset governedAsset);
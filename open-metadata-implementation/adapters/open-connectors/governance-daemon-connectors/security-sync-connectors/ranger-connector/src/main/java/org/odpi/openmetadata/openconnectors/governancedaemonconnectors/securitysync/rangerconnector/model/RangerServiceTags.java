@@ -0,0 +1,73 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body for Ranger's import service tags endpoint.  It carries a batch of resources, the tags
+ * and the tag ids associated with each resource.  The ids only need to be unique within the batch;
+ * Ranger matches the resources and tags with the ones it already has by guid.
+ */
+public class RangerServiceTags {
+
+    public static final String OP_ADD_OR_UPDATE = "add_or_update";
+
+    private String op = OP_ADD_OR_UPDATE;
+    private String serviceName;
+    private Map<Long, RangerTag> tags;
+    private List<RangerServiceResource> serviceResources;
+    private Map<Long, List<Long>> resourceToTagIds;
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public Map<Long, RangerTag> getTags() {
+        return tags;
+    }
+
+    public void setTags(Map<Long, RangerTag> tags) {
+        this.tags = tags;
+    }
+
+    public List<RangerServiceResource> getServiceResources() {
+        return serviceResources;
+    }
+
+    public void setServiceResources(List<RangerServiceResource> serviceResources) {
+        this.serviceResources = serviceResources;
+    }
+
+    public Map<Long, List<Long>> getResourceToTagIds() {
+        return resourceToTagIds;
+    }
+
+    public void setResourceToTagIds(Map<Long, List<Long>> resourceToTagIds) {
+        this.resourceToTagIds = resourceToTagIds;
+    }
+
+    @Override
+    public String toString() {
+        return "RangerServiceTags{" +
+                "op='" + op + '\'' +
+                ", serviceName='" + serviceName + '\'' +
+                ", tags=" + tags +
+                ", serviceResources=" + serviceResources +
+                ", resourceToTagIds=" + resourceToTagIds +
+                '}';
+    }
+}
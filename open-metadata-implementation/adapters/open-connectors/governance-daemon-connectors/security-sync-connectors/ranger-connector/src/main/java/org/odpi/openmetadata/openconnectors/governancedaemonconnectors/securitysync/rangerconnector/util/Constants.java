@@ -24,9 +24,32 @@ public class Constants {
     public static final String SERVICE_TAGS_RESOURCES = "{0}/service/tags/resources/";
     public static final String SERVICE_TAGS = "{0}/service/tags/tags";
     public static final String SERVICE_TAGS_TAGDEF = "{0}/service/tags/tagdefs";
+    public static final String SERVICE_TAGS_IMPORT = "{0}/service/tags/importservicetags/";
     public static final String SERVICE_POLICIES = "{0}/service/plugins/policies/download/{1}?lastKnownVersion={2}";
     public static final String SECURITY_SERVER_AUTHORIZATION = "securityServerAuthorization";
 
+    /**
+     * Optional configuration properties of the security server connection for the import of tagged resources.
+     * The sync state file keeps the associations sent to Ranger so later imports only send the changes.
+     */
+    public static final String SECURITY_SYNC_STATE_FILE = "securitySyncStateFile";
+    public static final String SECURITY_SYNC_BATCH_SIZE = "securitySyncBatchSize";
+    public static final String SECURITY_SYNC_THREADS = "securitySyncThreads";
+    public static final int DEFAULT_SYNC_BATCH_SIZE = 500;
+    public static final int DEFAULT_SYNC_THREADS = 4;
+
+    /**
+     * Optional configuration properties for the incremental mode of the security sync server.  Classification
+     * events are queued and flushed to Ranger every flush interval (seconds) and a full reconciliation runs every
+     * reconciliation interval (seconds).  The watermark file lets a restart resume from the last applied event.
+     */
+    public static final String SECURITY_SYNC_INCREMENTAL = "securitySyncIncremental";
+    public static final String SECURITY_SYNC_FLUSH_INTERVAL = "securitySyncFlushInterval";
+    public static final String SECURITY_SYNC_RECONCILIATION_INTERVAL = "securitySyncReconciliationInterval";
+    public static final String SECURITY_SYNC_WATERMARK_FILE = "securitySyncWatermarkFile";
+    public static final int DEFAULT_SYNC_FLUSH_INTERVAL = 5;
+    public static final int DEFAULT_SYNC_RECONCILIATION_INTERVAL = 86400;
+
     private Constants() {
     }
 }
\ No newline at end of file
@@ -0,0 +1,241 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.Context;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernanceClassification;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * TestRangerSecurityServiceConnector validates the calls made to Ranger by the import of tagged resources
+ * using a stub Ranger server that counts the calls it receives.
+ */
+public class TestRangerSecurityServiceConnector {
+
+    private static final String IMPORT_CALL = "PUT /service/tags/importservicetags/";
+    private static final String MAPPINGS_CALL = "GET /service/tags/tagresourcemaps";
+    private static final String DELETE_CALL = "DELETE /service/tags/tagresourcemaps";
+    private static final String DELETE_RESOURCE_CALL = "DELETE /service/tags/resource/guid/asset-2";
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private HttpServer rangerServer;
+    private volatile int importStatus;
+    private File stateFile;
+
+    @BeforeMethod
+    public void startRangerServer() throws IOException {
+        calls.clear();
+        importStatus = 204;
+
+        rangerServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        rangerServer.createContext("/", this::handleCall);
+        rangerServer.start();
+
+        stateFile = File.createTempFile("security-sync-state", ".json");
+        Files.delete(stateFile.toPath());
+    }
+
+    @AfterMethod
+    public void stopRangerServer() throws IOException {
+        rangerServer.stop(0);
+        Files.deleteIfExists(stateFile.toPath());
+    }
+
+    /**
+     * Validate that the first import sends the resources in batches and that an import with no changes
+     * sends nothing to Ranger.
+     */
+    @Test
+    public void testImportSendsOnlyChanges() {
+        RangerSecurityServiceConnector connector = new RangerSecurityServiceConnector(getConnection(false));
+        List<GovernedAsset> governedAssets = getGovernedAssets(5);
+
+        connector.importTaggedResources(governedAssets);
+
+        assertEquals(getCallCount(IMPORT_CALL), 3);
+        assertEquals(getCallCount(MAPPINGS_CALL), 1);
+
+        connector.importTaggedResources(getGovernedAssets(5));
+
+        assertEquals(getCallCount(IMPORT_CALL), 3);
+        assertEquals(getCallCount(MAPPINGS_CALL), 1);
+        assertEquals(getCallCount(DELETE_CALL), 0);
+    }
+
+    /**
+     * Validate that a new connector picks up the sync state file and only sends the changed resource
+     * and the removal of the resource that is no longer tagged.
+     */
+    @Test
+    public void testImportUsesSyncStateFile() {
+        new RangerSecurityServiceConnector(getConnection(true)).importTaggedResources(getGovernedAssets(5));
+
+        assertTrue(stateFile.exists());
+        assertEquals(getCallCount(IMPORT_CALL), 3);
+
+        List<GovernedAsset> governedAssets = getGovernedAssets(4);
+        governedAssets.get(0).getAssignedGovernanceClassification().setSecurityLabels(Collections.singletonList("Restricted"));
+
+        new RangerSecurityServiceConnector(getConnection(true)).importTaggedResources(governedAssets);
+
+        assertEquals(getCallCount(IMPORT_CALL), 4);
+        assertEquals(getCallCount(MAPPINGS_CALL), 1);
+        assertEquals(getCallCount(DELETE_CALL), 1);
+    }
+
+    /**
+     * Validate that resources in a batch that Ranger rejects are sent again by the next import.
+     */
+    @Test
+    public void testFailedBatchIsRetried() {
+        RangerSecurityServiceConnector connector = new RangerSecurityServiceConnector(getConnection(false));
+
+        importStatus = 500;
+        connector.importTaggedResources(getGovernedAssets(1));
+        assertEquals(getCallCount(IMPORT_CALL), 1);
+
+        importStatus = 204;
+        connector.importTaggedResources(getGovernedAssets(1));
+        assertEquals(getCallCount(IMPORT_CALL), 2);
+
+        connector.importTaggedResources(getGovernedAssets(1));
+        assertEquals(getCallCount(IMPORT_CALL), 2);
+        assertFalse(stateFile.exists());
+    }
+
+    /**
+     * Validate that the changes to a few assets are applied without reading the Ranger state again and that
+     * the assets whose changes Ranger rejects are returned.
+     */
+    @Test
+    public void testSyncChangedResources() {
+        RangerSecurityServiceConnector connector = new RangerSecurityServiceConnector(getConnection(true));
+        List<GovernedAsset> governedAssets = getGovernedAssets(5);
+
+        connector.importTaggedResources(governedAssets);
+        assertEquals(getCallCount(IMPORT_CALL), 3);
+
+        GovernedAsset reclassifiedAsset = governedAssets.get(0);
+        reclassifiedAsset.getAssignedGovernanceClassification().setSecurityLabels(Collections.singletonList("Restricted"));
+
+        Set<String> failedAssetGuids = connector.syncChangedResources(Collections.singletonList(reclassifiedAsset),
+                Collections.singleton("asset-1"), Collections.singleton("asset-2"));
+
+        assertTrue(failedAssetGuids.isEmpty());
+        assertEquals(getCallCount(IMPORT_CALL), 4);
+        assertEquals(getCallCount(MAPPINGS_CALL), 1);
+        assertEquals(getCallCount(DELETE_CALL), 2);
+        assertEquals(getCallCount(DELETE_RESOURCE_CALL), 1);
+
+        importStatus = 500;
+        GovernedAsset newAsset = getGovernedAssets(6).get(5);
+        failedAssetGuids = connector.syncChangedResources(Collections.singletonList(newAsset), Collections.emptySet(), Collections.emptySet());
+
+        assertEquals(failedAssetGuids, Collections.singleton("asset-5"));
+
+        connector.importTaggedResources(getGovernedAssets(5).subList(3, 5));
+        assertEquals(getCallCount(IMPORT_CALL), 5);
+        assertEquals(getCallCount(DELETE_CALL), 3);
+    }
+
+    private Connection getConnection(boolean withStateFile) {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress("http://localhost:" + rangerServer.getAddress().getPort());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("securitySyncBatchSize", 2);
+        configurationProperties.put("securitySyncThreads", 2);
+        if (withStateFile) {
+            configurationProperties.put("securitySyncStateFile", stateFile.getAbsolutePath());
+        }
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+        return connection;
+    }
+
+    private List<GovernedAsset> getGovernedAssets(int count) {
+        List<GovernedAsset> governedAssets = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Context context = new Context();
+            context.setTable("table" + i);
+            context.setColumn("column" + i);
+
+            GovernanceClassification classification = new GovernanceClassification();
+            classification.setSecurityLabels(Collections.singletonList("Confidential"));
+
+            GovernedAsset governedAsset = new GovernedAsset();
+            governedAsset.setGuid("asset-" + i);
+            governedAsset.setContext(context);
+            governedAsset.setAssignedGovernanceClassification(classification);
+            governedAssets.add(governedAsset);
+        }
+        return governedAssets;
+    }
+
+    private void handleCall(HttpExchange exchange) throws IOException {
+        countCall(exchange);
+
+        if ("GET".equals(exchange.getRequestMethod())) {
+            sendResponse(exchange, 200, "[]");
+        } else if ("POST".equals(exchange.getRequestMethod())) {
+            sendResponse(exchange, 200, "{}");
+        } else if (IMPORT_CALL.endsWith(exchange.getRequestURI().getPath())) {
+            sendResponse(exchange, importStatus, null);
+        } else {
+            sendResponse(exchange, 204, null);
+        }
+    }
+
+    private void countCall(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        calls.computeIfAbsent(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath(), key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private void sendResponse(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    private int getCallCount(String call) {
+        AtomicInteger count = calls.get(call);
+        return count == null ? 0 : count.get();
+    }
+}
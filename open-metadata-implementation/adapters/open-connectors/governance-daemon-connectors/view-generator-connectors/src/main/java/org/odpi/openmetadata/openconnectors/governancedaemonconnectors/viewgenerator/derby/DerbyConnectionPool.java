@@ -0,0 +1,136 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.viewgenerator.derby;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * DerbyConnectionPool keeps the connections to the database of one view generator connector so they are
+ * reused from one event to the next.  A connection is only used by one caller at a time.  Connections
+ * beyond the maximum number of idle connections are closed when they are released, and an idle connection
+ * that is no longer valid is closed and replaced when it is next needed.
+ */
+class DerbyConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(DerbyConnectionPool.class);
+
+    private final String databaseUrl;
+    private final int maxIdleConnections;
+    private final int validationTimeout;
+
+    private final Deque<Connection> idleConnections = new ArrayDeque<>();
+    private boolean isClosed = false;
+
+    /**
+     * Constructor
+     *
+     * @param databaseUrl        JDBC url of the database
+     * @param maxIdleConnections maximum number of connections kept for reuse
+     * @param validationTimeout  number of seconds to wait when checking that an idle connection is still valid
+     */
+    DerbyConnectionPool(String databaseUrl, int maxIdleConnections, int validationTimeout) {
+        this.databaseUrl = databaseUrl;
+        this.maxIdleConnections = maxIdleConnections;
+        this.validationTimeout = validationTimeout;
+    }
+
+    /**
+     * Return a connection from the pool, or a new connection if there are no idle connections.
+     * The connection is in auto-commit mode and must be passed to releaseConnection once the caller has finished with it.
+     *
+     * @return connection to the database
+     * @throws SQLException the pool is closed or a new connection cannot be created
+     */
+    Connection getConnection() throws SQLException {
+        while (true) {
+            Connection connection;
+            synchronized (this) {
+                if (isClosed) {
+                    throw new SQLException("The connection pool for " + databaseUrl + " is closed");
+                }
+                connection = idleConnections.pollFirst();
+            }
+
+            if (connection == null) {
+                return DriverManager.getConnection(databaseUrl);
+            }
+
+            if (isValid(connection)) {
+                return connection;
+            }
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * Pass a connection back to the pool.  Any open transaction is rolled back.
+     *
+     * @param connection connection returned by getConnection
+     */
+    void releaseConnection(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            closeConnection(connection);
+            return;
+        }
+
+        boolean isPooled = false;
+        synchronized (this) {
+            if (!isClosed && idleConnections.size() < maxIdleConnections) {
+                idleConnections.push(connection);
+                isPooled = true;
+            }
+        }
+
+        if (!isPooled) {
+            closeConnection(connection);
+        }
+    }
+
+    /**
+     * Close the idle connections.  Connections that are in use are closed when they are released.
+     */
+    void close() {
+        List<Connection> closingConnections;
+        synchronized (this) {
+            isClosed = true;
+            closingConnections = new ArrayList<>(idleConnections);
+            idleConnections.clear();
+        }
+
+        closingConnections.forEach(this::closeConnection);
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(validationTimeout);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeConnection(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Error closing the connection to the database", e);
+        }
+    }
+}
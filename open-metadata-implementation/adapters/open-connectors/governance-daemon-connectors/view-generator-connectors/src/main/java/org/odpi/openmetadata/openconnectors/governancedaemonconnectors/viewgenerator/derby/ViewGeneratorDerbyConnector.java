@@ -6,6 +6,7 @@
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.viewgenerator.derby;
 
 import org.odpi.openmetadata.accessservices.informationview.events.TableContextEvent;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.AdditionalProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
@@ -16,11 +17,14 @@ import org.odpi.openmetadata.governanceservers.virtualizationservices.viewgenera
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.DriverManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.odpi.openmetadata.governanceservers.virtualizationservices.viewgenerator.utils.ConnectorUtils;
 
@@ -28,13 +32,26 @@ import static org.odpi.openmetadata.governanceservers.virtualizationservices.vie
 import static org.odpi.openmetadata.governanceservers.virtualizationservices.viewgenerator.utils.ConnectorUtils.TECHNICAL_PREFIX;
 
 
+/**
+ * ViewGeneratorDerbyConnector creates the business and technical views of a table in GaianDB through its
+ * Derby interface.  Each connector has its own pool of connections to GaianDB.  The Gaian procedures are called
+ * through prepared statements, and all the changes for one table are applied together in one transaction.
+ * A view whose definition in GaianDB already matches the event is not changed.
+ */
 public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(ViewGeneratorDerbyConnector.class);
-    private static String databaseUrl;
-    private static java.sql.Connection derbyConnection;
-    private static java.sql.Statement derbyStatement;
-    private static DerbyConnectorAuditCode auditCode;
+    private static final String DERBY_CLIENT_DRIVER = "org.apache.derby.jdbc.ClientDriver";
+    private static final String CONNECTION_POOL_SIZE = "connectionPoolSize";
+    private static final int DEFAULT_CONNECTION_POOL_SIZE = 4;
+    private static final String SET_LOGICAL_TABLE = "call setlt(?, ?, '')";
+    private static final String SET_LOGICAL_TABLE_FOR_NODE = "call setltfornode(?, ?)";
+    private static final String SET_DATA_SOURCE_RDB_TABLE = "call setdsrdbtable(?, '', ?, ?, '', ?)";
+    private static final String REMOVE_LOGICAL_TABLE = "call removelt(?)";
+
+    private String databaseUrl;
+    private DerbyConnectionPool connectionPool;
+    private DerbyConnectorAuditCode auditCode;
     /*
      * Variables fpr building the connection to the Derby database
      */
@@ -49,6 +66,7 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
     private String logicTableDefinition;
     private String getLogicTablesQuery;
     private String gaianFrontendName;
+    private int connectionPoolSize = DEFAULT_CONNECTION_POOL_SIZE;
 
     /**
      * Initialize the connector.
@@ -89,6 +107,7 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
                 isCreate = serverProperty.getProperty("create");
                 databaseName = additionalProperties.getProperty("databaseName");
                 timeoutInSecond = Integer.parseInt(serverProperty.getProperty("timeoutInSecond"));
+                connectionPoolSize = getConnectionPoolSize(additionalProperties);
                 databaseUrl = serverAddress + "/" + databaseName +
                         ";create=" + isCreate +
                         ";user=" + username +
@@ -143,9 +162,9 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
             }
         }
 
-        createDerbyConnection();
+        boolean isConnected = createConnectionPool();
 
-        if (derbyConnection != null && omrsAuditLog != null) {
+        if (isConnected && omrsAuditLog != null) {
             auditCode = DerbyConnectorAuditCode.CONNECTOR_INITIALIZED;
             omrsAuditLog.logRecord(actionDescription,
                     auditCode.getLogMessageId(),
@@ -158,63 +177,39 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
     }
 
     /**
-     * Delete a table
+     * Close the connections to the database.
      *
-     * @param tableName table name
-     * @return boolean whether the table is deleted successfully
+     * @throws ConnectorCheckedException there is a problem within the connector.
      */
-    private boolean deleteLogicalTable(String tableName) {
-        final String actionDescription = "deleteLogicalTable";
-
-        try {
-            derbyStatement = derbyConnection.createStatement();
-            derbyStatement.setQueryTimeout(timeoutInSecond);
-            derbyStatement.executeUpdate("call removelt('" + tableName + "')");
-
-            log.debug("Successfully deleted table: {}.", tableName);
-            return true;
-
-        } catch (SQLException e) {
-            log.error("Error deleting table", e);
-            if (omrsAuditLog != null) {
-                auditCode = DerbyConnectorAuditCode.CONNECTOR_QUERY_ERROR;
-                omrsAuditLog.logRecord(actionDescription,
-                        auditCode.getLogMessageId(),
-                        auditCode.getSeverity(),
-                        auditCode.getFormattedLogMessage(),
-                        null,
-                        auditCode.getSystemAction(),
-                        auditCode.getUserAction());
-            }
-            return false;
+    @Override
+    public void disconnect() throws ConnectorCheckedException {
+        if (connectionPool != null) {
+            connectionPool.close();
         }
+        super.disconnect();
     }
 
     private List<LogicTable> getAllLogicTables() {
         final String actionDescription = "getAllLogicTables";
 
         List<LogicTable> logicTableList = new ArrayList<>();
+        Connection connection = null;
 
         try {
-            derbyStatement = derbyConnection.createStatement();
-            derbyStatement.setQueryTimeout(timeoutInSecond);
-            ResultSet resultSet = derbyStatement.executeQuery(getLogicTablesQuery);
-            while (resultSet.next()) {
-                logicTableList.add(extractLogicTableDefinition(resultSet));
+            connection = connectionPool.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeoutInSecond);
+                try (ResultSet resultSet = statement.executeQuery(getLogicTablesQuery)) {
+                    while (resultSet.next()) {
+                        logicTableList.add(extractLogicTableDefinition(resultSet));
+                    }
+                }
             }
-
         } catch (SQLException e) {
             log.error("Error in getting all the logic tables: ", e);
-            if (omrsAuditLog != null) {
-                auditCode = DerbyConnectorAuditCode.CONNECTOR_QUERY_ERROR;
-                omrsAuditLog.logRecord(actionDescription,
-                        auditCode.getLogMessageId(),
-                        auditCode.getSeverity(),
-                        auditCode.getFormattedLogMessage(),
-                        null,
-                        auditCode.getSystemAction(),
-                        auditCode.getUserAction());
-            }
+            logQueryError(actionDescription);
+        } finally {
+            releaseConnection(connection);
         }
         return logicTableList;
     }
@@ -224,26 +219,90 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
 
         final String actionDescription = "executeCustomizedUpdate: " + update;
 
+        Connection connection = null;
         try {
-            derbyStatement = derbyConnection.createStatement();
-            derbyStatement.setQueryTimeout(timeoutInSecond);
-            derbyStatement.executeUpdate(update);
+            connection = connectionPool.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeoutInSecond);
+                statement.executeUpdate(update);
+            }
 
             log.debug("Successfully executed query: {}.", update);
             return true;
         } catch (SQLException e) {
             log.error("Error in executing a customized update!", e);
-            if (omrsAuditLog != null) {
-                auditCode = DerbyConnectorAuditCode.CONNECTOR_QUERY_ERROR;
-                omrsAuditLog.logRecord(actionDescription,
-                        auditCode.getLogMessageId(),
-                        auditCode.getSeverity(),
-                        auditCode.getFormattedLogMessage(),
-                        null,
-                        auditCode.getSystemAction(),
-                        auditCode.getUserAction());
+            logQueryError(actionDescription);
+            return false;
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    /**
+     * Run the calls to the Gaian procedures for one table in a single transaction.  Consecutive calls to the
+     * same procedure are sent as one batch.
+     *
+     * @param tableName table the calls are for
+     * @param procedureCalls calls to run in order
+     * @return boolean whether all the calls were successful
+     */
+    private boolean executeProcedureCalls(String tableName, List<ProcedureCall> procedureCalls) {
+        final String actionDescription = "executeProcedureCalls: " + tableName;
+
+        if (procedureCalls.isEmpty()) {
+            return true;
+        }
+
+        Connection connection = null;
+        try {
+            connection = connectionPool.getConnection();
+            connection.setAutoCommit(false);
+
+            int next = 0;
+            while (next < procedureCalls.size()) {
+                String sql = procedureCalls.get(next).sql;
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setQueryTimeout(timeoutInSecond);
+                    while (next < procedureCalls.size() && procedureCalls.get(next).sql.equals(sql)) {
+                        String[] parameters = procedureCalls.get(next).parameters;
+                        for (int i = 0; i < parameters.length; i++) {
+                            statement.setString(i + 1, parameters[i]);
+                        }
+                        statement.addBatch();
+                        next++;
+                    }
+                    statement.executeBatch();
+                }
             }
+
+            connection.commit();
+            log.debug("Successfully applied {} changes for table {}.", procedureCalls.size(), tableName);
+            return true;
+        } catch (SQLException e) {
+            log.error("Error in applying the changes for table " + tableName, e);
+            logQueryError(actionDescription);
             return false;
+        } finally {
+            releaseConnection(connection);
+        }
+    }
+
+    private void releaseConnection(Connection connection) {
+        if (connection != null) {
+            connectionPool.releaseConnection(connection);
+        }
+    }
+
+    private void logQueryError(String actionDescription) {
+        if (omrsAuditLog != null) {
+            DerbyConnectorAuditCode auditCode = DerbyConnectorAuditCode.CONNECTOR_QUERY_ERROR;
+            omrsAuditLog.logRecord(actionDescription,
+                    auditCode.getLogMessageId(),
+                    auditCode.getSeverity(),
+                    auditCode.getFormattedLogMessage(),
+                    null,
+                    auditCode.getSystemAction(),
+                    auditCode.getUserAction());
         }
     }
 
@@ -279,15 +338,16 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
             String logicalTableName = ConnectorUtils.getLogicTableName(ConnectorUtils.GENERAL, tableContextEvent, gaianNodeName);
             List<MappedColumn> mappedColumns = ConnectorUtils.getMappedColumns(tableContextEvent);
 
+            List<LogicTable> logicTables = getAllLogicTables();
+
             if (mappedColumns == null || mappedColumns.isEmpty()){
                 log.info("There are no business term associations to columns in the received event, removing existing definitions");
-                if (getMatchingTables(gaianNodeName, Arrays.asList(businessTableName, technicalTableName)) != null){
-                    deleteLogicalTable(businessTableName);
-                    deleteLogicalTable(technicalTableName);
+                if (getMatchingTables(logicTables, gaianNodeName, Arrays.asList(businessTableName, technicalTableName)) != null){
+                    deleteTableDefinitions(logicTables, logicalTableName, Arrays.asList(businessTableName, technicalTableName));
                 }
             }
             else {
-                return createTableDefinitions(tableContextEvent, gaianNodeName, technicalTableName, businessTableName, logicalTableName, mappedColumns);
+                return createTableDefinitions(tableContextEvent, logicTables, gaianNodeName, technicalTableName, businessTableName, logicalTableName, mappedColumns);
             }
         } catch (Exception e){
             log.error("Unable to process the event.", e);
@@ -299,17 +359,27 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
 
 
     /**
-     * Establish the connection to database
+     * Set up the pool of connections to the database and check that a connection can be established
+     *
+     * @return boolean whether the database can be connected
      */
-    private void createDerbyConnection() {
+    private boolean createConnectionPool() {
 
-        final String actionDescription = "createDerbyConnection";
+        final String actionDescription = "createConnectionPool";
 
         try {
-            Class.forName("org.apache.derby.jdbc.ClientDriver").newInstance();
-            //Get a connection
-            derbyConnection = DriverManager.getConnection(databaseUrl);
+            Class.forName(DERBY_CLIENT_DRIVER);
+        } catch (ClassNotFoundException e) {
+            log.debug("The Derby client driver is not on the class path, the JDBC drivers registered with the driver manager are used");
+        }
+
+        connectionPool = new DerbyConnectionPool(databaseUrl, connectionPoolSize, timeoutInSecond);
+
+        Connection connection = null;
+        try {
+            connection = connectionPool.getConnection();
             log.info("The connection to database is successfully established!");
+            return true;
         } catch (Exception e) {
             log.error("Error in creating the connection to derby: ", e);
             if (omrsAuditLog != null) {
@@ -322,16 +392,27 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
                         auditCode.getSystemAction(),
                         auditCode.getUserAction());
             }
+        } finally {
+            releaseConnection(connection);
         }
+        return false;
+    }
+
+    private int getConnectionPoolSize(AdditionalProperties additionalProperties) {
+        if (additionalProperties != null && additionalProperties.getProperty(CONNECTION_POOL_SIZE) != null) {
+            try {
+                return Integer.parseInt(additionalProperties.getProperty(CONNECTION_POOL_SIZE));
+            } catch (NumberFormatException e) {
+                log.error("Invalid connection pool size {}", additionalProperties.getProperty(CONNECTION_POOL_SIZE));
+            }
+        }
+        return DEFAULT_CONNECTION_POOL_SIZE;
     }
 
 
-    private LogicTable getMatchingTables(String gaianNodeName, List<String> tables) {
+    private LogicTable getMatchingTables(List<LogicTable> logicTableList, String gaianNodeName, List<String> tables) {
         log.debug("gaianNodeName: {}", gaianNodeName);
         log.debug("tables to match in gaian: {}", tables);
-        List<LogicTable> logicTableList = new ArrayList<>();
-
-        logicTableList = getAllLogicTables();
 
         if (logicTableList != null && !logicTableList.isEmpty()) {
             return logicTableList.stream().filter(e -> (e.getNodeName().equals(gaianNodeName) && tables.contains(e.getLogicalTableName()))).findFirst().orElse(null);
@@ -356,30 +437,37 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
     }
 
 
-    private Map<String, String> createTableDefinitions(TableContextEvent tableContextEvent, String gaianNodeName, String technicalTableName, String businessTableName, String logicalTableName, List<MappedColumn> mappedColumns){
-        String methodName = "createTableDefinitions";
+    private Map<String, String> createTableDefinitions(TableContextEvent tableContextEvent, List<LogicTable> logicTables, String gaianNodeName, String technicalTableName, String businessTableName, String logicalTableName, List<MappedColumn> mappedColumns){
         Map<String, String> createdTables = new HashMap<>();
-        LogicTable backendTable = getMatchingTables(gaianNodeName, Collections.singletonList(logicalTableName));
+        LogicTable backendTable = getMatchingTables(logicTables, gaianNodeName, Collections.singletonList(logicalTableName));
         if (backendTable != null) {
-            if (!backendTable.getNodeName().equals(gaianFrontendName)) {
-                createMirroringLogicalTable(logicalTableName, gaianNodeName);
-            }
             ConnectorUtils.updateColumnDataType(mappedColumns, backendTable);
 
-            String updatedTable = createTableDefinition(tableContextEvent.getTableSource().getDatabaseSource().getName(), businessTableName, (c -> c.getBusinessName()), mappedColumns, gaianNodeName, logicalTableName);
-            if (updatedTable != null) {
-                createdTables.put(ConnectorUtils.BUSINESS_PREFIX, updatedTable);
-            }
+            String databaseName = tableContextEvent.getTableSource().getDatabaseSource().getName();
+            List<String> changedTables = new ArrayList<>();
+            List<ProcedureCall> setLogicalTableCalls = new ArrayList<>();
+            List<ProcedureCall> setDataSourceCalls = new ArrayList<>();
 
-            updatedTable = createTableDefinition(tableContextEvent.getTableSource().getDatabaseSource().getName(), technicalTableName, (c -> c.getTechnicalName()), mappedColumns, gaianNodeName, logicalTableName);
-            if (updatedTable != null) {
-                createdTables.put(ConnectorUtils.TECHNICAL_PREFIX, updatedTable);
-            }
+            addTableDefinition(logicTables, businessTableName, MappedColumn::getBusinessName, mappedColumns, gaianNodeName, logicalTableName, changedTables, setLogicalTableCalls, setDataSourceCalls);
+            addTableDefinition(logicTables, technicalTableName, MappedColumn::getTechnicalName, mappedColumns, gaianNodeName, logicalTableName, changedTables, setLogicalTableCalls, setDataSourceCalls);
 
-            if (!backendTable.getNodeName().equals(gaianFrontendName)) {
+            boolean isMirrored = !changedTables.isEmpty() && !backendTable.getNodeName().equals(gaianFrontendName);
+            List<ProcedureCall> procedureCalls = new ArrayList<>();
+            if (isMirrored) {
+                log.debug("Set up Logical Table for Gaian node");
+                procedureCalls.add(new ProcedureCall(SET_LOGICAL_TABLE_FOR_NODE, logicalTableName, gaianNodeName));
+            }
+            procedureCalls.addAll(setLogicalTableCalls);
+            procedureCalls.addAll(setDataSourceCalls);
+            if (isMirrored) {
                 log.info("Remove mirrored logical table: {}", logicalTableName);
-                deleteLogicalTable(logicalTableName);
+                procedureCalls.add(new ProcedureCall(REMOVE_LOGICAL_TABLE, logicalTableName));
             }
+
+            boolean queryStatus = executeProcedureCalls(databaseName + "." + logicalTableName, procedureCalls);
+
+            addCreatedTable(createdTables, ConnectorUtils.BUSINESS_PREFIX, businessTableName, changedTables, queryStatus);
+            addCreatedTable(createdTables, ConnectorUtils.TECHNICAL_PREFIX, technicalTableName, changedTables, queryStatus);
             return createdTables;
         } else {
             log.error("error");
@@ -387,76 +475,98 @@ public class ViewGeneratorDerbyConnector extends ViewGeneratorConnectorBase {
         }
     }
 
+    private void deleteTableDefinitions(List<LogicTable> logicTables, String logicalTableName, List<String> tableNames) {
+        List<ProcedureCall> procedureCalls = new ArrayList<>();
+        for (String tableName : tableNames) {
+            if (logicTables.stream().anyMatch(logicTable -> tableName.equals(logicTable.getLogicalTableName()))) {
+                procedureCalls.add(new ProcedureCall(REMOVE_LOGICAL_TABLE, tableName));
+            }
+        }
+
+        if (executeProcedureCalls(logicalTableName, procedureCalls)) {
+            log.debug("Successfully deleted tables: {}.", tableNames);
+        }
+    }
 
     /**
-     * Set Logical Table mirroring the definition for the given Logical Table Name on another GaianDB node, so its data can be queried remotely.
+     * Add the calls that create the definition of a table, unless the table already has this definition.
      *
-     * @param logicalTableName
-     * @param gaianNodeName
+     * @param logicTables the logic tables currently defined in Gaian
+     * @param tableName name of the table to be created
+     * @param function to retrieve the value to be used as column name; it is either technical or business name
+     * @param mappedColumns columns to be added to table definition
+     * @param gaianNodeName node of the source table
+     * @param logicalTableName logical table of the source table
+     * @param changedTables names of the tables that are changed
+     * @param setLogicalTableCalls calls that define the tables
+     * @param setDataSourceCalls calls that define the data sources of the tables
      */
-    private void createMirroringLogicalTable(String logicalTableName, String gaianNodeName) {
-        log.debug("Set up Logical Table for Gaian node");
-        String setLogicalTableForNode = "call setltfornode('" +
-                logicalTableName + "','" +
-                gaianNodeName + "')";
+    private void addTableDefinition(List<LogicTable> logicTables, String tableName, Function<MappedColumn, String> function, List<MappedColumn> mappedColumns,
+                                    String gaianNodeName, String logicalTableName, List<String> changedTables,
+                                    List<ProcedureCall> setLogicalTableCalls, List<ProcedureCall> setDataSourceCalls) {
+        if (isDefinitionUnchanged(logicTables, tableName, mappedColumns, function)) {
+            log.debug("Table {} is unchanged", tableName);
+            return;
+        }
 
-        executeCustomizedUpdate(setLogicalTableForNode);
+        changedTables.add(tableName);
+        setLogicalTableCalls.add(new ProcedureCall(SET_LOGICAL_TABLE, tableName, buildColumnDefinitions(mappedColumns, function)));
+        setDataSourceCalls.add(new ProcedureCall(SET_DATA_SOURCE_RDB_TABLE, tableName, gaianNodeName.toUpperCase(), logicalTableName, buildColumnList(mappedColumns)));
     }
 
-    private String createTableDefinition(String databaseName, String tableName, Function<MappedColumn, String> function, List<MappedColumn> mappedColumns, String gaianNodeName, String logicalTableName) {
-        String businessTableCreateStatement = buildTableCreateStatement(tableName, mappedColumns, function);
-        String setBusinessTableDataSource = buildCreateTableDataSourceStatement(databaseName, tableName, gaianNodeName, mappedColumns, logicalTableName);
+    private void addCreatedTable(Map<String, String> createdTables, String prefix, String tableName, List<String> changedTables, boolean queryStatus) {
+        if (queryStatus || !changedTables.contains(tableName)) {
+            log.debug("Successfully created table {}", tableName);
+            createdTables.put(prefix, tableName);
+        } else {
+            log.error("Failed to create table {}", tableName);
+        }
+    }
 
-        boolean queryStatus = executeCustomizedUpdate(businessTableCreateStatement);
-        if (queryStatus){
-            queryStatus = executeCustomizedUpdate(setBusinessTableDataSource);
+    private boolean isDefinitionUnchanged(List<LogicTable> logicTables, String tableName, List<MappedColumn> mappedColumns, Function<MappedColumn, String> function) {
+        LogicTable existingTable = logicTables.stream().filter(logicTable -> tableName.equals(logicTable.getLogicalTableName())).findFirst().orElse(null);
+        if (existingTable == null || existingTable.getLogicalTableDefinition() == null) {
+            return false;
         }
 
-        if (queryStatus) {
-            log.debug("Successfully created table {}", tableName);
-            return tableName;
-        } else {
-            log.error("Failed to create table {}" ,tableName);
+        Map<String, String> definition = new HashMap<>();
+        for (MappedColumn mappedColumn : mappedColumns) {
+            definition.put(function.apply(mappedColumn).toUpperCase(), String.valueOf(mappedColumn.getType()).toUpperCase());
         }
-        return null;
+
+        Map<String, String> existingDefinition = new HashMap<>();
+        existingTable.getLogicalTableDefinition().forEach((column, type) -> existingDefinition.put(column.toUpperCase(), type.toUpperCase()));
+
+        return definition.equals(existingDefinition);
     }
 
     /**
      *
-     * @param tableName name of the table to be created
      * @param mappedColumns columns to be added to table definition
      * @param function to retrieve the value to be used as column name; it is either technical or business name
-     * @return
+     * @return the column definitions of the table
      */
-    private String buildTableCreateStatement(String tableName, List<MappedColumn> mappedColumns, Function<MappedColumn, String> function) {
-        StringBuilder statement = new StringBuilder("call setlt('" +
-                tableName +
-                "','");
-        for (MappedColumn mappedColumn : mappedColumns) {
-            statement.append(function.apply(mappedColumn)).append(" ").append(mappedColumn.getType()).append(",");
-        }
-        statement = new StringBuilder(statement.substring(0, (statement.length() - 1)));
-        statement.append("','')");
-        return statement.toString();
+    private String buildColumnDefinitions(List<MappedColumn> mappedColumns, Function<MappedColumn, String> function) {
+        return mappedColumns.stream().map(mappedColumn -> function.apply(mappedColumn) + " " + mappedColumn.getType()).collect(Collectors.joining(","));
     }
 
 
-    private String buildCreateTableDataSourceStatement(String databaseName, String tableName, String gaianNodeName, List<MappedColumn> mappedColumns, String logicalTableName) {
-        String connectionName = gaianNodeName.toUpperCase();
-        String statementForCreatingDataSource = "call setdsrdbtable('" +
-                tableName +
-                "', '', '" +
-                connectionName +
-                "', '" +
-                logicalTableName +
-                "','', '";
+    private String buildColumnList(List<MappedColumn> mappedColumns) {
+        return mappedColumns.stream().map(MappedColumn::getTechnicalName).collect(Collectors.joining(","));
+    }
+
 
-        for (MappedColumn mappedColumn : mappedColumns) {
-            statementForCreatingDataSource += mappedColumn.getTechnicalName() + ",";
+    /**
+     * A call to one of the Gaian procedures and its parameters.
+     */
+    private static class ProcedureCall {
+        private final String sql;
+        private final String[] parameters;
+
+        ProcedureCall(String sql, String... parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
         }
-        statementForCreatingDataSource = statementForCreatingDataSource.substring(0, (statementForCreatingDataSource.length() - 1));
-        statementForCreatingDataSource += "')";
-        return statementForCreatingDataSource;
     }
 
 }
@@ -0,0 +1,280 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.viewgenerator.derby;
+
+import org.odpi.openmetadata.accessservices.informationview.events.BusinessTerm;
+import org.odpi.openmetadata.accessservices.informationview.events.DatabaseSource;
+import org.odpi.openmetadata.accessservices.informationview.events.EndpointSource;
+import org.odpi.openmetadata.accessservices.informationview.events.TableColumn;
+import org.odpi.openmetadata.accessservices.informationview.events.TableContextEvent;
+import org.odpi.openmetadata.accessservices.informationview.events.TableSource;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * TestViewGeneratorDerbyConnector validates the calls made to GaianDB by the ViewGeneratorDerbyConnector.
+ * An in-memory H2 database stands in for GaianDB with its logical table procedures implemented by
+ * the static methods of this class.  The database url built by the connector is passed to H2 by the
+ * GaianTestDriver without the settings that are only known to Derby.
+ */
+public class TestViewGeneratorDerbyConnector {
+
+    private static final String FRONTEND_NODE = "frontend";
+    private static final AtomicInteger databaseCount = new AtomicInteger();
+    private static final List<String> procedureCalls = Collections.synchronizedList(new ArrayList<>());
+
+    private java.sql.Connection setupConnection;
+    private ViewGeneratorDerbyConnector connector;
+
+    static {
+        try {
+            DriverManager.registerDriver(new GaianTestDriver());
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        procedureCalls.clear();
+
+        String databaseName = "views" + databaseCount.incrementAndGet();
+
+        setupConnection = DriverManager.getConnection("jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;USER=sa;PASSWORD=");
+        try (Statement statement = setupConnection.createStatement()) {
+            statement.execute("create table LOGICAL_TABLES (LTNAME varchar(200) primary key, LTDEF varchar(2000), GDBNODE varchar(200))");
+            statement.execute("create alias SETLT for \"" + getClass().getName() + ".setLogicalTable\"");
+            statement.execute("create alias SETLTFORNODE for \"" + getClass().getName() + ".setLogicalTableForNode\"");
+            statement.execute("create alias SETDSRDBTABLE for \"" + getClass().getName() + ".setDataSource\"");
+            statement.execute("create alias REMOVELT for \"" + getClass().getName() + ".removeLogicalTable\"");
+            statement.execute("insert into LOGICAL_TABLES values ('JDBC_EMPLOYEES_HR_PERSON', 'ID INTEGER, FNAME VARCHAR(20)', '" + FRONTEND_NODE + "')");
+        }
+
+        connector = new ViewGeneratorDerbyConnector();
+        connector.initialize("test", new ConnectionProperties(getConnection(databaseName)));
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        connector.disconnect();
+        setupConnection.close();
+    }
+
+    /**
+     * Validate that the views of a table are created together and that an event with no changes to the
+     * views does not change GaianDB.
+     */
+    @Test
+    public void testUnchangedViewsAreSkipped() {
+        Map<String, String> views = connector.processInformationViewEvent(getEvent(true));
+
+        assertEquals(views.size(), 2);
+        assertEquals(procedureCalls, Arrays.asList("setlt LTB_FRONTEND_JDBC_EMPLOYEES_HR_PERSON",
+                                                   "setlt LTT_FRONTEND_JDBC_EMPLOYEES_HR_PERSON",
+                                                   "setdsrdbtable LTB_FRONTEND_JDBC_EMPLOYEES_HR_PERSON",
+                                                   "setdsrdbtable LTT_FRONTEND_JDBC_EMPLOYEES_HR_PERSON"));
+
+        procedureCalls.clear();
+        views = connector.processInformationViewEvent(getEvent(true));
+
+        assertEquals(views.size(), 2);
+        assertEquals(procedureCalls.size(), 0);
+    }
+
+    /**
+     * Validate that the views are removed when the table no longer has business terms.
+     */
+    @Test
+    public void testViewsRemoved() {
+        connector.processInformationViewEvent(getEvent(true));
+        procedureCalls.clear();
+
+        assertNull(connector.processInformationViewEvent(getEvent(false)));
+        assertEquals(procedureCalls, Arrays.asList("removelt LTB_FRONTEND_JDBC_EMPLOYEES_HR_PERSON",
+                                                   "removelt LTT_FRONTEND_JDBC_EMPLOYEES_HR_PERSON"));
+    }
+
+    /**
+     * Validate that a failed change leaves none of the views of the table changed.
+     *
+     * @throws SQLException unexpected error
+     */
+    @Test
+    public void testChangesAppliedInOneTransaction() throws SQLException {
+        try (Statement statement = setupConnection.createStatement()) {
+            statement.execute("drop alias SETDSRDBTABLE");
+        }
+
+        Map<String, String> views = connector.processInformationViewEvent(getEvent(true));
+
+        assertEquals(views.size(), 0);
+        try (Statement statement = setupConnection.createStatement()) {
+            statement.execute("select count(*) from LOGICAL_TABLES");
+            statement.getResultSet().next();
+            assertEquals(statement.getResultSet().getInt(1), 1);
+        }
+    }
+
+    public static void setLogicalTable(java.sql.Connection connection, String tableName, String definition, String options) throws SQLException {
+        procedureCalls.add("setlt " + tableName);
+        try (PreparedStatement statement = connection.prepareStatement("merge into LOGICAL_TABLES values (?, ?, ?)")) {
+            statement.setString(1, tableName);
+            statement.setString(2, definition.replace(",", ", "));
+            statement.setString(3, FRONTEND_NODE);
+            statement.executeUpdate();
+        }
+    }
+
+    public static void setLogicalTableForNode(String tableName, String nodeName) {
+        procedureCalls.add("setltfornode " + tableName);
+    }
+
+    public static void setDataSource(String tableName, String dataSourceName, String connectionName, String sourceTableName,
+                                     String options, String columns) {
+        procedureCalls.add("setdsrdbtable " + tableName);
+    }
+
+    public static void removeLogicalTable(java.sql.Connection connection, String tableName) throws SQLException {
+        procedureCalls.add("removelt " + tableName);
+        try (PreparedStatement statement = connection.prepareStatement("delete from LOGICAL_TABLES where LTNAME = ?")) {
+            statement.setString(1, tableName);
+            statement.executeUpdate();
+        }
+    }
+
+    private Connection getConnection(String databaseName) {
+        Map<String, String> serverProperties = new HashMap<>();
+        serverProperties.put("create", "true");
+        serverProperties.put("timeoutInSecond", "10");
+
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(GaianTestDriver.URL_PREFIX);
+        endpoint.setAdditionalProperties(serverProperties);
+
+        Map<String, String> additionalProperties = new HashMap<>();
+        additionalProperties.put("databaseName", databaseName);
+        additionalProperties.put("logicTableName", "LTNAME");
+        additionalProperties.put("logicTableDefinition", "LTDEF");
+        additionalProperties.put("gdbNode", "GDBNODE");
+        additionalProperties.put("getLogicTables", "select LTNAME, LTDEF, GDBNODE from LOGICAL_TABLES");
+        additionalProperties.put("frontendName", FRONTEND_NODE);
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+        connection.setAdditionalProperties(additionalProperties);
+        connection.setUserId("sa");
+        connection.setClearPassword("");
+        return connection;
+    }
+
+    private TableContextEvent getEvent(boolean withBusinessTerms) {
+        EndpointSource endpointSource = new EndpointSource();
+        endpointSource.setNetworkAddress("frontend");
+        endpointSource.setConnectorProviderName("JDBC");
+
+        DatabaseSource databaseSource = new DatabaseSource();
+        databaseSource.setName("EMPLOYEES");
+        databaseSource.setEndpointSource(endpointSource);
+
+        TableSource tableSource = new TableSource();
+        tableSource.setName("PERSON");
+        tableSource.setSchemaName("HR");
+        tableSource.setDatabaseSource(databaseSource);
+
+        TableContextEvent event = new TableContextEvent();
+        event.setTableSource(tableSource);
+        event.setTableColumns(Arrays.asList(getColumn("ID", "Identifier", withBusinessTerms),
+                                            getColumn("FNAME", "First Name", withBusinessTerms)));
+        return event;
+    }
+
+    private TableColumn getColumn(String name, String businessTermName, boolean withBusinessTerms) {
+        TableColumn column = new TableColumn();
+        column.setName(name);
+        column.setType("VARCHAR");
+
+        if (withBusinessTerms) {
+            BusinessTerm businessTerm = new BusinessTerm();
+            businessTerm.setName(businessTermName);
+            column.setBusinessTerms(Collections.singletonList(businessTerm));
+        }
+        return column;
+    }
+
+
+    /**
+     * GaianTestDriver passes the connections for the test database to H2.
+     */
+    public static class GaianTestDriver implements Driver {
+
+        static final String URL_PREFIX = "jdbc:gaiantest:";
+        private static final List<String> DERBY_SETTINGS = Arrays.asList("create", "proxy-user", "proxy-pwd");
+        private static final Driver h2Driver = new org.h2.Driver();
+
+        @Override
+        public java.sql.Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+
+            String h2Url = Arrays.stream(url.substring(URL_PREFIX.length() + 1).split(";"))
+                    .filter(setting -> !DERBY_SETTINGS.contains(setting.split("=")[0]))
+                    .collect(Collectors.joining(";"));
+            return h2Driver.connect("jdbc:h2:mem:" + h2Url, new Properties());
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(URL_PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
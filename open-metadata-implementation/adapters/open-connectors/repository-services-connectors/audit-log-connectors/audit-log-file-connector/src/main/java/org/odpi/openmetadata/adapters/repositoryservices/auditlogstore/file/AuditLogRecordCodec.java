@@ -0,0 +1,377 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * AuditLogRecordCodec converts audit log records to and from the compact binary form stored in the
+ * audit log segments.  Each stored record is framed with the length of its body and a CRC32 checksum so that
+ * a record torn by a crash is detected (and discarded) when the segment is reopened.
+ * The body starts with the fields used by the indexes (time stamp, guid, severity and component name)
+ * so they can be read without decoding the rest of the record.
+ */
+class AuditLogRecordCodec
+{
+    /*
+     * Frame header is the length of the body followed by its checksum.
+     */
+    static final int  FRAME_HEADER_SIZE = 8;
+
+    private static final int  NULL_LENGTH = -1;
+    private static final long NULL_TIME   = Long.MIN_VALUE;
+
+
+    /**
+     * The header fields of a stored record that are used to build the segment indexes.
+     */
+    static class RecordHeader
+    {
+        long   timeStamp;
+        String guid;
+        String severity;
+        String componentName;
+    }
+
+
+    /**
+     * Private constructor - static methods only.
+     */
+    private AuditLogRecordCodec()
+    {
+    }
+
+
+    /**
+     * Encode the log record into a framed byte array ready to append to a segment.
+     *
+     * @param logRecord record to encode
+     * @return framed record
+     */
+    static byte[] encode(OMRSAuditLogRecord logRecord)
+    {
+        Encoder encoder = new Encoder();
+
+        encoder.writeInt(0);
+        encoder.writeInt(0);
+
+        encoder.writeLong(logRecord.getTimeStamp() == null ? NULL_TIME : logRecord.getTimeStamp().getTime());
+        encoder.writeString(logRecord.getGUID());
+        encoder.writeString(logRecord.getSeverity());
+
+        OMRSAuditLogReportingComponent reportingComponent = logRecord.getReportingComponent();
+
+        encoder.writeString(reportingComponent.getComponentName());
+        encoder.writeInt(reportingComponent.getComponentId());
+        encoder.writeString(reportingComponent.getComponentDescription());
+        encoder.writeString(reportingComponent.getComponentWikiURL());
+
+        OMRSAuditLogRecordOriginator originator = logRecord.getOriginator();
+
+        encoder.writeString(originator.getMetadataCollectionId());
+        encoder.writeString(originator.getServerName());
+        encoder.writeString(originator.getServerType());
+        encoder.writeString(originator.getOrganizationName());
+
+        encoder.writeString(logRecord.getMessageId());
+        encoder.writeString(logRecord.getMessageText());
+
+        List<String> additionalInformation = logRecord.getAdditionalInformation();
+
+        if (additionalInformation == null)
+        {
+            encoder.writeInt(NULL_LENGTH);
+        }
+        else
+        {
+            encoder.writeInt(additionalInformation.size());
+            for (String information : additionalInformation)
+            {
+                encoder.writeString(information);
+            }
+        }
+
+        encoder.writeString(logRecord.getSystemAction());
+        encoder.writeString(logRecord.getUserAction());
+        encoder.writeString(logRecord.getExceptionClassName());
+        encoder.writeString(logRecord.getExceptionMessage());
+        encoder.writeString(logRecord.getExceptionStackTrace());
+
+        return encoder.toFrame();
+    }
+
+
+    /**
+     * Return the total size (header and body) of the frame starting at the offset, or -1 if there is
+     * no complete, uncorrupted frame at this position.
+     *
+     * @param buffer segment contents
+     * @param offset offset of the frame in the buffer
+     * @param limit end of the valid data in the buffer
+     * @return size of the frame or -1
+     */
+    static int validFrameSize(ByteBuffer buffer, int offset, int limit)
+    {
+        if (limit - offset < FRAME_HEADER_SIZE)
+        {
+            return -1;
+        }
+
+        int bodyLength = buffer.getInt(offset);
+        int checksum   = buffer.getInt(offset + 4);
+
+        if ((bodyLength <= 0) || (bodyLength > limit - offset - FRAME_HEADER_SIZE))
+        {
+            return -1;
+        }
+
+        ByteBuffer body = buffer.duplicate();
+        ((Buffer)body).limit(offset + FRAME_HEADER_SIZE + bodyLength);
+        ((Buffer)body).position(offset + FRAME_HEADER_SIZE);
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        if ((int)crc.getValue() != checksum)
+        {
+            return -1;
+        }
+
+        return FRAME_HEADER_SIZE + bodyLength;
+    }
+
+
+    /**
+     * Return the time stamp of the record in the frame starting at the offset.
+     *
+     * @param buffer segment contents
+     * @param offset offset of the frame in the buffer
+     * @return time stamp in milliseconds
+     */
+    static long readTimeStamp(ByteBuffer buffer, int offset)
+    {
+        return buffer.getLong(offset + FRAME_HEADER_SIZE);
+    }
+
+
+    /**
+     * Return the fields used for indexing from the frame starting at the offset.
+     *
+     * @param buffer segment contents
+     * @param offset offset of the frame in the buffer
+     * @return header fields
+     */
+    static RecordHeader readHeader(ByteBuffer buffer, int offset)
+    {
+        Decoder      decoder = new Decoder(buffer, offset + FRAME_HEADER_SIZE);
+        RecordHeader header  = new RecordHeader();
+
+        header.timeStamp     = decoder.readLong();
+        header.guid          = decoder.readString();
+        header.severity      = decoder.readString();
+        header.componentName = decoder.readString();
+
+        return header;
+    }
+
+
+    /**
+     * Decode the full log record from the frame starting at the offset.
+     *
+     * @param buffer segment contents
+     * @param offset offset of the frame in the buffer
+     * @return log record
+     */
+    static OMRSAuditLogRecord decode(ByteBuffer buffer, int offset)
+    {
+        Decoder            decoder   = new Decoder(buffer, offset + FRAME_HEADER_SIZE);
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+
+        long timeStamp = decoder.readLong();
+
+        logRecord.setTimeStamp(timeStamp == NULL_TIME ? null : new Date(timeStamp));
+        logRecord.setGUID(decoder.readString());
+        logRecord.setSeverity(decoder.readString());
+
+        String componentName        = decoder.readString();
+        int    componentId          = decoder.readInt();
+        String componentDescription = decoder.readString();
+        String componentWikiURL     = decoder.readString();
+
+        logRecord.setReportingComponent(new OMRSAuditLogReportingComponent(componentId,
+                                                                           componentName,
+                                                                           componentDescription,
+                                                                           componentWikiURL));
+
+        OMRSAuditLogRecordOriginator originator = new OMRSAuditLogRecordOriginator();
+
+        originator.setMetadataCollectionId(decoder.readString());
+        originator.setServerName(decoder.readString());
+        originator.setServerType(decoder.readString());
+        originator.setOrganizationName(decoder.readString());
+        logRecord.setOriginator(originator);
+
+        logRecord.setMessageId(decoder.readString());
+        logRecord.setMessageText(decoder.readString());
+
+        int additionalInformationCount = decoder.readInt();
+
+        if (additionalInformationCount != NULL_LENGTH)
+        {
+            List<String> additionalInformation = new ArrayList<>(additionalInformationCount);
+
+            for (int i = 0; i < additionalInformationCount; i++)
+            {
+                additionalInformation.add(decoder.readString());
+            }
+            logRecord.setAdditionalInformation(additionalInformation);
+        }
+
+        logRecord.setSystemAction(decoder.readString());
+        logRecord.setUserAction(decoder.readString());
+        logRecord.setExceptionClassName(decoder.readString());
+        logRecord.setExceptionMessage(decoder.readString());
+        logRecord.setExceptionStackTrace(decoder.readString());
+
+        return logRecord;
+    }
+
+
+    /**
+     * Growable buffer for encoding a single record.
+     */
+    private static class Encoder
+    {
+        private byte[] bytes = new byte[512];
+        private int    size  = 0;
+
+
+        private void ensureCapacity(int extra)
+        {
+            if (size + extra > bytes.length)
+            {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+
+        void writeInt(int value)
+        {
+            ensureCapacity(4);
+            bytes[size++] = (byte)(value >>> 24);
+            bytes[size++] = (byte)(value >>> 16);
+            bytes[size++] = (byte)(value >>> 8);
+            bytes[size++] = (byte)value;
+        }
+
+
+        void writeLong(long value)
+        {
+            writeInt((int)(value >>> 32));
+            writeInt((int)value);
+        }
+
+
+        void writeString(String value)
+        {
+            if (value == null)
+            {
+                writeInt(NULL_LENGTH);
+            }
+            else
+            {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+
+                writeInt(encoded.length);
+                ensureCapacity(encoded.length);
+                System.arraycopy(encoded, 0, bytes, size, encoded.length);
+                size += encoded.length;
+            }
+        }
+
+
+        /**
+         * Fill in the frame header and return the framed record.
+         *
+         * @return framed record
+         */
+        byte[] toFrame()
+        {
+            int   bodyLength = size - FRAME_HEADER_SIZE;
+            CRC32 crc        = new CRC32();
+
+            crc.update(bytes, FRAME_HEADER_SIZE, bodyLength);
+
+            ByteBuffer header = ByteBuffer.wrap(bytes, 0, FRAME_HEADER_SIZE);
+            header.putInt(bodyLength);
+            header.putInt((int)crc.getValue());
+
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+
+    /**
+     * Sequential reader over the body of a record.  It uses absolute gets so the shared segment buffer
+     * is never modified.
+     */
+    private static class Decoder
+    {
+        private final ByteBuffer buffer;
+        private int              position;
+
+
+        Decoder(ByteBuffer buffer, int position)
+        {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+
+        int readInt()
+        {
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+
+        long readLong()
+        {
+            long value = buffer.getLong(position);
+            position += 8;
+            return value;
+        }
+
+
+        String readString()
+        {
+            int length = readInt();
+
+            if (length == NULL_LENGTH)
+            {
+                return null;
+            }
+
+            byte[] encoded = new byte[length];
+            for (int i = 0; i < length; i++)
+            {
+                encoded[i] = buffer.get(position + i);
+            }
+            position += length;
+
+            return new String(encoded, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,532 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AuditLogSegment is one of the rolling files of the file based audit log.  Records are only ever appended to
+ * the active (newest) segment.  Each segment keeps in memory:
+ * <ul>
+ *     <li>a sparse time index - the range of time stamps in each block of records,</li>
+ *     <li>the offsets of the records for each severity and each reporting component, and</li>
+ *     <li>the offset of each record by guid.</li>
+ * </ul>
+ * The indexes are rebuilt from the file when the segment is opened.  Queries read the records from a
+ * memory-mapped view of the file.
+ * <p>
+ * AuditLogSegment is not thread-safe.  FileBasedAuditLogStoreConnector serializes the appends and
+ * the queries with a read-write lock.  Queries run concurrently under the read lock, so the mapping
+ * they share is replaced as a single immutable object.
+ */
+class AuditLogSegment
+{
+    static final String SEGMENT_FILE_PREFIX = "auditlog-";
+    static final String SEGMENT_FILE_SUFFIX = ".segment";
+
+    /*
+     * Number of records covered by each entry in the sparse time index.
+     */
+    private static final int TIME_INDEX_BLOCK_SIZE = 64;
+
+    private final File        file;
+    private final long        sequenceNumber;
+    private FileChannel       channel;
+    private int               size = 0;
+
+    private volatile MappedContents mappedContents = null;
+
+    private long              minTimeStamp = Long.MAX_VALUE;
+    private long              maxTimeStamp = Long.MIN_VALUE;
+    private int               recordCount  = 0;
+
+    private OffsetList                     recordOffsets   = new OffsetList();
+    private long[]                         blockMinTime    = new long[16];
+    private long[]                         blockMaxTime    = new long[16];
+    private Map<String, OffsetList>        severityIndex   = new HashMap<>();
+    private Map<String, OffsetList>        componentIndex  = new HashMap<>();
+    private Map<String, Integer>           guidIndex       = new HashMap<>();
+
+
+    /**
+     * Open (or create) the segment file and rebuild its indexes.  Any incomplete or corrupt record at the
+     * end of the file (for example, from a crash during an append) is truncated.
+     *
+     * @param directory directory where the segments are stored
+     * @param sequenceNumber position of the segment in the log
+     * @throws IOException problem accessing the file
+     */
+    AuditLogSegment(File directory, long sequenceNumber) throws IOException
+    {
+        this.sequenceNumber = sequenceNumber;
+        this.file = new File(directory, getFileName(sequenceNumber));
+        this.channel = FileChannel.open(file.toPath(),
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE);
+
+        long fileSize = channel.size();
+
+        if (fileSize > 0)
+        {
+            ByteBuffer contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int        offset   = 0;
+            int        frameSize;
+
+            while ((frameSize = AuditLogRecordCodec.validFrameSize(contents, offset, (int)fileSize)) > 0)
+            {
+                index(AuditLogRecordCodec.readHeader(contents, offset), offset);
+                offset += frameSize;
+            }
+
+            if (offset < fileSize)
+            {
+                channel.truncate(offset);
+            }
+            size = offset;
+        }
+
+        channel.position(size);
+    }
+
+
+    /**
+     * Return the name of the file for the segment.
+     *
+     * @param sequenceNumber position of the segment in the log
+     * @return file name
+     */
+    static String getFileName(long sequenceNumber)
+    {
+        return String.format("%s%020d%s", SEGMENT_FILE_PREFIX, sequenceNumber, SEGMENT_FILE_SUFFIX);
+    }
+
+
+    /**
+     * Extract the sequence number from a segment file name.
+     *
+     * @param fileName name of a file in the audit log directory
+     * @return sequence number or -1 if this is not a segment file
+     */
+    static long getSequenceNumber(String fileName)
+    {
+        if ((fileName.startsWith(SEGMENT_FILE_PREFIX)) && (fileName.endsWith(SEGMENT_FILE_SUFFIX)))
+        {
+            try
+            {
+                return Long.parseLong(fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                                                         fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+            }
+            catch (NumberFormatException error)
+            {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+
+    long getSequenceNumber()
+    {
+        return sequenceNumber;
+    }
+
+
+    int getSize()
+    {
+        return size;
+    }
+
+
+    int getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    long getMaxTimeStamp()
+    {
+        return maxTimeStamp;
+    }
+
+
+    /**
+     * Append a batch of encoded records with a single write.  The records are not forced to disk -
+     * see force().
+     *
+     * @param frames encoded records
+     * @throws IOException problem writing to the file
+     */
+    void append(List<byte[]> frames) throws IOException
+    {
+        ByteBuffer[] buffers = new ByteBuffer[frames.size()];
+
+        for (int i = 0; i < frames.size(); i++)
+        {
+            buffers[i] = ByteBuffer.wrap(frames.get(i));
+        }
+
+        long remaining = 0;
+        for (byte[] frame : frames)
+        {
+            remaining += frame.length;
+        }
+
+        while (remaining > 0)
+        {
+            remaining -= channel.write(buffers);
+        }
+
+        for (byte[] frame : frames)
+        {
+            index(AuditLogRecordCodec.readHeader(ByteBuffer.wrap(frame), 0), size);
+            size += frame.length;
+        }
+    }
+
+
+    /**
+     * Flush the appended records to disk.
+     *
+     * @throws IOException problem writing to the file
+     */
+    void force() throws IOException
+    {
+        channel.force(false);
+    }
+
+
+    /**
+     * Close the file.  The segment can not be used after this call.
+     *
+     * @throws IOException problem closing the file
+     */
+    void close() throws IOException
+    {
+        mappedContents = null;
+        channel.close();
+    }
+
+
+    /**
+     * Close and remove the segment file.
+     *
+     * @return whether the file was deleted
+     * @throws IOException problem closing the file
+     */
+    boolean delete() throws IOException
+    {
+        close();
+        return file.delete();
+    }
+
+
+    /**
+     * Return whether any of the records in this segment could be in the time period.
+     *
+     * @param startTime start of time period
+     * @param endTime end of time period
+     * @return boolean
+     */
+    boolean overlaps(long startTime, long endTime)
+    {
+        return (recordCount > 0) && (minTimeStamp <= endTime) && (maxTimeStamp >= startTime);
+    }
+
+
+    /**
+     * Return the record with the requested guid, or null if it is not in this segment.
+     *
+     * @param guid unique identifier of the record
+     * @return record or null
+     * @throws IOException problem reading the file
+     */
+    OMRSAuditLogRecord getRecord(String guid) throws IOException
+    {
+        Integer offset = guidIndex.get(guid);
+
+        if (offset == null)
+        {
+            return null;
+        }
+
+        return AuditLogRecordCodec.decode(getContents(), offset);
+    }
+
+
+    /**
+     * Add the records in the time period to the collector.  If a severity or component is supplied, only
+     * the records for that severity/component are considered.
+     *
+     * @param severity severity of the records or null for any severity
+     * @param component name of the reporting component or null for any component
+     * @param startTime start of time period
+     * @param endTime end of time period
+     * @param collector paged results
+     * @throws IOException problem reading the file
+     */
+    void collect(String          severity,
+                 String          component,
+                 long            startTime,
+                 long            endTime,
+                 RecordCollector collector) throws IOException
+    {
+        if (! overlaps(startTime, endTime))
+        {
+            return;
+        }
+
+        ByteBuffer contents = getContents();
+
+        if ((severity != null) || (component != null))
+        {
+            OffsetList offsets;
+
+            if (severity != null)
+            {
+                offsets = severityIndex.get(severity);
+            }
+            else
+            {
+                offsets = componentIndex.get(component);
+            }
+
+            if (offsets != null)
+            {
+                for (int i = 0; (i < offsets.size()) && (! collector.isFull()); i++)
+                {
+                    collectIfInPeriod(contents, offsets.get(i), startTime, endTime, collector);
+                }
+            }
+        }
+        else
+        {
+            int blockCount = (recordCount + TIME_INDEX_BLOCK_SIZE - 1) / TIME_INDEX_BLOCK_SIZE;
+
+            for (int block = 0; (block < blockCount) && (! collector.isFull()); block++)
+            {
+                if ((blockMinTime[block] <= endTime) && (blockMaxTime[block] >= startTime))
+                {
+                    int first = block * TIME_INDEX_BLOCK_SIZE;
+                    int last  = Math.min(first + TIME_INDEX_BLOCK_SIZE, recordCount);
+
+                    for (int i = first; (i < last) && (! collector.isFull()); i++)
+                    {
+                        collectIfInPeriod(contents, recordOffsets.get(i), startTime, endTime, collector);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Pass the record at the offset to the collector if it is in the time period.
+     *
+     * @param contents segment contents
+     * @param offset offset of the record
+     * @param startTime start of time period
+     * @param endTime end of time period
+     * @param collector paged results
+     */
+    private void collectIfInPeriod(ByteBuffer      contents,
+                                   int             offset,
+                                   long            startTime,
+                                   long            endTime,
+                                   RecordCollector collector)
+    {
+        long timeStamp = AuditLogRecordCodec.readTimeStamp(contents, offset);
+
+        if ((timeStamp >= startTime) && (timeStamp <= endTime) && (collector.accept()))
+        {
+            collector.add(AuditLogRecordCodec.decode(contents, offset));
+        }
+    }
+
+
+    /**
+     * Return a memory-mapped view of the records written so far.  The mapping is reused until more records
+     * are appended.
+     *
+     * @return mapped contents
+     * @throws IOException problem mapping the file
+     */
+    private ByteBuffer getContents() throws IOException
+    {
+        MappedContents contents = mappedContents;
+
+        if ((contents == null) || (contents.size != size))
+        {
+            contents = new MappedContents(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), size);
+            mappedContents = contents;
+        }
+
+        return contents.buffer;
+    }
+
+
+    /**
+     * Add a record to the in-memory indexes.
+     *
+     * @param header index fields of the record
+     * @param offset offset of the record in the segment
+     */
+    private void index(AuditLogRecordCodec.RecordHeader header, int offset)
+    {
+        int block = recordCount / TIME_INDEX_BLOCK_SIZE;
+
+        if (block == blockMinTime.length)
+        {
+            blockMinTime = Arrays.copyOf(blockMinTime, block * 2);
+            blockMaxTime = Arrays.copyOf(blockMaxTime, block * 2);
+        }
+
+        if (recordCount % TIME_INDEX_BLOCK_SIZE == 0)
+        {
+            blockMinTime[block] = header.timeStamp;
+            blockMaxTime[block] = header.timeStamp;
+        }
+        else
+        {
+            blockMinTime[block] = Math.min(blockMinTime[block], header.timeStamp);
+            blockMaxTime[block] = Math.max(blockMaxTime[block], header.timeStamp);
+        }
+
+        minTimeStamp = Math.min(minTimeStamp, header.timeStamp);
+        maxTimeStamp = Math.max(maxTimeStamp, header.timeStamp);
+
+        recordOffsets.add(offset);
+
+        if (header.severity != null)
+        {
+            severityIndex.computeIfAbsent(header.severity, key -> new OffsetList()).add(offset);
+        }
+
+        if (header.componentName != null)
+        {
+            componentIndex.computeIfAbsent(header.componentName, key -> new OffsetList()).add(offset);
+        }
+
+        if (header.guid != null)
+        {
+            guidIndex.put(header.guid, offset);
+        }
+
+        recordCount++;
+    }
+
+
+    /**
+     * A memory-mapped view of the file and the size it covers.
+     */
+    private static class MappedContents
+    {
+        private final MappedByteBuffer buffer;
+        private final int              size;
+
+        MappedContents(MappedByteBuffer buffer, int size)
+        {
+            this.buffer = buffer;
+            this.size = size;
+        }
+    }
+
+
+    /**
+     * Compact, growable list of record offsets.
+     */
+    private static class OffsetList
+    {
+        private int[] offsets = new int[16];
+        private int   size    = 0;
+
+
+        void add(int offset)
+        {
+            if (size == offsets.length)
+            {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+
+
+        int get(int index)
+        {
+            return offsets[index];
+        }
+
+
+        int size()
+        {
+            return size;
+        }
+    }
+
+
+    /**
+     * RecordCollector gathers one page of results across the segments.
+     */
+    static class RecordCollector
+    {
+        private final List<OMRSAuditLogRecord> results;
+        private int                            toSkip;
+        private final int                      maximumRecords;
+
+
+        /**
+         * Set up the page.
+         *
+         * @param results list to add the records to
+         * @param offset number of matching records to skip
+         * @param maximumRecords maximum number of records to return (0 means no limit)
+         */
+        RecordCollector(List<OMRSAuditLogRecord> results, int offset, int maximumRecords)
+        {
+            this.results = results;
+            this.toSkip = offset;
+            this.maximumRecords = maximumRecords;
+        }
+
+
+        /**
+         * Called for each matching record.  Returns true if the record is part of the page.
+         *
+         * @return boolean
+         */
+        boolean accept()
+        {
+            if (toSkip > 0)
+            {
+                toSkip--;
+                return false;
+            }
+
+            return ! isFull();
+        }
+
+
+        void add(OMRSAuditLogRecord logRecord)
+        {
+            results.add(logRecord);
+        }
+
+
+        boolean isFull()
+        {
+            return (maximumRecords > 0) && (results.size() >= maximumRecords);
+        }
+    }
+}
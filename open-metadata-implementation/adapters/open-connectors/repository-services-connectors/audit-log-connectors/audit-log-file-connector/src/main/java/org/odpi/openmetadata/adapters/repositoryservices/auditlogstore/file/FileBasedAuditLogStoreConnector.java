@@ -2,23 +2,96 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory (named by the endpoint address) as a sequence of rolling segment files.
+ * Each log record is encoded in a compact binary form and appended to the newest segment.
+ * <p>
+ * The calling thread only encodes the record and queues it.  A single writer thread appends the queued
+ * records in batches and flushes each batch to disk with one fsync (group commit), so a request that logs a message
+ * never waits for the disk.  If the queue is full, records with a severity of ERROR, EXCEPTION or SECURITY wait
+ * (for a limited time) for space in the queue and the other records are dropped and counted, as the audit log
+ * destination does for its own queues.  An error writing a batch is reported to the next caller.  Each segment keeps a sparse time index and indexes by severity, reporting component
+ * and guid, and queries read the records from memory-mapped segments.
+ * <p>
+ * A new segment is started when the active segment reaches the configured segment size.  Old segments are removed
+ * when they are older than the retention period, or when the log is larger than the retention size.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
+    private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
+
+    private static final String defaultDirectoryName = "omag.auditlog";
+
+    private static final long   defaultSegmentSize    = 16L * 1024 * 1024;
+    private static final long   defaultRetentionHours = 24L * 30;
+    private static final long   defaultRetentionSize  = 1024L * 1024 * 1024;
+    private static final int    defaultQueueSize      = 10000;
+    private static final int    defaultCommitSize     = 500;
+
+    /*
+     * How long a query waits for the records queued before it to be written.
+     */
+    private static final long   queryWaitMillis       = 5000;
+
+    /*
+     * How long a record that must not be dropped waits for space in a full queue.
+     */
+    private static final long   queueWaitMillis       = 5000;
+
+    private String                 directoryName = defaultDirectoryName;
+    private long                   segmentSize   = defaultSegmentSize;
+    private long                   retentionTime = TimeUnit.HOURS.toMillis(defaultRetentionHours);
+    private long                   retentionSize = defaultRetentionSize;
+    private int                    queueSize     = defaultQueueSize;
+    private int                    commitSize    = defaultCommitSize;
+
+    private final ReadWriteLock          segmentLock = new ReentrantReadWriteLock();
+    private final List<AuditLogSegment>  segments    = new ArrayList<>();
+
+    private BlockingQueue<byte[]>  writeQueue    = null;
+    private Thread                 writerThread  = null;
+    private volatile boolean       running       = false;
+    private final AtomicReference<IOException> writeError = new AtomicReference<>();
+    private final AtomicLong       droppedCount  = new AtomicLong(0);
+
+    /*
+     * Count of records queued and written - used by queries to wait for earlier records to be written.
+     * Both are only changed while holding writtenLock.
+     */
+    private long                   queuedCount   = 0;
+    private long                   writtenCount  = 0;
+    private final Object           writtenLock   = new Object();
+
+
     /**
      * Default constructor used by the connector provider.
      */
@@ -28,13 +101,78 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Store the audit log record in the audit log store.
+     * Initialize the connector.  The endpoint address names the directory for the segment files and
+     * the configuration properties may override the segment size, retention and commit settings.
+     *
+     * @param connectorInstanceId unique id for the connector instance
+     * @param connectionProperties POJO for the configuration used to create the connector.
+     */
+    @Override
+    public void initialize(String connectorInstanceId, ConnectionProperties connectionProperties)
+    {
+        super.initialize(connectorInstanceId, connectionProperties);
+
+        if (connectionProperties != null)
+        {
+            EndpointProperties endpoint = connectionProperties.getEndpoint();
+
+            if ((endpoint != null) && (endpoint.getAddress() != null))
+            {
+                directoryName = endpoint.getAddress();
+            }
+
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                segmentSize = getLongProperty(configurationProperties,
+                                              FileBasedAuditLogStoreProvider.segmentSizeProperty,
+                                              defaultSegmentSize);
+                retentionTime = TimeUnit.HOURS.toMillis(getLongProperty(configurationProperties,
+                                                                        FileBasedAuditLogStoreProvider.retentionHoursProperty,
+                                                                        defaultRetentionHours));
+                retentionSize = getLongProperty(configurationProperties,
+                                                FileBasedAuditLogStoreProvider.retentionSizeProperty,
+                                                defaultRetentionSize);
+                queueSize = (int)getLongProperty(configurationProperties,
+                                                 FileBasedAuditLogStoreProvider.queueSizeProperty,
+                                                 defaultQueueSize);
+                commitSize = (int)getLongProperty(configurationProperties,
+                                                  FileBasedAuditLogStoreProvider.commitSizeProperty,
+                                                  defaultCommitSize);
+            }
+        }
+
+        /*
+         * Offsets within a segment are held as ints.
+         */
+        segmentSize = Math.max(1024, Math.min(segmentSize, Integer.MAX_VALUE / 2));
+    }
+
+
+    /**
+     * Return the number of log records dropped because the write queue was full.
+     *
+     * @return count of dropped records
+     */
+    public long getDroppedRecordCount()
+    {
+        return droppedCount.get();
+    }
+
+
+    /**
+     * Store the audit log record in the audit log store.  The record is queued for the writer thread,
+     * so the caller does not wait for it to be written to disk.  If the queue is full, the record is dropped
+     * unless its severity is ERROR, EXCEPTION or SECURITY, in which case the caller waits for space in the queue.
      *
      * @param logRecord  log record to store
      * @return unique identifier assigned to the log record
      * @throws InvalidParameterException indicates that the logRecord parameter is invalid.
+     * @throws RepositoryErrorException  indicates that the audit log store is not available or has an error.
      */
-    public String storeLogRecord(OMRSAuditLogRecord logRecord) throws InvalidParameterException
+    public String storeLogRecord(OMRSAuditLogRecord logRecord) throws InvalidParameterException,
+                                                                      RepositoryErrorException
     {
         final String   methodName = "storeLogRecord";
 
@@ -42,7 +180,18 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
         if (isSupportedSeverity(logRecord))
         {
-            // todo add write to disk
+            ensureOpen(methodName);
+            checkWriteError(methodName);
+
+            byte[] frame = AuditLogRecordCodec.encode(logRecord);
+
+            if (! queueRecord(frame, isAlwaysStored(logRecord.getSeverity()), methodName))
+            {
+                if (droppedCount.getAndIncrement() == 0)
+                {
+                    log.warn("Audit log write queue for " + directoryName + " is full - dropping records");
+                }
+            }
         }
 
         return logRecord.getGUID();
@@ -62,6 +211,37 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecord";
 
+        if (logRecordId == null)
+        {
+            return null;
+        }
+
+        ensureOpen(methodName);
+        waitForQueuedRecords();
+        checkWriteError(methodName);
+
+        segmentLock.readLock().lock();
+        try
+        {
+            for (int i = segments.size() - 1; i >= 0; i--)
+            {
+                OMRSAuditLogRecord logRecord = segments.get(i).getRecord(logRecordId);
+
+                if (logRecord != null)
+                {
+                    return logRecord;
+                }
+            }
+        }
+        catch (IOException error)
+        {
+            throw getStoreNotAvailableException(error, methodName);
+        }
+        finally
+        {
+            segmentLock.readLock().unlock();
+        }
+
         return null;
     }
 
@@ -88,7 +268,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        return queryLogRecords(null, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -116,7 +296,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsBySeverity";
 
-        return null;
+        return queryLogRecords(severity, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -144,7 +324,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByComponent";
 
-        return null;
+        return queryLogRecords(null, component, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -157,17 +337,559 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      */
     public void start() throws ConnectorCheckedException
     {
+        final String methodName = "start";
+
         super.start();
+
+        try
+        {
+            ensureOpen(methodName);
+        }
+        catch (RepositoryErrorException error)
+        {
+            throw new ConnectorCheckedException(error.getReportedHTTPCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                error.getErrorMessage(),
+                                                error.getReportedSystemAction(),
+                                                error.getReportedUserAction(),
+                                                error);
+        }
     }
 
 
     /**
-     * Free up any resources held since the connector is no longer needed.
+     * Free up any resources held since the connector is no longer needed.  The records that are still
+     * queued are written before the segments are closed.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     public  void disconnect() throws ConnectorCheckedException
     {
+        Thread writer;
+
+        synchronized (this)
+        {
+            running = false;
+            writer = writerThread;
+            writerThread = null;
+        }
+
+        if (writer != null)
+        {
+            try
+            {
+                writer.join();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        segmentLock.writeLock().lock();
+        try
+        {
+            for (AuditLogSegment segment : segments)
+            {
+                segment.close();
+            }
+            segments.clear();
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to close audit log segments in " + directoryName, error);
+        }
+        finally
+        {
+            segmentLock.writeLock().unlock();
+        }
+
         super.disconnect();
     }
+
+
+    /**
+     * Open the existing segments and start the writer thread if this has not already happened.
+     * The audit log stores are not always started by their owner, so this is called before each request.
+     *
+     * @param methodName calling method
+     * @throws RepositoryErrorException the segment files can not be opened
+     */
+    private void ensureOpen(String methodName) throws RepositoryErrorException
+    {
+        if (running)
+        {
+            return;
+        }
+
+        synchronized (this)
+        {
+            if (running)
+            {
+                return;
+            }
+
+            segmentLock.writeLock().lock();
+            try
+            {
+                File directory = new File(directoryName);
+
+                if ((! directory.isDirectory()) && (! directory.mkdirs()))
+                {
+                    throw new IOException("Unable to create directory " + directory.getAbsolutePath());
+                }
+
+                TreeSet<Long> sequenceNumbers = new TreeSet<>();
+                String[]      fileNames       = directory.list();
+
+                if (fileNames != null)
+                {
+                    for (String fileName : fileNames)
+                    {
+                        long sequenceNumber = AuditLogSegment.getSequenceNumber(fileName);
+
+                        if (sequenceNumber >= 0)
+                        {
+                            sequenceNumbers.add(sequenceNumber);
+                        }
+                    }
+                }
+
+                if (sequenceNumbers.isEmpty())
+                {
+                    sequenceNumbers.add(0L);
+                }
+
+                for (long sequenceNumber : sequenceNumbers)
+                {
+                    segments.add(new AuditLogSegment(directory, sequenceNumber));
+                }
+
+                applyRetention();
+            }
+            catch (IOException error)
+            {
+                throw getStoreNotAvailableException(error, methodName);
+            }
+            finally
+            {
+                segmentLock.writeLock().unlock();
+            }
+
+            writeQueue = new LinkedBlockingQueue<>(queueSize);
+            writeError.set(null);
+            running = true;
+
+            writerThread = new Thread(this::writeQueuedRecords, "FileBasedAuditLogStore-" + destinationName);
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+
+    /**
+     * The writer thread takes the queued records in batches, appends each batch to the active segment,
+     * and forces it to disk.  It continues until the connector is disconnected and the queue is empty.
+     */
+    private void writeQueuedRecords()
+    {
+        List<byte[]> batch = new ArrayList<>(commitSize);
+
+        while (running || (! writeQueue.isEmpty()))
+        {
+            try
+            {
+                byte[] frame = writeQueue.poll(100, TimeUnit.MILLISECONDS);
+
+                if (frame != null)
+                {
+                    batch.add(frame);
+                    writeQueue.drainTo(batch, commitSize - 1);
+
+                    writeBatch(batch);
+                }
+            }
+            catch (InterruptedException error)
+            {
+                /*
+                 * Only disconnect stops the writer.
+                 */
+                log.debug("Audit log writer interrupted");
+            }
+            catch (IOException error)
+            {
+                writeError.set(error);
+                log.error("Unable to write " + batch.size() + " audit log records to " + directoryName, error);
+            }
+            finally
+            {
+                if (! batch.isEmpty())
+                {
+                    synchronized (writtenLock)
+                    {
+                        writtenCount += batch.size();
+                        writtenLock.notifyAll();
+                    }
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Append the batch to the active segment (rolling to a new segment when it is full) and force the
+     * changes to disk.
+     *
+     * @param batch encoded records
+     * @throws IOException problem writing the records
+     */
+    private void writeBatch(List<byte[]> batch) throws IOException
+    {
+        List<byte[]> segmentBatch = new ArrayList<>(batch.size());
+
+        segmentLock.writeLock().lock();
+        try
+        {
+            AuditLogSegment active     = segments.get(segments.size() - 1);
+            long            activeSize = active.getSize();
+
+            for (byte[] frame : batch)
+            {
+                if ((activeSize + frame.length > segmentSize) && ((activeSize > 0) || (! segmentBatch.isEmpty())))
+                {
+                    active.append(segmentBatch);
+                    active.force();
+                    segmentBatch.clear();
+
+                    active = new AuditLogSegment(new File(directoryName), active.getSequenceNumber() + 1);
+                    segments.add(active);
+                    activeSize = 0;
+
+                    applyRetention();
+                }
+
+                segmentBatch.add(frame);
+                activeSize += frame.length;
+            }
+
+            active.append(segmentBatch);
+        }
+        finally
+        {
+            segmentLock.writeLock().unlock();
+        }
+
+        /*
+         * The data is visible to queries once it is appended - only the fsync happens outside the lock.
+         */
+        segments.get(segments.size() - 1).force();
+    }
+
+
+    /**
+     * Remove the oldest segments while they are older than the retention period or the log is bigger than
+     * the retention size.  The active segment is never removed.  Called with the write lock held.
+     *
+     * @throws IOException problem removing a segment
+     */
+    private void applyRetention() throws IOException
+    {
+        long totalSize = 0;
+
+        for (AuditLogSegment segment : segments)
+        {
+            totalSize += segment.getSize();
+        }
+
+        long oldestRetained = System.currentTimeMillis() - retentionTime;
+
+        while (segments.size() > 1)
+        {
+            AuditLogSegment oldest = segments.get(0);
+
+            boolean tooOld = (retentionTime > 0) && (oldest.getRecordCount() > 0) && (oldest.getMaxTimeStamp() < oldestRetained);
+            boolean tooBig = (retentionSize > 0) && (totalSize > retentionSize);
+
+            if ((! tooOld) && (! tooBig))
+            {
+                break;
+            }
+
+            totalSize -= oldest.getSize();
+            segments.remove(0);
+
+            if (! oldest.delete())
+            {
+                log.error("Unable to remove expired audit log segment " + oldest.getSequenceNumber() + " from " + directoryName);
+            }
+        }
+    }
+
+
+    /**
+     * Add an encoded record to the write queue.  The queued count is updated under the same lock as the
+     * offer so that a query always waits for every record queued before it.
+     *
+     * @param frame encoded record
+     * @param waitForSpace whether to wait (for a limited time) for space if the queue is full
+     * @param methodName calling method
+     * @return whether the record was queued
+     * @throws RepositoryErrorException the caller was interrupted, or the record must not be dropped and the
+     *                                  queue stayed full
+     */
+    private boolean queueRecord(byte[] frame, boolean waitForSpace, String methodName) throws RepositoryErrorException
+    {
+        long deadline = System.currentTimeMillis() + queueWaitMillis;
+
+        synchronized (writtenLock)
+        {
+            while (! writeQueue.offer(frame))
+            {
+                long remaining = deadline - System.currentTimeMillis();
+
+                if ((! waitForSpace) || (! running))
+                {
+                    return false;
+                }
+
+                if (remaining <= 0)
+                {
+                    throw getStoreNotAvailableException(new IOException("Audit log write queue for " + directoryName + " is full"),
+                                                        methodName);
+                }
+
+                try
+                {
+                    /*
+                     * The writer thread notifies the lock after each batch it takes from the queue.
+                     */
+                    writtenLock.wait(remaining);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                    throw getStoreNotAvailableException(error, methodName);
+                }
+            }
+
+            queuedCount++;
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return whether a record of this severity must not be dropped when the queue is full.
+     *
+     * @param severity name of the severity of the record
+     * @return boolean
+     */
+    private boolean isAlwaysStored(String severity)
+    {
+        return (OMRSAuditLogRecordSeverity.ERROR.getName().equals(severity))     ||
+               (OMRSAuditLogRecordSeverity.EXCEPTION.getName().equals(severity)) ||
+               (OMRSAuditLogRecordSeverity.SECURITY.getName().equals(severity));
+    }
+
+
+    /**
+     * Report an error from the writer thread to the caller.  Each error is reported once.
+     *
+     * @param methodName calling method
+     * @throws RepositoryErrorException the writer thread was unable to write a batch of records
+     */
+    private void checkWriteError(String methodName) throws RepositoryErrorException
+    {
+        IOException error = writeError.getAndSet(null);
+
+        if (error != null)
+        {
+            throw getStoreNotAvailableException(error, methodName);
+        }
+    }
+
+
+    /**
+     * Wait (for a limited time) until the records queued before this call have been appended to the log so
+     * that a query sees the records logged before it.
+     */
+    private void waitForQueuedRecords()
+    {
+        long deadline = System.currentTimeMillis() + queryWaitMillis;
+
+        synchronized (writtenLock)
+        {
+            long target = queuedCount;
+
+            while ((writtenCount < target) && (running))
+            {
+                long remaining = deadline - System.currentTimeMillis();
+
+                if (remaining <= 0)
+                {
+                    return;
+                }
+
+                try
+                {
+                    writtenLock.wait(remaining);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return a page of the records in a time period, optionally restricted to a severity or a component.
+     *
+     * @param severity severity of the records or null
+     * @param component reporting component of the records or null
+     * @param startDate start of time period (null means the beginning of the log)
+     * @param endDate end of time period (null means now)
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of records to return (0 means no limit)
+     * @param methodName calling method
+     * @return list of log records
+     * @throws InvalidParameterException the time period is invalid
+     * @throws PagingErrorException the paging parameters are invalid
+     * @throws RepositoryErrorException the segments can not be read
+     */
+    private List<OMRSAuditLogRecord> queryLogRecords(String severity,
+                                                     String component,
+                                                     Date   startDate,
+                                                     Date   endDate,
+                                                     int    offset,
+                                                     int    maximumRecords,
+                                                     String methodName) throws InvalidParameterException,
+                                                                               PagingErrorException,
+                                                                               RepositoryErrorException
+    {
+        long startTime = (startDate == null) ? Long.MIN_VALUE : startDate.getTime();
+        long endTime   = (endDate == null) ? Long.MAX_VALUE : endDate.getTime();
+
+        if (startTime > endTime)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_AUDIT_LOG_TIME_PERIOD;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(destinationName,
+                                                                                                            String.valueOf(startDate),
+                                                                                                            String.valueOf(endDate));
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+
+        if ((offset < 0) || (maximumRecords < 0))
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_AUDIT_LOG_PAGING;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(destinationName,
+                                                                                                            Integer.toString(offset),
+                                                                                                            Integer.toString(maximumRecords));
+
+            throw new PagingErrorException(errorCode.getHTTPErrorCode(),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           errorMessage,
+                                           errorCode.getSystemAction(),
+                                           errorCode.getUserAction());
+        }
+
+        ensureOpen(methodName);
+        waitForQueuedRecords();
+        checkWriteError(methodName);
+
+        List<OMRSAuditLogRecord>        results   = new ArrayList<>();
+        AuditLogSegment.RecordCollector collector = new AuditLogSegment.RecordCollector(results, offset, maximumRecords);
+
+        segmentLock.readLock().lock();
+        try
+        {
+            for (AuditLogSegment segment : segments)
+            {
+                if (collector.isFull())
+                {
+                    break;
+                }
+                segment.collect(severity, component, startTime, endTime, collector);
+            }
+        }
+        catch (IOException error)
+        {
+            throw getStoreNotAvailableException(error, methodName);
+        }
+        finally
+        {
+            segmentLock.readLock().unlock();
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return a numeric configuration property.
+     *
+     * @param configurationProperties properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a number
+     * @return property value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties,
+                                 String              propertyName,
+                                 long                defaultValue)
+    {
+        Object value = configurationProperties.get(propertyName);
+
+        if (value instanceof Number)
+        {
+            return ((Number)value).longValue();
+        }
+        else if (value != null)
+        {
+            try
+            {
+                return Long.parseLong(value.toString());
+            }
+            catch (NumberFormatException error)
+            {
+                log.error("Ignoring invalid value " + value + " for audit log property " + propertyName);
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Build the exception for an error accessing the segment files.
+     *
+     * @param error cause
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    private RepositoryErrorException getStoreNotAvailableException(Throwable error, String methodName)
+    {
+        OMRSErrorCode errorCode    = OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE;
+        String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(destinationName,
+                                                                                                        error.getMessage());
+
+        return new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            errorMessage,
+                                            errorCode.getSystemAction(),
+                                            errorCode.getUserAction(),
+                                            error);
+    }
 }
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreProviderBase;
 
+import java.util.List;
+
 /**
  * FileBasedAuditLogStoreProvider is the OCF connector provider for the file based audit log store.
  */
@@ -14,6 +16,15 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
     private static final String  connectorTypeName = "File Based Audit Log Store Connector";
     private static final String  connectorTypeDescription = "Connector supports storing of audit log messages in a file.";
 
+    /*
+     * Optional configuration properties for the connector.  Sizes are in bytes.
+     */
+    public static final String  segmentSizeProperty    = "segmentSize";
+    public static final String  retentionHoursProperty = "retentionHours";
+    public static final String  retentionSizeProperty  = "retentionSize";
+    public static final String  queueSizeProperty      = "queueSize";
+    public static final String  commitSizeProperty     = "commitSize";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * audit log store implementation.
@@ -32,6 +43,14 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = super.getRecognizedConfigurationProperties();
+        recognizedConfigurationProperties.add(segmentSizeProperty);
+        recognizedConfigurationProperties.add(retentionHoursProperty);
+        recognizedConfigurationProperties.add(retentionSizeProperty);
+        recognizedConfigurationProperties.add(queueSizeProperty);
+        recognizedConfigurationProperties.add(commitSizeProperty);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
     }
 }
@@ -0,0 +1,299 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test that the FileBasedAuditLogStoreConnector stores, rolls, queries and recovers its segments.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    private static final long baseTime = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+
+    private File directory;
+
+
+    @BeforeMethod
+    public void createDirectory() throws Exception
+    {
+        directory = Files.createTempDirectory("auditlog").toFile();
+    }
+
+
+    @AfterMethod
+    public void removeDirectory()
+    {
+        File[] files = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                assertTrue(file.delete());
+            }
+        }
+        assertTrue(directory.delete());
+    }
+
+
+    private FileBasedAuditLogStoreConnector getConnector(Map<String, Object> configurationProperties)
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(directory.getAbsolutePath());
+
+        Connection connection = new Connection();
+        connection.setQualifiedName("TestAuditLog");
+        connection.setDisplayName("TestAuditLog");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    private OMRSAuditLogRecord getLogRecord(int index)
+    {
+        OMRSAuditLogRecordOriginator originator = new OMRSAuditLogRecordOriginator();
+        originator.setServerName("TestServer");
+        originator.setMetadataCollectionId("TestMetadataCollectionId");
+
+        OMRSAuditLogReportingComponent component = new OMRSAuditLogReportingComponent(index % 3,
+                                                                                       "Component" + (index % 3),
+                                                                                       "Test component",
+                                                                                       null);
+
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord(originator,
+                                                              component,
+                                                              (index % 10 == 0) ? "Error" : "Information",
+                                                              "TEST-" + index,
+                                                              "Test message " + index,
+                                                              Collections.singletonList("info " + index),
+                                                              "No action",
+                                                              "No action");
+        logRecord.setTimeStamp(new Date(baseTime + index * 1000L));
+
+        return logRecord;
+    }
+
+
+    @Test
+    public void testStoreAndQuery() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(FileBasedAuditLogStoreProvider.segmentSizeProperty, 4096);
+
+        FileBasedAuditLogStoreConnector connector = getConnector(configurationProperties);
+        connector.start();
+
+        OMRSAuditLogRecord[] logRecords = new OMRSAuditLogRecord[200];
+        for (int i = 0; i < logRecords.length; i++)
+        {
+            logRecords[i] = getLogRecord(i);
+            connector.storeLogRecord(logRecords[i]);
+        }
+
+        assertEquals(connector.getAuditLogRecord(logRecords[42].getGUID()), logRecords[42]);
+        assertNull(connector.getAuditLogRecord(UUID.randomUUID().toString()));
+
+        List<OMRSAuditLogRecord> page = connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 50_000L),
+                                                                                new Date(baseTime + 150_000L),
+                                                                                10,
+                                                                                20);
+        assertEquals(page, Arrays.asList(logRecords).subList(60, 80));
+
+        List<OMRSAuditLogRecord> errors = connector.getAuditLogRecordsBySeverity("Error", null, null, 0, 0);
+        assertEquals(errors.size(), 20);
+        for (OMRSAuditLogRecord error : errors)
+        {
+            assertEquals(error.getSeverity(), "Error");
+        }
+
+        List<OMRSAuditLogRecord> component = connector.getAuditLogRecordsByComponent("Component1",
+                                                                                      new Date(baseTime),
+                                                                                      new Date(baseTime + 30_000L),
+                                                                                      0,
+                                                                                      100);
+        assertEquals(component.size(), 10);
+        assertEquals(component.get(0), logRecords[1]);
+
+        try
+        {
+            connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 1000L), new Date(baseTime), 0, 10);
+            fail("Start date after end date should be rejected");
+        }
+        catch (InvalidParameterException expected)
+        {
+            // expected
+        }
+
+        try
+        {
+            connector.getAuditLogRecordsByTimeStamp(null, null, -1, 10);
+            fail("Negative offset should be rejected");
+        }
+        catch (PagingErrorException expected)
+        {
+            // expected
+        }
+
+        connector.disconnect();
+
+        assertTrue(directory.list().length > 1);
+    }
+
+
+    @Test
+    public void testRecoveryFromTornWrite() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(null);
+
+        OMRSAuditLogRecord first  = getLogRecord(1);
+        OMRSAuditLogRecord second = getLogRecord(2);
+
+        connector.storeLogRecord(first);
+        connector.storeLogRecord(second);
+        connector.disconnect();
+
+        /*
+         * Cut the last record in half as if the server died part way through the write.
+         */
+        File segment = new File(directory, AuditLogSegment.getFileName(0));
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw"))
+        {
+            file.setLength(file.length() - 10);
+        }
+
+        connector = getConnector(null);
+
+        assertNotNull(connector.getAuditLogRecord(first.getGUID()));
+        assertNull(connector.getAuditLogRecord(second.getGUID()));
+
+        OMRSAuditLogRecord third = getLogRecord(3);
+        connector.storeLogRecord(third);
+
+        assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0), Arrays.asList(first, third));
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testRetentionBySize() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(FileBasedAuditLogStoreProvider.segmentSizeProperty, 2048);
+        configurationProperties.put(FileBasedAuditLogStoreProvider.retentionSizeProperty, 8192);
+
+        FileBasedAuditLogStoreConnector connector = getConnector(configurationProperties);
+
+        for (int i = 0; i < 500; i++)
+        {
+            connector.storeLogRecord(getLogRecord(i));
+        }
+
+        List<OMRSAuditLogRecord> retained = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+
+        assertTrue(retained.size() < 500);
+        assertEquals(retained.get(retained.size() - 1).getMessageId(), "TEST-499");
+
+        connector.disconnect();
+
+        long totalSize = 0;
+        for (File file : directory.listFiles())
+        {
+            totalSize += file.length();
+        }
+        assertTrue(totalSize <= 8192 + 2048);
+    }
+
+
+    @Test
+    public void testFullQueueDropsOnlyLowSeverityRecords() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(FileBasedAuditLogStoreProvider.queueSizeProperty, 1);
+        configurationProperties.put(FileBasedAuditLogStoreProvider.commitSizeProperty, 1);
+
+        FileBasedAuditLogStoreConnector connector = getConnector(configurationProperties);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            connector.storeLogRecord(getLogRecord(i));
+        }
+
+        List<OMRSAuditLogRecord> stored = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+
+        assertEquals(stored.size(), 1000 - connector.getDroppedRecordCount());
+        assertEquals(connector.getAuditLogRecordsBySeverity("Error", null, null, 0, 0).size(), 100);
+
+        connector.disconnect();
+    }
+
+
+    @Test
+    public void testWriteErrorIsReported() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(FileBasedAuditLogStoreProvider.segmentSizeProperty, 1024);
+
+        /*
+         * A directory in the place of the next segment stops the log from rolling to it.
+         */
+        assertTrue(new File(directory, AuditLogSegment.getFileName(1)).mkdir());
+
+        FileBasedAuditLogStoreConnector connector = getConnector(configurationProperties);
+
+        /*
+         * The error is reported by the next store or query call after the failed write.
+         */
+        boolean reported = false;
+        try
+        {
+            for (int i = 0; i < 50; i++)
+            {
+                connector.storeLogRecord(getLogRecord(i));
+            }
+            connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+        }
+        catch (RepositoryErrorException expected)
+        {
+            reported = true;
+        }
+        assertTrue(reported, "The write error should be reported");
+
+        connector.disconnect();
+    }
+}
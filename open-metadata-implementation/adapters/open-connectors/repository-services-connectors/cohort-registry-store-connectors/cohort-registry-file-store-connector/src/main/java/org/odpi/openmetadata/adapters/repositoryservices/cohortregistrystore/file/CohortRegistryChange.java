@@ -0,0 +1,120 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.cohortregistrystore.file;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
+
+/**
+ * CohortRegistryChange is a single entry in the change log of the FileBasedRegistryStoreConnector.
+ * Each entry is written as one line of JSON.  Replaying the same entry more than once has the same
+ * effect as replaying it once.
+ */
+class CohortRegistryChange
+{
+    /**
+     * The types of change that are recorded in the change log.
+     */
+    enum ChangeType
+    {
+        SAVE_LOCAL,
+        REMOVE_LOCAL,
+        SAVE_REMOTE,
+        REMOVE_REMOTE,
+        CLEAR
+    }
+
+    private ChangeType         changeType           = null;
+    private MemberRegistration registration         = null;
+    private String             metadataCollectionId = null;
+
+
+    /**
+     * Default constructor used by Jackson.
+     */
+    public CohortRegistryChange()
+    {
+    }
+
+
+    /**
+     * Constructor for a new change.
+     *
+     * @param changeType type of change
+     * @param registration registration that is saved (null for removals)
+     * @param metadataCollectionId identifier of the remote member that is removed (null for other changes)
+     */
+    CohortRegistryChange(ChangeType         changeType,
+                         MemberRegistration registration,
+                         String             metadataCollectionId)
+    {
+        this.changeType           = changeType;
+        this.registration         = registration;
+        this.metadataCollectionId = metadataCollectionId;
+    }
+
+
+    /**
+     * Return the type of change.
+     *
+     * @return change type enum
+     */
+    public ChangeType getChangeType()
+    {
+        return changeType;
+    }
+
+
+    /**
+     * Set up the type of change.
+     *
+     * @param changeType change type enum
+     */
+    public void setChangeType(ChangeType changeType)
+    {
+        this.changeType = changeType;
+    }
+
+
+    /**
+     * Return the registration that is saved.
+     *
+     * @return member registration
+     */
+    public MemberRegistration getRegistration()
+    {
+        return registration;
+    }
+
+
+    /**
+     * Set up the registration that is saved.
+     *
+     * @param registration member registration
+     */
+    public void setRegistration(MemberRegistration registration)
+    {
+        this.registration = registration;
+    }
+
+
+    /**
+     * Return the metadata collection id of the remote member that is removed.
+     *
+     * @return unique identifier
+     */
+    public String getMetadataCollectionId()
+    {
+        return metadataCollectionId;
+    }
+
+
+    /**
+     * Set up the metadata collection id of the remote member that is removed.
+     *
+     * @param metadataCollectionId unique identifier
+     */
+    public void setMetadataCollectionId(String metadataCollectionId)
+    {
+        this.metadataCollectionId = metadataCollectionId;
+    }
+}
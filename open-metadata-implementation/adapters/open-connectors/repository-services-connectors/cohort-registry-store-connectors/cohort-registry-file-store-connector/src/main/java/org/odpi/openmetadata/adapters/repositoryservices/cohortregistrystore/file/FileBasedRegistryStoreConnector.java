@@ -17,9 +17,17 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistry
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +35,20 @@ import java.util.Map;
 /**
  * FileBasedRegistryStoreConnector uses JSON to store details of the membership of the open metadata repository
  * cohort on behalf of the OMRSCohortRegistry.
+ * <p>
+ * The membership is held in memory, indexed by metadata collection id, and is read from the store when it is
+ * first needed.  The store is made up of two files.  The registry file holds the complete membership
+ * as a CohortMembership JSON document.  The change log file (the registry file name with ".log" added)
+ * holds one JSON line for each change made since the registry file was written.  Each change is appended to the
+ * change log and synced to disk before the request returns, so a change costs the same whatever the size of the cohort.
+ * </p>
+ * <p>
+ * Once the change log is as long as the membership (or 100 changes, whichever is greater), the membership
+ * is compacted into a new registry file.  The new registry file is written to a temporary file, synced and then
+ * renamed over the old one before the change log is removed.  Replaying a change that is already in the registry
+ * file does not alter the membership, so if the server stops at any point during a write, the membership is
+ * recovered from the two files when it restarts.  A partly written line at the end of the change log is discarded.
+ * </p>
  */
 public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConnectorBase
 {
@@ -35,11 +57,39 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
      */
     private static final String defaultFilename = "cohort.registry";
 
+    /*
+     * Suffixes added to the name of the cohort registry file to name the change log and the file
+     * used while the registry file is replaced.
+     */
+    private static final String changeLogSuffix = ".log";
+    private static final String tempFileSuffix  = ".tmp";
+
+    /*
+     * Minimum number of changes in the change log before it is compacted into the registry file.
+     */
+    private static final int    minimumCompactionThreshold = 100;
+
+    /*
+     * Names of the stages of writing to the store.  They are passed to reachedWriteStage.
+     */
+    static final String changeLogged     = "changeLogged";
+    static final String tempFileWritten  = "tempFileWritten";
+    static final String registryReplaced = "registryReplaced";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     /*
      * Variables used in writing to the file.
      */
     private String           registryStoreName       = defaultFilename;
 
+    /*
+     * The membership held in memory.  The remote registrations are null until the store is loaded.
+     */
+    private MemberRegistration              localRegistration   = null;
+    private Map<String, MemberRegistration> remoteRegistrations = null;
+    private int                             changeLogSize       = 0;
+
     /*
      * Variables used for logging and debug.
      */
@@ -81,11 +131,9 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     {
         if (localRegistration != null)
         {
-            CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
-
-            registryStoreProperties.setLocalRegistration(localRegistration);
-
-            this.writeRegistryStoreProperties(registryStoreProperties);
+            this.recordChange(new CohortRegistryChange(CohortRegistryChange.ChangeType.SAVE_LOCAL,
+                                                       localRegistration,
+                                                       null));
         }
         else
         {
@@ -118,9 +166,9 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
      */
     public synchronized MemberRegistration retrieveLocalRegistration()
     {
-        CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
+        this.loadRegistryStore();
 
-        MemberRegistration localRegistration = registryStoreProperties.getLocalRegistration();
+        MemberRegistration localRegistration = this.copyRegistration(this.localRegistration);
 
         if (log.isDebugEnabled())
         {
@@ -154,11 +202,7 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     {
         log.debug("Removing local repository from  cohort registry store.");
 
-        CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
-
-        registryStoreProperties.setLocalRegistration(null);
-
-        this.writeRegistryStoreProperties(registryStoreProperties);
+        this.recordChange(new CohortRegistryChange(CohortRegistryChange.ChangeType.REMOVE_LOCAL, null, null));
     }
 
 
@@ -172,7 +216,7 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
      */
     private Map<String, MemberRegistration> getRemoteMemberMap(List<MemberRegistration> remoteMembersList)
     {
-        Map<String, MemberRegistration>  remoteMemberMap = new HashMap<>();
+        Map<String, MemberRegistration>  remoteMemberMap = new LinkedHashMap<>();
 
         if ((remoteMembersList != null) && (! remoteMembersList.isEmpty()))
         {
@@ -199,29 +243,13 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     {
         if ((remoteRegistration != null) && (remoteRegistration.getMetadataCollectionId() != null))
         {
-            /*
-             * Retrieve the current properties from the file is necessary.
-             */
-            CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
-
             /*
              * It is possible that the remote repository already has an entry in the cohort registry and if this is
              * the case, it will be overwritten.  Otherwise the new remote properties are added.
-             * The map is used to ensure duplicates can not be stored.
-             */
-            Map<String, MemberRegistration>  remoteMemberMap = this.getRemoteMemberMap(registryStoreProperties.getRemoteRegistrations());
-
-            /*
-             * Now add the new member to the map.  This will overwrite any previous registration.
-             */
-            remoteMemberMap.put(remoteRegistration.getMetadataCollectionId(), remoteRegistration);
-
-            registryStoreProperties.setRemoteRegistrations(new ArrayList<>(remoteMemberMap.values()));
-
-            /*
-             * Write out the new cohort registry content.
              */
-            this.writeRegistryStoreProperties(registryStoreProperties);
+            this.recordChange(new CohortRegistryChange(CohortRegistryChange.ChangeType.SAVE_REMOTE,
+                                                       remoteRegistration,
+                                                       remoteRegistration.getMetadataCollectionId()));
         }
         else
         {
@@ -252,19 +280,22 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
      */
     public synchronized List<MemberRegistration> retrieveRemoteRegistrations()
     {
-        /*
-         * Ensure the current properties are retrieved from the registry.
-         */
-        CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
-        Map<String, MemberRegistration>  remoteMemberMap = this.getRemoteMemberMap(registryStoreProperties.getRemoteRegistrations());
+        this.loadRegistryStore();
 
-        if (remoteMemberMap.isEmpty())
+        if (remoteRegistrations.isEmpty())
         {
             return null;
         }
         else
         {
-            return new ArrayList<>(remoteMemberMap.values());
+            List<MemberRegistration> remoteRegistrationList = new ArrayList<>();
+
+            for (MemberRegistration remoteRegistration : remoteRegistrations.values())
+            {
+                remoteRegistrationList.add(this.copyRegistration(remoteRegistration));
+            }
+
+            return remoteRegistrationList;
         }
     }
 
@@ -282,13 +313,9 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
 
         if (metadataCollectionId != null)
         {
-            /*
-             * Ensure the current properties are retrieved from the registry.
-             */
-            CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
-            Map<String, MemberRegistration>  remoteMemberMap = this.getRemoteMemberMap(registryStoreProperties.getRemoteRegistrations());
+            this.loadRegistryStore();
 
-            remoteRegistration = remoteMemberMap.get(metadataCollectionId);
+            remoteRegistration = this.copyRegistration(remoteRegistrations.get(metadataCollectionId));
         }
         else
         {
@@ -328,21 +355,13 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     {
         if (metadataCollectionId != null)
         {
-            /*
-             * Ensure the current properties are retrieved from the registry.
-             */
-            CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
-            Map<String, MemberRegistration> remoteMemberMap = this.getRemoteMemberMap(registryStoreProperties.getRemoteRegistrations());
+            this.loadRegistryStore();
 
-            /*
-             * Remove the requested properties
-             */
-            MemberRegistration removedMember = remoteMemberMap.remove(metadataCollectionId);
-
-            if (removedMember != null)
+            if (remoteRegistrations.containsKey(metadataCollectionId))
             {
-                registryStoreProperties.setRemoteRegistrations(new ArrayList<>(remoteMemberMap.values()));
-                writeRegistryStoreProperties(registryStoreProperties);
+                this.recordChange(new CohortRegistryChange(CohortRegistryChange.ChangeType.REMOVE_REMOTE,
+                                                           null,
+                                                           metadataCollectionId));
             }
             else
             {
@@ -390,11 +409,27 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
 
     /**
      * Remove the local and remote registrations from the cohort registry store since the local server has
-     * unregistered from the cohort.
+     * unregistered from the cohort.  The clear is logged before the files are removed so that the
+     * old membership is not recovered if the server stops part way through.
      */
-    public void clearAllRegistrations()
+    public synchronized void clearAllRegistrations()
     {
-        writeRegistryStoreProperties(null);
+        this.recordChange(new CohortRegistryChange(CohortRegistryChange.ChangeType.CLEAR, null, null));
+
+        File registryStoreFile = new File(registryStoreName);
+        File changeLogFile     = new File(registryStoreName + changeLogSuffix);
+
+        if ((registryStoreFile.exists()) && (! registryStoreFile.delete()))
+        {
+            log.debug("Unable to delete cohort registry store " + registryStoreName);
+        }
+
+        if ((changeLogFile.exists()) && (! changeLogFile.delete()))
+        {
+            log.debug("Unable to delete cohort registry change log " + changeLogFile.getPath());
+        }
+
+        changeLogSize = 0;
     }
 
 
@@ -405,6 +440,14 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     {
         try
         {
+            synchronized (this)
+            {
+                if (changeLogSize > 0)
+                {
+                    this.compactRegistryStore();
+                }
+            }
+
             super.disconnect();
         }
         catch (Throwable  exec)
@@ -417,6 +460,40 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     }
 
 
+    /**
+     * Return a copy of a registration so that the caller can not change the membership held in memory.
+     *
+     * @param registration registration from the membership
+     * @return copy of the registration or null
+     */
+    private MemberRegistration copyRegistration(MemberRegistration registration)
+    {
+        if (registration == null)
+        {
+            return null;
+        }
+
+        return new MemberRegistration(registration);
+    }
+
+
+    /**
+     * Read the membership from the registry file and the change log if it has not already been loaded.
+     */
+    private void loadRegistryStore()
+    {
+        if (remoteRegistrations == null)
+        {
+            CohortMembership registryStoreProperties = this.retrieveRegistryStoreProperties();
+
+            localRegistration   = registryStoreProperties.getLocalRegistration();
+            remoteRegistrations = this.getRemoteMemberMap(registryStoreProperties.getRemoteRegistrations());
+
+            this.replayChangeLog();
+        }
+    }
+
+
     /**
      * Refresh the registry store properties with the current values in the file base registry store.
      *
@@ -433,7 +510,6 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
 
             String registryStoreFileContents = FileUtils.readFileToString(registryStoreFile, "UTF-8");
 
-            ObjectMapper objectMapper = new ObjectMapper();
             newRegistryStoreProperties = objectMapper.readValue(registryStoreFileContents, CohortMembership.class);
         }
         catch (IOException   ioException)
@@ -441,7 +517,7 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
             /*
              * The registry file is not found, create a new one ...
              */
-            if (auditLog != null)
+            if ((auditLog != null) && (! new File(registryStoreName + changeLogSuffix).exists()))
             {
                 String actionDescription = "Retrieving Cohort Registry Store Properties";
 
@@ -468,6 +544,182 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     }
 
 
+    /**
+     * Apply the changes in the change log to the membership read from the registry file.  The change log
+     * is read up to the last complete line.  Anything after it was being written when the server stopped and
+     * is removed from the file so that new changes follow a complete line.
+     */
+    private void replayChangeLog()
+    {
+        File changeLogFile = new File(registryStoreName + changeLogSuffix);
+
+        changeLogSize = 0;
+
+        if (! changeLogFile.exists())
+        {
+            return;
+        }
+
+        try
+        {
+            byte[] changeLog   = Files.readAllBytes(changeLogFile.toPath());
+            int    validLength = 0;
+            int    lineStart   = 0;
+
+            for (int position = 0; position < changeLog.length; position++)
+            {
+                if (changeLog[position] == '\n')
+                {
+                    String line = new String(changeLog, lineStart, position - lineStart, StandardCharsets.UTF_8);
+
+                    try
+                    {
+                        this.applyChange(objectMapper.readValue(line, CohortRegistryChange.class));
+                    }
+                    catch (IOException badLine)
+                    {
+                        log.debug("Discarding cohort registry change log from damaged line: " + line, badLine);
+                        break;
+                    }
+
+                    changeLogSize++;
+                    validLength = position + 1;
+                    lineStart   = position + 1;
+                }
+            }
+
+            if (validLength < changeLog.length)
+            {
+                log.debug("Removing incomplete change from cohort registry change log " + changeLogFile.getPath());
+
+                try (FileChannel changeLogChannel = FileChannel.open(changeLogFile.toPath(), StandardOpenOption.WRITE))
+                {
+                    changeLogChannel.truncate(validLength);
+                    changeLogChannel.force(true);
+                }
+            }
+        }
+        catch (IOException ioException)
+        {
+            this.logUnusableRegistryStore(ioException);
+        }
+    }
+
+
+    /**
+     * Update the membership held in memory with a change.
+     *
+     * @param change change to apply
+     */
+    private void applyChange(CohortRegistryChange change)
+    {
+        if ((change == null) || (change.getChangeType() == null))
+        {
+            return;
+        }
+
+        switch (change.getChangeType())
+        {
+            case SAVE_LOCAL:
+                localRegistration = change.getRegistration();
+                break;
+
+            case REMOVE_LOCAL:
+                localRegistration = null;
+                break;
+
+            case SAVE_REMOTE:
+                if (change.getRegistration() != null)
+                {
+                    remoteRegistrations.put(change.getMetadataCollectionId(), change.getRegistration());
+                }
+                break;
+
+            case REMOVE_REMOTE:
+                remoteRegistrations.remove(change.getMetadataCollectionId());
+                break;
+
+            case CLEAR:
+                localRegistration = null;
+                remoteRegistrations.clear();
+                break;
+        }
+    }
+
+
+    /**
+     * Apply a change to the membership and append it to the change log.  The change log is compacted
+     * into the registry file once it is as long as the membership.
+     *
+     * @param change change to record
+     */
+    private void recordChange(CohortRegistryChange change)
+    {
+        this.loadRegistryStore();
+
+        /*
+         * The change holds a copy of the registration so later changes to the caller's object do not alter the membership.
+         */
+        CohortRegistryChange storedChange = new CohortRegistryChange(change.getChangeType(),
+                                                                     this.copyRegistration(change.getRegistration()),
+                                                                     change.getMetadataCollectionId());
+        this.applyChange(storedChange);
+
+        this.validateRegistryStore(this.getMembership());
+
+        try
+        {
+            log.debug("Writing cohort registry store change " + change.getChangeType());
+
+            byte[] changeLine = (objectMapper.writeValueAsString(storedChange) + "\n").getBytes(StandardCharsets.UTF_8);
+
+            try (FileOutputStream changeLogStream = new FileOutputStream(registryStoreName + changeLogSuffix, true))
+            {
+                changeLogStream.write(changeLine);
+                changeLogStream.getFD().sync();
+            }
+
+            changeLogSize++;
+            this.reachedWriteStage(changeLogged);
+        }
+        catch (IOException ioException)
+        {
+            /*
+             * The change log may now end with part of the change so the complete membership is written instead.
+             */
+            log.debug("Unable to append to cohort registry change log", ioException);
+
+            changeLogSize = Integer.MAX_VALUE;
+        }
+
+        if (changeLogSize >= Math.max(minimumCompactionThreshold, remoteRegistrations.size()))
+        {
+            this.compactRegistryStore();
+        }
+    }
+
+
+    /**
+     * Return the membership held in memory.
+     *
+     * @return cohort membership bean
+     */
+    private CohortMembership getMembership()
+    {
+        CohortMembership membership = new CohortMembership();
+
+        membership.setLocalRegistration(localRegistration);
+
+        if (! remoteRegistrations.isEmpty())
+        {
+            membership.setRemoteRegistrations(new ArrayList<>(remoteRegistrations.values()));
+        }
+
+        return membership;
+    }
+
+
+
     /**
      * Test the uniqueness of a single cohort member
      *
@@ -667,54 +919,116 @@ public class FileBasedRegistryStoreConnector extends OMRSCohortRegistryStoreConn
     }
 
 
+
     /**
-     * Writes the supplied registry store properties to the registry store.
-     *
-     * @param newRegistryStoreProperties - contents of the registry store
+     * Write the membership held in memory to the registry file and remove the change log.
+     * The registry file is replaced by renaming a synced temporary file so it is always complete.
      */
-    private void writeRegistryStoreProperties(CohortMembership   newRegistryStoreProperties)
+    private void compactRegistryStore()
     {
         File    registryStoreFile = new File(registryStoreName);
-
-        this.validateRegistryStore(newRegistryStoreProperties);
+        File    tempFile          = new File(registryStoreName + tempFileSuffix);
+        File    changeLogFile     = new File(registryStoreName + changeLogSuffix);
 
         try
         {
+            CohortMembership newRegistryStoreProperties = this.getMembership();
+
             log.debug("Writing cohort registry store properties" + newRegistryStoreProperties);
 
-            if (newRegistryStoreProperties == null)
+            try (FileOutputStream tempFileStream = new FileOutputStream(tempFile))
             {
-                registryStoreFile.delete();
+                tempFileStream.write(objectMapper.writeValueAsBytes(newRegistryStoreProperties));
+                tempFileStream.getFD().sync();
             }
-            else
-            {
-                ObjectMapper objectMapper = new ObjectMapper();
 
-                String registryStoreFileContents = objectMapper.writeValueAsString(newRegistryStoreProperties);
+            this.reachedWriteStage(tempFileWritten);
 
-                FileUtils.writeStringToFile(registryStoreFile, registryStoreFileContents, (String)null,false);
+            try
+            {
+                Files.move(tempFile.toPath(),
+                           registryStoreFile.toPath(),
+                           StandardCopyOption.ATOMIC_MOVE,
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException notSupported)
+            {
+                Files.move(tempFile.toPath(), registryStoreFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
+
+            this.syncDirectory(registryStoreFile);
+            this.reachedWriteStage(registryReplaced);
+
+            Files.deleteIfExists(changeLogFile.toPath());
+            changeLogSize = 0;
         }
         catch (IOException   ioException)
         {
-            if (auditLog != null)
+            this.logUnusableRegistryStore(ioException);
+        }
+    }
+
+
+    /**
+     * Sync the directory holding the registry file so that the rename of the registry file is on disk.
+     * Not all platforms allow a directory to be opened, in which case the rename is left to the operating system.
+     *
+     * @param registryStoreFile registry file
+     */
+    private void syncDirectory(File registryStoreFile)
+    {
+        File directory = registryStoreFile.getAbsoluteFile().getParentFile();
+
+        if (directory != null)
+        {
+            try (FileChannel directoryChannel = FileChannel.open(directory.toPath(), StandardOpenOption.READ))
             {
-                String actionDescription = "Writing Cohort Registry Store Properties";
-
-                OMRSAuditCode auditCode = OMRSAuditCode.UNUSABLE_REGISTRY_FILE;
-
-                auditLog.logException(actionDescription,
-                                      auditCode.getLogMessageId(),
-                                      auditCode.getSeverity(),
-                                      auditCode.getFormattedLogMessage(registryStoreName),
-                                      null,
-                                      auditCode.getSystemAction(),
-                                      auditCode.getUserAction(),
-                                      ioException);
+                directoryChannel.force(true);
             }
+            catch (IOException | RuntimeException notSupported)
+            {
+                log.debug("Unable to sync directory " + directory.getPath());
+            }
+        }
+    }
+
+
+    /**
+     * Called as each stage of a write to the store completes.  This is used by the tests to stop the
+     * connector part way through a write.
+     *
+     * @param writeStage name of the stage
+     */
+    void reachedWriteStage(String writeStage)
+    {
+        /* Nothing to do */
+    }
+
 
-            log.debug("Unusable Cohort Registry Store :(", ioException);
+    /**
+     * Log that the registry store could not be read or written.
+     *
+     * @param ioException exception from the file system
+     */
+    private void logUnusableRegistryStore(IOException ioException)
+    {
+        if (auditLog != null)
+        {
+            String actionDescription = "Writing Cohort Registry Store Properties";
+
+            OMRSAuditCode auditCode = OMRSAuditCode.UNUSABLE_REGISTRY_FILE;
+
+            auditLog.logException(actionDescription,
+                                  auditCode.getLogMessageId(),
+                                  auditCode.getSeverity(),
+                                  auditCode.getFormattedLogMessage(registryStoreName),
+                                  null,
+                                  auditCode.getSystemAction(),
+                                  auditCode.getUserAction(),
+                                  ioException);
         }
+
+        log.debug("Unusable Cohort Registry Store :(", ioException);
     }
 
 
@@ -8,11 +8,20 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.cohortregistrystore.properties.MemberRegistration;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Test that the FileBasedRegistryStoreConnector can respond sensibility to many different
@@ -245,4 +254,210 @@ public class TestFileBasedRegistryStoreConnector
             assertTrue(false);
         }
     }
+
+
+    /**
+     * Connector that stops, as if the server had crashed, when it reaches a chosen stage of writing to the store.
+     */
+    private static class CrashingRegistryStoreConnector extends FileBasedRegistryStoreConnector
+    {
+        private String crashStage;
+        private int    crashCount;
+
+
+        CrashingRegistryStoreConnector(String crashStage, int crashCount)
+        {
+            this.crashStage = crashStage;
+            this.crashCount = crashCount;
+        }
+
+
+        @Override
+        void reachedWriteStage(String writeStage)
+        {
+            if ((writeStage.equals(crashStage)) && (--crashCount == 0))
+            {
+                throw new IllegalStateException("Crash at " + writeStage);
+            }
+        }
+    }
+
+
+    private File getRegistryStoreFile() throws Exception
+    {
+        File registryStoreFile = File.createTempFile("cohort", ".registry");
+
+        assertTrue(registryStoreFile.delete());
+
+        return registryStoreFile;
+    }
+
+
+    private FileBasedRegistryStoreConnector getConnector(FileBasedRegistryStoreConnector connector,
+                                                         File                            registryStoreFile)
+    {
+        Connection connection = getGoodConnection();
+        Endpoint   endpoint   = connection.getEndpoint();
+
+        endpoint.setAddress(registryStoreFile.getPath());
+        connection.setEndpoint(endpoint);
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    private Set<String> getRemoteMetadataCollectionIds(FileBasedRegistryStoreConnector connector)
+    {
+        Set<String>              metadataCollectionIds = new HashSet<>();
+        List<MemberRegistration> remoteRegistrations   = connector.retrieveRemoteRegistrations();
+
+        if (remoteRegistrations != null)
+        {
+            for (MemberRegistration remoteRegistration : remoteRegistrations)
+            {
+                metadataCollectionIds.add(remoteRegistration.getMetadataCollectionId());
+            }
+        }
+
+        return metadataCollectionIds;
+    }
+
+
+    private void deleteRegistryStore(File registryStoreFile)
+    {
+        new File(registryStoreFile.getPath() + ".log").delete();
+        new File(registryStoreFile.getPath() + ".tmp").delete();
+        registryStoreFile.delete();
+    }
+
+
+    @Test public void testMembershipRecoveredAfterRestart() throws Exception
+    {
+        File registryStoreFile = getRegistryStoreFile();
+
+        try
+        {
+            FileBasedRegistryStoreConnector connector = getConnector(new FileBasedRegistryStoreConnector(), registryStoreFile);
+            MemberRegistration              local     = getMemberRegistration("local");
+
+            connector.saveLocalRegistration(local);
+
+            for (int member = 0; member < 250; member++)
+            {
+                connector.saveRemoteRegistration(getMemberRegistration("Member" + member));
+            }
+
+            connector.removeRemoteRegistration("Member7MetadataCollectionId");
+
+            /*
+             * The second connector reads the store as a restarted server would.
+             */
+            FileBasedRegistryStoreConnector restartedConnector = getConnector(new FileBasedRegistryStoreConnector(), registryStoreFile);
+
+            assertEquals(restartedConnector.retrieveLocalRegistration(), local);
+            assertEquals(getRemoteMetadataCollectionIds(restartedConnector).size(), 249);
+            assertNull(restartedConnector.retrieveRemoteRegistration("Member7MetadataCollectionId"));
+            assertEquals(restartedConnector.retrieveRemoteRegistration("Member8MetadataCollectionId").getServerName(), "Member8ServerName");
+        }
+        finally
+        {
+            deleteRegistryStore(registryStoreFile);
+        }
+    }
+
+
+    @Test public void testMembershipRecoveredAfterCrash() throws Exception
+    {
+        String[] crashStages = { FileBasedRegistryStoreConnector.changeLogged,
+                                 FileBasedRegistryStoreConnector.tempFileWritten,
+                                 FileBasedRegistryStoreConnector.registryReplaced };
+
+        for (String crashStage : crashStages)
+        {
+            File registryStoreFile = getRegistryStoreFile();
+
+            try
+            {
+                /*
+                 * The connector crashes during the 120th change, which is after the first compaction.
+                 * Each change is durable once it is in the change log so it is recovered.
+                 */
+                int                             crashCount   = FileBasedRegistryStoreConnector.changeLogged.equals(crashStage) ? 120 : 1;
+                FileBasedRegistryStoreConnector connector    = getConnector(new CrashingRegistryStoreConnector(crashStage, crashCount),
+                                                                            registryStoreFile);
+                Set<String>                     savedMembers = new HashSet<>();
+
+                try
+                {
+                    for (int member = 0; member < 150; member++)
+                    {
+                        MemberRegistration remoteRegistration = getMemberRegistration("Member" + member);
+
+                        savedMembers.add(remoteRegistration.getMetadataCollectionId());
+                        connector.saveRemoteRegistration(remoteRegistration);
+                    }
+
+                    fail("Connector did not crash at " + crashStage);
+                }
+                catch (IllegalStateException crash)
+                {
+                    /*
+                     * Expected
+                     */
+                }
+
+                FileBasedRegistryStoreConnector restartedConnector = getConnector(new FileBasedRegistryStoreConnector(), registryStoreFile);
+
+                assertEquals(getRemoteMetadataCollectionIds(restartedConnector), savedMembers, crashStage);
+
+                restartedConnector.saveRemoteRegistration(getMemberRegistration("AfterCrash"));
+
+                FileBasedRegistryStoreConnector secondConnector = getConnector(new FileBasedRegistryStoreConnector(), registryStoreFile);
+
+                assertEquals(getRemoteMetadataCollectionIds(secondConnector).size(), savedMembers.size() + 1, crashStage);
+            }
+            finally
+            {
+                deleteRegistryStore(registryStoreFile);
+            }
+        }
+    }
+
+
+    @Test public void testIncompleteChangeDiscarded() throws Exception
+    {
+        File registryStoreFile = getRegistryStoreFile();
+
+        try
+        {
+            FileBasedRegistryStoreConnector connector = getConnector(new FileBasedRegistryStoreConnector(), registryStoreFile);
+
+            connector.saveRemoteRegistration(getMemberRegistration("Fred"));
+            connector.saveRemoteRegistration(getMemberRegistration("Joe"));
+
+            /*
+             * Simulate a crash part way through appending a change.
+             */
+            try (FileOutputStream changeLog = new FileOutputStream(registryStoreFile.getPath() + ".log", true))
+            {
+                changeLog.write("{\"changeType\":\"SAVE_REMOTE\",\"registration\":{\"metadataColl".getBytes(StandardCharsets.UTF_8));
+            }
+
+            FileBasedRegistryStoreConnector restartedConnector = getConnector(new FileBasedRegistryStoreConnector(), registryStoreFile);
+
+            assertEquals(getRemoteMetadataCollectionIds(restartedConnector).size(), 2);
+
+            restartedConnector.removeRemoteRegistration("FredMetadataCollectionId");
+
+            FileBasedRegistryStoreConnector secondConnector = getConnector(new FileBasedRegistryStoreConnector(), registryStoreFile);
+
+            assertNull(secondConnector.retrieveRemoteRegistration("FredMetadataCollectionId"));
+            assertEquals(secondConnector.retrieveRemoteRegistration("JoeMetadataCollectionId").getServerName(), "JoeServerName");
+        }
+        finally
+        {
+            deleteRegistryStore(registryStoreFile);
+        }
+    }
 }
@@ -6,14 +6,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
-import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveMemoryReader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveReader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveWriter;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
 {
@@ -22,6 +29,8 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     private static final String defaultFilename = "open.metadata.archive";
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     /*
      * Variables used in writing to the file.
      */
@@ -74,11 +83,7 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
         {
             log.debug("Retrieving server configuration properties");
 
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
-
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            newOpenMetadataArchive = objectMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
+            newOpenMetadataArchive = objectMapper.readValue(archiveStoreFile, OpenMetadataArchive.class);
         }
         catch (IOException ioException)
         {
@@ -95,6 +100,40 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     }
 
 
+    /**
+     * Return a reader that parses the archive file as the contents are requested rather than loading
+     * the whole archive into memory.
+     *
+     * @return archive reader
+     */
+    @Override
+    public OpenMetadataArchiveReader getArchiveReader()
+    {
+        File archiveStoreFile = new File(archiveStoreName);
+
+        if (! archiveStoreFile.exists())
+        {
+            log.debug("Open metadata archive " + archiveStoreName + " not found");
+
+            return new OpenMetadataArchiveMemoryReader(new OpenMetadataArchive());
+        }
+
+        return new OpenMetadataArchiveJSONReader(archiveStoreFile);
+    }
+
+
+    /**
+     * Return a writer that adds the contents to the archive file as they are supplied.
+     *
+     * @return archive writer
+     */
+    @Override
+    public OpenMetadataArchiveWriter getArchiveWriter()
+    {
+        return new OpenMetadataArchiveJSONWriter(new File(archiveStoreName));
+    }
+
+
     /**
      * Set new contents into the archive.  This overrides any content previously stored.
      *
@@ -104,27 +143,48 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     {
         File    archiveStoreFile = new File(archiveStoreName);
 
-        try
-        {
-            log.debug("Writing open metadata archive store properties: " + archiveContents);
+        log.debug("Writing open metadata archive store properties: " + archiveContents);
 
-            if (archiveContents == null)
+        if (archiveContents == null)
+        {
+            archiveStoreFile.delete();
+        }
+        else
+        {
+            try (OpenMetadataArchiveWriter archiveWriter = new OpenMetadataArchiveJSONWriter(archiveStoreFile))
             {
-                archiveStoreFile.delete();
+                archiveWriter.writeArchiveHeader(archiveContents.getArchiveProperties(),
+                                                 archiveContents.getArchiveTypeStore());
+
+                OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContents.getArchiveInstanceStore();
+
+                if (archiveInstanceStore != null)
+                {
+                    List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
+                    List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
+                    List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
+
+                    if (entities != null)
+                    {
+                        entities.forEach(archiveWriter::writeEntity);
+                    }
+
+                    if (relationships != null)
+                    {
+                        relationships.forEach(archiveWriter::writeRelationship);
+                    }
+
+                    if (classifications != null)
+                    {
+                        classifications.forEach(archiveWriter::writeClassification);
+                    }
+                }
             }
-            else
+            catch (Throwable   error)
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                String archiveStoreFileContents = objectMapper.writeValueAsString(archiveContents);
-
-                FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
+                log.debug("Unusable open metadata archive store :(", error);
             }
         }
-        catch (IOException   ioException)
-        {
-            log.debug("Unusable Server config Store :(", ioException);
-        }
     }
 
 
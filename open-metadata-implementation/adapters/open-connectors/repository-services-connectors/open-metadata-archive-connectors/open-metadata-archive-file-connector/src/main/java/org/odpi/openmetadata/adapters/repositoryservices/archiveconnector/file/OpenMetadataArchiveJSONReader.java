@@ -0,0 +1,520 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveReader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * OpenMetadataArchiveJSONReader reads an open metadata archive file with a JSON parser.  The archive properties
+ * and type store are read when they are first requested.  The entities, relationships and classifications are
+ * read one at a time as the caller steps through them, so the memory needed does not depend on the
+ * number of instances in the archive.
+ *
+ * Archives written by OpenMetadataArchiveJSONWriter, or by Jackson from an OpenMetadataArchive object, have their
+ * sections in the order they are requested and are read in a single pass.  If the sections of an archive
+ * are in a different order, the file is parsed again from the start to find the requested section.
+ */
+public class OpenMetadataArchiveJSONReader implements OpenMetadataArchiveReader
+{
+    static final String ARCHIVE_PROPERTIES     = "archiveProperties";
+    static final String ARCHIVE_TYPE_STORE     = "archiveTypeStore";
+    static final String ARCHIVE_INSTANCE_STORE = "archiveInstanceStore";
+    static final String ENTITIES               = "entities";
+    static final String RELATIONSHIPS          = "relationships";
+    static final String CLASSIFICATIONS        = "classifications";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private File                          archiveFile;
+    private boolean                       headerRead        = false;
+    private OpenMetadataArchiveProperties archiveProperties = null;
+    private OpenMetadataArchiveTypeStore  archiveTypeStore  = null;
+
+    /*
+     * The parser is positioned in the instance store.  The sections that the parser has passed since the start
+     * of the instance store are remembered so that a request for an earlier section starts a new parse.  Once
+     * the end of the instance store has been reached, all of the section names are known.
+     */
+    private JsonParser         parser             = null;
+    private Set<String>        passedSections     = new HashSet<>();
+    private Set<String>        allSections        = null;
+    private SectionIterator<?> currentSection     = null;
+
+
+    /**
+     * Constructor
+     *
+     * @param archiveFile file containing the archive
+     */
+    public OpenMetadataArchiveJSONReader(File archiveFile)
+    {
+        this.archiveFile = archiveFile;
+    }
+
+
+    /**
+     * Return the properties that describe the archive.
+     *
+     * @return archive properties or null if the archive has none
+     */
+    @Override
+    public OpenMetadataArchiveProperties getArchiveProperties()
+    {
+        this.readHeader();
+
+        return archiveProperties;
+    }
+
+
+    /**
+     * Return the new and updated types from the archive.
+     *
+     * @return type store or null if the archive has no types
+     */
+    @Override
+    public OpenMetadataArchiveTypeStore getArchiveTypeStore()
+    {
+        this.readHeader();
+
+        return archiveTypeStore;
+    }
+
+
+    /**
+     * Return the entities from the archive.
+     *
+     * @return iterator over the entities
+     */
+    @Override
+    public Iterator<EntityDetail> getEntities()
+    {
+        return this.getSection(ENTITIES, EntityDetail.class);
+    }
+
+
+    /**
+     * Return the relationships from the archive.
+     *
+     * @return iterator over the relationships
+     */
+    @Override
+    public Iterator<Relationship> getRelationships()
+    {
+        return this.getSection(RELATIONSHIPS, Relationship.class);
+    }
+
+
+    /**
+     * Return the classifications from the archive.
+     *
+     * @return iterator over the classifications
+     */
+    @Override
+    public Iterator<ClassificationEntityExtension> getClassifications()
+    {
+        return this.getSection(CLASSIFICATIONS, ClassificationEntityExtension.class);
+    }
+
+
+    /**
+     * Close the archive file.
+     */
+    @Override
+    public void close()
+    {
+        this.closeParser();
+    }
+
+
+    /**
+     * Read the archive properties and type store.  If they both come before the instance store, the parser is
+     * left at the start of the instance store ready to read the instances.
+     */
+    private void readHeader()
+    {
+        final String methodName = "readHeader";
+
+        if (headerRead)
+        {
+            return;
+        }
+
+        headerRead = true;
+
+        try
+        {
+            JsonParser headerParser = this.openParser();
+
+            if (headerParser.nextToken() != JsonToken.START_OBJECT)
+            {
+                headerParser.close();
+                return;
+            }
+
+            boolean propertiesFound = false;
+            boolean typeStoreFound  = false;
+
+            while (headerParser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String    fieldName = headerParser.getCurrentName();
+                JsonToken token     = headerParser.nextToken();
+
+                if (ARCHIVE_PROPERTIES.equals(fieldName))
+                {
+                    archiveProperties = headerParser.readValueAs(OpenMetadataArchiveProperties.class);
+                    propertiesFound = true;
+                }
+                else if (ARCHIVE_TYPE_STORE.equals(fieldName))
+                {
+                    archiveTypeStore = headerParser.readValueAs(OpenMetadataArchiveTypeStore.class);
+                    typeStoreFound = true;
+                }
+                else if (ARCHIVE_INSTANCE_STORE.equals(fieldName) && (token == JsonToken.START_OBJECT) &&
+                         propertiesFound && typeStoreFound)
+                {
+                    parser = headerParser;
+                    passedSections.clear();
+                    return;
+                }
+                else
+                {
+                    headerParser.skipChildren();
+                }
+            }
+
+            headerParser.close();
+        }
+        catch (IOException error)
+        {
+            throw this.getReadError(error, methodName);
+        }
+    }
+
+
+    /**
+     * Return an iterator over a section of the instance store.
+     *
+     * @param sectionName name of the section
+     * @param elementClass class of the elements in the section
+     * @param <T> type of the elements
+     * @return iterator
+     */
+    private <T> Iterator<T> getSection(String   sectionName,
+                                       Class<T> elementClass)
+    {
+        final String methodName = "getSection";
+
+        this.readHeader();
+
+        try
+        {
+            if (this.locateSection(sectionName))
+            {
+                SectionIterator<T> sectionIterator = new SectionIterator<>(elementClass);
+
+                currentSection = sectionIterator;
+
+                return sectionIterator;
+            }
+        }
+        catch (IOException error)
+        {
+            throw this.getReadError(error, methodName);
+        }
+
+        return Collections.emptyIterator();
+    }
+
+
+    /**
+     * Move the parser to the start of the named section of the instance store.
+     *
+     * @param sectionName name of the section
+     * @return true if the parser is at the start of the section's array; false if the section is missing or empty
+     * @throws IOException problem reading the file
+     */
+    private boolean locateSection(String sectionName) throws IOException
+    {
+        this.finishCurrentSection();
+
+        if ((allSections != null) && (! allSections.contains(sectionName)))
+        {
+            return false;
+        }
+
+        if ((parser != null) && (passedSections.contains(sectionName)))
+        {
+            /*
+             * The section is earlier in the file.
+             */
+            this.closeParser();
+        }
+
+        if (parser == null)
+        {
+            parser = this.openInstanceStore();
+            passedSections.clear();
+
+            if (parser == null)
+            {
+                allSections = Collections.emptySet();
+                return false;
+            }
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String    fieldName = parser.getCurrentName();
+            JsonToken token     = parser.nextToken();
+
+            passedSections.add(fieldName);
+
+            if (sectionName.equals(fieldName))
+            {
+                if (token == JsonToken.START_ARRAY)
+                {
+                    return true;
+                }
+
+                parser.skipChildren();
+                return false;
+            }
+
+            parser.skipChildren();
+        }
+
+        allSections = new HashSet<>(passedSections);
+        this.closeParser();
+
+        return false;
+    }
+
+
+    /**
+     * Skip any elements of the current section that the caller has not read.
+     *
+     * @throws IOException problem reading the file
+     */
+    private void finishCurrentSection() throws IOException
+    {
+        if (currentSection != null)
+        {
+            if (! currentSection.finished)
+            {
+                JsonToken token = parser.nextToken();
+
+                while ((token != null) && (token != JsonToken.END_ARRAY))
+                {
+                    parser.skipChildren();
+                    token = parser.nextToken();
+                }
+
+                currentSection.finished = true;
+                currentSection.nextElement = null;
+            }
+
+            currentSection = null;
+        }
+    }
+
+
+    /**
+     * Open the file and move to the start of the instance store.
+     *
+     * @return parser positioned inside the instance store or null if the archive has no instance store
+     * @throws IOException problem reading the file
+     */
+    private JsonParser openInstanceStore() throws IOException
+    {
+        JsonParser instanceStoreParser = this.openParser();
+
+        if (instanceStoreParser.nextToken() == JsonToken.START_OBJECT)
+        {
+            while (instanceStoreParser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String    fieldName = instanceStoreParser.getCurrentName();
+                JsonToken token     = instanceStoreParser.nextToken();
+
+                if (ARCHIVE_INSTANCE_STORE.equals(fieldName) && (token == JsonToken.START_OBJECT))
+                {
+                    return instanceStoreParser;
+                }
+
+                instanceStoreParser.skipChildren();
+            }
+        }
+
+        instanceStoreParser.close();
+
+        return null;
+    }
+
+
+    /**
+     * Create a parser for the archive file.
+     *
+     * @return new parser
+     * @throws IOException problem opening the file
+     */
+    private JsonParser openParser() throws IOException
+    {
+        return objectMapper.getFactory().createParser(archiveFile);
+    }
+
+
+    /**
+     * Close the parser in use.
+     */
+    private void closeParser()
+    {
+        if (parser != null)
+        {
+            try
+            {
+                parser.close();
+            }
+            catch (IOException error)
+            {
+                /*
+                 * Nothing to do - the file is no longer needed.
+                 */
+            }
+
+            parser = null;
+        }
+
+        if (currentSection != null)
+        {
+            currentSection.finished = true;
+            currentSection.nextElement = null;
+            currentSection = null;
+        }
+    }
+
+
+    /**
+     * Build the exception reported when the archive can not be read.
+     *
+     * @param error exception from the parser
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    private OMRSRuntimeException getReadError(IOException error,
+                                              String      methodName)
+    {
+        this.closeParser();
+
+        OMRSErrorCode errorCode    = OMRSErrorCode.ARCHIVE_NOT_READABLE;
+        String        errorMessage = errorCode.getErrorMessageId()
+                                   + errorCode.getFormattedErrorMessage(archiveFile.getPath(),
+                                                                        error.getClass().getName(),
+                                                                        error.getMessage());
+
+        return new OMRSRuntimeException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error);
+    }
+
+
+    /**
+     * Iterator that reads the elements of a section from the parser as they are requested.
+     *
+     * @param <T> type of the elements
+     */
+    private class SectionIterator<T> implements Iterator<T>
+    {
+        private Class<T> elementClass;
+        private T        nextElement = null;
+        private boolean  finished    = false;
+
+
+        /**
+         * Constructor
+         *
+         * @param elementClass class of the elements
+         */
+        SectionIterator(Class<T> elementClass)
+        {
+            this.elementClass = elementClass;
+        }
+
+
+        /**
+         * Read ahead to the next element in the section.
+         *
+         * @return true if there is another element
+         */
+        @Override
+        public boolean hasNext()
+        {
+            final String methodName = "hasNext";
+
+            while ((nextElement == null) && (! finished))
+            {
+                try
+                {
+                    JsonToken token = parser.nextToken();
+
+                    if ((token == null) || (token == JsonToken.END_ARRAY))
+                    {
+                        finished = true;
+                    }
+                    else if (token != JsonToken.VALUE_NULL)
+                    {
+                        nextElement = parser.readValueAs(elementClass);
+                    }
+                }
+                catch (IOException error)
+                {
+                    finished = true;
+                    throw getReadError(error, methodName);
+                }
+            }
+
+            return nextElement != null;
+        }
+
+
+        /**
+         * Return the next element in the section.
+         *
+         * @return element
+         */
+        @Override
+        public T next()
+        {
+            if (! this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            T element = nextElement;
+
+            nextElement = null;
+
+            return element;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveWriter;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OpenMetadataArchiveJSONWriter writes an open metadata archive file with a JSON generator.  Each element is
+ * written to the file as it is supplied so the memory needed does not depend on the size of the archive.
+ * The file has the same structure as an OpenMetadataArchive object written by Jackson, with the sections
+ * in the order that OpenMetadataArchiveJSONReader reads them.
+ */
+public class OpenMetadataArchiveJSONWriter implements OpenMetadataArchiveWriter
+{
+    private static final String HEADER = "archiveHeader";
+    private static final String CLASS  = "class";
+
+    private static final List<String> sectionOrder = Arrays.asList(HEADER,
+                                                                   OpenMetadataArchiveJSONReader.ENTITIES,
+                                                                   OpenMetadataArchiveJSONReader.RELATIONSHIPS,
+                                                                   OpenMetadataArchiveJSONReader.CLASSIFICATIONS);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private File          archiveFile;
+    private JsonGenerator generator      = null;
+    private String        currentSection = null;
+
+
+    /**
+     * Constructor
+     *
+     * @param archiveFile file to write the archive to
+     */
+    public OpenMetadataArchiveJSONWriter(File archiveFile)
+    {
+        this.archiveFile = archiveFile;
+    }
+
+
+    /**
+     * Write the properties and types of the archive.
+     *
+     * @param archiveProperties properties that describe the archive
+     * @param archiveTypeStore new and updated types, may be null
+     */
+    @Override
+    public void writeArchiveHeader(OpenMetadataArchiveProperties archiveProperties,
+                                   OpenMetadataArchiveTypeStore  archiveTypeStore)
+    {
+        final String methodName = "writeArchiveHeader";
+
+        this.checkSectionOrder(HEADER, methodName);
+
+        try
+        {
+            generator = objectMapper.getFactory().createGenerator(archiveFile, JsonEncoding.UTF8);
+
+            generator.writeStartObject();
+            generator.writeStringField(CLASS, OpenMetadataArchive.class.getSimpleName());
+            generator.writeObjectField(OpenMetadataArchiveJSONReader.ARCHIVE_PROPERTIES, archiveProperties);
+
+            /*
+             * The type store is always written, even when it is null, so that readers know the
+             * instances that follow can be processed straight away.
+             */
+            generator.writeObjectField(OpenMetadataArchiveJSONReader.ARCHIVE_TYPE_STORE, archiveTypeStore);
+
+            generator.writeObjectFieldStart(OpenMetadataArchiveJSONReader.ARCHIVE_INSTANCE_STORE);
+            generator.writeStringField(CLASS, OpenMetadataArchiveInstanceStore.class.getSimpleName());
+        }
+        catch (IOException error)
+        {
+            throw this.getWriteError(error, methodName);
+        }
+
+        currentSection = HEADER;
+    }
+
+
+    /**
+     * Add an entity to the archive.
+     *
+     * @param entity entity to add
+     */
+    @Override
+    public void writeEntity(EntityDetail entity)
+    {
+        this.writeElement(OpenMetadataArchiveJSONReader.ENTITIES, entity, "writeEntity");
+    }
+
+
+    /**
+     * Add a relationship to the archive.
+     *
+     * @param relationship relationship to add
+     */
+    @Override
+    public void writeRelationship(Relationship relationship)
+    {
+        this.writeElement(OpenMetadataArchiveJSONReader.RELATIONSHIPS, relationship, "writeRelationship");
+    }
+
+
+    /**
+     * Add a classification to the archive.
+     *
+     * @param classification classification to add
+     */
+    @Override
+    public void writeClassification(ClassificationEntityExtension classification)
+    {
+        this.writeElement(OpenMetadataArchiveJSONReader.CLASSIFICATIONS, classification, "writeClassification");
+    }
+
+
+    /**
+     * Complete the archive file.
+     */
+    @Override
+    public void close()
+    {
+        final String methodName = "close";
+
+        if (currentSection == null)
+        {
+            this.writeArchiveHeader(null, null);
+        }
+
+        if (generator == null)
+        {
+            return;
+        }
+
+        try
+        {
+            if (! HEADER.equals(currentSection))
+            {
+                generator.writeEndArray();
+            }
+
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.close();
+        }
+        catch (IOException error)
+        {
+            throw this.getWriteError(error, methodName);
+        }
+        finally
+        {
+            generator = null;
+        }
+    }
+
+
+    /**
+     * Write an element into its section, starting the section if it is the first element.
+     *
+     * @param sectionName name of the section
+     * @param element element to write
+     * @param methodName calling method
+     */
+    private void writeElement(String sectionName,
+                              Object element,
+                              String methodName)
+    {
+        if (element == null)
+        {
+            return;
+        }
+
+        try
+        {
+            if (! sectionName.equals(currentSection))
+            {
+                this.checkSectionOrder(sectionName, methodName);
+
+                if (! HEADER.equals(currentSection))
+                {
+                    generator.writeEndArray();
+                }
+
+                generator.writeArrayFieldStart(sectionName);
+                currentSection = sectionName;
+            }
+
+            generator.writeObject(element);
+        }
+        catch (IOException error)
+        {
+            throw this.getWriteError(error, methodName);
+        }
+    }
+
+
+    /**
+     * Check that the requested section comes after the sections already written.
+     *
+     * @param sectionName name of the section to write
+     * @param methodName calling method
+     */
+    private void checkSectionOrder(String sectionName,
+                                   String methodName)
+    {
+        boolean validOrder;
+
+        if (currentSection == null)
+        {
+            validOrder = HEADER.equals(sectionName);
+        }
+        else
+        {
+            validOrder = sectionOrder.indexOf(sectionName) > sectionOrder.indexOf(currentSection);
+        }
+
+        if (! validOrder)
+        {
+            String        previousSection = currentSection == null ? "start" : currentSection;
+            OMRSErrorCode errorCode       = OMRSErrorCode.ARCHIVE_SECTION_OUT_OF_SEQUENCE;
+            String        errorMessage    = errorCode.getErrorMessageId()
+                                          + errorCode.getFormattedErrorMessage(sectionName,
+                                                                               archiveFile.getPath(),
+                                                                               previousSection);
+
+            throw new OMRSLogicErrorException(errorCode.getHTTPErrorCode(),
+                                              this.getClass().getName(),
+                                              methodName,
+                                              errorMessage,
+                                              errorCode.getSystemAction(),
+                                              errorCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Build the exception reported when the archive can not be written.
+     *
+     * @param error exception from the generator
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    private OMRSRuntimeException getWriteError(IOException error,
+                                               String      methodName)
+    {
+        OMRSErrorCode errorCode    = OMRSErrorCode.ARCHIVE_NOT_WRITABLE;
+        String        errorMessage = errorCode.getErrorMessageId()
+                                   + errorCode.getFormattedErrorMessage(archiveFile.getPath(),
+                                                                        error.getClass().getName(),
+                                                                        error.getMessage());
+
+        return new OMRSRuntimeException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error);
+    }
+}
@@ -0,0 +1,190 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveReader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveWriter;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test that OpenMetadataArchiveJSONWriter and OpenMetadataArchiveJSONReader stream the sections of an archive.
+ */
+public class OpenMetadataArchiveJSONReaderTest
+{
+    private File archiveFile;
+
+
+    @BeforeMethod
+    public void createFile() throws Exception
+    {
+        archiveFile = File.createTempFile("archive", ".json");
+    }
+
+
+    @AfterMethod
+    public void removeFile()
+    {
+        assertTrue(archiveFile.delete());
+    }
+
+
+    @Test
+    public void testWrittenArchiveIsReadBack()
+    {
+        try (OpenMetadataArchiveWriter writer = new OpenMetadataArchiveJSONWriter(archiveFile))
+        {
+            writer.writeArchiveHeader(getArchiveProperties(), null);
+            writer.writeEntity(getEntity("e1"));
+            writer.writeEntity(getEntity("e2"));
+            writer.writeRelationship(getRelationship("r1"));
+            writer.writeClassification(getClassification("c1"));
+        }
+
+        try (OpenMetadataArchiveReader reader = new OpenMetadataArchiveJSONReader(archiveFile))
+        {
+            assertEquals(reader.getArchiveProperties().getArchiveName(), "TestArchive");
+            assertNull(reader.getArchiveTypeStore());
+            assertEquals(getGUIDs(reader.getEntities()), Arrays.asList("e1", "e2"));
+            assertEquals(getGUIDs(reader.getRelationships()), Collections.singletonList("r1"));
+
+            Iterator<ClassificationEntityExtension> classifications = reader.getClassifications();
+
+            assertEquals(classifications.next().getClassification().getName(), "c1");
+            assertFalse(classifications.hasNext());
+        }
+    }
+
+
+    @Test
+    public void testUnreadInstancesAreSkipped()
+    {
+        try (OpenMetadataArchiveWriter writer = new OpenMetadataArchiveJSONWriter(archiveFile))
+        {
+            writer.writeArchiveHeader(getArchiveProperties(), null);
+            writer.writeEntity(getEntity("e1"));
+            writer.writeEntity(getEntity("e2"));
+            writer.writeRelationship(getRelationship("r1"));
+        }
+
+        try (OpenMetadataArchiveReader reader = new OpenMetadataArchiveJSONReader(archiveFile))
+        {
+            Iterator<EntityDetail> entities = reader.getEntities();
+
+            assertEquals(entities.next().getGUID(), "e1");
+            assertEquals(getGUIDs(reader.getRelationships()), Collections.singletonList("r1"));
+            assertFalse(entities.hasNext());
+            assertFalse(reader.getClassifications().hasNext());
+        }
+    }
+
+
+    @Test
+    public void testSectionsInAnyOrderAreRead() throws Exception
+    {
+        String archive = "{\"class\":\"OpenMetadataArchive\"," +
+                          "\"archiveInstanceStore\":{\"class\":\"OpenMetadataArchiveInstanceStore\"," +
+                              "\"relationships\":[{\"class\":\"Relationship\",\"guid\":\"r1\"}]," +
+                              "\"entities\":[{\"class\":\"EntityDetail\",\"guid\":\"e1\"},null]}," +
+                          "\"archiveProperties\":{\"class\":\"OpenMetadataArchiveProperties\",\"archiveName\":\"TestArchive\"}}";
+
+        Files.write(archiveFile.toPath(), archive.getBytes(StandardCharsets.UTF_8));
+
+        try (OpenMetadataArchiveReader reader = new OpenMetadataArchiveJSONReader(archiveFile))
+        {
+            assertEquals(reader.getArchiveProperties().getArchiveName(), "TestArchive");
+            assertEquals(getGUIDs(reader.getEntities()), Collections.singletonList("e1"));
+            assertEquals(getGUIDs(reader.getRelationships()), Collections.singletonList("r1"));
+            assertFalse(reader.getClassifications().hasNext());
+        }
+    }
+
+
+    @Test(expectedExceptions = OMRSLogicErrorException.class)
+    public void testSectionsMustBeWrittenInOrder()
+    {
+        try (OpenMetadataArchiveWriter writer = new OpenMetadataArchiveJSONWriter(archiveFile))
+        {
+            writer.writeArchiveHeader(getArchiveProperties(), null);
+            writer.writeRelationship(getRelationship("r1"));
+            writer.writeEntity(getEntity("e1"));
+        }
+    }
+
+
+    private OpenMetadataArchiveProperties getArchiveProperties()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("TestArchiveGUID");
+        archiveProperties.setArchiveName("TestArchive");
+
+        return archiveProperties;
+    }
+
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+
+        return relationship;
+    }
+
+
+    private ClassificationEntityExtension getClassification(String name)
+    {
+        Classification classification = new Classification();
+
+        classification.setName(name);
+
+        ClassificationEntityExtension classificationEntityExtension = new ClassificationEntityExtension();
+
+        classificationEntityExtension.setClassification(classification);
+
+        return classificationEntityExtension;
+    }
+
+
+    private List<String> getGUIDs(Iterator<? extends InstanceHeader> instances)
+    {
+        List<String> guids = new ArrayList<>();
+
+        instances.forEachRemaining(instance -> guids.add(instance.getGUID()));
+
+        return guids;
+    }
+}
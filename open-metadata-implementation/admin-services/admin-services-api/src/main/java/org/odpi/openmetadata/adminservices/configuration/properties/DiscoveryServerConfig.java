@@ -34,6 +34,11 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
     private List<String>  discoveryEngineGUIDs = null;
     private List<String>  discoveryEngineNames = null;
 
+    /* Limits on the discovery requests running in this server.  Zero means use the default. */
+    private int           maxDiscoveryWorkers            = 0;
+    private int           maxQueuedDiscoveryRequests     = 0;
+    private int           maxConcurrentRequestsPerService = 0;
+
     /**
      * Default constructor
      */
@@ -61,6 +66,9 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
             {
                 discoveryEngineGUIDs = template.getDiscoveryEngineGUIDs();
             }
+            maxDiscoveryWorkers = template.getMaxDiscoveryWorkers();
+            maxQueuedDiscoveryRequests = template.getMaxQueuedDiscoveryRequests();
+            maxConcurrentRequestsPerService = template.getMaxConcurrentRequestsPerService();
         }
     }
 
@@ -157,6 +165,78 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the number of discovery requests that can run at the same time in this discovery server.
+     * Zero means use the default.
+     *
+     * @return int
+     */
+    public int getMaxDiscoveryWorkers()
+    {
+        return maxDiscoveryWorkers;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that can run at the same time in this discovery server.
+     * Zero means use the default.
+     *
+     * @param maxDiscoveryWorkers int
+     */
+    public void setMaxDiscoveryWorkers(int maxDiscoveryWorkers)
+    {
+        this.maxDiscoveryWorkers = maxDiscoveryWorkers;
+    }
+
+
+    /**
+     * Return the number of discovery requests that can be waiting to run.  Requests beyond this limit are rejected.
+     * Zero means use the default.
+     *
+     * @return int
+     */
+    public int getMaxQueuedDiscoveryRequests()
+    {
+        return maxQueuedDiscoveryRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that can be waiting to run.  Requests beyond this limit are rejected.
+     * Zero means use the default.
+     *
+     * @param maxQueuedDiscoveryRequests int
+     */
+    public void setMaxQueuedDiscoveryRequests(int maxQueuedDiscoveryRequests)
+    {
+        this.maxQueuedDiscoveryRequests = maxQueuedDiscoveryRequests;
+    }
+
+
+    /**
+     * Return the number of requests for a single discovery service that can run at the same time.
+     * Zero means use the default.
+     *
+     * @return int
+     */
+    public int getMaxConcurrentRequestsPerService()
+    {
+        return maxConcurrentRequestsPerService;
+    }
+
+
+    /**
+     * Set up the number of requests for a single discovery service that can run at the same time.
+     * Zero means use the default.
+     *
+     * @param maxConcurrentRequestsPerService int
+     */
+    public void setMaxConcurrentRequestsPerService(int maxConcurrentRequestsPerService)
+    {
+        this.maxConcurrentRequestsPerService = maxConcurrentRequestsPerService;
+    }
+
+
     /**
      * Standard toString method.
      *
@@ -169,6 +249,9 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
                 "accessServiceRootURL='" + accessServiceRootURL + '\'' +
                 ", accessServiceServerName='" + accessServiceServerName + '\'' +
                 ", discoveryEngineGUIDs=" + discoveryEngineGUIDs +
+                ", maxDiscoveryWorkers=" + maxDiscoveryWorkers +
+                ", maxQueuedDiscoveryRequests=" + maxQueuedDiscoveryRequests +
+                ", maxConcurrentRequestsPerService=" + maxConcurrentRequestsPerService +
                 '}';
     }
 
@@ -191,7 +274,10 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
             return false;
         }
         DiscoveryServerConfig that = (DiscoveryServerConfig) objectToCompare;
-        return Objects.equals(getAccessServiceRootURL(), that.getAccessServiceRootURL()) &&
+        return getMaxDiscoveryWorkers() == that.getMaxDiscoveryWorkers() &&
+                getMaxQueuedDiscoveryRequests() == that.getMaxQueuedDiscoveryRequests() &&
+                getMaxConcurrentRequestsPerService() == that.getMaxConcurrentRequestsPerService() &&
+                Objects.equals(getAccessServiceRootURL(), that.getAccessServiceRootURL()) &&
                 Objects.equals(getAccessServiceServerName(), that.getAccessServiceServerName()) &&
                 Objects.equals(getDiscoveryEngineGUIDs(), that.getDiscoveryEngineGUIDs());
     }
@@ -205,6 +291,7 @@ public class DiscoveryServerConfig extends AdminServicesConfigHeader
     @Override
     public int hashCode()
     {
-        return Objects.hash(getAccessServiceRootURL(), getAccessServiceServerName(), getDiscoveryEngineGUIDs());
+        return Objects.hash(getAccessServiceRootURL(), getAccessServiceServerName(), getDiscoveryEngineGUIDs(),
+                            getMaxDiscoveryWorkers(), getMaxQueuedDiscoveryRequests(), getMaxConcurrentRequestsPerService());
     }
 }
@@ -181,6 +181,16 @@ public enum OMAGAdminErrorCode
             "The system is unable to initialize this view service.",
             "If the view service should be initialized then set up the appropriate admin services class name and restart the server instance."),
 
+    NULL_CONFIG_UPDATES(400, "OMAG-ADMIN-400-030 ",
+            "The OMAG server {0} has been passed no configuration updates for method {1}",
+            "The system is unable to update the configuration document.",
+            "Retry the request with a map of configuration property names to their new values."),
+
+    BAD_CONFIG_UPDATES(400, "OMAG-ADMIN-400-031 ",
+            "The configuration updates for OMAG server {0} could not be applied due to the following error: {1}",
+            "The system is unable to update the configuration document.  None of the updates have been applied.",
+            "Correct the property names and values in the request and retry it."),
+
     UNEXPECTED_EXCEPTION(500, "OMAG-ADMIN-500-001 ",
             "Method {1} for OMAG server {0} returned an unexpected exception of {2} with message {3}",
             "The system is unable to configure the OMAG server.",
@@ -189,7 +199,12 @@ public enum OMAGAdminErrorCode
     UNEXPECTED_PLATFORM_EXCEPTION(500, "OMAG-ADMIN-500-002 ",
             "Method {1} returned an unexpected exception of {1} with message {2}",
             "The system is unable to configure the OMAG server.",
-            "This is likely to be either an operational or logic error. Look for other errors.  Validate the request.  If you are stuck, raise an issue.")
+            "This is likely to be either an operational or logic error. Look for other errors.  Validate the request.  If you are stuck, raise an issue."),
+
+    STARTUP_INTERRUPTED(500, "OMAG-ADMIN-500-003 ",
+            "The start up of OMAG server {0} was interrupted while waiting for its {1} to initialize",
+            "The system is unable to complete the start up of the OMAG server.  Some of its services may be running.",
+            "This is likely to be because the OMAG server platform is shutting down.  Restart the server once the platform is running.")
             ;
 
     private int    httpErrorCode;
@@ -10,4 +10,16 @@ import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
  */
 public abstract class OMAGServerConfigStoreConnectorBase extends ConnectorBase implements OMAGServerConfigStore
 {
+    /**
+     * Return a value that changes each time the stored configuration changes, including changes made
+     * outside of this connector.  While it does not change, the admin services reuse the configuration
+     * they last retrieved or saved rather than retrieving it again.  The default of null means
+     * the store can not tell, so the configuration is always retrieved.
+     *
+     * @return version of the stored configuration or null
+     */
+    public String getServerConfigVersion()
+    {
+        return null;
+    }
 }
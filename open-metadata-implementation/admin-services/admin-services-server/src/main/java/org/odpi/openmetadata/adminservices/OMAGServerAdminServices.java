@@ -2193,6 +2193,55 @@ public class OMAGServerAdminServices
     }
 
 
+    /**
+     * Update a number of the configuration properties for an OMAG Server in a single command.  The configuration
+     * document is read once, all of the changes are applied and it is saved once.  The updates are keyed by the
+     * names of the properties in the configuration document and their values use the same JSON format as the
+     * configuration document.  Properties not named in the updates are unchanged.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverName  local server name
+     * @param configurationUpdates  configuration property names and their new values
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName or configuration updates.
+     */
+    public VoidResponse updateOMAGServerConfig(String              userId,
+                                               String              serverName,
+                                               Map<String, Object> configurationUpdates)
+    {
+        final String methodName = "updateOMAGServerConfig";
+
+        log.debug("Calling method: " + methodName);
+
+        VoidResponse response = new VoidResponse();
+
+        try
+        {
+            errorHandler.validateServerName(serverName, methodName);
+            errorHandler.validateUserId(userId, serverName, methodName);
+
+            configStore.updateServerConfig(userId, serverName, methodName, configurationUpdates);
+        }
+        catch (OMAGInvalidParameterException error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (OMAGNotAuthorizedException error)
+        {
+            exceptionHandler.captureNotAuthorizedException(response, error);
+        }
+        catch (Throwable  error)
+        {
+            exceptionHandler.captureRuntimeException(serverName, methodName, response, error);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Push the configuration for the server to another OMAG Server Platform.
      *
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adminservices;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.adapters.repositoryservices.ConnectorConfigurationFactory;
 import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
 import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminErrorCode;
@@ -9,6 +10,7 @@ import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGInvalidParameterEx
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGNotAuthorizedException;
 import org.odpi.openmetadata.adminservices.rest.ConnectionResponse;
 import org.odpi.openmetadata.adminservices.store.OMAGServerConfigStore;
+import org.odpi.openmetadata.adminservices.store.OMAGServerConfigStoreConnectorBase;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
@@ -21,6 +23,12 @@ import org.odpi.openmetadata.metadatasecurity.server.OpenMetadataServerSecurityV
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * OMAGServerAdminStoreServices provides the capability to store and retrieve configuration documents.
  *
@@ -28,11 +36,20 @@ import org.slf4j.LoggerFactory;
  * server's configuration document is stored in its own file.  However, it is possible to override
  * the default location using setConfigurationStoreConnection.  This override affects all
  * server instances in this process.
+ *
+ * The configuration store connector for each server is created once and reused.  The configuration document
+ * last saved for a server is also kept so that the next request does not need to read and parse the store again.
+ * It is only used if the store reports that it has not changed since the save (see getServerConfigVersion on
+ * OMAGServerConfigStoreConnectorBase).  A kept configuration document is passed to only one request; the following
+ * request reads the store again unless the first request has saved its changes.
  */
 public class OMAGServerAdminStoreServices
 {
     private static Connection  configurationStoreConnection = null;
 
+    private static final Map<String, ServerConfigStoreEntry> serverConfigStores = new HashMap<>();
+    private static final ObjectMapper                        objectMapper       = new ObjectMapper();
+
     private static final Logger log = LoggerFactory.getLogger(OMAGServerAdminStoreServices.class);
 
     private OMAGServerExceptionHandler   exceptionHandler = new OMAGServerExceptionHandler();
@@ -62,6 +79,7 @@ public class OMAGServerAdminStoreServices
             errorHandler.validateConnection(connection, methodName);
 
             configurationStoreConnection = connection;
+            clearServerConfigStores();
         }
         catch (OMAGInvalidParameterException error)
         {
@@ -137,6 +155,7 @@ public class OMAGServerAdminStoreServices
             OpenMetadataPlatformSecurityVerifier.validateUserAsOperatorForPlatform(userId);
 
             configurationStoreConnection = null;
+            clearServerConfigStores();
         }
         catch (UserNotAuthorizedException error)
         {
@@ -175,6 +194,62 @@ public class OMAGServerAdminStoreServices
     }
 
 
+    /**
+     * Disconnect the configuration store connectors and forget the configuration documents that they returned.
+     * This is called when the connection for the configuration store changes.
+     */
+    private static void clearServerConfigStores()
+    {
+        synchronized (serverConfigStores)
+        {
+            for (ServerConfigStoreEntry storeEntry : serverConfigStores.values())
+            {
+                if (storeEntry.serverConfigStore instanceof Connector)
+                {
+                    try
+                    {
+                        ((Connector) storeEntry.serverConfigStore).disconnect();
+                    }
+                    catch (Throwable error)
+                    {
+                        log.debug("Unable to disconnect configuration store connector", error);
+                    }
+                }
+            }
+
+            serverConfigStores.clear();
+        }
+    }
+
+
+    /**
+     * Retrieve the configuration store details for the server, creating the connector to the
+     * configuration store the first time the server is used.
+     *
+     * @param serverName  name of the server
+     * @param methodName  method requesting the server details
+     * @return configuration store details
+     * @throws OMAGInvalidParameterException the connector could not be created from the supplied config.
+     */
+    private ServerConfigStoreEntry getServerConfigStoreEntry(String   serverName,
+                                                             String   methodName) throws OMAGInvalidParameterException
+    {
+        synchronized (serverConfigStores)
+        {
+            ServerConfigStoreEntry storeEntry = serverConfigStores.get(serverName);
+
+            if (storeEntry == null)
+            {
+                storeEntry = new ServerConfigStoreEntry(this.getServerConfigStore(serverName, methodName));
+
+                serverConfigStores.put(serverName, storeEntry);
+            }
+
+            return storeEntry;
+        }
+    }
+
+
     /**
      * Retrieve the connection to the config file.
      *
@@ -228,12 +303,28 @@ public class OMAGServerAdminStoreServices
                                      String   methodName) throws OMAGInvalidParameterException,
                                                                  OMAGNotAuthorizedException
     {
-        OMAGServerConfigStore   serverConfigStore = getServerConfigStore(serverName, methodName);
-        OMAGServerConfig        serverConfig      = null;
+        ServerConfigStoreEntry  storeEntry   = getServerConfigStoreEntry(serverName, methodName);
+        OMAGServerConfig        serverConfig = null;
 
-        if (serverConfigStore != null)
+        synchronized (storeEntry)
         {
-            serverConfig = serverConfigStore.retrieveServerConfig();
+            if (storeEntry.serverConfigStore != null)
+            {
+                /*
+                 * The saved configuration document is handed to this request only.  This means changes made by a
+                 * request that then fails are never seen by other requests.
+                 */
+                String  savedVersion = storeEntry.savedVersion;
+
+                serverConfig = storeEntry.savedServerConfig;
+                storeEntry.savedServerConfig = null;
+                storeEntry.savedVersion = null;
+
+                if ((serverConfig == null) || (! savedVersion.equals(getServerConfigVersion(storeEntry))))
+                {
+                    serverConfig = storeEntry.serverConfigStore.retrieveServerConfig();
+                }
+            }
         }
 
         if (serverConfig == null)
@@ -324,21 +415,159 @@ public class OMAGServerAdminStoreServices
                           String            methodName,
                           OMAGServerConfig  serverConfig) throws OMAGInvalidParameterException
     {
-        OMAGServerConfigStore   serverConfigStore = getServerConfigStore(serverName, methodName);
+        ServerConfigStoreEntry  storeEntry = getServerConfigStoreEntry(serverName, methodName);
 
-        if (serverConfigStore != null)
+        synchronized (storeEntry)
         {
-            if (serverConfig != null)
+            storeEntry.savedServerConfig = null;
+            storeEntry.savedVersion = null;
+
+            if (storeEntry.serverConfigStore != null)
             {
-                serverConfigStore.saveServerConfig(serverConfig);
+                if (serverConfig != null)
+                {
+                    String  previousVersion = getServerConfigVersion(storeEntry);
+
+                    storeEntry.serverConfigStore.saveServerConfig(serverConfig);
+
+                    /*
+                     * The saved document is only kept if the store can show that the save worked.
+                     */
+                    String  newVersion = getServerConfigVersion(storeEntry);
+
+                    if ((newVersion != null) && (! newVersion.equals(previousVersion)))
+                    {
+                        storeEntry.savedServerConfig = serverConfig;
+                        storeEntry.savedVersion = newVersion;
+                    }
+                }
+                else
+                {
+                    /*
+                     * If the server config is null we delete the file rather than have an empty file hanging around.
+                     */
+                    storeEntry.serverConfigStore.removeServerConfig();
+                }
             }
-            else
+        }
+    }
+
+
+    /**
+     * Apply a set of changes to the server's configuration document in a single read and save of the
+     * configuration store.  The changes are supplied as a map of configuration document property names to
+     * new values using the same JSON structure as the configuration document.  Properties that are not
+     * named in the map are unchanged.
+     *
+     * @param userId calling user
+     * @param serverName  name of the server
+     * @param methodName  method requesting the update
+     * @param configurationUpdates  property names and new values
+     * @throws OMAGInvalidParameterException problem with the configuration store or the updates
+     * @throws OMAGNotAuthorizedException user not authorized to make these changes
+     */
+    void updateServerConfig(String              userId,
+                            String              serverName,
+                            String              methodName,
+                            Map<String, Object> configurationUpdates) throws OMAGInvalidParameterException,
+                                                                             OMAGNotAuthorizedException
+    {
+        if ((configurationUpdates == null) || (configurationUpdates.isEmpty()))
+        {
+            OMAGAdminErrorCode errorCode    = OMAGAdminErrorCode.NULL_CONFIG_UPDATES;
+            String             errorMessage = errorCode.getErrorMessageId()
+                                            + errorCode.getFormattedErrorMessage(serverName, methodName);
+
+            throw new OMAGInvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                    this.getClass().getName(),
+                                                    methodName,
+                                                    errorMessage,
+                                                    errorCode.getSystemAction(),
+                                                    errorCode.getUserAction());
+        }
+
+        ServerConfigStoreEntry  storeEntry = getServerConfigStoreEntry(serverName, methodName);
+
+        /*
+         * The lock is held from the read to the save so that updates from concurrent requests are not lost.
+         */
+        synchronized (storeEntry)
+        {
+            OMAGServerConfig    serverConfig = this.getServerConfig(userId, serverName, methodName);
+            Map<String, Object> updates      = new HashMap<>(configurationUpdates);
+
+            updates.remove("localServerName");
+            updates.remove("auditTrail");
+            updates.put("class", OMAGServerConfig.class.getSimpleName());
+
+            try
             {
-                /*
-                 * If the server config is null we delete the file rather than have an empty file hanging around.
-                 */
-                serverConfigStore.removeServerConfig();
+                serverConfig = objectMapper.updateValue(serverConfig, updates);
+            }
+            catch (Throwable error)
+            {
+                OMAGAdminErrorCode errorCode    = OMAGAdminErrorCode.BAD_CONFIG_UPDATES;
+                String             errorMessage = errorCode.getErrorMessageId()
+                                                + errorCode.getFormattedErrorMessage(serverName, error.getMessage());
+
+                throw new OMAGInvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                        this.getClass().getName(),
+                                                        methodName,
+                                                        errorMessage,
+                                                        errorCode.getSystemAction(),
+                                                        errorCode.getUserAction(),
+                                                        error);
             }
+
+            serverConfig.setLocalServerName(serverName);
+
+            List<String>  configAuditTrail = serverConfig.getAuditTrail();
+
+            if (configAuditTrail == null)
+            {
+                configAuditTrail = new ArrayList<>();
+            }
+
+            configAuditTrail.add(new Date().toString() + " " + userId + " updated configuration properties " + configurationUpdates.keySet() + ".");
+
+            serverConfig.setAuditTrail(configAuditTrail);
+
+            this.saveServerConfig(serverName, methodName, serverConfig);
+        }
+    }
+
+
+    /**
+     * Return the version of the configuration document in the store.  Null means the store is not able to
+     * provide a version.
+     *
+     * @param storeEntry configuration store details
+     * @return version or null
+     */
+    private String getServerConfigVersion(ServerConfigStoreEntry storeEntry)
+    {
+        if (storeEntry.serverConfigStore instanceof OMAGServerConfigStoreConnectorBase)
+        {
+            return ((OMAGServerConfigStoreConnectorBase) storeEntry.serverConfigStore).getServerConfigVersion();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * The configuration store connector for a server along with the configuration document that was
+     * last saved through it.
+     */
+    private static class ServerConfigStoreEntry
+    {
+        private final OMAGServerConfigStore serverConfigStore;
+        private       OMAGServerConfig      savedServerConfig = null;
+        private       String                savedVersion      = null;
+
+        ServerConfigStoreEntry(OMAGServerConfigStore serverConfigStore)
+        {
+            this.serverConfigStore = serverConfigStore;
         }
     }
 }
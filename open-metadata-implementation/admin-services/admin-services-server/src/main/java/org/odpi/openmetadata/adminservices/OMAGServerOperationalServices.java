@@ -40,7 +40,10 @@ import org.odpi.openmetadata.securitysyncservices.registration.SecuritySyncOpera
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * OMAGServerOperationalServices will provide support to start, manage and stop services in the OMAG Server.
@@ -54,6 +57,7 @@ public class OMAGServerOperationalServices
     private OMAGServerAdminStoreServices   configStore  = new OMAGServerAdminStoreServices();
     private OMAGServerErrorHandler         errorHandler = new OMAGServerErrorHandler();
     private OMAGServerExceptionHandler     exceptionHandler = new OMAGServerExceptionHandler();
+    private OMAGServerStartupOrchestrator  startupOrchestrator = new OMAGServerStartupOrchestrator();
 
 
     /*
@@ -63,8 +67,9 @@ public class OMAGServerOperationalServices
 
     /**
      * Activate the list of open metadata and governance servers using the stored configuration information.
-     * The code works through the list, starting each server in turn.  It stops if one of the servers fails to
-     * start and returns the error.  Otherwise it continues through the list, returning
+     * The servers are independent of one another and so they are started concurrently.  Every server is started,
+     * even if one of them fails.  If all servers start, the returned message lists the servers and the time each
+     * took to start.  Otherwise the response from the first server in the list that failed is returned.
      *
      * @param userId  user that is issuing the request
      * @param serverNames  list of server names
@@ -76,6 +81,8 @@ public class OMAGServerOperationalServices
     public SuccessMessageResponse activateServerListWithStoredConfig(String       userId,
                                                                      List<String> serverNames)
     {
+        final String methodName = "activateServerListWithStoredConfig";
+
         String                 startUpMessage = null;
         SuccessMessageResponse response = new SuccessMessageResponse();
 
@@ -83,31 +90,44 @@ public class OMAGServerOperationalServices
 
         if (serverNames != null)
         {
+            Map<String, Callable<SuccessMessageResponse>> serverStartups = new LinkedHashMap<>();
+
             for (String serverName : serverNames)
             {
                 if (serverName != null)
                 {
-                    response = activateWithStoredConfig(userId, serverName.trim());
+                    String activeServerName = serverName.trim();
+
+                    serverStartups.put(activeServerName, () -> activateServerFromList(userId, activeServerName));
+                }
+            }
 
-                    if (response.getRelatedHTTPCode() == 200)
+            try
+            {
+                for (SuccessMessageResponse serverResponse : startupOrchestrator.startServers(serverStartups))
+                {
+                    if ((serverResponse != null) && (serverResponse.getRelatedHTTPCode() == 200))
                     {
-                        String serverStartUpMessage = "OMAG Server '" + serverName + "' successful start , with message: " +
-                                response.getSuccessMessage() + System.lineSeparator();
                         if (startUpMessage == null)
                         {
-                            startUpMessage = serverStartUpMessage;
+                            startUpMessage = serverResponse.getSuccessMessage();
                         }
                         else
                         {
-                            startUpMessage += serverStartUpMessage;
+                            startUpMessage += serverResponse.getSuccessMessage();
                         }
                     }
-                    else
+                    else if ((serverResponse != null) && (response.getRelatedHTTPCode() == 200))
                     {
-                        break;
+                        response = serverResponse;
                     }
                 }
             }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+                exceptionHandler.captureRuntimeException(methodName, response, error);
+            }
         }
         else
         {
@@ -124,6 +144,30 @@ public class OMAGServerOperationalServices
     }
 
 
+    /**
+     * Activate one of the servers from the platform's start up list and add the time it took to its success message.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverName  local server name
+     * @return success message response or error response from activateWithStoredConfig
+     */
+    private SuccessMessageResponse activateServerFromList(String userId,
+                                                          String serverName)
+    {
+        long                   startTime = System.currentTimeMillis();
+        SuccessMessageResponse response  = activateWithStoredConfig(userId, serverName);
+
+        if (response.getRelatedHTTPCode() == 200)
+        {
+            response.setSuccessMessage("OMAG Server '" + serverName + "' successful start in " +
+                                               (System.currentTimeMillis() - startTime) + " ms, with message: " +
+                                               response.getSuccessMessage() + System.lineSeparator());
+        }
+
+        return response;
+    }
+
+
     /**
      * Activate the open metadata and governance services using the stored configuration information.
      *
@@ -307,6 +351,7 @@ public class OMAGServerOperationalServices
              * (Even the governance servers need the audit log.)
              */
             OMRSOperationalServices         operationalRepositoryServices;
+            long                            repositoryServicesStartTime = System.currentTimeMillis();
 
             operationalRepositoryServices = new OMRSOperationalServices(configuration.getLocalServerName(),
                                                                         configuration.getLocalServerType(),
@@ -327,6 +372,18 @@ public class OMAGServerOperationalServices
             instance.setOperationalRepositoryServices(operationalRepositoryServices);
             operationalRepositoryServices.initialize(repositoryServicesConfig);
 
+            /*
+             * The audit log for the operational services records how long each service takes to start.
+             */
+            OMRSAuditLog startupAuditLog = operationalRepositoryServices.getAuditLog(CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceCode(),
+                                                                                     CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceName(),
+                                                                                     CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceDescription(),
+                                                                                     CommonServicesDescription.ADMIN_OPERATIONAL_SERVICES.getServiceWiki());
+
+            startupOrchestrator.logStartupTime(serverName,
+                                               CommonServicesDescription.REPOSITORY_SERVICES.getServiceName(),
+                                               startupAuditLog,
+                                               repositoryServicesStartTime);
 
             /*
              * Set up the server instance - ensure it is active and the security has been set up correctly.
@@ -381,9 +438,16 @@ public class OMAGServerOperationalServices
             OMRSTopicConnector        enterpriseTopicConnector = operationalRepositoryServices.getEnterpriseOMRSTopicConnector();
 
 
+            /*
+             * The access services only depend on the repository services and so they are initialized concurrently.
+             * The audit log and enterprise repository connector for each access service are created first because
+             * they are managed by the repository services for this server.
+             */
             List<AccessServiceAdmin>        operationalAccessServiceAdminList = instance.getOperationalAccessServiceAdminList();
             if (accessServiceConfigList != null)
             {
+                Map<String, Callable<AccessServiceAdmin>> accessServiceStartups = new LinkedHashMap<>();
+
                 for (AccessServiceConfig  accessServiceConfig : accessServiceConfigList)
                 {
                     /*
@@ -399,60 +463,17 @@ public class OMAGServerOperationalServices
                                                                                               accessServiceConfig.getAccessServiceName(),
                                                                                               accessServiceConfig.getAccessServiceDescription(),
                                                                                               accessServiceConfig.getAccessServiceWiki());
-                            try
-                            {
-                                AccessServiceAdmin accessServiceAdmin = (AccessServiceAdmin)Class.forName(accessServiceAdminClassName).newInstance();
-
-                                accessServiceAdmin.initialize(accessServiceConfig,
-                                                              enterpriseTopicConnector,
-                                                              operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(accessServiceConfig.getAccessServiceName()),
-                                                              auditLog,
-                                                              configuration.getLocalServerUserId());
-                                operationalAccessServiceAdminList.add(accessServiceAdmin);
-                                activatedServiceList.add(accessServiceConfig.getAccessServiceName() + " OMAS");
-                            }
-                            catch (OMAGConfigurationErrorException  error)
-                            {
-                                OMAGAdminAuditCode  auditCode = OMAGAdminAuditCode.SERVICE_INSTANCE_FAILURE;
-                                auditLog.logException(methodName,
-                                                      auditCode.getLogMessageId(),
-                                                      auditCode.getSeverity(),
-                                                      auditCode.getFormattedLogMessage(accessServiceConfig.getAccessServiceName(),
-                                                                                       error.getMessage()),
-                                                      accessServiceConfig.toString(),
-                                                      auditCode.getSystemAction(),
-                                                      auditCode.getUserAction(),
-                                                      error);
-                                throw error;
-                            }
-                            catch (Throwable  error)
-                            {
-                                OMAGAdminAuditCode  auditCode = OMAGAdminAuditCode.SERVICE_INSTANCE_FAILURE;
-                                auditLog.logException(methodName,
-                                                      auditCode.getLogMessageId(),
-                                                      auditCode.getSeverity(),
-                                                      auditCode.getFormattedLogMessage(error.getMessage(),
-                                                                                       accessServiceConfig.getAccessServiceName(),
-                                                                                       error.getMessage()),
-                                                      accessServiceConfig.toString(),
-                                                      auditCode.getSystemAction(),
-                                                      auditCode.getUserAction(),
-                                                      error);
 
-                                OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.BAD_ACCESS_SERVICE_ADMIN_CLASS;
-                                String        errorMessage = errorCode.getErrorMessageId()
-                                                           + errorCode.getFormattedErrorMessage(serverName,
-                                                                                                accessServiceAdminClassName,
-                                                                                                accessServiceConfig.getAccessServiceName());
-
-                                throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
-                                                                          this.getClass().getName(),
-                                                                          methodName,
-                                                                          errorMessage,
-                                                                          errorCode.getSystemAction(),
-                                                                          errorCode.getUserAction(),
-                                                                          error);
-                            }
+                            OMRSRepositoryConnector accessServiceRepositoryConnector =
+                                    operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(accessServiceConfig.getAccessServiceName());
+
+                            accessServiceStartups.put(accessServiceConfig.getAccessServiceName() + " OMAS",
+                                                      () -> this.initializeAccessService(serverName,
+                                                                                         accessServiceConfig,
+                                                                                         enterpriseTopicConnector,
+                                                                                         accessServiceRepositoryConnector,
+                                                                                         auditLog,
+                                                                                         configuration.getLocalServerUserId()));
                         }
                         else
                         {
@@ -470,6 +491,25 @@ public class OMAGServerOperationalServices
                         }
                     }
                 }
+
+                Map<String, AccessServiceAdmin> startedAccessServices = new LinkedHashMap<>();
+
+                try
+                {
+                    startupOrchestrator.startServices(serverName,
+                                                      "access services",
+                                                      startupAuditLog,
+                                                      accessServiceStartups,
+                                                      startedAccessServices);
+                }
+                finally
+                {
+                    /*
+                     * The access services that started are saved even if another one failed so they can be shut down.
+                     */
+                    operationalAccessServiceAdminList.addAll(startedAccessServices.values());
+                    activatedServiceList.addAll(startedAccessServices.keySet());
+                }
             }
 
 
@@ -530,8 +570,10 @@ public class OMAGServerOperationalServices
             }
 
             /*
-             * Now start the Governance Servers.
+             * Now start the Governance Servers.  They are independent of one another and so they are
+             * initialized concurrently.
              */
+            Map<String, Callable<Void>> governanceServerStartups = new LinkedHashMap<>();
 
             /*
              * Initialize the Discovery Engine Services.  This is a governance server for running automated metadata discovery.
@@ -544,14 +586,18 @@ public class OMAGServerOperationalServices
                                                                                             configuration.getLocalServerPassword(),
                                                                                             configuration.getMaxPageSize());
                 instance.setOperationalDiscoveryServer(operationalDiscoveryServer);
-                operationalDiscoveryServer.initialize(discoveryServerConfig,
-                                                      operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                                               GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceCode(),
                                                               GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceName(),
                                                               GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceDescription(),
-                                                              GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceWiki()));
+                                                              GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.DISCOVERY_ENGINE_SERVICES.getServiceName(), () ->
+                {
+                    operationalDiscoveryServer.initialize(discoveryServerConfig, auditLog);
+                    return null;
+                });
             }
 
             /*
@@ -565,14 +611,18 @@ public class OMAGServerOperationalServices
                         configuration.getLocalServerPassword(),
                         configuration.getMaxPageSize());
                 instance.setOpenLineageOperationalServices(operationalOpenLineageServer);
-                operationalOpenLineageServer.initialize(openLineageServerConfig,
-                        operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                 GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceCode(),
                                 GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName(),
                                 GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceDescription(),
-                                GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceWiki()));
+                                GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.OPEN_LINEAGE_SERVICES.getServiceName(), () ->
+                {
+                    operationalOpenLineageServer.initialize(openLineageServerConfig, auditLog);
+                    return null;
+                });
             }
 
             /*
@@ -588,14 +638,18 @@ public class OMAGServerOperationalServices
                                                                                                               configuration.getLocalServerURL(),
                                                                                                               configuration.getMaxPageSize());
                 instance.setOperationalSecuritySyncServices(operationalSecuritySync);
-                operationalSecuritySync.initialize(securitySyncConfig,
-                                                   operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                                            GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceCode(),
                                                            GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceName(),
                                                            GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceDescription(),
-                                                           GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceWiki()));
+                                                           GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.SECURITY_SYNC_SERVICES.getServiceName(), () ->
+                {
+                    operationalSecuritySync.initialize(securitySyncConfig, auditLog);
+                    return null;
+                });
             }
 
             /*
@@ -611,14 +665,18 @@ public class OMAGServerOperationalServices
                                                                                                               configuration.getLocalServerURL(),
                                                                                                               configuration.getMaxPageSize());
                 instance.setOperationalSecurityOfficerService(operationalSecurityOfficer);
-                operationalSecurityOfficer.initialize(securityOfficerConfig,
-                                                      operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                                               GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceCode(),
                                                               GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceName(),
                                                               GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceDescription(),
-                                                              GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceWiki()));
+                                                              GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.SECURITY_OFFICER_SERVICES.getServiceName(), () ->
+                {
+                    operationalSecurityOfficer.initialize(securityOfficerConfig, auditLog);
+                    return null;
+                });
             }
 
             /*
@@ -633,14 +691,18 @@ public class OMAGServerOperationalServices
                                                                                                                             configuration.getLocalServerURL());
 
                 instance.setOperationalVirtualizationServices(operationalVirtualizationServices);
-                operationalVirtualizationServices.initialize(virtualizationConfig,
-                                                             operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                                                      GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceCode(),
                                                                      GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceName(),
                                                                      GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceDescription(),
-                                                                     GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceWiki()));
+                                                                     GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.VIRTUALIZATION_SERVICES.getServiceName(), () ->
+                {
+                    operationalVirtualizationServices.initialize(virtualizationConfig, auditLog);
+                    return null;
+                });
             }
 
             /*
@@ -654,16 +716,18 @@ public class OMAGServerOperationalServices
                         configuration.getLocalServerPassword());
 
                 instance.setOperationalDataEngineProxyServices(operationalDataEngineProxyServices);
-                operationalDataEngineProxyServices.initialize(
-                        dataEngineProxyConfig,
-                        operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                 GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceCode(),
                                 GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName(),
                                 GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceDescription(),
-                                GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceWiki())
-                );
+                                GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.DATA_ENGINE_PROXY_SERVICES.getServiceName(), () ->
+                {
+                    operationalDataEngineProxyServices.initialize(dataEngineProxyConfig, auditLog);
+                    return null;
+                });
             }
 
             /*
@@ -676,14 +740,18 @@ public class OMAGServerOperationalServices
                                                                                             configuration.getLocalServerUserId(),
                                                                                             configuration.getMaxPageSize());
                 instance.setOperationalStewardshipServices(operationalStewardshipServices);
-                operationalStewardshipServices.initialize(stewardshipServicesConfig,
-                                                          operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                                                   GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceCode(),
                                                                   GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceName(),
                                                                   GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceDescription(),
-                                                                  GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceWiki()));
+                                                                  GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.STEWARDSHIP_SERVICES.getServiceName(), () ->
+                {
+                    operationalStewardshipServices.initialize(stewardshipServicesConfig, auditLog);
+                    return null;
+                });
             }
 
             /*
@@ -698,14 +766,33 @@ public class OMAGServerOperationalServices
                         configuration.getLocalServerURL());
 
                 instance.setOperationalDataPlatformServices(dataPlatformOperationalServices);
-                dataPlatformOperationalServices.initialize(dataPlatformServicesConfig,
-                        operationalRepositoryServices.getAuditLog(
+
+                OMRSAuditLog auditLog = operationalRepositoryServices.getAuditLog(
                                 GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceCode(),
                                 GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceName(),
                                 GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceDescription(),
-                                GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceWiki()));
+                                GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceWiki());
 
-                activatedServiceList.add(GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceName());
+                governanceServerStartups.put(GovernanceServicesDescription.DATA_PLATFORM_SERVICES.getServiceName(), () ->
+                {
+                    dataPlatformOperationalServices.initialize(dataPlatformServicesConfig, auditLog);
+                    return null;
+                });
+            }
+
+            Map<String, Void> startedGovernanceServers = new LinkedHashMap<>();
+
+            try
+            {
+                startupOrchestrator.startServices(serverName,
+                                                  "governance servers",
+                                                  startupAuditLog,
+                                                  governanceServerStartups,
+                                                  startedGovernanceServers);
+            }
+            finally
+            {
+                activatedServiceList.addAll(startedGovernanceServers.keySet());
             }
 
             String successMessage = new Date().toString() + " " + serverName + " is running the following services: " + activatedServiceList.toString();
@@ -736,6 +823,87 @@ public class OMAGServerOperationalServices
     }
 
 
+    /**
+     * Create and initialize the admin object for an access service.  This is called concurrently for
+     * each of the access services configured for the server.
+     *
+     * @param serverName  local server name
+     * @param accessServiceConfig  configuration for the access service
+     * @param enterpriseTopicConnector  topic connector for events from the cohorts
+     * @param repositoryConnector  enterprise repository connector for the access service
+     * @param auditLog  audit log for the access service
+     * @param localServerUserId  userId for the server
+     * @return initialized admin object for the access service
+     * @throws OMAGConfigurationErrorException the access service failed to initialize
+     */
+    private AccessServiceAdmin initializeAccessService(String                  serverName,
+                                                       AccessServiceConfig     accessServiceConfig,
+                                                       OMRSTopicConnector      enterpriseTopicConnector,
+                                                       OMRSRepositoryConnector repositoryConnector,
+                                                       OMRSAuditLog            auditLog,
+                                                       String                  localServerUserId) throws OMAGConfigurationErrorException
+    {
+        final String methodName = "initializeAccessService";
+
+        String    accessServiceAdminClassName = accessServiceConfig.getAccessServiceAdminClass();
+
+        try
+        {
+            AccessServiceAdmin accessServiceAdmin = (AccessServiceAdmin)Class.forName(accessServiceAdminClassName).newInstance();
+
+            accessServiceAdmin.initialize(accessServiceConfig,
+                                          enterpriseTopicConnector,
+                                          repositoryConnector,
+                                          auditLog,
+                                          localServerUserId);
+
+            return accessServiceAdmin;
+        }
+        catch (OMAGConfigurationErrorException  error)
+        {
+            OMAGAdminAuditCode  auditCode = OMAGAdminAuditCode.SERVICE_INSTANCE_FAILURE;
+            auditLog.logException(methodName,
+                                  auditCode.getLogMessageId(),
+                                  auditCode.getSeverity(),
+                                  auditCode.getFormattedLogMessage(accessServiceConfig.getAccessServiceName(),
+                                                                   error.getMessage()),
+                                  accessServiceConfig.toString(),
+                                  auditCode.getSystemAction(),
+                                  auditCode.getUserAction(),
+                                  error);
+            throw error;
+        }
+        catch (Throwable  error)
+        {
+            OMAGAdminAuditCode  auditCode = OMAGAdminAuditCode.SERVICE_INSTANCE_FAILURE;
+            auditLog.logException(methodName,
+                                  auditCode.getLogMessageId(),
+                                  auditCode.getSeverity(),
+                                  auditCode.getFormattedLogMessage(error.getMessage(),
+                                                                   accessServiceConfig.getAccessServiceName(),
+                                                                   error.getMessage()),
+                                  accessServiceConfig.toString(),
+                                  auditCode.getSystemAction(),
+                                  auditCode.getUserAction(),
+                                  error);
+
+            OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.BAD_ACCESS_SERVICE_ADMIN_CLASS;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(serverName,
+                                                                            accessServiceAdminClassName,
+                                                                            accessServiceConfig.getAccessServiceName());
+
+            throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
+                                                      this.getClass().getName(),
+                                                      methodName,
+                                                      errorMessage,
+                                                      errorCode.getSystemAction(),
+                                                      errorCode.getUserAction(),
+                                                      error);
+        }
+    }
+
+
     /**
      * Shutdown any running services for a specific server instance.
      *
@@ -0,0 +1,285 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices;
+
+import org.odpi.openmetadata.adminservices.auditlog.OMAGAdminAuditCode;
+import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminErrorCode;
+import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OMAGServerStartupOrchestrator runs the independent steps of starting OMAG servers concurrently.
+ * The start up of an OMAG server has a fixed order of dependencies: the repository services start first,
+ * then the open metadata access services, then the enterprise topic and finally the governance servers.
+ * The servers in the platform's start up list do not depend on one another and neither do the services
+ * within each of these stages.  These are started concurrently on bounded thread pools.
+ * <p>
+ * Servers and services have separate thread pools so that a server waiting for its services to start never
+ * holds the thread that one of its services needs.  The time taken by each service is recorded in the
+ * server's audit log.
+ * </p>
+ */
+public class OMAGServerStartupOrchestrator
+{
+    private static final int maxStartupThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final ExecutorService serverExecutor  = getExecutor("OMAG-Server-Startup-");
+    private static final ExecutorService serviceExecutor = getExecutor("OMAG-Service-Startup-");
+
+
+    /**
+     * Create a bounded thread pool with daemon threads so that it does not hold up the shutdown of the platform.
+     *
+     * @param threadNamePrefix prefix for the thread names
+     * @return executor service
+     */
+    private static ExecutorService getExecutor(String threadNamePrefix)
+    {
+        AtomicInteger threadCount   = new AtomicInteger(0);
+        ThreadFactory threadFactory = (runnable) ->
+        {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return Executors.newFixedThreadPool(maxStartupThreads, threadFactory);
+    }
+
+
+    /**
+     * Start each of the servers concurrently and wait for them all to complete.  Each server start up
+     * returns its own response so a server that fails does not affect the others.
+     *
+     * @param serverStartups map of server name to the step that starts it
+     * @param <T> type of the response from each server start up
+     * @return responses in the order of the supplied map
+     * @throws InterruptedException the platform was interrupted while waiting for the servers to start
+     */
+    <T> List<T> startServers(Map<String, Callable<T>> serverStartups) throws InterruptedException
+    {
+        List<T> responses = new ArrayList<>();
+
+        for (Future<T> serverStartup : serverExecutor.invokeAll(serverStartups.values()))
+        {
+            try
+            {
+                responses.add(serverStartup.get());
+            }
+            catch (ExecutionException error)
+            {
+                /*
+                 * Server start up captures its own errors in its response so this is not expected.
+                 */
+                responses.add(null);
+            }
+        }
+
+        return responses;
+    }
+
+
+    /**
+     * Start the services of one stage of a server's start up concurrently and wait for them all to complete.
+     * The time taken by each service is recorded in the audit log.  If any of the services fail,
+     * the error from the first failing service (in the order of the supplied map) is thrown once all
+     * of the services have completed.  The results of the services that started are added to the supplied map
+     * whether or not a service failed, so they can be shut down.
+     *
+     * @param serverName name of the server being started
+     * @param stageName name of the group of services used in messages
+     * @param auditLog audit log for the server's operational services
+     * @param serviceStartups map of service name to the step that starts it
+     * @param startedServices map to receive the service name and result of the services that started successfully
+     * @param <T> type of the result from each service start up
+     * @throws OMAGConfigurationErrorException one of the services failed to start
+     */
+    <T> void startServices(String                   serverName,
+                           String                   stageName,
+                           OMRSAuditLog             auditLog,
+                           Map<String, Callable<T>> serviceStartups,
+                           Map<String, T>           startedServices) throws OMAGConfigurationErrorException
+    {
+        final String methodName = "startServices";
+
+        Map<String, Callable<T>> timedServiceStartups = new LinkedHashMap<>();
+
+        for (String serviceName : serviceStartups.keySet())
+        {
+            Callable<T> serviceStartup = serviceStartups.get(serviceName);
+
+            timedServiceStartups.put(serviceName, () -> this.startService(serverName,
+                                                                          serviceName,
+                                                                          auditLog,
+                                                                          serviceStartup));
+        }
+
+        List<Future<T>> results;
+
+        try
+        {
+            results = serviceExecutor.invokeAll(timedServiceStartups.values());
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+
+            OMAGAdminErrorCode errorCode    = OMAGAdminErrorCode.STARTUP_INTERRUPTED;
+            String             errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(serverName,
+                                                                                                                 stageName);
+
+            throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
+                                                      this.getClass().getName(),
+                                                      methodName,
+                                                      errorMessage,
+                                                      errorCode.getSystemAction(),
+                                                      errorCode.getUserAction(),
+                                                      error);
+        }
+
+        Throwable        startupError = null;
+        Iterator<String> serviceNames = timedServiceStartups.keySet().iterator();
+
+        for (Future<T> result : results)
+        {
+            String serviceName = serviceNames.next();
+
+            try
+            {
+                startedServices.put(serviceName, result.get());
+            }
+            catch (ExecutionException error)
+            {
+                if (startupError == null)
+                {
+                    startupError = error.getCause();
+                }
+            }
+            catch (InterruptedException error)
+            {
+                /*
+                 * All of the services have completed so get() does not wait.
+                 */
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (startupError != null)
+        {
+            this.throwStartupError(serverName, methodName, startupError);
+        }
+    }
+
+
+    /**
+     * Run a single service start up and record the time it took.
+     *
+     * @param serverName name of the server being started
+     * @param serviceName name of the service
+     * @param auditLog audit log for the server's operational services
+     * @param serviceStartup step that starts the service
+     * @param <T> type of the result from the service start up
+     * @return result of the service start up
+     * @throws Exception the service failed to start
+     */
+    private <T> T startService(String       serverName,
+                               String       serviceName,
+                               OMRSAuditLog auditLog,
+                               Callable<T>  serviceStartup) throws Exception
+    {
+        long startTime = System.currentTimeMillis();
+
+        T result = serviceStartup.call();
+
+        this.logStartupTime(serverName, serviceName, auditLog, startTime);
+
+        return result;
+    }
+
+
+    /**
+     * Record how long a service took to start.
+     *
+     * @param serverName name of the server being started
+     * @param serviceName name of the service
+     * @param auditLog audit log for the server's operational services
+     * @param startTime time that the service start up began
+     */
+    void logStartupTime(String       serverName,
+                        String       serviceName,
+                        OMRSAuditLog auditLog,
+                        long         startTime)
+    {
+        final String actionDescription = "Start OMAG Server";
+
+        if (auditLog != null)
+        {
+            OMAGAdminAuditCode auditCode = OMAGAdminAuditCode.SERVICE_STARTED;
+            auditLog.logRecord(actionDescription,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(serviceName,
+                                                                serverName,
+                                                                Long.toString(System.currentTimeMillis() - startTime)),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Throw the error from a service that failed to start.  Errors that are not reported by the
+     * service as configuration errors are wrapped in one.
+     *
+     * @param serverName name of the server being started
+     * @param methodName calling method
+     * @param startupError error from the service
+     * @throws OMAGConfigurationErrorException the service failed to start
+     */
+    private void throwStartupError(String    serverName,
+                                   String    methodName,
+                                   Throwable startupError) throws OMAGConfigurationErrorException
+    {
+        if (startupError instanceof OMAGConfigurationErrorException)
+        {
+            throw (OMAGConfigurationErrorException) startupError;
+        }
+        else if (startupError instanceof RuntimeException)
+        {
+            throw (RuntimeException) startupError;
+        }
+        else if (startupError instanceof Error)
+        {
+            throw (Error) startupError;
+        }
+
+        OMAGAdminErrorCode errorCode    = OMAGAdminErrorCode.UNEXPECTED_EXCEPTION;
+        String             errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(serverName,
+                                                                                                             methodName,
+                                                                                                             startupError.getClass().getName(),
+                                                                                                             startupError.getMessage());
+
+        throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
+                                                  this.getClass().getName(),
+                                                  methodName,
+                                                  errorMessage,
+                                                  errorCode.getSystemAction(),
+                                                  errorCode.getUserAction(),
+                                                  startupError);
+    }
+}
@@ -36,6 +36,11 @@ public enum OMAGAdminAuditCode
              "The access service detected an error during the start up of a specific server instance.  Its services are not available for the server.",
              "Review the error message and any other reported failures to determine the cause of the problem.  Once this is resolved, restart the server."),
 
+    SERVICE_STARTED("OMAG-ADMIN-0003",
+             OMRSAuditLogRecordSeverity.INFO,
+             "The {0} initialized for server {1} in {2} milliseconds",
+             "The service has completed its start up and is available for the server.",
+             "No action is required.  This message records how long each service takes to start."),
 
     ;
 
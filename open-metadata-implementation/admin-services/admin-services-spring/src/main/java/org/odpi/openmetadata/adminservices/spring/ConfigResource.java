@@ -9,6 +9,8 @@ import org.odpi.openmetadata.adminservices.rest.URLRequestBody;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 
 /**
  * OMAGServerConfigResource returns the current configuration document for the server.  If the
@@ -56,6 +58,25 @@ public class ConfigResource
     }
 
 
+    /**
+     * Update a number of the configuration properties for an OMAG Server in a single command.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverName  local server name
+     * @param configurationUpdates  configuration property names and their new values
+     * @return void response or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName or configuration updates.
+     */
+    @PostMapping(path = "/configuration/updates")
+    public VoidResponse updateOMAGServerConfig(@PathVariable String              userId,
+                                               @PathVariable String              serverName,
+                                               @RequestBody  Map<String, Object> configurationUpdates)
+    {
+        return adminAPI.updateOMAGServerConfig(userId, serverName, configurationUpdates);
+    }
+
+
     /**
      * Push the configuration for the server to another OMAG Server Platform.
      *
@@ -0,0 +1,20 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.eventpublisher;
+
+/**
+ * EventSendFailureHandler is implemented by an access service that wants to report the events that
+ * the OMASEventPublisher was not able to send to its out topic, typically through its audit log.
+ * It is called on the publisher's sending thread.
+ */
+public interface EventSendFailureHandler
+{
+    /**
+     * An event could not be sent to the topic.
+     *
+     * @param payload JSON payload of the event
+     * @param error exception returned by the topic connector
+     */
+    void handleSendFailure(String    payload,
+                           Throwable error);
+}
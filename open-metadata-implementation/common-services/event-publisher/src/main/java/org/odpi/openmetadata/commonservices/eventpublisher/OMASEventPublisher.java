@@ -0,0 +1,483 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.eventpublisher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OMASEventPublisher sends the events of an access service to its out topic without holding up the thread
+ * that processes the incoming OMRS events.  Each event is serialized to JSON on the caller's thread using a
+ * shared ObjectWriter (so later changes to the event bean do not affect the payload and serialization errors
+ * are returned to the caller) and then added to the buffer of one of the publisher's sending threads.
+ * <p>
+ * The sending thread is chosen from the ordering key supplied with the event (normally the GUID of the
+ * entity the event describes), so events about the same entity are always sent in the order they were
+ * published.  A sending thread sends its events in batches: a batch is sent once it holds batchSize events,
+ * or flushInterval milliseconds after its first event arrived, whichever comes first.
+ * <p>
+ * The buffers are bounded.  When a buffer is full the caller waits for space for up to maxBlockTime
+ * milliseconds, which slows the event processing down to the speed of the topic.  If there is still no
+ * space the event is rejected.  The counts of published, sent, failed and rejected events, and of the times
+ * callers had to wait, are available for monitoring.
+ */
+public class OMASEventPublisher
+{
+    public static final int  DEFAULT_SENDER_COUNT   = 2;
+    public static final int  DEFAULT_QUEUE_CAPACITY = 10000;
+    public static final int  DEFAULT_BATCH_SIZE     = 100;
+    public static final long DEFAULT_FLUSH_INTERVAL = 0;
+    public static final long DEFAULT_MAX_BLOCK_TIME = 30000;
+
+    private static final long         IDLE_POLL_INTERVAL = 500;
+    private static final ObjectWriter OBJECT_WRITER      = new ObjectMapper().writer();
+
+    private static final Logger log = LoggerFactory.getLogger(OMASEventPublisher.class);
+
+    private final String                  publisherName;
+    private final OpenMetadataTopic       topic;
+    private final EventSendFailureHandler failureHandler;
+    private final int                     batchSize;
+    private final long                    flushInterval;
+    private final long                    maxBlockTime;
+    private final List<Sender>            senders = new ArrayList<>();
+
+    private volatile boolean closed = false;
+
+    private final AtomicLong publishedCount = new AtomicLong(0);
+    private final AtomicLong sentCount      = new AtomicLong(0);
+    private final AtomicLong failedCount    = new AtomicLong(0);
+    private final AtomicLong rejectedCount  = new AtomicLong(0);
+    private final AtomicLong blockedCount   = new AtomicLong(0);
+    private final AtomicLong batchCount     = new AtomicLong(0);
+
+
+    /**
+     * Constructor for a publisher with the default settings.
+     *
+     * @param publisherName name of the publisher, used to name its threads and in log messages
+     * @param topic out topic connector; it must have been started
+     * @param failureHandler optional handler for events that could not be sent; null means they are logged
+     */
+    public OMASEventPublisher(String                  publisherName,
+                              OpenMetadataTopic       topic,
+                              EventSendFailureHandler failureHandler)
+    {
+        this(publisherName,
+             topic,
+             failureHandler,
+             DEFAULT_SENDER_COUNT,
+             DEFAULT_QUEUE_CAPACITY,
+             DEFAULT_BATCH_SIZE,
+             DEFAULT_FLUSH_INTERVAL,
+             DEFAULT_MAX_BLOCK_TIME);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param publisherName name of the publisher, used to name its threads and in log messages
+     * @param topic out topic connector; it must have been started
+     * @param failureHandler optional handler for events that could not be sent; null means they are logged
+     * @param senderCount number of sending threads; events with the same ordering key use the same thread
+     * @param queueCapacity maximum number of events buffered for each sending thread
+     * @param batchSize maximum number of events sent in one batch
+     * @param flushInterval maximum time in milliseconds a sending thread waits to fill a batch; zero means a
+     *                      batch is sent as soon as there are no more events waiting
+     * @param maxBlockTime maximum time in milliseconds that publishEvent waits for space in a full buffer
+     */
+    public OMASEventPublisher(String                  publisherName,
+                              OpenMetadataTopic       topic,
+                              EventSendFailureHandler failureHandler,
+                              int                     senderCount,
+                              int                     queueCapacity,
+                              int                     batchSize,
+                              long                    flushInterval,
+                              long                    maxBlockTime)
+    {
+        this.publisherName = publisherName;
+        this.topic = topic;
+        this.failureHandler = failureHandler;
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushInterval = Math.max(flushInterval, 0);
+        this.maxBlockTime = Math.max(maxBlockTime, 0);
+
+        for (int i = 0; i < Math.max(senderCount, 1); i++)
+        {
+            Sender sender = new Sender(publisherName + " Sender " + i, Math.max(queueCapacity, 1));
+
+            senders.add(sender);
+            sender.start();
+        }
+    }
+
+
+    /**
+     * Serialize the event and add it to the buffer of the sending thread for its ordering key.
+     *
+     * @param orderingKey key identifying the events that must be sent in order, such as the GUID of the
+     *                    entity the event is about; null keys are all sent by the same thread
+     * @param event event bean to send
+     * @return true if the event was accepted for sending; false if the publisher is closed, the buffer stayed
+     * full for maxBlockTime or the caller was interrupted while waiting
+     * @throws JsonProcessingException the event could not be serialized
+     */
+    public boolean publishEvent(String orderingKey,
+                                Object event) throws JsonProcessingException
+    {
+        String payload = OBJECT_WRITER.writeValueAsString(event);
+
+        if (closed)
+        {
+            log.error(publisherName + " is closed; rejecting event " + payload);
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+
+        BlockingQueue<String> queue = getSender(orderingKey).queue;
+
+        if (! queue.offer(payload))
+        {
+            blockedCount.incrementAndGet();
+
+            try
+            {
+                if (! queue.offer(payload, maxBlockTime, TimeUnit.MILLISECONDS))
+                {
+                    log.error(publisherName + " buffer is full after waiting " + maxBlockTime + "ms; rejecting event " + payload);
+                    rejectedCount.incrementAndGet();
+                    return false;
+                }
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+                log.error(publisherName + " interrupted waiting for buffer space; rejecting event " + payload);
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+        }
+
+        /*
+         * The publisher may have been closed after the check above, in which case the sending thread may
+         * already have stopped.  An event that is still in the buffer is taken back and rejected; one that
+         * has gone has been picked up by the sending thread.
+         */
+        if (closed && queue.remove(payload))
+        {
+            log.error(publisherName + " closed while publishing; rejecting event " + payload);
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+
+        publishedCount.incrementAndGet();
+        return true;
+    }
+
+
+    /**
+     * Return the sending thread for an ordering key.
+     *
+     * @param orderingKey key of the event
+     * @return sender
+     */
+    private Sender getSender(String orderingKey)
+    {
+        if (orderingKey == null)
+        {
+            return senders.get(0);
+        }
+
+        return senders.get((orderingKey.hashCode() & Integer.MAX_VALUE) % senders.size());
+    }
+
+
+    /**
+     * Wait until the events published before this call have been sent or the time runs out.
+     *
+     * @param timeout maximum time to wait in milliseconds
+     * @return true if all of the buffers were emptied in time
+     * @throws InterruptedException interrupted while waiting
+     */
+    public boolean flush(long timeout) throws InterruptedException
+    {
+        long target   = publishedCount.get();
+        long deadline = System.currentTimeMillis() + timeout;
+
+        while (sentCount.get() + failedCount.get() < target)
+        {
+            if (System.currentTimeMillis() >= deadline)
+            {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Stop accepting events, send the events already buffered and stop the sending threads.
+     *
+     * @param timeout maximum time in milliseconds to wait for the buffered events to be sent
+     */
+    public void close(long timeout)
+    {
+        closed = true;
+
+        long deadline = System.currentTimeMillis() + timeout;
+
+        for (Sender sender : senders)
+        {
+            try
+            {
+                sender.join(Math.max(deadline - System.currentTimeMillis(), 1));
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        int unsent = 0;
+
+        for (Sender sender : senders)
+        {
+            if (sender.isAlive())
+            {
+                sender.interrupt();
+            }
+            unsent = unsent + sender.queue.size();
+        }
+
+        log.info(publisherName + " closed: published=" + publishedCount.get()
+                         + ", sent=" + sentCount.get()
+                         + ", failed=" + failedCount.get()
+                         + ", rejected=" + rejectedCount.get()
+                         + ", blocked=" + blockedCount.get()
+                         + ", batches=" + batchCount.get()
+                         + ", unsent=" + unsent);
+    }
+
+
+    /**
+     * Return the number of events accepted by publishEvent.
+     *
+     * @return count
+     */
+    public long getPublishedCount()
+    {
+        return publishedCount.get();
+    }
+
+
+    /**
+     * Return the number of events sent to the topic.
+     *
+     * @return count
+     */
+    public long getSentCount()
+    {
+        return sentCount.get();
+    }
+
+
+    /**
+     * Return the number of events the topic connector failed to send.
+     *
+     * @return count
+     */
+    public long getFailedCount()
+    {
+        return failedCount.get();
+    }
+
+
+    /**
+     * Return the number of events rejected by publishEvent.
+     *
+     * @return count
+     */
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+
+    /**
+     * Return the number of times publishEvent had to wait for space in a buffer.
+     *
+     * @return count
+     */
+    public long getBlockedCount()
+    {
+        return blockedCount.get();
+    }
+
+
+    /**
+     * Return the number of batches sent.
+     *
+     * @return count
+     */
+    public long getBatchCount()
+    {
+        return batchCount.get();
+    }
+
+
+    /**
+     * Return the number of events currently waiting to be sent.
+     *
+     * @return count
+     */
+    public int getQueuedCount()
+    {
+        int queued = 0;
+
+        for (Sender sender : senders)
+        {
+            queued = queued + sender.queue.size();
+        }
+
+        return queued;
+    }
+
+
+    /**
+     * Sender is a thread that sends the events from its buffer to the topic in the order they were added.
+     */
+    private class Sender extends Thread
+    {
+        private final BlockingQueue<String> queue;
+        private final List<String>          batch;
+
+
+        /**
+         * Constructor
+         *
+         * @param threadName name of the thread
+         * @param queueCapacity size of the buffer
+         */
+        Sender(String threadName,
+               int    queueCapacity)
+        {
+            super(threadName);
+            this.setDaemon(true);
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+
+        /**
+         * Collect and send batches until the publisher is closed and the buffer is empty.
+         */
+        @Override
+        public void run()
+        {
+            try
+            {
+                while (! (closed && queue.isEmpty()))
+                {
+                    String first = queue.poll(IDLE_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+
+                    if (first != null)
+                    {
+                        batch.add(first);
+                        fillBatch();
+                        sendBatch();
+                    }
+                }
+            }
+            catch (InterruptedException error)
+            {
+                log.debug(getName() + " interrupted with " + queue.size() + " events unsent");
+            }
+        }
+
+
+        /**
+         * Add waiting events to the batch until it is full or the flush interval has passed.
+         *
+         * @throws InterruptedException interrupted while waiting
+         */
+        private void fillBatch() throws InterruptedException
+        {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval);
+
+            while (batch.size() < batchSize)
+            {
+                if (queue.drainTo(batch, batchSize - batch.size()) == 0)
+                {
+                    long wait = deadline - System.nanoTime();
+
+                    if ((wait <= 0) || (closed))
+                    {
+                        return;
+                    }
+
+                    String next = queue.poll(wait, TimeUnit.NANOSECONDS);
+
+                    if (next == null)
+                    {
+                        return;
+                    }
+                    batch.add(next);
+                }
+            }
+        }
+
+
+        /**
+         * Send the events in the batch.  A failure is reported and the rest of the batch is still sent.
+         */
+        private void sendBatch()
+        {
+            for (String payload : batch)
+            {
+                try
+                {
+                    topic.sendEvent(payload);
+                    sentCount.incrementAndGet();
+                }
+                catch (Throwable error)
+                {
+                    failedCount.incrementAndGet();
+
+                    if (failureHandler != null)
+                    {
+                        try
+                        {
+                            failureHandler.handleSendFailure(payload, error);
+                        }
+                        catch (Throwable handlerError)
+                        {
+                            log.error(publisherName + " failure handler error: " + handlerError.toString());
+                        }
+                    }
+                    else
+                    {
+                        log.error(publisherName + " unable to send event " + payload + "; error was " + error.toString());
+                    }
+                }
+            }
+
+            batchCount.incrementAndGet();
+            batch.clear();
+        }
+    }
+}
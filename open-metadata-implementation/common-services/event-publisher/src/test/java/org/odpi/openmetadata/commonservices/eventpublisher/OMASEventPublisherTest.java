@@ -0,0 +1,226 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.eventpublisher;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopic;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that OMASEventPublisher keeps the order of events with the same key, applies backpressure when
+ * its buffers are full and reports the events the topic fails to send.
+ */
+public class OMASEventPublisherTest
+{
+    /**
+     * Simple event bean.
+     */
+    public static class TestEvent
+    {
+        private String guid;
+        private int    sequence;
+
+        public TestEvent(String guid, int sequence)
+        {
+            this.guid = guid;
+            this.sequence = sequence;
+        }
+
+        public String getGuid()
+        {
+            return guid;
+        }
+
+        public int getSequence()
+        {
+            return sequence;
+        }
+    }
+
+
+    /**
+     * Topic that records the events it is sent, optionally waiting for a latch first.
+     */
+    private static class RecordingTopic implements OpenMetadataTopic
+    {
+        private List<String>   events = Collections.synchronizedList(new ArrayList<>());
+        private CountDownLatch gate;
+
+        RecordingTopic(CountDownLatch gate)
+        {
+            this.gate = gate;
+        }
+
+        public String registerListener(OpenMetadataTopicListener newListener)
+        {
+            return null;
+        }
+
+        public void sendEvent(String event) throws ConnectorCheckedException
+        {
+            try
+            {
+                gate.await();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if (event.contains("\"guid\":\"bad\""))
+            {
+                throw new ConnectorCheckedException(500, this.getClass().getName(), "sendEvent", "Test failure", "None", "None");
+            }
+            events.add(event);
+        }
+    }
+
+
+    @Test
+    public void testOrderPerKey() throws Exception
+    {
+        RecordingTopic     topic     = new RecordingTopic(new CountDownLatch(0));
+        OMASEventPublisher publisher = new OMASEventPublisher("Test", topic, null, 4, 100, 10, 5, 1000);
+
+        for (int i = 0; i < 500; i++)
+        {
+            String guid = "guid-" + (i % 7);
+
+            assertTrue(publisher.publishEvent(guid, new TestEvent(guid, i)));
+        }
+
+        assertTrue(publisher.flush(10000));
+        assertEquals(publisher.getSentCount(), 500);
+        assertEquals(topic.events.size(), 500);
+        assertTrue(publisher.getBatchCount() < 500);
+
+        Map<String, Integer> lastSequence = new HashMap<>();
+
+        for (String event : topic.events)
+        {
+            String guid     = event.replaceAll(".*\"guid\":\"([^\"]*)\".*", "$1");
+            int    sequence = Integer.parseInt(event.replaceAll(".*\"sequence\":([0-9]+).*", "$1"));
+
+            assertTrue(sequence > lastSequence.getOrDefault(guid, -1));
+            lastSequence.put(guid, sequence);
+        }
+
+        publisher.close(1000);
+        assertFalse(publisher.publishEvent("guid-0", new TestEvent("guid-0", 0)));
+        assertEquals(publisher.getRejectedCount(), 1);
+    }
+
+
+    @Test
+    public void testBackpressure() throws Exception
+    {
+        CountDownLatch     gate      = new CountDownLatch(1);
+        RecordingTopic     topic     = new RecordingTopic(gate);
+        OMASEventPublisher publisher = new OMASEventPublisher("Test", topic, null, 1, 2, 1, 0, 50);
+
+        int accepted = 0;
+
+        for (int i = 0; i < 5; i++)
+        {
+            if (publisher.publishEvent("guid", new TestEvent("guid", i)))
+            {
+                accepted++;
+            }
+        }
+
+        assertTrue(publisher.getBlockedCount() > 0);
+        assertTrue(publisher.getRejectedCount() > 0);
+        assertEquals(accepted + publisher.getRejectedCount(), 5);
+
+        gate.countDown();
+
+        assertTrue(publisher.flush(10000));
+        assertEquals(topic.events.size(), accepted);
+        assertEquals(publisher.getQueuedCount(), 0);
+        publisher.close(1000);
+    }
+
+
+    @Test
+    public void testSendFailure() throws Exception
+    {
+        List<String>       failures  = Collections.synchronizedList(new ArrayList<>());
+        RecordingTopic     topic     = new RecordingTopic(new CountDownLatch(0));
+        OMASEventPublisher publisher = new OMASEventPublisher("Test",
+                                                              topic,
+                                                              (payload, error) -> failures.add(payload));
+
+        publisher.publishEvent("bad", new TestEvent("bad", 1));
+        publisher.publishEvent("good", new TestEvent("good", 2));
+
+        assertTrue(publisher.flush(10000));
+        assertEquals(publisher.getFailedCount(), 1);
+        assertEquals(publisher.getSentCount(), 1);
+        assertEquals(failures.size(), 1);
+        assertTrue(failures.get(0).contains("\"guid\":\"bad\""));
+        publisher.close(1000);
+    }
+
+
+    @Test
+    public void testNoEventsLostOnClose() throws Exception
+    {
+        RecordingTopic     topic     = new RecordingTopic(new CountDownLatch(0));
+        OMASEventPublisher publisher = new OMASEventPublisher("Test", topic, null, 2, 100, 10, 0, 1000);
+        List<Thread>       callers   = new ArrayList<>();
+        CountDownLatch     started   = new CountDownLatch(4);
+
+        for (int i = 0; i < 4; i++)
+        {
+            String guid = "guid-" + i;
+
+            Thread caller = new Thread(() ->
+            {
+                started.countDown();
+
+                for (int sequence = 0; sequence < 2000; sequence++)
+                {
+                    try
+                    {
+                        publisher.publishEvent(guid, new TestEvent(guid, sequence));
+                    }
+                    catch (Exception error)
+                    {
+                        return;
+                    }
+                }
+            });
+
+            callers.add(caller);
+            caller.start();
+        }
+
+        started.await();
+        publisher.close(10000);
+
+        for (Thread caller : callers)
+        {
+            caller.join();
+        }
+
+        /*
+         * Every event is either rejected or sent - none is accepted and then left in a buffer.
+         */
+        assertEquals(publisher.getPublishedCount() + publisher.getRejectedCount(), 8000);
+        assertEquals(publisher.getSentCount(), publisher.getPublishedCount());
+        assertEquals(topic.events.size(), publisher.getPublishedCount());
+        assertEquals(publisher.getQueuedCount(), 0);
+    }
+}
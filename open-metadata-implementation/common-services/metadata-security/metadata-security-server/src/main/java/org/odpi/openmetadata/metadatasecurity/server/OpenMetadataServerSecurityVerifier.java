@@ -39,7 +39,10 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                            OpenMetadataConnectionSecurity,
                                                            OpenMetadataAssetSecurity
 {
-    private OpenMetadataServerSecurityConnector connector   = null;
+    /*
+     * The connector is read without locking by the threads handling requests for the server.
+     */
+    private volatile OpenMetadataServerSecurityConnector connector = null;
 
     // Todo remove - temporary workaround to being connectors into class path
     private CocoPharmaServerSecurityConnector   demoObject1 = null;
@@ -25,12 +25,106 @@ import java.util.*;
  * service instances for the requested server.  It manages the server name to server instance mapping.
  * The map is maintained in a static so it is scoped to the class loader.
  *
- * Instances of this class call the synchronized static methods to work with the map.
+ * Instances of this class call the static methods to work with the map.  The map is an immutable
+ * ServerInstanceRegistry that is replaced as a whole when a server is activated or shutdown.
+ * The methods that change the registry are synchronized so that the changes are applied one at a time.
+ * The methods called on the request path read the current registry without locking.
  */
 public class OMAGServerPlatformInstanceMap
 {
-    private static Map<String, OMAGServerInstance> activeServerInstanceMap   = new HashMap<>();
-    private static Map<String, OMAGServerInstance> inActiveServerInstanceMap = new HashMap<>();
+    private static volatile ServerInstanceRegistry serverInstanceRegistry = new ServerInstanceRegistry(new HashMap<>(),
+                                                                                                       new HashMap<>());
+
+
+    /**
+     * ServerInstanceRegistry is an immutable snapshot of the active and inactive servers on the platform.
+     */
+    private static class ServerInstanceRegistry
+    {
+        private final Map<String, OMAGServerInstance> activeServerInstanceMap;
+        private final Map<String, OMAGServerInstance> inActiveServerInstanceMap;
+
+
+        /**
+         * Constructor takes ownership of the supplied maps.
+         *
+         * @param activeServerInstanceMap map of server name to instance for running servers
+         * @param inActiveServerInstanceMap map of server name to instance for servers that have been shutdown
+         */
+        ServerInstanceRegistry(Map<String, OMAGServerInstance> activeServerInstanceMap,
+                               Map<String, OMAGServerInstance> inActiveServerInstanceMap)
+        {
+            this.activeServerInstanceMap   = Collections.unmodifiableMap(activeServerInstanceMap);
+            this.inActiveServerInstanceMap = Collections.unmodifiableMap(inActiveServerInstanceMap);
+        }
+
+
+        /**
+         * Return the instance for a running server.
+         *
+         * @param serverName name of the server
+         * @return instance or null if the server is not running
+         */
+        OMAGServerInstance getActiveServerInstance(String serverName)
+        {
+            return activeServerInstanceMap.get(serverName);
+        }
+
+
+        /**
+         * Return the instance for a server that is running or has been shutdown.
+         *
+         * @param serverName name of the server
+         * @return instance or null if the server is not known
+         */
+        OMAGServerInstance getKnownServerInstance(String serverName)
+        {
+            OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+
+            if (serverInstance == null)
+            {
+                serverInstance = inActiveServerInstanceMap.get(serverName);
+            }
+
+            return serverInstance;
+        }
+
+
+        /**
+         * Return a new registry with the server instance moved to the active servers.
+         *
+         * @param serverInstance instance for the server that is starting
+         * @return new registry
+         */
+        ServerInstanceRegistry setServerActive(OMAGServerInstance serverInstance)
+        {
+            Map<String, OMAGServerInstance> newActiveServerInstanceMap   = new HashMap<>(activeServerInstanceMap);
+            Map<String, OMAGServerInstance> newInActiveServerInstanceMap = new HashMap<>(inActiveServerInstanceMap);
+
+            newActiveServerInstanceMap.put(serverInstance.getServerName(), serverInstance);
+            newInActiveServerInstanceMap.remove(serverInstance.getServerName());
+
+            return new ServerInstanceRegistry(newActiveServerInstanceMap, newInActiveServerInstanceMap);
+        }
+
+
+        /**
+         * Return a new registry with the server instance moved to the inactive servers.
+         *
+         * @param serverInstance instance for the server that has shutdown
+         * @return new registry
+         */
+        ServerInstanceRegistry setServerInActive(OMAGServerInstance serverInstance)
+        {
+            Map<String, OMAGServerInstance> newActiveServerInstanceMap   = new HashMap<>(activeServerInstanceMap);
+            Map<String, OMAGServerInstance> newInActiveServerInstanceMap = new HashMap<>(inActiveServerInstanceMap);
+
+            newInActiveServerInstanceMap.put(serverInstance.getServerName(), serverInstance);
+            newActiveServerInstanceMap.remove(serverInstance.getServerName());
+
+            return new ServerInstanceRegistry(newActiveServerInstanceMap, newInActiveServerInstanceMap);
+        }
+    }
 
 
     /**
@@ -266,14 +360,14 @@ public class OMAGServerPlatformInstanceMap
         /*
          * Is this a server that is currently running?
          */
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getActiveServerInstance(serverName);
 
         if (serverInstance == null)
         {
             /*
              * Is this a known server that is currently inactive?
              */
-            serverInstance = inActiveServerInstanceMap.get(serverName);
+            serverInstance = serverInstanceRegistry.getKnownServerInstance(serverName);
 
             if (serverInstance == null)
             {
@@ -281,16 +375,12 @@ public class OMAGServerPlatformInstanceMap
                  * New server for this platform
                  */
                 serverInstance = new OMAGServerInstance(serverName);
-                activeServerInstanceMap.put(serverName, serverInstance);
-            }
-            else
-            {
-                /*
-                 * Move the inactive server to active
-                 */
-                activeServerInstanceMap.put(serverName, serverInstance);
-                inActiveServerInstanceMap.remove(serverName);
             }
+
+            /*
+             * Move the server to active
+             */
+            serverInstanceRegistry = serverInstanceRegistry.setServerActive(serverInstance);
         }
 
         return serverInstance;
@@ -346,12 +436,12 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceActive(String  userId,
-                                                               String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceActive(String  userId,
+                                                  String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
-        return (activeServerInstanceMap.get(serverName) != null);
+        return (serverInstanceRegistry.getActiveServerInstance(serverName) != null);
     }
 
 
@@ -366,13 +456,12 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceKnown(String  userId,
-                                                              String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceKnown(String  userId,
+                                                 String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
-        return ((activeServerInstanceMap.get(serverName) != null) ||
-                (inActiveServerInstanceMap.get(serverName) != null));
+        return (serverInstanceRegistry.getKnownServerInstance(serverName) != null);
     }
 
 
@@ -389,14 +478,14 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws PropertyServerException the service name is not know - indicating a logic error
      */
-    private static synchronized OMAGServerServiceInstance getInstanceForPlatform(String  userId,
-                                                                                 String  serverName,
-                                                                                 String  serviceName,
-                                                                                 String  serviceOperationName) throws InvalidParameterException,
-                                                                                                                      UserNotAuthorizedException,
-                                                                                                                      PropertyServerException
+    private static OMAGServerServiceInstance getInstanceForPlatform(String  userId,
+                                                                    String  serverName,
+                                                                    String  serviceName,
+                                                                    String  serviceOperationName) throws InvalidParameterException,
+                                                                                                         UserNotAuthorizedException,
+                                                                                                         PropertyServerException
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getActiveServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -431,7 +520,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -442,7 +531,7 @@ public class OMAGServerPlatformInstanceMap
             throw new UserNotAuthorizedException(error);
         }
 
-        Set<String>  activeServerSet = activeServerInstanceMap.keySet();
+        Set<String>  activeServerSet = serverInstanceRegistry.activeServerInstanceMap.keySet();
 
         if (activeServerSet.isEmpty())
         {
@@ -462,7 +551,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -473,8 +562,10 @@ public class OMAGServerPlatformInstanceMap
             throw new UserNotAuthorizedException(error);
         }
 
-        List<String> knownServerList = new ArrayList<>(activeServerInstanceMap.keySet());
-        knownServerList.addAll(inActiveServerInstanceMap.keySet());
+        ServerInstanceRegistry registry        = serverInstanceRegistry;
+        List<String>           knownServerList = new ArrayList<>(registry.activeServerInstanceMap.keySet());
+
+        knownServerList.addAll(registry.inActiveServerInstanceMap.keySet());
 
         if (knownServerList.isEmpty())
         {
@@ -494,8 +585,8 @@ public class OMAGServerPlatformInstanceMap
      * @param serverInstance instance for the server
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized void validateUserAsServerInvestigator(String              userId,
-                                                                      OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
+    private static void validateUserAsServerInvestigator(String              userId,
+                                                         OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
     {
         if (serverInstance != null)
         {
@@ -523,18 +614,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerStartTimeFromPlatform(String  userId,
-                                                                     String  serverName) throws InvalidParameterException,
-                                                                                                UserNotAuthorizedException
+    private static Date getServerStartTimeFromPlatform(String  userId,
+                                                       String  serverName) throws InvalidParameterException,
+                                                                                  UserNotAuthorizedException
     {
         final String  methodName = "getServerStartTimeFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -560,18 +646,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerEndTimeFromPlatform(String  userId,
-                                                                   String  serverName) throws InvalidParameterException,
-                                                                                              UserNotAuthorizedException
+    private static Date getServerEndTimeFromPlatform(String  userId,
+                                                     String  serverName) throws InvalidParameterException,
+                                                                                UserNotAuthorizedException
     {
         final String  methodName = "getServerEndTimeFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -597,18 +678,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
-                                                                                              String  serverName) throws InvalidParameterException,
-                                                                                                                         UserNotAuthorizedException
+    private static List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
+                                                                                String  serverName) throws InvalidParameterException,
+                                                                                                           UserNotAuthorizedException
     {
         final String  methodName = "getServerHistoryFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -633,13 +709,14 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the server name is not known
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String>   getActiveServiceListForServerOnPlatform(String userId,
-                                                                                       String serverName) throws InvalidParameterException,
-                                                                                                                 UserNotAuthorizedException
+    private static List<String>   getActiveServiceListForServerOnPlatform(String userId,
+                                                                          String serverName) throws InvalidParameterException,
+                                                                                                    UserNotAuthorizedException
     {
         final String  methodName = "getActiveServiceListForServerOnPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        ServerInstanceRegistry registry       = serverInstanceRegistry;
+        OMAGServerInstance     serverInstance = registry.getActiveServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -649,7 +726,7 @@ public class OMAGServerPlatformInstanceMap
         }
         else /* server is not active */
         {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
+            serverInstance = registry.getKnownServerInstance(serverName);
 
             if (serverInstance != null)
             {
@@ -674,7 +751,7 @@ public class OMAGServerPlatformInstanceMap
     private static synchronized void removeInstanceForPlatform(String   serverName,
                                                                String   serviceName)
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getActiveServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -697,7 +774,7 @@ public class OMAGServerPlatformInstanceMap
                                                        String   methodName) throws InvalidParameterException,
                                                                                    PropertyServerException
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getActiveServerInstance(serverName);
 
         if (serverInstance == null)
         {
@@ -706,8 +783,7 @@ public class OMAGServerPlatformInstanceMap
         else
         {
             serverInstance.shutdown(methodName);
-            inActiveServerInstanceMap.put(serverName, serverInstance);
-            activeServerInstanceMap.remove(serverName);
+            serverInstanceRegistry = serverInstanceRegistry.setServerInActive(serverInstance);
         }
     }
 
@@ -721,12 +797,12 @@ public class OMAGServerPlatformInstanceMap
      * @return OpenMetadataServerSecurityVerifier object - never null
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
-                                                                                                        String    serverName) throws InvalidParameterException
+    private static OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
+                                                                                           String    serverName) throws InvalidParameterException
     {
         final String  methodName = "getServerSecurityVerifierForPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+        OMAGServerInstance  serverInstance = serverInstanceRegistry.getActiveServerInstance(serverName);
 
         if (serverInstance != null)
         {
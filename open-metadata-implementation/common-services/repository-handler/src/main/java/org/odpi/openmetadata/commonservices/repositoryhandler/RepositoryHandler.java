@@ -2069,6 +2069,115 @@ public class RepositoryHandler
 
 
 
+    /**
+     * Return the relationships of the requested type that are connected to the anchor entity, along with
+     * the entities at both ends of them, from a single request to the repository.  Repositories that do not
+     * support neighborhood queries are called for the relationships and then for each entity at the other end.
+     * Entities at the other end that can not be retrieved are left out of the graph.
+     *
+     * @param userId  user making the request
+     * @param anchorEntityGUID  starting entity's GUID
+     * @param anchorEntityTypeName  starting entity's type name
+     * @param relationshipTypeGUID  identifier for the relationship to follow; null means all relationship types
+     * @param relationshipTypeName  type name for the relationship to follow
+     * @param methodName  name of calling method
+     *
+     * @return retrieved relationships and entities or null
+     *
+     * @throws UserNotAuthorizedException security access problem
+     * @throws PropertyServerException problem accessing the property server
+     */
+    public InstanceGraph getEntityNeighborhood(String                 userId,
+                                               String                 anchorEntityGUID,
+                                               String                 anchorEntityTypeName,
+                                               String                 relationshipTypeGUID,
+                                               String                 relationshipTypeName,
+                                               String                 methodName) throws UserNotAuthorizedException,
+                                                                                         PropertyServerException
+    {
+        List<String> relationshipTypeGUIDs = null;
+
+        if (relationshipTypeGUID != null)
+        {
+            relationshipTypeGUIDs = new ArrayList<>();
+            relationshipTypeGUIDs.add(relationshipTypeGUID);
+        }
+
+        try
+        {
+            try
+            {
+                return metadataCollection.getEntityNeighborhood(userId,
+                                                                anchorEntityGUID,
+                                                                null,
+                                                                relationshipTypeGUIDs,
+                                                                null,
+                                                                null,
+                                                                null,
+                                                                1);
+            }
+            catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException error)
+            {
+                log.debug("Neighborhood queries are not supported; retrieving relationships of type " +
+                                  relationshipTypeName + " for " + anchorEntityTypeName + " entity " + anchorEntityGUID);
+            }
+
+            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
+                                                                                            anchorEntityGUID,
+                                                                                            relationshipTypeGUID,
+                                                                                            0,
+                                                                                            null,
+                                                                                            null,
+                                                                                            null,
+                                                                                            null,
+                                                                                            0);
+
+            if ((relationships == null) || (relationships.isEmpty()))
+            {
+                if (log.isDebugEnabled())
+                {
+                    log.debug("No relationships of type " + relationshipTypeName +
+                                      " found for " + anchorEntityTypeName + " entity " + anchorEntityGUID);
+                }
+
+                return null;
+            }
+
+            List<EntityDetail> entities = new ArrayList<>();
+
+            for (Relationship relationship : relationships)
+            {
+                EntityProxy otherEnd = this.getOtherEnd(anchorEntityGUID, relationship);
+
+                if (otherEnd != null)
+                {
+                    try
+                    {
+                        entities.add(metadataCollection.getEntityDetail(userId, otherEnd.getGUID()));
+                    }
+                    catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException |
+                           org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException error)
+                    {
+                        log.debug("Unable to retrieve entity " + otherEnd.getGUID() + ": " + error.getMessage());
+                    }
+                }
+            }
+
+            return new InstanceGraph(entities, relationships);
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName);
+        }
+
+        return null;
+    }
+
+
     /**
      * Return the list of relationships of the requested type connected to the anchor entity.
      * No relationships found results in an exception.
@@ -156,6 +156,8 @@ public class ConnectorBroker
 
         /*
          * Extract the class for the connector provider and then create a connector provider object.
+         * The constructor of the class is cached after the first request.  A new connector provider object
+         * is created each time since some connector providers keep details of the connector they create.
          * These actions may reveal that the class is not known to local JVM (ClassNotFound) or
          * the class is there but its dependencies are not (LinkageError).  Each of these error conditions
          * results in a connection error exception that hopefully guides the consumer to correct
@@ -165,8 +167,7 @@ public class ConnectorBroker
 
         try
         {
-            Class      connectorProviderClass = Class.forName(connectorProviderClassName);
-            Object     potentialConnectorProvider = connectorProviderClass.newInstance();
+            Object     potentialConnectorProvider = ConstructorCache.getConstructor(connectorProviderClassName).newInstance();
 
             connectorProvider = (ConnectorProvider)potentialConnectorProvider;
         }
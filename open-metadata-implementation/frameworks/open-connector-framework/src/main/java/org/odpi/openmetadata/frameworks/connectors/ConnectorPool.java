@@ -0,0 +1,375 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.connectors;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectionCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.VirtualConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ConnectorPool is an optional wrapper around the ConnectorBroker for callers that repeatedly create,
+ * use and disconnect connectors for the same connection.  Rather than disconnecting the connector when it is
+ * finished with, the caller returns it to the pool and the next request for a connector with an equal
+ * connection is given the same, already started, connector.
+ * <p>
+ * Connectors are pooled by the value of their connection so the connections do not need to be the same object.
+ * The pool starts each connector it creates and disconnects each connector it discards.  Connectors that
+ * have been idle for longer than the maximum idle time are disconnected the next time the pool is used.
+ * A pooled connector is only used by one caller at a time, however it must not keep state from one caller
+ * that changes the behaviour for the next.  Connectors that do not meet this requirement should be created
+ * directly through the ConnectorBroker.
+ * </p>
+ */
+public class ConnectorPool
+{
+    private static final Logger log = LoggerFactory.getLogger(ConnectorPool.class);
+
+    private final ConnectorBroker connectorBroker;
+    private final int             maxIdleConnectors;
+    private final long            maxIdleTime;
+
+    private final Map<Connection, Deque<IdleConnector>> idleConnectors     = new HashMap<>();
+    private final Map<Connector, Connection>            borrowedConnectors = new IdentityHashMap<>();
+    private       boolean                               isClosed           = false;
+
+
+    /**
+     * Constructor
+     *
+     * @param connectorBroker broker used to create new connectors
+     * @param maxIdleConnectors maximum number of idle connectors kept for each connection
+     * @param maxIdleTime number of milliseconds that a connector can remain idle before it is disconnected
+     */
+    public ConnectorPool(ConnectorBroker connectorBroker,
+                         int             maxIdleConnectors,
+                         long            maxIdleTime)
+    {
+        this.connectorBroker   = connectorBroker;
+        this.maxIdleConnectors = maxIdleConnectors;
+        this.maxIdleTime       = maxIdleTime;
+    }
+
+
+    /**
+     * Return a started connector for the supplied connection.  This is an idle connector from the pool if one
+     * is available, otherwise a new connector is created by the connector broker and started.
+     * The connector should be passed to returnConnector once the caller has finished with it.
+     *
+     * @param connection properties for the connector and connector provider.
+     * @return started connector instance.
+     * @throws ConnectionCheckedException an error with the connection.
+     * @throws ConnectorCheckedException an error initializing or starting the connector.
+     */
+    public Connector borrowConnector(Connection connection) throws ConnectionCheckedException,
+                                                                   ConnectorCheckedException
+    {
+        if (connection == null)
+        {
+            /*
+             * The connector broker produces the exception for a null connection.
+             */
+            return connectorBroker.getConnector(connection);
+        }
+
+        Connection          poolKey         = this.getPoolKey(connection);
+        Connector           connector       = null;
+        List<IdleConnector> expiredConnectors;
+
+        synchronized (this)
+        {
+            expiredConnectors = this.removeExpiredConnectors(System.currentTimeMillis());
+
+            Deque<IdleConnector> idleConnectorsForConnection = idleConnectors.get(poolKey);
+
+            if (idleConnectorsForConnection != null)
+            {
+                /*
+                 * The most recently used connector is taken so the others have the chance to expire.
+                 */
+                connector = idleConnectorsForConnection.pop().connector;
+
+                if (idleConnectorsForConnection.isEmpty())
+                {
+                    idleConnectors.remove(poolKey);
+                }
+            }
+        }
+
+        this.disconnectConnectors(expiredConnectors);
+
+        if (connector == null)
+        {
+            connector = connectorBroker.getConnector(connection);
+
+            try
+            {
+                connector.start();
+            }
+            catch (ConnectorCheckedException | RuntimeException error)
+            {
+                this.disconnectConnector(connector);
+                throw error;
+            }
+
+            log.debug("New pooled connector: " + connector.getConnectorInstanceId());
+        }
+
+        synchronized (this)
+        {
+            borrowedConnectors.put(connector, poolKey);
+        }
+
+        return connector;
+    }
+
+
+    /**
+     * Pass a connector back to the pool once the caller has finished with it.  The connector is kept for
+     * reuse unless the pool already has the maximum number of idle connectors for its connection,
+     * the connector is no longer active, or the pool is closed; in these cases it is disconnected.
+     * Connectors that were not borrowed from this pool are disconnected.
+     *
+     * @param connector connector that was returned by borrowConnector
+     */
+    public void returnConnector(Connector connector)
+    {
+        if (connector == null)
+        {
+            return;
+        }
+
+        boolean             isPooled = false;
+        List<IdleConnector> expiredConnectors;
+
+        synchronized (this)
+        {
+            long       now     = System.currentTimeMillis();
+            Connection poolKey = borrowedConnectors.remove(connector);
+
+            expiredConnectors = this.removeExpiredConnectors(now);
+
+            if ((poolKey != null) && (! isClosed) && (this.isReusable(connector)))
+            {
+                Deque<IdleConnector> idleConnectorsForConnection = idleConnectors.computeIfAbsent(poolKey,
+                                                                                                  key -> new ArrayDeque<>());
+
+                if (idleConnectorsForConnection.size() < maxIdleConnectors)
+                {
+                    idleConnectorsForConnection.push(new IdleConnector(connector, now));
+                    isPooled = true;
+                }
+                else if (idleConnectorsForConnection.isEmpty())
+                {
+                    idleConnectors.remove(poolKey);
+                }
+            }
+        }
+
+        this.disconnectConnectors(expiredConnectors);
+
+        if (! isPooled)
+        {
+            this.disconnectConnector(connector);
+        }
+    }
+
+
+    /**
+     * Disconnect the connectors that have been idle for longer than the maximum idle time.  This is called
+     * each time the pool is used and may also be called periodically by the owner of the pool.
+     */
+    public void evictIdleConnectors()
+    {
+        List<IdleConnector> expiredConnectors;
+
+        synchronized (this)
+        {
+            expiredConnectors = this.removeExpiredConnectors(System.currentTimeMillis());
+        }
+
+        this.disconnectConnectors(expiredConnectors);
+    }
+
+
+    /**
+     * Return the number of idle connectors in the pool.
+     *
+     * @return count of connectors
+     */
+    public synchronized int getIdleConnectorCount()
+    {
+        int idleConnectorCount = 0;
+
+        for (Deque<IdleConnector> idleConnectorsForConnection : idleConnectors.values())
+        {
+            idleConnectorCount = idleConnectorCount + idleConnectorsForConnection.size();
+        }
+
+        return idleConnectorCount;
+    }
+
+
+    /**
+     * Disconnect all of the idle connectors.  Connectors that are borrowed at the time of the close are
+     * disconnected when they are returned.
+     */
+    public void close()
+    {
+        List<IdleConnector> closingConnectors = new ArrayList<>();
+
+        synchronized (this)
+        {
+            isClosed = true;
+
+            for (Deque<IdleConnector> idleConnectorsForConnection : idleConnectors.values())
+            {
+                closingConnectors.addAll(idleConnectorsForConnection);
+            }
+
+            idleConnectors.clear();
+        }
+
+        this.disconnectConnectors(closingConnectors);
+    }
+
+
+    /**
+     * Take a copy of the connection to use as the key for its connectors.  This means a caller can not change
+     * the key by updating the connection after the connector is created.
+     *
+     * @param connection connection supplied by the caller
+     * @return copy of the connection
+     */
+    private Connection getPoolKey(Connection connection)
+    {
+        if (connection instanceof VirtualConnection)
+        {
+            return new VirtualConnection((VirtualConnection)connection);
+        }
+        else
+        {
+            return new Connection(connection);
+        }
+    }
+
+
+    /**
+     * Check that a returned connector can be used again.
+     *
+     * @param connector returned connector
+     * @return boolean flag
+     */
+    private boolean isReusable(Connector connector)
+    {
+        if (connector instanceof ConnectorBase)
+        {
+            return ((ConnectorBase)connector).isActive();
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Remove the connectors that have been idle for too long from the pool.  The caller must hold the
+     * lock on the pool and disconnect the returned connectors once the lock is released.
+     *
+     * @param now current time
+     * @return list of expired connectors
+     */
+    private List<IdleConnector> removeExpiredConnectors(long now)
+    {
+        List<IdleConnector>            expiredConnectors = new ArrayList<>();
+        Iterator<Deque<IdleConnector>> idleConnectorSets = idleConnectors.values().iterator();
+
+        while (idleConnectorSets.hasNext())
+        {
+            Deque<IdleConnector> idleConnectorsForConnection = idleConnectorSets.next();
+
+            /*
+             * The oldest connectors are at the end of the deque.
+             */
+            while ((! idleConnectorsForConnection.isEmpty()) &&
+                   (now - idleConnectorsForConnection.peekLast().idleSince > maxIdleTime))
+            {
+                expiredConnectors.add(idleConnectorsForConnection.removeLast());
+            }
+
+            if (idleConnectorsForConnection.isEmpty())
+            {
+                idleConnectorSets.remove();
+            }
+        }
+
+        return expiredConnectors;
+    }
+
+
+    /**
+     * Disconnect a list of connectors removed from the pool.
+     *
+     * @param connectors connectors to disconnect
+     */
+    private void disconnectConnectors(List<IdleConnector> connectors)
+    {
+        for (IdleConnector idleConnector : connectors)
+        {
+            this.disconnectConnector(idleConnector.connector);
+        }
+    }
+
+
+    /**
+     * Disconnect a connector that is no longer needed.  Errors are logged since the caller has
+     * no further use for the connector.
+     *
+     * @param connector connector to disconnect
+     */
+    private void disconnectConnector(Connector connector)
+    {
+        try
+        {
+            connector.disconnect();
+        }
+        catch (Throwable error)
+        {
+            log.debug("Error disconnecting pooled connector " + connector.getConnectorInstanceId() + ": " + error.getMessage());
+        }
+    }
+
+
+    /**
+     * IdleConnector records when a connector was returned to the pool.
+     */
+    private static class IdleConnector
+    {
+        private final Connector connector;
+        private final long      idleSince;
+
+
+        /**
+         * Constructor
+         *
+         * @param connector pooled connector
+         * @param idleSince time it was returned
+         */
+        IdleConnector(Connector connector,
+                      long      idleSince)
+        {
+            this.connector = connector;
+            this.idleSince = idleSince;
+        }
+    }
+}
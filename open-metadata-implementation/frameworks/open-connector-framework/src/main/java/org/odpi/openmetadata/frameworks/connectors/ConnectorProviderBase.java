@@ -218,8 +218,7 @@ public abstract class ConnectorProviderBase extends ConnectorProvider
          */
         try
         {
-            Class      connectorClass = Class.forName(connectorClassName);
-            Object     potentialConnector = connectorClass.newInstance();
+            Object     potentialConnector = ConstructorCache.getConstructor(connectorClassName).newInstance();
 
             connector = (Connector)potentialConnector;
             connector.initialize(guid, connection);
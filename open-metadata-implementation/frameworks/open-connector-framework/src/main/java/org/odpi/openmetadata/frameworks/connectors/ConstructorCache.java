@@ -0,0 +1,50 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.connectors;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ConstructorCache remembers the no-argument constructors of the connector providers and connectors that
+ * have been created by the OCF.  This saves the class lookup and reflection on each request for a connector.
+ * The cache is held in a static so it is scoped to the class loader of the OCF, which is also the
+ * class loader used to look up the classes.  Only classes that are found are cached so a class that
+ * is added to the class path later is still picked up.
+ */
+class ConstructorCache
+{
+    private static final Map<String, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private ConstructorCache()
+    {
+    }
+
+
+    /**
+     * Return the no-argument constructor for the named class.
+     *
+     * @param className fully qualified name of the class
+     * @return constructor
+     * @throws ClassNotFoundException the class is not known to this JVM
+     * @throws NoSuchMethodException the class does not have a no-argument constructor
+     */
+    static Constructor<?> getConstructor(String className) throws ClassNotFoundException,
+                                                                  NoSuchMethodException
+    {
+        Constructor<?> constructor = constructors.get(className);
+
+        if (constructor == null)
+        {
+            constructor = Class.forName(className).getDeclaredConstructor();
+            constructors.put(className, constructor);
+        }
+
+        return constructor;
+    }
+}
@@ -0,0 +1,105 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.frameworks.connectors;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * TestConnectorPool validates the reuse of connectors through the ConnectorPool.
+ */
+public class TestConnectorPool
+{
+    /**
+     * Return a connection for the mock connector.
+     *
+     * @param qualifiedName name of the connection
+     * @return connection
+     */
+    private Connection getConnection(String qualifiedName)
+    {
+        ConnectorType testConnType = new ConnectorType();
+
+        testConnType.setQualifiedName("Test.MockConnectorProvider.ConnectorType");
+        testConnType.setConnectorProviderClassName(MockConnectorProvider.class.getName());
+
+        Connection testConnection = new Connection();
+
+        testConnection.setQualifiedName(qualifiedName);
+        testConnection.setConnectorType(testConnType);
+
+        return testConnection;
+    }
+
+
+    /**
+     * Validate that a returned connector is reused for an equal connection and not for a different one.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testConnectorReuse() throws Exception
+    {
+        ConnectorPool pool = new ConnectorPool(new ConnectorBroker(), 2, 60000);
+
+        Connector firstConnector = pool.borrowConnector(getConnection("Test.Connection"));
+
+        assertTrue(((ConnectorBase)firstConnector).isActive());
+
+        pool.returnConnector(firstConnector);
+        assertEquals(pool.getIdleConnectorCount(), 1);
+
+        assertSame(pool.borrowConnector(getConnection("Test.Connection")), firstConnector);
+        assertEquals(pool.getIdleConnectorCount(), 0);
+
+        Connector otherConnector = pool.borrowConnector(getConnection("Test.OtherConnection"));
+
+        assertNotSame(otherConnector, firstConnector);
+    }
+
+
+    /**
+     * Validate that connectors beyond the pool size, idle connectors that have expired and connectors
+     * returned after the pool is closed are disconnected.
+     *
+     * @throws Exception unexpected error
+     */
+    @Test public void testConnectorsDisconnected() throws Exception
+    {
+        ConnectorPool pool = new ConnectorPool(new ConnectorBroker(), 1, 60000);
+
+        ConnectorBase firstConnector  = (ConnectorBase)pool.borrowConnector(getConnection("Test.Connection"));
+        ConnectorBase secondConnector = (ConnectorBase)pool.borrowConnector(getConnection("Test.Connection"));
+
+        pool.returnConnector(firstConnector);
+        pool.returnConnector(secondConnector);
+
+        assertTrue(firstConnector.isActive());
+        assertFalse(secondConnector.isActive());
+
+        assertSame(pool.borrowConnector(getConnection("Test.Connection")), firstConnector);
+
+        pool.close();
+        assertTrue(firstConnector.isActive());
+
+        pool.returnConnector(firstConnector);
+        assertFalse(firstConnector.isActive());
+        assertEquals(pool.getIdleConnectorCount(), 0);
+
+        ConnectorPool expiringPool = new ConnectorPool(new ConnectorBroker(), 1, -1);
+        ConnectorBase idleConnector = (ConnectorBase)expiringPool.borrowConnector(getConnection("Test.Connection"));
+
+        expiringPool.returnConnector(idleConnector);
+        expiringPool.evictIdleConnectors();
+
+        assertFalse(idleConnector.isActive());
+        assertEquals(expiringPool.getIdleConnectorCount(), 0);
+    }
+}
@@ -77,7 +77,13 @@ public enum DiscoveryServerErrorCode
     NO_DISCOVERY_ENGINES_STARTED(400,"OMAS-DISCOVERY-SERVER-400-008 ",
                          "Discovery server {0} is unable to start any discovery engines",
                          "The server is not able to run any discovery requests.  It fails to start.",
-                         "Add the configuration for at least one discovery engine to this discovery server.");
+                         "Add the configuration for at least one discovery engine to this discovery server."),
+
+    DISCOVERY_QUEUE_FULL(503,"OMAS-DISCOVERY-SERVER-503-001 ",
+                         "Discovery server {0} is unable to accept a discovery request for asset {1} because its request queue is full",
+                         "The discovery request is rejected.",
+                         "Retry the request once the discovery server has processed some of its waiting requests, or increase the " +
+                                 "queue limit in the discovery server's configuration.");
 
 
     private int    httpErrorCode;
@@ -0,0 +1,445 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.discoveryserver.properties;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * DiscoveryRequestStatistics describes the progress and throughput of the discovery requests of a discovery engine
+ * running in a discovery server.  The worker count and limits are those of the discovery server since its discovery
+ * engines share the worker threads.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class DiscoveryRequestStatistics implements Serializable
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String serverName            = null;
+    private String discoveryEngineGUID   = null;
+    private int    workerCount           = 0;
+    private int    queueLimit            = 0;
+    private int    maxRequestsPerService = 0;
+    private int    activeRequests        = 0;
+    private int    queuedRequests        = 0;
+    private int    activeScans           = 0;
+    private long   completedRequests     = 0;
+    private long   failedRequests        = 0;
+    private long   rejectedRequests      = 0;
+    private long   cancelledRequests     = 0;
+    private double assetsPerMinute       = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public DiscoveryRequestStatistics()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public DiscoveryRequestStatistics(DiscoveryRequestStatistics template)
+    {
+        if (template != null)
+        {
+            serverName = template.getServerName();
+            discoveryEngineGUID = template.getDiscoveryEngineGUID();
+            workerCount = template.getWorkerCount();
+            queueLimit = template.getQueueLimit();
+            maxRequestsPerService = template.getMaxRequestsPerService();
+            activeRequests = template.getActiveRequests();
+            queuedRequests = template.getQueuedRequests();
+            activeScans = template.getActiveScans();
+            completedRequests = template.getCompletedRequests();
+            failedRequests = template.getFailedRequests();
+            rejectedRequests = template.getRejectedRequests();
+            cancelledRequests = template.getCancelledRequests();
+            assetsPerMinute = template.getAssetsPerMinute();
+        }
+    }
+
+
+    /**
+     * Return the name of the discovery server.
+     *
+     * @return String
+     */
+    public String getServerName()
+    {
+        return serverName;
+    }
+
+
+    /**
+     * Set up the name of the discovery server.
+     *
+     * @param serverName String
+     */
+    public void setServerName(String serverName)
+    {
+        this.serverName = serverName;
+    }
+
+
+    /**
+     * Return the unique identifier of the discovery engine that these statistics describe.
+     *
+     * @return String guid
+     */
+    public String getDiscoveryEngineGUID()
+    {
+        return discoveryEngineGUID;
+    }
+
+
+    /**
+     * Set up the unique identifier of the discovery engine that these statistics describe.
+     *
+     * @param discoveryEngineGUID String guid
+     */
+    public void setDiscoveryEngineGUID(String discoveryEngineGUID)
+    {
+        this.discoveryEngineGUID = discoveryEngineGUID;
+    }
+
+
+    /**
+     * Return the number of worker threads that run discovery requests.
+     *
+     * @return int
+     */
+    public int getWorkerCount()
+    {
+        return workerCount;
+    }
+
+
+    /**
+     * Set up the number of worker threads that run discovery requests.
+     *
+     * @param workerCount int
+     */
+    public void setWorkerCount(int workerCount)
+    {
+        this.workerCount = workerCount;
+    }
+
+
+    /**
+     * Return the number of discovery requests that can wait for a worker thread.
+     *
+     * @return int
+     */
+    public int getQueueLimit()
+    {
+        return queueLimit;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that can wait for a worker thread.
+     *
+     * @param queueLimit int
+     */
+    public void setQueueLimit(int queueLimit)
+    {
+        this.queueLimit = queueLimit;
+    }
+
+
+    /**
+     * Return the number of requests for a single discovery service that can run at the same time.
+     *
+     * @return int
+     */
+    public int getMaxRequestsPerService()
+    {
+        return maxRequestsPerService;
+    }
+
+
+    /**
+     * Set up the number of requests for a single discovery service that can run at the same time.
+     *
+     * @param maxRequestsPerService int
+     */
+    public void setMaxRequestsPerService(int maxRequestsPerService)
+    {
+        this.maxRequestsPerService = maxRequestsPerService;
+    }
+
+
+    /**
+     * Return the number of discovery requests that are running.
+     *
+     * @return int
+     */
+    public int getActiveRequests()
+    {
+        return activeRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that are running.
+     *
+     * @param activeRequests int
+     */
+    public void setActiveRequests(int activeRequests)
+    {
+        this.activeRequests = activeRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests waiting to run.
+     *
+     * @return int
+     */
+    public int getQueuedRequests()
+    {
+        return queuedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests waiting to run.
+     *
+     * @param queuedRequests int
+     */
+    public void setQueuedRequests(int queuedRequests)
+    {
+        this.queuedRequests = queuedRequests;
+    }
+
+
+    /**
+     * Return the number of scans of the asset catalog that are in progress.
+     *
+     * @return int
+     */
+    public int getActiveScans()
+    {
+        return activeScans;
+    }
+
+
+    /**
+     * Set up the number of scans of the asset catalog that are in progress.
+     *
+     * @param activeScans int
+     */
+    public void setActiveScans(int activeScans)
+    {
+        this.activeScans = activeScans;
+    }
+
+
+    /**
+     * Return the number of discovery requests that have completed successfully.
+     *
+     * @return long
+     */
+    public long getCompletedRequests()
+    {
+        return completedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that have completed successfully.
+     *
+     * @param completedRequests long
+     */
+    public void setCompletedRequests(long completedRequests)
+    {
+        this.completedRequests = completedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests that have failed.
+     *
+     * @return long
+     */
+    public long getFailedRequests()
+    {
+        return failedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests that have failed.
+     *
+     * @param failedRequests long
+     */
+    public void setFailedRequests(long failedRequests)
+    {
+        this.failedRequests = failedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests rejected because the queue was full.
+     *
+     * @return long
+     */
+    public long getRejectedRequests()
+    {
+        return rejectedRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests rejected because the queue was full.
+     *
+     * @param rejectedRequests long
+     */
+    public void setRejectedRequests(long rejectedRequests)
+    {
+        this.rejectedRequests = rejectedRequests;
+    }
+
+
+    /**
+     * Return the number of discovery requests cancelled before they ran.
+     *
+     * @return long
+     */
+    public long getCancelledRequests()
+    {
+        return cancelledRequests;
+    }
+
+
+    /**
+     * Set up the number of discovery requests cancelled before they ran.
+     *
+     * @param cancelledRequests long
+     */
+    public void setCancelledRequests(long cancelledRequests)
+    {
+        this.cancelledRequests = cancelledRequests;
+    }
+
+
+    /**
+     * Return the average number of assets analysed each minute since the server started.
+     *
+     * @return double
+     */
+    public double getAssetsPerMinute()
+    {
+        return assetsPerMinute;
+    }
+
+
+    /**
+     * Set up the average number of assets analysed each minute since the server started.
+     *
+     * @param assetsPerMinute double
+     */
+    public void setAssetsPerMinute(double assetsPerMinute)
+    {
+        this.assetsPerMinute = assetsPerMinute;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return return string containing the property names and values
+     */
+    @Override
+    public String toString()
+    {
+        return "DiscoveryRequestStatistics{" +
+                "serverName='" + serverName + '\'' +
+                ", discoveryEngineGUID='" + discoveryEngineGUID + '\'' +
+                ", workerCount=" + workerCount +
+                ", queueLimit=" + queueLimit +
+                ", maxRequestsPerService=" + maxRequestsPerService +
+                ", activeRequests=" + activeRequests +
+                ", queuedRequests=" + queuedRequests +
+                ", activeScans=" + activeScans +
+                ", completedRequests=" + completedRequests +
+                ", failedRequests=" + failedRequests +
+                ", rejectedRequests=" + rejectedRequests +
+                ", cancelledRequests=" + cancelledRequests +
+                ", assetsPerMinute=" + assetsPerMinute +
+                '}';
+    }
+
+
+    /**
+     * Return comparison result based on the content of the properties.
+     *
+     * @param objectToCompare test object
+     * @return result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof DiscoveryRequestStatistics))
+        {
+            return false;
+        }
+        DiscoveryRequestStatistics that = (DiscoveryRequestStatistics) objectToCompare;
+        return Objects.equals(serverName, that.serverName) &&
+                Objects.equals(discoveryEngineGUID, that.discoveryEngineGUID) &&
+                workerCount == that.workerCount &&
+                queueLimit == that.queueLimit &&
+                maxRequestsPerService == that.maxRequestsPerService &&
+                activeRequests == that.activeRequests &&
+                queuedRequests == that.queuedRequests &&
+                activeScans == that.activeScans &&
+                completedRequests == that.completedRequests &&
+                failedRequests == that.failedRequests &&
+                rejectedRequests == that.rejectedRequests &&
+                cancelledRequests == that.cancelledRequests &&
+                Double.compare(assetsPerMinute, that.assetsPerMinute) == 0;
+    }
+
+
+    /**
+     * Return hash code for this object
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(serverName,
+                            discoveryEngineGUID,
+                            workerCount,
+                            queueLimit,
+                            maxRequestsPerService,
+                            activeRequests,
+                            queuedRequests,
+                            activeScans,
+                            completedRequests,
+                            failedRequests,
+                            rejectedRequests,
+                            cancelledRequests,
+                            assetsPerMinute);
+    }
+}
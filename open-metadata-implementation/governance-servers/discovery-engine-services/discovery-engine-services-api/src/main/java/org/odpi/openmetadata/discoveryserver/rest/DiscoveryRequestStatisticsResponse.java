@@ -0,0 +1,141 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.discoveryserver.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
+import org.odpi.openmetadata.discoveryserver.properties.DiscoveryRequestStatistics;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * DiscoveryRequestStatisticsResponse is the response structure used on the discovery server REST API call that
+ * returns the statistics for the discovery requests running in the server.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class DiscoveryRequestStatisticsResponse extends FFDCResponseBase
+{
+    private static final long    serialVersionUID = 1L;
+
+    private DiscoveryRequestStatistics statistics = null;
+
+
+    /**
+     * Default constructor
+     */
+    public DiscoveryRequestStatisticsResponse()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public DiscoveryRequestStatisticsResponse(DiscoveryRequestStatisticsResponse template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.statistics = template.getStatistics();
+        }
+    }
+
+
+    /**
+     * Return the statistics result.
+     *
+     * @return statistics bean
+     */
+    public DiscoveryRequestStatistics getStatistics()
+    {
+        if (statistics == null)
+        {
+            return null;
+        }
+        else
+        {
+            return new DiscoveryRequestStatistics(statistics);
+        }
+    }
+
+
+    /**
+     * Set up the statistics result.
+     *
+     * @param statistics statistics bean
+     */
+    public void setStatistics(DiscoveryRequestStatistics statistics)
+    {
+        this.statistics = statistics;
+    }
+
+
+    /**
+     * JSON-style toString
+     *
+     * @return return string containing the property names and values
+     */
+    @Override
+    public String toString()
+    {
+        return "DiscoveryRequestStatisticsResponse{" +
+                "statistics=" + getStatistics() +
+                ", relatedHTTPCode=" + getRelatedHTTPCode() +
+                ", exceptionClassName='" + getExceptionClassName() + '\'' +
+                ", exceptionErrorMessage='" + getExceptionErrorMessage() + '\'' +
+                ", exceptionSystemAction='" + getExceptionSystemAction() + '\'' +
+                ", exceptionUserAction='" + getExceptionUserAction() + '\'' +
+                ", exceptionProperties=" + getExceptionProperties() +
+                '}';
+    }
+
+
+    /**
+     * Return comparison result based on the content of the properties.
+     *
+     * @param objectToCompare test object
+     * @return result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof DiscoveryRequestStatisticsResponse))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        DiscoveryRequestStatisticsResponse that = (DiscoveryRequestStatisticsResponse) objectToCompare;
+        return Objects.equals(statistics, that.statistics);
+    }
+
+
+    /**
+     * Return hash code for this object
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(statistics);
+    }
+}
@@ -6,11 +6,12 @@ import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
-import org.odpi.openmetadata.commonservices.odf.metadatamanagement.client.ODFRESTClient;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.AnnotationListResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.AnnotationResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.DiscoveryAnalysisReportResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.DiscoveryRequestRequestBody;
+import org.odpi.openmetadata.discoveryserver.properties.DiscoveryRequestStatistics;
+import org.odpi.openmetadata.discoveryserver.rest.DiscoveryRequestStatisticsResponse;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
 import org.odpi.openmetadata.frameworks.discovery.DiscoveryEngine;
@@ -31,7 +32,7 @@ public class DiscoveryServerClient extends DiscoveryEngine
     private String        serverName;               /* Initialized in constructor */
     private String        serverPlatformRootURL;    /* Initialized in constructor */
     private String        discoveryEngineGUID;      /* Initialized in constructor */
-    private ODFRESTClient restClient;               /* Initialized in constructor */
+    private DiscoveryServerRESTClient restClient;   /* Initialized in constructor */
 
     private InvalidParameterHandler invalidParameterHandler = new InvalidParameterHandler();
     private RESTExceptionHandler    exceptionHandler        = new RESTExceptionHandler();
@@ -53,7 +54,7 @@ public class DiscoveryServerClient extends DiscoveryEngine
         this.serverName = serverName;
         this.discoveryEngineGUID = discoveryEngineGUID;
 
-        this.restClient = new ODFRESTClient(serverName, serverPlatformRootURL);
+        this.restClient = new DiscoveryServerRESTClient(serverName, serverPlatformRootURL);
     }
 
 
@@ -77,7 +78,7 @@ public class DiscoveryServerClient extends DiscoveryEngine
         this.serverName = serverName;
         this.discoveryEngineGUID = discoveryEngineGUID;
 
-        this.restClient = new ODFRESTClient(serverName, serverPlatformRootURL, userId, password);
+        this.restClient = new DiscoveryServerRESTClient(serverName, serverPlatformRootURL, userId, password);
     }
 
 
@@ -478,4 +479,43 @@ public class DiscoveryServerClient extends DiscoveryEngine
             throw new DiscoveryEngineException(exception);
         }
     }
+
+
+    /**
+     * Return the progress and throughput of the discovery requests of this discovery engine.
+     * The worker count and limits returned are those of the discovery server since its discovery engines
+     * share the same worker threads.
+     *
+     * @param userId identifier of calling user
+     *
+     * @return statistics
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws DiscoveryEngineException there was a problem detected by the discovery engine.
+     */
+    public DiscoveryRequestStatistics getDiscoveryRequestStatistics(String   userId) throws InvalidParameterException,
+                                                                                         UserNotAuthorizedException,
+                                                                                         DiscoveryEngineException
+    {
+        final String   methodName = "getDiscoveryRequestStatistics";
+        final String   urlTemplate = "/servers/{0}/open-metadata/discovery-server/users/{1}/discovery-engine/{2}/statistics";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+
+        try
+        {
+            DiscoveryRequestStatisticsResponse restResult = restClient.callDiscoveryRequestStatisticsGetRESTCall(methodName,
+                                                                                                                 serverPlatformRootURL + urlTemplate,
+                                                                                                                 serverName,
+                                                                                                                 userId,
+                                                                                                                 discoveryEngineGUID);
+
+            return restResult.getStatistics();
+        }
+        catch (PropertyServerException  exception)
+        {
+            throw new DiscoveryEngineException(exception);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.discoveryserver.client;
+
+import org.odpi.openmetadata.commonservices.odf.metadatamanagement.client.ODFRESTClient;
+import org.odpi.openmetadata.discoveryserver.rest.DiscoveryRequestStatisticsResponse;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+
+
+/**
+ * DiscoveryServerRESTClient adds the REST calls that are specific to the discovery server to the ODF REST client.
+ */
+public class DiscoveryServerRESTClient extends ODFRESTClient
+{
+    /**
+     * Constructor for no authentication.
+     *
+     * @param serverName name of the OMAG Server to call
+     * @param serverPlatformURLRoot URL root of the server platform where the OMAG Server is running.
+     * @throws InvalidParameterException there is a problem creating the client-side components to issue any
+     * REST API calls.
+     */
+    public DiscoveryServerRESTClient(String serverName,
+                                     String serverPlatformURLRoot) throws InvalidParameterException
+    {
+        super(serverName, serverPlatformURLRoot);
+    }
+
+
+    /**
+     * Constructor for simple userId and password authentication.
+     *
+     * @param serverName name of the OMAG Server to call
+     * @param serverPlatformURLRoot URL root of the server platform where the OMAG Server is running.
+     * @param userId user id for the HTTP request
+     * @param password password for the HTTP request
+     * @throws InvalidParameterException there is a problem creating the client-side components to issue any
+     * REST API calls.
+     */
+    public DiscoveryServerRESTClient(String serverName,
+                                     String serverPlatformURLRoot,
+                                     String userId,
+                                     String password) throws InvalidParameterException
+    {
+        super(serverName, serverPlatformURLRoot, userId, password);
+    }
+
+
+    /**
+     * Issue a GET REST call that returns a DiscoveryRequestStatisticsResponse object.
+     *
+     * @param methodName  name of the method being called.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return DiscoveryRequestStatisticsResponse
+     * @throws InvalidParameterException one of the parameters is invalid.
+     * @throws UserNotAuthorizedException the user is not authorized to make this request.
+     * @throws PropertyServerException something went wrong with the REST call stack.
+     */
+    public DiscoveryRequestStatisticsResponse callDiscoveryRequestStatisticsGetRESTCall(String    methodName,
+                                                                                        String    urlTemplate,
+                                                                                        Object... params) throws InvalidParameterException,
+                                                                                                                 UserNotAuthorizedException,
+                                                                                                                 PropertyServerException
+    {
+        DiscoveryRequestStatisticsResponse restResult = this.callGetRESTCall(methodName,
+                                                                             DiscoveryRequestStatisticsResponse.class,
+                                                                             urlTemplate,
+                                                                             params);
+
+        exceptionHandler.detectAndThrowStandardExceptions(methodName, restResult);
+
+        return restResult;
+    }
+}
@@ -177,6 +177,30 @@ public enum DiscoveryServerAuditCode
                                   "This may be a configuration error or the metadata server may be down.  Look for other error messages and review the " +
                                           "configuration of the discovery server.  Once the cause is resolved, restart the discovery server."),
 
+    SCAN_STARTING( "OMAS-DISCOVERY-SERVER-0023",
+                   OMRSAuditLogRecordSeverity.INFO,
+                   "Discovery engine {0} is starting a scan of all assets for asset discovery type {1}",
+                   "The discovery engine is retrieving the assets from the asset catalog a page at a time and queuing a discovery request for each one.",
+                   "No action is required.  The progress of the scan can be monitored through the discovery server's statistics."),
+
+    SCAN_COMPLETE( "OMAS-DISCOVERY-SERVER-0024",
+                   OMRSAuditLogRecordSeverity.INFO,
+                   "Discovery engine {0} has queued {1} discovery requests for asset discovery type {2}",
+                   "The scan of the asset catalog is complete.  The discovery requests continue to run.",
+                   "No action is required."),
+
+    SCAN_CANCELLED( "OMAS-DISCOVERY-SERVER-0025",
+                    OMRSAuditLogRecordSeverity.INFO,
+                    "Discovery engine {0} has stopped its scan for asset discovery type {1} after queuing {2} discovery requests because it is shutting down",
+                    "The rest of the assets are not analysed.",
+                    "No action is required."),
+
+    SCAN_FAILED( "OMAS-DISCOVERY-SERVER-0026",
+                 OMRSAuditLogRecordSeverity.EXCEPTION,
+                 "Discovery engine {0} has stopped its scan for asset discovery type {1} after queuing {2} discovery requests because of exception {3} with message {4}",
+                 "The rest of the assets are not analysed.",
+                 "Review the error message and any other reported failures to determine the cause of the problem.  Once this is resolved, retry the scan."),
+
     ;
 
     private String                     logMessageId;
@@ -4,6 +4,7 @@ package org.odpi.openmetadata.discoveryserver.handlers;
 
 import org.odpi.openmetadata.accessservices.discoveryengine.client.*;
 import org.odpi.openmetadata.discoveryserver.auditlog.DiscoveryServerAuditCode;
+import org.odpi.openmetadata.discoveryserver.ffdc.DiscoveryServerErrorCode;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.*;
 import org.odpi.openmetadata.frameworks.discovery.*;
@@ -15,11 +16,15 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * The DiscoveryEngineHandler is responsible for running discovery services on demand.  It is initialized
  * with the configuration for the discovery services it supports along with the clients to the
- * asset properties store and annotations store.
+ * asset properties store and annotations store.  The discovery requests run on the discovery server's
+ * DiscoveryRequestExecutor so that the number of requests running at once is bounded.
  */
 public class DiscoveryEngineHandler
 {
@@ -28,6 +33,9 @@ public class DiscoveryEngineHandler
     private OMRSAuditLog                 auditLog;                 /* Initialized in constructor */
     private DiscoveryEngineClient        discoveryEngineClient;    /* Initialized in constructor */
     private int                          maxPageSize;              /* Initialized in constructor */
+    private DiscoveryRequestExecutor     requestExecutor;          /* Initialized in constructor */
+
+    private volatile boolean             terminated = false;
 
     private String                    discoveryEngineGUID;
     private DiscoveryEngineProperties discoveryEngineProperties;
@@ -44,6 +52,7 @@ public class DiscoveryEngineHandler
      * @param discoveryEngineClient REST client for direct REST Calls
      * @param auditLog logging destination
      * @param maxPageSize maximum number of results that can be returned in a single request
+     * @param requestExecutor executor shared by the discovery engines in the server that runs the discovery requests
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user id not allowed to access configuration
      * @throws PropertyServerException problem in configuration server
@@ -54,9 +63,10 @@ public class DiscoveryEngineHandler
                                   DiscoveryConfigurationClient configurationClient,
                                   DiscoveryEngineClient        discoveryEngineClient,
                                   OMRSAuditLog                 auditLog,
-                                  int                          maxPageSize) throws InvalidParameterException,
-                                                                                   UserNotAuthorizedException,
-                                                                                   PropertyServerException
+                                  int                          maxPageSize,
+                                  DiscoveryRequestExecutor     requestExecutor) throws InvalidParameterException,
+                                                                                       UserNotAuthorizedException,
+                                                                                       PropertyServerException
     {
         this.discoveryEngineGUID       = discoveryEngineGUID;
         this.discoveryEngineProperties = configurationClient.getDiscoveryEngineByGUID(serverUserId, discoveryEngineGUID);
@@ -115,6 +125,7 @@ public class DiscoveryEngineHandler
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
         this.discoveryEngineClient = discoveryEngineClient;
+        this.requestExecutor = requestExecutor;
     }
 
 
@@ -130,7 +141,7 @@ public class DiscoveryEngineHandler
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
-     * @throws PropertyServerException there was a problem detected by the discovery engine.
+     * @throws PropertyServerException there was a problem detected by the discovery engine or its request queue is full.
      */
     public  String discoverAsset(String              assetGUID,
                                  String              assetDiscoveryType,
@@ -143,7 +154,31 @@ public class DiscoveryEngineHandler
 
         if (discoveryServiceCache != null)
         {
-            return runDiscoveryService(assetGUID, assetDiscoveryType, analysisParameters, annotationTypes, discoveryServiceCache);
+            final String methodName = "discoverAsset";
+
+            DiscoveryServiceHandler discoveryServiceHandler = getDiscoveryServiceHandler(assetGUID,
+                                                                                         assetDiscoveryType,
+                                                                                         analysisParameters,
+                                                                                         annotationTypes,
+                                                                                         discoveryServiceCache);
+
+            if ((terminated) || (! requestExecutor.trySubmit(discoveryServiceCache.getDiscoveryServiceGUID(), discoveryServiceHandler)))
+            {
+                discoveryServiceHandler.cancel();
+
+                DiscoveryServerErrorCode errorCode    = DiscoveryServerErrorCode.DISCOVERY_QUEUE_FULL;
+                String                   errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(serverName,
+                                                                                                                           assetGUID);
+
+                throw new PropertyServerException(errorCode.getHTTPErrorCode(),
+                                                  this.getClass().getName(),
+                                                  methodName,
+                                                  errorMessage,
+                                                  errorCode.getSystemAction(),
+                                                  errorCode.getUserAction());
+            }
+
+            return discoveryServiceHandler.getDiscoveryReportGUID();
         }
 
         return null;
@@ -151,7 +186,10 @@ public class DiscoveryEngineHandler
 
 
     /**
-     * Request the execution of a discovery service for each asset that is found.
+     * Request the execution of a discovery service for each asset that is found.  The scan runs in the background.
+     * The next page of assets is retrieved while the discovery requests for the current page are queued, and the
+     * scan waits when the discovery server's request queue is full.  The progress of the scan is reported through
+     * the discovery server's statistics.
      *
      * @param assetDiscoveryType identifier of the type of asset to analyze - this determines which discovery service to run.
      * @param analysisParameters name value properties to control the analysis
@@ -169,45 +207,204 @@ public class DiscoveryEngineHandler
     {
         DiscoveryServiceCache   discoveryServiceCache = discoveryServiceLookupTable.get(assetDiscoveryType);
 
-        if (discoveryServiceCache != null)
+        if ((discoveryServiceCache != null) && (! terminated))
         {
-            int      startingFrom = 0;
-            boolean  moreToReceive = true;
+            requestExecutor.submitScan(discoveryEngineGUID, () -> runScan(assetDiscoveryType, analysisParameters, annotationTypes, discoveryServiceCache));
+        }
+    }
+
+
+    /**
+     * Page through the assets, queuing a discovery request for each one.  This runs on one of the executor's scan threads.
+     *
+     * @param assetDiscoveryType type of discovery
+     * @param analysisParameters parameters for the discovery
+     * @param annotationTypes types of annotations that can be returned
+     * @param discoveryServiceCache factory for discovery services.
+     */
+    private void runScan(String                assetDiscoveryType,
+                         Map<String, String>   analysisParameters,
+                         List<String>          annotationTypes,
+                         DiscoveryServiceCache discoveryServiceCache)
+    {
+        final String             actionDescription = "scanAllAssets";
+        DiscoveryServerAuditCode auditCode;
+
+        int     queuedRequests = 0;
+        boolean stopped        = false;
 
-            while (moreToReceive)
+        auditCode = DiscoveryServerAuditCode.SCAN_STARTING;
+        auditLog.logRecord(actionDescription,
+                           auditCode.getLogMessageId(),
+                           auditCode.getSeverity(),
+                           auditCode.getFormattedLogMessage(discoveryEngineGUID, assetDiscoveryType),
+                           null,
+                           auditCode.getSystemAction(),
+                           auditCode.getUserAction());
+
+        try
+        {
+            int          startingFrom = 0;
+            List<String> assets       = discoveryEngineClient.getAssets(serverUserId, startingFrom, maxPageSize);
+
+            while ((assets != null) && (! assets.isEmpty()) && (! terminated) && (! stopped))
             {
-                List<String> assets = discoveryEngineClient.getAssets(serverUserId, startingFrom, maxPageSize);
+                CompletableFuture<List<String>> nextPage = null;
 
-                if ((assets != null) && (! assets.isEmpty()))
+                if (assets.size() >= maxPageSize)
                 {
-                    for (String assetGUID : assets)
-                    {
-                        if (assetGUID != null)
-                        {
-                            runDiscoveryService(assetGUID, assetDiscoveryType, analysisParameters, annotationTypes, discoveryServiceCache);
-                        }
-                    }
+                    final int nextStartingFrom = startingFrom + maxPageSize;
+
+                    nextPage = CompletableFuture.supplyAsync(() -> getAssetPage(nextStartingFrom), requestExecutor.getPrefetchExecutor());
+                    startingFrom = nextStartingFrom;
+                }
 
-                    if (assets.size() < maxPageSize)
+                for (String assetGUID : assets)
+                {
+                    if (terminated)
                     {
-                        moreToReceive = false;
+                        break;
                     }
-                    else
+
+                    if (assetGUID != null)
                     {
-                        startingFrom = startingFrom + maxPageSize;
+                        /*
+                         * The executor only refuses space when the discovery server is shutting down.  This stops
+                         * the scan but leaves the discovery engine as it is, and no report is created for the asset.
+                         */
+                        if (! requestExecutor.reserveSlot(discoveryEngineGUID))
+                        {
+                            stopped = true;
+                            break;
+                        }
+
+                        DiscoveryServiceHandler discoveryServiceHandler;
+
+                        try
+                        {
+                            discoveryServiceHandler = getDiscoveryServiceHandler(assetGUID,
+                                                                                 assetDiscoveryType,
+                                                                                 analysisParameters,
+                                                                                 annotationTypes,
+                                                                                 discoveryServiceCache);
+                        }
+                        catch (Throwable error)
+                        {
+                            requestExecutor.releaseSlot();
+                            throw error;
+                        }
+
+                        if (! requestExecutor.submitReserved(discoveryServiceCache.getDiscoveryServiceGUID(), discoveryServiceHandler))
+                        {
+                            discoveryServiceHandler.cancel();
+                            stopped = true;
+                            break;
+                        }
+
+                        queuedRequests++;
                     }
                 }
+
+                if ((nextPage == null) || (terminated) || (stopped))
+                {
+                    assets = null;
+                }
                 else
                 {
-                    moreToReceive = false;
+                    assets = nextPage.get();
                 }
             }
+
+            if ((terminated) || (stopped))
+            {
+                auditCode = DiscoveryServerAuditCode.SCAN_CANCELLED;
+                auditLog.logRecord(actionDescription,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(discoveryEngineGUID,
+                                                                    assetDiscoveryType,
+                                                                    Integer.toString(queuedRequests)),
+                                   null,
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
+            }
+            else
+            {
+                auditCode = DiscoveryServerAuditCode.SCAN_COMPLETE;
+                auditLog.logRecord(actionDescription,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(discoveryEngineGUID,
+                                                                    Integer.toString(queuedRequests),
+                                                                    assetDiscoveryType),
+                                   null,
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
+            }
+        }
+        catch (InterruptedException error)
+        {
+            auditCode = DiscoveryServerAuditCode.SCAN_CANCELLED;
+            auditLog.logRecord(actionDescription,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(discoveryEngineGUID,
+                                                                assetDiscoveryType,
+                                                                Integer.toString(queuedRequests)),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            Thread.currentThread().interrupt();
+        }
+        catch (Throwable error)
+        {
+            Throwable cause = error;
+
+            if (((error instanceof ExecutionException) || (error instanceof CompletionException)) && (error.getCause() != null))
+            {
+                cause = error.getCause();
+            }
+
+            auditCode = DiscoveryServerAuditCode.SCAN_FAILED;
+            auditLog.logException(actionDescription,
+                                  auditCode.getLogMessageId(),
+                                  auditCode.getSeverity(),
+                                  auditCode.getFormattedLogMessage(discoveryEngineGUID,
+                                                                   assetDiscoveryType,
+                                                                   Integer.toString(queuedRequests),
+                                                                   cause.getClass().getName(),
+                                                                   cause.getMessage()),
+                                  cause.toString(),
+                                  auditCode.getSystemAction(),
+                                  auditCode.getUserAction(),
+                                  cause);
         }
     }
 
 
     /**
-     * Run an instance of a discovery service in its own thread.
+     * Retrieve a page of assets.  This is called on a prefetch thread so the checked exceptions are wrapped.
+     *
+     * @param startingFrom starting position in the list of assets
+     * @return list of asset unique identifiers
+     */
+    private List<String> getAssetPage(int startingFrom)
+    {
+        try
+        {
+            return discoveryEngineClient.getAssets(serverUserId, startingFrom, maxPageSize);
+        }
+        catch (Exception error)
+        {
+            throw new CompletionException(error);
+        }
+    }
+
+
+    /**
+     * Set up the discovery report and context for a discovery request and return the handler that will run the
+     * discovery service.
      *
      * @param assetGUID unique identifier of the asset to analyse
      * @param assetDiscoveryType type of discovery
@@ -215,19 +412,19 @@ public class DiscoveryEngineHandler
      * @param annotationTypes types of annotations that can be returned
      * @param discoveryServiceCache factory for discovery services.
      *
-     * @return unique identifier for this request.
+     * @return handler for the request
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
      * @throws PropertyServerException there was a problem detected by the discovery engine.
      */
-    private String runDiscoveryService(String                assetGUID,
-                                       String                assetDiscoveryType,
-                                       Map<String, String>   analysisParameters,
-                                       List<String>          annotationTypes,
-                                       DiscoveryServiceCache discoveryServiceCache) throws InvalidParameterException,
-                                                                                           UserNotAuthorizedException,
-                                                                                           PropertyServerException
+    private DiscoveryServiceHandler getDiscoveryServiceHandler(String                assetGUID,
+                                                               String                assetDiscoveryType,
+                                                               Map<String, String>   analysisParameters,
+                                                               List<String>          annotationTypes,
+                                                               DiscoveryServiceCache discoveryServiceCache) throws InvalidParameterException,
+                                                                                                                   UserNotAuthorizedException,
+                                                                                                                   PropertyServerException
     {
         Date   creationTime = new Date();
 
@@ -249,8 +446,6 @@ public class DiscoveryEngineHandler
                                                                                   discoveryServiceCache.getDiscoveryServiceGUID(),
                                                                                   discoveryEngineClient);
 
-        discoveryReportClient.setDiscoveryRequestStatus(DiscoveryRequestStatus.ACTIVATING);
-
         DiscoveryAnnotationStore annotationStore = new DiscoveryAnnotationStoreClient(serverUserId,
                                                                                       assetGUID,
                                                                                       discoveryReportClient,
@@ -270,16 +465,13 @@ public class DiscoveryEngineHandler
                                                                  annotationStore,
                                                                  assetCatalogStore);
 
-        DiscoveryServiceHandler discoveryServiceHandler = new DiscoveryServiceHandler(discoveryEngineProperties,
-                                                                                      assetDiscoveryType,
-                                                                                      discoveryServiceCache.getDiscoveryServiceName(),
-                                                                                      discoveryServiceCache.getNextDiscoveryService(),
-                                                                                      discoveryContext,
-                                                                                      auditLog);
-        Thread thread = new Thread(discoveryServiceHandler, discoveryServiceCache.getDiscoveryServiceName() + assetGUID + new Date().toString());
-        thread.start();
-
-        return discoveryReportClient.getDiscoveryReportGUID();
+        return new DiscoveryServiceHandler(discoveryEngineProperties,
+                                           assetDiscoveryType,
+                                           discoveryServiceCache.getDiscoveryServiceName(),
+                                           discoveryServiceCache.getNextDiscoveryService(),
+                                           discoveryContext,
+                                           discoveryReportClient.getDiscoveryReportGUID(),
+                                           auditLog);
     }
 
 
@@ -408,13 +600,17 @@ public class DiscoveryEngineHandler
 
 
     /**
-     * Confirms termination of the discovery engine.
+     * Confirms termination of the discovery engine.  Any scans stop and the discovery requests that have not
+     * started are cancelled.
      */
     public void terminate()
     {
         final String             actionDescription = "terminate";
         DiscoveryServerAuditCode auditCode;
 
+        terminated = true;
+        requestExecutor.cancelRequests(discoveryEngineGUID);
+
         auditCode = DiscoveryServerAuditCode.ENGINE_SHUTDOWN;
         auditLog.logRecord(actionDescription,
                            auditCode.getLogMessageId(),
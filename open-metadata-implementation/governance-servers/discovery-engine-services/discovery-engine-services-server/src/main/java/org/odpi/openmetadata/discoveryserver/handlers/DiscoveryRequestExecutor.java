@@ -0,0 +1,538 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.discoveryserver.handlers;
+
+import org.odpi.openmetadata.discoveryserver.properties.DiscoveryRequestStatistics;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DiscoveryRequestExecutor runs the discovery requests for all of the discovery engines in a discovery server.
+ * It has a fixed number of worker threads and a limit on the number of requests that can be waiting for a worker.
+ * Each discovery service also has a limit on the number of its requests that can run at the same time.  Requests
+ * for a discovery service that is at its limit wait in that service's own queue so they do not hold up the
+ * requests for other services.
+ *
+ * It also owns the threads that run the scans of the asset catalog and keeps the statistics returned through the
+ * discovery server's REST API.  The statistics are kept for each discovery engine as well as for the whole server.
+ */
+public class DiscoveryRequestExecutor
+{
+    public static final int defaultWorkerCount          = 10;
+    public static final int defaultQueueLimit           = 1000;
+    public static final int defaultMaxRequestsPerService = 5;
+
+    private static final int scanThreadCount = 2;
+
+    private final String          serverName;
+    private final int             workerCount;
+    private final int             queueLimit;
+    private final int             maxRequestsPerService;
+    private final ExecutorService workers;
+    private final ExecutorService scanners;
+    private final ExecutorService prefetchers;
+    private final Semaphore       requestSlots;
+
+    private final Map<String, ServiceQueue> serviceQueues = new HashMap<>();
+
+    private final RequestCounters                  serverCounters = new RequestCounters(null);
+    private final Map<String, RequestCounters>     engineCounters = new ConcurrentHashMap<>();
+
+    private volatile boolean shutdown = false;
+
+
+    /**
+     * Create the executor.  Values of zero or less select the default.
+     *
+     * @param serverName name of the discovery server - used to name the threads
+     * @param workerCount number of discovery requests that can run at the same time
+     * @param queueLimit number of discovery requests that can wait for a worker thread
+     * @param maxRequestsPerService number of requests for a single discovery service that can run at the same time
+     */
+    public DiscoveryRequestExecutor(String serverName,
+                                    int    workerCount,
+                                    int    queueLimit,
+                                    int    maxRequestsPerService)
+    {
+        this.serverName            = serverName;
+        this.workerCount           = workerCount > 0 ? workerCount : defaultWorkerCount;
+        this.queueLimit            = queueLimit > 0 ? queueLimit : defaultQueueLimit;
+        this.maxRequestsPerService = maxRequestsPerService > 0 ? maxRequestsPerService : defaultMaxRequestsPerService;
+
+        this.workers      = Executors.newFixedThreadPool(this.workerCount, getThreadFactory("DiscoveryRequest"));
+        this.scanners     = Executors.newFixedThreadPool(scanThreadCount, getThreadFactory("DiscoveryScan"));
+        this.prefetchers  = Executors.newCachedThreadPool(getThreadFactory("DiscoveryScanPrefetch"));
+        this.requestSlots = new Semaphore(this.workerCount + this.queueLimit);
+    }
+
+
+    /**
+     * Return a thread factory that creates named daemon threads.
+     *
+     * @param threadType type of work done by the threads
+     * @return thread factory
+     */
+    private ThreadFactory getThreadFactory(String threadType)
+    {
+        final AtomicInteger threadNumber = new AtomicInteger(0);
+
+        return runnable ->
+        {
+            Thread thread = new Thread(runnable, threadType + "-" + serverName + "-" + threadNumber.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+
+    /**
+     * Queue a discovery request if there is space, otherwise reject it.
+     *
+     * @param discoveryServiceGUID unique identifier of the discovery service that will run the request
+     * @param request request to run
+     * @return false if the queue is full or the executor is shut down
+     */
+    boolean trySubmit(String                  discoveryServiceGUID,
+                      DiscoveryServiceHandler request)
+    {
+        if ((! shutdown) && (requestSlots.tryAcquire()))
+        {
+            queueRequest(discoveryServiceGUID, request);
+            return true;
+        }
+
+        getCounters(request.getDiscoveryEngineGUID()).rejected();
+        return false;
+    }
+
+
+    /**
+     * Reserve space in the queue for a discovery request, waiting if the queue is full.  This is used when
+     * scanning the asset catalog so that the scan does not run ahead of the discovery services, and so that
+     * the discovery report is only created for a request that can be queued.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine making the request
+     * @return false if the executor was shut down - the request is counted as rejected
+     * @throws InterruptedException the scan was cancelled while waiting
+     */
+    boolean reserveSlot(String discoveryEngineGUID) throws InterruptedException
+    {
+        while (! shutdown)
+        {
+            if (requestSlots.tryAcquire(1, TimeUnit.SECONDS))
+            {
+                return true;
+            }
+        }
+
+        getCounters(discoveryEngineGUID).rejected();
+        return false;
+    }
+
+
+    /**
+     * Queue a discovery request in the space reserved by reserveSlot.
+     *
+     * @param discoveryServiceGUID unique identifier of the discovery service that will run the request
+     * @param request request to run
+     * @return false if the executor was shut down after the space was reserved
+     */
+    boolean submitReserved(String                  discoveryServiceGUID,
+                           DiscoveryServiceHandler request)
+    {
+        if (shutdown)
+        {
+            releaseSlot();
+            getCounters(request.getDiscoveryEngineGUID()).rejected();
+            return false;
+        }
+
+        queueRequest(discoveryServiceGUID, request);
+        return true;
+    }
+
+
+    /**
+     * Give back the space reserved by reserveSlot when the request could not be created.
+     */
+    void releaseSlot()
+    {
+        requestSlots.release();
+    }
+
+
+    /**
+     * Run a scan of the asset catalog on one of the scan threads.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine running the scan
+     * @param scan scan to run
+     */
+    void submitScan(String   discoveryEngineGUID,
+                    Runnable scan)
+    {
+        RequestCounters counters = getCounters(discoveryEngineGUID);
+
+        scanners.execute(() ->
+                         {
+                             counters.scanStarted();
+                             try
+                             {
+                                 scan.run();
+                             }
+                             finally
+                             {
+                                 counters.scanEnded();
+                             }
+                         });
+    }
+
+
+    /**
+     * Return the executor used to retrieve the next page of assets while the current page is being processed.
+     *
+     * @return executor service
+     */
+    ExecutorService getPrefetchExecutor()
+    {
+        return prefetchers;
+    }
+
+
+    /**
+     * Return whether the executor has been shut down.
+     *
+     * @return boolean
+     */
+    boolean isShutdown()
+    {
+        return shutdown;
+    }
+
+
+    /**
+     * Remove the requests for a discovery engine that have not started.  This is called when the discovery
+     * engine is terminated.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine
+     */
+    void cancelRequests(String discoveryEngineGUID)
+    {
+        synchronized (serviceQueues)
+        {
+            for (ServiceQueue serviceQueue : serviceQueues.values())
+            {
+                Iterator<DiscoveryServiceHandler> iterator = serviceQueue.waitingRequests.iterator();
+
+                while (iterator.hasNext())
+                {
+                    DiscoveryServiceHandler request = iterator.next();
+
+                    if (discoveryEngineGUID.equals(request.getDiscoveryEngineGUID()))
+                    {
+                        iterator.remove();
+                        request.cancel();
+                        requestSlots.release();
+                        getCounters(discoveryEngineGUID).cancelled();
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Stop the scans, abandon the waiting requests and interrupt the running ones.
+     */
+    public void shutdown()
+    {
+        shutdown = true;
+
+        scanners.shutdownNow();
+        prefetchers.shutdownNow();
+
+        synchronized (serviceQueues)
+        {
+            for (ServiceQueue serviceQueue : serviceQueues.values())
+            {
+                for (DiscoveryServiceHandler request : serviceQueue.waitingRequests)
+                {
+                    getCounters(request.getDiscoveryEngineGUID()).cancelled();
+                }
+                serviceQueue.waitingRequests.clear();
+            }
+        }
+
+        workers.shutdownNow();
+    }
+
+
+    /**
+     * Return the current statistics for all of the discovery requests in the server.
+     *
+     * @return statistics bean
+     */
+    public DiscoveryRequestStatistics getStatistics()
+    {
+        return getStatistics(null, serverCounters);
+    }
+
+
+    /**
+     * Return the current statistics for the discovery requests of one discovery engine.  The worker count and
+     * limits are those of the whole server since the engines share the worker threads.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine
+     * @return statistics bean
+     */
+    public DiscoveryRequestStatistics getStatistics(String discoveryEngineGUID)
+    {
+        RequestCounters counters = engineCounters.get(discoveryEngineGUID);
+
+        return getStatistics(discoveryEngineGUID, counters == null ? new RequestCounters(null) : counters);
+    }
+
+
+    /**
+     * Fill out the statistics bean from a set of counters.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine or null for the whole server
+     * @param counters counters to report
+     * @return statistics bean
+     */
+    private DiscoveryRequestStatistics getStatistics(String          discoveryEngineGUID,
+                                                     RequestCounters counters)
+    {
+        DiscoveryRequestStatistics statistics = new DiscoveryRequestStatistics();
+
+        long completed      = counters.completedRequests.get();
+        long failed         = counters.failedRequests.get();
+        long elapsedMinutes = Math.max(1, TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - counters.startTime));
+        int  active         = counters.activeRequests.get();
+
+        statistics.setServerName(serverName);
+        statistics.setDiscoveryEngineGUID(discoveryEngineGUID);
+        statistics.setWorkerCount(workerCount);
+        statistics.setQueueLimit(queueLimit);
+        statistics.setMaxRequestsPerService(maxRequestsPerService);
+        statistics.setActiveRequests(active);
+        statistics.setQueuedRequests((int)Math.max(0, counters.submittedRequests.get() - completed - failed - counters.cancelledRequests.get() - active));
+        statistics.setActiveScans(counters.activeScans.get());
+        statistics.setCompletedRequests(completed);
+        statistics.setFailedRequests(failed);
+        statistics.setRejectedRequests(counters.rejectedRequests.get());
+        statistics.setCancelledRequests(counters.cancelledRequests.get());
+        statistics.setAssetsPerMinute((double)(completed + failed) / elapsedMinutes);
+
+        return statistics;
+    }
+
+
+    /**
+     * Return the counters for a discovery engine.  They also update the counters for the whole server.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine
+     * @return counters
+     */
+    private RequestCounters getCounters(String discoveryEngineGUID)
+    {
+        if (discoveryEngineGUID == null)
+        {
+            return new RequestCounters(serverCounters);
+        }
+
+        return engineCounters.computeIfAbsent(discoveryEngineGUID, key -> new RequestCounters(serverCounters));
+    }
+
+
+    /**
+     * Pass the request to the worker threads, or hold it in the service's queue if the service is
+     * already running its maximum number of requests.  The caller has acquired a request slot.
+     *
+     * @param discoveryServiceGUID unique identifier of the discovery service that will run the request
+     * @param request request to run
+     */
+    private void queueRequest(String                  discoveryServiceGUID,
+                              DiscoveryServiceHandler request)
+    {
+        getCounters(request.getDiscoveryEngineGUID()).submitted();
+
+        synchronized (serviceQueues)
+        {
+            ServiceQueue serviceQueue = serviceQueues.computeIfAbsent(discoveryServiceGUID, key -> new ServiceQueue());
+
+            if (serviceQueue.runningRequests < maxRequestsPerService)
+            {
+                serviceQueue.runningRequests++;
+                workers.execute(() -> runRequest(serviceQueue, request));
+            }
+            else
+            {
+                serviceQueue.waitingRequests.add(request);
+            }
+        }
+    }
+
+
+    /**
+     * Run a request on a worker thread and then start the next request waiting for the same service.
+     *
+     * @param serviceQueue requests for the discovery service
+     * @param request request to run
+     */
+    private void runRequest(ServiceQueue            serviceQueue,
+                            DiscoveryServiceHandler request)
+    {
+        DiscoveryServiceHandler nextRequest = request;
+
+        while (nextRequest != null)
+        {
+            RequestCounters counters = getCounters(nextRequest.getDiscoveryEngineGUID());
+            boolean         failed   = true;
+
+            counters.requestStarted();
+
+            try
+            {
+                nextRequest.run();
+                failed = nextRequest.isFailed();
+            }
+            catch (Throwable error)
+            {
+                failed = true;
+            }
+            finally
+            {
+                counters.requestEnded(failed);
+                requestSlots.release();
+            }
+
+            synchronized (serviceQueues)
+            {
+                nextRequest = shutdown ? null : serviceQueue.waitingRequests.poll();
+
+                if (nextRequest == null)
+                {
+                    serviceQueue.runningRequests--;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * RequestCounters holds the statistics for one discovery engine, or for the whole server.  The counters of a
+     * discovery engine pass each change on to the counters of the server.
+     */
+    private static class RequestCounters
+    {
+        final RequestCounters serverCounters;
+        final long            startTime         = System.currentTimeMillis();
+        final AtomicLong      submittedRequests = new AtomicLong(0);
+        final AtomicLong      completedRequests = new AtomicLong(0);
+        final AtomicLong      failedRequests    = new AtomicLong(0);
+        final AtomicLong      rejectedRequests  = new AtomicLong(0);
+        final AtomicLong      cancelledRequests = new AtomicLong(0);
+        final AtomicInteger   activeRequests    = new AtomicInteger(0);
+        final AtomicInteger   activeScans       = new AtomicInteger(0);
+
+        RequestCounters(RequestCounters serverCounters)
+        {
+            this.serverCounters = serverCounters;
+        }
+
+        void submitted()
+        {
+            submittedRequests.incrementAndGet();
+            if (serverCounters != null)
+            {
+                serverCounters.submitted();
+            }
+        }
+
+        void rejected()
+        {
+            rejectedRequests.incrementAndGet();
+            if (serverCounters != null)
+            {
+                serverCounters.rejected();
+            }
+        }
+
+        void cancelled()
+        {
+            cancelledRequests.incrementAndGet();
+            if (serverCounters != null)
+            {
+                serverCounters.cancelled();
+            }
+        }
+
+        void requestStarted()
+        {
+            activeRequests.incrementAndGet();
+            if (serverCounters != null)
+            {
+                serverCounters.requestStarted();
+            }
+        }
+
+        void requestEnded(boolean failed)
+        {
+            if (failed)
+            {
+                failedRequests.incrementAndGet();
+            }
+            else
+            {
+                completedRequests.incrementAndGet();
+            }
+            activeRequests.decrementAndGet();
+            if (serverCounters != null)
+            {
+                serverCounters.requestEnded(failed);
+            }
+        }
+
+        void scanStarted()
+        {
+            activeScans.incrementAndGet();
+            if (serverCounters != null)
+            {
+                serverCounters.scanStarted();
+            }
+        }
+
+        void scanEnded()
+        {
+            activeScans.decrementAndGet();
+            if (serverCounters != null)
+            {
+                serverCounters.scanEnded();
+            }
+        }
+    }
+
+
+    /**
+     * ServiceQueue holds the requests for one discovery service that are waiting because the service is running
+     * its maximum number of requests.  It is guarded by the serviceQueues map.
+     */
+    private static class ServiceQueue
+    {
+        int                            runningRequests = 0;
+        Queue<DiscoveryServiceHandler> waitingRequests = new ArrayDeque<>();
+    }
+}
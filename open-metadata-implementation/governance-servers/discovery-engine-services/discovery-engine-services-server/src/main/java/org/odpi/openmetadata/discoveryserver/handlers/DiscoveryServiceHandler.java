@@ -13,7 +13,8 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import java.util.Date;
 
 /**
- * DiscoveryServiceHandler provides the thread to run a discovery service.
+ * DiscoveryServiceHandler runs a discovery service.  It is queued on the discovery server's
+ * DiscoveryRequestExecutor and run on one of its worker threads.
  */
 public class DiscoveryServiceHandler implements Runnable
 {
@@ -22,8 +23,11 @@ public class DiscoveryServiceHandler implements Runnable
     private String                    discoveryServiceName;
     private DiscoveryService          discoveryService;
     private DiscoveryContext          discoveryContext;
+    private String                    discoveryReportGUID;
     private OMRSAuditLog              auditLog;
 
+    private volatile boolean          failed = false;
+
 
     /**
      * Constructor sets up the key parameters for running the discovery service.
@@ -35,6 +39,7 @@ public class DiscoveryServiceHandler implements Runnable
      * @param discoveryServiceName name of this discovery service - used for message logging
      * @param discoveryService connector that does the work
      * @param discoveryContext context for the connector
+     * @param discoveryReportGUID unique identifier of the discovery report for this request
      * @param auditLog destination for log messages
      */
      DiscoveryServiceHandler(DiscoveryEngineProperties discoveryEngineProperties,
@@ -42,6 +47,7 @@ public class DiscoveryServiceHandler implements Runnable
                              String                    discoveryServiceName,
                              DiscoveryService          discoveryService,
                              DiscoveryContext          discoveryContext,
+                             String                    discoveryReportGUID,
                              OMRSAuditLog              auditLog)
     {
         this.discoveryEngineProperties = discoveryEngineProperties;
@@ -49,10 +55,64 @@ public class DiscoveryServiceHandler implements Runnable
         this.discoveryServiceName      = discoveryServiceName;
         this.discoveryService          = discoveryService;
         this.discoveryContext          = discoveryContext;
+        this.discoveryReportGUID       = discoveryReportGUID;
         this.auditLog                  = auditLog;
     }
 
 
+    /**
+     * Return the unique identifier of the discovery engine that issued this request.
+     *
+     * @return string guid
+     */
+    String getDiscoveryEngineGUID()
+    {
+        return discoveryEngineProperties.getGUID();
+    }
+
+
+    /**
+     * Return the unique identifier of the discovery report for this request.
+     *
+     * @return string guid
+     */
+    String getDiscoveryReportGUID()
+    {
+        return discoveryReportGUID;
+    }
+
+
+    /**
+     * Return whether the discovery service failed.
+     *
+     * @return boolean
+     */
+    boolean isFailed()
+    {
+        return failed;
+    }
+
+
+    /**
+     * The request is not going to run because the discovery engine is shutting down.
+     */
+    void cancel()
+    {
+        failed = true;
+
+        try
+        {
+            discoveryContext.getAnnotationStore().getDiscoveryReport().setDiscoveryRequestStatus(DiscoveryRequestStatus.FAILED);
+        }
+        catch (Throwable statusError)
+        {
+            /*
+             * The discovery engine is shutting down so the report may not be reachable.
+             */
+        }
+    }
+
+
     /**
      * This is the method that provides the behaviour of the thread.
      */
@@ -65,14 +125,10 @@ public class DiscoveryServiceHandler implements Runnable
 
         final String actionDescription = "Analyse an Asset";
 
-        String discoveryReportGUID = null;
-
         try
         {
             DiscoveryReport discoveryReport = discoveryContext.getAnnotationStore().getDiscoveryReport();
 
-            discoveryReportGUID = discoveryReport.getDiscoveryReportGUID();
-
             auditCode = DiscoveryServerAuditCode.DISCOVERY_SERVICE_STARTING;
             auditLog.logRecord(actionDescription,
                                auditCode.getLogMessageId(),
@@ -115,6 +171,8 @@ public class DiscoveryServiceHandler implements Runnable
         }
         catch (Throwable  error)
         {
+            failed = true;
+
             auditCode = DiscoveryServerAuditCode.DISCOVERY_SERVICE_FAILED;
             auditLog.logRecord(actionDescription,
                                auditCode.getLogMessageId(),
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.discoveryserver.server;
 import org.odpi.openmetadata.commonservices.multitenant.GovernanceServerServiceInstance;
 import org.odpi.openmetadata.discoveryserver.ffdc.DiscoveryServerErrorCode;
 import org.odpi.openmetadata.discoveryserver.handlers.DiscoveryEngineHandler;
+import org.odpi.openmetadata.discoveryserver.handlers.DiscoveryRequestExecutor;
+import org.odpi.openmetadata.discoveryserver.properties.DiscoveryRequestStatistics;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 
@@ -17,6 +19,7 @@ import java.util.Map;
 public class DiscoveryServerInstance extends GovernanceServerServiceInstance
 {
     private Map<String, DiscoveryEngineHandler> discoveryEngineInstances;
+    private DiscoveryRequestExecutor            requestExecutor;
 
 
     /**
@@ -30,6 +33,7 @@ public class DiscoveryServerInstance extends GovernanceServerServiceInstance
      * @param accessServiceRootURL URL root for server platform where the access service is running.
      * @param accessServiceServerName name of the server where the access service is running.
      * @param discoveryEngineInstances active discovery engines in this server.
+     * @param requestExecutor executor that runs the discovery requests for the discovery engines.
      */
     public DiscoveryServerInstance(String                              serverName,
                                    String                              serviceName,
@@ -38,11 +42,25 @@ public class DiscoveryServerInstance extends GovernanceServerServiceInstance
                                    int                                 maxPageSize,
                                    String                              accessServiceRootURL,
                                    String                              accessServiceServerName,
-                                   Map<String, DiscoveryEngineHandler> discoveryEngineInstances)
+                                   Map<String, DiscoveryEngineHandler> discoveryEngineInstances,
+                                   DiscoveryRequestExecutor            requestExecutor)
     {
         super(serverName, serviceName, auditLog, localServerUserId, maxPageSize, accessServiceRootURL, accessServiceServerName);
 
         this.discoveryEngineInstances = discoveryEngineInstances;
+        this.requestExecutor = requestExecutor;
+    }
+
+
+    /**
+     * Return the statistics for the discovery requests of a discovery engine running in this server.
+     *
+     * @param discoveryEngineGUID unique identifier of the discovery engine
+     * @return statistics
+     */
+    DiscoveryRequestStatistics getDiscoveryRequestStatistics(String discoveryEngineGUID)
+    {
+        return requestExecutor.getStatistics(discoveryEngineGUID);
     }
 
 
@@ -97,6 +115,11 @@ public class DiscoveryServerInstance extends GovernanceServerServiceInstance
             }
         }
 
+        if (requestExecutor != null)
+        {
+            requestExecutor.shutdown();
+        }
+
         super.shutdown();
     }
 }
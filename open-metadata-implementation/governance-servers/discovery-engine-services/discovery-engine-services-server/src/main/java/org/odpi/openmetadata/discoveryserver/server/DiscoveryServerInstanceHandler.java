@@ -5,6 +5,7 @@ package org.odpi.openmetadata.discoveryserver.server;
 import org.odpi.openmetadata.adminservices.configuration.registration.GovernanceServicesDescription;
 import org.odpi.openmetadata.commonservices.multitenant.GovernanceServerServiceInstanceHandler;
 import org.odpi.openmetadata.discoveryserver.handlers.DiscoveryEngineHandler;
+import org.odpi.openmetadata.discoveryserver.properties.DiscoveryRequestStatistics;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
@@ -53,4 +54,36 @@ class DiscoveryServerInstanceHandler extends GovernanceServerServiceInstanceHand
 
         return null;
     }
+
+
+    /**
+     * Retrieve the statistics for the discovery requests of a discovery engine.
+     *
+     * @param userId calling user
+     * @param serverName name of the server tied to the request
+     * @param discoveryEngineGUID unique identifier of the discovery engine used to make the request
+     * @param serviceOperationName name of the REST API call (typically the top-level methodName)
+     * @return statistics
+     * @throws InvalidParameterException no available instance for the requested server
+     * @throws UserNotAuthorizedException user does not have access to the requested server
+     * @throws PropertyServerException the service name is not known - indicating a logic error
+     */
+    DiscoveryRequestStatistics getDiscoveryRequestStatistics(String userId,
+                                                             String serverName,
+                                                             String discoveryEngineGUID,
+                                                             String serviceOperationName) throws InvalidParameterException,
+                                                                                                 UserNotAuthorizedException,
+                                                                                                 PropertyServerException
+    {
+        DiscoveryServerInstance instance = (DiscoveryServerInstance)super.getServerServiceInstance(userId, serverName, serviceOperationName);
+
+        if (instance != null)
+        {
+            instance.getDiscoveryEngine(discoveryEngineGUID);
+
+            return instance.getDiscoveryRequestStatistics(discoveryEngineGUID);
+        }
+
+        return null;
+    }
 }
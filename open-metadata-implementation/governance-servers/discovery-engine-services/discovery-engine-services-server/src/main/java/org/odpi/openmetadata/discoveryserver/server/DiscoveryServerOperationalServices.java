@@ -11,6 +11,7 @@ import org.odpi.openmetadata.commonservices.odf.metadatamanagement.client.ODFRES
 import org.odpi.openmetadata.discoveryserver.auditlog.DiscoveryServerAuditCode;
 import org.odpi.openmetadata.discoveryserver.ffdc.DiscoveryServerErrorCode;
 import org.odpi.openmetadata.discoveryserver.handlers.DiscoveryEngineHandler;
+import org.odpi.openmetadata.discoveryserver.handlers.DiscoveryRequestExecutor;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.discovery.properties.DiscoveryEngineProperties;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
@@ -155,6 +156,14 @@ public class DiscoveryServerOperationalServices
          */
         List<String> discoveryEngineGUIDs = this.getDiscoveryEngineGUIDs(discoveryServerConfig, configurationClient);
 
+        /*
+         * The discovery requests from all of the discovery engines run on a shared executor.
+         */
+        DiscoveryRequestExecutor requestExecutor = new DiscoveryRequestExecutor(localServerName,
+                                                                                discoveryServerConfig.getMaxDiscoveryWorkers(),
+                                                                                discoveryServerConfig.getMaxQueuedDiscoveryRequests(),
+                                                                                discoveryServerConfig.getMaxConcurrentRequestsPerService());
+
         /*
          * Create a discovery handler for each of the discovery engines.
          */
@@ -162,10 +171,14 @@ public class DiscoveryServerOperationalServices
                                                                                                       accessServiceRootURL,
                                                                                                       accessServiceServerName,
                                                                                                       configurationClient,
-                                                                                                      restClient);
+                                                                                                      restClient,
+                                                                                                      requestExecutor);
 
         if (discoveryEngineHandlers == null)
         {
+            requestExecutor.shutdown();
+
+
             auditCode = DiscoveryServerAuditCode.NO_DISCOVERY_ENGINES_STARTED;
             auditLog.logRecord(actionDescription,
                                auditCode.getLogMessageId(),
@@ -193,7 +206,8 @@ public class DiscoveryServerOperationalServices
                                                                   maxPageSize,
                                                                   discoveryServerConfig.getAccessServiceRootURL(),
                                                                   discoveryServerConfig.getAccessServiceServerName(),
-                                                                  discoveryEngineHandlers);
+                                                                  discoveryEngineHandlers,
+                                                                  requestExecutor);
         }
     }
 
@@ -390,6 +404,7 @@ public class DiscoveryServerOperationalServices
      * @param accessServiceServerName Server Name for the Discovery Engine OMAS
      * @param configurationClient client to retrieve configuration from
      * @param odfRESTClient client for calling REST APIs
+     * @param requestExecutor executor for the discovery requests
      * @return map of discovery engine GUIDs to handlers
      * @throws OMAGConfigurationErrorException problem with config
      */
@@ -397,7 +412,8 @@ public class DiscoveryServerOperationalServices
                                                                             String                       accessServiceRootURL,
                                                                             String                       accessServiceServerName,
                                                                             DiscoveryConfigurationClient configurationClient,
-                                                                            ODFRESTClient                odfRESTClient) throws OMAGConfigurationErrorException
+                                                                            ODFRESTClient                odfRESTClient,
+                                                                            DiscoveryRequestExecutor     requestExecutor) throws OMAGConfigurationErrorException
     {
         Map<String, DiscoveryEngineHandler> discoveryEngineHandlers = new HashMap<>();
 
@@ -415,7 +431,8 @@ public class DiscoveryServerOperationalServices
                                                                                                            accessServiceRootURL,
                                                                                                            odfRESTClient),
                                                                                  auditLog,
-                                                                                 maxPageSize);
+                                                                                 maxPageSize,
+                                                                                 requestExecutor);
 
                     discoveryEngineHandlers.put(discoveryEngineGUID, handler);
                 }
@@ -436,6 +453,8 @@ public class DiscoveryServerOperationalServices
                                   auditCode.getUserAction(),
                                   error);
 
+            requestExecutor.shutdown();
+
             DiscoveryServerErrorCode errorCode    = DiscoveryServerErrorCode.SERVICE_INSTANCE_FAILURE;
             String                   errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(localServerName, error.getMessage());
 
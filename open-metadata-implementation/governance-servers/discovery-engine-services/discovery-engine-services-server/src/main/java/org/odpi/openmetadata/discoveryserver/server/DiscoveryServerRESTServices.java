@@ -7,6 +7,7 @@ import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.*;
 import org.odpi.openmetadata.discoveryserver.handlers.DiscoveryEngineHandler;
+import org.odpi.openmetadata.discoveryserver.rest.DiscoveryRequestStatisticsResponse;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
@@ -412,4 +413,61 @@ public class DiscoveryServerRESTServices
 
         return response;
     }
+
+
+    /**
+     * Return the progress and throughput of the discovery requests of this discovery engine.
+     * The worker count and limits returned are those of the discovery server since its discovery engines
+     * share the same worker threads.
+     *
+     * @param serverName name of the discovery server.
+     * @param discoveryEngineGUID unique identifier of the discovery engine.
+     * @param userId calling user
+     *
+     * @return statistics or
+     *
+     *  InvalidParameterException the discovery engine is not known or
+     *  UserNotAuthorizedException user not authorized to issue this request or
+     *  PropertyServerException the discovery server is not running.
+     */
+    public DiscoveryRequestStatisticsResponse getDiscoveryRequestStatistics(String   serverName,
+                                                                            String   discoveryEngineGUID,
+                                                                            String   userId)
+    {
+        final String        methodName = "getDiscoveryRequestStatistics";
+
+        log.debug("Calling method: " + methodName);
+
+        DiscoveryRequestStatisticsResponse response = new DiscoveryRequestStatisticsResponse();
+        OMRSAuditLog                       auditLog = null;
+
+        try
+        {
+            auditLog = instanceHandler.getAuditLog(userId, serverName, methodName);
+            response.setStatistics(instanceHandler.getDiscoveryRequestStatistics(userId,
+                                                                                 serverName,
+                                                                                 discoveryEngineGUID,
+                                                                                 methodName));
+        }
+        catch (InvalidParameterException error)
+        {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (PropertyServerException error)
+        {
+            restExceptionHandler.capturePropertyServerException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            restExceptionHandler.captureUserNotAuthorizedException(response, error);
+        }
+        catch (Throwable error)
+        {
+            restExceptionHandler.captureThrowable(response, error, methodName, auditLog);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
 }
@@ -0,0 +1,261 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.discoveryserver.handlers;
+
+import org.odpi.openmetadata.discoveryserver.properties.DiscoveryRequestStatistics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that DiscoveryRequestExecutor limits the requests run for each discovery service, bounds the number of
+ * waiting requests, cancels the waiting requests of a terminated discovery engine, rejects the requests of a scan
+ * once it is shut down and keeps statistics for each discovery engine.
+ */
+public class DiscoveryRequestExecutorTest
+{
+    private static final String engineOne  = "engine-1";
+    private static final String engineTwo  = "engine-2";
+    private static final String serviceOne = "service-1";
+    private static final String serviceTwo = "service-2";
+
+    private CountDownLatch           release  = null;
+    private DiscoveryRequestExecutor executor = null;
+
+
+    /**
+     * Discovery request that waits for the test to release it.
+     */
+    private class TestRequest extends DiscoveryServiceHandler
+    {
+        private final String        discoveryEngineGUID;
+        private final AtomicInteger running;
+        private final AtomicInteger maxRunning;
+        private volatile boolean    cancelled = false;
+
+
+        TestRequest(String        discoveryEngineGUID,
+                    AtomicInteger running,
+                    AtomicInteger maxRunning)
+        {
+            super(null, null, null, null, null, null, null);
+
+            this.discoveryEngineGUID = discoveryEngineGUID;
+            this.running             = running;
+            this.maxRunning          = maxRunning;
+        }
+
+
+        @Override
+        String getDiscoveryEngineGUID()
+        {
+            return discoveryEngineGUID;
+        }
+
+
+        @Override
+        void cancel()
+        {
+            cancelled = true;
+        }
+
+
+        @Override
+        public void run()
+        {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+
+    @BeforeMethod
+    public void createLatch()
+    {
+        release = new CountDownLatch(1);
+    }
+
+
+    @AfterMethod
+    public void shutdownExecutor()
+    {
+        release.countDown();
+
+        if (executor != null)
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+
+        while (! condition.getAsBoolean())
+        {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the executor");
+            Thread.sleep(10);
+        }
+    }
+
+
+    @Test
+    public void testRequestsLimitedForEachService() throws Exception
+    {
+        executor = new DiscoveryRequestExecutor("TestServer", 4, 10, 2);
+
+        AtomicInteger runningOne = new AtomicInteger(0);
+        AtomicInteger maxOne     = new AtomicInteger(0);
+        AtomicInteger runningTwo = new AtomicInteger(0);
+        AtomicInteger maxTwo     = new AtomicInteger(0);
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(executor.trySubmit(serviceOne, new TestRequest(engineOne, runningOne, maxOne)));
+        }
+        assertTrue(executor.trySubmit(serviceTwo, new TestRequest(engineOne, runningTwo, maxTwo)));
+
+        /*
+         * The second service is not held up by the requests waiting for the first.
+         */
+        waitFor(() -> (runningOne.get() == 2) && (runningTwo.get() == 1));
+
+        DiscoveryRequestStatistics statistics = executor.getStatistics();
+        assertEquals(statistics.getActiveRequests(), 3);
+        assertEquals(statistics.getQueuedRequests(), 2);
+
+        release.countDown();
+        waitFor(() -> executor.getStatistics().getCompletedRequests() == 5);
+
+        assertEquals(maxOne.get(), 2);
+        assertEquals(maxTwo.get(), 1);
+    }
+
+
+    @Test
+    public void testQueueLimit() throws Exception
+    {
+        executor = new DiscoveryRequestExecutor("TestServer", 1, 2, 1);
+
+        AtomicInteger running    = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+
+        /*
+         * One request runs and two wait - the next one is rejected.
+         */
+        for (int i = 0; i < 3; i++)
+        {
+            assertTrue(executor.trySubmit(serviceOne, new TestRequest(engineOne, running, maxRunning)));
+        }
+        assertFalse(executor.trySubmit(serviceTwo, new TestRequest(engineOne, running, maxRunning)));
+        assertEquals(executor.getStatistics().getRejectedRequests(), 1);
+
+        release.countDown();
+        waitFor(() -> executor.getStatistics().getCompletedRequests() == 3);
+
+        assertTrue(executor.trySubmit(serviceOne, new TestRequest(engineOne, running, maxRunning)));
+        waitFor(() -> executor.getStatistics().getCompletedRequests() == 4);
+    }
+
+
+    @Test
+    public void testScanRequestsRejectedAfterShutdown() throws Exception
+    {
+        executor = new DiscoveryRequestExecutor("TestServer", 1, 1, 1);
+
+        AtomicInteger running    = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+
+        assertTrue(executor.reserveSlot(engineOne));
+        assertTrue(executor.submitReserved(serviceOne, new TestRequest(engineOne, running, maxRunning)));
+        waitFor(() -> running.get() == 1);
+
+        /*
+         * A slot released without a request can be reserved again.
+         */
+        assertTrue(executor.reserveSlot(engineOne));
+        executor.releaseSlot();
+        assertTrue(executor.reserveSlot(engineOne));
+
+        executor.shutdown();
+
+        TestRequest reserved = new TestRequest(engineOne, running, maxRunning);
+        assertFalse(executor.submitReserved(serviceOne, reserved));
+        assertFalse(executor.reserveSlot(engineOne));
+        assertFalse(reserved.cancelled);
+
+        assertEquals(executor.getStatistics(engineOne).getRejectedRequests(), 2);
+        assertEquals(executor.getStatistics(engineTwo).getRejectedRequests(), 0);
+    }
+
+
+    @Test
+    public void testWaitingRequestsCancelledForEngine() throws Exception
+    {
+        executor = new DiscoveryRequestExecutor("TestServer", 1, 10, 1);
+
+        AtomicInteger running    = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+
+        TestRequest firstOne  = new TestRequest(engineOne, running, maxRunning);
+        TestRequest secondOne = new TestRequest(engineOne, running, maxRunning);
+        TestRequest thirdOne  = new TestRequest(engineOne, running, maxRunning);
+        TestRequest firstTwo  = new TestRequest(engineTwo, running, maxRunning);
+
+        assertTrue(executor.trySubmit(serviceOne, firstOne));
+        waitFor(() -> running.get() == 1);
+        assertTrue(executor.trySubmit(serviceOne, secondOne));
+        assertTrue(executor.trySubmit(serviceOne, firstTwo));
+        assertTrue(executor.trySubmit(serviceOne, thirdOne));
+
+        /*
+         * This is what terminate() does for the first engine.
+         */
+        executor.cancelRequests(engineOne);
+
+        assertFalse(firstOne.cancelled);
+        assertTrue(secondOne.cancelled);
+        assertTrue(thirdOne.cancelled);
+        assertFalse(firstTwo.cancelled);
+
+        release.countDown();
+        waitFor(() -> executor.getStatistics().getCompletedRequests() == 2);
+
+        DiscoveryRequestStatistics statisticsOne = executor.getStatistics(engineOne);
+        assertEquals(statisticsOne.getDiscoveryEngineGUID(), engineOne);
+        assertEquals(statisticsOne.getCompletedRequests(), 1);
+        assertEquals(statisticsOne.getCancelledRequests(), 2);
+        assertEquals(statisticsOne.getQueuedRequests(), 0);
+
+        DiscoveryRequestStatistics statisticsTwo = executor.getStatistics(engineTwo);
+        assertEquals(statisticsTwo.getCompletedRequests(), 1);
+        assertEquals(statisticsTwo.getCancelledRequests(), 0);
+
+        DiscoveryRequestStatistics serverStatistics = executor.getStatistics();
+        assertEquals(serverStatistics.getCompletedRequests(), 2);
+        assertEquals(serverStatistics.getCancelledRequests(), 2);
+        assertEquals(serverStatistics.getQueuedRequests(), 0);
+    }
+}
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.discoveryserver.server.spring;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.commonservices.odf.metadatamanagement.rest.*;
+import org.odpi.openmetadata.discoveryserver.rest.DiscoveryRequestStatisticsResponse;
 import org.odpi.openmetadata.discoveryserver.server.DiscoveryServerRESTServices;
 import org.springframework.web.bind.annotation.*;
 
@@ -198,4 +199,29 @@ public class DiscoveryServerResource
     {
         return restAPI.getAnnotation(serverName, discoveryEngineGUID, userId, discoveryRequestGUID, annotationGUID);
     }
+
+
+    /**
+     * Return the progress and throughput of the discovery requests of this discovery engine.
+     * The worker count and limits returned are those of the discovery server since its discovery engines
+     * share the same worker threads.
+     *
+     * @param serverName name of the discovery server.
+     * @param discoveryEngineGUID unique identifier of the discovery engine.
+     * @param userId calling user
+     *
+     * @return statistics or
+     *
+     *  InvalidParameterException the discovery engine is not known or
+     *  UserNotAuthorizedException user not authorized to issue this request or
+     *  PropertyServerException the discovery server is not running.
+     */
+    @GetMapping(path = "/statistics")
+
+    public DiscoveryRequestStatisticsResponse getDiscoveryRequestStatistics(@PathVariable String   serverName,
+                                                                            @PathVariable String   discoveryEngineGUID,
+                                                                            @PathVariable String   userId)
+    {
+        return restAPI.getDiscoveryRequestStatistics(serverName, discoveryEngineGUID, userId);
+    }
 }
@@ -36,11 +36,20 @@ public interface BufferGraph extends OpenLineageGraph {
     void deleteEntity(String guid);
 
     /**
-     * Task that the scheduler performs based on the interval
+     * Task that the scheduler performs based on the interval. It moves the processes that have changed
+     * in the buffer graph since the last run to the main graph, once enough of them are waiting or the
+     * oldest change has waited long enough.
      *
      */
     void schedulerTask();
 
+    /**
+     * Requests that every process in the buffer graph is moved to the main graph again on the next
+     * run of the scheduler task, to reconcile the main graph with the buffer graph.
+     *
+     */
+    void rebuildMainGraph();
+
     void setMainGraph(Object mainGraph);
 
 }
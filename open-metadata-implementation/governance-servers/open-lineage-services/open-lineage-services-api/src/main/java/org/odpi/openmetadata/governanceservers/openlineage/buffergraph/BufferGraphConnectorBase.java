@@ -27,6 +27,9 @@ public abstract class BufferGraphConnectorBase extends ConnectorBase implements
     @Override
     public abstract void schedulerTask();
 
+    @Override
+    public abstract void rebuildMainGraph();
+
     @Override
     public abstract void setMainGraph(Object mainGraph);
 
@@ -120,7 +120,7 @@ public class OpenLineageServerOperationalServices {
         }
 
         StoringServices storingServices = new StoringServices(bufferGraphConnector);
-        OpenLineageHandler openLineageHandler = new OpenLineageHandler(mainGraphConnector);
+        OpenLineageHandler openLineageHandler = new OpenLineageHandler(mainGraphConnector, bufferGraphConnector);
 
         this.openLineageServerInstance = new
                 OpenLineageServerInstance(
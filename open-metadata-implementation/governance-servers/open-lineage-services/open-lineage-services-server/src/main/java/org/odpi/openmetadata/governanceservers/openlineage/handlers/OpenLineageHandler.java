@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.governanceservers.openlineage.handlers;
 
+import org.odpi.openmetadata.governanceservers.openlineage.buffergraph.BufferGraph;
 import org.odpi.openmetadata.governanceservers.openlineage.ffdc.OpenLineageException;
 import org.odpi.openmetadata.governanceservers.openlineage.maingraph.MainGraph;
 import org.odpi.openmetadata.governanceservers.openlineage.model.Scope;
@@ -11,9 +12,11 @@ import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResp
 public class OpenLineageHandler {
 
     private MainGraph mainGraph;
+    private BufferGraph bufferGraph;
 
-    public OpenLineageHandler(MainGraph mainGraph) {
+    public OpenLineageHandler(MainGraph mainGraph, BufferGraph bufferGraph) {
         this.mainGraph = mainGraph;
+        this.bufferGraph = bufferGraph;
     }
 
     /**
@@ -47,4 +50,12 @@ public class OpenLineageHandler {
         return mainGraph.exportMainGraph();
     }
 
+    /**
+     * Move every process in the buffer graph to the main graph again, to reconcile the two graphs.
+     *
+     */
+    public void rebuildMainGraph() {
+        bufferGraph.rebuildMainGraph();
+    }
+
 }
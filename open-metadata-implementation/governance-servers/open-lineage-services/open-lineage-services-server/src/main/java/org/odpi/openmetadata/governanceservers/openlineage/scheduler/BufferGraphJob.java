@@ -17,7 +17,7 @@ public class BufferGraphJob implements Job {
     @Override
     public void execute(JobExecutionContext context) {
         LocalDateTime localTime = LocalDateTime.now();
-        System.out.println("Run QuartzJob at " + localTime);
+        log.debug("Run QuartzJob at {}", localTime);
 
         JobKey key = context.getJobDetail().getKey();
 
@@ -58,8 +58,9 @@ public class JobConfiguration {
 
     private static Trigger buildSimpleSchedulerTrigger() {
 
-        //TODO change seconds now is used for developing
-        int INTERVAL_SECONDS = 15;
+        //the buffer graph decides on each run whether enough changes are waiting to be moved to the main graph,
+        //so the interval only bounds how late a due batch can start
+        int INTERVAL_SECONDS = 1;
 
         Trigger trigger = TriggerBuilder.newTrigger().withIdentity("BufferGraphJob", GROUP)
                 .withSchedule(
@@ -42,6 +42,26 @@ public class OpenLineageRestServices {
         return response;
     }
 
+    public VoidResponse rebuildMainGraph(String serverName, String userId) {
+        VoidResponse response = new VoidResponse();
+        final String methodName = "OpenLineageRestServices.rebuildMainGraph";
+        try {
+            OpenLineageHandler openLineageHandler = instanceHandler.getOpenLineageHandler(userId,
+                    serverName,
+                    methodName);
+            openLineageHandler.rebuildMainGraph();
+        } catch (InvalidParameterException error) {
+            openLineageExceptionHandler.captureInvalidParameterException(response, error);
+        } catch (org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException error) {
+            openLineageExceptionHandler.capturePropertyServerException(response, error);
+        } catch (UserNotAuthorizedException error) {
+            openLineageExceptionHandler.captureUserNotAuthorizedException(response, error);
+        } catch (Throwable error) {
+            openLineageExceptionHandler.captureThrowable(response, error, methodName);
+        }
+        return response;
+    }
+
     public String exportMainGraph(String serverName, String userId) {
         String response;
         final String methodName = "OpenLineageRestServices.exportGraph";
@@ -52,6 +52,20 @@ public class OpenLineageResource {
         return restAPI.dumpGraph(serverName, userId);
     }
 
+    /**
+     * Move every process in the buffer graph to the main graph again, to reconcile the main graph with the
+     * buffer graph. The work is done in the background by the buffer graph scheduler.
+     *
+     * @param userId     calling user.
+     * @param serverName name of the server instance to connect to.
+     * @return Voidresponse
+     */
+    @PostMapping(path = "/rebuild")
+    public VoidResponse rebuildMainGraph(@PathVariable("userId") String userId,
+                                         @PathVariable("serverName") String serverName) {
+        return restAPI.rebuildMainGraph(serverName, userId);
+    }
+
     /**
      * Return an entire graph, in GraphSON format.
      *
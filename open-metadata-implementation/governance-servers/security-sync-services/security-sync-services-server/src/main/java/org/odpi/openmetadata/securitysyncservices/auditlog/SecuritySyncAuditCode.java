@@ -62,7 +62,12 @@ public enum SecuritySyncAuditCode {
             OMRSAuditLogRecordSeverity.INFO,
             "The Security Sync Server finished the synchronization of policies from external policies enforcement tool",
             "The Security Sync instance synchronized the policies defined in the external policies enforcement tool the repository.",
-            "No action is required.  This is part of the normal flow.");
+            "No action is required.  This is part of the normal flow."),
+    SYNCHRONIZE_RESUMED("SECURITY-SYNC--0012",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The Security Sync resumed from the changes applied up to event {0} with {1} changes still to apply",
+            "The Security Sync instance skipped the initial load of governed assets because the previous instance shut down cleanly and saved its watermark.",
+            "No action is required.  Remove the watermark file to force a full synchronization on the next start.");
     private String logMessageId;
     private OMRSAuditLogRecordSeverity severity;
     private String logMessage;
@@ -0,0 +1,97 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.securitysyncservices.processor;
+
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GovernedAssetChangeQueue holds the changes to governed assets that are waiting to be sent to the security
+ * server.  Changes are keyed by asset GUID so a later change to an asset replaces the earlier one, and only the
+ * latest state of each asset is sent however many events arrive between flushes.
+ */
+public class GovernedAssetChangeQueue {
+
+    private final Map<String, PendingAssetChange> pendingChanges = new LinkedHashMap<>();
+    private long lastSequence = 0L;
+
+    /**
+     * Queue the change, replacing any change to the same asset that has not been sent.
+     *
+     * @return sequence number of the change
+     */
+    public synchronized long add(GovernedAsset governedAsset, PendingAssetChange.ChangeType changeType) {
+        lastSequence++;
+        pendingChanges.remove(governedAsset.getGuid());
+        pendingChanges.put(governedAsset.getGuid(), new PendingAssetChange(lastSequence, changeType, governedAsset));
+        return lastSequence;
+    }
+
+    /**
+     * Remove and return up to maxChanges of the oldest changes.
+     */
+    public synchronized List<PendingAssetChange> drain(int maxChanges) {
+        List<PendingAssetChange> changes = new ArrayList<>(Math.min(maxChanges, pendingChanges.size()));
+        Iterator<PendingAssetChange> iterator = pendingChanges.values().iterator();
+
+        while (iterator.hasNext() && changes.size() < maxChanges) {
+            changes.add(iterator.next());
+            iterator.remove();
+        }
+        return changes;
+    }
+
+    /**
+     * Put back changes that could not be applied, unless a newer change to the same asset has arrived.
+     */
+    public synchronized void retry(List<PendingAssetChange> changes) {
+        for (PendingAssetChange change : changes) {
+            pendingChanges.putIfAbsent(change.getGovernedAsset().getGuid(), change);
+        }
+    }
+
+    /**
+     * Restore the changes saved by an earlier run of the server.  Changes queued since the server started are
+     * newer than the saved changes, so they replace the saved change to the same asset and are given sequence
+     * numbers after the saved ones.
+     */
+    public synchronized void restore(long lastSequence, List<PendingAssetChange> changes) {
+        List<PendingAssetChange> queuedChanges = new ArrayList<>(pendingChanges.values());
+
+        pendingChanges.clear();
+        if (changes != null) {
+            changes.forEach(change -> pendingChanges.put(change.getGovernedAsset().getGuid(), change));
+        }
+        this.lastSequence = Math.max(this.lastSequence, lastSequence);
+        queuedChanges.forEach(change -> add(change.getGovernedAsset(), change.getChangeType()));
+    }
+
+    public synchronized List<PendingAssetChange> getPendingChanges() {
+        return new ArrayList<>(pendingChanges.values());
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingChanges.isEmpty();
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Return the watermark: every change with this sequence number or lower has been applied.  Changes that
+     * are drained but not yet retried are treated as applied, so the watermark is only saved between flushes.
+     */
+    public synchronized long getAppliedSequence() {
+        long applied = lastSequence;
+        for (PendingAssetChange change : pendingChanges.values()) {
+            applied = Math.min(applied, change.getSequence() - 1);
+        }
+        return applied;
+    }
+}
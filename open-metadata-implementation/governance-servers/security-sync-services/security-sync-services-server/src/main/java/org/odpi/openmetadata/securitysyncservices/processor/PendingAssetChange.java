@@ -0,0 +1,81 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.securitysyncservices.processor;
+
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
+
+import java.util.Objects;
+
+/**
+ * PendingAssetChange is the latest change received for a governed asset that has not yet been applied to the
+ * security server.  The sequence number orders the changes received by this server.
+ */
+public class PendingAssetChange {
+
+    public enum ChangeType {
+        CLASSIFIED,
+        DECLASSIFIED,
+        DELETED
+    }
+
+    private long sequence;
+    private ChangeType changeType;
+    private GovernedAsset governedAsset;
+
+    public PendingAssetChange() {
+    }
+
+    public PendingAssetChange(long sequence, ChangeType changeType, GovernedAsset governedAsset) {
+        this.sequence = sequence;
+        this.changeType = changeType;
+        this.governedAsset = governedAsset;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public GovernedAsset getGovernedAsset() {
+        return governedAsset;
+    }
+
+    public void setGovernedAsset(GovernedAsset governedAsset) {
+        this.governedAsset = governedAsset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PendingAssetChange that = (PendingAssetChange) o;
+        return sequence == that.sequence &&
+                changeType == that.changeType &&
+                Objects.equals(governedAsset, that.governedAsset);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sequence, changeType, governedAsset);
+    }
+
+    @Override
+    public String toString() {
+        return "PendingAssetChange{" +
+                "sequence=" + sequence +
+                ", changeType=" + changeType +
+                ", governedAsset=" + governedAsset +
+                '}';
+    }
+}
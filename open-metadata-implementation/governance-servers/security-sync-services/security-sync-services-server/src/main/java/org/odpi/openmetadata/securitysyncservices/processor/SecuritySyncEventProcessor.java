@@ -26,15 +26,30 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.DEFAULT_SYNC_FLUSH_INTERVAL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.DEFAULT_SYNC_RECONCILIATION_INTERVAL;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.GOVERNANCE_ENGINE_OMAS_URL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_FLUSH_INTERVAL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_INCREMENTAL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_RECONCILIATION_INTERVAL;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_SERVER;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_WATERMARK_FILE;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_TAGS;
 
 import static com.google.json.JsonSanitizer.sanitize;
@@ -44,18 +59,89 @@ public class SecuritySyncEventProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(SecuritySyncEventProcessor.class);
     private static final Long DEFAULT_POLLING_INTERVAL = 360L;
+    private static final int MAX_CHANGES_PER_FLUSH = 10000;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final ScheduledExecutorService reconciliationScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SecuritySyncReconciliation");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final GovernedAssetChangeQueue changeQueue = new GovernedAssetChangeQueue();
+    private final Object flushLock = new Object();
     private OMRSAuditLog auditLog;
     private SecuritySyncConfig securitySyncConfig;
     private RangerSecurityServiceConnector rangerOpenConnector;
     private Long tagPoliciesLastKnownVersion = 0L;
     private Long accessPoliciesLastKnownVersion = 0L;
+    private boolean incremental;
+    private long flushInterval;
+    private long reconciliationInterval;
+    private File watermarkFile;
+    private volatile long lastReconciliationTime = 0L;
 
     public SecuritySyncEventProcessor(SecuritySyncConfig securitySyncConfig, OMRSAuditLog auditLog) {
+        this(securitySyncConfig, auditLog, new RangerSecurityServiceConnector(securitySyncConfig.getSecuritySyncServerConnection()));
+    }
+
+    SecuritySyncEventProcessor(SecuritySyncConfig securitySyncConfig, OMRSAuditLog auditLog, RangerSecurityServiceConnector rangerOpenConnector) {
         this.auditLog = auditLog;
         this.securitySyncConfig = securitySyncConfig;
-        rangerOpenConnector = new RangerSecurityServiceConnector(securitySyncConfig.getSecuritySyncServerConnection());
+        this.rangerOpenConnector = rangerOpenConnector;
+
+        Map<String, Object> properties = securitySyncConfig.getSecuritySyncServerConnection() != null
+                ? securitySyncConfig.getSecuritySyncServerConnection().getConfigurationProperties() : null;
+        if (properties != null) {
+            incremental = properties.get(SECURITY_SYNC_INCREMENTAL) != null && Boolean.parseBoolean(properties.get(SECURITY_SYNC_INCREMENTAL).toString());
+            watermarkFile = properties.get(SECURITY_SYNC_WATERMARK_FILE) != null ? new File(properties.get(SECURITY_SYNC_WATERMARK_FILE).toString()) : null;
+        }
+        flushInterval = getLongProperty(properties, SECURITY_SYNC_FLUSH_INTERVAL, DEFAULT_SYNC_FLUSH_INTERVAL);
+        reconciliationInterval = getLongProperty(properties, SECURITY_SYNC_RECONCILIATION_INTERVAL, DEFAULT_SYNC_RECONCILIATION_INTERVAL);
+    }
+
+    /**
+     * Bring the security server up to date with the governed assets.  In incremental mode a restart after a clean
+     * shutdown resumes from the saved watermark instead of reading every governed asset, and the queued
+     * classification events are flushed on a schedule with a periodic full reconciliation at low priority.
+     * This is called before the in topic is started; any change queued earlier is kept and applied after the
+     * saved changes.
+     */
+    public void synchronizeGovernedAssets() {
+        if (!incremental) {
+            processExistingGovernedAssetsFromRepository();
+            return;
+        }
+
+        SecuritySyncWatermark watermark = loadWatermark();
+        long reconciliationDelay = reconciliationInterval;
+
+        if (watermark != null && watermark.isCleanShutdown()) {
+            changeQueue.restore(watermark.getLastSequence(), watermark.getPendingChanges());
+            lastReconciliationTime = watermark.getLastReconciliationTime();
+
+            long sinceReconciliation = SECONDS.convert(System.currentTimeMillis() - lastReconciliationTime, MILLISECONDS);
+            reconciliationDelay = Math.max(0L, reconciliationInterval - sinceReconciliation);
+
+            SecuritySyncAuditCode auditCode = SecuritySyncAuditCode.SYNCHRONIZE_RESUMED;
+            auditLog.logRecord("synchronizeGovernedAssets",
+                    auditCode.getLogMessageId(),
+                    auditCode.getSeverity(),
+                    auditCode.getFormattedLogMessage(String.valueOf(watermark.getAppliedSequence()), String.valueOf(watermark.getPendingChanges().size())),
+                    null,
+                    auditCode.getSystemAction(),
+                    auditCode.getUserAction());
+        } else {
+            processExistingGovernedAssetsFromRepository();
+        }
+
+        synchronized (flushLock) {
+            saveWatermark(false);
+        }
+
+        scheduler.scheduleWithFixedDelay(this::flushChangesSafely, flushInterval, flushInterval, SECONDS);
+        reconciliationScheduler.scheduleWithFixedDelay(this::reconcileGovernedAssets, reconciliationDelay, reconciliationInterval, SECONDS);
     }
 
     public void processExistingGovernedAssetsFromRepository() {
@@ -69,6 +155,51 @@ public class SecuritySyncEventProcessor {
         List<GovernedAsset> governedAssets = governedAssetResponse.getGovernedAssetList();
 
         rangerOpenConnector.importTaggedResources(governedAssets);
+        lastReconciliationTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Send the queued changes to the security server.  The changes to assets that could not be applied are put
+     * back on the queue (unless a newer change has arrived) and the watermark is saved.
+     */
+    public void flushChanges() {
+        synchronized (flushLock) {
+            boolean applied = true;
+
+            while (applied && !changeQueue.isEmpty()) {
+                List<PendingAssetChange> changes = changeQueue.drain(MAX_CHANGES_PER_FLUSH);
+                Set<String> failedAssetGuids = applyChanges(changes);
+
+                List<PendingAssetChange> failedChanges = new ArrayList<>();
+                for (PendingAssetChange change : changes) {
+                    if (failedAssetGuids.contains(change.getGovernedAsset().getGuid())) {
+                        failedChanges.add(change);
+                    }
+                }
+                changeQueue.retry(failedChanges);
+                applied = failedChanges.isEmpty();
+
+                log.debug("Applied {} of {} queued asset changes", changes.size() - failedChanges.size(), changes.size());
+            }
+
+            saveWatermark(false);
+        }
+    }
+
+    /**
+     * Stop the scheduled work.  In incremental mode the queued changes are flushed and the watermark is saved
+     * as a clean shutdown so the next start can resume from it.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        reconciliationScheduler.shutdownNow();
+
+        if (incremental) {
+            flushChanges();
+            synchronized (flushLock) {
+                saveWatermark(true);
+            }
+        }
     }
 
     public void syncSecurityPolicies() {
@@ -96,6 +227,11 @@ public class SecuritySyncEventProcessor {
     public void processClassifiedGovernedAssetEvent(GovernedAsset governedAsset) {
         logProcessing("processClassifiedGovernedAssetEvent", SecuritySyncAuditCode.CLASSIFIED_GOVERNED_ASSET_EVENT_RECEIVED);
 
+        if (incremental) {
+            queueChange(governedAsset, PendingAssetChange.ChangeType.CLASSIFIED);
+            return;
+        }
+
         List<RangerTag> securityTags = rangerOpenConnector.createSecurityTags(governedAsset.getAssignedGovernanceClassification());
         if (securityTags == null || securityTags.isEmpty()) {
             return;
@@ -110,6 +246,11 @@ public class SecuritySyncEventProcessor {
     public void processReClassifiedGovernedAssetEvent(GovernedAsset governedAsset) {
         logProcessing("processReClassifiedGovernedAssetEvent", SecuritySyncAuditCode.RE_CLASSIFIED_GOVERNED_ASSET_EVENT_RECEIVED);
 
+        if (incremental) {
+            queueChange(governedAsset, PendingAssetChange.ChangeType.CLASSIFIED);
+            return;
+        }
+
         RangerServiceResource resource = declassifiedGovernedAsset(governedAsset);
 
         if (governedAsset.getAssignedGovernanceClassification() == null) {
@@ -133,12 +274,22 @@ public class SecuritySyncEventProcessor {
     public void processDeClassifiedGovernedAssetEvent(GovernedAsset governedAsset) {
         logProcessing("processDeclassifiedGovernedAssetEvent", SecuritySyncAuditCode.DE_CLASSIFIED_GOVERNED_ASSET_EVENT_RECEIVED);
 
+        if (incremental) {
+            queueChange(governedAsset, PendingAssetChange.ChangeType.DECLASSIFIED);
+            return;
+        }
+
         declassifiedGovernedAsset(governedAsset);
     }
 
     public void processDeletedGovernedAssetEvent(GovernedAsset governedAsset) {
         logProcessing("processDeclassifiedGovernedAssetEvent", SecuritySyncAuditCode.DELETED_GOVERNED_ASSET_EVENT_RECEIVED);
 
+        if (incremental) {
+            queueChange(governedAsset, PendingAssetChange.ChangeType.DELETED);
+            return;
+        }
+
         RangerServiceResource resource = declassifiedGovernedAsset(governedAsset);
 
         if (resource != null && resource.getGuid() != null) {
@@ -146,6 +297,123 @@ public class SecuritySyncEventProcessor {
         }
     }
 
+    private void queueChange(GovernedAsset governedAsset, PendingAssetChange.ChangeType changeType) {
+        if (governedAsset == null || governedAsset.getGuid() == null) {
+            return;
+        }
+        changeQueue.add(governedAsset, changeType);
+    }
+
+    private Set<String> applyChanges(List<PendingAssetChange> changes) {
+        List<GovernedAsset> classifiedAssets = new ArrayList<>();
+        Set<String> declassifiedAssetGuids = new HashSet<>();
+        Set<String> deletedAssetGuids = new HashSet<>();
+
+        for (PendingAssetChange change : changes) {
+            switch (change.getChangeType()) {
+                case CLASSIFIED:
+                    classifiedAssets.add(change.getGovernedAsset());
+                    break;
+                case DECLASSIFIED:
+                    declassifiedAssetGuids.add(change.getGovernedAsset().getGuid());
+                    break;
+                case DELETED:
+                    deletedAssetGuids.add(change.getGovernedAsset().getGuid());
+                    break;
+            }
+        }
+
+        try {
+            return rangerOpenConnector.syncChangedResources(classifiedAssets, declassifiedAssetGuids, deletedAssetGuids);
+        } catch (RuntimeException exception) {
+            log.error("Unable to apply the changes to {} governed assets", changes.size(), exception);
+        }
+
+        Set<String> failedAssetGuids = new HashSet<>();
+        changes.forEach(change -> failedAssetGuids.add(change.getGovernedAsset().getGuid()));
+        return failedAssetGuids;
+    }
+
+    /**
+     * An exception escaping a scheduled task would stop the schedule, so it is logged instead.
+     */
+    private void flushChangesSafely() {
+        try {
+            flushChanges();
+        } catch (RuntimeException exception) {
+            log.error("Unable to flush the queued governed asset changes", exception);
+        }
+    }
+
+    /**
+     * Flushes wait for the reconciliation so a change applied while the governed assets are being read is not
+     * overwritten by the older state of the asset.
+     */
+    private void reconcileGovernedAssets() {
+        try {
+            synchronized (flushLock) {
+                flushChanges();
+                processExistingGovernedAssetsFromRepository();
+                saveWatermark(false);
+            }
+        } catch (RuntimeException exception) {
+            log.error("Unable to reconcile the governed assets with the security server", exception);
+        }
+    }
+
+    private SecuritySyncWatermark loadWatermark() {
+        if (watermarkFile == null || !watermarkFile.exists()) {
+            return null;
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(watermarkFile, SecuritySyncWatermark.class);
+        } catch (IOException exception) {
+            log.error("Unable to read the security sync watermark file {}", watermarkFile);
+        }
+        return null;
+    }
+
+    /**
+     * The watermark is written to a temporary file that then replaces the watermark file so a failure part way
+     * through leaves the previous watermark in place.
+     */
+    private void saveWatermark(boolean cleanShutdown) {
+        if (watermarkFile == null) {
+            return;
+        }
+
+        SecuritySyncWatermark watermark = new SecuritySyncWatermark();
+        watermark.setAppliedSequence(changeQueue.getAppliedSequence());
+        watermark.setLastSequence(changeQueue.getLastSequence());
+        watermark.setLastReconciliationTime(lastReconciliationTime);
+        watermark.setCleanShutdown(cleanShutdown);
+        watermark.setPendingChanges(changeQueue.getPendingChanges());
+
+        Path watermarkPath = watermarkFile.toPath();
+        Path tempPath = watermarkPath.resolveSibling(watermarkFile.getName() + ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(tempPath.toFile(), watermark);
+            Files.move(tempPath, watermarkPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            log.error("Unable to save the security sync watermark file {}", watermarkFile);
+        }
+    }
+
+    private long getLongProperty(Map<String, Object> properties, String propertyName, long defaultValue) {
+        if (properties == null || properties.get(propertyName) == null) {
+            return defaultValue;
+        }
+
+        try {
+            long value = Long.parseLong(properties.get(propertyName).toString());
+            return value > 0 ? value : defaultValue;
+        } catch (NumberFormatException exception) {
+            log.error("Invalid value for the configuration property {}", propertyName);
+        }
+        return defaultValue;
+    }
+
     private void logProcessing(String action, SecuritySyncAuditCode auditCode) {
 
         auditLog.logRecord(action,
@@ -0,0 +1,71 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.securitysyncservices.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SecuritySyncWatermark is saved by the incremental mode of the security sync server so that a restart can
+ * resume from the last applied change rather than resynchronizing every governed asset.  It is only trusted
+ * when the previous run shut down cleanly; otherwise changes received since the last save may have been lost.
+ */
+public class SecuritySyncWatermark {
+
+    private long appliedSequence;
+    private long lastSequence;
+    private long lastReconciliationTime;
+    private boolean cleanShutdown;
+    private List<PendingAssetChange> pendingChanges = new ArrayList<>();
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public void setAppliedSequence(long appliedSequence) {
+        this.appliedSequence = appliedSequence;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public long getLastReconciliationTime() {
+        return lastReconciliationTime;
+    }
+
+    public void setLastReconciliationTime(long lastReconciliationTime) {
+        this.lastReconciliationTime = lastReconciliationTime;
+    }
+
+    public boolean isCleanShutdown() {
+        return cleanShutdown;
+    }
+
+    public void setCleanShutdown(boolean cleanShutdown) {
+        this.cleanShutdown = cleanShutdown;
+    }
+
+    public List<PendingAssetChange> getPendingChanges() {
+        return pendingChanges;
+    }
+
+    public void setPendingChanges(List<PendingAssetChange> pendingChanges) {
+        this.pendingChanges = pendingChanges;
+    }
+
+    @Override
+    public String toString() {
+        return "SecuritySyncWatermark{" +
+                "appliedSequence=" + appliedSequence +
+                ", lastSequence=" + lastSequence +
+                ", lastReconciliationTime=" + lastReconciliationTime +
+                ", cleanShutdown=" + cleanShutdown +
+                ", pendingChanges=" + pendingChanges +
+                '}';
+    }
+}
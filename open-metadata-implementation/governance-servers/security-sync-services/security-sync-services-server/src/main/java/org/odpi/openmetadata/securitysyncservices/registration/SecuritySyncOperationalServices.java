@@ -23,6 +23,7 @@ public class SecuritySyncOperationalServices {
 
     private static final Logger log = LoggerFactory.getLogger(SecuritySyncOperationalServices.class);
     private OpenMetadataTopicConnector inTopic;
+    private SecuritySyncEventProcessor securitySyncEventProcessor;
     private String localServerName;               /* Initialized in constructor */
     private String localServerType;               /* Initialized in constructor */
     private String localMetadataCollectionName;   /* Initialized in constructor */
@@ -63,15 +64,15 @@ public class SecuritySyncOperationalServices {
 
             logAudit(SecuritySyncAuditCode.SERVICE_INITIALIZING, actionDescription);
 
-            SecuritySyncEventProcessor securitySyncEventProcessor = new SecuritySyncEventProcessor(securitySyncConfig, auditLog);
+            securitySyncEventProcessor = new SecuritySyncEventProcessor(securitySyncConfig, auditLog);
 
             inTopic = getTopicConnector(securitySyncConfig.getSecuritySyncInTopic(), auditLog);
             OpenMetadataTopicListener governanceEventListener = new SecuritySyncEventListener(securitySyncEventProcessor);
             inTopic.registerListener(governanceEventListener);
 
+            securitySyncEventProcessor.synchronizeGovernedAssets();
             startTopic(inTopic, securitySyncConfig.getSecuritySyncInTopicName());
 
-            securitySyncEventProcessor.processExistingGovernedAssetsFromRepository();
             securitySyncEventProcessor.processSecurityServicePolicies();
             securitySyncEventProcessor.syncSecurityPolicies();
             logAudit(SecuritySyncAuditCode.SERVICE_INITIALIZED, actionDescription);
@@ -124,6 +125,10 @@ public class SecuritySyncOperationalServices {
             log.error("Error disconnecting in topic connector");
         }
 
+        if (securitySyncEventProcessor != null) {
+            securitySyncEventProcessor.shutdown();
+        }
+
         final String actionDescription = "shutdown";
         logAudit(SecuritySyncAuditCode.SERVICE_SHUTDOWN, actionDescription);
 
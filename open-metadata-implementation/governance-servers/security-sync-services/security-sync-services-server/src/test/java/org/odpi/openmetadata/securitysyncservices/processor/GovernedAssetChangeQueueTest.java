@@ -0,0 +1,119 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.securitysyncservices.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernanceClassification;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * GovernedAssetChangeQueueTest validates that the queue keeps only the latest change to each asset and that
+ * the watermark only moves past the changes that have been applied.
+ */
+public class GovernedAssetChangeQueueTest {
+
+    @Test
+    public void testChangesAreCoalesced() {
+        GovernedAssetChangeQueue queue = new GovernedAssetChangeQueue();
+
+        queue.add(getGovernedAsset("asset-1", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+        queue.add(getGovernedAsset("asset-2", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+        queue.add(getGovernedAsset("asset-1", "Restricted"), PendingAssetChange.ChangeType.CLASSIFIED);
+        queue.add(getGovernedAsset("asset-2", null), PendingAssetChange.ChangeType.DELETED);
+
+        List<PendingAssetChange> changes = queue.drain(10);
+
+        assertEquals(changes.size(), 2);
+        assertEquals(changes.get(0).getGovernedAsset().getGuid(), "asset-1");
+        assertEquals(changes.get(0).getSequence(), 3L);
+        assertEquals(changes.get(0).getGovernedAsset().getAssignedGovernanceClassification().getSecurityLabels(), Collections.singletonList("Restricted"));
+        assertEquals(changes.get(1).getChangeType(), PendingAssetChange.ChangeType.DELETED);
+        assertTrue(queue.isEmpty());
+        assertEquals(queue.getAppliedSequence(), 4L);
+    }
+
+    @Test
+    public void testRetryKeepsNewerChanges() {
+        GovernedAssetChangeQueue queue = new GovernedAssetChangeQueue();
+
+        queue.add(getGovernedAsset("asset-1", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+        queue.add(getGovernedAsset("asset-2", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+
+        List<PendingAssetChange> changes = queue.drain(10);
+        queue.add(getGovernedAsset("asset-2", null), PendingAssetChange.ChangeType.DECLASSIFIED);
+        queue.retry(changes);
+
+        List<PendingAssetChange> pendingChanges = queue.getPendingChanges();
+
+        assertEquals(pendingChanges.size(), 2);
+        assertEquals(pendingChanges.get(0).getChangeType(), PendingAssetChange.ChangeType.DECLASSIFIED);
+        assertEquals(pendingChanges.get(1).getSequence(), 1L);
+        assertEquals(queue.getAppliedSequence(), 0L);
+    }
+
+    @Test
+    public void testWatermarkRestoresQueue() throws IOException {
+        GovernedAssetChangeQueue queue = new GovernedAssetChangeQueue();
+
+        queue.add(getGovernedAsset("asset-1", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+        queue.drain(10);
+        queue.add(getGovernedAsset("asset-2", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+
+        SecuritySyncWatermark watermark = new SecuritySyncWatermark();
+        watermark.setAppliedSequence(queue.getAppliedSequence());
+        watermark.setLastSequence(queue.getLastSequence());
+        watermark.setCleanShutdown(true);
+        watermark.setPendingChanges(queue.getPendingChanges());
+
+        ObjectMapper mapper = new ObjectMapper();
+        SecuritySyncWatermark restored = mapper.readValue(mapper.writeValueAsString(watermark), SecuritySyncWatermark.class);
+
+        GovernedAssetChangeQueue restoredQueue = new GovernedAssetChangeQueue();
+        restoredQueue.restore(restored.getLastSequence(), restored.getPendingChanges());
+
+        assertEquals(restored.getAppliedSequence(), 1L);
+        assertEquals(restoredQueue.getAppliedSequence(), 1L);
+        assertEquals(restoredQueue.getPendingChanges().get(0).getGovernedAsset().getGuid(), "asset-2");
+        assertEquals(restoredQueue.add(getGovernedAsset("asset-3", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED), 3L);
+    }
+
+    @Test
+    public void testRestoreKeepsQueuedChanges() {
+        GovernedAssetChangeQueue savedQueue = new GovernedAssetChangeQueue();
+        savedQueue.add(getGovernedAsset("asset-1", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+        savedQueue.add(getGovernedAsset("asset-2", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED);
+
+        GovernedAssetChangeQueue queue = new GovernedAssetChangeQueue();
+        queue.add(getGovernedAsset("asset-2", null), PendingAssetChange.ChangeType.DECLASSIFIED);
+        queue.restore(savedQueue.getLastSequence(), savedQueue.getPendingChanges());
+
+        List<PendingAssetChange> pendingChanges = queue.getPendingChanges();
+
+        assertEquals(pendingChanges.size(), 2);
+        assertEquals(pendingChanges.get(0).getGovernedAsset().getGuid(), "asset-1");
+        assertEquals(pendingChanges.get(0).getSequence(), 1L);
+        assertEquals(pendingChanges.get(1).getChangeType(), PendingAssetChange.ChangeType.DECLASSIFIED);
+        assertEquals(pendingChanges.get(1).getSequence(), 3L);
+        assertEquals(queue.add(getGovernedAsset("asset-3", "Confidential"), PendingAssetChange.ChangeType.CLASSIFIED), 4L);
+    }
+
+    private GovernedAsset getGovernedAsset(String guid, String securityLabel) {
+        GovernedAsset governedAsset = new GovernedAsset();
+        governedAsset.setGuid(guid);
+
+        if (securityLabel != null) {
+            GovernanceClassification classification = new GovernanceClassification();
+            classification.setSecurityLabels(Collections.singletonList(securityLabel));
+            governedAsset.setAssignedGovernanceClassification(classification);
+        }
+        return governedAsset;
+    }
+}
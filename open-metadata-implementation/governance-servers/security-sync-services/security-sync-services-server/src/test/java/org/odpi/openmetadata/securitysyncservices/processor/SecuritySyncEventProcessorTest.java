@@ -0,0 +1,123 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.securitysyncservices.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernanceClassification;
+import org.odpi.openmetadata.accessservices.governanceengine.api.objects.GovernedAsset;
+import org.odpi.openmetadata.adminservices.configuration.properties.SecuritySyncConfig;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.RangerSecurityServiceConnector;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_FLUSH_INTERVAL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_INCREMENTAL;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.securitysync.rangerconnector.util.Constants.SECURITY_SYNC_WATERMARK_FILE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * SecuritySyncEventProcessorTest validates that a restart from a clean shutdown applies the saved changes and the
+ * changes that arrived while the server was starting, and moves the watermark past both.
+ */
+public class SecuritySyncEventProcessorTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private File watermarkFile;
+    private RangerSecurityServiceConnector rangerConnector;
+    private List<String> syncedAssetGuids;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        watermarkFile = Files.createTempFile("security-sync", ".json").toFile();
+        rangerConnector = mock(RangerSecurityServiceConnector.class);
+        syncedAssetGuids = new ArrayList<>();
+
+        when(rangerConnector.syncChangedResources(any(), any(), any())).thenAnswer(invocation -> {
+            List<GovernedAsset> classifiedAssets = invocation.getArgument(0);
+            Set<String> declassifiedAssetGuids = invocation.getArgument(1);
+            classifiedAssets.forEach(asset -> syncedAssetGuids.add(asset.getGuid()));
+            syncedAssetGuids.addAll(declassifiedAssetGuids);
+            return Collections.emptySet();
+        });
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        watermarkFile.delete();
+    }
+
+    @Test
+    public void testRestoredChangesFlushed() throws IOException {
+        GovernedAssetChangeQueue savedQueue = new GovernedAssetChangeQueue();
+        savedQueue.add(getGovernedAsset("asset-1"), PendingAssetChange.ChangeType.CLASSIFIED);
+        savedQueue.add(getGovernedAsset("asset-2"), PendingAssetChange.ChangeType.CLASSIFIED);
+
+        SecuritySyncWatermark watermark = new SecuritySyncWatermark();
+        watermark.setAppliedSequence(0L);
+        watermark.setLastSequence(savedQueue.getLastSequence());
+        watermark.setLastReconciliationTime(System.currentTimeMillis());
+        watermark.setCleanShutdown(true);
+        watermark.setPendingChanges(savedQueue.getPendingChanges());
+        OBJECT_MAPPER.writeValue(watermarkFile, watermark);
+
+        SecuritySyncEventProcessor processor = new SecuritySyncEventProcessor(getConfig(), mock(OMRSAuditLog.class), rangerConnector);
+        try {
+            processor.processDeClassifiedGovernedAssetEvent(getGovernedAsset("asset-2"));
+            processor.synchronizeGovernedAssets();
+            processor.processClassifiedGovernedAssetEvent(getGovernedAsset("asset-3"));
+            processor.flushChanges();
+        } finally {
+            processor.shutdown();
+        }
+
+        assertEquals(syncedAssetGuids, Arrays.asList("asset-1", "asset-3", "asset-2"));
+
+        SecuritySyncWatermark saved = OBJECT_MAPPER.readValue(watermarkFile, SecuritySyncWatermark.class);
+        assertEquals(saved.getLastSequence(), 4L);
+        assertEquals(saved.getAppliedSequence(), 4L);
+        assertTrue(saved.getPendingChanges().isEmpty());
+    }
+
+    private SecuritySyncConfig getConfig() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(SECURITY_SYNC_INCREMENTAL, "true");
+        properties.put(SECURITY_SYNC_FLUSH_INTERVAL, "3600");
+        properties.put(SECURITY_SYNC_WATERMARK_FILE, watermarkFile.getAbsolutePath());
+
+        Connection connection = new Connection();
+        connection.setConfigurationProperties(properties);
+
+        SecuritySyncConfig securitySyncConfig = new SecuritySyncConfig();
+        securitySyncConfig.setSecuritySyncServerConnection(connection);
+        return securitySyncConfig;
+    }
+
+    private GovernedAsset getGovernedAsset(String guid) {
+        GovernedAsset governedAsset = new GovernedAsset();
+        governedAsset.setGuid(guid);
+
+        GovernanceClassification classification = new GovernanceClassification();
+        classification.setSecurityLabels(Collections.singletonList("Confidential"));
+        governedAsset.setAssignedGovernanceClassification(classification);
+        return governedAsset;
+    }
+}
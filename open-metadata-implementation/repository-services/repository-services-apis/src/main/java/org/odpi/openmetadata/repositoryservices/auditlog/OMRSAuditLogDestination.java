@@ -7,8 +7,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStore;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -17,18 +16,20 @@ import java.util.List;
 
 /**
  * OMRSAuditLogDestination provides information needed to log records to the configured audit log destinations
- * for a specific server instance.
+ * for a specific server instance.  Each audit log store is fed from its own queue by a dedicated thread
+ * (see OMRSAuditLogStoreDispatcher) so a slow store does not hold up the components that are logging.
+ * The queue size and the policy used when a queue is full are taken from the store's configuration
+ * properties (see OMRSAuditLogStoreProviderBase).
  */
 public class OMRSAuditLogDestination
 {
-    private final OMRSAuditLogRecordOriginator originator     = new OMRSAuditLogRecordOriginator();
-    private       List<OMRSAuditLogStore>      auditLogStores = null;
+    private final OMRSAuditLogRecordOriginator      originator  = new OMRSAuditLogRecordOriginator();
+    private       List<OMRSAuditLogStoreDispatcher> dispatchers = null;
 
-    private static final Logger log = LoggerFactory.getLogger(OMRSAuditLog.class);
 
     public OMRSAuditLogDestination(List<OMRSAuditLogStore> auditLogStores)
     {
-        this.auditLogStores = auditLogStores;
+        this.dispatchers = getDispatchers(auditLogStores);
     }
 
 
@@ -50,10 +51,56 @@ public class OMRSAuditLogDestination
         this.originator.setServerType(localServerType);
         this.originator.setOrganizationName(localOrganizationName);
 
-        if (auditLogStores != null)
+        this.dispatchers = getDispatchers(auditLogStores);
+    }
+
+
+    /**
+     * Create a dispatcher for each of the audit log stores.
+     *
+     * @param auditLogStores list of destinations for the audit log records
+     * @return list of dispatchers or null if there are no stores
+     */
+    private List<OMRSAuditLogStoreDispatcher> getDispatchers(List<OMRSAuditLogStore> auditLogStores)
+    {
+        if (auditLogStores == null)
         {
-            this.auditLogStores = new ArrayList<>(auditLogStores);
+            return null;
+        }
+
+        List<OMRSAuditLogStoreDispatcher> dispatchers = new ArrayList<>();
+
+        for (OMRSAuditLogStore auditLogStore : auditLogStores)
+        {
+            if (auditLogStore != null)
+            {
+                String                     destinationName = auditLogStore.getClass().getSimpleName();
+                OMRSAuditLogOverflowPolicy overflowPolicy  = null;
+                int                        queueSize       = 0;
+                int                        sampleRate      = 0;
+
+                if (auditLogStore instanceof OMRSAuditLogStoreConnectorBase)
+                {
+                    OMRSAuditLogStoreConnectorBase connector = (OMRSAuditLogStoreConnectorBase)auditLogStore;
+
+                    if (connector.getDestinationName() != null)
+                    {
+                        destinationName = connector.getDestinationName();
+                    }
+                    overflowPolicy = connector.getOverflowPolicy();
+                    queueSize = connector.getDispatchQueueSize();
+                    sampleRate = connector.getSampleRate();
+                }
+
+                dispatchers.add(new OMRSAuditLogStoreDispatcher(auditLogStore,
+                                                                destinationName,
+                                                                overflowPolicy,
+                                                                queueSize,
+                                                                sampleRate));
+            }
         }
+
+        return dispatchers;
     }
 
 
@@ -68,6 +115,65 @@ public class OMRSAuditLogDestination
     }
 
 
+    /**
+     * Return the number of log records that have been dropped, across all of the audit log stores,
+     * because the store could not keep up.
+     *
+     * @return count of dropped records
+     */
+    public long getDroppedRecordCount()
+    {
+        long droppedRecordCount = 0;
+
+        if (dispatchers != null)
+        {
+            for (OMRSAuditLogStoreDispatcher dispatcher : dispatchers)
+            {
+                droppedRecordCount += dispatcher.getDroppedRecordCount();
+            }
+        }
+
+        return droppedRecordCount;
+    }
+
+
+    /**
+     * Return the number of log records waiting to be written, across all of the audit log stores.
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth()
+    {
+        int queueDepth = 0;
+
+        if (dispatchers != null)
+        {
+            for (OMRSAuditLogStoreDispatcher dispatcher : dispatchers)
+            {
+                queueDepth += dispatcher.getQueueDepth();
+            }
+        }
+
+        return queueDepth;
+    }
+
+
+    /**
+     * Write out the queued log records and stop the threads that pass records to the audit log stores.
+     * Records logged after this call are written directly to the stores.
+     */
+    public void disconnect()
+    {
+        if (dispatchers != null)
+        {
+            for (OMRSAuditLogStoreDispatcher dispatcher : dispatchers)
+            {
+                dispatcher.stop();
+            }
+        }
+    }
+
+
     /**
      * Log an audit log record for an event, decision, error, or exception detected by the
      * open metadata services.
@@ -183,7 +289,7 @@ public class OMRSAuditLogDestination
                                 String                         exceptionMessage,
                                 String                         exceptionStackTrace)
     {
-        if (auditLogStores != null)
+        if (dispatchers != null)
         {
             if (severity == null)
             {
@@ -220,19 +326,9 @@ public class OMRSAuditLogDestination
             logRecord.setExceptionMessage(exceptionMessage);
             logRecord.setExceptionStackTrace(exceptionStackTrace);
 
-            for (OMRSAuditLogStore  auditLogStore : auditLogStores)
+            for (OMRSAuditLogStoreDispatcher dispatcher : dispatchers)
             {
-                if (auditLogStore != null)
-                {
-                    try
-                    {
-                        auditLogStore.storeLogRecord(new OMRSAuditLogRecord(logRecord));
-                    }
-                    catch (Throwable error)
-                    {
-                        log.error("Error: " + error + " writing audit log: " + logRecord + " to destination " + auditLogStore.getClass().getName());
-                    }
-                }
+                dispatcher.dispatch(new OMRSAuditLogRecord(logRecord), severity);
             }
         }
     }
@@ -0,0 +1,123 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+/**
+ * OMRSAuditLogOverflowPolicy defines what the audit log does when the queue of records waiting to be written to
+ * an audit log store is full.  Records with a severity of ERROR, EXCEPTION or SECURITY are always delivered -
+ * under every policy, the caller waits for space in the queue for these records.
+ * <ul>
+ *     <li>
+ *         BLOCK: The caller waits until there is space in the queue.  No records are lost.
+ *     </li>
+ *     <li>
+ *         DROP_LOWEST_SEVERITY: As the queue fills up, records of the lowest severities are dropped first -
+ *         informational records and events, then decisions, then actions.
+ *     </li>
+ *     <li>
+ *         SAMPLE: Once the queue is half full, only one in every sampleRate of the records that may be dropped
+ *         is queued.  They are all dropped if the queue is full.
+ *     </li>
+ * </ul>
+ */
+public enum OMRSAuditLogOverflowPolicy
+{
+    BLOCK                (0, "Block",              "The caller waits for space in the queue so no records are lost."),
+    DROP_LOWEST_SEVERITY (1, "DropLowestSeverity", "Records of the lowest severities are dropped first as the queue fills up."),
+    SAMPLE               (2, "Sample",             "A sample of the records is kept when the queue is filling up.");
+
+
+    private  int    policyCode;
+    private  String policyName;
+    private  String policyDescription;
+
+
+    /**
+     * Typical constructor sets up the selected enum value.
+     *
+     * @param policyCode numeric of this enum.
+     * @param policyName name of enum.
+     * @param policyDescription default description of enum.
+     */
+    OMRSAuditLogOverflowPolicy(int      policyCode,
+                               String   policyName,
+                               String   policyDescription)
+    {
+        this.policyCode = policyCode;
+        this.policyName = policyName;
+        this.policyDescription = policyDescription;
+    }
+
+
+    /**
+     * Return the policy with the supplied name.  The enum constant name is also accepted.
+     *
+     * @param name name of the policy
+     * @return matching policy or null if the name is not recognized
+     */
+    public static OMRSAuditLogOverflowPolicy getPolicy(String name)
+    {
+        if (name != null)
+        {
+            for (OMRSAuditLogOverflowPolicy policy : OMRSAuditLogOverflowPolicy.values())
+            {
+                if ((policy.getName().equalsIgnoreCase(name)) || (policy.name().equalsIgnoreCase(name)))
+                {
+                    return policy;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the code for this enum.
+     *
+     * @return int numeric for this enum
+     */
+    public int getOrdinal()
+    {
+        return policyCode;
+    }
+
+
+    /**
+     * Return the name of this enum.
+     *
+     * @return String name
+     */
+    public String getName()
+    {
+        return policyName;
+    }
+
+
+    /**
+     * Return the default description of this enum.
+     *
+     * @return String default description
+     */
+    public String getDescription()
+    {
+        return policyDescription;
+    }
+
+
+    /**
+     * toString() JSON-style
+     *
+     * @return string description
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSAuditLogOverflowPolicy{" +
+                "policyCode=" + policyCode +
+                ", policyName='" + policyName + '\'' +
+                ", policyDescription='" + policyDescription + '\'' +
+                '}';
+    }
+}
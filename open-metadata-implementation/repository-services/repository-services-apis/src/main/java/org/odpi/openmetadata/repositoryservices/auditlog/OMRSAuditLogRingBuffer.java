@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * OMRSAuditLogRingBuffer is a bounded, lock-free queue used to pass audit log records from the threads that
+ * log them to the thread that writes them to an audit log store.  Any number of threads may offer records
+ * concurrently.  Each slot carries a sequence number that says whether it is free for the next producer or
+ * holds a record for the consumer, so neither side takes a lock.
+ *
+ * @param <E> type of element in the queue
+ */
+class OMRSAuditLogRingBuffer<E>
+{
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray         sequences;
+    private final int                     mask;
+    private final AtomicLong              enqueuePosition = new AtomicLong(0);
+    private final AtomicLong              dequeuePosition = new AtomicLong(0);
+
+
+    /**
+     * Create a ring buffer.  The capacity is rounded up to a power of two.
+     *
+     * @param requestedCapacity minimum number of elements the buffer can hold
+     */
+    OMRSAuditLogRingBuffer(int requestedCapacity)
+    {
+        int capacity = 2;
+
+        while (capacity < requestedCapacity)
+        {
+            capacity = capacity << 1;
+        }
+
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < capacity; i++)
+        {
+            sequences.set(i, i);
+        }
+    }
+
+
+    /**
+     * Return the number of elements the buffer can hold.
+     *
+     * @return capacity
+     */
+    int getCapacity()
+    {
+        return mask + 1;
+    }
+
+
+    /**
+     * Add an element to the buffer if there is space.
+     *
+     * @param element element to add
+     * @return false if the buffer is full
+     */
+    boolean offer(E element)
+    {
+        long position = enqueuePosition.get();
+
+        while (true)
+        {
+            int  index      = (int)(position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0)
+            {
+                if (enqueuePosition.compareAndSet(position, position + 1))
+                {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            }
+            else if (difference < 0)
+            {
+                return false;
+            }
+            else
+            {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+
+    /**
+     * Remove the oldest element from the buffer.
+     *
+     * @return element or null if the buffer is empty
+     */
+    E poll()
+    {
+        long position = dequeuePosition.get();
+
+        while (true)
+        {
+            int  index      = (int)(position & mask);
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0)
+            {
+                if (dequeuePosition.compareAndSet(position, position + 1))
+                {
+                    E element = elements.get(index);
+
+                    elements.lazySet(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = dequeuePosition.get();
+            }
+            else if (difference < 0)
+            {
+                return null;
+            }
+            else
+            {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+
+    /**
+     * Return the approximate number of elements in the buffer.
+     *
+     * @return queue depth
+     */
+    int size()
+    {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+
+        return (int)Math.max(0, Math.min(size, mask + 1));
+    }
+}
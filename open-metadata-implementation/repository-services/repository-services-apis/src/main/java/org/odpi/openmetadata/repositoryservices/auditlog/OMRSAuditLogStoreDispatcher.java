@@ -0,0 +1,374 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * OMRSAuditLogStoreDispatcher passes audit log records to a single audit log store on its own thread so
+ * that the components logging records do not wait while the store writes them.  Records are queued on a
+ * bounded ring buffer.  The overflow policy decides what happens when the store can not keep up and the
+ * buffer fills.  Records with a severity of ERROR, EXCEPTION or SECURITY are never dropped.
+ */
+class OMRSAuditLogStoreDispatcher implements Runnable
+{
+    static final int defaultQueueSize  = 1024;
+    static final int defaultSampleRate = 10;
+
+    private static final long idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long fullWaitNanos = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final Logger log = LoggerFactory.getLogger(OMRSAuditLogStoreDispatcher.class);
+
+    private final OMRSAuditLogStore                          auditLogStore;
+    private final OMRSAuditLogRingBuffer<OMRSAuditLogRecord> buffer;
+    private final OMRSAuditLogOverflowPolicy                 overflowPolicy;
+    private final int                                        sampleRate;
+    private final Thread                                     drainer;
+
+    private final AtomicLong droppedCount   = new AtomicLong(0);
+    private final AtomicLong deliveredCount = new AtomicLong(0);
+    private final AtomicLong sampleCount    = new AtomicLong(0);
+
+    /*
+     * Number of calls to dispatch in progress - stop waits for them so that no record is queued after the
+     * final drain.
+     */
+    private final AtomicInteger activeDispatchers = new AtomicInteger(0);
+
+    private volatile boolean running = true;
+
+    /*
+     * Set while the drainer writes a record that the store logged itself - only used on the drainer thread.
+     */
+    private boolean deliveringOnDrainer = false;
+
+
+    /**
+     * Create the dispatcher and start its drainer thread.
+     *
+     * @param auditLogStore store to deliver records to
+     * @param destinationName name of the store used to name the thread
+     * @param overflowPolicy what to do when the buffer is full - null means BLOCK
+     * @param queueSize capacity of the buffer - zero or less means the default
+     * @param sampleRate one in this many droppable records is kept under the SAMPLE policy - zero or less means the default
+     */
+    OMRSAuditLogStoreDispatcher(OMRSAuditLogStore          auditLogStore,
+                                String                     destinationName,
+                                OMRSAuditLogOverflowPolicy overflowPolicy,
+                                int                        queueSize,
+                                int                        sampleRate)
+    {
+        this.auditLogStore  = auditLogStore;
+        this.buffer         = new OMRSAuditLogRingBuffer<>(queueSize > 0 ? queueSize : defaultQueueSize);
+        this.overflowPolicy = overflowPolicy == null ? OMRSAuditLogOverflowPolicy.BLOCK : overflowPolicy;
+        this.sampleRate     = sampleRate > 0 ? sampleRate : defaultSampleRate;
+
+        this.drainer = new Thread(this, "OMRSAuditLog-" + destinationName);
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+
+    /**
+     * Return the store that this dispatcher delivers to.
+     *
+     * @return audit log store
+     */
+    OMRSAuditLogStore getAuditLogStore()
+    {
+        return auditLogStore;
+    }
+
+
+    /**
+     * Return the number of records dropped because the buffer was too full.
+     *
+     * @return count of dropped records
+     */
+    long getDroppedRecordCount()
+    {
+        return droppedCount.get();
+    }
+
+
+    /**
+     * Return the number of records passed to the store.
+     *
+     * @return count of delivered records
+     */
+    long getDeliveredRecordCount()
+    {
+        return deliveredCount.get();
+    }
+
+
+    /**
+     * Return the number of records waiting to be passed to the store.
+     *
+     * @return queue depth
+     */
+    int getQueueDepth()
+    {
+        return buffer.size();
+    }
+
+
+    /**
+     * Queue a record for the store, applying the overflow policy if the buffer is filling up.
+     *
+     * @param logRecord record to store - it must not be shared with other dispatchers
+     * @param severity severity of the record
+     */
+    void dispatch(OMRSAuditLogRecord         logRecord,
+                  OMRSAuditLogRecordSeverity severity)
+    {
+        activeDispatchers.incrementAndGet();
+        try
+        {
+            if (! running)
+            {
+                deliver(logRecord);
+            }
+            else if ((overflowPolicy == OMRSAuditLogOverflowPolicy.BLOCK) || (isAlwaysDelivered(severity)))
+            {
+                offerAndWait(logRecord);
+            }
+            else if ((isAdmitted(severity)) && (buffer.offer(logRecord)))
+            {
+                LockSupport.unpark(drainer);
+            }
+            else
+            {
+                droppedCount.incrementAndGet();
+            }
+        }
+        finally
+        {
+            activeDispatchers.decrementAndGet();
+        }
+    }
+
+
+    /**
+     * Wait for all queued records to be delivered, then stop the drainer thread.  Records dispatched after
+     * this call are delivered on the caller's thread.  A dispatch that started before this call may still
+     * queue its record, so the buffer is drained once more after those dispatches have finished.
+     */
+    void stop()
+    {
+        running = false;
+        LockSupport.unpark(drainer);
+
+        try
+        {
+            drainer.join();
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        while (activeDispatchers.get() > 0)
+        {
+            drain();
+            LockSupport.parkNanos(this, fullWaitNanos);
+        }
+
+        drain();
+    }
+
+
+    /**
+     * Deliver records until the dispatcher is stopped and the buffer is empty.
+     */
+    @Override
+    public void run()
+    {
+        while (running)
+        {
+            if (! drain())
+            {
+                LockSupport.parkNanos(this, idleWaitNanos);
+            }
+        }
+    }
+
+
+    /**
+     * Deliver all of the records currently in the buffer.
+     *
+     * @return true if any records were delivered
+     */
+    private boolean drain()
+    {
+        boolean            delivered = false;
+        OMRSAuditLogRecord logRecord = buffer.poll();
+
+        while (logRecord != null)
+        {
+            deliver(logRecord);
+            delivered = true;
+            logRecord = buffer.poll();
+        }
+
+        return delivered;
+    }
+
+
+    /**
+     * Pass a record to the store.  Errors from the store are logged and the record is discarded.
+     *
+     * @param logRecord record to store
+     */
+    private void deliver(OMRSAuditLogRecord logRecord)
+    {
+        try
+        {
+            auditLogStore.storeLogRecord(logRecord);
+            deliveredCount.incrementAndGet();
+        }
+        catch (Throwable error)
+        {
+            log.error("Error: " + error + " writing audit log: " + logRecord + " to destination " + auditLogStore.getClass().getName());
+        }
+    }
+
+
+    /**
+     * Queue the record, waiting for the drainer to make space if the buffer is full.  The drainer can not
+     * wait for itself, so a record that the store logs while the buffer is full is written straight away.
+     *
+     * @param logRecord record to queue
+     */
+    private void offerAndWait(OMRSAuditLogRecord logRecord)
+    {
+        while (! buffer.offer(logRecord))
+        {
+            if (! running)
+            {
+                deliver(logRecord);
+                return;
+            }
+
+            if (Thread.currentThread() == drainer)
+            {
+                deliverOnDrainer(logRecord);
+                return;
+            }
+
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(this, fullWaitNanos);
+        }
+
+        LockSupport.unpark(drainer);
+    }
+
+
+    /**
+     * Pass a record logged by the store on the drainer thread straight to the store.  If the store logs
+     * again while that record is being written, the new record is dropped rather than written so that a store
+     * that logs each write does not recurse without end.
+     *
+     * @param logRecord record to store
+     */
+    private void deliverOnDrainer(OMRSAuditLogRecord logRecord)
+    {
+        if (deliveringOnDrainer)
+        {
+            droppedCount.incrementAndGet();
+            return;
+        }
+
+        deliveringOnDrainer = true;
+        try
+        {
+            deliver(logRecord);
+        }
+        finally
+        {
+            deliveringOnDrainer = false;
+        }
+    }
+
+
+    /**
+     * Decide whether a record that may be dropped should be queued, given how full the buffer is.
+     *
+     * @param severity severity of the record
+     * @return true if the record should be queued
+     */
+    private boolean isAdmitted(OMRSAuditLogRecordSeverity severity)
+    {
+        int percentFull = (buffer.size() * 100) / buffer.getCapacity();
+
+        if (percentFull < 50)
+        {
+            return true;
+        }
+
+        if (overflowPolicy == OMRSAuditLogOverflowPolicy.SAMPLE)
+        {
+            return (sampleCount.incrementAndGet() % sampleRate) == 0;
+        }
+
+        /*
+         * DROP_LOWEST_SEVERITY - the fuller the buffer, the higher the severity needed to be queued.
+         */
+        int rank = getSeverityRank(severity);
+
+        if (percentFull < 75)
+        {
+            return rank >= 1;
+        }
+        else if (percentFull < 90)
+        {
+            return rank >= 2;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Return the rank of the droppable severities - lowest are dropped first.
+     *
+     * @param severity severity of the record
+     * @return rank
+     */
+    private int getSeverityRank(OMRSAuditLogRecordSeverity severity)
+    {
+        if (severity == OMRSAuditLogRecordSeverity.ACTION)
+        {
+            return 2;
+        }
+        else if (severity == OMRSAuditLogRecordSeverity.DECISION)
+        {
+            return 1;
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Return whether records of this severity must never be dropped.
+     *
+     * @param severity severity of the record
+     * @return boolean
+     */
+    static boolean isAlwaysDelivered(OMRSAuditLogRecordSeverity severity)
+    {
+        return (severity == OMRSAuditLogRecordSeverity.ERROR)     ||
+               (severity == OMRSAuditLogRecordSeverity.EXCEPTION) ||
+               (severity == OMRSAuditLogRecordSeverity.SECURITY);
+    }
+}
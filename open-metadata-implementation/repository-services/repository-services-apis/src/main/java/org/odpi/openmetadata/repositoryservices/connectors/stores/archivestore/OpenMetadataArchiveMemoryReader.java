@@ -0,0 +1,152 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * OpenMetadataArchiveMemoryReader returns the contents of an open metadata archive that is already in memory.
+ */
+public class OpenMetadataArchiveMemoryReader implements OpenMetadataArchiveReader
+{
+    private OpenMetadataArchive              archiveContents;
+    private OpenMetadataArchiveInstanceStore archiveInstanceStore;
+
+
+    /**
+     * Constructor
+     *
+     * @param archiveContents contents of the archive
+     */
+    public OpenMetadataArchiveMemoryReader(OpenMetadataArchive archiveContents)
+    {
+        this.archiveContents = archiveContents;
+
+        if (archiveContents != null)
+        {
+            this.archiveInstanceStore = archiveContents.getArchiveInstanceStore();
+        }
+    }
+
+
+    /**
+     * Return the properties that describe the archive.
+     *
+     * @return archive properties or null if the archive has none
+     */
+    @Override
+    public OpenMetadataArchiveProperties getArchiveProperties()
+    {
+        if (archiveContents == null)
+        {
+            return null;
+        }
+
+        return archiveContents.getArchiveProperties();
+    }
+
+
+    /**
+     * Return the new and updated types from the archive.
+     *
+     * @return type store or null if the archive has no types
+     */
+    @Override
+    public OpenMetadataArchiveTypeStore getArchiveTypeStore()
+    {
+        if (archiveContents == null)
+        {
+            return null;
+        }
+
+        return archiveContents.getArchiveTypeStore();
+    }
+
+
+    /**
+     * Return the entities from the archive.
+     *
+     * @return iterator over the entities
+     */
+    @Override
+    public Iterator<EntityDetail> getEntities()
+    {
+        if (archiveInstanceStore == null)
+        {
+            return Collections.emptyIterator();
+        }
+
+        return this.getIterator(archiveInstanceStore.getEntities());
+    }
+
+
+    /**
+     * Return the relationships from the archive.
+     *
+     * @return iterator over the relationships
+     */
+    @Override
+    public Iterator<Relationship> getRelationships()
+    {
+        if (archiveInstanceStore == null)
+        {
+            return Collections.emptyIterator();
+        }
+
+        return this.getIterator(archiveInstanceStore.getRelationships());
+    }
+
+
+    /**
+     * Return the classifications from the archive.
+     *
+     * @return iterator over the classifications
+     */
+    @Override
+    public Iterator<ClassificationEntityExtension> getClassifications()
+    {
+        if (archiveInstanceStore == null)
+        {
+            return Collections.emptyIterator();
+        }
+
+        return this.getIterator(archiveInstanceStore.getClassifications());
+    }
+
+
+    /**
+     * Nothing to release.
+     */
+    @Override
+    public void close()
+    {
+    }
+
+
+    /**
+     * Return an iterator over a possibly null list.
+     *
+     * @param elements list of elements
+     * @param <T> type of element
+     * @return iterator
+     */
+    private <T> Iterator<T> getIterator(List<T> elements)
+    {
+        if (elements == null)
+        {
+            return Collections.emptyIterator();
+        }
+
+        return elements.iterator();
+    }
+}
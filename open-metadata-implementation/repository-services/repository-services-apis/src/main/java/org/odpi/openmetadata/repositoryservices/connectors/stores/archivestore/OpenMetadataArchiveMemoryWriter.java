@@ -0,0 +1,122 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OpenMetadataArchiveMemoryWriter assembles the contents of an open metadata archive in memory and passes
+ * them to the archive store when it is closed.  It is used by archive stores that can only store a
+ * whole archive.
+ */
+public class OpenMetadataArchiveMemoryWriter implements OpenMetadataArchiveWriter
+{
+    private OpenMetadataArchiveStore            archiveStore;
+    private OpenMetadataArchive                 archiveContents = new OpenMetadataArchive();
+    private List<EntityDetail>                  entities        = new ArrayList<>();
+    private List<Relationship>                  relationships   = new ArrayList<>();
+    private List<ClassificationEntityExtension> classifications = new ArrayList<>();
+
+
+    /**
+     * Constructor
+     *
+     * @param archiveStore store to receive the archive contents
+     */
+    public OpenMetadataArchiveMemoryWriter(OpenMetadataArchiveStore archiveStore)
+    {
+        this.archiveStore = archiveStore;
+    }
+
+
+    /**
+     * Write the properties and types of the archive.
+     *
+     * @param archiveProperties properties that describe the archive
+     * @param archiveTypeStore new and updated types, may be null
+     */
+    @Override
+    public void writeArchiveHeader(OpenMetadataArchiveProperties archiveProperties,
+                                   OpenMetadataArchiveTypeStore  archiveTypeStore)
+    {
+        archiveContents.setArchiveProperties(archiveProperties);
+        archiveContents.setArchiveTypeStore(archiveTypeStore);
+    }
+
+
+    /**
+     * Add an entity to the archive.
+     *
+     * @param entity entity to add
+     */
+    @Override
+    public void writeEntity(EntityDetail entity)
+    {
+        entities.add(entity);
+    }
+
+
+    /**
+     * Add a relationship to the archive.
+     *
+     * @param relationship relationship to add
+     */
+    @Override
+    public void writeRelationship(Relationship relationship)
+    {
+        relationships.add(relationship);
+    }
+
+
+    /**
+     * Add a classification to the archive.
+     *
+     * @param classification classification to add
+     */
+    @Override
+    public void writeClassification(ClassificationEntityExtension classification)
+    {
+        classifications.add(classification);
+    }
+
+
+    /**
+     * Pass the completed archive to the archive store.
+     */
+    @Override
+    public void close()
+    {
+        if ((! entities.isEmpty()) || (! relationships.isEmpty()) || (! classifications.isEmpty()))
+        {
+            OpenMetadataArchiveInstanceStore archiveInstanceStore = new OpenMetadataArchiveInstanceStore();
+
+            if (! entities.isEmpty())
+            {
+                archiveInstanceStore.setEntities(entities);
+            }
+
+            if (! relationships.isEmpty())
+            {
+                archiveInstanceStore.setRelationships(relationships);
+            }
+
+            if (! classifications.isEmpty())
+            {
+                archiveInstanceStore.setClassifications(classifications);
+            }
+
+            archiveContents.setArchiveInstanceStore(archiveInstanceStore);
+        }
+
+        archiveStore.setArchiveContents(archiveContents);
+    }
+}
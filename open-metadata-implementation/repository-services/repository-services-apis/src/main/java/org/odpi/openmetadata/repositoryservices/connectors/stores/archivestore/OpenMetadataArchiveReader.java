@@ -0,0 +1,70 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.Iterator;
+
+/**
+ * OpenMetadataArchiveReader returns the contents of an open metadata archive one section at a time.
+ * The archive properties and type store are returned whole since they are small.  The instances are
+ * returned through iterators so that an archive store connector can read them from the archive as
+ * they are requested rather than loading the whole archive into memory.
+ *
+ * The sections should be requested in the order they are defined in this interface.  Starting to iterate
+ * over a section ends the iteration of the previous section.  Errors reading the archive are reported
+ * as OMRSRuntimeExceptions.
+ */
+public interface OpenMetadataArchiveReader extends AutoCloseable
+{
+    /**
+     * Return the properties that describe the archive.
+     *
+     * @return archive properties or null if the archive has none
+     */
+    OpenMetadataArchiveProperties getArchiveProperties();
+
+
+    /**
+     * Return the new and updated types from the archive.
+     *
+     * @return type store or null if the archive has no types
+     */
+    OpenMetadataArchiveTypeStore getArchiveTypeStore();
+
+
+    /**
+     * Return the entities from the archive.
+     *
+     * @return iterator over the entities
+     */
+    Iterator<EntityDetail> getEntities();
+
+
+    /**
+     * Return the relationships from the archive.
+     *
+     * @return iterator over the relationships
+     */
+    Iterator<Relationship> getRelationships();
+
+
+    /**
+     * Return the classifications from the archive.
+     *
+     * @return iterator over the classifications
+     */
+    Iterator<ClassificationEntityExtension> getClassifications();
+
+
+    /**
+     * Release the resources used to read the archive.
+     */
+    @Override
+    void close();
+}
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.auditable.AuditableConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
 
 /**
  * OpenMetadataArchiveStoreConnector is the base class for connectors that support the OpenMetadataArchiveStore
@@ -25,4 +26,36 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
     {
         this.auditLog = auditLog;
     }
+
+
+    /**
+     * Return a reader for the contents of the archive.  By default the whole archive is retrieved
+     * with getArchiveContents.  Connectors that can read an archive incrementally override this method.
+     *
+     * @return archive reader or null if the archive is empty
+     */
+    public OpenMetadataArchiveReader getArchiveReader()
+    {
+        OpenMetadataArchive archiveContents = this.getArchiveContents();
+
+        if (archiveContents == null)
+        {
+            return null;
+        }
+
+        return new OpenMetadataArchiveMemoryReader(archiveContents);
+    }
+
+
+    /**
+     * Return a writer for new contents of the archive.  This overrides any content previously stored once the
+     * writer is closed.  By default the contents are assembled in memory and stored with setArchiveContents.
+     * Connectors that can write an archive incrementally override this method.
+     *
+     * @return archive writer
+     */
+    public OpenMetadataArchiveWriter getArchiveWriter()
+    {
+        return new OpenMetadataArchiveMemoryWriter(this);
+    }
 }
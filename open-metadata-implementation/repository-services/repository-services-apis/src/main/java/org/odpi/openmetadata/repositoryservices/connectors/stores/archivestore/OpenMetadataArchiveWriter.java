@@ -0,0 +1,59 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+/**
+ * OpenMetadataArchiveWriter builds the contents of an open metadata archive one element at a time so that
+ * large archives do not need to be assembled in memory before they are stored.  The archive header must be
+ * written first, followed by all of the entities, then all of the relationships and finally all of the
+ * classifications.  The archive is complete when the writer is closed.  Errors writing the archive are
+ * reported as OMRSRuntimeExceptions.
+ */
+public interface OpenMetadataArchiveWriter extends AutoCloseable
+{
+    /**
+     * Write the properties and types of the archive.
+     *
+     * @param archiveProperties properties that describe the archive
+     * @param archiveTypeStore new and updated types, may be null
+     */
+    void writeArchiveHeader(OpenMetadataArchiveProperties archiveProperties,
+                            OpenMetadataArchiveTypeStore  archiveTypeStore);
+
+
+    /**
+     * Add an entity to the archive.
+     *
+     * @param entity entity to add
+     */
+    void writeEntity(EntityDetail entity);
+
+
+    /**
+     * Add a relationship to the archive.
+     *
+     * @param relationship relationship to add
+     */
+    void writeRelationship(Relationship relationship);
+
+
+    /**
+     * Add a classification to the archive.
+     *
+     * @param classification classification to add
+     */
+    void writeClassification(ClassificationEntityExtension classification);
+
+
+    /**
+     * Complete the archive and release the resources used to write it.
+     */
+    @Override
+    void close();
+}
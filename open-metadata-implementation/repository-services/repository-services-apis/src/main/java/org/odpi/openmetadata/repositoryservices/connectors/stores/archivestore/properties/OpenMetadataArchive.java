@@ -5,6 +5,7 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import java.util.Objects;
 
@@ -29,6 +30,7 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown=true)
+@JsonPropertyOrder({"archiveProperties", "archiveTypeStore", "archiveInstanceStore"})
 public class OpenMetadataArchive extends OpenMetadataArchiveElementHeader
 {
     private static final long    serialVersionUID = 1L;
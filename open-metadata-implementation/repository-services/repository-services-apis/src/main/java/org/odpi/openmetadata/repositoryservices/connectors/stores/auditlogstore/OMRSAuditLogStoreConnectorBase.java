@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogOverflowPolicy;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
@@ -29,6 +30,10 @@ public abstract class OMRSAuditLogStoreConnectorBase extends ConnectorBase imple
     protected String        destinationName = "<Unknown";
     protected List<String>  supportedSeverities = null;
 
+    protected OMRSAuditLogOverflowPolicy overflowPolicy    = null;
+    protected int                        dispatchQueueSize = 0;
+    protected int                        sampleRate        = 0;
+
 
     /**
      * Default constructor
@@ -60,6 +65,39 @@ public abstract class OMRSAuditLogStoreConnectorBase extends ConnectorBase imple
     }
 
 
+    /**
+     * Return what the audit log should do when the queue of records waiting for this destination is full.
+     *
+     * @return overflow policy or null for the default
+     */
+    public OMRSAuditLogOverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+
+    /**
+     * Return the size of the queue of records waiting for this destination.
+     *
+     * @return queue size or zero for the default
+     */
+    public int getDispatchQueueSize()
+    {
+        return dispatchQueueSize;
+    }
+
+
+    /**
+     * Return how many records make up each sample when the SAMPLE overflow policy is in effect.
+     *
+     * @return sample rate or zero for the default
+     */
+    public int getSampleRate()
+    {
+        return sampleRate;
+    }
+
+
     /**
      * Store the audit log record in the audit log store.
      *
@@ -361,7 +399,45 @@ public abstract class OMRSAuditLogStoreConnectorBase extends ConnectorBase imple
                         }
                     }
                 }
+
+                Object overflowPolicyProperty = configurationProperties.get(OMRSAuditLogStoreProviderBase.overflowPolicyProperty);
+
+                if (overflowPolicyProperty != null)
+                {
+                    overflowPolicy = OMRSAuditLogOverflowPolicy.getPolicy(overflowPolicyProperty.toString());
+                }
+
+                dispatchQueueSize = getIntProperty(configurationProperties.get(OMRSAuditLogStoreProviderBase.dispatchQueueSizeProperty));
+                sampleRate = getIntProperty(configurationProperties.get(OMRSAuditLogStoreProviderBase.sampleRateProperty));
             }
         }
     }
+
+
+    /**
+     * Convert a numeric configuration property to an int.
+     *
+     * @param propertyValue value from the configuration properties
+     * @return int value or zero if the property is not set or not a number
+     */
+    private int getIntProperty(Object propertyValue)
+    {
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).intValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Integer.parseInt(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                // Ignore - the default is used.
+            }
+        }
+
+        return 0;
+    }
 }
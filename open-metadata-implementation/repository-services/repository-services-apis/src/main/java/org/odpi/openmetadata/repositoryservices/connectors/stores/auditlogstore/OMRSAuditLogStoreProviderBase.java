@@ -17,6 +17,9 @@ import java.util.List;
 public abstract class OMRSAuditLogStoreProviderBase extends ConnectorProviderBase
 {
     public static final String  supportedSeveritiesProperty = "supportedSeverities";
+    public static final String  overflowPolicyProperty      = "overflowPolicy";
+    public static final String  dispatchQueueSizeProperty   = "dispatchQueueSize";
+    public static final String  sampleRateProperty          = "sampleRate";
 
     /**
      * Default Constructor
@@ -32,13 +35,17 @@ public abstract class OMRSAuditLogStoreProviderBase extends ConnectorProviderBas
     /**
      * Return the list of recognized configuration properties supported by the base class for the connector.
      *
-     * @return list of Audit log severities that this connector is configured to support (see OMRSAuditLogRecordSeverity).
+     * @return list of Audit log severities that this connector is configured to support (see OMRSAuditLogRecordSeverity)
+     * and the settings for the queue that passes audit log records to the connector (see OMRSAuditLogOverflowPolicy).
      */
     protected List<String> getRecognizedConfigurationProperties()
     {
         List<String> recognizedConfigurationProperties = new ArrayList<>();
 
         recognizedConfigurationProperties.add(supportedSeveritiesProperty);
+        recognizedConfigurationProperties.add(overflowPolicyProperty);
+        recognizedConfigurationProperties.add(dispatchQueueSizeProperty);
+        recognizedConfigurationProperties.add(sampleRateProperty);
 
         return recognizedConfigurationProperties;
     }
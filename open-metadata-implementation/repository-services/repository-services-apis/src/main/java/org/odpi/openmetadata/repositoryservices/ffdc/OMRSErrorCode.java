@@ -518,6 +518,14 @@ public enum OMRSErrorCode
             "The system is unable to store the log record to this destination because it is not able to" +
                                               " convert its contents into a suitable format.",
             "Investigate and correct the cause of the conversion failure."),
+    INVALID_AUDIT_LOG_TIME_PERIOD(400, "OMRS-AUDIT-LOG-400-009 ",
+            "The Audit Log destination {0} has been passed a start date of {1} that is after the end date of {2}",
+            "The system is unable to process the query request and throws the InvalidParameterException.",
+            "Correct the time period on the query and retry the request."),
+    INVALID_AUDIT_LOG_PAGING(400, "OMRS-AUDIT-LOG-400-010 ",
+            "The Audit Log destination {0} has been passed an offset of {1} and maximum records of {2} which are not valid",
+            "The system is unable to process the query request and throws the PagingErrorException.",
+            "The offset and maximum records must not be negative. Correct the paging parameters and retry the request."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001 ",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -696,6 +704,18 @@ public enum OMRSErrorCode
             "The archive builder failed to initialize.",
             "There is an internal error in the archive building process.",
             "Raise a Github issue to get this fixed."),
+    ARCHIVE_NOT_READABLE(500, "OMRS-OPEN-METADATA-ARCHIVE-500-002 ",
+            "The open metadata archive {0} could not be read due to a {1} exception with message: {2}",
+            "The system is unable to process the rest of the open metadata archive.",
+            "Check that the archive is a complete open metadata archive document and that the server can read it."),
+    ARCHIVE_NOT_WRITABLE(500, "OMRS-OPEN-METADATA-ARCHIVE-500-003 ",
+            "The open metadata archive {0} could not be written due to a {1} exception with message: {2}",
+            "The system is unable to complete the open metadata archive.",
+            "Check that the location of the archive is writable and has enough space."),
+    ARCHIVE_SECTION_OUT_OF_SEQUENCE(500, "OMRS-OPEN-METADATA-ARCHIVE-500-004 ",
+            "The {0} section of open metadata archive {1} can not be written after the {2} section",
+            "The open metadata archive is written in a single pass so its sections must be supplied in order.",
+            "Change the program writing the archive to supply the archive properties and types first, then the entities, relationships and classifications."),
     NULL_EXCHANGE_RULE(500, "OMRS-EVENT-MANAGEMENT-500-001 ",
             "A null exchange rule has been passed to one of the event management components on method {0}.",
             "There is an internal error in the OMRS initialization.",
@@ -0,0 +1,237 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.auditlog;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreProviderBase;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that OMRSAuditLogDestination passes records to its stores in order and applies the overflow policy
+ * when a store can not keep up, and that no record is lost when the destination is disconnected.
+ */
+public class OMRSAuditLogDestinationTest
+{
+    /**
+     * Audit log store that records what it is given.  It waits for the latch before storing each record.
+     */
+    private static class TestAuditLogStore extends OMRSAuditLogStoreConnectorBase
+    {
+        final List<OMRSAuditLogRecord>         storedRecords = new CopyOnWriteArrayList<>();
+        private final CountDownLatch           latch;
+
+
+        TestAuditLogStore(Map<String, Object> configurationProperties,
+                          CountDownLatch      latch)
+        {
+            Connection connection = new Connection();
+
+            connection.setDisplayName("TestAuditLogStore");
+            connection.setConfigurationProperties(configurationProperties);
+
+            super.initialize("TestAuditLogStore", new ConnectionProperties(connection));
+            this.latch = latch;
+        }
+
+
+        @Override
+        public String storeLogRecord(OMRSAuditLogRecord logRecord)
+        {
+            try
+            {
+                latch.await();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            storedRecords.add(logRecord);
+            return logRecord.getGUID();
+        }
+    }
+
+
+    /**
+     * Audit log store that logs more records through the destination while it stores the first one, as a store
+     * that reports its own problems to the audit log would.
+     */
+    private static class SelfLoggingAuditLogStore extends TestAuditLogStore
+    {
+        private volatile OMRSAuditLogDestination destination = null;
+
+
+        SelfLoggingAuditLogStore(Map<String, Object> configurationProperties)
+        {
+            super(configurationProperties, new CountDownLatch(0));
+        }
+
+
+        @Override
+        public String storeLogRecord(OMRSAuditLogRecord logRecord)
+        {
+            String guid = super.storeLogRecord(logRecord);
+
+            if ("TEST-0".equals(logRecord.getMessageId()))
+            {
+                for (int i = 0; i < 20; i++)
+                {
+                    destination.logRecord(null, null, "STORE-" + i, OMRSAuditLogRecordSeverity.INFO, null, null, null, null);
+                }
+            }
+
+            return guid;
+        }
+    }
+
+
+    private OMRSAuditLogDestination getDestination(OMRSAuditLogStore auditLogStore)
+    {
+        return new OMRSAuditLogDestination("TestServer",
+                                           "TestServerType",
+                                           "TestOrganization",
+                                           Collections.singletonList(auditLogStore));
+    }
+
+
+    /**
+     * With the default (block) policy every record reaches the store in the order logged.
+     */
+    @Test public void testRecordsDeliveredInOrder()
+    {
+        TestAuditLogStore       auditLogStore = new TestAuditLogStore(null, new CountDownLatch(0));
+        OMRSAuditLogDestination destination   = getDestination(auditLogStore);
+
+        for (int i = 0; i < 500; i++)
+        {
+            destination.logRecord(null, null, "TEST-" + i, OMRSAuditLogRecordSeverity.INFO, null, null, null, null);
+        }
+
+        destination.disconnect();
+
+        assertEquals(auditLogStore.storedRecords.size(), 500);
+        for (int i = 0; i < 500; i++)
+        {
+            assertEquals(auditLogStore.storedRecords.get(i).getMessageId(), "TEST-" + i);
+        }
+        assertEquals(destination.getDroppedRecordCount(), 0);
+        assertEquals(destination.getQueueDepth(), 0);
+    }
+
+
+    /**
+     * When the store stalls, low severity records are dropped but errors are still delivered.
+     */
+    @Test public void testLowestSeverityDropped() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(OMRSAuditLogStoreProviderBase.overflowPolicyProperty, "DropLowestSeverity");
+        configurationProperties.put(OMRSAuditLogStoreProviderBase.dispatchQueueSizeProperty, 8);
+
+        CountDownLatch          latch         = new CountDownLatch(1);
+        TestAuditLogStore       auditLogStore = new TestAuditLogStore(configurationProperties, latch);
+        OMRSAuditLogDestination destination   = getDestination(auditLogStore);
+
+        for (int i = 0; i < 50; i++)
+        {
+            destination.logRecord(null, null, "TEST-" + i, OMRSAuditLogRecordSeverity.INFO, null, null, null, null);
+        }
+
+        assertTrue(destination.getDroppedRecordCount() > 0);
+        assertTrue(destination.getQueueDepth() <= 8);
+
+        latch.countDown();
+        destination.logRecord(null, null, "TEST-ERROR", OMRSAuditLogRecordSeverity.ERROR, null, null, null, null);
+        destination.disconnect();
+
+        List<OMRSAuditLogRecord> storedRecords = auditLogStore.storedRecords;
+
+        assertEquals(storedRecords.get(storedRecords.size() - 1).getMessageId(), "TEST-ERROR");
+        assertEquals(storedRecords.size() + destination.getDroppedRecordCount(), 51);
+    }
+
+
+    /**
+     * A store that logs while its own buffer is full does not wait for itself under the block policy.
+     */
+    @Test public void testStoreLoggingOnDrainerDoesNotBlock() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        configurationProperties.put(OMRSAuditLogStoreProviderBase.dispatchQueueSizeProperty, 4);
+
+        SelfLoggingAuditLogStore auditLogStore = new SelfLoggingAuditLogStore(configurationProperties);
+        OMRSAuditLogDestination  destination   = getDestination(auditLogStore);
+
+        auditLogStore.destination = destination;
+        destination.logRecord(null, null, "TEST-0", OMRSAuditLogRecordSeverity.INFO, null, null, null, null);
+
+        /*
+         * Disconnecting would release a blocked drainer, so the records must arrive before it.
+         */
+        for (int i = 0; (i < 100) && (auditLogStore.storedRecords.size() < 21); i++)
+        {
+            Thread.sleep(100);
+        }
+
+        assertEquals(auditLogStore.storedRecords.size(), 21);
+        destination.disconnect();
+        assertEquals(destination.getDroppedRecordCount(), 0);
+        assertEquals(destination.getQueueDepth(), 0);
+    }
+
+
+    /**
+     * Records logged while the destination is being disconnected are all delivered.
+     */
+    @Test public void testNoRecordsLostOnDisconnect() throws Exception
+    {
+        TestAuditLogStore       auditLogStore = new TestAuditLogStore(null, new CountDownLatch(0));
+        OMRSAuditLogDestination destination   = getDestination(auditLogStore);
+        CountDownLatch          started       = new CountDownLatch(4);
+        List<Thread>            loggers       = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++)
+        {
+            Thread logger = new Thread(() ->
+            {
+                started.countDown();
+                for (int i = 0; i < 2000; i++)
+                {
+                    destination.logRecord(null, null, "TEST-" + i, OMRSAuditLogRecordSeverity.ERROR, null, null, null, null);
+                }
+            });
+
+            loggers.add(logger);
+            logger.start();
+        }
+
+        started.await();
+        destination.disconnect();
+
+        for (Thread logger : loggers)
+        {
+            logger.join();
+        }
+
+        assertEquals(auditLogStore.storedRecords.size(), 8000);
+        assertEquals(destination.getQueueDepth(), 0);
+    }
+}
@@ -10,7 +10,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBroker;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveWriter;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
 
 import java.util.UUID;
@@ -18,7 +19,8 @@ import java.util.UUID;
 /**
  * OMRSArchiveWriter creates physical open metadata archive files for the supplied open metadata archives
  * encoded using Open Metadata Repository Services (OMRS) formats.  To use it, create a subclass that builds
- * the archive content in memory and then writes it out.
+ * the archive content in memory and then writes it out.  Subclasses that generate large archives can instead
+ * use getOpenMetadataArchiveWriter to write each instance to the file as it is generated.
  */
 public class OMRSArchiveWriter
 {
@@ -169,16 +171,16 @@ public class OMRSArchiveWriter
      * @param connection connection information for the open metadata archive.
      * @return open metadata archive store connector
      */
-    private OpenMetadataArchiveStore getOpenMetadataArchive(Connection connection)
+    private OpenMetadataArchiveStoreConnector getOpenMetadataArchive(Connection connection)
     {
-        OpenMetadataArchiveStore  openMetadataArchiveStore = null;
+        OpenMetadataArchiveStoreConnector  openMetadataArchiveStore = null;
 
         try
         {
             ConnectorBroker connectorBroker = new ConnectorBroker();
             Connector       connector       = connectorBroker.getConnector(connection);
 
-            openMetadataArchiveStore = (OpenMetadataArchiveStore)connector;
+            openMetadataArchiveStore = (OpenMetadataArchiveStoreConnector)connector;
 
             log.debug("Created connector to open metadata archive store");
 
@@ -202,10 +204,28 @@ public class OMRSArchiveWriter
     protected void writeOpenMetadataArchive(String                   outputFileName,
                                             OpenMetadataArchive      openMetadataArchive)
     {
-        Connection               connection               = getOpenMetadataArchiveFileConnection(outputFileName);
+        Connection                        connection               = getOpenMetadataArchiveFileConnection(outputFileName);
 
-        OpenMetadataArchiveStore openMetadataArchiveStore = this.getOpenMetadataArchive(connection);
+        OpenMetadataArchiveStoreConnector openMetadataArchiveStore = this.getOpenMetadataArchive(connection);
 
         openMetadataArchiveStore.setArchiveContents(openMetadataArchive);
     }
+
+
+    /**
+     * Returns a writer that adds content to an open metadata archive file as it is supplied.  The archive
+     * properties and types are written first, followed by the entities, relationships and classifications.
+     * The archive is complete when the writer is closed.
+     *
+     * @param outputFileName name of file to write archive to
+     * @return archive writer
+     */
+    protected OpenMetadataArchiveWriter getOpenMetadataArchiveWriter(String   outputFileName)
+    {
+        Connection                        connection               = getOpenMetadataArchiveFileConnection(outputFileName);
+
+        OpenMetadataArchiveStoreConnector openMetadataArchiveStore = this.getOpenMetadataArchive(connection);
+
+        return openMetadataArchiveStore.getArchiveWriter();
+    }
 }
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.archivemanager;
 
 import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchiveResource;
 
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
@@ -11,6 +12,9 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveMemoryReader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveReader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
@@ -20,6 +24,7 @@ import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconten
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -132,11 +137,17 @@ public class OMRSArchiveManager
      */
     private void processOpenMetadataTypes()
     {
+        /*
+         * The open metadata types are built once for the platform and each server receives its own copy.
+         */
         OpenMetadataTypesArchive openMetadataTypesArchive = new OpenMetadataTypesArchive();
-        OpenMetadataArchive      openMetadataTypes        = openMetadataTypesArchive.getOpenMetadataArchive();
+        OpenMetadataArchive      openMetadataTypes        = OpenMetadataTypesArchiveResource.getOpenMetadataArchive();
 
         repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypesArchive.getArchiveGUID());
-        processOpenMetadataArchive(openMetadataTypes, "Open Metadata Types", repositoryContentManager, localInstanceEventProcessor);
+        processOpenMetadataArchive(new OpenMetadataArchiveMemoryReader(openMetadataTypes),
+                                   "Open Metadata Types",
+                                   repositoryContentManager,
+                                   localInstanceEventProcessor);
     }
 
 
@@ -158,14 +169,15 @@ public class OMRSArchiveManager
         {
             /*
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
-             * metadata instances.
+             * metadata instances.  The archive store connector supplies the instances as they are processed
+             * so large archives do not need to be held in memory.
              */
-            OpenMetadataArchive archiveContent = archiveStore.getArchiveContents();
+            final String     actionDescription = "Process Open Metadata Archive";
 
-            if (archiveContent == null)
-            {
-                final String     actionDescription = "Process Open Metadata Archive";
+            OpenMetadataArchiveReader archiveReader = archiveStore.getArchiveReader();
 
+            if (archiveReader == null)
+            {
                 OMRSAuditCode auditCode = OMRSAuditCode.EMPTY_ARCHIVE;
                 auditLog.logRecord(actionDescription,
                                    auditCode.getLogMessageId(),
@@ -177,7 +189,23 @@ public class OMRSArchiveManager
             }
             else
             {
-                processOpenMetadataArchive(archiveContent, archiveSource, typeDefProcessor, instanceProcessor);
+                try (OpenMetadataArchiveReader archiveContent = archiveReader)
+                {
+                    processOpenMetadataArchive(archiveContent, archiveSource, typeDefProcessor, instanceProcessor);
+                }
+                catch (OMRSRuntimeException error)
+                {
+                    OMRSAuditCode auditCode = OMRSAuditCode.BAD_ARCHIVE_STORE;
+                    auditLog.logException(actionDescription,
+                                          auditCode.getLogMessageId(),
+                                          auditCode.getSeverity(),
+                                          auditCode.getFormattedLogMessage(error.getClass().getName(),
+                                                                           error.getMessage()),
+                                          archiveSource,
+                                          auditCode.getSystemAction(),
+                                          auditCode.getUserAction(),
+                                          error);
+                }
             }
         }
     }
@@ -187,12 +215,12 @@ public class OMRSArchiveManager
      * Step through the content of an open metadata archive, passing its contents to the local repository (if it
      * exists).
      *
-     * @param archiveContent open metadata archive to process
+     * @param archiveContent reader for the open metadata archive to process
      * @param archiveSource source of the archive - such as file name
      * @param typeDefProcessor processor of type definitions found in the archive
      * @param instanceProcessor processor of instances found in the archive
      */
-    private void processOpenMetadataArchive(OpenMetadataArchive                   archiveContent,
+    private void processOpenMetadataArchive(OpenMetadataArchiveReader             archiveContent,
                                             String                                archiveSource,
                                             OMRSTypeDefEventProcessorInterface    typeDefProcessor,
                                             OMRSInstanceEventProcessorInterface   instanceProcessor)
@@ -215,7 +243,6 @@ public class OMRSArchiveManager
 
 
             OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
-            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
 
             int                              typeCount            = 0;
             int                              instanceCount        = 0;
@@ -226,10 +253,7 @@ public class OMRSArchiveManager
                 typeCount = this.processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
             }
 
-            if (archiveInstanceStore != null)
-            {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
-            }
+            instanceCount = this.processInstanceStore(archiveProperties, archiveContent, instanceProcessor);
 
             auditCode = OMRSAuditCode.COMPLETED_ARCHIVE;
             auditLog.logRecord(actionDescription,
@@ -366,20 +390,20 @@ public class OMRSArchiveManager
      * and so any duplicates detected are ignored.  However, conflicting instances are detected.
      * Any problems found in applying the archive contents are recorded on the audit log.
      *
+     * The instances are requested from the archive reader one at a time and are not retained once
+     * they have been passed to the instance processor.
+     *
      * @param archiveProperties properties describing the archive used in logging
-     * @param archiveInstanceStore the instance store to process
+     * @param archiveInstanceStore reader supplying the instances to process
      * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
      *                          if there is no local repository configured for this server.
      * @return instance count
      */
     private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
-                                      OpenMetadataArchiveInstanceStore          archiveInstanceStore,
+                                      OpenMetadataArchiveReader                 archiveInstanceStore,
                                       OMRSInstanceEventProcessorInterface       instanceProcessor)
     {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
-        int                                 instanceCount   = 0;
+        int  instanceCount = 0;
 
         if (instanceProcessor != null)
         {
@@ -403,90 +427,93 @@ public class OMRSArchiveManager
             }
 
 
-            if (entities != null)
+            Iterator<EntityDetail> entities = archiveInstanceStore.getEntities();
+
+            while (entities.hasNext())
             {
-                for (EntityDetail entity : entities)
-                {
-                    if (entity != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    entity);
-
-                        instanceProcessor.processNewEntityEvent(archiveId,
-                                                                homeMetadataCollectionId,
-                                                                archiveName,
-                                                                originatorServerType,
-                                                                originatorOrganizationName,
-                                                                entity);
+                EntityDetail entity = entities.next();
 
-                        instanceCount++;
-                    }
+                if (entity != null)
+                {
+                    this.setInstanceAuditHeader(homeMetadataCollectionId,
+                                                archiveName,
+                                                originatorName,
+                                                archiveCreationTime,
+                                                provenanceType,
+                                                originatorLicense,
+                                                entity);
+
+                    instanceProcessor.processNewEntityEvent(archiveId,
+                                                            homeMetadataCollectionId,
+                                                            archiveName,
+                                                            originatorServerType,
+                                                            originatorOrganizationName,
+                                                            entity);
+
+                    instanceCount++;
                 }
             }
 
 
-            if (relationships != null)
+            Iterator<Relationship> relationships = archiveInstanceStore.getRelationships();
+
+            while (relationships.hasNext())
             {
-                for (Relationship relationship : relationships)
+                Relationship relationship = relationships.next();
+
+                if (relationship != null)
                 {
-                    if (relationship != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
-
-                        instanceProcessor.processNewRelationshipEvent(archiveId,
-                                                                      homeMetadataCollectionId,
-                                                                      archiveName,
-                                                                      originatorServerType,
-                                                                      originatorOrganizationName,
-                                                                      relationship);
-
-                        instanceCount ++;
-                    }
+                    this.setInstanceAuditHeader(homeMetadataCollectionId,
+                                                archiveName,
+                                                originatorName,
+                                                archiveCreationTime,
+                                                provenanceType,
+                                                originatorLicense,
+                                                relationship);
+
+                    instanceProcessor.processNewRelationshipEvent(archiveId,
+                                                                  homeMetadataCollectionId,
+                                                                  archiveName,
+                                                                  originatorServerType,
+                                                                  originatorOrganizationName,
+                                                                  relationship);
+
+                    instanceCount ++;
                 }
             }
 
 
-            if (classifications != null)
+            Iterator<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
+
+            while (classifications.hasNext())
             {
-                for (ClassificationEntityExtension classificationEntityExtension : classifications)
+                ClassificationEntityExtension classificationEntityExtension = classifications.next();
+
+                if (classificationEntityExtension != null)
                 {
-                    if (classificationEntityExtension != null)
-                    {
-                        Classification classification = classificationEntityExtension.getClassification();
-
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    classification);
-
-                        classificationEntityExtension.setClassification(classification);
-
-                        // Todo
-                        /* new method required
-                        instanceProcessor.processNewClassificationEvent(archiveId,
-                                                                        homeMetadataCollectionId,
-                                                                        originatorServerName,
-                                                                        originatorServerType,
-                                                                        originatorOrganizationName,
-                                                                        classificationEntityExtension);
-
-                        instanceCount ++;
-                        */
-                    }
+                    Classification classification = classificationEntityExtension.getClassification();
+
+                    this.setInstanceAuditHeader(homeMetadataCollectionId,
+                                                archiveName,
+                                                originatorName,
+                                                archiveCreationTime,
+                                                provenanceType,
+                                                originatorLicense,
+                                                classification);
+
+                    classificationEntityExtension.setClassification(classification);
+
+                    // Todo
+                    /* new method required
+                    instanceProcessor.processNewClassificationEvent(archiveId,
+                                                                    homeMetadataCollectionId,
+                                                                    originatorServerName,
+                                                                    originatorServerType,
+                                                                    originatorOrganizationName,
+                                                                    classificationEntityExtension);
+
+                    instanceCount ++;
+                    */
                 }
             }
         }
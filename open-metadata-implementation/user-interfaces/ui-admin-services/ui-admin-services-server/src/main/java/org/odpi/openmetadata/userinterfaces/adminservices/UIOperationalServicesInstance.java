@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.userinterfaces.adminservices;
 
 import org.odpi.openmetadata.adminservices.OMAGOperationalServicesInstance;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
 import org.odpi.openmetadata.userinterface.adminservices.configuration.properties.UIServerConfig;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +16,7 @@ class UIOperationalServicesInstance extends OMAGOperationalServicesInstance
 {
     private UIServerConfig operationalConfiguration = null;
     private List<ViewServiceAdmin> operationalViewServiceAdminList   = new ArrayList<>();
+    private OMRSAuditLogDestination auditLogDestination = null;
 
 
     /**
@@ -72,4 +74,27 @@ class UIOperationalServicesInstance extends OMAGOperationalServicesInstance
     {
         this.operationalViewServiceAdminList = operationalViewServiceAdminList;
     }
+
+
+    /**
+     * Return the audit log destination used by the services of this server.
+     *
+     * @return OMRSAuditLogDestination object
+     */
+    OMRSAuditLogDestination getAuditLogDestination()
+    {
+        return auditLogDestination;
+    }
+
+
+    /**
+     * Set up the audit log destination used by the services of this server.  It is disconnected when the
+     * server is shutdown.
+     *
+     * @param auditLogDestination OMRSAuditLogDestination object
+     */
+    void setAuditLogDestination(OMRSAuditLogDestination auditLogDestination)
+    {
+        this.auditLogDestination = auditLogDestination;
+    }
 }
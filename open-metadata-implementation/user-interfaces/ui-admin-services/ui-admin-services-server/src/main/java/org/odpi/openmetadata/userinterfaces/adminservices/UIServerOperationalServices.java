@@ -201,6 +201,7 @@ public class UIServerOperationalServices
                     configuration.getOrganizationName(),
                     getAuditLogStores(configuration.getAuditLogConnections(),
                             configuration.getLocalServerName()));
+            operationalServicesInstance.setAuditLogDestination(auditLogDestination);
 
             OMRSAuditLog auditLog = new OMRSAuditLog(auditLogDestination, OMRSAuditingComponent.OPERATIONAL_SERVICES);
             /*
@@ -399,6 +400,14 @@ public class UIServerOperationalServices
     {
 
         //TODO terminal user store and views?
+        if ((instance != null) && (instance.getAuditLogDestination() != null))
+        {
+            /*
+             * Write out the queued audit log records and stop the threads that deliver them.
+             */
+            instance.getAuditLogDestination().disconnect();
+        }
+
         instanceHandler.removeServerServiceInstance(serverName);
 
         platformInstanceMap.shutdownServerInstance(userId, serverName, methodName);
@@ -0,0 +1,281 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.opentypes;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * OpenMetadataTypesArchiveResource supplies the open metadata types archive to the servers running on a platform.
+ * The archive built by OpenMetadataTypesArchive is serialized into a resource called OpenMetadataTypes.ser
+ * by the build of this module.  The resource holds a SHA-256 checksum followed by the serialized archive.
+ * <p>
+ * The resource is loaded, and its checksum verified, the first time the archive is requested.  The serialized
+ * form is then shared by every server on the platform and each request receives its own copy of the archive
+ * so a server can not change the types seen by another server.  If the resource is missing or damaged,
+ * the archive is built from OpenMetadataTypesArchive instead.
+ * </p>
+ */
+public class OpenMetadataTypesArchiveResource
+{
+    public  static final String resourceName      = "OpenMetadataTypes.ser";
+    private static final String checksumAlgorithm = "SHA-256";
+
+    private static byte[] serializedArchive = null;
+
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private OpenMetadataTypesArchiveResource()
+    {
+    }
+
+
+    /**
+     * Return a copy of the open metadata types archive.  The caller is free to change the returned objects.
+     *
+     * @return populated open metadata archive object
+     */
+    public static OpenMetadataArchive getOpenMetadataArchive()
+    {
+        final String methodName = "getOpenMetadataArchive";
+
+        try
+        {
+            return deserializeArchive(getSerializedArchive());
+        }
+        catch (IOException | ClassNotFoundException error)
+        {
+            /*
+             * The serialized archive has either been verified or built in this JVM so this is a logic error.
+             */
+            OMRSErrorCode errorCode    = OMRSErrorCode.ARCHIVE_UNAVAILABLE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage();
+
+            throw new OMRSLogicErrorException(errorCode.getHTTPErrorCode(),
+                                              OpenMetadataTypesArchiveResource.class.getName(),
+                                              methodName,
+                                              errorMessage,
+                                              errorCode.getSystemAction(),
+                                              errorCode.getUserAction(),
+                                              error);
+        }
+    }
+
+
+    /**
+     * Return the serialized archive, loading it from the resource, or building it, on the first call.
+     *
+     * @return serialized open metadata archive
+     */
+    static synchronized byte[] getSerializedArchive()
+    {
+        if (serializedArchive == null)
+        {
+            serializedArchive = loadResource();
+
+            if (serializedArchive == null)
+            {
+                serializedArchive = serializeArchive(new OpenMetadataTypesArchive().getOpenMetadataArchive());
+            }
+        }
+
+        return serializedArchive;
+    }
+
+
+    /**
+     * Read the serialized archive from the classpath.
+     *
+     * @return serialized archive or null if the resource is missing or its checksum does not match
+     */
+    private static byte[] loadResource()
+    {
+        try (InputStream resource = OpenMetadataTypesArchiveResource.class.getResourceAsStream(resourceName))
+        {
+            if (resource != null)
+            {
+                return readResource(resource);
+            }
+        }
+        catch (IOException error)
+        {
+            /*
+             * Fall through to build the archive.
+             */
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Read and verify the contents of the resource.
+     *
+     * @param resource stream containing the checksum and serialized archive
+     * @return serialized archive or null if the checksum does not match
+     * @throws IOException the resource is truncated
+     */
+    static byte[] readResource(InputStream resource) throws IOException
+    {
+        DataInputStream dataInputStream = new DataInputStream(resource);
+
+        int checksumLength = dataInputStream.readInt();
+
+        if ((checksumLength <= 0) || (checksumLength > 64))
+        {
+            return null;
+        }
+
+        byte[] checksum = new byte[checksumLength];
+        dataInputStream.readFully(checksum);
+
+        int archiveLength = dataInputStream.readInt();
+
+        if (archiveLength <= 0)
+        {
+            return null;
+        }
+
+        byte[] archive = new byte[archiveLength];
+        dataInputStream.readFully(archive);
+
+        if (Arrays.equals(checksum, getChecksum(archive)))
+        {
+            return archive;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Write the checksum and serialized archive to the resource.
+     *
+     * @param resource stream to write to
+     * @param archive serialized archive
+     * @throws IOException unable to write the resource
+     */
+    static void writeResource(DataOutputStream resource,
+                              byte[]           archive) throws IOException
+    {
+        byte[] checksum = getChecksum(archive);
+
+        resource.writeInt(checksum.length);
+        resource.write(checksum);
+        resource.writeInt(archive.length);
+        resource.write(archive);
+        resource.flush();
+    }
+
+
+    /**
+     * Convert the archive into bytes.
+     *
+     * @param archive archive to serialize
+     * @return serialized archive
+     */
+    static byte[] serializeArchive(OpenMetadataArchive archive)
+    {
+        final String methodName = "serializeArchive";
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream))
+        {
+            objectOutputStream.writeObject(archive);
+        }
+        catch (IOException error)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.ARCHIVE_UNAVAILABLE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage();
+
+            throw new OMRSLogicErrorException(errorCode.getHTTPErrorCode(),
+                                              OpenMetadataTypesArchiveResource.class.getName(),
+                                              methodName,
+                                              errorMessage,
+                                              errorCode.getSystemAction(),
+                                              errorCode.getUserAction(),
+                                              error);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+
+    /**
+     * Create a new archive object from its serialized form.
+     *
+     * @param archive serialized archive
+     * @return archive object
+     * @throws IOException the bytes are not a serialized archive
+     * @throws ClassNotFoundException the archive refers to an unknown class
+     */
+    private static OpenMetadataArchive deserializeArchive(byte[] archive) throws IOException, ClassNotFoundException
+    {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(archive)))
+        {
+            return (OpenMetadataArchive) objectInputStream.readObject();
+        }
+    }
+
+
+    /**
+     * Calculate the checksum of the serialized archive.
+     *
+     * @param archive serialized archive
+     * @return checksum
+     */
+    private static byte[] getChecksum(byte[] archive)
+    {
+        try
+        {
+            return MessageDigest.getInstance(checksumAlgorithm).digest(archive);
+        }
+        catch (NoSuchAlgorithmException error)
+        {
+            /*
+             * Every Java platform supports SHA-256.
+             */
+            throw new IllegalStateException(error);
+        }
+    }
+
+
+    /**
+     * Main program called by the build to create the resource.
+     *
+     * @param args directory to write the resource into
+     * @throws IOException unable to write the resource
+     */
+    public static void main(String[] args) throws IOException
+    {
+        File resourceDirectory = new File(args[0], OpenMetadataTypesArchiveResource.class.getPackage().getName().replace('.', File.separatorChar));
+
+        if ((! resourceDirectory.isDirectory()) && (! resourceDirectory.mkdirs()))
+        {
+            throw new IOException("Unable to create directory " + resourceDirectory.getPath());
+        }
+
+        try (DataOutputStream resource = new DataOutputStream(new FileOutputStream(new File(resourceDirectory, resourceName))))
+        {
+            writeResource(resource, serializeArchive(new OpenMetadataTypesArchive().getOpenMetadataArchive()));
+        }
+    }
+}
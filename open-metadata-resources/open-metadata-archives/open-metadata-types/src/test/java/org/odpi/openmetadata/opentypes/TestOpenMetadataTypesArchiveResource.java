@@ -0,0 +1,69 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.opentypes;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test that the serialized open metadata types archive matches the archive built by OpenMetadataTypesArchive.
+ */
+public class TestOpenMetadataTypesArchiveResource
+{
+    @Test
+    public void testResourceMatchesBuiltArchive()
+    {
+        OpenMetadataArchiveTypeStore builtTypes  = new OpenMetadataTypesArchive().getOpenMetadataArchive().getArchiveTypeStore();
+        OpenMetadataArchiveTypeStore loadedTypes = OpenMetadataTypesArchiveResource.getOpenMetadataArchive().getArchiveTypeStore();
+
+        assertEquals(loadedTypes.getNewTypeDefs(), builtTypes.getNewTypeDefs());
+        assertEquals(loadedTypes.getAttributeTypeDefs(), builtTypes.getAttributeTypeDefs());
+    }
+
+
+    @Test
+    public void testEachCallReturnsACopy()
+    {
+        OpenMetadataArchive firstArchive  = OpenMetadataTypesArchiveResource.getOpenMetadataArchive();
+        OpenMetadataArchive secondArchive = OpenMetadataTypesArchiveResource.getOpenMetadataArchive();
+
+        assertNotSame(firstArchive.getArchiveTypeStore().getNewTypeDefs().get(0),
+                      secondArchive.getArchiveTypeStore().getNewTypeDefs().get(0));
+
+        String typeName = secondArchive.getArchiveTypeStore().getNewTypeDefs().get(0).getName();
+
+        firstArchive.getArchiveTypeStore().getNewTypeDefs().get(0).setName("Changed");
+
+        assertEquals(OpenMetadataTypesArchiveResource.getOpenMetadataArchive().getArchiveTypeStore().getNewTypeDefs().get(0).getName(),
+                     typeName);
+    }
+
+
+    @Test
+    public void testDamagedResourceIsRejected() throws Exception
+    {
+        byte[]                serializedArchive = OpenMetadataTypesArchiveResource.getSerializedArchive();
+        ByteArrayOutputStream resource          = new ByteArrayOutputStream();
+
+        OpenMetadataTypesArchiveResource.writeResource(new DataOutputStream(resource), serializedArchive);
+
+        byte[] resourceBytes = resource.toByteArray();
+
+        assertEquals(OpenMetadataTypesArchiveResource.readResource(new ByteArrayInputStream(resourceBytes)), serializedArchive);
+
+        resourceBytes[resourceBytes.length - 1] ^= 1;
+
+        assertNull(OpenMetadataTypesArchiveResource.readResource(new ByteArrayInputStream(resourceBytes)));
+    }
+}